@@ -22,6 +22,8 @@ module tornado.api {
     exports uk.ac.manchester.tornado.api.enums;
     exports uk.ac.manchester.tornado.api.exceptions;
     exports uk.ac.manchester.tornado.api.memory;
+    exports uk.ac.manchester.tornado.api.primitives;
+    opens uk.ac.manchester.tornado.api.primitives;
     exports uk.ac.manchester.tornado.api.profiler;
     exports uk.ac.manchester.tornado.api.runtime;
     exports uk.ac.manchester.tornado.api.internal.annotations;
@@ -113,6 +113,18 @@ public class ImmutableTaskGraph {
         return taskGraph.getDeviceKernelTime();
     }
 
+    long getPredictedDeviceWriteTime() {
+        return taskGraph.getPredictedDeviceWriteTime();
+    }
+
+    long getPredictedDeviceReadTime() {
+        return taskGraph.getPredictedDeviceReadTime();
+    }
+
+    long getPredictedDeviceKernelTime() {
+        return taskGraph.getPredictedDeviceKernelTime();
+    }
+
     String getProfileLog() {
         return taskGraph.getProfileLog();
     }
@@ -149,6 +161,30 @@ public class ImmutableTaskGraph {
         taskGraph.withoutMemoryLimit();
     }
 
+    void withUnifiedMemory(boolean unifiedMemory) {
+        taskGraph.withUnifiedMemory(unifiedMemory);
+    }
+
+    void withDeviceArena(String arenaSize) {
+        taskGraph.withDeviceArena(arenaSize);
+    }
+
+    void withoutDeviceArena() {
+        taskGraph.withoutDeviceArena();
+    }
+
+    void withIterations(int numIterations, Object stopCondition) {
+        taskGraph.withIterations(numIterations, stopCondition);
+    }
+
+    void withSwapBuffers(Object bufferA, Object bufferB) {
+        taskGraph.withSwapBuffers(bufferA, bufferB);
+    }
+
+    void withoutSwapBuffers() {
+        taskGraph.withoutSwapBuffers();
+    }
+
     TornadoDevice getDevice() {
         return taskGraph.getDevice();
     }
@@ -17,6 +17,16 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
 /**
  * Context of TornadoVM execution to exploit kernel-parallel applications, in
  * which the parallelism is implicit.
@@ -24,7 +34,7 @@ package uk.ac.manchester.tornado.api;
  * The application can access thread-id for 1D, 2D and 3D dimensions.
  * Additionally, the application can access local memory (OpenCL terminology),
  * or shared memory (CUDA terminology) as well as synchronization primitives
- * such as barriers.
+ * such as barriers, atomics and sub-group operations.
  *
  * <p>
  * <ul>
@@ -42,6 +52,20 @@ package uk.ac.manchester.tornado.api;
  */
 public class KernelContext implements ExecutionContext {
 
+    /**
+     * Handles used by the atomic operations when the kernel runs on the JVM. The
+     * TornadoVM JIT compiler replaces the atomic methods with the device atomics
+     * of each backend.
+     */
+    private static final VarHandle INT_SEGMENT = ValueLayout.JAVA_INT.arrayElementVarHandle();
+    private static final VarHandle LONG_SEGMENT = ValueLayout.JAVA_LONG.arrayElementVarHandle();
+    private static final VarHandle FLOAT_SEGMENT = ValueLayout.JAVA_FLOAT.arrayElementVarHandle();
+    private static final VarHandle DOUBLE_SEGMENT = ValueLayout.JAVA_DOUBLE.arrayElementVarHandle();
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONG_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle FLOAT_ARRAY = MethodHandles.arrayElementVarHandle(float[].class);
+    private static final VarHandle DOUBLE_ARRAY = MethodHandles.arrayElementVarHandle(double[].class);
+
     /**
      * It returns the thread identifier for the first dimension.
      * <p>
@@ -180,4 +204,857 @@ public class KernelContext implements ExecutionContext {
     public double[] allocateDoubleLocalArray(int size) {
         return new double[size];
     }
+
+    /**
+     * Atomically adds {@code value} to the element at position {@code index}
+     * and returns the previous value of the element. The operation
+     * is performed in global memory for the TornadoVM native arrays, and in
+     * local memory for the arrays allocated with the
+     * {@code allocate*LocalArray} methods.
+     * <p>
+     * OpenCL equivalent: atomic_add(&array[index], value);
+     * <p>
+     * PTX equivalent: atom.add
+     *
+     * @param array
+     *     array that contains the element
+     * @param index
+     *     position of the element in the array
+     * @param value
+     *     operand of the operation
+     * @return the value of the element before the operation
+     */
+    public int atomicAdd(IntArray array, int index, int value) {
+        return (int) INT_SEGMENT.getAndAdd(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on long elements in
+     * global memory.
+     */
+    public long atomicAdd(LongArray array, int index, long value) {
+        return (long) LONG_SEGMENT.getAndAdd(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on float elements in
+     * global memory.
+     */
+    public float atomicAdd(FloatArray array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.ADD);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on double elements in
+     * global memory.
+     */
+    public double atomicAdd(DoubleArray array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.ADD);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on int elements in
+     * local memory.
+     */
+    public int atomicAdd(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndAdd(array, index, value);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on long elements in
+     * local memory.
+     */
+    public long atomicAdd(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndAdd(array, index, value);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on float elements in
+     * local memory.
+     */
+    public float atomicAdd(float[] array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.ADD);
+    }
+
+    /**
+     * See {@link #atomicAdd(IntArray, int, int)}. Operates on double elements in
+     * local memory.
+     */
+    public double atomicAdd(double[] array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.ADD);
+    }
+
+    /**
+     * Atomically stores the minimum of {@code value} and the element at
+     * position {@code index}, and returns the previous value of the element. The operation
+     * is performed in global memory for the TornadoVM native arrays, and in
+     * local memory for the arrays allocated with the
+     * {@code allocate*LocalArray} methods.
+     * <p>
+     * OpenCL equivalent: atomic_min(&array[index], value);
+     * <p>
+     * PTX equivalent: atom.min
+     *
+     * @param array
+     *     array that contains the element
+     * @param index
+     *     position of the element in the array
+     * @param value
+     *     operand of the operation
+     * @return the value of the element before the operation
+     */
+    public int atomicMin(IntArray array, int index, int value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on long elements in
+     * global memory.
+     */
+    public long atomicMin(LongArray array, int index, long value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on float elements in
+     * global memory.
+     */
+    public float atomicMin(FloatArray array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on double elements in
+     * global memory.
+     */
+    public double atomicMin(DoubleArray array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on int elements in
+     * local memory.
+     */
+    public int atomicMin(int[] array, int index, int value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on long elements in
+     * local memory.
+     */
+    public long atomicMin(long[] array, int index, long value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on float elements in
+     * local memory.
+     */
+    public float atomicMin(float[] array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * See {@link #atomicMin(IntArray, int, int)}. Operates on double elements in
+     * local memory.
+     */
+    public double atomicMin(double[] array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MIN);
+    }
+
+    /**
+     * Atomically stores the maximum of {@code value} and the element at
+     * position {@code index}, and returns the previous value of the element. The operation
+     * is performed in global memory for the TornadoVM native arrays, and in
+     * local memory for the arrays allocated with the
+     * {@code allocate*LocalArray} methods.
+     * <p>
+     * OpenCL equivalent: atomic_max(&array[index], value);
+     * <p>
+     * PTX equivalent: atom.max
+     *
+     * @param array
+     *     array that contains the element
+     * @param index
+     *     position of the element in the array
+     * @param value
+     *     operand of the operation
+     * @return the value of the element before the operation
+     */
+    public int atomicMax(IntArray array, int index, int value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on long elements in
+     * global memory.
+     */
+    public long atomicMax(LongArray array, int index, long value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on float elements in
+     * global memory.
+     */
+    public float atomicMax(FloatArray array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on double elements in
+     * global memory.
+     */
+    public double atomicMax(DoubleArray array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on int elements in
+     * local memory.
+     */
+    public int atomicMax(int[] array, int index, int value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on long elements in
+     * local memory.
+     */
+    public long atomicMax(long[] array, int index, long value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on float elements in
+     * local memory.
+     */
+    public float atomicMax(float[] array, int index, float value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * See {@link #atomicMax(IntArray, int, int)}. Operates on double elements in
+     * local memory.
+     */
+    public double atomicMax(double[] array, int index, double value) {
+        return getAndUpdate(array, index, value, AtomicUpdate.MAX);
+    }
+
+    /**
+     * Atomically replaces the element at position {@code index} with
+     * {@code value}, and returns the previous value of the element. The operation
+     * is performed in global memory for the TornadoVM native arrays, and in
+     * local memory for the arrays allocated with the
+     * {@code allocate*LocalArray} methods.
+     * <p>
+     * OpenCL equivalent: atomic_xchg(&array[index], value);
+     * <p>
+     * PTX equivalent: atom.exch
+     *
+     * @param array
+     *     array that contains the element
+     * @param index
+     *     position of the element in the array
+     * @param value
+     *     operand of the operation
+     * @return the value of the element before the operation
+     */
+    public int atomicExchange(IntArray array, int index, int value) {
+        return (int) INT_SEGMENT.getAndSet(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on long elements in
+     * global memory.
+     */
+    public long atomicExchange(LongArray array, int index, long value) {
+        return (long) LONG_SEGMENT.getAndSet(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on float elements in
+     * global memory.
+     */
+    public float atomicExchange(FloatArray array, int index, float value) {
+        return (float) FLOAT_SEGMENT.getAndSet(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on double elements in
+     * global memory.
+     */
+    public double atomicExchange(DoubleArray array, int index, double value) {
+        return (double) DOUBLE_SEGMENT.getAndSet(array.getSegment(), (long) index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on int elements in
+     * local memory.
+     */
+    public int atomicExchange(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on long elements in
+     * local memory.
+     */
+    public long atomicExchange(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on float elements in
+     * local memory.
+     */
+    public float atomicExchange(float[] array, int index, float value) {
+        return (float) FLOAT_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * See {@link #atomicExchange(IntArray, int, int)}. Operates on double elements in
+     * local memory.
+     */
+    public double atomicExchange(double[] array, int index, double value) {
+        return (double) DOUBLE_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * Atomically replaces the element at position {@code index} with
+     * {@code newValue} if the element is equal to {@code expected}, and returns
+     * the value of the element before the operation. The operation succeeded if
+     * the returned value is equal to {@code expected}. Floating-point elements
+     * are compared by their bit representation.
+     * <p>
+     * OpenCL equivalent: atomic_cmpxchg(&array[index], expected, newValue);
+     * <p>
+     * PTX equivalent: atom.cas
+     *
+     * @param array
+     *     array that contains the element
+     * @param index
+     *     position of the element in the array
+     * @param expected
+     *     value that the element must have to be replaced
+     * @param newValue
+     *     new value of the element
+     * @return the value of the element before the operation
+     */
+    public int atomicCompareAndSwap(IntArray array, int index, int expected, int newValue) {
+        return (int) INT_SEGMENT.compareAndExchange(array.getSegment(), (long) index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * long elements in global memory.
+     */
+    public long atomicCompareAndSwap(LongArray array, int index, long expected, long newValue) {
+        return (long) LONG_SEGMENT.compareAndExchange(array.getSegment(), (long) index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * float elements in global memory.
+     */
+    public float atomicCompareAndSwap(FloatArray array, int index, float expected, float newValue) {
+        return (float) FLOAT_SEGMENT.compareAndExchange(array.getSegment(), (long) index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * double elements in global memory.
+     */
+    public double atomicCompareAndSwap(DoubleArray array, int index, double expected, double newValue) {
+        return (double) DOUBLE_SEGMENT.compareAndExchange(array.getSegment(), (long) index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * int elements in local memory.
+     */
+    public int atomicCompareAndSwap(int[] array, int index, int expected, int newValue) {
+        return (int) INT_ARRAY.compareAndExchange(array, index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * long elements in local memory.
+     */
+    public long atomicCompareAndSwap(long[] array, int index, long expected, long newValue) {
+        return (long) LONG_ARRAY.compareAndExchange(array, index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * float elements in local memory.
+     */
+    public float atomicCompareAndSwap(float[] array, int index, float expected, float newValue) {
+        return (float) FLOAT_ARRAY.compareAndExchange(array, index, expected, newValue);
+    }
+
+    /**
+     * See {@link #atomicCompareAndSwap(IntArray, int, int, int)}. Operates on
+     * double elements in local memory.
+     */
+    public double atomicCompareAndSwap(double[] array, int index, double expected, double newValue) {
+        return (double) DOUBLE_ARRAY.compareAndExchange(array, index, expected, newValue);
+    }
+
+    /**
+     * It returns the index of the sub-group of the calling thread within its
+     * work-group. A sub-group (known as warp in PTX) is a set of threads of a
+     * work-group that execute in lockstep and can exchange values without local
+     * memory. When the kernel runs on the JVM, each thread is a sub-group of
+     * size one.
+     * <p>
+     * OpenCL equivalent: get_sub_group_id();
+     * <p>
+     * PTX equivalent: threadIdx.x / warpSize
+     *
+     * @return index of the sub-group within the work-group
+     */
+    public int subGroupId() {
+        return 0;
+    }
+
+    /**
+     * It returns the number of threads in the sub-group of the calling thread.
+     * <p>
+     * OpenCL equivalent: get_sub_group_size();
+     * <p>
+     * PTX equivalent: warpSize
+     *
+     * @return size of the sub-group
+     */
+    public int subGroupSize() {
+        return 1;
+    }
+
+    /**
+     * It returns the index of the calling thread within its sub-group.
+     * <p>
+     * OpenCL equivalent: get_sub_group_local_id();
+     * <p>
+     * PTX equivalent: threadIdx.x % warpSize
+     *
+     * @return index of the thread within the sub-group
+     */
+    public int subGroupLocalId() {
+        return 0;
+    }
+
+    /**
+     * It returns the {@code value} of the thread with index {@code lane} in the
+     * sub-group. All threads of the sub-group must call this method.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle(value, lane); (cl_khr_subgroup_shuffle)
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     *
+     * @param value
+     *     value provided by the calling thread
+     * @param lane
+     *     index of the thread in the sub-group to read from
+     * @return the value provided by the thread {@code lane}
+     */
+    public int subGroupShuffle(int value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffle(int, int)}.
+     */
+    public long subGroupShuffle(long value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffle(int, int)}.
+     */
+    public float subGroupShuffle(float value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffle(int, int)}.
+     */
+    public double subGroupShuffle(double value, int lane) {
+        return value;
+    }
+
+    /**
+     * It returns the {@code value} of the thread whose index in the sub-group is
+     * the index of the calling thread XOR {@code mask}. All threads of the
+     * sub-group must call this method.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle_xor(value, mask); (cl_khr_subgroup_shuffle)
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     *
+     * @param value
+     *     value provided by the calling thread
+     * @param mask
+     *     mask applied to the index of the calling thread
+     * @return the value provided by the thread {@code subGroupLocalId() ^ mask}
+     */
+    public int subGroupShuffleXor(int value, int mask) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffleXor(int, int)}.
+     */
+    public long subGroupShuffleXor(long value, int mask) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffleXor(int, int)}.
+     */
+    public float subGroupShuffleXor(float value, int mask) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupShuffleXor(int, int)}.
+     */
+    public double subGroupShuffleXor(double value, int mask) {
+        return value;
+    }
+
+    /**
+     * It returns the {@code value} of the thread with index {@code lane} to all
+     * threads of the sub-group. The {@code lane} must be the same for all threads
+     * of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_broadcast(value, lane);
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     *
+     * @param value
+     *     value provided by the calling thread
+     * @param lane
+     *     index of the thread in the sub-group that provides the value
+     * @return the value provided by the thread {@code lane}
+     */
+    public int subGroupBroadcast(int value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupBroadcast(int, int)}.
+     */
+    public long subGroupBroadcast(long value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupBroadcast(int, int)}.
+     */
+    public float subGroupBroadcast(float value, int lane) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupBroadcast(int, int)}.
+     */
+    public double subGroupBroadcast(double value, int lane) {
+        return value;
+    }
+
+    /**
+     * It returns true if the {@code predicate} is true for any thread of the
+     * sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_any(predicate);
+     * <p>
+     * PTX equivalent: vote.sync.any.pred
+     */
+    public boolean subGroupAny(boolean predicate) {
+        return predicate;
+    }
+
+    /**
+     * It returns true if the {@code predicate} is true for all threads of the
+     * sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_all(predicate);
+     * <p>
+     * PTX equivalent: vote.sync.all.pred
+     */
+    public boolean subGroupAll(boolean predicate) {
+        return predicate;
+    }
+
+    /**
+     * It returns the sum of {@code value} over all threads of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_add(value);
+     * <p>
+     * PTX equivalent: redux.sync.add (sm_80 and int), otherwise a butterfly
+     * reduction with shfl.sync.bfly
+     */
+    public int subGroupReduceAdd(int value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceAdd(int)}.
+     */
+    public long subGroupReduceAdd(long value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceAdd(int)}.
+     */
+    public float subGroupReduceAdd(float value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceAdd(int)}.
+     */
+    public double subGroupReduceAdd(double value) {
+        return value;
+    }
+
+    /**
+     * It returns the minimum of {@code value} over all threads of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_min(value);
+     * <p>
+     * PTX equivalent: redux.sync.min (sm_80 and int), otherwise a butterfly
+     * reduction with shfl.sync.bfly
+     */
+    public int subGroupReduceMin(int value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMin(int)}.
+     */
+    public long subGroupReduceMin(long value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMin(int)}.
+     */
+    public float subGroupReduceMin(float value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMin(int)}.
+     */
+    public double subGroupReduceMin(double value) {
+        return value;
+    }
+
+    /**
+     * It returns the maximum of {@code value} over all threads of the sub-group.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_max(value);
+     * <p>
+     * PTX equivalent: redux.sync.max (sm_80 and int), otherwise a butterfly
+     * reduction with shfl.sync.bfly
+     */
+    public int subGroupReduceMax(int value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMax(int)}.
+     */
+    public long subGroupReduceMax(long value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMax(int)}.
+     */
+    public float subGroupReduceMax(float value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupReduceMax(int)}.
+     */
+    public double subGroupReduceMax(double value) {
+        return value;
+    }
+
+    /**
+     * It returns the sum of {@code value} over the threads of the sub-group with
+     * an index lower than or equal to the index of the calling thread.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_inclusive_add(value);
+     * <p>
+     * PTX equivalent: scan with shfl.sync.up
+     */
+    public int subGroupScanInclusiveAdd(int value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupScanInclusiveAdd(int)}.
+     */
+    public long subGroupScanInclusiveAdd(long value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupScanInclusiveAdd(int)}.
+     */
+    public float subGroupScanInclusiveAdd(float value) {
+        return value;
+    }
+
+    /**
+     * See {@link #subGroupScanInclusiveAdd(int)}.
+     */
+    public double subGroupScanInclusiveAdd(double value) {
+        return value;
+    }
+
+    /**
+     * It returns the sum of {@code value} over the threads of the sub-group with
+     * an index lower than the index of the calling thread. The first thread of the
+     * sub-group receives 0.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_exclusive_add(value);
+     * <p>
+     * PTX equivalent: scan with shfl.sync.up
+     */
+    public int subGroupScanExclusiveAdd(int value) {
+        return 0;
+    }
+
+    /**
+     * See {@link #subGroupScanExclusiveAdd(int)}.
+     */
+    public long subGroupScanExclusiveAdd(long value) {
+        return 0;
+    }
+
+    /**
+     * See {@link #subGroupScanExclusiveAdd(int)}.
+     */
+    public float subGroupScanExclusiveAdd(float value) {
+        return 0;
+    }
+
+    /**
+     * See {@link #subGroupScanExclusiveAdd(int)}.
+     */
+    public double subGroupScanExclusiveAdd(double value) {
+        return 0;
+    }
+
+    private static int getAndUpdate(IntArray array, int index, int value, AtomicUpdate update) {
+        MemorySegment segment = array.getSegment();
+        int current;
+        do {
+            current = (int) INT_SEGMENT.getVolatile(segment, (long) index);
+        } while (!INT_SEGMENT.weakCompareAndSet(segment, (long) index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static long getAndUpdate(LongArray array, int index, long value, AtomicUpdate update) {
+        MemorySegment segment = array.getSegment();
+        long current;
+        do {
+            current = (long) LONG_SEGMENT.getVolatile(segment, (long) index);
+        } while (!LONG_SEGMENT.weakCompareAndSet(segment, (long) index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static float getAndUpdate(FloatArray array, int index, float value, AtomicUpdate update) {
+        MemorySegment segment = array.getSegment();
+        float current;
+        do {
+            current = (float) FLOAT_SEGMENT.getVolatile(segment, (long) index);
+        } while (!FLOAT_SEGMENT.weakCompareAndSet(segment, (long) index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static double getAndUpdate(DoubleArray array, int index, double value, AtomicUpdate update) {
+        MemorySegment segment = array.getSegment();
+        double current;
+        do {
+            current = (double) DOUBLE_SEGMENT.getVolatile(segment, (long) index);
+        } while (!DOUBLE_SEGMENT.weakCompareAndSet(segment, (long) index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static int getAndUpdate(int[] array, int index, int value, AtomicUpdate update) {
+        int current;
+        do {
+            current = (int) INT_ARRAY.getVolatile(array, index);
+        } while (!INT_ARRAY.weakCompareAndSet(array, index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static long getAndUpdate(long[] array, int index, long value, AtomicUpdate update) {
+        long current;
+        do {
+            current = (long) LONG_ARRAY.getVolatile(array, index);
+        } while (!LONG_ARRAY.weakCompareAndSet(array, index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static float getAndUpdate(float[] array, int index, float value, AtomicUpdate update) {
+        float current;
+        do {
+            current = (float) FLOAT_ARRAY.getVolatile(array, index);
+        } while (!FLOAT_ARRAY.weakCompareAndSet(array, index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private static double getAndUpdate(double[] array, int index, double value, AtomicUpdate update) {
+        double current;
+        do {
+            current = (double) DOUBLE_ARRAY.getVolatile(array, index);
+        } while (!DOUBLE_ARRAY.weakCompareAndSet(array, index, current, update.apply(current, value)));
+        return current;
+    }
+
+    private enum AtomicUpdate {
+        ADD, MIN, MAX;
+
+        int apply(int current, int value) {
+            return switch (this) {
+                case ADD -> current + value;
+                case MIN -> Math.min(current, value);
+                case MAX -> Math.max(current, value);
+            };
+        }
+
+        long apply(long current, long value) {
+            return switch (this) {
+                case ADD -> current + value;
+                case MIN -> Math.min(current, value);
+                case MAX -> Math.max(current, value);
+            };
+        }
+
+        float apply(float current, float value) {
+            return switch (this) {
+                case ADD -> current + value;
+                case MIN -> Math.min(current, value);
+                case MAX -> Math.max(current, value);
+            };
+        }
+
+        double apply(double current, double value) {
+            return switch (this) {
+                case ADD -> current + value;
+                case MIN -> Math.min(current, value);
+                case MAX -> Math.max(current, value);
+            };
+        }
+    }
 }
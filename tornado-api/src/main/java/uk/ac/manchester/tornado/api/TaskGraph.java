@@ -773,6 +773,30 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.withoutMemoryLimit();
     }
 
+    void withUnifiedMemory(boolean unifiedMemory) {
+        taskGraphImpl.withUnifiedMemory(unifiedMemory);
+    }
+
+    void withDeviceArena(String arenaSize) {
+        taskGraphImpl.withDeviceArena(arenaSize);
+    }
+
+    void withoutDeviceArena() {
+        taskGraphImpl.withoutDeviceArena();
+    }
+
+    void withIterations(int numIterations, Object stopCondition) {
+        taskGraphImpl.withIterations(numIterations, stopCondition);
+    }
+
+    void withSwapBuffers(Object bufferA, Object bufferB) {
+        taskGraphImpl.withSwapBuffers(bufferA, bufferB);
+    }
+
+    void withoutSwapBuffers() {
+        taskGraphImpl.withoutSwapBuffers();
+    }
+
     void execute(ExecutorFrame executionPackage) {
         taskGraphImpl.execute(executionPackage).waitOn();
     }
@@ -870,6 +894,18 @@ public class TaskGraph implements TaskGraphInterface {
         return taskGraphImpl.getDeviceKernelTime();
     }
 
+    long getPredictedDeviceWriteTime() {
+        return taskGraphImpl.getPredictedDeviceWriteTime();
+    }
+
+    long getPredictedDeviceReadTime() {
+        return taskGraphImpl.getPredictedDeviceReadTime();
+    }
+
+    long getPredictedDeviceKernelTime() {
+        return taskGraphImpl.getPredictedDeviceKernelTime();
+    }
+
     protected String getProfileLog() {
         return taskGraphImpl.getProfileLog();
     }
@@ -30,6 +30,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 
 /**
  * Object to create and optimize an execution plan for running a set of
@@ -331,6 +332,147 @@ public class TornadoExecutionPlan implements AutoCloseable {
         return this;
     }
 
+    /**
+     * It enables zero-copy execution for the current instance of an
+     * {@link TornadoExecutionPlan}. Native arrays that live in pinned host
+     * memory (see {@link uk.ac.manchester.tornado.api.memory.PinnedMemory})
+     * are accessed in place by the target device when the backend allows it
+     * (e.g., CUDA, Level Zero, or OpenCL devices with unified host memory).
+     * Data transfers of these arrays are skipped, and transfers to the host
+     * only synchronize the device. Any other object is copied as usual.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withUnifiedMemory() {
+        tornadoExecutor.withUnifiedMemory(true);
+        return this;
+    }
+
+    /**
+     * It disables zero-copy execution for the current instance of an
+     * {@link TornadoExecutionPlan}. This is the default action.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutUnifiedMemory() {
+        tornadoExecutor.withUnifiedMemory(false);
+        return this;
+    }
+
+    /**
+     * It reserves a single region of device memory for the buffers of the
+     * current instance of an {@link TornadoExecutionPlan}. Instead of one
+     * driver allocation per object, each buffer is an aligned slice of the
+     * region (a pointer offset with the PTX backend, and a sub-buffer with the
+     * OpenCL backend). The region is reserved on the first allocation and it is
+     * released with {@link #freeDeviceMemory()}. Objects that do not fit in the
+     * region, or backends without support for it, use regular allocations.
+     *
+     * @param arenaSize
+     *     Specify the size of the region in a string format. E.g., "512MB".
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withDeviceArena(String arenaSize) {
+        tornadoExecutor.withDeviceArena(arenaSize);
+        return this;
+    }
+
+    /**
+     * It disables the device arena for the current instance of an
+     * {@link TornadoExecutionPlan}. This is the default action. Buffers that
+     * are already allocated in the arena stay there until the device memory of
+     * the plan is released.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutDeviceArena() {
+        tornadoExecutor.withoutDeviceArena();
+        return this;
+    }
+
+    /**
+     * It runs the tasks of each task-graph {@code numIterations} times within a
+     * single execution of the plan. The iterations run in the TornadoVM
+     * interpreter without returning to the host application. Data is copied to
+     * the device before the first iteration, and copied back to the host after
+     * the last iteration.
+     *
+     * @param numIterations
+     *     Number of iterations. It must be greater than 0.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withIterations(int numIterations) {
+        if (numIterations < 1) {
+            throw new TornadoRuntimeException(STR."Invalid number of iterations: \{numIterations}");
+        }
+        tornadoExecutor.withIterations(numIterations, null);
+        return this;
+    }
+
+    /**
+     * It runs the tasks of each task-graph within a single execution of the plan
+     * until the first element of the {@code stopCondition} array is not zero, or
+     * until {@code maxIterations} are executed. The stop condition must be an
+     * object of the task-graph (e.g., a convergence flag written by a task), and
+     * it is read from the device after each iteration.
+     *
+     * @param maxIterations
+     *     Maximum number of iterations. It must be greater than 0.
+     * @param stopCondition
+     *     {@link IntArray} with the convergence flag in the first element.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withIterations(int maxIterations, IntArray stopCondition) {
+        if (maxIterations < 1) {
+            throw new TornadoRuntimeException(STR."Invalid number of iterations: \{maxIterations}");
+        }
+        tornadoExecutor.withIterations(maxIterations, stopCondition);
+        return this;
+    }
+
+    /**
+     * It disables the device-side iterations. Each execution of the plan runs the
+     * tasks once. This is the default action.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutIterations() {
+        tornadoExecutor.withIterations(1, null);
+        return this;
+    }
+
+    /**
+     * It swaps the device buffers of two objects between iterations (see
+     * {@link #withIterations(int)}), so the output of an iteration is the input
+     * of the next one without any copy. Both objects must belong to the same
+     * task-graph and have the same size. After the execution, each object is
+     * associated with the buffer that contains its latest contents. Adding the
+     * same pair again, in either order, has no effect. An object cannot be
+     * swapped with more than one other object.
+     *
+     * @param bufferA
+     *     Object of the task-graph.
+     * @param bufferB
+     *     Object of the task-graph.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withSwapBuffers(Object bufferA, Object bufferB) {
+        tornadoExecutor.withSwapBuffers(bufferA, bufferB);
+        return this;
+    }
+
+    /**
+     * It removes all the pairs of buffers set with
+     * {@link #withSwapBuffers(Object, Object)}. This is the default action.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutSwapBuffers() {
+        tornadoExecutor.withoutSwapBuffers();
+        return this;
+    }
+
     /**
      * Reset the execution context for the current execution plan. The TornadoVM
      * runtime system will clean the code cache and all events associated with the
@@ -426,6 +568,30 @@ public class TornadoExecutionPlan implements AutoCloseable {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutMemoryLimit);
         }
 
+        void withUnifiedMemory(boolean unifiedMemory) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withUnifiedMemory(unifiedMemory));
+        }
+
+        void withDeviceArena(String arenaSize) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withDeviceArena(arenaSize));
+        }
+
+        void withoutDeviceArena() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutDeviceArena);
+        }
+
+        void withIterations(int numIterations, Object stopCondition) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withIterations(numIterations, stopCondition));
+        }
+
+        void withSwapBuffers(Object bufferA, Object bufferB) {
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withSwapBuffers(bufferA, bufferB));
+        }
+
+        void withoutSwapBuffers() {
+            immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutSwapBuffers);
+        }
+
         /**
          * For all task-graphs contained in an Executor, update the device.
          *
@@ -514,6 +680,18 @@ public class TornadoExecutionPlan implements AutoCloseable {
             return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getDeviceKernelTime).mapToLong(Long::longValue).sum();
         }
 
+        long getPredictedDeviceWriteTime() {
+            return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getPredictedDeviceWriteTime).mapToLong(Long::longValue).sum();
+        }
+
+        long getPredictedDeviceReadTime() {
+            return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getPredictedDeviceReadTime).mapToLong(Long::longValue).sum();
+        }
+
+        long getPredictedDeviceKernelTime() {
+            return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getPredictedDeviceKernelTime).mapToLong(Long::longValue).sum();
+        }
+
         String getProfileLog() {
             return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getProfileLog).collect(Collectors.joining());
         }
@@ -157,6 +157,42 @@ public class TornadoProfilerResult implements ProfileInterface {
         return executor.getDeviceKernelTime();
     }
 
+    /**
+     * Returns the time (in ns) that the analytical model of the virtual device
+     * predicts for all immutable task-graphs to send data to the device (host ->
+     * device). It returns 0 if the execution did not run on a virtual device.
+     *
+     * @return long
+     */
+    @Override
+    public long getPredictedDeviceWriteTime() {
+        return executor.getPredictedDeviceWriteTime();
+    }
+
+    /**
+     * Returns the time (in ns) that the analytical model of the virtual device
+     * predicts for all immutable task-graphs to receive data in the host (device
+     * -> host). It returns 0 if the execution did not run on a virtual device.
+     *
+     * @return long
+     */
+    @Override
+    public long getPredictedDeviceReadTime() {
+        return executor.getPredictedDeviceReadTime();
+    }
+
+    /**
+     * Returns the time (in ns) that the analytical model of the virtual device
+     * predicts for all kernels of the immutable task-graphs. It returns 0 if the
+     * execution did not run on a virtual device.
+     *
+     * @return long
+     */
+    @Override
+    public long getPredictedDeviceKernelTime() {
+        return executor.getPredictedDeviceKernelTime();
+    }
+
     /**
      * Returns the profiler log in a JSON format for all the tasks within the
      * executor.
@@ -53,6 +53,18 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void withoutMemoryLimit();
 
+    void withUnifiedMemory(boolean unifiedMemory);
+
+    void withDeviceArena(String arenaSize);
+
+    void withoutDeviceArena();
+
+    void withIterations(int numIterations, Object stopCondition);
+
+    void withSwapBuffers(Object bufferA, Object bufferB);
+
+    void withoutSwapBuffers();
+
     void apply(Consumer<SchedulableTask> consumer);
 
     void mapAllToInner(TornadoDevice device);
@@ -17,6 +17,8 @@
  */
 package uk.ac.manchester.tornado.api.common;
 
+import java.util.function.UnaryOperator;
+
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task1;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task10;
@@ -147,6 +149,14 @@ public class TaskPackage {
         this.taskParameters = new Object[] { code, arg1, arg2, arg3, arg4, arg5, arg6, arg7, arg8, arg9, arg10, arg11, arg12, arg13, arg14, arg15 };
     }
 
+    private TaskPackage(TaskPackage taskPackage, Object[] taskParameters) {
+        this.id = taskPackage.id;
+        this.taskType = taskPackage.taskType;
+        this.taskParameters = taskParameters;
+        this.numThreadsToRun = taskPackage.numThreadsToRun;
+        this.isPrebuiltTask = taskPackage.isPrebuiltTask;
+    }
+
     public static TaskPackage createPackage(String id, Task code) {
         return new TaskPackage(id, code);
     }
@@ -223,6 +233,21 @@ public class TaskPackage {
         return new PrebuiltTaskPackage(id, entryPoint, filename, args, accesses, device, dimensions);
     }
 
+    /**
+     * Creates a copy of the package in which the arguments of the task are replaced. The code of the task is kept.
+     *
+     * @param replacement
+     *     function that returns the new value of each argument
+     * @return a new {@link TaskPackage}
+     */
+    public TaskPackage withArguments(UnaryOperator<Object> replacement) {
+        Object[] parameters = taskParameters.clone();
+        for (int i = 1; i < parameters.length; i++) {
+            parameters[i] = replacement.apply(parameters[i]);
+        }
+        return new TaskPackage(this, parameters);
+    }
+
     public String getId() {
         return id;
     }
@@ -25,6 +25,7 @@ import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
 
 public interface TornadoDevice {
@@ -192,6 +193,17 @@ public interface TornadoDevice {
         return Runtime.getRuntime().availableProcessors();
     }
 
+    /**
+     * Returns the allocator of page-locked host memory provided by the backend
+     * of this device, or null if the backend does not support pinned host
+     * allocations.
+     *
+     * @return {@link HostMemoryAllocator}
+     */
+    default HostMemoryAllocator getHostMemoryAllocator() {
+        return null;
+    }
+
     Object getAtomic();
 
     void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics);
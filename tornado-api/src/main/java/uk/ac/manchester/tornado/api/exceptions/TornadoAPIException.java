@@ -22,6 +22,10 @@ public class TornadoAPIException extends RuntimeException {
     private final String message;
     private final Exception e;
 
+    public TornadoAPIException(final String msg) {
+        this(msg, null);
+    }
+
     public TornadoAPIException(final String msg, Exception e) {
         message = msg;
         this.e = e;
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.memory;
+
+/**
+ * A region of device memory that is reserved with a single driver allocation
+ * and is sub-allocated into the buffers of an execution plan. Each slice is
+ * aligned to the array alignment of the backend, and kernels access it as if
+ * it was an independent buffer.
+ *
+ * <p>
+ * Arenas are created by the backends on demand, when an execution plan enables
+ * them with
+ * {@link uk.ac.manchester.tornado.api.TornadoExecutionPlan#withDeviceArena(String)},
+ * and they are released together with the device memory of the plan.
+ * </p>
+ */
+public interface DeviceArena {
+
+    /**
+     * Reserves a slice of the arena.
+     *
+     * @param numBytes
+     *     size of the slice in bytes
+     * @return the device handle of the slice, or -1 if the arena does not have
+     *     enough free space.
+     */
+    long allocate(long numBytes);
+
+    /**
+     * Returns a slice previously reserved with {@link #allocate(long)}.
+     *
+     * @param handle
+     *     device handle of the slice
+     */
+    void free(long handle);
+
+    /**
+     * Releases the driver allocation that backs the arena. Slices must not be
+     * used after this call.
+     */
+    void release();
+
+    /**
+     * @return size of the arena in bytes.
+     */
+    long getCapacity();
+
+    /**
+     * @return number of bytes of the arena that are currently reserved,
+     *     including alignment padding.
+     */
+    long getAllocatedSpace();
+}
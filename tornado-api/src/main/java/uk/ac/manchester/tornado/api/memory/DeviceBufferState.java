@@ -39,4 +39,16 @@ public interface DeviceBufferState {
 
     long getPartialCopySize();
 
+    void setUnifiedMemory(boolean unifiedMemory);
+
+    boolean isUnifiedMemory();
+
+    void setDeviceArena(DeviceArena deviceArena);
+
+    DeviceArena getDeviceArena();
+
+    void setSharedStorage(SharedDeviceStorage sharedStorage);
+
+    SharedDeviceStorage getSharedStorage();
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.memory;
+
+/**
+ * Backend-provided allocator of page-locked (pinned) host memory. Transfers
+ * between pinned host memory and the device can be performed by DMA without an
+ * intermediate staging copy, and they can overlap with host execution.
+ *
+ * <p>
+ * Implementations are exposed by each backend through
+ * {@link uk.ac.manchester.tornado.api.common.TornadoDevice#getHostMemoryAllocator()}
+ * and are used by {@link PinnedMemory} to allocate the segments of the
+ * TornadoVM native types.
+ * </p>
+ */
+public interface HostMemoryAllocator {
+
+    /**
+     * Allocates a region of page-locked host memory.
+     *
+     * @param numBytes
+     *     size of the region in bytes
+     * @return base address of the region, or 0 if the allocation failed
+     */
+    long allocatePinned(long numBytes);
+
+    /**
+     * Releases a region previously returned by {@link #allocatePinned(long)}.
+     *
+     * @param address
+     *     base address of the region
+     */
+    void freePinned(long address);
+
+    /**
+     * Returns the handle that kernels of the backend use to access a pinned
+     * region in place, without copies.
+     *
+     * @param address
+     *     base address of a region returned by {@link #allocatePinned(long)}
+     * @return the device handle of the region, or 0 if the region was not
+     *     allocated by this allocator or the device cannot access it directly
+     */
+    default long getDeviceBuffer(long address) {
+        return 0;
+    }
+
+    /**
+     * @return name of the backend API that provides the pinned memory (e.g.,
+     *     CUDA).
+     */
+    String getName();
+}
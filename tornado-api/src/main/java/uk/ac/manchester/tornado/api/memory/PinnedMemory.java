@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.memory;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * Allocation of the memory segments of the TornadoVM native types (e.g.,
+ * {@link uk.ac.manchester.tornado.api.types.arrays.FloatArray}) in page-locked
+ * (pinned) host memory.
+ *
+ * <p>
+ * Pinned memory is provided by the backend of a device, so it is requested for
+ * the device that will use the arrays (e.g., the device of the execution
+ * plan):
+ * </p>
+ *
+ * <code>
+ * FloatArray a = PinnedMemory.allocate(device, () -> new FloatArray(size));
+ * </code>
+ *
+ * <p>
+ * With the option {@code -Dtornado.pinned.memory=True}, the runtime sets the
+ * allocator of its default device once it has loaded the backends, and all
+ * native arrays created after that point are pinned. Allocating an array never
+ * initialises the runtime, so the arrays created before the backends are
+ * loaded use pageable memory.
+ * </p>
+ *
+ * <p>
+ * Pinned segments are bound to an automatic {@link Arena}, so they are
+ * released through the backend when the array that owns them is garbage
+ * collected. If the backend does not provide a pinned allocator, or the
+ * allocation fails, the segment falls back to regular (pageable) memory.
+ * </p>
+ */
+public final class PinnedMemory {
+
+    /**
+     * Allocator of the {@link #allocate(TornadoDevice, Supplier)} call that is
+     * running in the current thread, if any.
+     */
+    private static final ThreadLocal<HostMemoryAllocator> PINNED_SCOPE = new ThreadLocal<>();
+
+    /**
+     * Base address and size of the pinned regions that are currently alive.
+     */
+    private static final ConcurrentSkipListMap<Long, Long> PINNED_REGIONS = new ConcurrentSkipListMap<>();
+
+    private static volatile HostMemoryAllocator defaultAllocator;
+
+    private PinnedMemory() {
+    }
+
+    /**
+     * Runs the given constructor with pinned allocation enabled for the current
+     * thread. All native arrays created by the supplier are allocated in the
+     * pinned host memory of the backend of the given device. If the backend does
+     * not provide pinned memory, the supplier runs as if this method was not
+     * called.
+     *
+     * @param device
+     *     device that will use the arrays
+     * @param supplier
+     *     code that creates the native arrays
+     * @return the object returned by the supplier
+     */
+    public static <T> T allocate(TornadoDevice device, Supplier<T> supplier) {
+        HostMemoryAllocator previous = PINNED_SCOPE.get();
+        HostMemoryAllocator hostMemoryAllocator = device.getHostMemoryAllocator();
+        if (hostMemoryAllocator == null) {
+            // The backend of the device does not provide pinned memory
+            return supplier.get();
+        }
+        PINNED_SCOPE.set(hostMemoryAllocator);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                PINNED_SCOPE.remove();
+            } else {
+                PINNED_SCOPE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Sets the allocator of the native arrays created outside of
+     * {@link #allocate(TornadoDevice, Supplier)}. The runtime sets it to the
+     * allocator of its default device when {@code tornado.pinned.memory} is
+     * enabled.
+     *
+     * @param hostMemoryAllocator
+     *     allocator to use for the new segments, or null to allocate them in
+     *     pageable memory
+     */
+    public static void setDefaultAllocator(HostMemoryAllocator hostMemoryAllocator) {
+        defaultAllocator = hostMemoryAllocator;
+    }
+
+    private static HostMemoryAllocator getAllocator() {
+        HostMemoryAllocator hostMemoryAllocator = PINNED_SCOPE.get();
+        return hostMemoryAllocator != null ? hostMemoryAllocator : defaultAllocator;
+    }
+
+    /**
+     * @return true if the segments allocated from the current thread must be
+     *     pinned.
+     */
+    public static boolean isPinnedAllocationEnabled() {
+        return getAllocator() != null;
+    }
+
+    /**
+     * Allocates a zero-initialised segment for a native type. The segment is
+     * pinned if pinned allocation is enabled and supported by the backend.
+     *
+     * @param byteSize
+     *     size of the segment in bytes
+     * @return {@link MemorySegment}
+     */
+    public static MemorySegment allocateSegment(long byteSize) {
+        HostMemoryAllocator hostMemoryAllocator = getAllocator();
+        if (hostMemoryAllocator != null) {
+            long address = hostMemoryAllocator.allocatePinned(byteSize);
+            if (address != 0) {
+                return bindToArena(hostMemoryAllocator, address, byteSize);
+            }
+        }
+        return Arena.ofAuto().allocate(byteSize, 1);
+    }
+
+    private static MemorySegment bindToArena(HostMemoryAllocator hostMemoryAllocator, long address, long byteSize) {
+        PINNED_REGIONS.put(address, byteSize);
+        // The cleanup action must not capture the segment, otherwise the arena is never collected
+        MemorySegment segment = MemorySegment.ofAddress(address).reinterpret(byteSize, Arena.ofAuto(), region -> {
+            PINNED_REGIONS.remove(region.address());
+            hostMemoryAllocator.freePinned(region.address());
+        });
+        segment.fill((byte) 0);
+        return segment;
+    }
+
+    /**
+     * Checks whether a segment, or a slice of it, lives in pinned host memory.
+     *
+     * @param segment
+     *     {@link MemorySegment}
+     * @return true if the segment is pinned
+     */
+    public static boolean isPinned(MemorySegment segment) {
+        if (PINNED_REGIONS.isEmpty() || segment == null || !segment.isNative()) {
+            return false;
+        }
+        final long address = segment.address();
+        Map.Entry<Long, Long> region = PINNED_REGIONS.floorEntry(address);
+        return region != null && address + segment.byteSize() <= region.getKey() + region.getValue();
+    }
+}
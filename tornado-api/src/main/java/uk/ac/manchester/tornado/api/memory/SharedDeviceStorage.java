@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.memory;
+
+/**
+ * A device buffer that holds the storage of several objects of a task graph,
+ * such as a tensor and its views. The storage is copied to the device once,
+ * and the buffer of each object is a region of the shared buffer that starts
+ * with the fields of the object and reaches the storage at an offset. Updates
+ * made through any of the objects are therefore visible in all of them.
+ *
+ * <p>
+ * Shared storages are created by the backends, when the execution context finds
+ * more than one argument with the same storage.
+ * </p>
+ */
+public interface SharedDeviceStorage {
+
+    /**
+     * @return the objects that share the storage, in the order of their slots in
+     *     the device buffer.
+     */
+    Object[] getObjects();
+
+    /**
+     * @return size of the device buffer in bytes, or 0 if it is not allocated.
+     */
+    long getAllocatedSpace();
+}
@@ -60,6 +60,84 @@ public interface XPUBuffer {
 
     long getSizeSubRegionSize();
 
+    /**
+     * It binds the buffer to the host memory of the object, when the target
+     * device can access that memory in place. Transfers of a zero-copy buffer
+     * do not copy data; reads only synchronize the device with the host.
+     *
+     * @param reference
+     *     object to bind
+     * @param batchSize
+     *     size of the batch, or a value <= 0 for the whole object
+     * @return true if the buffer is bound to the host memory. Otherwise, the
+     *     buffer must be allocated with {@link #allocate(Object, long)}.
+     */
+    default boolean allocateZeroCopy(Object reference, long batchSize) {
+        return false;
+    }
+
+    default boolean isZeroCopy() {
+        return false;
+    }
+
+    /**
+     * It hands a zero-copy buffer over to the device before a kernel of the
+     * execution plan uses it. Backends that cannot share the memory with the
+     * host while kernels access it (e.g., OpenCL mapped buffers) unmap it here.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     */
+    default void acquireZeroCopy(long executionPlanId) {
+    }
+
+    /**
+     * It hands a zero-copy buffer back to the host once the pending commands
+     * of the execution plan are finished. It does nothing if the execution
+     * plan did not acquire the buffer.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     */
+    default void releaseZeroCopy(long executionPlanId) {
+    }
+
+    /**
+     * It allocates the buffer as a slice of a device arena instead of using a
+     * dedicated driver allocation.
+     *
+     * @param reference
+     *     object to allocate
+     * @param batchSize
+     *     size of the batch, or a value <= 0 for the whole object
+     * @param arena
+     *     arena of the execution plan in the target device
+     * @return true if the buffer is a slice of the arena. Otherwise, the buffer
+     *     must be allocated with {@link #allocate(Object, long)}.
+     */
+    default boolean allocateInArena(Object reference, long batchSize, DeviceArena arena) {
+        return false;
+    }
+
+    default boolean isArenaSlice() {
+        return false;
+    }
+
+    /**
+     * It allocates the buffer as a region of a device buffer whose storage is
+     * shared with other objects of the task graph.
+     *
+     * @param reference
+     *     object to allocate
+     * @param sharedStorage
+     *     shared storage of the object in the target device
+     * @return true if the buffer is a region of the shared storage. Otherwise,
+     *     the buffer must be allocated with {@link #allocate(Object, long)}.
+     */
+    default boolean allocateInSharedStorage(Object reference, SharedDeviceStorage sharedStorage) {
+        return false;
+    }
+
     default int[] getIntBuffer() {
         return null;
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Kernels of {@link StreamCompaction}. The selected elements are flagged, the
+ * flags are scanned to obtain the output positions, and the selected elements
+ * are written to their positions.
+ */
+public final class CompactionKernels {
+
+    /**
+     * Comparison codes. They match the order of
+     * {@link StreamCompaction.Comparison}.
+     */
+    public static final int EQUAL = 0;
+    public static final int NOT_EQUAL = 1;
+    public static final int LESS_THAN = 2;
+    public static final int LESS_EQUAL = 3;
+    public static final int GREATER_THAN = 4;
+    public static final int GREATER_EQUAL = 5;
+
+    private CompactionKernels() {
+    }
+
+    public static void predicateInt(KernelContext context, IntArray input, IntArray flags, int comparison, int threshold, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            int value = input.get(globalIdx);
+            boolean selected;
+            if (comparison == EQUAL) {
+                selected = value == threshold;
+            } else if (comparison == NOT_EQUAL) {
+                selected = value != threshold;
+            } else if (comparison == LESS_THAN) {
+                selected = value < threshold;
+            } else if (comparison == LESS_EQUAL) {
+                selected = value <= threshold;
+            } else if (comparison == GREATER_THAN) {
+                selected = value > threshold;
+            } else {
+                selected = value >= threshold;
+            }
+            flags.set(globalIdx, selected ? 1 : 0);
+        }
+    }
+
+    public static void compactInt(KernelContext context, IntArray input, IntArray output, IntArray flags, IntArray positions, IntArray count, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            if (flags.get(globalIdx) == 1) {
+                output.set(positions.get(globalIdx), input.get(globalIdx));
+            }
+            if (globalIdx == size - 1) {
+                count.set(0, positions.get(globalIdx) + flags.get(globalIdx));
+            }
+        }
+    }
+
+    public static void predicateFloat(KernelContext context, FloatArray input, IntArray flags, int comparison, float threshold, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            float value = input.get(globalIdx);
+            boolean selected;
+            if (comparison == EQUAL) {
+                selected = value == threshold;
+            } else if (comparison == NOT_EQUAL) {
+                selected = value != threshold;
+            } else if (comparison == LESS_THAN) {
+                selected = value < threshold;
+            } else if (comparison == LESS_EQUAL) {
+                selected = value <= threshold;
+            } else if (comparison == GREATER_THAN) {
+                selected = value > threshold;
+            } else {
+                selected = value >= threshold;
+            }
+            flags.set(globalIdx, selected ? 1 : 0);
+        }
+    }
+
+    public static void compactFloat(KernelContext context, FloatArray input, FloatArray output, IntArray flags, IntArray positions, IntArray count, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            if (flags.get(globalIdx) == 1) {
+                output.set(positions.get(globalIdx), input.get(globalIdx));
+            }
+            if (globalIdx == size - 1) {
+                count.set(0, positions.get(globalIdx) + flags.get(globalIdx));
+            }
+        }
+    }
+
+    public static void predicateLong(KernelContext context, LongArray input, IntArray flags, int comparison, long threshold, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            long value = input.get(globalIdx);
+            boolean selected;
+            if (comparison == EQUAL) {
+                selected = value == threshold;
+            } else if (comparison == NOT_EQUAL) {
+                selected = value != threshold;
+            } else if (comparison == LESS_THAN) {
+                selected = value < threshold;
+            } else if (comparison == LESS_EQUAL) {
+                selected = value <= threshold;
+            } else if (comparison == GREATER_THAN) {
+                selected = value > threshold;
+            } else {
+                selected = value >= threshold;
+            }
+            flags.set(globalIdx, selected ? 1 : 0);
+        }
+    }
+
+    public static void compactLong(KernelContext context, LongArray input, LongArray output, IntArray flags, IntArray positions, IntArray count, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            if (flags.get(globalIdx) == 1) {
+                output.set(positions.get(globalIdx), input.get(globalIdx));
+            }
+            if (globalIdx == size - 1) {
+                count.set(0, positions.get(globalIdx) + flags.get(globalIdx));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Privatised histogram. The number of bins is the size of the histogram array.
+ * Histograms of up to {@link HistogramKernels#MAX_LOCAL_BINS} bins are
+ * privatised per work-group in local memory, and larger ones per thread in
+ * global memory.
+ *
+ * <p>
+ * For {@link IntArray} and {@link LongArray} inputs, each value is the index of
+ * its bin, and values outside {@code [0, numBins)} are ignored. For
+ * {@link FloatArray} inputs, the range {@code [min, max)} is split into bins of
+ * equal width, and values outside the range are ignored.
+ * </p>
+ */
+public final class Histogram extends ParallelPrimitive<Histogram> {
+
+    /**
+     * Minimum number of elements counted by each private histogram.
+     */
+    private static final int ELEMENTS_PER_CHUNK = 32;
+
+    private static final int MAX_CHUNKS = 8192;
+
+    /**
+     * Maximum number of work-groups of the local-memory histograms. Each one
+     * adds {@code numBins} counters to the merge.
+     */
+    private static final int MAX_LOCAL_GROUPS = 256;
+
+    /**
+     * Upper bound of the number of counters of all private histograms.
+     */
+    private static final int MAX_PARTIAL_BINS = 1 << 24;
+
+    private Histogram(TornadoExecutionPlan executionPlan) {
+        super(executionPlan);
+    }
+
+    public static Histogram of(IntArray input, IntArray histogram) {
+        return build(input, histogram, 0, 0);
+    }
+
+    public static Histogram of(LongArray input, IntArray histogram) {
+        return build(input, histogram, 0, 0);
+    }
+
+    public static Histogram of(FloatArray input, float min, float max, IntArray histogram) {
+        if (!(min < max)) {
+            throw new TornadoRuntimeException(STR."[ERROR] Invalid histogram range [\{min}, \{max})");
+        }
+        return build(input, histogram, min, max);
+    }
+
+    private static int numChunks(int size, int numBins) {
+        int numChunks = Math.min((size + ELEMENTS_PER_CHUNK - 1) / ELEMENTS_PER_CHUNK, MAX_CHUNKS);
+        numChunks = Math.min(numChunks, MAX_PARTIAL_BINS / numBins);
+        return Math.max(numChunks, 1);
+    }
+
+    private static int numLocalGroups(int size) {
+        int elementsPerGroup = ELEMENTS_PER_CHUNK * ScanKernels.BLOCK_SIZE;
+        int numGroups = Math.min((size + elementsPerGroup - 1) / elementsPerGroup, MAX_LOCAL_GROUPS);
+        return Math.max(numGroups, 1);
+    }
+
+    private static Histogram build(TornadoNativeArray input, IntArray histogram, float min, float max) {
+        if (input.getSize() == 0) {
+            throw new TornadoRuntimeException("[ERROR] The input array of a parallel primitive is empty");
+        }
+        final int size = input.getSize();
+        final int numBins = histogram.getSize();
+        if (numBins == 0 || numBins > MAX_PARTIAL_BINS) {
+            throw new TornadoRuntimeException(STR."[ERROR] The number of bins must be in [1, \{MAX_PARTIAL_BINS}]");
+        }
+        final boolean localBins = numBins <= HistogramKernels.MAX_LOCAL_BINS;
+        final int numChunks = localBins ? numLocalGroups(size) : numChunks(size, numBins);
+        IntArray partialHistograms = new IntArray(numBins * numChunks);
+
+        PrimitiveGraph graph = new PrimitiveGraph("histogram");
+        TaskGraph taskGraph = graph.getTaskGraph();
+        KernelContext context = graph.getContext();
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+
+        if (localBins) {
+            String partialTask = graph.newKernelTask("partial", numChunks * ScanKernels.BLOCK_SIZE);
+            switch (input) {
+                case IntArray intInput -> taskGraph.task(partialTask, HistogramKernels::localHistogramInt, context, intInput, partialHistograms, numBins, numChunks, size);
+                case LongArray longInput -> taskGraph.task(partialTask, HistogramKernels::localHistogramLong, context, longInput, partialHistograms, numBins, numChunks, size);
+                case FloatArray floatInput -> taskGraph.task(partialTask, HistogramKernels::localHistogramFloat, context, floatInput, partialHistograms, numBins, numChunks, min, max, numBins / (max - min),
+                        size);
+                default -> throw new TornadoRuntimeException(STR."[ERROR] Histogram is not supported for \{input.getClass().getSimpleName()}");
+            }
+        } else {
+            String partialTask = graph.newKernelTask("partial", numChunks);
+            switch (input) {
+                case IntArray intInput -> taskGraph.task(partialTask, HistogramKernels::partialHistogramInt, context, intInput, partialHistograms, numBins, numChunks, size);
+                case LongArray longInput -> taskGraph.task(partialTask, HistogramKernels::partialHistogramLong, context, longInput, partialHistograms, numBins, numChunks, size);
+                case FloatArray floatInput -> taskGraph.task(partialTask, HistogramKernels::partialHistogramFloat, context, floatInput, partialHistograms, numBins, numChunks, min, max,
+                        numBins / (max - min), size);
+                default -> throw new TornadoRuntimeException(STR."[ERROR] Histogram is not supported for \{input.getClass().getSimpleName()}");
+            }
+        }
+        taskGraph.task(graph.newKernelTask("merge", numBins), HistogramKernels::mergeHistograms, context, partialHistograms, histogram, numBins, numChunks);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, histogram);
+
+        return new Histogram(graph.buildExecutionPlan());
+    }
+}
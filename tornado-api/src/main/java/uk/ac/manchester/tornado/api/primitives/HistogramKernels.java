@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import static uk.ac.manchester.tornado.api.primitives.ScanKernels.BLOCK_SIZE;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Kernels of {@link Histogram}.
+ *
+ * <p>
+ * When the histogram fits in local memory ({@link #MAX_LOCAL_BINS} bins), each
+ * work-group of {@link ScanKernels#BLOCK_SIZE} threads counts its elements in
+ * a local histogram with local atomics, and writes it once to global memory.
+ * The threads of all work-groups stride over the input together, which keeps
+ * the reads coalesced.
+ * </p>
+ *
+ * <p>
+ * Larger histograms fall back to one private histogram per thread in global
+ * memory, updated without atomics. Thread {@code t} of {@code numChunks}
+ * counts the elements {@code t, t + numChunks, ...}.
+ * </p>
+ *
+ * In both cases the partial histograms are stored bin-major
+ * ({@code bin * numChunks + chunk}, with one chunk per work-group or per
+ * thread) and merged with one thread per bin.
+ */
+public final class HistogramKernels {
+
+    /**
+     * Maximum number of bins of the histograms privatised in local memory.
+     */
+    public static final int MAX_LOCAL_BINS = 1024;
+
+    private HistogramKernels() {
+    }
+
+    public static void localHistogramInt(KernelContext context, IntArray input, IntArray partialHistograms, int numBins, int numGroups, int size) {
+        int localIdx = context.localIdx;
+        int group = context.groupIdx;
+        int[] bins = context.allocateIntLocalArray(MAX_LOCAL_BINS);
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            bins[bin] = 0;
+        }
+        context.localBarrier();
+
+        for (int i = group * BLOCK_SIZE + localIdx; i < size; i += numGroups * BLOCK_SIZE) {
+            int value = input.get(i);
+            if (value >= 0 && value < numBins) {
+                context.atomicAdd(bins, value, 1);
+            }
+        }
+        context.localBarrier();
+
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            partialHistograms.set(bin * numGroups + group, bins[bin]);
+        }
+    }
+
+    public static void localHistogramLong(KernelContext context, LongArray input, IntArray partialHistograms, int numBins, int numGroups, int size) {
+        int localIdx = context.localIdx;
+        int group = context.groupIdx;
+        int[] bins = context.allocateIntLocalArray(MAX_LOCAL_BINS);
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            bins[bin] = 0;
+        }
+        context.localBarrier();
+
+        for (int i = group * BLOCK_SIZE + localIdx; i < size; i += numGroups * BLOCK_SIZE) {
+            long value = input.get(i);
+            if (value >= 0 && value < numBins) {
+                context.atomicAdd(bins, (int) value, 1);
+            }
+        }
+        context.localBarrier();
+
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            partialHistograms.set(bin * numGroups + group, bins[bin]);
+        }
+    }
+
+    /**
+     * Local-memory variant of {@link #partialHistogramFloat}.
+     */
+    public static void localHistogramFloat(KernelContext context, FloatArray input, IntArray partialHistograms, int numBins, int numGroups, float min, float max, float scale, int size) {
+        int localIdx = context.localIdx;
+        int group = context.groupIdx;
+        int[] bins = context.allocateIntLocalArray(MAX_LOCAL_BINS);
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            bins[bin] = 0;
+        }
+        context.localBarrier();
+
+        for (int i = group * BLOCK_SIZE + localIdx; i < size; i += numGroups * BLOCK_SIZE) {
+            float value = input.get(i);
+            if (value >= min && value < max) {
+                int bin = (int) ((value - min) * scale);
+                if (bin >= numBins) {
+                    bin = numBins - 1;
+                }
+                context.atomicAdd(bins, bin, 1);
+            }
+        }
+        context.localBarrier();
+
+        for (int bin = localIdx; bin < numBins; bin += BLOCK_SIZE) {
+            partialHistograms.set(bin * numGroups + group, bins[bin]);
+        }
+    }
+
+    private static void clearPartialHistogram(IntArray partialHistograms, int chunk, int numBins, int numChunks) {
+        for (int bin = 0; bin < numBins; bin++) {
+            partialHistograms.set(bin * numChunks + chunk, 0);
+        }
+    }
+
+    public static void partialHistogramInt(KernelContext context, IntArray input, IntArray partialHistograms, int numBins, int numChunks, int size) {
+        int chunk = context.globalIdx;
+        if (chunk < numChunks) {
+            clearPartialHistogram(partialHistograms, chunk, numBins, numChunks);
+            for (int i = chunk; i < size; i += numChunks) {
+                int value = input.get(i);
+                if (value >= 0 && value < numBins) {
+                    int index = value * numChunks + chunk;
+                    partialHistograms.set(index, partialHistograms.get(index) + 1);
+                }
+            }
+        }
+    }
+
+    public static void partialHistogramLong(KernelContext context, LongArray input, IntArray partialHistograms, int numBins, int numChunks, int size) {
+        int chunk = context.globalIdx;
+        if (chunk < numChunks) {
+            clearPartialHistogram(partialHistograms, chunk, numBins, numChunks);
+            for (int i = chunk; i < size; i += numChunks) {
+                long value = input.get(i);
+                if (value >= 0 && value < numBins) {
+                    int index = (int) value * numChunks + chunk;
+                    partialHistograms.set(index, partialHistograms.get(index) + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Histogram of the values in {@code [min, max)}, split into bins of equal
+     * width. {@code scale} is {@code numBins / (max - min)}.
+     */
+    public static void partialHistogramFloat(KernelContext context, FloatArray input, IntArray partialHistograms, int numBins, int numChunks, float min, float max, float scale, int size) {
+        int chunk = context.globalIdx;
+        if (chunk < numChunks) {
+            clearPartialHistogram(partialHistograms, chunk, numBins, numChunks);
+            for (int i = chunk; i < size; i += numChunks) {
+                float value = input.get(i);
+                if (value >= min && value < max) {
+                    int bin = (int) ((value - min) * scale);
+                    // Rounding can map values close to max to numBins
+                    if (bin >= numBins) {
+                        bin = numBins - 1;
+                    }
+                    int index = bin * numChunks + chunk;
+                    partialHistograms.set(index, partialHistograms.get(index) + 1);
+                }
+            }
+        }
+    }
+
+    public static void mergeHistograms(KernelContext context, IntArray partialHistograms, IntArray histogram, int numBins, int numChunks) {
+        int bin = context.globalIdx;
+        if (bin < numBins) {
+            int base = bin * numChunks;
+            int sum = 0;
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                sum += partialHistograms.get(base + chunk);
+            }
+            histogram.set(bin, sum);
+        }
+    }
+}
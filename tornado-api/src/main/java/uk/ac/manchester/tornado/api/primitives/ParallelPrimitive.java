@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+
+/**
+ * Base class of the parallel primitives. A primitive compiles its task-graph
+ * once, for the arrays given at construction time, and it can be executed many
+ * times after the content of the arrays changes.
+ *
+ * <p>
+ * The device memory of the primitive is released when it is closed.
+ * </p>
+ *
+ * @param <P>
+ *     type of the primitive
+ */
+public abstract class ParallelPrimitive<P extends ParallelPrimitive<P>> implements AutoCloseable {
+
+    protected final TornadoExecutionPlan executionPlan;
+
+    protected ParallelPrimitive(TornadoExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private P self() {
+        return (P) this;
+    }
+
+    /**
+     * Selects the device that runs the primitive.
+     *
+     * @param device
+     *     {@link TornadoDevice}
+     * @return the primitive
+     */
+    public P withDevice(TornadoDevice device) {
+        executionPlan.withDevice(device);
+        return self();
+    }
+
+    /**
+     * Compiles the kernels of the primitive before the first execution.
+     *
+     * @return the primitive
+     */
+    public P withWarmUp() {
+        executionPlan.withWarmUp();
+        return self();
+    }
+
+    /**
+     * Execution plan of the primitive, to configure options such as the
+     * profiler.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * Runs the primitive. The results are available on the host when the method
+     * returns.
+     *
+     * @return {@link TornadoExecutionResult}
+     */
+    public TornadoExecutionResult execute() {
+        return executionPlan.execute();
+    }
+
+    @Override
+    public void close() throws TornadoExecutionPlanException {
+        executionPlan.close();
+    }
+}
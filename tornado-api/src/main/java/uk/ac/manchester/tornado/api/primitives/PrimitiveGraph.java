@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import static uk.ac.manchester.tornado.api.primitives.ScanKernels.BLOCK_SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task4;
+import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task5;
+import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
+import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Builds the task-graph of a parallel primitive. Kernel tasks are registered
+ * in a {@link GridScheduler} with a local work-group size of
+ * {@link ScanKernels#BLOCK_SIZE} threads, and the global size rounded up to a
+ * multiple of it.
+ */
+final class PrimitiveGraph {
+
+    private static final AtomicInteger GRAPH_COUNTER = new AtomicInteger();
+
+    private final String name;
+    private final TaskGraph taskGraph;
+    private final GridScheduler gridScheduler;
+    private final KernelContext context;
+    private int taskCounter;
+
+    PrimitiveGraph(String prefix) {
+        this.name = prefix + GRAPH_COUNTER.getAndIncrement();
+        this.taskGraph = new TaskGraph(name);
+        this.gridScheduler = new GridScheduler();
+        this.context = new KernelContext();
+    }
+
+    TaskGraph getTaskGraph() {
+        return taskGraph;
+    }
+
+    KernelContext getContext() {
+        return context;
+    }
+
+    static int numBlocks(int size) {
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Creates the name of a new task and registers its grid of threads.
+     *
+     * @param kernelName
+     *     prefix of the task name
+     * @param numThreads
+     *     minimum number of threads of the task
+     * @return the task name
+     */
+    String newKernelTask(String kernelName, int numThreads) {
+        String taskName = newTask(kernelName);
+        WorkerGrid workerGrid = new WorkerGrid1D(numBlocks(numThreads) * BLOCK_SIZE);
+        workerGrid.setLocalWork(BLOCK_SIZE, 1, 1);
+        gridScheduler.setWorkerGrid(name + "." + taskName, workerGrid);
+        return taskName;
+    }
+
+    /**
+     * Creates the name of a new task that runs with the default grid.
+     */
+    String newTask(String taskName) {
+        return taskName + taskCounter++;
+    }
+
+    /**
+     * Sizes of the levels of a multi-level scan, from the input size down to a
+     * single block total.
+     */
+    private static int[] levelSizes(int size) {
+        List<Integer> sizes = new ArrayList<>();
+        sizes.add(size);
+        int current = size;
+        do {
+            current = numBlocks(current);
+            sizes.add(current);
+        } while (current > 1);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Appends the tasks of a multi-level scan. Each level scans the block totals
+     * of the level below, and the scanned totals are added back level by level.
+     */
+    <T> void appendScan(T input, T output, int size, boolean inclusive, IntFunction<T> allocator, Task6<KernelContext, T, T, T, Integer, Integer> scanKernel,
+            Task4<KernelContext, T, T, Integer> offsetsKernel) {
+        int[] sizes = levelSizes(size);
+        List<T> levels = new ArrayList<>();
+        levels.add(output);
+        for (int level = 1; level < sizes.length; level++) {
+            levels.add(allocator.apply(sizes[level]));
+        }
+
+        for (int level = 0; level < sizes.length - 1; level++) {
+            T levelInput = level == 0 ? input : levels.get(level);
+            int inclusiveFlag = (level == 0 && inclusive) ? 1 : 0;
+            taskGraph.task(newKernelTask("scan", sizes[level]), scanKernel, context, levelInput, levels.get(level), levels.get(level + 1), sizes[level], inclusiveFlag);
+        }
+        // The last scanned level fits in a single block
+        for (int level = sizes.length - 3; level >= 0; level--) {
+            taskGraph.task(newKernelTask("offsets", sizes[level]), offsetsKernel, context, levels.get(level), levels.get(level + 1), sizes[level]);
+        }
+    }
+
+    /**
+     * Appends the tasks of a multi-level segmented scan. The block totals of the
+     * upper levels are always scanned inclusively, because the carry of a block
+     * is the total of the open segment up to the previous block.
+     */
+    <T> void appendSegmentedScan(T input, IntArray flags, T output, int size, boolean inclusive, IntFunction<T> allocator,
+            Task8<KernelContext, T, IntArray, T, T, IntArray, Integer, Integer> scanKernel, Task5<KernelContext, T, IntArray, T, Integer> offsetsKernel) {
+        int[] sizes = levelSizes(size);
+        List<T> levels = new ArrayList<>();
+        List<IntArray> levelFlags = new ArrayList<>();
+        levels.add(output);
+        levelFlags.add(flags);
+        for (int level = 1; level < sizes.length; level++) {
+            levels.add(allocator.apply(sizes[level]));
+            levelFlags.add(new IntArray(sizes[level]));
+        }
+
+        for (int level = 0; level < sizes.length - 1; level++) {
+            T levelInput = level == 0 ? input : levels.get(level);
+            int inclusiveFlag = (level > 0 || inclusive) ? 1 : 0;
+            taskGraph.task(newKernelTask("segscan", sizes[level]), scanKernel, context, levelInput, levelFlags.get(level), levels.get(level), levels.get(level + 1), levelFlags.get(level + 1),
+                    sizes[level], inclusiveFlag);
+        }
+        for (int level = sizes.length - 3; level >= 0; level--) {
+            taskGraph.task(newKernelTask("segoffsets", sizes[level]), offsetsKernel, context, levels.get(level), levelFlags.get(level), levels.get(level + 1), sizes[level]);
+        }
+    }
+
+    TornadoExecutionPlan buildExecutionPlan() {
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler);
+        return executionPlan;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Stable least-significant-digit radix sort of {@link IntArray} and
+ * {@link LongArray} keys, optionally with an {@link IntArray} of values (e.g.,
+ * the original indexes of the keys).
+ *
+ * <p>
+ * Each pass sorts the keys by a digit of {@link RadixSortKernels#RADIX_BITS}
+ * bits: the work-groups count the digits of their blocks, an exclusive scan of
+ * the counts gives the output position of each digit of each block, and each
+ * work-group reorders its block in local memory before writing it. All passes run
+ * on the device within one execution: the task-graph is executed with
+ * {@link TornadoExecutionPlan#withIterations(int)} and the input and output
+ * buffers are swapped on the device between passes. The input arrays are not
+ * modified on the host, and the sorted keys and values are copied to the
+ * output arrays.
+ * </p>
+ */
+public final class RadixSort extends ParallelPrimitive<RadixSort> {
+
+    private final int maxKeyBits;
+
+    private RadixSort(TornadoExecutionPlan executionPlan, int maxKeyBits) {
+        super(executionPlan);
+        this.maxKeyBits = maxKeyBits;
+        executionPlan.withIterations(numPasses(maxKeyBits));
+    }
+
+    private static int numPasses(int numBits) {
+        return (numBits + RadixSortKernels.RADIX_BITS - 1) / RadixSortKernels.RADIX_BITS;
+    }
+
+    public static RadixSort of(IntArray keys, IntArray sortedKeys) {
+        return build(keys, sortedKeys, null, null, Integer.SIZE);
+    }
+
+    public static RadixSort of(IntArray keys, IntArray values, IntArray sortedKeys, IntArray sortedValues) {
+        return build(keys, sortedKeys, values, sortedValues, Integer.SIZE);
+    }
+
+    public static RadixSort of(LongArray keys, LongArray sortedKeys) {
+        return build(keys, sortedKeys, null, null, Long.SIZE);
+    }
+
+    public static RadixSort of(LongArray keys, IntArray values, LongArray sortedKeys, IntArray sortedValues) {
+        return build(keys, sortedKeys, values, sortedValues, Long.SIZE);
+    }
+
+    /**
+     * Sorts only by the lowest bits of the keys, with one pass per digit of
+     * {@link RadixSortKernels#RADIX_BITS} bits. The keys must be non-negative and
+     * smaller than {@code 2^numBits}.
+     *
+     * @param numBits
+     *     number of bits of the keys
+     * @return {@link RadixSort}
+     */
+    public RadixSort withKeyBits(int numBits) {
+        if (numBits < 1 || numBits > maxKeyBits) {
+            throw new TornadoRuntimeException(STR."[ERROR] The number of bits of the keys must be in [1, \{maxKeyBits}]");
+        }
+        executionPlan.withIterations(numPasses(numBits));
+        return this;
+    }
+
+    private static RadixSort build(TornadoNativeArray keys, TornadoNativeArray sortedKeys, IntArray values, IntArray sortedValues, int keyBits) {
+        if (values != null) {
+            Scan.checkSizes(keys, sortedKeys, values, sortedValues);
+        } else {
+            Scan.checkSizes(keys, sortedKeys);
+        }
+        final int size = keys.getSize();
+        if (sortedKeys.getSize() != size || (sortedValues != null && sortedValues.getSize() != size)) {
+            throw new TornadoRuntimeException("[ERROR] The output arrays of the radix sort must have the same size as the keys");
+        }
+
+        final int numBlocks = PrimitiveGraph.numBlocks(size);
+        final int numCounts = RadixSortKernels.RADIX * numBlocks;
+        IntArray digitCounts = new IntArray(numCounts);
+        IntArray digitOffsets = new IntArray(numCounts);
+        IntArray state = new IntArray(1);
+
+        PrimitiveGraph graph = new PrimitiveGraph("radixsort");
+        TaskGraph taskGraph = graph.getTaskGraph();
+        if (values != null) {
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, keys, values, state);
+        } else {
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, keys, state);
+        }
+
+        switch (keys) {
+            case IntArray intKeys -> taskGraph.task(graph.newKernelTask("counts", size), RadixSortKernels::digitCountsInt, graph.getContext(), intKeys, digitCounts, state, numBlocks, size);
+            case LongArray longKeys -> taskGraph.task(graph.newKernelTask("counts", size), RadixSortKernels::digitCountsLong, graph.getContext(), longKeys, digitCounts, state, numBlocks, size);
+            default -> throw new TornadoRuntimeException(STR."[ERROR] Radix sort is not supported for \{keys.getClass().getSimpleName()}");
+        }
+
+        graph.appendScan(digitCounts, digitOffsets, numCounts, false, IntArray::new, ScanKernels::blockScanInt, ScanKernels::addBlockOffsetsInt);
+
+        String scatterTask = graph.newKernelTask("scatter", size);
+        if (keys instanceof IntArray intKeys && values == null) {
+            taskGraph.task(scatterTask, RadixSortKernels::scatterInt, graph.getContext(), intKeys, (IntArray) sortedKeys, digitCounts, digitOffsets, state, numBlocks, size);
+        } else if (keys instanceof IntArray intKeys) {
+            taskGraph.task(scatterTask, RadixSortKernels::scatterKeyValueInt, graph.getContext(), intKeys, (IntArray) sortedKeys, values, sortedValues, digitCounts, digitOffsets, state,
+                    numBlocks, size);
+        } else if (values == null) {
+            taskGraph.task(scatterTask, RadixSortKernels::scatterLong, graph.getContext(), (LongArray) keys, (LongArray) sortedKeys, digitCounts, digitOffsets, state, numBlocks, size);
+        } else {
+            taskGraph.task(scatterTask, RadixSortKernels::scatterKeyValueLong, graph.getContext(), (LongArray) keys, (LongArray) sortedKeys, values, sortedValues, digitCounts, digitOffsets,
+                    state, numBlocks, size);
+        }
+        taskGraph.task(graph.newTask("next"), RadixSortKernels::nextDigit, state);
+
+        if (values != null) {
+            taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, sortedKeys, sortedValues);
+        } else {
+            taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, sortedKeys);
+        }
+
+        TornadoExecutionPlan executionPlan = graph.buildExecutionPlan();
+        // Each pass reads the keys written by the previous one. The output of
+        // the last pass is in the buffers of the sorted arrays.
+        executionPlan.withSwapBuffers(keys, sortedKeys);
+        if (values != null) {
+            executionPlan.withSwapBuffers(values, sortedValues);
+        }
+        return new RadixSort(executionPlan, keyBits);
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import static uk.ac.manchester.tornado.api.primitives.ScanKernels.BLOCK_SIZE;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Kernels of the LSD radix sort implemented by {@link RadixSort}. Each pass
+ * sorts the keys by a digit of {@link #RADIX_BITS} bits in three steps:
+ *
+ * <ol>
+ * <li>Each work-group counts the digits of its block of {@link ScanKernels#BLOCK_SIZE}
+ * keys in local memory. The counts are stored digit-major
+ * ({@code digit * numBlocks + block}).</li>
+ * <li>An exclusive scan of the counts gives the first position of each digit
+ * of each block in the output.</li>
+ * <li>Each work-group sorts its block by the digit in local memory, with one
+ * stable split per bit, and writes the keys of each digit to consecutive
+ * positions of the output.</li>
+ * </ol>
+ *
+ * The shift of the current digit is read from a device-side state array, so the
+ * same kernels are reused for every pass. The sign bit is inverted, so negative
+ * keys come first.
+ */
+public final class RadixSortKernels {
+
+    /**
+     * Number of bits of the digit sorted by each pass.
+     */
+    public static final int RADIX_BITS = 4;
+
+    public static final int RADIX = 1 << RADIX_BITS;
+
+    private RadixSortKernels() {
+    }
+
+    private static int digitInt(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    private static int digitLong(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    public static void digitCountsInt(KernelContext context, IntArray keys, IntArray digitCounts, IntArray state, int numBlocks, int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] counts = context.allocateIntLocalArray(RADIX);
+        if (localIdx < RADIX) {
+            counts[localIdx] = 0;
+        }
+        context.localBarrier();
+        if (globalIdx < size) {
+            context.atomicAdd(counts, digitInt(keys.get(globalIdx), state.get(0)), 1);
+        }
+        context.localBarrier();
+        if (localIdx < RADIX) {
+            digitCounts.set(localIdx * numBlocks + context.groupIdx, counts[localIdx]);
+        }
+    }
+
+    public static void digitCountsLong(KernelContext context, LongArray keys, IntArray digitCounts, IntArray state, int numBlocks, int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] counts = context.allocateIntLocalArray(RADIX);
+        if (localIdx < RADIX) {
+            counts[localIdx] = 0;
+        }
+        context.localBarrier();
+        if (globalIdx < size) {
+            context.atomicAdd(counts, digitLong(keys.get(globalIdx), state.get(0)), 1);
+        }
+        context.localBarrier();
+        if (localIdx < RADIX) {
+            digitCounts.set(localIdx * numBlocks + context.groupIdx, counts[localIdx]);
+        }
+    }
+
+    /**
+     * Number of keys of the block with a digit smaller than {@code digit}.
+     */
+    private static int digitStart(IntArray digitCounts, int digit, int block, int numBlocks) {
+        int start = 0;
+        for (int i = 0; i < digit; i++) {
+            start += digitCounts.get(i * numBlocks + block);
+        }
+        return start;
+    }
+
+    /**
+     * Sorts the block by the digit in local memory and writes each key to the
+     * first position of its digit in the block, given by the scanned counts,
+     * plus its rank within the digit. Each split reads the keys of the block
+     * before the barriers of its scan, so they are reordered in place.
+     */
+    public static void scatterInt(KernelContext context, IntArray keysIn, IntArray keysOut, IntArray digitCounts, IntArray digitOffsets, IntArray state, int numBlocks,
+            int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int block = context.groupIdx;
+        int[] localKeys = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] localDigits = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] flags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStarts = context.allocateIntLocalArray(RADIX);
+
+        int key = 0;
+        // Padding threads take the last digit, so they stay behind the keys of the block
+        int digit = RADIX - 1;
+        if (globalIdx < size) {
+            key = keysIn.get(globalIdx);
+            digit = digitInt(key, state.get(0));
+        }
+        localKeys[localIdx] = key;
+        localDigits[localIdx] = digit;
+        if (localIdx < RADIX) {
+            digitStarts[localIdx] = digitStart(digitCounts, localIdx, block, numBlocks);
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            context.localBarrier();
+            key = localKeys[localIdx];
+            digit = localDigits[localIdx];
+            int flag = 1 - ((digit >> bit) & 1);
+            int lastFlag = 1 - ((localDigits[BLOCK_SIZE - 1] >> bit) & 1);
+            flags[localIdx] = flag;
+            // Exclusive scan of the flags, as in ScanKernels.blockScanInt
+            for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    flags[index] += flags[index - stride];
+                }
+            }
+            context.localBarrier();
+            if (localIdx == 0) {
+                flags[BLOCK_SIZE - 1] = 0;
+            }
+            for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    int left = flags[index - stride];
+                    flags[index - stride] = flags[index];
+                    flags[index] += left;
+                }
+            }
+            context.localBarrier();
+            int numFlagged = flags[BLOCK_SIZE - 1] + lastFlag;
+            int position = flags[localIdx];
+            if (flag == 0) {
+                position = numFlagged + localIdx - flags[localIdx];
+            }
+            localKeys[position] = key;
+            localDigits[position] = digit;
+        }
+        context.localBarrier();
+
+        if (localIdx < size - block * BLOCK_SIZE) {
+            digit = localDigits[localIdx];
+            int position = digitOffsets.get(digit * numBlocks + block) + localIdx - digitStarts[digit];
+            keysOut.set(position, localKeys[localIdx]);
+        }
+    }
+
+    public static void scatterLong(KernelContext context, LongArray keysIn, LongArray keysOut, IntArray digitCounts, IntArray digitOffsets, IntArray state, int numBlocks,
+            int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int block = context.groupIdx;
+        long[] localKeys = context.allocateLongLocalArray(BLOCK_SIZE);
+        int[] localDigits = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] flags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStarts = context.allocateIntLocalArray(RADIX);
+
+        long key = 0;
+        // Padding threads take the last digit, so they stay behind the keys of the block
+        int digit = RADIX - 1;
+        if (globalIdx < size) {
+            key = keysIn.get(globalIdx);
+            digit = digitLong(key, state.get(0));
+        }
+        localKeys[localIdx] = key;
+        localDigits[localIdx] = digit;
+        if (localIdx < RADIX) {
+            digitStarts[localIdx] = digitStart(digitCounts, localIdx, block, numBlocks);
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            context.localBarrier();
+            key = localKeys[localIdx];
+            digit = localDigits[localIdx];
+            int flag = 1 - ((digit >> bit) & 1);
+            int lastFlag = 1 - ((localDigits[BLOCK_SIZE - 1] >> bit) & 1);
+            flags[localIdx] = flag;
+            // Exclusive scan of the flags, as in ScanKernels.blockScanInt
+            for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    flags[index] += flags[index - stride];
+                }
+            }
+            context.localBarrier();
+            if (localIdx == 0) {
+                flags[BLOCK_SIZE - 1] = 0;
+            }
+            for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    int left = flags[index - stride];
+                    flags[index - stride] = flags[index];
+                    flags[index] += left;
+                }
+            }
+            context.localBarrier();
+            int numFlagged = flags[BLOCK_SIZE - 1] + lastFlag;
+            int position = flags[localIdx];
+            if (flag == 0) {
+                position = numFlagged + localIdx - flags[localIdx];
+            }
+            localKeys[position] = key;
+            localDigits[position] = digit;
+        }
+        context.localBarrier();
+
+        if (localIdx < size - block * BLOCK_SIZE) {
+            digit = localDigits[localIdx];
+            int position = digitOffsets.get(digit * numBlocks + block) + localIdx - digitStarts[digit];
+            keysOut.set(position, localKeys[localIdx]);
+        }
+    }
+
+    public static void scatterKeyValueInt(KernelContext context, IntArray keysIn, IntArray keysOut, IntArray valuesIn, IntArray valuesOut, IntArray digitCounts, IntArray digitOffsets, IntArray state, int numBlocks,
+            int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int block = context.groupIdx;
+        int[] localKeys = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] localValues = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] localDigits = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] flags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStarts = context.allocateIntLocalArray(RADIX);
+
+        int key = 0;
+        int value = 0;
+        // Padding threads take the last digit, so they stay behind the keys of the block
+        int digit = RADIX - 1;
+        if (globalIdx < size) {
+            key = keysIn.get(globalIdx);
+            value = valuesIn.get(globalIdx);
+            digit = digitInt(key, state.get(0));
+        }
+        localKeys[localIdx] = key;
+        localValues[localIdx] = value;
+        localDigits[localIdx] = digit;
+        if (localIdx < RADIX) {
+            digitStarts[localIdx] = digitStart(digitCounts, localIdx, block, numBlocks);
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            context.localBarrier();
+            key = localKeys[localIdx];
+            value = localValues[localIdx];
+            digit = localDigits[localIdx];
+            int flag = 1 - ((digit >> bit) & 1);
+            int lastFlag = 1 - ((localDigits[BLOCK_SIZE - 1] >> bit) & 1);
+            flags[localIdx] = flag;
+            // Exclusive scan of the flags, as in ScanKernels.blockScanInt
+            for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    flags[index] += flags[index - stride];
+                }
+            }
+            context.localBarrier();
+            if (localIdx == 0) {
+                flags[BLOCK_SIZE - 1] = 0;
+            }
+            for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    int left = flags[index - stride];
+                    flags[index - stride] = flags[index];
+                    flags[index] += left;
+                }
+            }
+            context.localBarrier();
+            int numFlagged = flags[BLOCK_SIZE - 1] + lastFlag;
+            int position = flags[localIdx];
+            if (flag == 0) {
+                position = numFlagged + localIdx - flags[localIdx];
+            }
+            localKeys[position] = key;
+            localValues[position] = value;
+            localDigits[position] = digit;
+        }
+        context.localBarrier();
+
+        if (localIdx < size - block * BLOCK_SIZE) {
+            digit = localDigits[localIdx];
+            int position = digitOffsets.get(digit * numBlocks + block) + localIdx - digitStarts[digit];
+            keysOut.set(position, localKeys[localIdx]);
+            valuesOut.set(position, localValues[localIdx]);
+        }
+    }
+
+    public static void scatterKeyValueLong(KernelContext context, LongArray keysIn, LongArray keysOut, IntArray valuesIn, IntArray valuesOut, IntArray digitCounts, IntArray digitOffsets, IntArray state, int numBlocks,
+            int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int block = context.groupIdx;
+        long[] localKeys = context.allocateLongLocalArray(BLOCK_SIZE);
+        int[] localValues = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] localDigits = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] flags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] digitStarts = context.allocateIntLocalArray(RADIX);
+
+        long key = 0;
+        int value = 0;
+        // Padding threads take the last digit, so they stay behind the keys of the block
+        int digit = RADIX - 1;
+        if (globalIdx < size) {
+            key = keysIn.get(globalIdx);
+            value = valuesIn.get(globalIdx);
+            digit = digitLong(key, state.get(0));
+        }
+        localKeys[localIdx] = key;
+        localValues[localIdx] = value;
+        localDigits[localIdx] = digit;
+        if (localIdx < RADIX) {
+            digitStarts[localIdx] = digitStart(digitCounts, localIdx, block, numBlocks);
+        }
+
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            context.localBarrier();
+            key = localKeys[localIdx];
+            value = localValues[localIdx];
+            digit = localDigits[localIdx];
+            int flag = 1 - ((digit >> bit) & 1);
+            int lastFlag = 1 - ((localDigits[BLOCK_SIZE - 1] >> bit) & 1);
+            flags[localIdx] = flag;
+            // Exclusive scan of the flags, as in ScanKernels.blockScanInt
+            for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    flags[index] += flags[index - stride];
+                }
+            }
+            context.localBarrier();
+            if (localIdx == 0) {
+                flags[BLOCK_SIZE - 1] = 0;
+            }
+            for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+                context.localBarrier();
+                int index = (localIdx + 1) * stride * 2 - 1;
+                if (index < BLOCK_SIZE) {
+                    int left = flags[index - stride];
+                    flags[index - stride] = flags[index];
+                    flags[index] += left;
+                }
+            }
+            context.localBarrier();
+            int numFlagged = flags[BLOCK_SIZE - 1] + lastFlag;
+            int position = flags[localIdx];
+            if (flag == 0) {
+                position = numFlagged + localIdx - flags[localIdx];
+            }
+            localKeys[position] = key;
+            localValues[position] = value;
+            localDigits[position] = digit;
+        }
+        context.localBarrier();
+
+        if (localIdx < size - block * BLOCK_SIZE) {
+            digit = localDigits[localIdx];
+            int position = digitOffsets.get(digit * numBlocks + block) + localIdx - digitStarts[digit];
+            keysOut.set(position, localKeys[localIdx]);
+            valuesOut.set(position, localValues[localIdx]);
+        }
+    }
+
+    /**
+     * Advances the shift to the digit of the next pass. It runs as a
+     * single-thread task at the end of each pass.
+     */
+    public static void nextDigit(IntArray state) {
+        state.set(0, state.get(0) + RADIX_BITS);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Parallel prefix sum of an array.
+ *
+ * <p>
+ * The scan is work-efficient: each work-group scans a block of the input in
+ * local memory, and the block totals are scanned recursively with the same
+ * kernels. The segmented variants restart the sum at every element whose flag
+ * is non-zero.
+ * </p>
+ *
+ * <p>
+ * Example:
+ * <code>
+ * try (Scan scan = Scan.inclusive(input, output)) {
+ *     scan.execute();
+ * }
+ * </code>
+ * </p>
+ */
+public final class Scan extends ParallelPrimitive<Scan> {
+
+    private Scan(TornadoExecutionPlan executionPlan) {
+        super(executionPlan);
+    }
+
+    public static Scan inclusive(IntArray input, IntArray output) {
+        return build(input, output, true);
+    }
+
+    public static Scan exclusive(IntArray input, IntArray output) {
+        return build(input, output, false);
+    }
+
+    public static Scan inclusive(FloatArray input, FloatArray output) {
+        return build(input, output, true);
+    }
+
+    public static Scan exclusive(FloatArray input, FloatArray output) {
+        return build(input, output, false);
+    }
+
+    public static Scan inclusive(LongArray input, LongArray output) {
+        return build(input, output, true);
+    }
+
+    public static Scan exclusive(LongArray input, LongArray output) {
+        return build(input, output, false);
+    }
+
+    public static Scan segmentedInclusive(IntArray input, IntArray flags, IntArray output) {
+        return buildSegmented(input, flags, output, true);
+    }
+
+    public static Scan segmentedExclusive(IntArray input, IntArray flags, IntArray output) {
+        return buildSegmented(input, flags, output, false);
+    }
+
+    public static Scan segmentedInclusive(FloatArray input, IntArray flags, FloatArray output) {
+        return buildSegmented(input, flags, output, true);
+    }
+
+    public static Scan segmentedExclusive(FloatArray input, IntArray flags, FloatArray output) {
+        return buildSegmented(input, flags, output, false);
+    }
+
+    public static Scan segmentedInclusive(LongArray input, IntArray flags, LongArray output) {
+        return buildSegmented(input, flags, output, true);
+    }
+
+    public static Scan segmentedExclusive(LongArray input, IntArray flags, LongArray output) {
+        return buildSegmented(input, flags, output, false);
+    }
+
+    static void checkSizes(TornadoNativeArray input, TornadoNativeArray... arrays) {
+        if (input.getSize() == 0) {
+            throw new TornadoRuntimeException("[ERROR] The input array of a parallel primitive is empty");
+        }
+        for (TornadoNativeArray array : arrays) {
+            if (array.getSize() < input.getSize()) {
+                throw new TornadoRuntimeException(STR."[ERROR] Array of \{array.getSize()} elements is smaller than the input (\{input.getSize()} elements)");
+            }
+        }
+    }
+
+    private static Scan build(TornadoNativeArray input, TornadoNativeArray output, boolean inclusive) {
+        checkSizes(input, output);
+        final int size = input.getSize();
+        PrimitiveGraph graph = new PrimitiveGraph("scan");
+        TaskGraph taskGraph = graph.getTaskGraph();
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        switch (input) {
+            case IntArray intInput -> graph.appendScan(intInput, (IntArray) output, size, inclusive, IntArray::new, ScanKernels::blockScanInt, ScanKernels::addBlockOffsetsInt);
+            case FloatArray floatInput -> graph.appendScan(floatInput, (FloatArray) output, size, inclusive, FloatArray::new, ScanKernels::blockScanFloat, ScanKernels::addBlockOffsetsFloat);
+            case LongArray longInput -> graph.appendScan(longInput, (LongArray) output, size, inclusive, LongArray::new, ScanKernels::blockScanLong, ScanKernels::addBlockOffsetsLong);
+            default -> throw new TornadoRuntimeException(STR."[ERROR] Scan is not supported for \{input.getClass().getSimpleName()}");
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        return new Scan(graph.buildExecutionPlan());
+    }
+
+    private static Scan buildSegmented(TornadoNativeArray input, IntArray flags, TornadoNativeArray output, boolean inclusive) {
+        checkSizes(input, flags, output);
+        final int size = input.getSize();
+        PrimitiveGraph graph = new PrimitiveGraph("segscan");
+        TaskGraph taskGraph = graph.getTaskGraph();
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags);
+        switch (input) {
+            case IntArray intInput -> graph.appendSegmentedScan(intInput, flags, (IntArray) output, size, inclusive, IntArray::new, ScanKernels::segmentedBlockScanInt,
+                    ScanKernels::addSegmentedBlockOffsetsInt);
+            case FloatArray floatInput -> graph.appendSegmentedScan(floatInput, flags, (FloatArray) output, size, inclusive, FloatArray::new, ScanKernels::segmentedBlockScanFloat,
+                    ScanKernels::addSegmentedBlockOffsetsFloat);
+            case LongArray longInput -> graph.appendSegmentedScan(longInput, flags, (LongArray) output, size, inclusive, LongArray::new, ScanKernels::segmentedBlockScanLong,
+                    ScanKernels::addSegmentedBlockOffsetsLong);
+            default -> throw new TornadoRuntimeException(STR."[ERROR] Segmented scan is not supported for \{input.getClass().getSimpleName()}");
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        return new Scan(graph.buildExecutionPlan());
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Kernels for the block-based parallel prefix sum used by {@link Scan},
+ * {@link RadixSort} and {@link StreamCompaction}.
+ *
+ * <p>
+ * Each work-group of {@link #BLOCK_SIZE} threads scans one block of the input
+ * in local memory and stores the block total. The block totals are scanned with
+ * the same kernels, one level at a time, and the scanned totals are added back
+ * to the blocks of the level below.
+ * </p>
+ */
+public final class ScanKernels {
+
+    /**
+     * Number of elements scanned by each work-group. It is also the local
+     * work-group size of the kernels.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    private ScanKernels() {
+    }
+
+    /**
+     * Work-efficient (Blelloch) scan of one block of {@link #BLOCK_SIZE}
+     * elements in local memory. The total of each block is stored in
+     * {@code blockSums}, indexed by the group identifier.
+     */
+    public static void blockScanInt(KernelContext context, IntArray input, IntArray output, IntArray blockSums, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] temp = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int value = 0;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+        }
+        temp[localIdx] = value;
+
+        // Up-sweep: build the partial sums in place
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                temp[index] += temp[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0;
+        }
+
+        // Down-sweep: distribute the partial sums
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                int left = temp[index - stride];
+                temp[index - stride] = temp[index];
+                temp[index] += left;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the scanned block totals of the next level to every element of the
+     * block.
+     */
+    public static void addBlockOffsetsInt(KernelContext context, IntArray data, IntArray blockOffsets, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx));
+        }
+    }
+
+    /**
+     * Segmented variant of {@link #blockScanInt}. A non-zero value in
+     * {@code flags} marks the first element of a segment. The block totals and
+     * a flag that indicates whether the block contains the head of a segment
+     * are stored in {@code blockSums} and {@code blockFlags}.
+     */
+    public static void segmentedBlockScanInt(KernelContext context, IntArray input, IntArray flags, IntArray output, IntArray blockSums, IntArray blockFlags, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] temp = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] partialFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] headFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int value = 0;
+        int flag = 0;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+            if (flags.get(globalIdx) != 0) {
+                flag = 1;
+            }
+        }
+        temp[localIdx] = value;
+        partialFlags[localIdx] = flag;
+        headFlags[localIdx] = flag;
+
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                if (partialFlags[index] == 0) {
+                    temp[index] += temp[index - stride];
+                }
+                partialFlags[index] = partialFlags[index] | partialFlags[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            blockFlags.set(context.groupIdx, partialFlags[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0;
+        }
+
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                int left = index - stride;
+                int leftValue = temp[left];
+                temp[left] = temp[index];
+                if (headFlags[left + 1] == 1) {
+                    temp[index] = 0;
+                } else if (partialFlags[left] == 1) {
+                    temp[index] = leftValue;
+                } else {
+                    temp[index] += leftValue;
+                }
+                partialFlags[left] = 0;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the carry of the previous blocks to the elements that belong to the
+     * segment that was open at the beginning of the block. The carry of a block
+     * is the inclusive segmented scan of the block totals up to the previous
+     * block.
+     */
+    public static void addSegmentedBlockOffsetsInt(KernelContext context, IntArray data, IntArray flags, IntArray blockOffsets, int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] closed = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int flag = 0;
+        if (globalIdx < size && flags.get(globalIdx) != 0) {
+            flag = 1;
+        }
+        closed[localIdx] = flag;
+
+        // Inclusive OR-scan: has a segment started at or before this element?
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int previous = 0;
+            if (localIdx >= stride) {
+                previous = closed[localIdx - stride];
+            }
+            context.localBarrier();
+            closed[localIdx] = closed[localIdx] | previous;
+        }
+
+        if (globalIdx < size && closed[localIdx] == 0 && context.groupIdx > 0) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx - 1));
+        }
+    }
+
+    /**
+     * Work-efficient (Blelloch) scan of one block of {@link #BLOCK_SIZE}
+     * elements in local memory. The total of each block is stored in
+     * {@code blockSums}, indexed by the group identifier.
+     */
+    public static void blockScanFloat(KernelContext context, FloatArray input, FloatArray output, FloatArray blockSums, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float[] temp = context.allocateFloatLocalArray(BLOCK_SIZE);
+
+        float value = 0.0f;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+        }
+        temp[localIdx] = value;
+
+        // Up-sweep: build the partial sums in place
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                temp[index] += temp[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0.0f;
+        }
+
+        // Down-sweep: distribute the partial sums
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                float left = temp[index - stride];
+                temp[index - stride] = temp[index];
+                temp[index] += left;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the scanned block totals of the next level to every element of the
+     * block.
+     */
+    public static void addBlockOffsetsFloat(KernelContext context, FloatArray data, FloatArray blockOffsets, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx));
+        }
+    }
+
+    /**
+     * Segmented variant of {@link #blockScanFloat}. A non-zero value in
+     * {@code flags} marks the first element of a segment. The block totals and
+     * a flag that indicates whether the block contains the head of a segment
+     * are stored in {@code blockSums} and {@code blockFlags}.
+     */
+    public static void segmentedBlockScanFloat(KernelContext context, FloatArray input, IntArray flags, FloatArray output, FloatArray blockSums, IntArray blockFlags, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float[] temp = context.allocateFloatLocalArray(BLOCK_SIZE);
+        int[] partialFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] headFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        float value = 0.0f;
+        int flag = 0;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+            if (flags.get(globalIdx) != 0) {
+                flag = 1;
+            }
+        }
+        temp[localIdx] = value;
+        partialFlags[localIdx] = flag;
+        headFlags[localIdx] = flag;
+
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                if (partialFlags[index] == 0) {
+                    temp[index] += temp[index - stride];
+                }
+                partialFlags[index] = partialFlags[index] | partialFlags[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            blockFlags.set(context.groupIdx, partialFlags[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0.0f;
+        }
+
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                int left = index - stride;
+                float leftValue = temp[left];
+                temp[left] = temp[index];
+                if (headFlags[left + 1] == 1) {
+                    temp[index] = 0.0f;
+                } else if (partialFlags[left] == 1) {
+                    temp[index] = leftValue;
+                } else {
+                    temp[index] += leftValue;
+                }
+                partialFlags[left] = 0;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the carry of the previous blocks to the elements that belong to the
+     * segment that was open at the beginning of the block. The carry of a block
+     * is the inclusive segmented scan of the block totals up to the previous
+     * block.
+     */
+    public static void addSegmentedBlockOffsetsFloat(KernelContext context, FloatArray data, IntArray flags, FloatArray blockOffsets, int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] closed = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int flag = 0;
+        if (globalIdx < size && flags.get(globalIdx) != 0) {
+            flag = 1;
+        }
+        closed[localIdx] = flag;
+
+        // Inclusive OR-scan: has a segment started at or before this element?
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int previous = 0;
+            if (localIdx >= stride) {
+                previous = closed[localIdx - stride];
+            }
+            context.localBarrier();
+            closed[localIdx] = closed[localIdx] | previous;
+        }
+
+        if (globalIdx < size && closed[localIdx] == 0 && context.groupIdx > 0) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx - 1));
+        }
+    }
+
+    /**
+     * Work-efficient (Blelloch) scan of one block of {@link #BLOCK_SIZE}
+     * elements in local memory. The total of each block is stored in
+     * {@code blockSums}, indexed by the group identifier.
+     */
+    public static void blockScanLong(KernelContext context, LongArray input, LongArray output, LongArray blockSums, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        long[] temp = context.allocateLongLocalArray(BLOCK_SIZE);
+
+        long value = 0L;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+        }
+        temp[localIdx] = value;
+
+        // Up-sweep: build the partial sums in place
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                temp[index] += temp[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0L;
+        }
+
+        // Down-sweep: distribute the partial sums
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                long left = temp[index - stride];
+                temp[index - stride] = temp[index];
+                temp[index] += left;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the scanned block totals of the next level to every element of the
+     * block.
+     */
+    public static void addBlockOffsetsLong(KernelContext context, LongArray data, LongArray blockOffsets, int size) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < size) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx));
+        }
+    }
+
+    /**
+     * Segmented variant of {@link #blockScanLong}. A non-zero value in
+     * {@code flags} marks the first element of a segment. The block totals and
+     * a flag that indicates whether the block contains the head of a segment
+     * are stored in {@code blockSums} and {@code blockFlags}.
+     */
+    public static void segmentedBlockScanLong(KernelContext context, LongArray input, IntArray flags, LongArray output, LongArray blockSums, IntArray blockFlags, int size, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        long[] temp = context.allocateLongLocalArray(BLOCK_SIZE);
+        int[] partialFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+        int[] headFlags = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        long value = 0L;
+        int flag = 0;
+        if (globalIdx < size) {
+            value = input.get(globalIdx);
+            if (flags.get(globalIdx) != 0) {
+                flag = 1;
+            }
+        }
+        temp[localIdx] = value;
+        partialFlags[localIdx] = flag;
+        headFlags[localIdx] = flag;
+
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                if (partialFlags[index] == 0) {
+                    temp[index] += temp[index - stride];
+                }
+                partialFlags[index] = partialFlags[index] | partialFlags[index - stride];
+            }
+        }
+        context.localBarrier();
+
+        if (localIdx == 0) {
+            blockSums.set(context.groupIdx, temp[BLOCK_SIZE - 1]);
+            blockFlags.set(context.groupIdx, partialFlags[BLOCK_SIZE - 1]);
+            temp[BLOCK_SIZE - 1] = 0L;
+        }
+
+        for (int stride = BLOCK_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            int index = (localIdx + 1) * stride * 2 - 1;
+            if (index < BLOCK_SIZE) {
+                int left = index - stride;
+                long leftValue = temp[left];
+                temp[left] = temp[index];
+                if (headFlags[left + 1] == 1) {
+                    temp[index] = 0L;
+                } else if (partialFlags[left] == 1) {
+                    temp[index] = leftValue;
+                } else {
+                    temp[index] += leftValue;
+                }
+                partialFlags[left] = 0;
+            }
+        }
+        context.localBarrier();
+
+        if (globalIdx < size) {
+            if (inclusive == 1) {
+                output.set(globalIdx, temp[localIdx] + value);
+            } else {
+                output.set(globalIdx, temp[localIdx]);
+            }
+        }
+    }
+
+    /**
+     * Adds the carry of the previous blocks to the elements that belong to the
+     * segment that was open at the beginning of the block. The carry of a block
+     * is the inclusive segmented scan of the block totals up to the previous
+     * block.
+     */
+    public static void addSegmentedBlockOffsetsLong(KernelContext context, LongArray data, IntArray flags, LongArray blockOffsets, int size) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] closed = context.allocateIntLocalArray(BLOCK_SIZE);
+
+        int flag = 0;
+        if (globalIdx < size && flags.get(globalIdx) != 0) {
+            flag = 1;
+        }
+        closed[localIdx] = flag;
+
+        // Inclusive OR-scan: has a segment started at or before this element?
+        for (int stride = 1; stride < BLOCK_SIZE; stride *= 2) {
+            context.localBarrier();
+            int previous = 0;
+            if (localIdx >= stride) {
+                previous = closed[localIdx - stride];
+            }
+            context.localBarrier();
+            closed[localIdx] = closed[localIdx] | previous;
+        }
+
+        if (globalIdx < size && closed[localIdx] == 0 && context.groupIdx > 0) {
+            data.set(globalIdx, data.get(globalIdx) + blockOffsets.get(context.groupIdx - 1));
+        }
+    }
+}
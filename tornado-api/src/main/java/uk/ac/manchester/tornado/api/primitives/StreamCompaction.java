@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.primitives;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Stable stream compaction: copies the elements of the input that satisfy a
+ * predicate to the front of the output array, and returns how many elements
+ * were copied. The predicate is either a comparison against a threshold, or an
+ * {@link IntArray} of flags in which a non-zero value selects the element.
+ *
+ * <p>
+ * The output array must be at least as large as the input. The content of the
+ * output beyond the returned count is undefined.
+ * </p>
+ */
+public final class StreamCompaction extends ParallelPrimitive<StreamCompaction> {
+
+    /**
+     * Comparison between each element and the threshold.
+     */
+    public enum Comparison {
+        EQUAL, //
+        NOT_EQUAL, //
+        LESS_THAN, //
+        LESS_EQUAL, //
+        GREATER_THAN, //
+        GREATER_EQUAL
+    }
+
+    private final IntArray count;
+
+    private StreamCompaction(TornadoExecutionPlan executionPlan, IntArray count) {
+        super(executionPlan);
+        this.count = count;
+    }
+
+    public static StreamCompaction of(IntArray input, IntArray flags, IntArray output) {
+        return build(input, flags, null, 0, output);
+    }
+
+    public static StreamCompaction of(IntArray input, Comparison comparison, int threshold, IntArray output) {
+        return build(input, null, comparison, threshold, output);
+    }
+
+    public static StreamCompaction of(FloatArray input, IntArray flags, FloatArray output) {
+        return build(input, flags, null, 0, output);
+    }
+
+    public static StreamCompaction of(FloatArray input, Comparison comparison, float threshold, FloatArray output) {
+        return build(input, null, comparison, threshold, output);
+    }
+
+    public static StreamCompaction of(LongArray input, IntArray flags, LongArray output) {
+        return build(input, flags, null, 0, output);
+    }
+
+    public static StreamCompaction of(LongArray input, Comparison comparison, long threshold, LongArray output) {
+        return build(input, null, comparison, threshold, output);
+    }
+
+    /**
+     * Runs the compaction.
+     *
+     * @return number of elements copied to the output
+     */
+    public int compact() {
+        execute();
+        return count.get(0);
+    }
+
+    private static StreamCompaction build(TornadoNativeArray input, IntArray userFlags, Comparison comparison, Number threshold, TornadoNativeArray output) {
+        if (userFlags != null) {
+            Scan.checkSizes(input, userFlags, output);
+        } else {
+            Scan.checkSizes(input, output);
+        }
+        final int size = input.getSize();
+        IntArray flags = new IntArray(size);
+        IntArray positions = new IntArray(size);
+        IntArray count = new IntArray(1);
+
+        PrimitiveGraph graph = new PrimitiveGraph("compaction");
+        TaskGraph taskGraph = graph.getTaskGraph();
+        KernelContext context = graph.getContext();
+
+        if (userFlags != null) {
+            // Normalise the flags to 0 or 1, since they are summed by the scan
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input, userFlags);
+            taskGraph.task(graph.newKernelTask("flags", size), CompactionKernels::predicateInt, context, userFlags, flags, CompactionKernels.NOT_EQUAL, 0, size);
+        } else {
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+            String flagsTask = graph.newKernelTask("flags", size);
+            int code = comparison.ordinal();
+            switch (input) {
+                case IntArray intInput -> taskGraph.task(flagsTask, CompactionKernels::predicateInt, context, intInput, flags, code, threshold.intValue(), size);
+                case FloatArray floatInput -> taskGraph.task(flagsTask, CompactionKernels::predicateFloat, context, floatInput, flags, code, threshold.floatValue(), size);
+                case LongArray longInput -> taskGraph.task(flagsTask, CompactionKernels::predicateLong, context, longInput, flags, code, threshold.longValue(), size);
+                default -> throw new TornadoRuntimeException(STR."[ERROR] Stream compaction is not supported for \{input.getClass().getSimpleName()}");
+            }
+        }
+
+        graph.appendScan(flags, positions, size, false, IntArray::new, ScanKernels::blockScanInt, ScanKernels::addBlockOffsetsInt);
+
+        String compactTask = graph.newKernelTask("compact", size);
+        switch (input) {
+            case IntArray intInput -> taskGraph.task(compactTask, CompactionKernels::compactInt, context, intInput, (IntArray) output, flags, positions, count, size);
+            case FloatArray floatInput -> taskGraph.task(compactTask, CompactionKernels::compactFloat, context, floatInput, (FloatArray) output, flags, positions, count, size);
+            case LongArray longInput -> taskGraph.task(compactTask, CompactionKernels::compactLong, context, longInput, (LongArray) output, flags, positions, count, size);
+            default -> throw new TornadoRuntimeException(STR."[ERROR] Stream compaction is not supported for \{input.getClass().getSimpleName()}");
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        return new StreamCompaction(graph.buildExecutionPlan(), count);
+    }
+}
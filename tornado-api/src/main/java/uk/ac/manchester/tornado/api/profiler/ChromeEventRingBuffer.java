@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.profiler;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous backend of the {@link ChromeEventTracer}. Events are stored as
+ * primitive records in a preallocated ring buffer, so recording an event does
+ * not allocate or take a lock. A background thread drains the buffer and
+ * writes the events to disk in the Chrome trace format.
+ *
+ * <p>
+ * When the buffer is full, new events are dropped and counted, instead of
+ * blocking the thread that records them. Trace files are rotated when they
+ * reach a maximum size, and only the most recent ones are kept.
+ * </p>
+ */
+public class ChromeEventRingBuffer implements AutoCloseable {
+
+    /**
+     * Types of the events, with their category in the trace.
+     */
+    public enum EventKind {
+        WRITE("write"), //
+        READ("read"), //
+        NDRANGE_KERNEL("NDRangeKernel"), //
+        TASK("exec"), //
+        TRACE("trace"), //
+        QUEUED(null), //
+        SUBMIT(null), //
+        START(null);
+
+        private final String category;
+
+        EventKind(String category) {
+            this.category = category;
+        }
+    }
+
+    private static final EventKind[] KINDS = EventKind.values();
+
+    private static final long DRAIN_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final int[] kinds;
+    private final int[] names;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] values;
+    private final long[] threads;
+    private final Object[] arguments;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private volatile String[] nameTable = new String[64];
+    private int numNames;
+
+    private final String fileName;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final ArrayDeque<File> files = new ArrayDeque<>();
+    private final StringBuilder line = new StringBuilder(256);
+    private Writer output;
+    private long fileSize;
+    private int fileIndex;
+
+    private volatile boolean running;
+    private boolean closed;
+    private boolean failed;
+    private Thread drainer;
+
+    /**
+     * @param fileName
+     *     name of the first trace file. The next files are named by adding the
+     *     index of the file before the extension (e.g. chrome.1.json).
+     * @param capacity
+     *     number of events of the ring buffer. It is rounded up to a power of
+     *     two.
+     * @param maxFileSize
+     *     size in bytes after which the trace file is rotated.
+     * @param maxFiles
+     *     number of trace files to keep, or 0 to keep all of them.
+     */
+    public ChromeEventRingBuffer(String fileName, int capacity, long maxFileSize, int maxFiles) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of the ring buffer must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = (size == capacity) ? size : size << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.kinds = new int[size];
+        this.names = new int[size];
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.values = new long[size];
+        this.threads = new long[size];
+        this.arguments = new Object[size];
+        this.fileName = fileName;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Starts the thread that drains the buffer to disk.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "tornado-chrome-event-tracer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of events that were dropped because the buffer was full.
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of events written to the trace files.
+     */
+    public long getWrittenEvents() {
+        return written.get();
+    }
+
+    /**
+     * Records an event. It returns immediately, without waiting for the event
+     * to be written.
+     *
+     * @param value
+     *     number of bytes of {@link EventKind#WRITE} and {@link EventKind#READ}
+     *     events.
+     * @param args
+     *     map with the arguments of {@link EventKind#QUEUED} events, or null.
+     *
+     * @return false if the buffer was full and the event was dropped.
+     */
+    public boolean record(EventKind kind, String name, long startNs, long endNs, long value, Object args) {
+        final int nameId = nameId(name);
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        final int index = (int) (sequence & mask);
+        kinds[index] = kind.ordinal();
+        names[index] = nameId;
+        starts[index] = startNs;
+        ends[index] = endNs;
+        values[index] = value;
+        threads[index] = Thread.currentThread().threadId();
+        arguments[index] = args;
+        // Publish the record to the drainer
+        sequences.setRelease(index, sequence + 1);
+        return true;
+    }
+
+    private int nameId(String name) {
+        Integer id = nameIds.get(name == null ? "null" : name);
+        return (id != null) ? id : registerName(name == null ? "null" : name);
+    }
+
+    private int registerName(String name) {
+        synchronized (nameIds) {
+            Integer id = nameIds.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] table = nameTable;
+            if (numNames == table.length) {
+                String[] newTable = new String[table.length << 1];
+                System.arraycopy(table, 0, newTable, 0, table.length);
+                table = newTable;
+            }
+            table[numNames] = name;
+            nameTable = table;
+            nameIds.put(name, numNames);
+            return numNames++;
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                flush();
+                LockSupport.parkNanos(DRAIN_INTERVAL_NS);
+            }
+        }
+    }
+
+    /**
+     * Writes the published events to the trace file. Only the drainer thread
+     * (or {@link #close()}, once the drainer has finished) calls this method.
+     *
+     * @return number of events written.
+     */
+    private synchronized int drain() {
+        if (closed) {
+            return 0;
+        }
+        long current = head;
+        int count = 0;
+        while (sequences.getAcquire((int) (current & mask)) == current + 1) {
+            final int index = (int) (current & mask);
+            if (!failed) {
+                writeEvent(KINDS[kinds[index]], nameTable[names[index]], starts[index], ends[index], values[index], threads[index], arguments[index]);
+            } else {
+                dropped.incrementAndGet();
+            }
+            arguments[index] = null;
+            current++;
+            count++;
+            // Release the slot for the producers
+            head = current;
+        }
+        if (!failed) {
+            written.addAndGet(count);
+        }
+        return count;
+    }
+
+    private void writeEvent(EventKind kind, String name, long startNs, long endNs, long value, long thread, Object args) {
+        line.setLength(0);
+        line.append("{\"ph\":\"X\",\"name\":\"");
+        escape(line, name);
+        line.append('"');
+        if (kind.category != null) {
+            line.append(",\"cat\":\"").append(kind.category).append('"');
+        }
+        line.append(",\"pid\":0,\"tid\":").append(thread);
+        line.append(",\"ts\":").append(startNs / 1000 - JSonWriter.EPOCH_US);
+        line.append(",\"dur\":").append((endNs - startNs) / 1000);
+        if (kind == EventKind.WRITE || kind == EventKind.READ) {
+            line.append(",\"args\":{\"bytes\":").append(value).append('}');
+        } else if (kind == EventKind.QUEUED && args instanceof Map<?, ?> meta) {
+            line.append(",\"args\":{");
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : meta.entrySet()) {
+                line.append(first ? "\"" : ",\"");
+                escape(line, String.valueOf(entry.getKey()));
+                line.append("\":\"");
+                escape(line, String.valueOf(entry.getValue()));
+                line.append('"');
+                first = false;
+            }
+            line.append('}');
+        }
+        line.append('}');
+        append(line);
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c < 0x20 ? ' ' : c);
+        }
+    }
+
+    private void append(CharSequence event) {
+        try {
+            if (output == null) {
+                openFile();
+            } else {
+                output.write(",\n");
+                fileSize += 2;
+            }
+            output.append(event);
+            fileSize += event.length();
+            if (fileSize >= maxFileSize) {
+                closeFile();
+            }
+        } catch (IOException e) {
+            // Stop writing, and count the next events as dropped
+            failed = true;
+            output = null;
+            e.printStackTrace();
+        }
+    }
+
+    private File getFile(int index) {
+        if (index == 0) {
+            return new File(fileName);
+        }
+        int extension = fileName.lastIndexOf('.');
+        int separator = fileName.lastIndexOf(File.separatorChar);
+        return (extension > separator + 1)
+                ? new File(fileName.substring(0, extension) + "." + index + fileName.substring(extension))
+                : new File(fileName + "." + index);
+    }
+
+    private void openFile() throws IOException {
+        File file = getFile(fileIndex++);
+        output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        String header = "{\"traceEvents\":[\n{\"args\":{\"name\":\"Tornado\"},\"ph\":\"M\",\"pid\":0,\"tid\":" + Thread.currentThread().threadId() + ",\"name\":\"tornadovm\",\"sort_index\":1},\n";
+        output.write(header);
+        fileSize = header.length();
+        files.add(file);
+        while (maxFiles > 0 && files.size() > maxFiles) {
+            File oldest = files.removeFirst();
+            if (!oldest.delete()) {
+                System.err.println("[TornadoVM] Unable to delete the trace file " + oldest);
+            }
+        }
+    }
+
+    private void closeFile() throws IOException {
+        if (output != null) {
+            output.write("\n]}\n");
+            output.close();
+            output = null;
+        }
+    }
+
+    private synchronized void flush() {
+        try {
+            if (output != null) {
+                output.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops the drainer, writes the pending events and closes the trace file.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (drainer != null) {
+            LockSupport.unpark(drainer);
+        }
+        drain();
+        closed = true;
+        try {
+            if (fileIndex == 0 && !failed) {
+                // Write an empty trace when no events were recorded
+                openFile();
+            }
+            closeFile();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -27,11 +27,35 @@ public class ChromeEventTracer {
     public static final String CHROME_EVENT_TRACER_FILENAME_KEY = "tornado.chrome.event.tracer.filename";
     public static final String CHROME_EVENT_TRACER_FILENAME = System.getProperties().getProperty(CHROME_EVENT_TRACER_FILENAME_KEY, "chrome.json");
     public static final String CHROME_EVENT_TRACER_ENABLED_KEY = "tornado.chrome.event.tracer.enabled";
+    /**
+     * Option to record the events in a ring buffer that is written to disk by a
+     * background thread. Otherwise, the events are formatted when they are
+     * recorded and written at the end of the execution. True by default.
+     */
+    public static final String CHROME_EVENT_TRACER_ASYNC_KEY = "tornado.chrome.event.tracer.async";
+    /**
+     * Number of events of the ring buffer. Events are dropped when it is full.
+     */
+    public static final String CHROME_EVENT_TRACER_BUFFER_SIZE_KEY = "tornado.chrome.event.tracer.buffer.size";
+    /**
+     * Size in MB after which the trace file is rotated.
+     */
+    public static final String CHROME_EVENT_TRACER_FILE_SIZE_KEY = "tornado.chrome.event.tracer.file.size";
+    /**
+     * Number of rotated trace files to keep, or 0 to keep all of them.
+     */
+    public static final String CHROME_EVENT_TRACER_MAX_FILES_KEY = "tornado.chrome.event.tracer.max.files";
     public static final ChromeEventJSonWriter json = new ChromeEventJSonWriter();
 
+    private static final ChromeEventRingBuffer ringBuffer = createRingBuffer();
+
     static {
         if (isEnabled()) {
-            Runtime.getRuntime().addShutdownHook(new Thread(() -> json.write(new File(getChromeEventTracerFileName()))));
+            if (ringBuffer != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(ringBuffer::close));
+            } else {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> json.write(new File(getChromeEventTracerFileName()))));
+            }
         }
     }
 
@@ -53,6 +77,34 @@ public class ChromeEventTracer {
         return Boolean.getBoolean(CHROME_EVENT_TRACER_ENABLED_KEY);
     }
 
+    private static ChromeEventRingBuffer createRingBuffer() {
+        if (!isEnabled() || !Boolean.parseBoolean(System.getProperty(CHROME_EVENT_TRACER_ASYNC_KEY, "True"))) {
+            return null;
+        }
+        int capacity = Integer.parseInt(System.getProperty(CHROME_EVENT_TRACER_BUFFER_SIZE_KEY, "65536"));
+        long maxFileSize = Long.parseLong(System.getProperty(CHROME_EVENT_TRACER_FILE_SIZE_KEY, "256")) * 1024 * 1024;
+        int maxFiles = Integer.parseInt(System.getProperty(CHROME_EVENT_TRACER_MAX_FILES_KEY, "16"));
+        ChromeEventRingBuffer buffer = new ChromeEventRingBuffer(getChromeEventTracerFileName(), capacity, maxFileSize, maxFiles);
+        buffer.start();
+        return buffer;
+    }
+
+    /**
+     * @return number of events dropped because the ring buffer was full, or 0
+     *     if the asynchronous tracer is not used.
+     */
+    public static long getDroppedEvents() {
+        return ringBuffer != null ? ringBuffer.getDroppedEvents() : 0;
+    }
+
+    /**
+     * @return number of events written to the trace files by the asynchronous
+     *     tracer, or 0 if it is not used.
+     */
+    public static long getWrittenEvents() {
+        return ringBuffer != null ? ringBuffer.getWrittenEvents() : 0;
+    }
+
     public static ChromeEventTracer create() {
         return new ChromeEventTracer();
     }
@@ -63,25 +115,49 @@ public class ChromeEventTracer {
 
     public static void enqueueWriteIfEnabled(String tag, long bytes, long startNs, long endNs) {
         if (isEnabled()) {
-            json.x(tag, "write", startNs, endNs, () -> json.kv("bytes", bytes));
+            if (ringBuffer != null) {
+                ringBuffer.record(ChromeEventRingBuffer.EventKind.WRITE, tag, startNs, endNs, bytes, null);
+            } else {
+                json.x(tag, "write", startNs, endNs, () -> json.kv("bytes", bytes));
+            }
         }
     }
 
     public static void enqueueReadIfEnabled(String tag, long bytes, long startNs, long endNs) {
         if (isEnabled()) {
-            json.x(tag, "read", startNs, endNs, () -> json.kv("bytes", bytes));
+            if (ringBuffer != null) {
+                ringBuffer.record(ChromeEventRingBuffer.EventKind.READ, tag, startNs, endNs, bytes, null);
+            } else {
+                json.x(tag, "read", startNs, endNs, () -> json.kv("bytes", bytes));
+            }
         }
     }
 
     public static void enqueueNDRangeKernelIfEnabled(String tag, long startNs, long endNs) {
         if (isEnabled()) {
-            json.x(tag, "NDRangeKernel", startNs, endNs, null);
+            if (ringBuffer != null) {
+                ringBuffer.record(ChromeEventRingBuffer.EventKind.NDRANGE_KERNEL, tag, startNs, endNs, 0, null);
+            } else {
+                json.x(tag, "NDRangeKernel", startNs, endNs, null);
+            }
         }
     }
 
     public static void enqueueTaskIfEnabled(String tag, long startNs, long endNs) {
         if (isEnabled()) {
-            json.x(tag, "exec", startNs, endNs, null);
+            if (ringBuffer != null) {
+                ringBuffer.record(ChromeEventRingBuffer.EventKind.TASK, tag, startNs, endNs, 0, null);
+            } else {
+                json.x(tag, "exec", startNs, endNs, null);
+            }
+        }
+    }
+
+    private static void enqueueTrace(String tag, long startNs, long endNs) {
+        if (ringBuffer != null) {
+            ringBuffer.record(ChromeEventRingBuffer.EventKind.TRACE, tag, startNs, endNs, 0, null);
+        } else {
+            json.x(tag, "trace", startNs, endNs, null);
         }
     }
 
@@ -89,7 +165,7 @@ public class ChromeEventTracer {
         long startNs = System.nanoTime();
         r.run();
         if (isEnabled()) {
-            json.x(tag, "trace", startNs, System.nanoTime(), null);
+            enqueueTrace(tag, startNs, System.nanoTime());
         }
     }
 
@@ -97,12 +173,18 @@ public class ChromeEventTracer {
         long startNs = System.nanoTime();
         T value = b.build();
         if (isEnabled()) {
-            json.x(tag, "trace", startNs, System.nanoTime(), null);
+            enqueueTrace(tag, startNs, System.nanoTime());
         }
         return value;
     }
 
     public static void opencltimes(int localId, long queuedNs, long submitNs, long startNs, long endNs, Map<String, ?> meta) {
+        if (ringBuffer != null) {
+            ringBuffer.record(ChromeEventRingBuffer.EventKind.QUEUED, "queued", queuedNs, endNs, 0, meta);
+            ringBuffer.record(ChromeEventRingBuffer.EventKind.SUBMIT, "submit", submitNs, endNs, 0, null);
+            ringBuffer.record(ChromeEventRingBuffer.EventKind.START, "start", startNs, endNs, 0, null);
+            return;
+        }
         json.x("queued", null, queuedNs, endNs, meta == null ? null : () -> {
             for (String k : meta.keySet()) {
                 json.kv(k, (String) meta.get(k));
@@ -39,6 +39,12 @@ public interface ProfileInterface {
 
     long getDeviceKernelTime();
 
+    long getPredictedDeviceWriteTime();
+
+    long getPredictedDeviceReadTime();
+
+    long getPredictedDeviceKernelTime();
+
     String getProfileLog();
 
 }
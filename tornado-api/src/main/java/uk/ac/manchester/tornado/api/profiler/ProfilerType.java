@@ -46,8 +46,15 @@ public enum ProfilerType {
 
     TOTAL_CODE_GENERATION_TIME("Total-Task-Code-Generation-Time"),
     TOTAL_KERNEL_TIME("Kernel-Time"),
+    PREDICTED_COPY_IN_TIME("Predicted-CopyIn-Time"),
+    PREDICTED_COPY_OUT_TIME("Predicted-CopyOut-Time"),
+    TASK_PREDICTED_KERNEL_TIME("Task-Predicted-Kernel"),
+    TOTAL_PREDICTED_KERNEL_TIME("Predicted-Kernel-Time"),
     TOTAL_TASK_GRAPH_TIME("TS-Total-Time"),
     POWER_USAGE_mW("Power Usage"),
+    RUNTIME_INIT_TIME("Runtime-Init-Time"),
+    BACKEND_INIT_TIME("Backend-Init-Time"),
+    DEVICE_INIT_TIME("Device-Init-Time"),
     BACKEND("Backend");
     // @formatter:on
 
@@ -59,6 +59,9 @@ public class TornadoAPIProvider {
         TornadoSettingInterface tornado;
         try {
             String tornadoImplementation = System.getProperty("tornado.load.tornado.implementation");
+            if (tornadoImplementation == null) {
+                throw new TornadoAPIException("[ERROR] Tornado Implementation class not set (tornado.load.tornado.implementation)");
+            }
             Class<?> klass = Class.forName(tornadoImplementation);
             Constructor<?> constructor = klass.getConstructor();
             tornado = (TornadoSettingInterface) constructor.newInstance();
@@ -20,13 +20,13 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_CHAR;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.nio.CharBuffer;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 
 /**
  * This class represents an array of characters stored in native memory.
@@ -57,7 +57,7 @@ public final class CharArray extends TornadoNativeArray {
         baseIndex = arrayHeaderSize / CHAR_BYTES;
         segmentByteSize = numberOfElements * CHAR_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = PinnedMemory.allocateSegment(segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -20,13 +20,13 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.nio.DoubleBuffer;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 
 /**
  * This class represents an array of doubles stored in native memory.
@@ -59,7 +59,7 @@ public final class DoubleArray extends TornadoNativeArray {
         baseIndex = arrayHeaderSize / DOUBLE_BYTES;
         segmentByteSize = numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = PinnedMemory.allocateSegment(segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -20,13 +20,13 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.nio.FloatBuffer;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 
 /**
  * This class represents an array of floats stored in native memory.
@@ -59,7 +59,7 @@ public final class FloatArray extends TornadoNativeArray {
         baseIndex = arrayHeaderSize / FLOAT_BYTES;
         segmentByteSize = numberOfElements * FLOAT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = PinnedMemory.allocateSegment(segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -20,12 +20,12 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
 
 /**
@@ -60,7 +60,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
         baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
         segmentByteSize = numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = PinnedMemory.allocateSegment(segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
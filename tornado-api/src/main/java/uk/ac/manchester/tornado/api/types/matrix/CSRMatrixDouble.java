@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.matrix;
+
+import static java.lang.String.format;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Sparse matrix of doubles in Compressed Sparse Row (CSR) format. The matrix is
+ * backed by three off-heap arrays that can be passed to a task as part of this
+ * object or individually:
+ *
+ * <ul>
+ * <li>{@code rowPointers}: {@code numRows + 1} offsets into the column and value
+ * arrays. The non-zeros of row {@code i} are stored in the range
+ * {@code [rowPointers[i], rowPointers[i + 1])}.</li>
+ * <li>{@code columnIndices}: column index of each non-zero.</li>
+ * <li>{@code values}: value of each non-zero.</li>
+ * </ul>
+ */
+public final class CSRMatrixDouble {
+
+    /**
+     * Number of rows.
+     */
+    private final int numRows;
+
+    /**
+     * Number of columns.
+     */
+    private final int numColumns;
+
+    /**
+     * Number of non-zero elements.
+     */
+    private final int numNonZeros;
+
+    private final IntArray rowPointers;
+
+    private final IntArray columnIndices;
+
+    private final DoubleArray values;
+
+    /**
+     * Sparse matrix in CSR format from already built CSR arrays.
+     *
+     * @param numRows
+     *     number of rows
+     * @param numColumns
+     *     number of columns
+     * @param rowPointers
+     *     array of size {@code numRows + 1} with the offsets of each row
+     * @param columnIndices
+     *     column index per non-zero element
+     * @param values
+     *     value per non-zero element
+     */
+    public CSRMatrixDouble(int numRows, int numColumns, IntArray rowPointers, IntArray columnIndices, DoubleArray values) {
+        if (rowPointers.getSize() != numRows + 1) {
+            throw new TornadoRuntimeException(format("[ERROR] Row pointers must have %d elements, but found %d", numRows + 1, rowPointers.getSize()));
+        }
+        if (columnIndices.getSize() != values.getSize()) {
+            throw new TornadoRuntimeException("[ERROR] Column indices and values must have the same number of elements");
+        }
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.numNonZeros = values.getSize();
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Builds a CSR matrix from a list of coordinates (COO format). Coordinates do
+     * not need to be sorted. The conversion uses a counting sort over the row
+     * indices, and keeps the relative order of the elements within each row.
+     *
+     * @param numRows
+     *     number of rows
+     * @param numColumns
+     *     number of columns
+     * @param rows
+     *     row index of each element
+     * @param columns
+     *     column index of each element
+     * @param elements
+     *     value of each element
+     * @return {@link CSRMatrixDouble}
+     */
+    public static CSRMatrixDouble fromCOO(int numRows, int numColumns, int[] rows, int[] columns, double[] elements) {
+        if (rows.length != columns.length || rows.length != elements.length) {
+            throw new TornadoRuntimeException("[ERROR] COO arrays must have the same number of elements");
+        }
+        final int nnz = elements.length;
+        IntArray rowPointers = new IntArray(numRows + 1);
+        IntArray columnIndices = new IntArray(nnz);
+        DoubleArray values = new DoubleArray(nnz);
+
+        int[] offsets = SparseFormats.countingSortOffsets(numRows, rows);
+        for (int i = 0; i <= numRows; i++) {
+            rowPointers.set(i, offsets[i]);
+        }
+        for (int i = 0; i < nnz; i++) {
+            int position = offsets[rows[i]]++;
+            columnIndices.set(position, columns[i]);
+            values.set(position, elements[i]);
+        }
+        return new CSRMatrixDouble(numRows, numColumns, rowPointers, columnIndices, values);
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    public int getNumNonZeros() {
+        return numNonZeros;
+    }
+
+    public IntArray getRowPointers() {
+        return rowPointers;
+    }
+
+    public IntArray getColumnIndices() {
+        return columnIndices;
+    }
+
+    public DoubleArray getValues() {
+        return values;
+    }
+
+    /**
+     * Number of non-zero elements stored in a row.
+     *
+     * @param row
+     *     row index
+     * @return int
+     */
+    public int getRowLength(int row) {
+        return rowPointers.get(row + 1) - rowPointers.get(row);
+    }
+
+    /**
+     * Returns the element at position (i, j). Elements that are not stored
+     * return zero.
+     */
+    public double get(int i, int j) {
+        for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+            if (columnIndices.get(k) == j) {
+                return values.get(k);
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * Sequential sparse-matrix vector multiplication: {@code y = A * x}.
+     *
+     * @param x
+     *     input dense vector of size {@code numColumns}
+     * @param y
+     *     output dense vector of size {@code numRows}
+     */
+    public void multiply(DoubleArray x, DoubleArray y) {
+        for (int i = 0; i < numRows; i++) {
+            double sum = 0.0;
+            for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+                sum += values.get(k) * x.get(columnIndices.get(k));
+            }
+            y.set(i, sum);
+        }
+    }
+
+    public long getNumBytes() {
+        return rowPointers.getNumBytesOfSegment() + columnIndices.getNumBytesOfSegment() + values.getNumBytesOfSegment();
+    }
+
+    public long getNumBytesWithHeader() {
+        return rowPointers.getNumBytesOfSegmentWithHeader() + columnIndices.getNumBytesOfSegmentWithHeader() + values.getNumBytesOfSegmentWithHeader();
+    }
+
+    @Override
+    public String toString() {
+        return format("CSRMatrixDouble <%d x %d, nnz=%d>", numRows, numColumns, numNonZeros);
+    }
+}
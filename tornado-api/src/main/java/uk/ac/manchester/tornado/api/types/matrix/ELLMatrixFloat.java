@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.matrix;
+
+import static java.lang.String.format;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Sparse matrix of floats in ELLPACK (ELL) format. Each row is padded to the
+ * length of the longest row ({@code width}). Elements are stored in
+ * column-major order (the k-th element of row {@code i} is at index
+ * {@code k * numRows + i}), so that consecutive threads processing consecutive
+ * rows access consecutive memory positions.
+ *
+ * <p>
+ * Padding elements have value zero and column index zero. This format is
+ * suitable for matrices in which the number of non-zeros per row is regular.
+ * </p>
+ */
+public final class ELLMatrixFloat {
+
+    private final int numRows;
+
+    private final int numColumns;
+
+    /**
+     * Number of elements stored per row, including padding.
+     */
+    private final int width;
+
+    private final IntArray columnIndices;
+
+    private final FloatArray values;
+
+    public ELLMatrixFloat(int numRows, int numColumns, int width, IntArray columnIndices, FloatArray values) {
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.width = width;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Converts a matrix in CSR format to ELL format.
+     *
+     * @param csr
+     *     input matrix
+     * @return {@link ELLMatrixFloat}
+     * @throws TornadoRuntimeException
+     *     if the padded matrix has more than {@link Integer#MAX_VALUE} elements
+     */
+    public static ELLMatrixFloat fromCSR(CSRMatrixFloat csr) {
+        final int numRows = csr.getNumRows();
+        int width = 0;
+        for (int i = 0; i < numRows; i++) {
+            width = Math.max(width, csr.getRowLength(i));
+        }
+        final long numElements = (long) numRows * width;
+        if (numElements > Integer.MAX_VALUE) {
+            throw new TornadoRuntimeException(format("[ERROR] ELL matrix of %d rows and width %d exceeds the maximum number of elements of an array", numRows, width));
+        }
+        // Avoid zero-sized buffers for empty matrices
+        final int size = Math.max(1, (int) numElements);
+        IntArray columnIndices = new IntArray(size);
+        FloatArray values = new FloatArray(size);
+        columnIndices.init(0);
+        values.init(0.0f);
+        for (int i = 0; i < numRows; i++) {
+            int k = 0;
+            for (int j = csr.getRowPointers().get(i); j < csr.getRowPointers().get(i + 1); j++) {
+                columnIndices.set(k * numRows + i, csr.getColumnIndices().get(j));
+                values.set(k * numRows + i, csr.getValues().get(j));
+                k++;
+            }
+        }
+        return new ELLMatrixFloat(numRows, csr.getNumColumns(), width, columnIndices, values);
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public IntArray getColumnIndices() {
+        return columnIndices;
+    }
+
+    public FloatArray getValues() {
+        return values;
+    }
+
+    /**
+     * Ratio between the stored elements (including padding) and the actual
+     * number of non-zeros. Values close to 1 indicate that ELL is a good fit for
+     * the matrix.
+     *
+     * @param numNonZeros
+     *     number of non-zeros of the original matrix
+     * @return float
+     */
+    public float getPaddingRatio(int numNonZeros) {
+        return numNonZeros == 0 ? 1.0f : (float) ((long) numRows * width) / numNonZeros;
+    }
+
+    public long getNumBytes() {
+        return columnIndices.getNumBytesOfSegment() + values.getNumBytesOfSegment();
+    }
+
+    public long getNumBytesWithHeader() {
+        return columnIndices.getNumBytesOfSegmentWithHeader() + values.getNumBytesOfSegmentWithHeader();
+    }
+
+    @Override
+    public String toString() {
+        return format("ELLMatrixFloat <%d x %d, width=%d>", numRows, numColumns, width);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.matrix;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Common utilities to build the sparse matrix formats.
+ */
+final class SparseFormats {
+
+    private SparseFormats() {
+    }
+
+    /**
+     * Computes the starting offset of each row for a counting sort of the input
+     * row indices.
+     *
+     * @param numRows
+     *     number of rows of the matrix
+     * @param rows
+     *     row index of each element
+     * @return array of size {@code numRows + 1} with the exclusive prefix sum of
+     *     the number of elements per row.
+     */
+    static int[] countingSortOffsets(int numRows, int[] rows) {
+        int[] offsets = new int[numRows + 1];
+        for (int row : rows) {
+            if (row < 0 || row >= numRows) {
+                throw new TornadoRuntimeException("[ERROR] Row index out of bounds: " + row);
+            }
+            offsets[row + 1]++;
+        }
+        for (int i = 0; i < numRows; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+}
@@ -67,11 +67,19 @@ public enum DType {
     /**
      * Represents a quantized 8-bit unsigned integer used in specialized applications like machine learning, using 1 byte.
      */
-    QUINT8(1, ValueLayout.JAVA_BYTE);
+    QUINT8(1, ValueLayout.JAVA_BYTE),
+    /**
+     * Represents a block-quantized type with 8-bit signed values and a half-precision scale per block of 32 elements, using 34 bytes per block.
+     */
+    Q8_0(34, ValueLayout.JAVA_BYTE, 32),
+    /**
+     * Represents a block-quantized type with 4-bit values and a half-precision scale per block of 32 elements, using 18 bytes per block.
+     */
+    Q4_0(18, ValueLayout.JAVA_BYTE, 32);
     // @formatter:on
 
     /**
-     * The size of the data type in bytes.
+     * The size of the data type in bytes. For block-quantized types, this is the size of a block.
      */
     private final int size;
 
@@ -80,6 +88,11 @@ public enum DType {
      */
     private final ValueLayout layout;
 
+    /**
+     * The number of elements stored in {@code size} bytes.
+     */
+    private final int blockSize;
+
     /**
      * Constructs an instance of the enum constant with the specified size and memory layout.
      *
@@ -89,8 +102,23 @@ public enum DType {
      *     The {@link ValueLayout} specifying how the data is laid out in memory.
      */
     DType(int size, ValueLayout layout) {
+        this(size, layout, 1);
+    }
+
+    /**
+     * Constructs an instance of the enum constant for a block-quantized data type.
+     *
+     * @param size
+     *     The size of a block in bytes, including its scale.
+     * @param layout
+     *     The {@link ValueLayout} of the quantized values.
+     * @param blockSize
+     *     The number of elements of a block.
+     */
+    DType(int size, ValueLayout layout, int blockSize) {
         this.size = size;
         this.layout = layout;
+        this.blockSize = blockSize;
     }
 
     /**
@@ -111,4 +139,22 @@ public enum DType {
         return layout;
     }
 
+    /**
+     * Returns the number of elements that share a scale, or 1 if the data type is not block-quantized.
+     *
+     * @return The number of elements of a block.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns whether the data type stores blocks of quantized values with a scale per block.
+     *
+     * @return true for block-quantized data types.
+     */
+    public boolean isBlockQuantized() {
+        return blockSize > 1;
+    }
+
 }
@@ -19,6 +19,8 @@ package uk.ac.manchester.tornado.api.types.tensors;
 
 import java.util.Arrays;
 
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
 public record Shape(long... dimensions) {
 
     /**
@@ -48,6 +50,58 @@ public record Shape(long... dimensions) {
         return (int) Arrays.stream(dimensions).reduce(1, (a, b) -> a * b);
     }
 
+    /**
+     * Returns the shape of the result of an element-wise operation between a tensor of this shape and a tensor of another shape. The dimensions are
+     * aligned to the right, and each pair of dimensions must be equal or one of them must be 1 (NumPy broadcasting rules).
+     *
+     * @param other
+     *     the shape of the other operand
+     * @return the broadcast shape
+     * @throws TornadoRuntimeException
+     *     if the shapes are not compatible
+     */
+    public Shape broadcast(Shape other) {
+        int rank = Math.max(getRank(), other.getRank());
+        long[] result = new long[rank];
+        for (int i = 0; i < rank; i++) {
+            long dimension = dimensionFromRight(i);
+            long otherDimension = other.dimensionFromRight(i);
+            if (dimension != otherDimension && dimension != 1 && otherDimension != 1) {
+                throw new TornadoRuntimeException(STR."[ERROR] The shapes \{toTensorFlowShapeString()} and \{other.toTensorFlowShapeString()} cannot be broadcast");
+            }
+            result[rank - 1 - i] = Math.max(dimension, otherDimension);
+        }
+        return new Shape(result);
+    }
+
+    /**
+     * Returns the strides to read a row-major tensor of this shape as if it had the target shape. The strides are aligned to the right with the
+     * dimensions of the target, and the dimensions that are broadcast (missing or of size 1 in this shape) have a stride of 0.
+     *
+     * @param target
+     *     the shape to broadcast to
+     * @return an array with one stride per dimension of the target shape
+     * @throws TornadoRuntimeException
+     *     if this shape cannot be broadcast to the target shape
+     */
+    public long[] getBroadcastStrides(Shape target) {
+        if (!broadcast(target).equals(target)) {
+            throw new TornadoRuntimeException(STR."[ERROR] The shape \{toTensorFlowShapeString()} cannot be broadcast to \{target.toTensorFlowShapeString()}");
+        }
+        long[] strides = new long[target.getRank()];
+        long stride = 1;
+        for (int i = 0; i < target.getRank(); i++) {
+            long dimension = dimensionFromRight(i);
+            strides[target.getRank() - 1 - i] = (dimension == 1) ? 0 : stride;
+            stride *= dimension;
+        }
+        return strides;
+    }
+
+    private long dimensionFromRight(int index) {
+        return index < dimensions.length ? dimensions[dimensions.length - 1 - index] : 1;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
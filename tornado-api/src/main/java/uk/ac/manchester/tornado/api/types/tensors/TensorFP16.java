@@ -82,6 +82,19 @@ public final class TensorFP16 extends Tensor {
         return new HalfFloat(halfFloatValue);
     }
 
+    /**
+     * Creates a view of the whole tensor, which can be sliced, transposed and reshaped without copying the data.
+     *
+     * @return A new {@link TensorFP16View} instance over the storage of this tensor.
+     */
+    public TensorFP16View view() {
+        return TensorFP16View.of(this);
+    }
+
+    HalfFloatArray getStorage() {
+        return tensorStorage;
+    }
+
     @Override
     public int getSize() {
         return numberOfElements;
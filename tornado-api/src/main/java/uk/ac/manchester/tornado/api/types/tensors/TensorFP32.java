@@ -82,6 +82,19 @@ public final class TensorFP32 extends Tensor {
         return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + index);
     }
 
+    /**
+     * Creates a view of the whole tensor, which can be sliced, transposed and reshaped without copying the data.
+     *
+     * @return A new {@link TensorFP32View} instance over the storage of this tensor.
+     */
+    public TensorFP32View view() {
+        return TensorFP32View.of(this);
+    }
+
+    FloatArray getStorage() {
+        return tensorStorage;
+    }
+
     @Override
     public int getSize() {
         return numberOfElements;
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.tensors;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+/**
+ * A view over the storage of a {@link TensorFP32}: an offset, a shape and the stride of each dimension. Slicing, selecting, transposing and reshaping a
+ * view create a new view over the same storage, so no data is copied. Writes through a view are visible in the tensor and in the rest of its views.
+ *
+ * <p>
+ * Views can be passed to tasks. On the device, a view is an object with the offset, sizes and strides as fields and a reference to the storage of the
+ * tensor, so the kernel computes the address of each element from them. A tensor and its views can be passed to the same task graph: on the OpenCL
+ * backend, all of them are bound to a single device buffer of the storage, and each argument starts at its own offset of that buffer.
+ * </p>
+ */
+@SegmentElementSize(size = 4)
+public final class TensorFP32View extends Tensor {
+
+    private static final int FLOAT_BYTES = 4;
+    /**
+     * The data type of the elements contained within the tensor.
+     */
+    private final DType dType;
+    private final Shape shape;
+
+    /**
+     * The storage of the tensor this view was created from.
+     */
+    private final FloatArray tensorStorage;
+
+    /**
+     * The total number of elements in the view.
+     */
+    private int numberOfElements;
+
+    // Layout of the view, with the dimensions aligned to the right in TensorLayout.MAX_RANK dimensions
+    private int rank;
+    private int offset;
+    private int contiguous;
+    private int size1;
+    private int size2;
+    private int size3;
+    private int stride0;
+    private int stride1;
+    private int stride2;
+    private int stride3;
+
+    private TensorFP32View(FloatArray tensorStorage, TensorLayout layout) {
+        super(DType.FLOAT, layout.getShape());
+        if (layout.getLastIndex() >= tensorStorage.getSize()) {
+            throw new TornadoRuntimeException(STR."[ERROR] The view (\{layout}) is out of the bounds of the tensor");
+        }
+        this.dType = DType.FLOAT;
+        this.shape = layout.getShape();
+        this.tensorStorage = tensorStorage;
+        this.numberOfElements = layout.getSize();
+        this.rank = layout.getRank();
+        this.offset = (int) layout.getOffset();
+        this.contiguous = layout.isContiguous() ? 1 : 0;
+        this.size1 = layout.getPaddedDimension(1);
+        this.size2 = layout.getPaddedDimension(2);
+        this.size3 = layout.getPaddedDimension(3);
+        this.stride0 = layout.getPaddedStride(0);
+        this.stride1 = layout.getPaddedStride(1);
+        this.stride2 = layout.getPaddedStride(2);
+        this.stride3 = layout.getPaddedStride(3);
+    }
+
+    /**
+     * Creates a view of a whole tensor, with its shape.
+     *
+     * @param tensor
+     *     The tensor that holds the data.
+     * @return A new {@link TensorFP32View} instance.
+     */
+    public static TensorFP32View of(TensorFP32 tensor) {
+        return new TensorFP32View(tensor.getStorage(), TensorLayout.of(tensor.getShape()));
+    }
+
+    private TensorLayout getLayout() {
+        long[] strides = new long[rank];
+        int[] paddedStrides = { stride0, stride1, stride2, stride3 };
+        for (int i = 0; i < rank; i++) {
+            strides[i] = paddedStrides[TensorLayout.MAX_RANK - rank + i];
+        }
+        return TensorLayout.of(offset, shape.getDimensions().clone(), strides);
+    }
+
+    /**
+     * Creates a view of the elements {@code [from, to)} along an axis.
+     */
+    public TensorFP32View slice(int axis, int from, int to) {
+        return new TensorFP32View(tensorStorage, getLayout().slice(axis, from, to));
+    }
+
+    /**
+     * Creates a view of the element {@code index} along an axis, which removes the axis.
+     */
+    public TensorFP32View select(int axis, int index) {
+        return new TensorFP32View(tensorStorage, getLayout().select(axis, index));
+    }
+
+    /**
+     * Creates a view with two axes swapped.
+     */
+    public TensorFP32View transpose(int axisA, int axisB) {
+        return new TensorFP32View(tensorStorage, getLayout().transpose(axisA, axisB));
+    }
+
+    /**
+     * Creates a view with a new shape of the same size. The view must be contiguous.
+     */
+    public TensorFP32View reshape(Shape newShape) {
+        return new TensorFP32View(tensorStorage, getLayout().reshape(newShape));
+    }
+
+    public boolean isContiguous() {
+        return contiguous == 1;
+    }
+
+    /**
+     * @return The index in the storage of the tensor of the first element of the view.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    private long getBaseIndex() {
+        return (int) TornadoNativeArray.ARRAY_HEADER / FLOAT_BYTES;
+    }
+
+    /**
+     * Index in the storage of the element {@code index} of the view, in row-major order.
+     */
+    private int getStorageIndex(int index) {
+        if (contiguous == 1) {
+            return offset + index;
+        }
+        final int i3 = index % size3;
+        int remaining = index / size3;
+        final int i2 = remaining % size2;
+        remaining = remaining / size2;
+        final int i1 = remaining % size1;
+        final int i0 = remaining / size1;
+        return offset + i0 * stride0 + i1 * stride1 + i2 * stride2 + i3 * stride3;
+    }
+
+    /**
+     * Gets the element {@code index} of the view, in row-major order.
+     */
+    public float get(int index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + getStorageIndex(index));
+    }
+
+    public void set(int index, float value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + getStorageIndex(index), value);
+    }
+
+    /**
+     * Gets an element of a view of rank 2.
+     */
+    public float get(int i, int j) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + offset + i * stride2 + j * stride3);
+    }
+
+    public void set(int i, int j, float value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + offset + i * stride2 + j * stride3, value);
+    }
+
+    /**
+     * Gets an element of a view of rank 3.
+     */
+    public float get(int i, int j, int k) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + offset + i * stride1 + j * stride2 + k * stride3);
+    }
+
+    public void set(int i, int j, int k, float value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + offset + i * stride1 + j * stride2 + k * stride3, value);
+    }
+
+    public void init(float value) {
+        for (int i = 0; i < getSize(); i++) {
+            set(i, value);
+        }
+    }
+
+    /**
+     * Copies the elements of the view into a new tensor.
+     *
+     * @return A new {@link TensorFP32} instance with the shape of the view.
+     */
+    public TensorFP32 copy() {
+        TensorFP32 tensor = new TensorFP32(shape);
+        for (int i = 0; i < getSize(); i++) {
+            tensor.set(i, get(i));
+        }
+        return tensor;
+    }
+
+    public float[] toHeapArray() {
+        float[] outputArray = new float[getSize()];
+        for (int i = 0; i < getSize(); i++) {
+            outputArray[i] = get(i);
+        }
+        return outputArray;
+    }
+
+    @Override
+    public int getSize() {
+        return numberOfElements;
+    }
+
+    /**
+     * Returns the segment of the storage of the tensor. The view is a subset of this segment.
+     */
+    @Override
+    public MemorySegment getSegment() {
+        return tensorStorage.getSegment();
+    }
+
+    @Override
+    public MemorySegment getSegmentWithHeader() {
+        return tensorStorage.getSegmentWithHeader();
+    }
+
+    @Override
+    public long getNumBytesOfSegmentWithHeader() {
+        return tensorStorage.getNumBytesOfSegmentWithHeader();
+    }
+
+    @Override
+    public long getNumBytesOfSegment() {
+        return tensorStorage.getNumBytesOfSegment();
+    }
+
+    @Override
+    protected void clear() {
+        init(0.0f);
+    }
+
+    @Override
+    public int getElementSize() {
+        return FLOAT_BYTES;
+    }
+
+    @Override
+    public Shape getShape() {
+        return this.shape;
+    }
+
+    @Override
+    public String getDTypeAsString() {
+        return dType.toString();
+    }
+
+    @Override
+    public DType getDType() {
+        return dType;
+    }
+
+    @Override
+    public String toString() {
+        return STR."TensorFP32View{\{getLayout()}}";
+    }
+}
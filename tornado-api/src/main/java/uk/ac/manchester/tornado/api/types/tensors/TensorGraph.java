@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.tensors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.WorkerGrid2D;
+import uk.ac.manchester.tornado.api.WorkerGrid3D;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Builds a single {@link TaskGraph} from a sequence of tensor operators. Each operator allocates its result and returns it, so the result can be
+ * the operand of the next operator:
+ *
+ * <pre>{@code
+ * TensorGraph graph = new TensorGraph("mlp");
+ * TensorFP32 hidden = graph.add(graph.matMul(input, weights), bias);
+ * TensorFP32 probabilities = graph.softmax(hidden);
+ * graph.output(probabilities);
+ * try (TornadoExecutionPlan executionPlan = graph.toExecutionPlan()) {
+ *     executionPlan.execute();
+ * }
+ * }</pre>
+ *
+ * <p>
+ * The operands that are not produced by the graph are copied to the device in every execution, the results passed to {@link #output} are copied
+ * back, and the intermediate results stay on the device. The kernels are selected for the device of the graph: GPUs use the tiled
+ * {@link KernelContext} kernels of {@link TensorKernels}, with the grids of {@link #getGridScheduler()}, and other devices use the loop-parallel
+ * kernels.
+ * </p>
+ *
+ * <p>
+ * The operators work on {@link TensorFP32}. {@link TensorFP16} and {@link TensorByte} tensors are converted with {@link #toFloat} and
+ * {@link #toHalf}, inside the same graph.
+ * </p>
+ */
+public final class TensorGraph {
+
+    private static final float DEFAULT_EPSILON = 1e-5f;
+
+    private enum ElementWise {
+        ADD, SUB, MUL, DIV
+    }
+
+    private final String name;
+    private final TornadoDevice device;
+    private final boolean tiled;
+    private final KernelContext context;
+    private final GridScheduler gridScheduler;
+
+    private final List<Consumer<TaskGraph>> tasks;
+    private final List<Object> inputs;
+    private final List<Object> constants;
+    private final List<Object> outputs;
+    private final Set<Object> results;
+
+    public TensorGraph(String name) {
+        this(name, TornadoExecutionPlan.DEFAULT_DEVICE);
+    }
+
+    public TensorGraph(String name, TornadoDevice device) {
+        this.name = name;
+        this.device = device;
+        this.tiled = device.getDeviceType() == TornadoDeviceType.GPU;
+        this.context = new KernelContext();
+        this.gridScheduler = new GridScheduler();
+        this.tasks = new ArrayList<>();
+        this.inputs = new ArrayList<>();
+        this.constants = new ArrayList<>();
+        this.outputs = new ArrayList<>();
+        this.results = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private String nextTaskName(String operator) {
+        return operator + tasks.size();
+    }
+
+    private void use(Tensor... operands) {
+        for (Tensor operand : operands) {
+            if (!results.contains(operand) && inputs.stream().noneMatch(input -> input == operand)) {
+                inputs.add(operand);
+            }
+        }
+    }
+
+    private <T extends Tensor> T produce(T result) {
+        results.add(result);
+        return result;
+    }
+
+    private void schedule(String taskName, WorkerGrid grid) {
+        gridScheduler.setWorkerGrid(name + "." + taskName, grid);
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    private static long[] dimensions(Tensor tensor) {
+        return tensor.getShape().getDimensions();
+    }
+
+    private static int lastDimension(Tensor tensor) {
+        long[] dimensions = dimensions(tensor);
+        if (dimensions.length == 0) {
+            throw new TornadoRuntimeException("[ERROR] The operator requires a tensor of rank 1 or higher");
+        }
+        return (int) dimensions[dimensions.length - 1];
+    }
+
+    private static WorkerGrid rowGrid(int rows) {
+        WorkerGrid grid = new WorkerGrid1D(rows * TensorKernels.GROUP_SIZE);
+        grid.setLocalWork(TensorKernels.GROUP_SIZE, 1, 1);
+        return grid;
+    }
+
+    /**
+     * @return the device the kernels are selected for.
+     */
+    public TornadoDevice getDevice() {
+        return device;
+    }
+
+    /**
+     * @return the grids of the {@link KernelContext} tasks of the graph, which must be passed to the execution plan.
+     */
+    public GridScheduler getGridScheduler() {
+        return gridScheduler;
+    }
+
+    /**
+     * Converts a half-precision tensor to single precision.
+     */
+    public TensorFP32 toFloat(TensorFP16 input) {
+        use(input);
+        TensorFP32 output = produce(new TensorFP32(input.getShape()));
+        String taskName = nextTaskName("halfToFloat");
+        tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::halfToFloat, input, output));
+        return output;
+    }
+
+    /**
+     * Converts a byte tensor to single precision.
+     */
+    public TensorFP32 toFloat(TensorByte input) {
+        use(input);
+        TensorFP32 output = produce(new TensorFP32(input.getShape()));
+        String taskName = nextTaskName("byteToFloat");
+        tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::byteToFloat, input, output));
+        return output;
+    }
+
+    /**
+     * Converts a single-precision tensor to half precision.
+     */
+    public TensorFP16 toHalf(TensorFP32 input) {
+        use(input);
+        TensorFP16 output = produce(new TensorFP16(input.getShape()));
+        String taskName = nextTaskName("floatToHalf");
+        tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::floatToHalf, input, output));
+        return output;
+    }
+
+    public TensorFP32 add(TensorFP32 a, TensorFP32 b) {
+        return elementWise(ElementWise.ADD, a, b);
+    }
+
+    public TensorFP32 sub(TensorFP32 a, TensorFP32 b) {
+        return elementWise(ElementWise.SUB, a, b);
+    }
+
+    public TensorFP32 mul(TensorFP32 a, TensorFP32 b) {
+        return elementWise(ElementWise.MUL, a, b);
+    }
+
+    public TensorFP32 div(TensorFP32 a, TensorFP32 b) {
+        return elementWise(ElementWise.DIV, a, b);
+    }
+
+    /**
+     * Adds an element-wise operator. Operands of the same shape use the plain kernel. Otherwise, the shapes are broadcast and the kernel receives the
+     * dimensions of the result and the strides of each operand.
+     */
+    private TensorFP32 elementWise(ElementWise operator, TensorFP32 a, TensorFP32 b) {
+        Shape shape = a.getShape().broadcast(b.getShape());
+        use(a, b);
+        TensorFP32 output = produce(new TensorFP32(shape));
+        String taskName = nextTaskName(operator.name().toLowerCase());
+        if (a.getShape().equals(b.getShape())) {
+            tasks.add(taskGraph -> {
+                switch (operator) {
+                    case ADD -> taskGraph.task(taskName, TensorKernels::add, a, b, output);
+                    case SUB -> taskGraph.task(taskName, TensorKernels::sub, a, b, output);
+                    case MUL -> taskGraph.task(taskName, TensorKernels::mul, a, b, output);
+                    case DIV -> taskGraph.task(taskName, TensorKernels::div, a, b, output);
+                }
+            });
+            return output;
+        }
+        if (shape.getRank() > TensorKernels.MAX_RANK) {
+            throw new TornadoRuntimeException(STR."[ERROR] Broadcasting supports tensors of up to \{TensorKernels.MAX_RANK} dimensions, but the result has \{shape.getRank()}");
+        }
+        IntArray layout = new IntArray(3 * TensorKernels.MAX_RANK);
+        long[] aStrides = a.getShape().getBroadcastStrides(shape);
+        long[] bStrides = b.getShape().getBroadcastStrides(shape);
+        int padding = TensorKernels.MAX_RANK - shape.getRank();
+        for (int i = 0; i < TensorKernels.MAX_RANK; i++) {
+            boolean padded = i < padding;
+            layout.set(i, padded ? 1 : (int) shape.getDimensions()[i - padding]);
+            layout.set(TensorKernels.MAX_RANK + i, padded ? 0 : (int) aStrides[i - padding]);
+            layout.set(2 * TensorKernels.MAX_RANK + i, padded ? 0 : (int) bStrides[i - padding]);
+        }
+        constants.add(layout);
+        tasks.add(taskGraph -> {
+            switch (operator) {
+                case ADD -> taskGraph.task(taskName, TensorKernels::broadcastAdd, a, b, output, layout);
+                case SUB -> taskGraph.task(taskName, TensorKernels::broadcastSub, a, b, output, layout);
+                case MUL -> taskGraph.task(taskName, TensorKernels::broadcastMul, a, b, output, layout);
+                case DIV -> taskGraph.task(taskName, TensorKernels::broadcastDiv, a, b, output, layout);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Multiplies {@code a}, with shape {@code [..., m, k]}, by the matrix {@code b}, with shape {@code [k, n]}. The leading dimensions of {@code a} are
+     * treated as more rows, so the result has shape {@code [..., m, n]}.
+     */
+    public TensorFP32 matMul(TensorFP32 a, TensorFP32 b) {
+        long[] aDimensions = dimensions(a);
+        long[] bDimensions = dimensions(b);
+        if (aDimensions.length < 1 || bDimensions.length != 2 || aDimensions[aDimensions.length - 1] != bDimensions[0]) {
+            throw new TornadoRuntimeException(STR."[ERROR] Cannot multiply tensors of shapes \{a.getShape().toTensorFlowShapeString()} and \{b.getShape().toTensorFlowShapeString()}");
+        }
+        final int k = (int) bDimensions[0];
+        final int n = (int) bDimensions[1];
+        final int m = a.getSize() / k;
+        long[] outDimensions = aDimensions.clone();
+        outDimensions[outDimensions.length - 1] = n;
+
+        use(a, b);
+        TensorFP32 c = produce(new TensorFP32(new Shape(outDimensions)));
+        String taskName = nextTaskName("matMul");
+        if (tiled) {
+            WorkerGrid grid = new WorkerGrid2D(roundUp(n, TensorKernels.TILE_SIZE), roundUp(m, TensorKernels.TILE_SIZE));
+            grid.setLocalWork(TensorKernels.TILE_SIZE, TensorKernels.TILE_SIZE, 1);
+            schedule(taskName, grid);
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::matMulTiled, context, a, b, c, m, n, k));
+        } else {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::matMul, a, b, c, m, n, k));
+        }
+        return c;
+    }
+
+    /**
+     * Swaps the last two dimensions of a tensor of rank 2 or higher. To transpose other dimensions without copying the data, use a view
+     * ({@link TensorFP32View#transpose}).
+     */
+    public TensorFP32 transpose(TensorFP32 input) {
+        long[] dimensions = dimensions(input).clone();
+        int rank = dimensions.length;
+        if (rank < 2) {
+            throw new TornadoRuntimeException(STR."[ERROR] Cannot transpose a tensor of shape \{input.getShape().toTensorFlowShapeString()}");
+        }
+        final int rows = (int) dimensions[rank - 2];
+        final int cols = (int) dimensions[rank - 1];
+        final int batch = input.getSize() / (rows * cols);
+        dimensions[rank - 2] = cols;
+        dimensions[rank - 1] = rows;
+
+        use(input);
+        TensorFP32 output = produce(new TensorFP32(new Shape(dimensions)));
+        String taskName = nextTaskName("transpose");
+        if (tiled) {
+            WorkerGrid grid = new WorkerGrid3D(roundUp(cols, TensorKernels.TILE_SIZE), roundUp(rows, TensorKernels.TILE_SIZE), batch);
+            grid.setLocalWork(TensorKernels.TILE_SIZE, TensorKernels.TILE_SIZE, 1);
+            schedule(taskName, grid);
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::transposeTiled, context, input, output, rows, cols));
+        } else {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::transpose, input, output, batch, rows, cols));
+        }
+        return output;
+    }
+
+    /**
+     * Sums the elements along an axis. The axis is removed from the shape of the result, or replaced by 1 if the input has rank 1.
+     */
+    public TensorFP32 reduceSum(TensorFP32 input, int axis) {
+        return reduce("reduceSum", input, axis, true);
+    }
+
+    /**
+     * Computes the maximum of the elements along an axis, with the same shape rules as {@link #reduceSum}.
+     */
+    public TensorFP32 reduceMax(TensorFP32 input, int axis) {
+        return reduce("reduceMax", input, axis, false);
+    }
+
+    private TensorFP32 reduce(String operator, TensorFP32 input, int axis, boolean sum) {
+        long[] dimensions = dimensions(input);
+        if (axis < 0 || axis >= dimensions.length) {
+            throw new TornadoRuntimeException(STR."[ERROR] Invalid axis \{axis} for a tensor of shape \{input.getShape().toTensorFlowShapeString()}");
+        }
+        final int length = (int) dimensions[axis];
+        int innerSize = 1;
+        for (int i = axis + 1; i < dimensions.length; i++) {
+            innerSize *= (int) dimensions[i];
+        }
+        final int inner = innerSize;
+        final int outer = input.getSize() / (length * inner);
+        long[] outDimensions = dimensions.length == 1 ? new long[] { 1 } : new long[dimensions.length - 1];
+        for (int i = 0, j = 0; i < dimensions.length && dimensions.length > 1; i++) {
+            if (i != axis) {
+                outDimensions[j++] = dimensions[i];
+            }
+        }
+
+        use(input);
+        TensorFP32 output = produce(new TensorFP32(new Shape(outDimensions)));
+        String taskName = nextTaskName(operator);
+        if (tiled && inner == 1) {
+            // The threads of a work-group reduce a contiguous row
+            schedule(taskName, rowGrid(outer));
+            if (sum) {
+                tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::reduceSumRows, context, input, output, length));
+            } else {
+                tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::reduceMaxRows, context, input, output, length));
+            }
+        } else if (sum) {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::reduceSum, input, output, outer, length, inner));
+        } else {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::reduceMax, input, output, outer, length, inner));
+        }
+        return output;
+    }
+
+    /**
+     * Computes the softmax along the last axis.
+     */
+    public TensorFP32 softmax(TensorFP32 input) {
+        final int cols = lastDimension(input);
+        final int rows = input.getSize() / cols;
+        use(input);
+        TensorFP32 output = produce(new TensorFP32(input.getShape()));
+        String taskName = nextTaskName("softmax");
+        if (tiled) {
+            schedule(taskName, rowGrid(rows));
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::softmaxRows, context, input, output, cols));
+        } else {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::softmax, input, output, rows, cols));
+        }
+        return output;
+    }
+
+    /**
+     * Normalizes the last axis with an epsilon of {@code 1e-5}.
+     */
+    public TensorFP32 layerNorm(TensorFP32 input, TensorFP32 weight, TensorFP32 bias) {
+        return layerNorm(input, weight, bias, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Normalizes the last axis to zero mean and unit variance, and then applies the scale {@code weight} and the shift {@code bias}, which must have
+     * one element per element of the last axis.
+     */
+    public TensorFP32 layerNorm(TensorFP32 input, TensorFP32 weight, TensorFP32 bias, float epsilon) {
+        final int cols = lastDimension(input);
+        final int rows = input.getSize() / cols;
+        if (weight.getSize() != cols || bias.getSize() != cols) {
+            throw new TornadoRuntimeException(STR."[ERROR] The weight and the bias of the layer normalization must have \{cols} elements");
+        }
+        use(input, weight, bias);
+        TensorFP32 output = produce(new TensorFP32(input.getShape()));
+        String taskName = nextTaskName("layerNorm");
+        if (tiled) {
+            schedule(taskName, rowGrid(rows));
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::layerNormRows, context, input, weight, bias, output, cols, epsilon));
+        } else {
+            tasks.add(taskGraph -> taskGraph.task(taskName, TensorKernels::layerNorm, input, weight, bias, output, rows, cols, epsilon));
+        }
+        return output;
+    }
+
+    /**
+     * Marks results of the graph to be copied back to the host after each execution.
+     */
+    public TensorGraph output(Tensor... tensors) {
+        for (Tensor tensor : tensors) {
+            if (!results.contains(tensor)) {
+                throw new TornadoRuntimeException(STR."[ERROR] The tensor \{tensor.getShape().toTensorFlowShapeString()} is not a result of the graph \{name}");
+            }
+            if (outputs.stream().noneMatch(output -> output == tensor)) {
+                outputs.add(tensor);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Builds the task graph with the operators added so far.
+     *
+     * @return a new {@link TaskGraph}. Tasks with {@link KernelContext} need the grids of {@link #getGridScheduler()}.
+     */
+    public TaskGraph toTaskGraph() {
+        if (tasks.isEmpty() || outputs.isEmpty()) {
+            throw new TornadoRuntimeException(STR."[ERROR] The graph \{name} needs at least one operator and one output");
+        }
+        TaskGraph taskGraph = new TaskGraph(name);
+        if (!inputs.isEmpty()) {
+            taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, inputs.toArray());
+        }
+        if (!constants.isEmpty()) {
+            taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, constants.toArray());
+        }
+        tasks.forEach(task -> task.accept(taskGraph));
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, outputs.toArray());
+        return taskGraph;
+    }
+
+    /**
+     * Builds an execution plan for the device of the graph, with the grids of the {@link KernelContext} tasks.
+     */
+    public TornadoExecutionPlan toExecutionPlan() {
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(toTaskGraph().snapshot());
+        executionPlan.withDevice(device);
+        if (!gridScheduler.keySet().isEmpty()) {
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        return executionPlan;
+    }
+
+    @Override
+    public String toString() {
+        return STR."TensorGraph{name=\{name}, device=\{device}, tiled=\{tiled}, operators=\{tasks.size()}, outputs=\{outputs.size()}}";
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.tensors;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.math.TornadoMath;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Kernels of the operators of {@link TensorGraph}. All tensors are row-major.
+ *
+ * <p>
+ * Each operator has a loop-parallel version, annotated with {@link Parallel}, which is used on CPUs and other accelerators. Matrix multiplication,
+ * transposition and the operators that reduce a row also have a {@link KernelContext} version for GPUs: the matrix multiplication and the
+ * transposition are tiled in local memory with {@link #TILE_SIZE} x {@link #TILE_SIZE} work-groups, and the row reductions use one work-group of
+ * {@link #GROUP_SIZE} threads per row. These kernels must be launched with the grids that {@link TensorGraph} creates.
+ * </p>
+ *
+ * <p>
+ * The broadcasting kernels receive the layout of the operation as an {@link IntArray}: the dimensions of the result and the strides of each
+ * operand, aligned to the right in {@link #MAX_RANK} dimensions (see {@link Shape#getBroadcastStrides(Shape)}).
+ * </p>
+ */
+public final class TensorKernels {
+
+    /**
+     * The size of the tiles of the matrix multiplication and the transposition.
+     */
+    public static final int TILE_SIZE = 16;
+
+    /**
+     * The number of threads that reduce each row.
+     */
+    public static final int GROUP_SIZE = 256;
+
+    /**
+     * The maximum rank of the operands of the broadcasting kernels.
+     */
+    public static final int MAX_RANK = 4;
+
+    private static final int STRIDES_A = MAX_RANK;
+    private static final int STRIDES_B = 2 * MAX_RANK;
+
+    private TensorKernels() {
+    }
+
+    private static int broadcastIndex(IntArray layout, int index, int strides) {
+        int i3 = index % layout.get(3);
+        int rest = index / layout.get(3);
+        int i2 = rest % layout.get(2);
+        rest = rest / layout.get(2);
+        int i1 = rest % layout.get(1);
+        int i0 = rest / layout.get(1);
+        return i0 * layout.get(strides) + i1 * layout.get(strides + 1) + i2 * layout.get(strides + 2) + i3 * layout.get(strides + 3);
+    }
+
+    public static void add(TensorFP32 a, TensorFP32 b, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void sub(TensorFP32 a, TensorFP32 b, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(i) - b.get(i));
+        }
+    }
+
+    public static void mul(TensorFP32 a, TensorFP32 b, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(i) * b.get(i));
+        }
+    }
+
+    public static void div(TensorFP32 a, TensorFP32 b, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(i) / b.get(i));
+        }
+    }
+
+    public static void broadcastAdd(TensorFP32 a, TensorFP32 b, TensorFP32 output, IntArray layout) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(broadcastIndex(layout, i, STRIDES_A)) + b.get(broadcastIndex(layout, i, STRIDES_B)));
+        }
+    }
+
+    public static void broadcastSub(TensorFP32 a, TensorFP32 b, TensorFP32 output, IntArray layout) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(broadcastIndex(layout, i, STRIDES_A)) - b.get(broadcastIndex(layout, i, STRIDES_B)));
+        }
+    }
+
+    public static void broadcastMul(TensorFP32 a, TensorFP32 b, TensorFP32 output, IntArray layout) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(broadcastIndex(layout, i, STRIDES_A)) * b.get(broadcastIndex(layout, i, STRIDES_B)));
+        }
+    }
+
+    public static void broadcastDiv(TensorFP32 a, TensorFP32 b, TensorFP32 output, IntArray layout) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, a.get(broadcastIndex(layout, i, STRIDES_A)) / b.get(broadcastIndex(layout, i, STRIDES_B)));
+        }
+    }
+
+    public static void halfToFloat(TensorFP16 input, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i).getFloat32());
+        }
+    }
+
+    public static void byteToFloat(TensorByte input, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void floatToHalf(TensorFP32 input, TensorFP16 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, new HalfFloat(input.get(i)));
+        }
+    }
+
+    /**
+     * Multiplies a matrix of {@code m x k} elements by a matrix of {@code k x n} elements.
+     */
+    public static void matMul(TensorFP32 a, TensorFP32 b, TensorFP32 c, int m, int n, int k) {
+        for (@Parallel int i = 0; i < m; i++) {
+            for (@Parallel int j = 0; j < n; j++) {
+                float sum = 0.0f;
+                for (int l = 0; l < k; l++) {
+                    sum += a.get(i * k + l) * b.get(l * n + j);
+                }
+                c.set(i * n + j, sum);
+            }
+        }
+    }
+
+    /**
+     * Tiled version of {@link #matMul}. Each work-group computes a tile of {@code c}, and the tiles of {@code a} and {@code b} it needs are loaded
+     * once into local memory. The x dimension of the grid covers the columns of {@code c}, rounded up to a multiple of {@link #TILE_SIZE}, and the
+     * y dimension covers its rows.
+     */
+    public static void matMulTiled(KernelContext context, TensorFP32 a, TensorFP32 b, TensorFP32 c, int m, int n, int k) {
+        int col = context.localIdx;
+        int row = context.localIdy;
+        int globalCol = TILE_SIZE * context.groupIdx + col;
+        int globalRow = TILE_SIZE * context.groupIdy + row;
+
+        float[] aTile = context.allocateFloatLocalArray(TILE_SIZE * TILE_SIZE);
+        float[] bTile = context.allocateFloatLocalArray(TILE_SIZE * TILE_SIZE);
+
+        float sum = 0.0f;
+        int numTiles = (k + TILE_SIZE - 1) / TILE_SIZE;
+        for (int tile = 0; tile < numTiles; tile++) {
+            int tiledCol = TILE_SIZE * tile + col;
+            int tiledRow = TILE_SIZE * tile + row;
+            float aValue = 0.0f;
+            if (globalRow < m && tiledCol < k) {
+                aValue = a.get(globalRow * k + tiledCol);
+            }
+            float bValue = 0.0f;
+            if (tiledRow < k && globalCol < n) {
+                bValue = b.get(tiledRow * n + globalCol);
+            }
+            aTile[row * TILE_SIZE + col] = aValue;
+            bTile[row * TILE_SIZE + col] = bValue;
+            context.localBarrier();
+
+            for (int l = 0; l < TILE_SIZE; l++) {
+                sum += aTile[row * TILE_SIZE + l] * bTile[l * TILE_SIZE + col];
+            }
+            context.localBarrier();
+        }
+        if (globalRow < m && globalCol < n) {
+            c.set(globalRow * n + globalCol, sum);
+        }
+    }
+
+    /**
+     * Swaps the last two dimensions of {@code batch} matrices of {@code rows x cols} elements.
+     */
+    public static void transpose(TensorFP32 input, TensorFP32 output, int batch, int rows, int cols) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int i = 0; i < rows; i++) {
+                for (@Parallel int j = 0; j < cols; j++) {
+                    output.set((b * cols + j) * rows + i, input.get((b * rows + i) * cols + j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tiled version of {@link #transpose}. Each work-group loads a tile of the input into local memory, so both the reads and the writes are
+     * coalesced. The tile has an extra column to avoid bank conflicts. The x and y dimensions of the grid cover the columns and the rows of the
+     * input, rounded up to a multiple of {@link #TILE_SIZE}, and the z dimension covers the batch.
+     */
+    public static void transposeTiled(KernelContext context, TensorFP32 input, TensorFP32 output, int rows, int cols) {
+        int x = context.localIdx;
+        int y = context.localIdy;
+        int b = context.globalIdz;
+        float[] tile = context.allocateFloatLocalArray(TILE_SIZE * (TILE_SIZE + 1));
+
+        int inCol = TILE_SIZE * context.groupIdx + x;
+        int inRow = TILE_SIZE * context.groupIdy + y;
+        if (inRow < rows && inCol < cols) {
+            tile[y * (TILE_SIZE + 1) + x] = input.get((b * rows + inRow) * cols + inCol);
+        }
+        context.localBarrier();
+
+        int outCol = TILE_SIZE * context.groupIdy + x;
+        int outRow = TILE_SIZE * context.groupIdx + y;
+        if (outRow < cols && outCol < rows) {
+            output.set((b * cols + outRow) * rows + outCol, tile[x * (TILE_SIZE + 1) + y]);
+        }
+    }
+
+    /**
+     * Sums the {@code length} elements of an axis. The tensor is seen as {@code outer x length x inner} elements, where {@code inner} is the number of
+     * elements after the axis.
+     */
+    public static void reduceSum(TensorFP32 input, TensorFP32 output, int outer, int length, int inner) {
+        for (@Parallel int o = 0; o < outer; o++) {
+            for (@Parallel int i = 0; i < inner; i++) {
+                float sum = 0.0f;
+                for (int l = 0; l < length; l++) {
+                    sum += input.get((o * length + l) * inner + i);
+                }
+                output.set(o * inner + i, sum);
+            }
+        }
+    }
+
+    /**
+     * Computes the maximum of the {@code length} elements of an axis, with the same layout as {@link #reduceSum}.
+     */
+    public static void reduceMax(TensorFP32 input, TensorFP32 output, int outer, int length, int inner) {
+        for (@Parallel int o = 0; o < outer; o++) {
+            for (@Parallel int i = 0; i < inner; i++) {
+                float max = -Float.MAX_VALUE;
+                for (int l = 0; l < length; l++) {
+                    max = TornadoMath.max(max, input.get((o * length + l) * inner + i));
+                }
+                output.set(o * inner + i, max);
+            }
+        }
+    }
+
+    /**
+     * Sums each row of {@code cols} elements with a work-group of {@link #GROUP_SIZE} threads.
+     */
+    public static void reduceSumRows(KernelContext context, TensorFP32 input, TensorFP32 output, int cols) {
+        int row = context.groupIdx;
+        int localIdx = context.localIdx;
+        float[] partial = context.allocateFloatLocalArray(GROUP_SIZE);
+
+        float sum = 0.0f;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            sum += input.get(row * cols + j);
+        }
+        partial[localIdx] = sum;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            output.set(row, partial[0]);
+        }
+    }
+
+    /**
+     * Computes the maximum of each row of {@code cols} elements with a work-group of {@link #GROUP_SIZE} threads.
+     */
+    public static void reduceMaxRows(KernelContext context, TensorFP32 input, TensorFP32 output, int cols) {
+        int row = context.groupIdx;
+        int localIdx = context.localIdx;
+        float[] partial = context.allocateFloatLocalArray(GROUP_SIZE);
+
+        float max = -Float.MAX_VALUE;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            max = TornadoMath.max(max, input.get(row * cols + j));
+        }
+        partial[localIdx] = max;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] = TornadoMath.max(partial[localIdx], partial[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            output.set(row, partial[0]);
+        }
+    }
+
+    /**
+     * Computes the softmax of each row of {@code cols} elements. The maximum of the row is subtracted before the exponential for numerical stability.
+     */
+    public static void softmax(TensorFP32 input, TensorFP32 output, int rows, int cols) {
+        for (@Parallel int i = 0; i < rows; i++) {
+            float max = -Float.MAX_VALUE;
+            for (int j = 0; j < cols; j++) {
+                max = TornadoMath.max(max, input.get(i * cols + j));
+            }
+            float sum = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                float value = TornadoMath.exp(input.get(i * cols + j) - max);
+                output.set(i * cols + j, value);
+                sum += value;
+            }
+            for (int j = 0; j < cols; j++) {
+                output.set(i * cols + j, output.get(i * cols + j) / sum);
+            }
+        }
+    }
+
+    /**
+     * Version of {@link #softmax} with a work-group of {@link #GROUP_SIZE} threads per row, which compute the maximum and the sum of the row in local
+     * memory.
+     */
+    public static void softmaxRows(KernelContext context, TensorFP32 input, TensorFP32 output, int cols) {
+        int row = context.groupIdx;
+        int localIdx = context.localIdx;
+        float[] partial = context.allocateFloatLocalArray(GROUP_SIZE);
+
+        float max = -Float.MAX_VALUE;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            max = TornadoMath.max(max, input.get(row * cols + j));
+        }
+        partial[localIdx] = max;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] = TornadoMath.max(partial[localIdx], partial[localIdx + stride]);
+            }
+        }
+        context.localBarrier();
+        max = partial[0];
+        context.localBarrier();
+
+        float sum = 0.0f;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            float value = TornadoMath.exp(input.get(row * cols + j) - max);
+            output.set(row * cols + j, value);
+            sum += value;
+        }
+        partial[localIdx] = sum;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+        }
+        context.localBarrier();
+        sum = partial[0];
+
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            output.set(row * cols + j, output.get(row * cols + j) / sum);
+        }
+    }
+
+    /**
+     * Normalizes each row of {@code cols} elements to zero mean and unit variance, and then scales it by {@code weight} and shifts it by
+     * {@code bias}, which have {@code cols} elements.
+     */
+    public static void layerNorm(TensorFP32 input, TensorFP32 weight, TensorFP32 bias, TensorFP32 output, int rows, int cols, float epsilon) {
+        for (@Parallel int i = 0; i < rows; i++) {
+            float sum = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                sum += input.get(i * cols + j);
+            }
+            float mean = sum / cols;
+            float variance = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                float delta = input.get(i * cols + j) - mean;
+                variance += delta * delta;
+            }
+            float scale = 1.0f / TornadoMath.sqrt(variance / cols + epsilon);
+            for (int j = 0; j < cols; j++) {
+                output.set(i * cols + j, (input.get(i * cols + j) - mean) * scale * weight.get(j) + bias.get(j));
+            }
+        }
+    }
+
+    /**
+     * Version of {@link #layerNorm} with a work-group of {@link #GROUP_SIZE} threads per row, which compute the mean and the variance of the row in
+     * local memory.
+     */
+    public static void layerNormRows(KernelContext context, TensorFP32 input, TensorFP32 weight, TensorFP32 bias, TensorFP32 output, int cols, float epsilon) {
+        int row = context.groupIdx;
+        int localIdx = context.localIdx;
+        float[] partial = context.allocateFloatLocalArray(GROUP_SIZE);
+
+        float sum = 0.0f;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            sum += input.get(row * cols + j);
+        }
+        partial[localIdx] = sum;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+        }
+        context.localBarrier();
+        float mean = partial[0] / cols;
+        context.localBarrier();
+
+        float variance = 0.0f;
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            float delta = input.get(row * cols + j) - mean;
+            variance += delta * delta;
+        }
+        partial[localIdx] = variance;
+        for (int stride = GROUP_SIZE / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                partial[localIdx] += partial[localIdx + stride];
+            }
+        }
+        context.localBarrier();
+        float scale = 1.0f / TornadoMath.sqrt(partial[0] / cols + epsilon);
+
+        for (int j = localIdx; j < cols; j += GROUP_SIZE) {
+            output.set(row * cols + j, (input.get(row * cols + j) - mean) * scale * weight.get(j) + bias.get(j));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.tensors;
+
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Layout of a tensor view over the storage of another tensor: the offset of the first element and the stride (in elements) of each dimension. The
+ * operations of this class only create new layouts, the storage is never copied.
+ */
+final class TensorLayout {
+
+    /**
+     * Maximum rank of a view. Views are stored on the device with one field per dimension.
+     */
+    static final int MAX_RANK = 4;
+
+    private final long offset;
+    private final long[] dimensions;
+    private final long[] strides;
+
+    private TensorLayout(long offset, long[] dimensions, long[] strides) {
+        if (dimensions.length == 0 || dimensions.length > MAX_RANK) {
+            throw new TornadoRuntimeException(STR."[ERROR] Tensor views support from 1 to \{MAX_RANK} dimensions, but the shape has \{dimensions.length}");
+        }
+        this.offset = offset;
+        this.dimensions = dimensions;
+        this.strides = strides;
+    }
+
+    static TensorLayout of(long offset, long[] dimensions, long[] strides) {
+        return new TensorLayout(offset, dimensions, strides);
+    }
+
+    /**
+     * Row-major layout of a whole tensor.
+     */
+    static TensorLayout of(Shape shape) {
+        long[] dimensions = shape.getDimensions().clone();
+        return new TensorLayout(0, dimensions, rowMajorStrides(dimensions));
+    }
+
+    private static long[] rowMajorStrides(long[] dimensions) {
+        long[] strides = new long[dimensions.length];
+        long stride = 1;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= dimensions[i];
+        }
+        return strides;
+    }
+
+    private void checkAxis(int axis) {
+        if (axis < 0 || axis >= dimensions.length) {
+            throw new TornadoRuntimeException(STR."[ERROR] Axis \{axis} is out of range for a view of rank \{dimensions.length}");
+        }
+    }
+
+    /**
+     * Elements {@code [from, to)} of an axis. The rank is kept.
+     */
+    TensorLayout slice(int axis, long from, long to) {
+        checkAxis(axis);
+        if (from < 0 || to > dimensions[axis] || from >= to) {
+            throw new TornadoRuntimeException(STR."[ERROR] Invalid range [\{from}, \{to}) for axis \{axis} of size \{dimensions[axis]}");
+        }
+        long[] newDimensions = dimensions.clone();
+        newDimensions[axis] = to - from;
+        return new TensorLayout(offset + from * strides[axis], newDimensions, strides.clone());
+    }
+
+    /**
+     * Element {@code index} of an axis. The axis is removed, so the rank is reduced by one.
+     */
+    TensorLayout select(int axis, long index) {
+        checkAxis(axis);
+        if (dimensions.length == 1) {
+            throw new TornadoRuntimeException("[ERROR] Cannot select an element of a view of rank 1");
+        }
+        if (index < 0 || index >= dimensions[axis]) {
+            throw new TornadoRuntimeException(STR."[ERROR] Index \{index} is out of range for axis \{axis} of size \{dimensions[axis]}");
+        }
+        long[] newDimensions = new long[dimensions.length - 1];
+        long[] newStrides = new long[dimensions.length - 1];
+        for (int i = 0, j = 0; i < dimensions.length; i++) {
+            if (i != axis) {
+                newDimensions[j] = dimensions[i];
+                newStrides[j] = strides[i];
+                j++;
+            }
+        }
+        return new TensorLayout(offset + index * strides[axis], newDimensions, newStrides);
+    }
+
+    /**
+     * Swaps two axes.
+     */
+    TensorLayout transpose(int axisA, int axisB) {
+        checkAxis(axisA);
+        checkAxis(axisB);
+        long[] newDimensions = dimensions.clone();
+        long[] newStrides = strides.clone();
+        newDimensions[axisA] = dimensions[axisB];
+        newDimensions[axisB] = dimensions[axisA];
+        newStrides[axisA] = strides[axisB];
+        newStrides[axisB] = strides[axisA];
+        return new TensorLayout(offset, newDimensions, newStrides);
+    }
+
+    /**
+     * Row-major layout with a new shape. Only contiguous views can be reshaped without a copy.
+     */
+    TensorLayout reshape(Shape shape) {
+        if (shape.getSize() != getSize()) {
+            throw new TornadoRuntimeException(STR."[ERROR] Cannot reshape a view of \{getSize()} elements into \{shape}");
+        }
+        if (!isContiguous()) {
+            throw new TornadoRuntimeException("[ERROR] Only contiguous views can be reshaped. Copy the view into a new tensor first");
+        }
+        long[] newDimensions = shape.getDimensions().clone();
+        return new TensorLayout(offset, newDimensions, rowMajorStrides(newDimensions));
+    }
+
+    boolean isContiguous() {
+        long expected = 1;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            if (dimensions[i] != 1 && strides[i] != expected) {
+                return false;
+            }
+            expected *= dimensions[i];
+        }
+        return true;
+    }
+
+    /**
+     * Index in the storage of the last element of the view, to check that the view fits in the storage.
+     */
+    long getLastIndex() {
+        long last = offset;
+        for (int i = 0; i < dimensions.length; i++) {
+            last += (dimensions[i] - 1) * strides[i];
+        }
+        return last;
+    }
+
+    int getSize() {
+        return (int) Arrays.stream(dimensions).reduce(1, (a, b) -> a * b);
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    int getRank() {
+        return dimensions.length;
+    }
+
+    Shape getShape() {
+        return new Shape(dimensions.clone());
+    }
+
+    /**
+     * Size of a dimension, with the dimensions aligned to the right in {@link #MAX_RANK} dimensions. The missing leading dimensions have size 1.
+     */
+    int getPaddedDimension(int axis) {
+        int index = axis - (MAX_RANK - dimensions.length);
+        return index < 0 ? 1 : (int) dimensions[index];
+    }
+
+    /**
+     * Stride of a dimension, with the dimensions aligned to the right in {@link #MAX_RANK} dimensions. The missing leading dimensions have stride 0.
+     */
+    int getPaddedStride(int axis) {
+        int index = axis - (MAX_RANK - dimensions.length);
+        return index < 0 ? 0 : (int) strides[index];
+    }
+
+    @Override
+    public String toString() {
+        return STR."offset=\{offset}, dimensions=\{Arrays.toString(dimensions)}, strides=\{Arrays.toString(strides)}";
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.tensors;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT;
+
+/**
+ * A tensor quantized in blocks of {@link #BLOCK_SIZE} consecutive elements ({@link DType#Q4_0}). Each element is stored in 4 bits, with an offset of 8, and
+ * each block has a half-precision scale, so the value of an element is {@code (quant - 8) * scale}. The byte {@code j} of a block stores the element
+ * {@code j} in the low nibble and the element {@code j + 16} in the high nibble.
+ *
+ * <p>
+ * The packed values and the scales are kept in two native arrays, which are copied to the device as they are. Inside a kernel, {@link #getFloat(int)}
+ * loads the packed values and dequantizes them in registers, so the tensor is never expanded to full precision in memory.
+ * </p>
+ */
+@SegmentElementSize(size = 1)
+public final class TensorQ4 extends Tensor {
+
+    /**
+     * The number of elements that share a scale.
+     */
+    public static final int BLOCK_SIZE = 32;
+
+    private static final int BYTES_PER_BLOCK = BLOCK_SIZE / 2;
+
+    private static final int BYTE = 1;
+    private static final int HALF_FLOAT_BYTES = 2;
+
+    /**
+     * The data type of the elements contained within the tensor.
+     */
+    private final DType dType;
+    private final Shape shape;
+
+    private final ByteArray tensorStorage;
+
+    /**
+     * The scale of each block of the tensor.
+     */
+    private final HalfFloatArray scales;
+
+    /**
+     * The total number of elements in the tensor.
+     */
+    private int numberOfElements;
+
+    public TensorQ4(Shape shape) {
+        super(DType.Q4_0, shape);
+        this.shape = shape;
+        this.numberOfElements = shape.getSize();
+        if (numberOfElements % BLOCK_SIZE != 0) {
+            throw new TornadoRuntimeException(STR."[ERROR] The size of a Q4_0 tensor must be a multiple of \{BLOCK_SIZE}, but it is \{numberOfElements}");
+        }
+        this.dType = DType.Q4_0;
+        this.tensorStorage = new ByteArray(numberOfElements / 2);
+        this.scales = new HalfFloatArray(numberOfElements / BLOCK_SIZE);
+    }
+
+    private long getBaseIndex() {
+        return (int) TornadoNativeArray.ARRAY_HEADER / BYTE;
+    }
+
+    private long getScalesBaseIndex() {
+        return (int) TornadoNativeArray.ARRAY_HEADER / HALF_FLOAT_BYTES;
+    }
+
+    /**
+     * Gets the byte stored at the specified index, which packs two elements.
+     *
+     * @param index
+     *     The index of the byte.
+     * @return The packed byte.
+     */
+    public byte getPacked(int index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_BYTE, getBaseIndex() + index);
+    }
+
+    public void setPacked(int index, byte value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_BYTE, getBaseIndex() + index, value);
+    }
+
+    /**
+     * Gets the quantized value of the element stored at the specified index.
+     *
+     * @param index
+     *     The index of the element.
+     * @return The quantized value in the range [-8, 7], without the scale of its block.
+     */
+    public int getQuant(int index) {
+        final int j = index % BLOCK_SIZE;
+        final int packed = getPacked((index / BLOCK_SIZE) * BYTES_PER_BLOCK + (j % BYTES_PER_BLOCK)) & 0xFF;
+        return (j < BYTES_PER_BLOCK ? packed & 0x0F : packed >> 4) - 8;
+    }
+
+    /**
+     * Gets the scale of a block, converted to a 32-bit float.
+     *
+     * @param block
+     *     The index of the block.
+     * @return The scale of the block.
+     */
+    public float getScale(int block) {
+        short halfFloatValue = scales.getSegmentWithHeader().getAtIndex(JAVA_SHORT, getScalesBaseIndex() + block);
+        return new HalfFloat(halfFloatValue).getFloat32();
+    }
+
+    public void setScale(int block, HalfFloat value) {
+        scales.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getScalesBaseIndex() + block, value.getHalfFloatValue());
+    }
+
+    /**
+     * Gets the dequantized value of the element stored at the specified index.
+     *
+     * @param index
+     *     The index of the element.
+     * @return The value of the element.
+     */
+    public float getFloat(int index) {
+        return getQuant(index) * getScale(index / BLOCK_SIZE);
+    }
+
+    /**
+     * Quantizes a block of values with the scale {@code max(|v|) / 7}.
+     */
+    private void quantizeBlock(int block, float[] values, int offset) {
+        float absMax = 0.0f;
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            absMax = Math.max(absMax, Math.abs(values[offset + j]));
+        }
+        HalfFloat scale = new HalfFloat(absMax / 7.0f);
+        setScale(block, scale);
+        float scaleValue = scale.getFloat32();
+        float inverse = scaleValue == 0.0f ? 0.0f : 1.0f / scaleValue;
+        for (int j = 0; j < BYTES_PER_BLOCK; j++) {
+            int low = Math.max(-8, Math.min(7, Math.round(values[offset + j] * inverse))) + 8;
+            int high = Math.max(-8, Math.min(7, Math.round(values[offset + j + BYTES_PER_BLOCK] * inverse))) + 8;
+            setPacked(block * BYTES_PER_BLOCK + j, (byte) (low | (high << 4)));
+        }
+    }
+
+    /**
+     * Creates a quantized tensor from full-precision values.
+     *
+     * @param shape
+     *     The shape of the tensor. Its size must be a multiple of {@link #BLOCK_SIZE}.
+     * @param values
+     *     The values of the tensor, in row-major order.
+     * @return A new {@link TensorQ4} instance.
+     */
+    public static TensorQ4 quantize(Shape shape, float[] values) {
+        TensorQ4 tensor = new TensorQ4(shape);
+        if (values.length != tensor.getSize()) {
+            throw new TornadoRuntimeException(STR."[ERROR] Expected \{tensor.getSize()} values for the shape \{shape}, but got \{values.length}");
+        }
+        for (int block = 0; block < tensor.getSize() / BLOCK_SIZE; block++) {
+            tensor.quantizeBlock(block, values, block * BLOCK_SIZE);
+        }
+        return tensor;
+    }
+
+    public static TensorQ4 quantize(TensorFP32 tensor) {
+        return quantize(tensor.getShape(), tensor.toHeapArray());
+    }
+
+    /**
+     * Expands the tensor to full precision.
+     *
+     * @return A new {@link TensorFP32} instance with the dequantized values.
+     */
+    public TensorFP32 dequantize() {
+        TensorFP32 result = new TensorFP32(shape);
+        for (int i = 0; i < getSize(); i++) {
+            result.set(i, getFloat(i));
+        }
+        return result;
+    }
+
+    public ByteArray getQuants() {
+        return tensorStorage;
+    }
+
+    public HalfFloatArray getScales() {
+        return scales;
+    }
+
+    @Override
+    public int getSize() {
+        return numberOfElements;
+    }
+
+    /**
+     * Returns the segment of the quantized values. The scales are stored in {@link #getScales()}.
+     */
+    @Override
+    public MemorySegment getSegment() {
+        return tensorStorage.getSegment();
+    }
+
+    @Override
+    public MemorySegment getSegmentWithHeader() {
+        return tensorStorage.getSegmentWithHeader();
+    }
+
+    @Override
+    public long getNumBytesOfSegmentWithHeader() {
+        return tensorStorage.getNumBytesOfSegmentWithHeader();
+    }
+
+    @Override
+    public long getNumBytesOfSegment() {
+        return tensorStorage.getNumBytesOfSegment();
+    }
+
+    @Override
+    protected void clear() {
+        tensorStorage.init((byte) 0);
+        scales.init(new HalfFloat(0));
+    }
+
+    @Override
+    public int getElementSize() {
+        return BYTE;
+    }
+
+    @Override
+    public Shape getShape() {
+        return this.shape;
+    }
+
+    @Override
+    public String getDTypeAsString() {
+        return dType.toString();
+    }
+
+    @Override
+    public DType getDType() {
+        return dType;
+    }
+
+    /**
+     * Matrix-vector multiplication with quantized weights: {@code out[r] = sum_c w[r][c] * x[c]}. Each packed byte is loaded once for its two elements, and
+     * the scale of the block is applied once to the partial sum.
+     *
+     * @param w
+     *     Weights with {@code rows} rows of {@code cols} elements. {@code cols} must be a multiple of {@link #BLOCK_SIZE}.
+     * @param x
+     *     Input vector of {@code cols} elements.
+     * @param out
+     *     Output vector of {@code rows} elements.
+     */
+    public static void matVec(TensorQ4 w, TensorFP32 x, TensorFP32 out, int rows, int cols) {
+        final int blocksPerRow = cols / BLOCK_SIZE;
+        for (@Parallel int r = 0; r < rows; r++) {
+            float sum = 0.0f;
+            for (int block = 0; block < blocksPerRow; block++) {
+                final int weightIndex = (r * blocksPerRow + block) * BYTES_PER_BLOCK;
+                final int inputIndex = block * BLOCK_SIZE;
+                float blockSum = 0.0f;
+                for (int j = 0; j < BYTES_PER_BLOCK; j++) {
+                    final int packed = w.getPacked(weightIndex + j) & 0xFF;
+                    blockSum += ((packed & 0x0F) - 8) * x.get(inputIndex + j);
+                    blockSum += ((packed >> 4) - 8) * x.get(inputIndex + j + BYTES_PER_BLOCK);
+                }
+                sum += blockSum * w.getScale(r * blocksPerRow + block);
+            }
+            out.set(r, sum);
+        }
+    }
+
+    /**
+     * Multiplication of a batch of row vectors with quantized weights: {@code out[b][r] = sum_c w[r][c] * x[b][c]}.
+     *
+     * @param w
+     *     Weights with {@code rows} rows of {@code cols} elements. {@code cols} must be a multiple of {@link #BLOCK_SIZE}.
+     * @param x
+     *     Input of {@code batch} rows of {@code cols} elements.
+     * @param out
+     *     Output of {@code batch} rows of {@code rows} elements.
+     */
+    public static void matMul(TensorQ4 w, TensorFP32 x, TensorFP32 out, int batch, int rows, int cols) {
+        final int blocksPerRow = cols / BLOCK_SIZE;
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int r = 0; r < rows; r++) {
+                float sum = 0.0f;
+                for (int block = 0; block < blocksPerRow; block++) {
+                    final int weightIndex = (r * blocksPerRow + block) * BYTES_PER_BLOCK;
+                    final int inputIndex = b * cols + block * BLOCK_SIZE;
+                    float blockSum = 0.0f;
+                    for (int j = 0; j < BYTES_PER_BLOCK; j++) {
+                        final int packed = w.getPacked(weightIndex + j) & 0xFF;
+                        blockSum += ((packed & 0x0F) - 8) * x.get(inputIndex + j);
+                        blockSum += ((packed >> 4) - 8) * x.get(inputIndex + j + BYTES_PER_BLOCK);
+                    }
+                    sum += blockSum * w.getScale(r * blocksPerRow + block);
+                }
+                out.set(b * rows + r, sum);
+            }
+        }
+    }
+}
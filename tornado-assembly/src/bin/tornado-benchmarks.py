@@ -92,8 +92,20 @@ __BENCHMARKS__ = [
     "mandelbrot",
     "dft",
     "juliaset",
+    "prefixsum",
+    "radixsort",
+    "histogram",
+    "spmvbinned",
+    "spmm",
+    "llm",
 ]
 
+## LLM kernels, run across sequence lengths and batch sizes
+__LLM_KERNELS__ = ["matvecQ8", "matvecQ4", "rmsnorm", "rope", "softmax", "attention", "ffn", "decode"]
+__LLM_SEQUENCE_LENGTHS__ = [128, 512, 2048]
+__LLM_BATCH_SIZES__ = [1, 4, 16]
+__LLM_MODEL_DIM__ = 2048
+
 
 ## ========================================================================================
 
@@ -190,6 +202,10 @@ def composeAllOptions(args):
         jvm_options = jvm_options + __DISABLE_LEVEL_ZERO_DEFAULT_SCHEDULER__
     if args.spirvOptimizer:
         jvm_options = jvm_options + __ENABLE_SPIRV_OPTIMIZER__
+    if args.results != None:
+        jvm_options = jvm_options + " -Dtornado.benchmarks.results=" + args.results + " "
+    if args.baseline != None:
+        jvm_options = jvm_options + " -Dtornado.benchmarks.baseline=" + args.baseline + " "
     return jvm_options, tornado_options
 
 
@@ -261,6 +277,36 @@ def runWithJMH(args):
     os.system(command)
 
 
+def runLLMBenchmarks(args):
+    jvm_options, tornado_options = composeAllOptions(args)
+    print(Colors.CYAN + "[INFO] TornadoVM options: " + tornado_options +
+          jvm_options + Colors.RESET)
+    for kernel in __LLM_KERNELS__:
+        for seqLen in __LLM_SEQUENCE_LENGTHS__:
+            for batch in __LLM_BATCH_SIZES__:
+                command = (
+                        __TORNADO_COMMAND__
+                        + tornado_options
+                        + ' --jvm="'
+                        + jvm_options
+                        + '" '
+                        + __RUNNER__
+                        + ' --params="llm '
+                        + kernel
+                        + " "
+                        + str(ITERATIONS)
+                        + " "
+                        + str(seqLen)
+                        + " "
+                        + str(batch)
+                        + " "
+                        + str(__LLM_MODEL_DIM__)
+                        + '"'
+                )
+                print(command)
+                os.system(command)
+
+
 def runDefaultSizePerBenchmark(args):
     printBenchmarks()
     jvm_options, tornado_options = composeAllOptions(args)
@@ -353,6 +399,13 @@ def parseArguments():
     parser.add_argument(
         "--jmh", action="store_true", dest="jmh", default=False, help="Run with JMH"
     )
+    parser.add_argument(
+        "--llm",
+        action="store_true",
+        dest="llm",
+        default=False,
+        help="Run the LLM inference kernels across sequence lengths and batch sizes",
+    )
     parser.add_argument(
         "--jvm",
         "-J",
@@ -376,6 +429,20 @@ def parseArguments():
         default=False,
         help="Enable the SPIRV optimizer",
     )
+    parser.add_argument(
+        "--results",
+        action="store",
+        dest="results",
+        default=None,
+        help="Append the statistics of each benchmark to a file (JSON lines, or CSV if the file ends with .csv)",
+    )
+    parser.add_argument(
+        "--baseline",
+        action="store",
+        dest="baseline",
+        default=None,
+        help="Compare the results with a baseline file and report statistically significant regressions",
+    )
     args = parser.parse_args()
     return args
 
@@ -396,6 +463,9 @@ def main():
     elif args.jmh:
         print("[INFO] Running default size with JMH")
         runWithJMH(args)
+    elif args.llm:
+        print("[INFO] Running LLM inference kernels")
+        runLLMBenchmarks(args)
     else:
         print(Colors.BLUE + "Running TornadoVM Benchmarks" + Colors.RESET)
         print(
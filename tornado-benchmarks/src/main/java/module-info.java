@@ -35,14 +35,20 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks.dotvector;
     exports uk.ac.manchester.tornado.benchmarks.euler;
     exports uk.ac.manchester.tornado.benchmarks.hilbert;
+    exports uk.ac.manchester.tornado.benchmarks.histogram;
+    exports uk.ac.manchester.tornado.benchmarks.llm;
     exports uk.ac.manchester.tornado.benchmarks.mandelbrot;
     exports uk.ac.manchester.tornado.benchmarks.montecarlo;
     exports uk.ac.manchester.tornado.benchmarks.nbody;
+    exports uk.ac.manchester.tornado.benchmarks.prefixsum;
+    exports uk.ac.manchester.tornado.benchmarks.radixsort;
     exports uk.ac.manchester.tornado.benchmarks.rotateimage;
     exports uk.ac.manchester.tornado.benchmarks.rotatevector;
     exports uk.ac.manchester.tornado.benchmarks.saxpy;
     exports uk.ac.manchester.tornado.benchmarks.sgemm;
     exports uk.ac.manchester.tornado.benchmarks.sgemv;
+    exports uk.ac.manchester.tornado.benchmarks.spmm;
     exports uk.ac.manchester.tornado.benchmarks.spmv;
+    exports uk.ac.manchester.tornado.benchmarks.spmvbinned;
     exports uk.ac.manchester.tornado.benchmarks.stencil;
 }
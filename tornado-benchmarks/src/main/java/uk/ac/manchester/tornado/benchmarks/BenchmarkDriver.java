@@ -22,7 +22,9 @@ import static java.util.Arrays.sort;
 import static uk.ac.manchester.tornado.api.utils.TornadoAPIUtils.humanReadableByteCount;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.TaskGraph;
@@ -48,8 +50,7 @@ public abstract class BenchmarkDriver {
     private List<Long> deviceKernelTimers;
     private List<Long> deviceCopyIn;
     private List<Long> deviceCopyOut;
-
-    private int startingIndex = 30;
+    private List<Long> hostOverhead;
 
     protected TaskGraph taskGraph;
 
@@ -115,6 +116,7 @@ public abstract class BenchmarkDriver {
             deviceKernelTimers = new ArrayList<>();
             deviceCopyIn = new ArrayList<>();
             deviceCopyOut = new ArrayList<>();
+            hostOverhead = new ArrayList<>();
         }
 
         if (validResult) {
@@ -138,6 +140,10 @@ public abstract class BenchmarkDriver {
                     if (profilerResult.getDeviceReadTime() != 0) {
                         deviceCopyOut.add(profilerResult.getDeviceReadTime());
                     }
+                    long deviceTime = profilerResult.getDeviceKernelTime() + profilerResult.getDeviceWriteTime() + profilerResult.getDeviceReadTime();
+                    if (deviceTime != 0) {
+                        hostOverhead.add(Math.max(0, (end - start) - deviceTime));
+                    }
                 }
 
                 timers[toIntExact(i)] = (end - start);
@@ -213,10 +219,7 @@ public abstract class BenchmarkDriver {
 
     public double getAverage(double[] arr) {
         double sum = 0.0;
-        int start = startingIndex;
-        if (arr.length <= startingIndex) {
-            start = 0;
-        }
+        int start = BenchmarkStatistics.findSteadyState(arr);
         for (int i = start; i < arr.length; i++) {
             sum += arr[i];
         }
@@ -229,11 +232,12 @@ public abstract class BenchmarkDriver {
 
     public double getVariance() {
         double mean = getAverage();
+        int start = BenchmarkStatistics.findSteadyState(timers);
         double temp = 0;
-        for (int i = startingIndex; i < timers.length; i++) {
+        for (int i = start; i < timers.length; i++) {
             temp += (timers[i] - mean) * (timers[i] - mean);
         }
-        return (temp / (iterations - startingIndex));
+        return (temp / (timers.length - start));
     }
 
     public double getStdDev() {
@@ -252,6 +256,26 @@ public abstract class BenchmarkDriver {
         return elapsed / iterations;
     }
 
+    /**
+     * Series of timers (in ns) of the last run, in the order in which they
+     * were measured. The device series are only available when the profiler
+     * is enabled. The host overhead is the time of each iteration that is not
+     * spent in kernels or data transfers.
+     */
+    public Map<String, double[]> getSeries() {
+        Map<String, double[]> series = new LinkedHashMap<>();
+        if (timers != null && validResult) {
+            series.put("total", timers);
+        }
+        if (deviceKernelTimers != null) {
+            series.put("kernel", toArray(deviceKernelTimers));
+            series.put("copyIn", toArray(deviceCopyIn));
+            series.put("copyOut", toArray(deviceCopyOut));
+            series.put("hostOverhead", toArray(hostOverhead));
+        }
+        return series;
+    }
+
     public boolean isValid() {
         return validResult;
     }
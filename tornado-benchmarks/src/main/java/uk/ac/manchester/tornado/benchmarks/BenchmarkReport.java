@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Machine-readable results of a benchmark run, with one row per benchmark,
+ * device and series of timers (e.g., total, kernel, copy-in).
+ *
+ * <ul>
+ * <li><code>-Dtornado.benchmarks.results=FILE</code> appends the rows to a
+ * file. Files with the <code>.csv</code> extension are written as CSV, and the
+ * rest as JSON lines (one object per row), so the results of several runs can
+ * be appended to the same file.</li>
+ * <li><code>-Dtornado.benchmarks.baseline=FILE</code> compares the rows with a
+ * file previously written with the option above. A row is a regression when
+ * the confidence interval of its median is above (and does not overlap) the
+ * interval of the baseline, and the median is slower than the baseline by more
+ * than <code>tornado.benchmarks.regression.threshold</code> (0.03 by
+ * default).</li>
+ * </ul>
+ */
+public class BenchmarkReport {
+
+    private static final String RESULTS_FILE = System.getProperty("tornado.benchmarks.results");
+
+    private static final String BASELINE_FILE = System.getProperty("tornado.benchmarks.baseline");
+
+    private static final double REGRESSION_THRESHOLD = Double.parseDouble(System.getProperty("tornado.benchmarks.regression.threshold", "0.03"));
+
+    private static final String[] COLUMNS = { "benchmark", "id", "config", "device", "deviceName", "series", "unit", "samples", "warmup", "outliers", "mean", "stddev", "min", "max", "p50", "p90",
+            "p99", "ciLow", "ciHigh" };
+
+    private static final Pattern JSON_FIELD = Pattern.compile("\"(\\w+)\":(\"((?:[^\"\\\\]|\\\\.)*)\"|[^,}]+)");
+
+    private final List<Map<String, String>> rows = new ArrayList<>();
+
+    public static boolean isEnabled() {
+        return RESULTS_FILE != null || BASELINE_FILE != null;
+    }
+
+    public void add(String benchmark, String id, String config, String device, String deviceName, Map<String, double[]> series) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, double[]> entry : series.entrySet()) {
+            BenchmarkStatistics statistics = BenchmarkStatistics.of(entry.getValue());
+            if (statistics == null) {
+                continue;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("benchmark", benchmark);
+            row.put("id", id);
+            row.put("config", config);
+            row.put("device", device);
+            row.put("deviceName", deviceName);
+            row.put("series", entry.getKey());
+            row.put("unit", "ns");
+            row.put("samples", Integer.toString(statistics.getSamples()));
+            row.put("warmup", Integer.toString(statistics.getWarmup()));
+            row.put("outliers", Integer.toString(statistics.getOutliers()));
+            row.put("mean", Double.toString(statistics.getMean()));
+            row.put("stddev", Double.toString(statistics.getStdDev()));
+            row.put("min", Double.toString(statistics.getMin()));
+            row.put("max", Double.toString(statistics.getMax()));
+            row.put("p50", Double.toString(statistics.getP50()));
+            row.put("p90", Double.toString(statistics.getP90()));
+            row.put("p99", Double.toString(statistics.getP99()));
+            row.put("ciLow", Double.toString(statistics.getCILow()));
+            row.put("ciHigh", Double.toString(statistics.getCIHigh()));
+            rows.add(row);
+        }
+    }
+
+    private static boolean isCSV(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv");
+    }
+
+    /**
+     * Appends the rows to the results file, if any.
+     */
+    public void write() throws IOException {
+        if (RESULTS_FILE == null) {
+            return;
+        }
+        File file = new File(RESULTS_FILE);
+        boolean csv = isCSV(RESULTS_FILE);
+        boolean header = csv && (!file.exists() || file.length() == 0);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
+            if (header) {
+                writer.write(String.join(",", COLUMNS));
+                writer.newLine();
+            }
+            for (Map<String, String> row : rows) {
+                writer.write(csv ? toCSV(row) : toJSON(row));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static boolean isNumeric(String column) {
+        return switch (column) {
+            case "benchmark", "id", "config", "device", "deviceName", "series", "unit" -> false;
+            default -> true;
+        };
+    }
+
+    private static String toJSON(Map<String, String> row) {
+        StringBuilder sb = new StringBuilder("{");
+        for (String column : COLUMNS) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append('"').append(column).append("\":");
+            String value = row.get(column);
+            if (isNumeric(column)) {
+                sb.append(value);
+            } else {
+                sb.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String toCSV(Map<String, String> row) {
+        StringBuilder sb = new StringBuilder();
+        for (String column : COLUMNS) {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            String value = row.get(column);
+            if (value.contains(",") || value.contains("\"")) {
+                sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, String> fromJSON(String line) {
+        Map<String, String> row = new HashMap<>();
+        Matcher matcher = JSON_FIELD.matcher(line);
+        while (matcher.find()) {
+            String value = matcher.group(3) != null ? matcher.group(3).replace("\\\"", "\"").replace("\\\\", "\\") : matcher.group(2).trim();
+            row.put(matcher.group(1), value);
+        }
+        return row;
+    }
+
+    private static List<String> splitCSV(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String key(Map<String, String> row) {
+        return row.get("id") + "|" + row.get("device") + "|" + row.get("series");
+    }
+
+    private static Map<String, Map<String, String>> loadBaseline(String fileName) throws IOException {
+        Map<String, Map<String, String>> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(new File(fileName).toPath());
+        List<String> header = null;
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, String> row;
+            if (isCSV(fileName)) {
+                if (header == null) {
+                    header = splitCSV(line);
+                    continue;
+                }
+                row = new HashMap<>();
+                List<String> values = splitCSV(line);
+                for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+                    row.put(header.get(i), values.get(i));
+                }
+            } else {
+                row = fromJSON(line);
+            }
+            // The last run of the same benchmark in the file is the baseline
+            baseline.put(key(row), row);
+        }
+        return baseline;
+    }
+
+    /**
+     * Compares the rows with the baseline file, if any, and prints the
+     * significant changes.
+     *
+     * @return number of regressions.
+     */
+    public int compareWithBaseline() throws IOException {
+        if (BASELINE_FILE == null) {
+            return 0;
+        }
+        Map<String, Map<String, String>> baseline = loadBaseline(BASELINE_FILE);
+        int regressions = 0;
+        for (Map<String, String> row : rows) {
+            Map<String, String> reference = baseline.get(key(row));
+            if (reference == null) {
+                System.out.printf("[BASELINE] bm=%-15s, device=%-5s, series=%-12s, no baseline\n", row.get("id"), row.get("device"), row.get("series"));
+                continue;
+            }
+            double median = Double.parseDouble(row.get("p50"));
+            double referenceMedian = Double.parseDouble(reference.get("p50"));
+            double change = (median - referenceMedian) / referenceMedian;
+            String verdict;
+            if (Double.parseDouble(row.get("ciLow")) > Double.parseDouble(reference.get("ciHigh")) && change > REGRESSION_THRESHOLD) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (Double.parseDouble(row.get("ciHigh")) < Double.parseDouble(reference.get("ciLow")) && -change > REGRESSION_THRESHOLD) {
+                verdict = "IMPROVEMENT";
+            } else {
+                verdict = "NO CHANGE";
+            }
+            System.out.printf("[%s] bm=%-15s, device=%-5s, series=%-12s, p50=%6e, baseline=%6e, change=%+.2f%%\n", verdict, row.get("id"), row.get("device"), row.get("series"), median,
+                    referenceMedian, change * 100);
+        }
+        return regressions;
+    }
+}
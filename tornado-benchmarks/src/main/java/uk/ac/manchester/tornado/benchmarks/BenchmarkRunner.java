@@ -17,6 +17,7 @@
  */
 package uk.ac.manchester.tornado.benchmarks;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,6 +54,8 @@ public abstract class BenchmarkRunner {
 
     protected int iterations;
 
+    private final BenchmarkReport report = new BenchmarkReport();
+
     public void run() {
         final String id = getIdString();
 
@@ -66,6 +69,7 @@ public abstract class BenchmarkRunner {
             referenceTest.benchmark(null, false);
 
             System.out.printf("bm=%-15s, id=%-20s, %s\n", id, "java-reference", referenceTest.getPreciseSummary());
+            report.add(getName(), id, getConfigString(), "java-reference", "java-reference", referenceTest.getSeries());
 
             refElapsed = referenceTest.getAverage();
             refElapsedMedian = referenceTest.getMedian();
@@ -124,6 +128,8 @@ public abstract class BenchmarkRunner {
                     e.printStackTrace();
                 }
 
+                report.add(getName(), id, getConfigString(), driverIndex + ":" + deviceIndex, tornadoDevice.getPhysicalDevice().getDeviceName(), benchmarkDriver.getSeries());
+
                 if (!isProfilerEnabled) {
                     System.out.printf("bm=%-15s, device=%-5s, %s, speedupAvg=%.4f, speedupMedian=%.4f, speedupFirstIteration=%.4f, CV=%.4f%%, deviceName=%s\n", //
                             id, //
@@ -162,6 +168,7 @@ public abstract class BenchmarkRunner {
             final TornadoBackend driver = TornadoRuntime.getTornadoRuntime().getBackend(driverIndex);
             final TornadoDevice tornadoDevice = driver.getDevice(deviceIndex);
             deviceTest.benchmark(tornadoDevice, TORNADO_PROFILER);
+            report.add(getName(), id, getConfigString(), driverIndex + ":" + deviceIndex, tornadoDevice.getPhysicalDevice().getDeviceName(), deviceTest.getSeries());
 
             System.out.printf("bm=%-15s, device=%-5s, %s, speedupAvg=%.4f, speedupMedian=%.4f, speedupFirstIteration=%.4f, CV=%.4f, deviceName=%s\n", id, driverIndex + ":" + deviceIndex, deviceTest
                     .getPreciseSummary(), refElapsed / deviceTest.getAverage(), refElapsedMedian / deviceTest.getMedian(), refFirstIteration / deviceTest.getFirstIteration(), deviceTest.getCV(),
@@ -171,6 +178,17 @@ public abstract class BenchmarkRunner {
 
     public abstract void parseArgs(String[] args);
 
+    /**
+     * Writes the machine-readable results and compares them with the
+     * baseline, if these options are enabled.
+     *
+     * @return number of regressions with respect to the baseline.
+     */
+    public int report() throws IOException {
+        report.write();
+        return report.compareWithBaseline();
+    }
+
     public static void main(String[] args) {
 
         if (args.length < 1) {
@@ -190,7 +208,10 @@ public abstract class BenchmarkRunner {
 
             benchmarkRunner.parseArgs(benchmarkArgs);
             benchmarkRunner.run();
-        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            if (benchmarkRunner.report() > 0) {
+                System.exit(1);
+            }
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException | IOException e) {
             e.printStackTrace();
             System.exit(0);
         }
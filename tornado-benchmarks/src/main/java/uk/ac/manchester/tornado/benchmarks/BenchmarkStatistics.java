@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Summary statistics of a series of timers (in ns) of a benchmark.
+ *
+ * <p>
+ * The warm-up iterations are detected from the samples, instead of using a
+ * fixed number of iterations: the series is split in windows, and the steady
+ * state starts at the first window from which the median of every window stays
+ * within a tolerance of the median of the second half of the series. The
+ * tolerance is relative to that median, and it is widened for noisy series to
+ * the expected error of the median of a window. The statistics are computed
+ * over the samples of the steady state.
+ * </p>
+ */
+public class BenchmarkStatistics {
+
+    /**
+     * Relative tolerance of the median of a window with respect to the steady
+     * state.
+     */
+    private static final double STEADY_STATE_TOLERANCE = Double.parseDouble(System.getProperty("tornado.benchmarks.steady.tolerance", "0.05"));
+
+    private static final int BOOTSTRAP_RESAMPLES = Integer.parseInt(System.getProperty("tornado.benchmarks.bootstrap.resamples", "1000"));
+
+    private static final double CONFIDENCE_LEVEL = 0.95;
+
+    private static final int MIN_WINDOW_SIZE = 5;
+
+    private final int samples;
+    private final int warmup;
+    private final int outliers;
+    private final double mean;
+    private final double stdDev;
+    private final double min;
+    private final double max;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double ciLow;
+    private final double ciHigh;
+
+    private BenchmarkStatistics(double[] values) {
+        this.warmup = findSteadyState(values);
+        double[] steady = Arrays.copyOfRange(values, warmup, values.length);
+        Arrays.sort(steady);
+        this.samples = steady.length;
+        this.mean = mean(steady);
+        this.stdDev = stdDev(steady, mean);
+        this.min = steady[0];
+        this.max = steady[steady.length - 1];
+        this.p50 = percentile(steady, 50);
+        this.p90 = percentile(steady, 90);
+        this.p99 = percentile(steady, 99);
+        this.outliers = countOutliers(steady);
+        double[] interval = bootstrapMedian(steady);
+        this.ciLow = interval[0];
+        this.ciHigh = interval[1];
+    }
+
+    /**
+     * @param values
+     *     samples in the order in which they were measured.
+     * @return the statistics, or null if there are no samples.
+     */
+    public static BenchmarkStatistics of(double[] values) {
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        return new BenchmarkStatistics(values);
+    }
+
+    /**
+     * Percentile of sorted samples, using linear interpolation between the
+     * closest ranks.
+     */
+    public static double percentile(double[] sorted, double percentile) {
+        if (sorted.length == 1) {
+            return sorted[0];
+        }
+        double rank = percentile / 100.0 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    private static double median(double[] values, int from, int to) {
+        double[] window = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(window);
+        return percentile(window, 50);
+    }
+
+    public static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double stdDev(double[] values, double mean) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * Detects the end of the warm-up. At least half of the samples are always
+     * kept.
+     *
+     * @return index of the first sample of the steady state.
+     */
+    public static int findSteadyState(double[] values) {
+        final int windowSize = Math.max(MIN_WINDOW_SIZE, values.length / 20);
+        final int numWindows = values.length / windowSize;
+        if (numWindows < 2) {
+            return 0;
+        }
+        final int half = values.length / 2;
+        final double reference = median(values, half, values.length);
+
+        // Standard error of the median of a window, from the median absolute deviation of the second half
+        double[] deviations = new double[values.length - half];
+        for (int i = half; i < values.length; i++) {
+            deviations[i - half] = Math.abs(values[i] - reference);
+        }
+        final double sigma = 1.4826 * median(deviations, 0, deviations.length);
+        final double standardError = 1.2533 * sigma / Math.sqrt(windowSize);
+        final double tolerance = Math.max(Math.abs(reference) * STEADY_STATE_TOLERANCE, 3 * standardError);
+
+        // Walk backwards from the last window, while windows are in the steady state
+        int first = numWindows;
+        for (int w = numWindows - 1; w >= 0; w--) {
+            int from = w * windowSize;
+            int to = (w == numWindows - 1) ? values.length : from + windowSize;
+            if (Math.abs(median(values, from, to) - reference) > tolerance) {
+                break;
+            }
+            first = w;
+        }
+        return Math.min(first * windowSize, half);
+    }
+
+    /**
+     * Counts the samples outside the Tukey fences (1.5 times the inter-quartile
+     * range).
+     */
+    public static int countOutliers(double[] sorted) {
+        double q1 = percentile(sorted, 25);
+        double q3 = percentile(sorted, 75);
+        double iqr = q3 - q1;
+        int count = 0;
+        for (double value : sorted) {
+            if (value < q1 - 1.5 * iqr || value > q3 + 1.5 * iqr) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Percentile bootstrap of the median. The generator uses a fixed seed, so
+     * the interval of the same samples is reproducible.
+     *
+     * @return lower and upper bounds of the confidence interval.
+     */
+    private static double[] bootstrapMedian(double[] values) {
+        if (values.length < 2) {
+            return new double[] { values[0], values[0] };
+        }
+        Random random = new Random(values.length);
+        double[] medians = new double[BOOTSTRAP_RESAMPLES];
+        double[] resample = new double[values.length];
+        for (int i = 0; i < BOOTSTRAP_RESAMPLES; i++) {
+            for (int j = 0; j < resample.length; j++) {
+                resample[j] = values[random.nextInt(values.length)];
+            }
+            Arrays.sort(resample);
+            medians[i] = percentile(resample, 50);
+        }
+        Arrays.sort(medians);
+        double alpha = (1 - CONFIDENCE_LEVEL) / 2;
+        return new double[] { percentile(medians, alpha * 100), percentile(medians, (1 - alpha) * 100) };
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    public int getOutliers() {
+        return outliers;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    public double getCV() {
+        return mean == 0 ? 0 : (stdDev / mean) * 100;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getCILow() {
+        return ciLow;
+    }
+
+    public double getCIHigh() {
+        return ciHigh;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%6e [%6e, %6e], p90=%6e, p99=%6e, mean=%6e, CV=%.4f%%, warmup=%d, outliers=%d", p50, ciLow, ciHigh, p90, p99, mean, getCV(), warmup, outliers);
+    }
+}
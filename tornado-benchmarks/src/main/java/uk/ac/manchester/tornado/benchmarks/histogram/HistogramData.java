@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.histogram;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+public class HistogramData {
+
+    public static final int NUM_BINS = 256;
+
+    public static void histogram(IntArray input, IntArray histogram) {
+        histogram.init(0);
+        for (int i = 0; i < input.getSize(); i++) {
+            int value = input.get(i);
+            if (value >= 0 && value < histogram.getSize()) {
+                histogram.set(value, histogram.get(value) + 1);
+            }
+        }
+    }
+
+    public static void initData(IntArray input) {
+        Random random = new Random(7);
+        for (int i = 0; i < input.getSize(); i++) {
+            // Skewed distribution, as in image histograms
+            input.set(i, Math.min(NUM_BINS - 1, Math.abs((int) (random.nextGaussian() * NUM_BINS / 4))));
+        }
+    }
+}
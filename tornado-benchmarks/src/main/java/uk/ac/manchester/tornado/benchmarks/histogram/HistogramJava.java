@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.histogram;
+
+import static uk.ac.manchester.tornado.benchmarks.histogram.HistogramData.NUM_BINS;
+import static uk.ac.manchester.tornado.benchmarks.histogram.HistogramData.histogram;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+public class HistogramJava extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private IntArray input;
+    private IntArray bins;
+
+    public HistogramJava(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        input = new IntArray(numElements);
+        bins = new IntArray(NUM_BINS);
+        HistogramData.initData(input);
+    }
+
+    @Override
+    public void tearDown() {
+        input = null;
+        bins = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        histogram(input, bins);
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+}
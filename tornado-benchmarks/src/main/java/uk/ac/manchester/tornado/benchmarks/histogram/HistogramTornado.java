@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.histogram;
+
+import static uk.ac.manchester.tornado.benchmarks.histogram.HistogramData.NUM_BINS;
+import static uk.ac.manchester.tornado.benchmarks.histogram.HistogramData.histogram;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.primitives.Histogram;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner histogram
+ * </code>
+ */
+public class HistogramTornado extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private IntArray input;
+    private IntArray bins;
+    private Histogram histogramPrimitive;
+
+    public HistogramTornado(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        input = new IntArray(numElements);
+        bins = new IntArray(NUM_BINS);
+        HistogramData.initData(input);
+
+        histogramPrimitive = Histogram.of(input, bins);
+        executionPlan = histogramPrimitive.getExecutionPlan();
+        histogramPrimitive.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        input = null;
+        bins = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = histogramPrimitive.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        final IntArray result = new IntArray(NUM_BINS);
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        histogram(input, result);
+        for (int i = 0; i < NUM_BINS; i++) {
+            if (result.get(i) != bins.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", TornadoRuntime.getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", TornadoRuntime.getProperty("benchmark.device"));
+        }
+    }
+}
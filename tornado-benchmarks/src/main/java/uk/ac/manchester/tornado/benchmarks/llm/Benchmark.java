@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkRunner;
+
+/**
+ * Kernels of transformer inference (decode) with quantised weights.
+ *
+ * <p>
+ * Arguments: {@code <kernel> <iterations> <seqLen> <batch> <dim>}, where the
+ * kernel is one of {@code matvecQ8, matvecQ4, rmsnorm, rope, softmax,
+ * attention, ffn, decode}.
+ * </p>
+ */
+public class Benchmark extends BenchmarkRunner {
+
+    private LLMKernel kernel;
+    private int seqLen;
+    private int batch;
+    private int dim;
+
+    @Override
+    public void parseArgs(String[] args) {
+        kernel = LLMKernel.fromName(args.length > 0 ? args[0] : "decode");
+        if (args.length == 5) {
+            iterations = Integer.parseInt(args[1]);
+            seqLen = Integer.parseInt(args[2]);
+            batch = Integer.parseInt(args[3]);
+            dim = Integer.parseInt(args[4]);
+        } else {
+            iterations = 100;
+            seqLen = 512;
+            batch = 1;
+            dim = 2048;
+        }
+    }
+
+    @Override
+    protected String getName() {
+        return "llm-" + kernel.getName();
+    }
+
+    @Override
+    protected String getIdString() {
+        return String.format("%s-%d-%d-%d-%d", getName(), iterations, seqLen, batch, dim);
+    }
+
+    @Override
+    protected String getConfigString() {
+        return String.format("seqLen=%d, batch=%d, dim=%d", seqLen, batch, dim);
+    }
+
+    @Override
+    protected BenchmarkDriver getJavaDriver() {
+        return new LLMJava(iterations, kernel, dim, seqLen, batch);
+    }
+
+    @Override
+    protected BenchmarkDriver getTornadoDriver() {
+        return new LLMTornado(iterations, kernel, dim, seqLen, batch);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+public class LLMJava extends BenchmarkDriver {
+
+    private final LLMKernel kernel;
+    private final int dim;
+    private final int seqLen;
+    private final int batch;
+    private TransformerLayer layer;
+
+    public LLMJava(int iterations, LLMKernel kernel, int dim, int seqLen, int batch) {
+        super(iterations);
+        this.kernel = kernel;
+        this.dim = dim;
+        this.seqLen = seqLen;
+        this.batch = batch;
+    }
+
+    @Override
+    public void setUp() {
+        layer = new TransformerLayer(kernel, dim, seqLen, batch);
+    }
+
+    @Override
+    public void tearDown() {
+        layer = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        layer.runReference();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-serial, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+}
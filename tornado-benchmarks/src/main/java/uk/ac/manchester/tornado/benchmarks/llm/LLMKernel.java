@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+/**
+ * Workloads of the LLM benchmark. Each one runs a part of the decode step of
+ * a transformer layer.
+ */
+public enum LLMKernel {
+
+    /**
+     * Matrix-vector product with Q8 weights (dim x dim).
+     */
+    MATVEC_Q8("matvecQ8"),
+    /**
+     * Matrix-vector product with Q4 weights (dim x dim).
+     */
+    MATVEC_Q4("matvecQ4"),
+    RMSNORM("rmsnorm"),
+    ROPE("rope"),
+    /**
+     * Softmax of the attention scores of all heads (seqLen elements each).
+     */
+    SOFTMAX("softmax"),
+    /**
+     * Attention of all heads over a KV cache of seqLen positions.
+     */
+    ATTENTION("attention"),
+    /**
+     * Feed-forward network with a SiLU gate and Q8 weights.
+     */
+    FFN("ffn"),
+    /**
+     * Full decode step of one layer.
+     */
+    DECODE("decode");
+
+    private final String name;
+
+    LLMKernel(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static LLMKernel fromName(String name) {
+        for (LLMKernel kernel : values()) {
+            if (kernel.name.equalsIgnoreCase(name)) {
+                return kernel;
+            }
+        }
+        throw new IllegalArgumentException("[ERROR] Unknown LLM kernel: " + name + ". Available kernels: matvecQ8, matvecQ4, rmsnorm, rope, softmax, attention, ffn, decode");
+    }
+}
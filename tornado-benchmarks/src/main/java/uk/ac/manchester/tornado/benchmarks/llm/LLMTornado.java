@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner llm decode 100 512 1 2048
+ * </code>
+ */
+public class LLMTornado extends BenchmarkDriver {
+
+    private static final float TOLERANCE = Float.parseFloat(System.getProperty("tornado.benchmarks.llm.tolerance", "0.01"));
+
+    private final LLMKernel kernel;
+    private final int dim;
+    private final int seqLen;
+    private final int batch;
+    private TransformerLayer layer;
+
+    public LLMTornado(int iterations, LLMKernel kernel, int dim, int seqLen, int batch) {
+        super(iterations);
+        this.kernel = kernel;
+        this.dim = dim;
+        this.seqLen = seqLen;
+        this.batch = batch;
+    }
+
+    @Override
+    public void setUp() {
+        layer = new TransformerLayer(kernel, dim, seqLen, batch);
+        taskGraph = layer.createTaskGraph();
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+        layer = null;
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        // The kernels update their inputs (e.g., RoPE and the KV cache), so the
+        // reference runs on a new layer with the same initial data
+        final TransformerLayer reference = new TransformerLayer(kernel, dim, seqLen, batch);
+
+        benchmarkMethod(device);
+        executionResult.transferToHost(layer.getOutput());
+        executionPlan.clearProfiles();
+
+        reference.runReference();
+        return TransformerLayer.isClose(layer.getOutput(), reference.getOutput(), TOLERANCE);
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
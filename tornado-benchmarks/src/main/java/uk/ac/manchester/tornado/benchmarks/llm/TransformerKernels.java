@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.math.TornadoMath;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+
+/**
+ * Kernels of the decode step of a transformer layer (Llama-like), for a batch
+ * of sequences. Activations are stored row-major with one row per sequence of
+ * the batch. The same methods are used as the Java reference. The projections
+ * with quantised weights use the fused kernels of
+ * {@link uk.ac.manchester.tornado.api.types.tensors.TensorQ8} and
+ * {@link uk.ac.manchester.tornado.api.types.tensors.TensorQ4}.
+ */
+public final class TransformerKernels {
+
+    private TransformerKernels() {
+    }
+
+    /**
+     * First step of RMSNorm: the inverse of the root mean square of each row.
+     */
+    public static void rmsNormReduce(TensorFP32 x, TensorFP32 norms, int batch, int dim, float epsilon) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            float sum = 0.0f;
+            for (int i = 0; i < dim; i++) {
+                final float value = x.get(b * dim + i);
+                sum += value * value;
+            }
+            norms.set(b, 1.0f / TornadoMath.sqrt(sum / dim + epsilon));
+        }
+    }
+
+    /**
+     * Second step of RMSNorm: out[b][i] = weight[i] * x[b][i] * norms[b].
+     */
+    public static void rmsNormScale(TensorFP32 x, TensorFP32 weight, TensorFP32 norms, TensorFP32 out, int batch, int dim) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int i = 0; i < dim; i++) {
+                out.set(b * dim + i, weight.get(i) * (norms.get(b) * x.get(b * dim + i)));
+            }
+        }
+    }
+
+    /**
+     * Rotary position embedding of the queries and keys of a position.
+     */
+    public static void rope(TensorFP32 q, TensorFP32 k, int batch, int dim, int kvDim, int headSize, int position) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int pair = 0; pair < dim / 2; pair++) {
+                final int i = pair * 2;
+                final int headDim = i % headSize;
+                final float frequency = 1.0f / TornadoMath.pow(10000.0f, headDim / (float) headSize);
+                final float angle = position * frequency;
+                final float cos = TornadoMath.cos(angle);
+                final float sin = TornadoMath.sin(angle);
+
+                final float q0 = q.get(b * dim + i);
+                final float q1 = q.get(b * dim + i + 1);
+                q.set(b * dim + i, q0 * cos - q1 * sin);
+                q.set(b * dim + i + 1, q0 * sin + q1 * cos);
+
+                if (i < kvDim) {
+                    final float k0 = k.get(b * kvDim + i);
+                    final float k1 = k.get(b * kvDim + i + 1);
+                    k.set(b * kvDim + i, k0 * cos - k1 * sin);
+                    k.set(b * kvDim + i + 1, k0 * sin + k1 * cos);
+                }
+            }
+        }
+    }
+
+    /**
+     * In-place softmax of each row.
+     */
+    public static void softmax(TensorFP32 x, int rows, int size) {
+        for (@Parallel int r = 0; r < rows; r++) {
+            final int offset = r * size;
+            float max = x.get(offset);
+            for (int i = 1; i < size; i++) {
+                max = TornadoMath.max(max, x.get(offset + i));
+            }
+            float sum = 0.0f;
+            for (int i = 0; i < size; i++) {
+                final float value = TornadoMath.exp(x.get(offset + i) - max);
+                x.set(offset + i, value);
+                sum += value;
+            }
+            for (int i = 0; i < size; i++) {
+                x.set(offset + i, x.get(offset + i) / sum);
+            }
+        }
+    }
+
+    /**
+     * Stores the keys and values of a position in the caches. The caches are
+     * laid out as [batch][seqLen][kvDim].
+     */
+    public static void storeKV(TensorFP32 k, TensorFP32 v, TensorFP32 keyCache, TensorFP32 valueCache, int batch, int kvDim, int seqLen, int position) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int i = 0; i < kvDim; i++) {
+                final int cacheIndex = (b * seqLen + position) * kvDim + i;
+                keyCache.set(cacheIndex, k.get(b * kvDim + i));
+                valueCache.set(cacheIndex, v.get(b * kvDim + i));
+            }
+        }
+    }
+
+    /**
+     * Scaled dot product of the query of each head with the keys of the
+     * positions [0, length) of the cache. The scores are laid out as
+     * [batch][nHeads][length].
+     */
+    public static void attentionScores(TensorFP32 q, TensorFP32 keyCache, TensorFP32 scores, int batch, int nHeads, int headSize, int seqLen, int length) {
+        final int dim = nHeads * headSize;
+        final float scale = 1.0f / TornadoMath.sqrt(headSize);
+        for (@Parallel int bh = 0; bh < batch * nHeads; bh++) {
+            for (@Parallel int t = 0; t < length; t++) {
+                final int b = bh / nHeads;
+                final int h = bh % nHeads;
+                final int queryIndex = b * dim + h * headSize;
+                final int keyIndex = (b * seqLen + t) * dim + h * headSize;
+                float score = 0.0f;
+                for (int i = 0; i < headSize; i++) {
+                    score += q.get(queryIndex + i) * keyCache.get(keyIndex + i);
+                }
+                scores.set(bh * length + t, score * scale);
+            }
+        }
+    }
+
+    /**
+     * Weighted sum of the values of the cache with the attention weights.
+     */
+    public static void attentionValues(TensorFP32 scores, TensorFP32 valueCache, TensorFP32 out, int batch, int nHeads, int headSize, int seqLen, int length) {
+        final int dim = nHeads * headSize;
+        for (@Parallel int bh = 0; bh < batch * nHeads; bh++) {
+            for (@Parallel int i = 0; i < headSize; i++) {
+                final int b = bh / nHeads;
+                final int h = bh % nHeads;
+                float sum = 0.0f;
+                for (int t = 0; t < length; t++) {
+                    sum += scores.get(bh * length + t) * valueCache.get((b * seqLen + t) * dim + h * headSize + i);
+                }
+                out.set(b * dim + h * headSize + i, sum);
+            }
+        }
+    }
+
+    /**
+     * SwiGLU gate: gate[i] = silu(gate[i]) * up[i].
+     */
+    public static void siluGate(TensorFP32 gate, TensorFP32 up, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            final float value = gate.get(i);
+            gate.set(i, value / (1.0f + TornadoMath.exp(-value)) * up.get(i));
+        }
+    }
+
+    /**
+     * Residual connection: x[i] += y[i].
+     */
+    public static void residual(TensorFP32 x, TensorFP32 y, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            x.set(i, x.get(i) + y.get(i));
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.llm;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.api.types.tensors.TensorQ4;
+import uk.ac.manchester.tornado.api.types.tensors.TensorQ8;
+
+/**
+ * State of a transformer layer for the LLM benchmark: quantised weights,
+ * activations and KV caches of a batch of sequences. Only the tensors that
+ * the selected kernel uses are allocated, and they are initialised with a
+ * fixed seed, so two layers with the same configuration hold the same data.
+ *
+ * <p>
+ * The decode step computes the token at the last position of the cache
+ * (seqLen - 1), so attention reads the full cache.
+ * </p>
+ */
+public class TransformerLayer {
+
+    public static final int HEAD_SIZE = 64;
+
+    private static final float EPSILON = 1e-5f;
+
+    private static final long SEED = 42;
+
+    private final LLMKernel kernel;
+    private final int dim;
+    private final int hiddenDim;
+    private final int nHeads;
+    private final int seqLen;
+    private final int batch;
+    private final int position;
+
+    private final Random random = new Random(SEED);
+
+    // Activations
+    private TensorFP32 x;
+    private TensorFP32 xb;
+    private TensorFP32 xb2;
+    private TensorFP32 q;
+    private TensorFP32 k;
+    private TensorFP32 v;
+    private TensorFP32 norms;
+    private TensorFP32 scores;
+    private TensorFP32 hb;
+    private TensorFP32 hb2;
+    private TensorFP32 keyCache;
+    private TensorFP32 valueCache;
+
+    // Weights
+    private TensorFP32 attentionNormWeight;
+    private TensorFP32 ffnNormWeight;
+    private TensorQ8 wq;
+    private TensorQ4 wqQ4;
+    private TensorQ8 wk;
+    private TensorQ8 wv;
+    private TensorQ8 wo;
+    private TensorQ8 w1;
+    private TensorQ8 w2;
+    private TensorQ8 w3;
+
+    public TransformerLayer(LLMKernel kernel, int dim, int seqLen, int batch) {
+        if (dim % HEAD_SIZE != 0) {
+            throw new IllegalArgumentException("[ERROR] The model dimension must be a multiple of " + HEAD_SIZE + ": " + dim);
+        }
+        this.kernel = kernel;
+        this.dim = dim;
+        // Hidden dimension of Llama models (8/3 of dim), rounded to a multiple of the block size
+        this.hiddenDim = ((8 * dim / 3) + TensorQ8.BLOCK_SIZE - 1) / TensorQ8.BLOCK_SIZE * TensorQ8.BLOCK_SIZE;
+        this.nHeads = dim / HEAD_SIZE;
+        this.seqLen = seqLen;
+        this.batch = batch;
+        this.position = seqLen - 1;
+        allocate();
+    }
+
+    private TensorFP32 randomTensor(int size, float min, float max) {
+        TensorFP32 tensor = new TensorFP32(new Shape(size));
+        for (int i = 0; i < size; i++) {
+            tensor.set(i, min + random.nextFloat() * (max - min));
+        }
+        return tensor;
+    }
+
+    private TensorFP32 zeros(int size) {
+        TensorFP32 tensor = new TensorFP32(new Shape(size));
+        tensor.init(0.0f);
+        return tensor;
+    }
+
+    /**
+     * Random scale of a block of a matrix with the given number of columns,
+     * so that the outputs have a magnitude close to the inputs.
+     */
+    private HalfFloat randomScale(int cols, float quantAmplitude) {
+        float amplitude = quantAmplitude * (float) Math.sqrt(cols);
+        return new HalfFloat((0.5f + random.nextFloat()) / amplitude);
+    }
+
+    /**
+     * Q8 weights of a rows x cols matrix.
+     */
+    private TensorQ8 randomQ8(int rows, int cols) {
+        TensorQ8 tensor = new TensorQ8(new Shape(rows, cols));
+        for (int i = 0; i < rows * cols; i++) {
+            tensor.setQuant(i, (byte) (random.nextInt(255) - 127));
+        }
+        for (int block = 0; block < rows * cols / TensorQ8.BLOCK_SIZE; block++) {
+            tensor.setScale(block, randomScale(cols, 73.0f));
+        }
+        return tensor;
+    }
+
+    /**
+     * Q4 weights of a rows x cols matrix.
+     */
+    private TensorQ4 randomQ4(int rows, int cols) {
+        TensorQ4 tensor = new TensorQ4(new Shape(rows, cols));
+        for (int i = 0; i < rows * cols / 2; i++) {
+            tensor.setPacked(i, (byte) random.nextInt(256));
+        }
+        for (int block = 0; block < rows * cols / TensorQ4.BLOCK_SIZE; block++) {
+            tensor.setScale(block, randomScale(cols, 4.6f));
+        }
+        return tensor;
+    }
+
+    private boolean uses(LLMKernel... kernels) {
+        for (LLMKernel candidate : kernels) {
+            if (kernel == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void allocate() {
+        x = randomTensor(batch * dim, -1.0f, 1.0f);
+        xb = randomTensor(batch * dim, -1.0f, 1.0f);
+        xb2 = zeros(batch * dim);
+        q = randomTensor(batch * dim, -1.0f, 1.0f);
+        k = randomTensor(batch * dim, -1.0f, 1.0f);
+        v = randomTensor(batch * dim, -1.0f, 1.0f);
+        norms = zeros(batch);
+
+        if (uses(LLMKernel.MATVEC_Q8, LLMKernel.DECODE)) {
+            wq = randomQ8(dim, dim);
+        } else if (uses(LLMKernel.MATVEC_Q4)) {
+            wqQ4 = randomQ4(dim, dim);
+        }
+        if (uses(LLMKernel.RMSNORM, LLMKernel.DECODE)) {
+            attentionNormWeight = randomTensor(dim, 0.9f, 1.1f);
+            ffnNormWeight = randomTensor(dim, 0.9f, 1.1f);
+        }
+        if (uses(LLMKernel.SOFTMAX, LLMKernel.ATTENTION, LLMKernel.DECODE)) {
+            scores = randomTensor(batch * nHeads * seqLen, -4.0f, 4.0f);
+        }
+        if (uses(LLMKernel.ATTENTION, LLMKernel.DECODE)) {
+            keyCache = randomTensor(batch * seqLen * dim, -1.0f, 1.0f);
+            valueCache = randomTensor(batch * seqLen * dim, -1.0f, 1.0f);
+        }
+        if (uses(LLMKernel.DECODE)) {
+            wk = randomQ8(dim, dim);
+            wv = randomQ8(dim, dim);
+            wo = randomQ8(dim, dim);
+        }
+        if (uses(LLMKernel.FFN, LLMKernel.DECODE)) {
+            hb = zeros(batch * hiddenDim);
+            hb2 = zeros(batch * hiddenDim);
+            w1 = randomQ8(hiddenDim, dim);
+            w2 = randomQ8(dim, hiddenDim);
+            w3 = randomQ8(hiddenDim, dim);
+        }
+    }
+
+    /**
+     * Builds the task graph of the kernel. Weights and KV caches are copied
+     * to the device in the first execution only, as in inference.
+     */
+    public TaskGraph createTaskGraph() {
+        TaskGraph taskGraph = new TaskGraph("benchmark");
+        final int length = seqLen;
+        switch (kernel) {
+            case MATVEC_Q8 -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, wq) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                    .task("matvecQ8", TensorQ8::matMul, wq, x, q, batch, dim, dim) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, q);
+            case MATVEC_Q4 -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, wqQ4) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                    .task("matvecQ4", TensorQ4::matMul, wqQ4, x, q, batch, dim, dim) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, q);
+            case RMSNORM -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, attentionNormWeight, norms) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                    .task("reduce", TransformerKernels::rmsNormReduce, x, norms, batch, dim, EPSILON) //
+                    .task("scale", TransformerKernels::rmsNormScale, x, attentionNormWeight, norms, xb, batch, dim) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, xb);
+            case ROPE -> taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, q, k) //
+                    .task("rope", TransformerKernels::rope, q, k, batch, dim, dim, HEAD_SIZE, position) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, q, k);
+            case SOFTMAX -> taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, scores) //
+                    .task("softmax", TransformerKernels::softmax, scores, batch * nHeads, length) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, scores);
+            case ATTENTION -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, keyCache, valueCache, scores) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, q) //
+                    .task("scores", TransformerKernels::attentionScores, q, keyCache, scores, batch, nHeads, HEAD_SIZE, seqLen, length) //
+                    .task("softmax", TransformerKernels::softmax, scores, batch * nHeads, length) //
+                    .task("values", TransformerKernels::attentionValues, scores, valueCache, xb2, batch, nHeads, HEAD_SIZE, seqLen, length) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, xb2);
+            case FFN -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, w1, w2, w3, hb, hb2) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, xb) //
+                    .task("w1", TensorQ8::matMul, w1, xb, hb, batch, hiddenDim, dim) //
+                    .task("w3", TensorQ8::matMul, w3, xb, hb2, batch, hiddenDim, dim) //
+                    .task("silu", TransformerKernels::siluGate, hb, hb2, batch * hiddenDim) //
+                    .task("w2", TensorQ8::matMul, w2, hb, xb2, batch, dim, hiddenDim) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, xb2);
+            case DECODE -> taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, attentionNormWeight, ffnNormWeight, wq, wk, wv, wo) //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, w1, w2, w3) //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, keyCache, valueCache, scores, norms, xb, xb2, q, k, v, hb, hb2) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                    // Attention block
+                    .task("attentionNorm", TransformerKernels::rmsNormReduce, x, norms, batch, dim, EPSILON) //
+                    .task("attentionScale", TransformerKernels::rmsNormScale, x, attentionNormWeight, norms, xb, batch, dim) //
+                    .task("wq", TensorQ8::matMul, wq, xb, q, batch, dim, dim) //
+                    .task("wk", TensorQ8::matMul, wk, xb, k, batch, dim, dim) //
+                    .task("wv", TensorQ8::matMul, wv, xb, v, batch, dim, dim) //
+                    .task("rope", TransformerKernels::rope, q, k, batch, dim, dim, HEAD_SIZE, position) //
+                    .task("storeKV", TransformerKernels::storeKV, k, v, keyCache, valueCache, batch, dim, seqLen, position) //
+                    .task("scores", TransformerKernels::attentionScores, q, keyCache, scores, batch, nHeads, HEAD_SIZE, seqLen, length) //
+                    .task("softmax", TransformerKernels::softmax, scores, batch * nHeads, length) //
+                    .task("values", TransformerKernels::attentionValues, scores, valueCache, xb2, batch, nHeads, HEAD_SIZE, seqLen, length) //
+                    .task("wo", TensorQ8::matMul, wo, xb2, xb, batch, dim, dim) //
+                    .task("attentionResidual", TransformerKernels::residual, x, xb, batch * dim) //
+                    // Feed-forward block
+                    .task("ffnNorm", TransformerKernels::rmsNormReduce, x, norms, batch, dim, EPSILON) //
+                    .task("ffnScale", TransformerKernels::rmsNormScale, x, ffnNormWeight, norms, xb, batch, dim) //
+                    .task("w1", TensorQ8::matMul, w1, xb, hb, batch, hiddenDim, dim) //
+                    .task("w3", TensorQ8::matMul, w3, xb, hb2, batch, hiddenDim, dim) //
+                    .task("silu", TransformerKernels::siluGate, hb, hb2, batch * hiddenDim) //
+                    .task("w2", TensorQ8::matMul, w2, hb, xb, batch, dim, hiddenDim) //
+                    .task("ffnResidual", TransformerKernels::residual, x, xb, batch * dim) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, x);
+        }
+        return taskGraph;
+    }
+
+    /**
+     * Runs the kernel sequentially in Java.
+     */
+    public void runReference() {
+        final int length = seqLen;
+        switch (kernel) {
+            case MATVEC_Q8 -> TensorQ8.matMul(wq, x, q, batch, dim, dim);
+            case MATVEC_Q4 -> TensorQ4.matMul(wqQ4, x, q, batch, dim, dim);
+            case RMSNORM -> {
+                TransformerKernels.rmsNormReduce(x, norms, batch, dim, EPSILON);
+                TransformerKernels.rmsNormScale(x, attentionNormWeight, norms, xb, batch, dim);
+            }
+            case ROPE -> TransformerKernels.rope(q, k, batch, dim, dim, HEAD_SIZE, position);
+            case SOFTMAX -> TransformerKernels.softmax(scores, batch * nHeads, length);
+            case ATTENTION -> {
+                TransformerKernels.attentionScores(q, keyCache, scores, batch, nHeads, HEAD_SIZE, seqLen, length);
+                TransformerKernels.softmax(scores, batch * nHeads, length);
+                TransformerKernels.attentionValues(scores, valueCache, xb2, batch, nHeads, HEAD_SIZE, seqLen, length);
+            }
+            case FFN -> {
+                TensorQ8.matMul(w1, xb, hb, batch, hiddenDim, dim);
+                TensorQ8.matMul(w3, xb, hb2, batch, hiddenDim, dim);
+                TransformerKernels.siluGate(hb, hb2, batch * hiddenDim);
+                TensorQ8.matMul(w2, hb, xb2, batch, dim, hiddenDim);
+            }
+            case DECODE -> {
+                TransformerKernels.rmsNormReduce(x, norms, batch, dim, EPSILON);
+                TransformerKernels.rmsNormScale(x, attentionNormWeight, norms, xb, batch, dim);
+                TensorQ8.matMul(wq, xb, q, batch, dim, dim);
+                TensorQ8.matMul(wk, xb, k, batch, dim, dim);
+                TensorQ8.matMul(wv, xb, v, batch, dim, dim);
+                TransformerKernels.rope(q, k, batch, dim, dim, HEAD_SIZE, position);
+                TransformerKernels.storeKV(k, v, keyCache, valueCache, batch, dim, seqLen, position);
+                TransformerKernels.attentionScores(q, keyCache, scores, batch, nHeads, HEAD_SIZE, seqLen, length);
+                TransformerKernels.softmax(scores, batch * nHeads, length);
+                TransformerKernels.attentionValues(scores, valueCache, xb2, batch, nHeads, HEAD_SIZE, seqLen, length);
+                TensorQ8.matMul(wo, xb2, xb, batch, dim, dim);
+                TransformerKernels.residual(x, xb, batch * dim);
+                TransformerKernels.rmsNormReduce(x, norms, batch, dim, EPSILON);
+                TransformerKernels.rmsNormScale(x, ffnNormWeight, norms, xb, batch, dim);
+                TensorQ8.matMul(w1, xb, hb, batch, hiddenDim, dim);
+                TensorQ8.matMul(w3, xb, hb2, batch, hiddenDim, dim);
+                TransformerKernels.siluGate(hb, hb2, batch * hiddenDim);
+                TensorQ8.matMul(w2, hb, xb, batch, dim, hiddenDim);
+                TransformerKernels.residual(x, xb, batch * dim);
+            }
+        }
+    }
+
+    /**
+     * @return the tensor with the result of the kernel.
+     */
+    public TensorFP32 getOutput() {
+        return switch (kernel) {
+            case MATVEC_Q8, MATVEC_Q4, ROPE -> q;
+            case RMSNORM -> xb;
+            case SOFTMAX -> scores;
+            case ATTENTION, FFN -> xb2;
+            case DECODE -> x;
+        };
+    }
+
+    /**
+     * Compares the outputs of two layers, with a tolerance relative to the
+     * magnitude of the reference values.
+     */
+    public static boolean isClose(TensorFP32 result, TensorFP32 reference, float tolerance) {
+        for (int i = 0; i < reference.getSize(); i++) {
+            float expected = reference.get(i);
+            if (Float.isNaN(result.get(i)) || Math.abs(result.get(i) - expected) > tolerance * Math.max(1.0f, Math.abs(expected))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getHiddenDim() {
+        return hiddenDim;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.prefixsum;
+
+import static uk.ac.manchester.tornado.benchmarks.prefixsum.PrefixSum.inclusiveScan;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.primitives.Scan;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner prefixsum
+ * </code>
+ */
+public class PrefixSumTornado extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private IntArray input;
+    private IntArray output;
+    private Scan scan;
+
+    public PrefixSumTornado(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        input = new IntArray(numElements);
+        output = new IntArray(numElements);
+        PrefixSum.initData(input);
+
+        scan = Scan.inclusive(input, output);
+        executionPlan = scan.getExecutionPlan();
+        scan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        input = null;
+        output = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = scan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        final IntArray result = new IntArray(numElements);
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        inclusiveScan(input, result);
+        for (int i = 0; i < numElements; i++) {
+            if (result.get(i) != output.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", TornadoRuntime.getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", TornadoRuntime.getProperty("benchmark.device"));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.radixsort;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+public class RadixSortData {
+
+    public static void initKeys(IntArray keys) {
+        Random random = new Random(7);
+        for (int i = 0; i < keys.getSize(); i++) {
+            keys.set(i, random.nextInt());
+        }
+    }
+}
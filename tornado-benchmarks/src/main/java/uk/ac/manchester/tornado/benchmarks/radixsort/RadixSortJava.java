@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.radixsort;
+
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+public class RadixSortJava extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private int[] keys;
+    private int[] sortedKeys;
+
+    public RadixSortJava(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        IntArray keyArray = new IntArray(numElements);
+        RadixSortData.initKeys(keyArray);
+        keys = keyArray.toHeapArray();
+        sortedKeys = new int[numElements];
+    }
+
+    @Override
+    public void tearDown() {
+        keys = null;
+        sortedKeys = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        System.arraycopy(keys, 0, sortedKeys, 0, numElements);
+        Arrays.sort(sortedKeys);
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.spmm;
+
+import static uk.ac.manchester.tornado.benchmarks.spmm.Benchmark.NUM_DENSE_COLUMNS;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.Matrix2DFloat;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.spmvbinned.SparseData;
+
+public class SpmmJava extends BenchmarkDriver {
+
+    private final CSRMatrixFloat matrix;
+    private Matrix2DFloat b;
+    private Matrix2DFloat c;
+
+    public SpmmJava(int iterations, CSRMatrixFloat matrix) {
+        super(iterations);
+        this.matrix = matrix;
+    }
+
+    static void spmm(CSRMatrixFloat a, Matrix2DFloat b, Matrix2DFloat c) {
+        IntArray rowPointers = a.getRowPointers();
+        IntArray columnIndices = a.getColumnIndices();
+        FloatArray values = a.getValues();
+        for (int i = 0; i < a.getNumRows(); i++) {
+            for (int j = 0; j < b.getNumColumns(); j++) {
+                float sum = 0.0f;
+                for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+                    sum += values.get(k) * b.get(columnIndices.get(k), j);
+                }
+                c.set(i, j, sum);
+            }
+        }
+    }
+
+    @Override
+    public void setUp() {
+        FloatArray denseValues = new FloatArray(matrix.getNumColumns() * NUM_DENSE_COLUMNS);
+        SparseData.initData(denseValues);
+        b = new Matrix2DFloat(matrix.getNumColumns(), NUM_DENSE_COLUMNS, denseValues);
+        c = new Matrix2DFloat(matrix.getNumRows(), NUM_DENSE_COLUMNS);
+    }
+
+    @Override
+    public void tearDown() {
+        b = null;
+        c = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        spmm(matrix, b, c);
+    }
+
+    @Override
+    public void barrier() {
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-serial, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.spmm;
+
+import static uk.ac.manchester.tornado.api.math.TornadoMath.findULPDistance;
+import static uk.ac.manchester.tornado.benchmarks.spmm.Benchmark.NUM_DENSE_COLUMNS;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.Matrix2DFloat;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.spmvbinned.SparseData;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner spmm
+ * </code>
+ */
+public class SpmmTornado extends BenchmarkDriver {
+
+    private final CSRMatrixFloat matrix;
+
+    private Matrix2DFloat b;
+    private FloatArray resultValues;
+    private Matrix2DFloat c;
+
+    public SpmmTornado(int iterations, CSRMatrixFloat matrix) {
+        super(iterations);
+        this.matrix = matrix;
+    }
+
+    @Override
+    public void setUp() {
+        FloatArray denseValues = new FloatArray(matrix.getNumColumns() * NUM_DENSE_COLUMNS);
+        SparseData.initData(denseValues);
+        b = new Matrix2DFloat(matrix.getNumColumns(), NUM_DENSE_COLUMNS, denseValues);
+        resultValues = new FloatArray(matrix.getNumRows() * NUM_DENSE_COLUMNS);
+        c = new Matrix2DFloat(matrix.getNumRows(), NUM_DENSE_COLUMNS, resultValues);
+
+        taskGraph = new TaskGraph("benchmark") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, b) //
+                .task("spmm", SparseMatrixKernels::spmmCSR, matrix, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        b = null;
+        c = null;
+        resultValues = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        final FloatArray refValues = new FloatArray(resultValues.getSize());
+        final Matrix2DFloat ref = new Matrix2DFloat(matrix.getNumRows(), NUM_DENSE_COLUMNS, refValues);
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        SpmmJava.spmm(matrix, b, ref);
+
+        final float ulp = findULPDistance(resultValues, refValues);
+        System.out.printf("ulp is %f\n", ulp);
+        return ulp < MAX_ULP;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.spmvbinned;
+
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkRunner;
+
+public class Benchmark extends BenchmarkRunner {
+
+    private int numRows;
+    private CSRMatrixFloat matrix;
+
+    @Override
+    public void parseArgs(String[] args) {
+        if (args.length == 2) {
+            iterations = Integer.parseInt(args[0]);
+            numRows = Integer.parseInt(args[1]);
+        } else {
+            iterations = 101;
+            numRows = 262144;
+        }
+        matrix = SparseData.createPowerLawMatrix(numRows, numRows);
+    }
+
+    @Override
+    protected String getName() {
+        return "spmvbinned";
+    }
+
+    @Override
+    protected String getIdString() {
+        return String.format("%s-%d-%d", getName(), iterations, numRows);
+    }
+
+    @Override
+    protected String getConfigString() {
+        return String.format("num rows=%d, nnz=%d", numRows, matrix.getNumNonZeros());
+    }
+
+    @Override
+    protected BenchmarkDriver getJavaDriver() {
+        return new SpmvBinnedJava(iterations, matrix);
+    }
+
+    @Override
+    protected BenchmarkDriver getTornadoDriver() {
+        return new SpmvBinnedTornado(iterations, matrix);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.spmvbinned;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+
+public class SparseData {
+
+    /**
+     * Sparse matrix with a power-law distribution of non-zeros per row, as in
+     * graphs of social networks: most rows have a few non-zeros, and a few rows
+     * have thousands.
+     */
+    public static CSRMatrixFloat createPowerLawMatrix(int numRows, int numColumns) {
+        Random random = new Random(7);
+        int[] rowLengths = new int[numRows];
+        int nnz = 0;
+        for (int i = 0; i < numRows; i++) {
+            double length = 4.0 / Math.pow(1.0 - random.nextDouble(), 0.75);
+            rowLengths[i] = (int) Math.min(numColumns, length);
+            nnz += rowLengths[i];
+        }
+        int[] rows = new int[nnz];
+        int[] columns = new int[nnz];
+        float[] values = new float[nnz];
+        int index = 0;
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < rowLengths[i]; j++) {
+                rows[index] = i;
+                columns[index] = random.nextInt(numColumns);
+                values[index] = random.nextFloat();
+                index++;
+            }
+        }
+        return CSRMatrixFloat.fromCOO(numRows, numColumns, rows, columns, values);
+    }
+
+    public static void initData(FloatArray v) {
+        Random random = new Random(7);
+        for (int i = 0; i < v.getSize(); i++) {
+            v.set(i, random.nextFloat());
+        }
+    }
+}
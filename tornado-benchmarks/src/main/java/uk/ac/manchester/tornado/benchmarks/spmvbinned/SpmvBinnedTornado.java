@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.spmvbinned;
+
+import static uk.ac.manchester.tornado.api.math.TornadoMath.findULPDistance;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.CSRRowBins;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+
+/**
+ * SpMV of a power-law matrix, with the short rows processed by one thread per
+ * row and the long rows by one work-group per row.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner spmvbinned
+ * </code>
+ */
+public class SpmvBinnedTornado extends BenchmarkDriver {
+
+    private final CSRMatrixFloat matrix;
+
+    private FloatArray x;
+    private FloatArray y;
+
+    public SpmvBinnedTornado(int iterations, CSRMatrixFloat matrix) {
+        super(iterations);
+        this.matrix = matrix;
+    }
+
+    @Override
+    public void setUp() {
+        x = new FloatArray(matrix.getNumColumns());
+        y = new FloatArray(matrix.getNumRows());
+        SparseData.initData(x);
+        CSRRowBins bins = CSRRowBins.build(matrix);
+
+        // An empty long bin still runs one work-group, which processes row 0
+        // again with the same result
+        WorkerGrid vectorGrid = new WorkerGrid1D(Math.max(1, bins.getNumLongRows()) * SparseMatrixKernels.VECTOR_WORK_GROUP_SIZE);
+        vectorGrid.setLocalWork(SparseMatrixKernels.VECTOR_WORK_GROUP_SIZE, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("benchmark.long", vectorGrid);
+
+        taskGraph = new TaskGraph("benchmark") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix, bins.getShortRows(), bins.getLongRows()) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                .task("short", SparseMatrixKernels::spmvCSRBinnedScalar, matrix, x, y, bins.getShortRows(), bins.getNumShortRows()) //
+                .task("long", SparseMatrixKernels::spmvCSRBinnedVector, new KernelContext(), matrix, x, y, bins.getLongRows()) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler).withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        x = null;
+        y = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        final FloatArray ref = new FloatArray(matrix.getNumRows());
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        matrix.multiply(x, ref);
+
+        final float ulp = findULPDistance(y, ref);
+        System.out.printf("ulp is %f\n", ulp);
+        return ulp < MAX_ULP;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
@@ -30,6 +30,7 @@ import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.runtime.common.DeviceResidencyManager;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 /**
@@ -38,7 +39,9 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
  * each backend. The logic is as follows: it maintains a list of used buffers
  * and another list of free buffers. When performing an allocation, it first
  * checks if memory is available on the device. If it is not, then it will try
- * to reuse a buffer from the free list of buffers.
+ * to reuse a buffer from the free list of buffers. When device memory
+ * oversubscription is enabled, it finally evicts the least-recently-used
+ * buffers of the execution plans through the {@link DeviceResidencyManager}.
  */
 public abstract class TornadoBufferProvider {
 
@@ -62,7 +65,18 @@ public abstract class TornadoBufferProvider {
     protected abstract void releaseBuffer(long buffer);
 
     private synchronized long allocate(long size) {
-        long buffer = allocateBuffer(size);
+        long buffer;
+        try {
+            buffer = allocateBuffer(size);
+        } catch (TornadoOutOfMemoryException e) {
+            // The budget of the device is larger than the memory that is actually available
+            if (!DeviceResidencyManager.isEnabled()) {
+                throw e;
+            }
+            freeBuffers(size);
+            reclaim(size);
+            buffer = allocateBuffer(size);
+        }
         currentMemoryAvailable -= size;
         BufferContainer bufferInfo = new BufferContainer(buffer, size);
         usedBuffers.add(bufferInfo);
@@ -81,6 +95,20 @@ public abstract class TornadoBufferProvider {
         }
     }
 
+    /**
+     * Evicts the least-recently-used buffers of the execution plans and
+     * releases them.
+     *
+     * @param size
+     *     Size in bytes to release.
+     * @return the number of bytes released.
+     */
+    private synchronized long reclaim(long size) {
+        long releasedBytes = DeviceResidencyManager.getInstance(deviceContext).evict(size);
+        freeBuffers(releasedBytes);
+        return releasedBytes;
+    }
+
     private synchronized BufferContainer markBufferUsed(int freeBufferIndex) {
         BufferContainer buffer = freeBuffers.get(freeBufferIndex);
         usedBuffers.add(buffer);
@@ -120,6 +148,9 @@ public abstract class TornadoBufferProvider {
      */
     private synchronized long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes) {
         freeBuffers(sizeInBytes);
+        if (sizeInBytes > currentMemoryAvailable && DeviceResidencyManager.isEnabled()) {
+            reclaim(sizeInBytes - currentMemoryAvailable);
+        }
         if (sizeInBytes <= currentMemoryAvailable) {
             return allocate(sizeInBytes);
         } else {
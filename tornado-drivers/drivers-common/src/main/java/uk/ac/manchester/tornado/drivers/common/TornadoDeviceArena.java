@@ -0,0 +1,139 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Bump allocator over a single buffer of the {@link TornadoBufferProvider}.
+ * Slices are placed one after the other at the next aligned offset, so an
+ * allocation is an addition instead of a call to the driver. Individual slices
+ * are not reused: the whole arena becomes free again when all the slices have
+ * been returned, which matches the lifetime of the buffers of an execution
+ * plan. This class is extended for each backend, which decides how a slice is
+ * exposed to kernels (e.g., a device pointer or a sub-buffer object).
+ */
+public abstract class TornadoDeviceArena implements DeviceArena {
+
+    protected final TornadoBufferProvider bufferProvider;
+    protected final long capacity;
+    protected final long alignment;
+    private final TornadoLogger logger;
+
+    /**
+     * Offset in the arena of each live slice, indexed by its device handle.
+     */
+    private final Map<Long, Long> slices;
+    private long baseBuffer;
+    private long top;
+
+    protected TornadoDeviceArena(TornadoBufferProvider bufferProvider, long capacity, long alignment) {
+        TornadoInternalError.guarantee(alignment > 0 && (alignment & (alignment - 1)) == 0, "The alignment of a device arena must be a power of two");
+        this.bufferProvider = bufferProvider;
+        this.capacity = capacity;
+        this.alignment = alignment;
+        this.logger = new TornadoLogger(this.getClass());
+        this.slices = new HashMap<>();
+    }
+
+    /**
+     * It creates the device handle for a region of the arena.
+     *
+     * @param baseBuffer
+     *     buffer that backs the arena
+     * @param offset
+     *     offset of the region in bytes, aligned to {@link #alignment}
+     * @param numBytes
+     *     size of the region in bytes
+     * @return the device handle of the region, or -1 if it cannot be created.
+     */
+    protected abstract long createSlice(long baseBuffer, long offset, long numBytes);
+
+    /**
+     * It releases the device handle of a region, if the backend created an
+     * object for it.
+     */
+    protected abstract void releaseSlice(long handle);
+
+    private long alignUp(long offset) {
+        return (offset + alignment - 1) & -alignment;
+    }
+
+    @Override
+    public synchronized long allocate(long numBytes) {
+        long offset = alignUp(top);
+        if (numBytes <= 0 || offset + numBytes > capacity) {
+            return -1;
+        }
+        if (baseBuffer == 0) {
+            // The driver allocation is reserved with the first slice
+            baseBuffer = bufferProvider.getOrAllocateBufferWithSize(capacity);
+            logger.debug("device arena reserved %s", RuntimeUtilities.humanReadableByteCount(capacity, false));
+        }
+        long handle = createSlice(baseBuffer, offset, numBytes);
+        if (handle == -1) {
+            return -1;
+        }
+        slices.put(handle, offset);
+        top = offset + numBytes;
+        return handle;
+    }
+
+    @Override
+    public synchronized void free(long handle) {
+        Long offset = slices.remove(handle);
+        TornadoInternalError.guarantee(offset != null, "Fatal error: trying to free a slice that does not belong to the device arena");
+        releaseSlice(handle);
+        if (slices.isEmpty()) {
+            top = 0;
+        }
+    }
+
+    @Override
+    public synchronized void release() {
+        slices.keySet().forEach(this::releaseSlice);
+        slices.clear();
+        top = 0;
+        if (baseBuffer != 0) {
+            bufferProvider.markBufferReleased(baseBuffer);
+            baseBuffer = 0;
+        }
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized long getAllocatedSpace() {
+        return top;
+    }
+}
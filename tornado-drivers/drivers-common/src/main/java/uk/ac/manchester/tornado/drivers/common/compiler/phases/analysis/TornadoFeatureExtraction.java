@@ -58,10 +58,11 @@ import org.graalvm.compiler.nodes.memory.FloatingReadNode;
 import org.graalvm.compiler.nodes.memory.ReadNode;
 import org.graalvm.compiler.nodes.memory.WriteNode;
 import org.graalvm.compiler.nodes.memory.address.AddressNode;
-import org.graalvm.compiler.phases.Phase;
+import org.graalvm.compiler.phases.BasePhase;
 
 import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkCastNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkFloatingPointIntrinsicsNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkGlobalThreadID;
@@ -70,10 +71,18 @@ import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkLocalArray;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkOCLWriteNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorLoad;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorValueNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLowTierContext;
 import uk.ac.manchester.tornado.runtime.profiler.FeatureExtractionUtilities;
 import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
-public class TornadoFeatureExtraction extends Phase {
+/**
+ * Counts the operations and memory accesses of a kernel. The features are
+ * emitted in JSON format when the feature extraction is enabled, and they are
+ * attached to the metadata of the task, so the performance model of the
+ * virtual device can use them.
+ */
+public class TornadoFeatureExtraction extends BasePhase<TornadoLowTierContext> {
     private TornadoDeviceContext tornadoDeviceContext;
 
     public TornadoFeatureExtraction(TornadoDeviceContext tornadoDeviceContext) {
@@ -85,12 +94,21 @@ public class TornadoFeatureExtraction extends Phase {
         return ALWAYS_APPLICABLE;
     }
 
-    protected void run(StructuredGraph graph) {
+    @Override
+    protected void run(StructuredGraph graph, TornadoLowTierContext context) {
         LinkedHashMap<ProfilerCodeFeatures, Integer> irfeatures;
 
         irfeatures = extractFeatures(graph, FeatureExtractionUtilities.initializeFeatureMap());
 
-        FeatureExtractionUtilities.emitFeatureProfileJsonFile(irfeatures, graph, tornadoDeviceContext);
+        // Only the kernel is compiled with the metadata of the task, not the non-inlined methods
+        TaskMetaData meta = context.getMeta();
+        if (meta != null) {
+            meta.setCodeFeatures(irfeatures);
+        }
+
+        if (TornadoOptions.FEATURE_EXTRACTION) {
+            FeatureExtractionUtilities.emitFeatureProfileJsonFile(irfeatures, graph, tornadoDeviceContext);
+        }
     }
 
     private LinkedHashMap<ProfilerCodeFeatures, Integer> extractFeatures(StructuredGraph graph, LinkedHashMap<ProfilerCodeFeatures, Integer> initMap) {
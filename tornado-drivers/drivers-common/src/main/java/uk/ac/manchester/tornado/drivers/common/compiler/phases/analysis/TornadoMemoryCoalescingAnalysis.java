@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import org.graalvm.compiler.core.common.type.PrimitiveStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodeinfo.Verbosity;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.GraphState;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PhiNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.NarrowNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.memory.FloatingReadNode;
+import org.graalvm.compiler.nodes.memory.ReadNode;
+import org.graalvm.compiler.nodes.memory.WriteNode;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.phases.Phase;
+
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.calc.TornadoAddressArithmeticNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkGlobalThreadID;
+
+/**
+ * Analysis over the lowered address nodes (OpenCL, PTX and SPIR-V) that
+ * classifies every global memory access of a kernel with respect to the
+ * first dimension of the global thread-id. For each access, the compiler
+ * computes the distance in bytes between the addresses accessed by two
+ * consecutive threads:
+ *
+ * <ul>
+ * <li>{@link AccessPattern#UNIFORM}: all threads access the same address.</li>
+ * <li>{@link AccessPattern#COALESCED}: consecutive threads access consecutive
+ * elements.</li>
+ * <li>{@link AccessPattern#STRIDED}: consecutive threads access elements that
+ * are separated by more than one element size. This is the common case for
+ * vector types stored as array-of-structs (e.g., {@code VectorFloat4}) when
+ * threads access one component at a time, and for threads that access the rows
+ * of a row-major matrix (e.g., {@code a[i * width + j]}), where the stride
+ * depends on a value only known at runtime.</li>
+ * <li>{@link AccessPattern#UNKNOWN}: the stride cannot be determined at compile
+ * time.</li>
+ * </ul>
+ *
+ * The analysis does not modify the graph. It is enabled with
+ * {@code -Dtornado.coalescing.analysis=True}. The report of each compiled task
+ * is appended in JSON format to the file given by
+ * {@code -Dtornado.coalescing.analysis.file}, or logged in debug mode if no
+ * file is given.
+ */
+public class TornadoMemoryCoalescingAnalysis extends Phase {
+
+    private static final TornadoLogger logger = new TornadoLogger(TornadoMemoryCoalescingAnalysis.class);
+
+    public enum AccessPattern {
+        UNIFORM, //
+        COALESCED, //
+        STRIDED, //
+        UNKNOWN
+    }
+
+    /**
+     * Coefficient of the global thread-id in an index expression. If
+     * {@code runtimeValue} is set, the coefficient is {@code value} multiplied by
+     * a value that is the same for all threads but only known at runtime (e.g., a
+     * parameter of the kernel).
+     */
+    private record Stride(long value, boolean runtimeValue) {
+
+        static final Stride ZERO = new Stride(0, false);
+        static final Stride ONE = new Stride(1, false);
+        static final Stride UNKNOWN = new Stride(Long.MIN_VALUE, false);
+
+        boolean isZero() {
+            return value == 0 && !runtimeValue;
+        }
+
+        boolean isUnknown() {
+            return this.equals(UNKNOWN);
+        }
+
+        Stride scale(long factor) {
+            return factor == 0 ? ZERO : new Stride(value * factor, runtimeValue);
+        }
+    }
+
+    public record MemoryAccessInfo(String base, boolean isRead, long strideInBytes, boolean runtimeStride, int elementSizeInBytes, AccessPattern pattern) {
+
+        /**
+         * Fraction of the bytes moved by a memory transaction that are used by the
+         * threads of a warp/sub-group. If the stride depends on a runtime value,
+         * only its constant factor is known, and the result is an upper bound.
+         *
+         * @return value in the range (0, 1].
+         */
+        public double efficiency() {
+            if (pattern == AccessPattern.STRIDED) {
+                return Math.min(1.0, (double) elementSizeInBytes / Math.abs(strideInBytes));
+            }
+            return 1.0;
+        }
+
+        /**
+         * @return the stride in bytes, {@code "?"} if it is unknown, or
+         *     {@code "<factor>*n"} if it depends on a runtime value.
+         */
+        public String describeStride() {
+            if (pattern == AccessPattern.UNKNOWN) {
+                return "?";
+            }
+            return runtimeStride ? strideInBytes + "*n" : Long.toString(strideInBytes);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"base\": \"%s\", \"access\": \"%s\", \"stride\": \"%s\", \"elementSize\": %d, \"pattern\": \"%s\", \"efficiency\": %.2f}", //
+                    escape(base), isRead ? "read" : "write", describeStride(), elementSizeInBytes, pattern, efficiency());
+        }
+
+        @Override
+        public String toString() {
+            String type = isRead ? "read " : "write";
+            return String.format("%s %-12s stride=%sB element=%dB -> %s (efficiency %.0f%%)", type, base, describeStride(), elementSizeInBytes, pattern, efficiency() * 100);
+        }
+    }
+
+    @Override
+    public Optional<NotApplicable> notApplicableTo(GraphState graphState) {
+        return ALWAYS_APPLICABLE;
+    }
+
+    @Override
+    protected void run(StructuredGraph graph) {
+        List<MemoryAccessInfo> accesses = analyse(graph);
+        if (accesses.isEmpty()) {
+            return;
+        }
+        report(graph, accesses);
+    }
+
+    public static List<MemoryAccessInfo> analyse(StructuredGraph graph) {
+        HashMap<Node, Stride> strides = new HashMap<>();
+        List<MemoryAccessInfo> accesses = new ArrayList<>();
+        for (Node node : graph.getNodes()) {
+            MemoryAccessInfo info = null;
+            if (node instanceof ReadNode readNode) {
+                info = analyseAccess(readNode.getAddress(), readNode.stamp(NodeView.DEFAULT), true, strides);
+            } else if (node instanceof FloatingReadNode floatingReadNode) {
+                info = analyseAccess(floatingReadNode.getAddress(), floatingReadNode.stamp(NodeView.DEFAULT), true, strides);
+            } else if (node instanceof WriteNode writeNode) {
+                info = analyseAccess(writeNode.getAddress(), writeNode.value().stamp(NodeView.DEFAULT), false, strides);
+            }
+            if (info != null) {
+                accesses.add(info);
+            }
+        }
+        return accesses;
+    }
+
+    private static MemoryAccessInfo analyseAccess(AddressNode address, Stamp accessStamp, boolean isRead, HashMap<Node, Stride> strides) {
+        if (address == null || !isGlobalMemory(address.getBase()) || address.getIndex() == null) {
+            return null;
+        }
+        if (!(accessStamp instanceof PrimitiveStamp primitiveStamp) || primitiveStamp.getBits() < 8) {
+            return null;
+        }
+        int elementSize = primitiveStamp.getBits() / 8;
+        Stride stride = computeStride(address.getIndex(), strides, new HashSet<>());
+        AccessPattern pattern = classify(stride, elementSize);
+        long strideInBytes = pattern == AccessPattern.UNKNOWN ? 0 : stride.value();
+        return new MemoryAccessInfo(describeBase(address.getBase()), isRead, strideInBytes, stride.runtimeValue(), elementSize, pattern);
+    }
+
+    /**
+     * Global memory is reached through the kernel parameters, or through values
+     * (fields, arrays) loaded from them. Local and private arrays are excluded.
+     */
+    private static boolean isGlobalMemory(ValueNode base) {
+        return base instanceof ParameterNode || base instanceof ReadNode || base instanceof FloatingReadNode || base instanceof PiNode || base instanceof TornadoAddressArithmeticNode;
+    }
+
+    /**
+     * A stride that depends on a runtime value is classified as strided, since
+     * that value is usually a dimension of the data (e.g., the width of a
+     * matrix).
+     */
+    private static AccessPattern classify(Stride stride, int elementSize) {
+        if (stride.isUnknown()) {
+            return AccessPattern.UNKNOWN;
+        } else if (stride.isZero()) {
+            return AccessPattern.UNIFORM;
+        } else if (stride.runtimeValue()) {
+            return AccessPattern.STRIDED;
+        } else if (Math.abs(stride.value()) <= elementSize) {
+            return AccessPattern.COALESCED;
+        }
+        return AccessPattern.STRIDED;
+    }
+
+    /**
+     * Computes the coefficient of the global thread-id (dimension 0) in the
+     * index expression of an address.
+     */
+    private static Stride computeStride(ValueNode node, HashMap<Node, Stride> strides, Set<Node> visiting) {
+        if (strides.containsKey(node)) {
+            return strides.get(node);
+        }
+        if (!visiting.add(node)) {
+            return Stride.UNKNOWN;
+        }
+        Stride stride = computeStrideOfNode(node, strides, visiting);
+        visiting.remove(node);
+        strides.put(node, stride);
+        return stride;
+    }
+
+    private static Stride computeStrideOfNode(ValueNode node, HashMap<Node, Stride> strides, Set<Node> visiting) {
+        if (node instanceof MarkGlobalThreadID) {
+            ConstantNode dimension = node.inputs().filter(ConstantNode.class).first();
+            return (dimension != null && dimension.asJavaConstant().asInt() == 0) ? Stride.ONE : Stride.ZERO;
+        } else if (node instanceof ConstantNode || node instanceof ParameterNode) {
+            return Stride.ZERO;
+        } else if (node instanceof AddNode addNode) {
+            return combine(computeStride(addNode.getX(), strides, visiting), computeStride(addNode.getY(), strides, visiting), 1);
+        } else if (node instanceof SubNode subNode) {
+            return combine(computeStride(subNode.getX(), strides, visiting), computeStride(subNode.getY(), strides, visiting), -1);
+        } else if (node instanceof MulNode mulNode) {
+            return multiply(mulNode.getX(), mulNode.getY(), strides, visiting);
+        } else if (node instanceof LeftShiftNode shiftNode) {
+            Stride stride = computeStride(shiftNode.getX(), strides, visiting);
+            if (stride.isZero() || stride.isUnknown()) {
+                return stride;
+            } else if (shiftNode.getY().isJavaConstant()) {
+                return stride.scale(1L << shiftNode.getY().asJavaConstant().asInt());
+            }
+            return computeStride(shiftNode.getY(), strides, visiting).isZero() ? new Stride(stride.value(), true) : Stride.UNKNOWN;
+        } else if (node instanceof SignExtendNode || node instanceof ZeroExtendNode || node instanceof NarrowNode || node instanceof PiNode) {
+            return computeStride((ValueNode) node.inputs().first(), strides, visiting);
+        } else if (node instanceof ValuePhiNode phiNode) {
+            if (phiNode.isLoopPhi()) {
+                // Parallel loops advance all threads by the same amount (global size), so
+                // the distance between threads is given by the value entering the loop.
+                return computeStride(phiNode.valueAt(0), strides, visiting);
+            }
+            return mergePhiValues(phiNode, strides, visiting);
+        }
+        // Any other operation is only analysable if it does not depend on the thread-id
+        for (Node input : node.inputs()) {
+            if (input instanceof ValueNode value && !computeStride(value, strides, visiting).isZero()) {
+                return Stride.UNKNOWN;
+            }
+        }
+        return Stride.ZERO;
+    }
+
+    private static Stride mergePhiValues(PhiNode phiNode, HashMap<Node, Stride> strides, Set<Node> visiting) {
+        Stride stride = computeStride(phiNode.valueAt(0), strides, visiting);
+        for (int i = 1; i < phiNode.valueCount(); i++) {
+            if (!computeStride(phiNode.valueAt(i), strides, visiting).equals(stride)) {
+                return Stride.UNKNOWN;
+            }
+        }
+        return stride;
+    }
+
+    private static Stride combine(Stride x, Stride y, int sign) {
+        if (x.isUnknown() || y.isUnknown()) {
+            return Stride.UNKNOWN;
+        } else if (y.isZero()) {
+            return x;
+        } else if (x.isZero()) {
+            return y.scale(sign);
+        } else if (!x.runtimeValue() && !y.runtimeValue()) {
+            return new Stride(x.value() + sign * y.value(), false);
+        } else if (x.runtimeValue() && y.runtimeValue()) {
+            // Two runtime values may cancel each other
+            return Stride.UNKNOWN;
+        }
+        // A constant term does not change a stride that depends on a runtime value
+        return x.runtimeValue() ? x : y.scale(sign);
+    }
+
+    private static Stride multiply(ValueNode x, ValueNode y, HashMap<Node, Stride> strides, Set<Node> visiting) {
+        Stride strideX = computeStride(x, strides, visiting);
+        Stride strideY = computeStride(y, strides, visiting);
+        if (strideX.isUnknown() || strideY.isUnknown()) {
+            return Stride.UNKNOWN;
+        } else if (strideX.isZero() && strideY.isZero()) {
+            return Stride.ZERO;
+        } else if (!strideX.isZero() && !strideY.isZero()) {
+            // Non-linear in the thread-id
+            return Stride.UNKNOWN;
+        } else if (!strideX.isZero()) {
+            return multiplyByInvariant(strideX, y);
+        }
+        return multiplyByInvariant(strideY, x);
+    }
+
+    /**
+     * Multiplies a stride by a value that is the same for all threads. If the
+     * value is not a constant (e.g., {@code i * width}), the stride depends on a
+     * runtime value.
+     */
+    private static Stride multiplyByInvariant(Stride stride, ValueNode invariant) {
+        if (invariant.isJavaConstant()) {
+            return stride.scale(invariant.asJavaConstant().asLong());
+        }
+        return new Stride(stride.value(), true);
+    }
+
+    private static String describeBase(ValueNode base) {
+        if (base instanceof ParameterNode parameterNode) {
+            return "arg" + parameterNode.index();
+        } else if (base instanceof PiNode piNode) {
+            return describeBase(piNode.getOriginalNode());
+        }
+        return base.toString(Verbosity.Short);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static void report(StructuredGraph graph, List<MemoryAccessInfo> accesses) {
+        String taskName = graph.method() != null ? graph.method().format("%H.%n") : graph.toString();
+        if (TornadoOptions.COALESCING_ANALYSIS_FILE.isEmpty()) {
+            long strided = accesses.stream().filter(access -> access.pattern() == AccessPattern.STRIDED).count();
+            long unknown = accesses.stream().filter(access -> access.pattern() == AccessPattern.UNKNOWN).count();
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("[Coalescing Analysis] %s: %d global accesses, %d strided, %d unknown", taskName, accesses.size(), strided, unknown));
+            for (MemoryAccessInfo access : accesses) {
+                if (access.pattern() == AccessPattern.STRIDED || access.pattern() == AccessPattern.UNKNOWN) {
+                    sb.append(System.lineSeparator()).append("\t").append(access);
+                }
+            }
+            logger.info(sb.toString());
+            return;
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\"task\": \"").append(escape(taskName)).append("\", \"accesses\": [");
+        for (int i = 0; i < accesses.size(); i++) {
+            json.append(i == 0 ? "" : ", ").append(accesses.get(i).toJson());
+        }
+        json.append("]}");
+
+        // Tasks may be compiled concurrently
+        synchronized (TornadoMemoryCoalescingAnalysis.class) {
+            File fileLog = new File(TornadoOptions.COALESCING_ANALYSIS_FILE);
+            try (FileWriter file = new FileWriter(fileLog, fileLog.exists())) {
+                file.write(json.toString());
+                file.write("\n");
+            } catch (IOException e) {
+                logger.error("Unable to write the coalescing analysis to %s: %s", TornadoOptions.COALESCING_ANALYSIS_FILE, e.getMessage());
+            }
+        }
+    }
+}
@@ -237,3 +237,93 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_
         return -1;
     #endif
 }
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    mapBuffer
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_mapBuffer
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer_id, jlong size) {
+    cl_int status;
+    void *host_ptr = clEnqueueMapBuffer((cl_command_queue) queue_id, (cl_mem) buffer_id, CL_TRUE, CL_MAP_READ | CL_MAP_WRITE, 0, (size_t) size, 0, NULL, NULL, &status);
+    LOG_OCL_AND_VALIDATE("clEnqueueMapBuffer", status);
+    if (status != CL_SUCCESS) {
+        return (jlong) 0;
+    }
+    return (jlong) host_ptr;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    unmapBuffer
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_unmapBuffer
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer_id, jlong host_ptr) {
+    cl_int status = clEnqueueUnmapMemObject((cl_command_queue) queue_id, (cl_mem) buffer_id, (void *) host_ptr, 0, NULL, NULL);
+    LOG_OCL_AND_VALIDATE("clEnqueueUnmapMemObject", status);
+    status = clFinish((cl_command_queue) queue_id);
+    LOG_OCL_AND_VALIDATE("clFinish", status);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    svmAlloc
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_svmAlloc
+        (JNIEnv *env, jclass clazz, jlong context_id, jlong flags, jlong size) {
+    #if CL_TARGET_OPENCL_VERSION >= 200
+        void *svm_ptr = clSVMAlloc((cl_context) context_id, (cl_svm_mem_flags) flags, (size_t) size, 0);
+        if (LOG_JNI == 1) {
+            std::cout << "[TornadoVM-OCL-JNI] Calling : clSVMAlloc -> Pointer: " << svm_ptr << std::endl;
+        }
+        return (jlong) svm_ptr;
+    #else
+        return (jlong) 0;
+    #endif
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    svmFree
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_svmFree
+        (JNIEnv *env, jclass clazz, jlong context_id, jlong svm_ptr) {
+    #if CL_TARGET_OPENCL_VERSION >= 200
+        clSVMFree((cl_context) context_id, (void *) svm_ptr);
+    #endif
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    mapSVM
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_mapSVM
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong svm_ptr, jlong size) {
+    #if CL_TARGET_OPENCL_VERSION >= 200
+        cl_int status = clEnqueueSVMMap((cl_command_queue) queue_id, CL_TRUE, CL_MAP_READ | CL_MAP_WRITE, (void *) svm_ptr, (size_t) size, 0, NULL, NULL);
+        LOG_OCL_AND_VALIDATE("clEnqueueSVMMap", status);
+        return status == CL_SUCCESS;
+    #else
+        return false;
+    #endif
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    unmapSVM
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_unmapSVM
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong svm_ptr) {
+    #if CL_TARGET_OPENCL_VERSION >= 200
+        cl_int status = clEnqueueSVMUnmap((cl_command_queue) queue_id, (void *) svm_ptr, 0, NULL, NULL);
+        LOG_OCL_AND_VALIDATE("clEnqueueSVMUnmap", status);
+        status = clFinish((cl_command_queue) queue_id);
+        LOG_OCL_AND_VALIDATE("clFinish", status);
+    #endif
+}
@@ -128,6 +128,54 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_clCreateProgramWithIL
         (JNIEnv *env, jclass clazz, jlong context_id, jbyteArray javaSourceBinaryArray, jlongArray javaSizeArray);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    mapBuffer
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_mapBuffer
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer_id, jlong size);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    unmapBuffer
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_unmapBuffer
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer_id, jlong host_ptr);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    svmAlloc
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_svmAlloc
+        (JNIEnv *env, jclass clazz, jlong context_id, jlong flags, jlong size);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    svmFree
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_svmFree
+        (JNIEnv *env, jclass clazz, jlong context_id, jlong svm_ptr);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    mapSVM
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_mapSVM
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong svm_ptr, jlong size);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLContext
+ * Method:    unmapSVM
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLContext_unmapSVM
+        (JNIEnv *env, jclass clazz, jlong queue_id, jlong svm_ptr);
+
 #ifdef __cplusplus
 }
 #endif
@@ -62,6 +62,19 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLKernel_cl
     }
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLKernel
+ * Method:    clSetKernelArgSVMPointer
+ * Signature: (JIJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLKernel_clSetKernelArgSVMPointer
+(JNIEnv *env, jclass clazz, jlong kernel_id, jint index, jlong svm_ptr) {
+#if CL_TARGET_OPENCL_VERSION >= 200
+    cl_int status = clSetKernelArgSVMPointer((cl_kernel) kernel_id, (cl_uint) index, (const void *) svm_ptr);
+    LOG_OCL_AND_VALIDATE("clSetKernelArgSVMPointer", status);
+#endif
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLKernel
  * Method:    clGetKernelInfo
@@ -48,6 +48,14 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLKernel_cl
 JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLKernel_clSetKernelArg
         (JNIEnv *, jclass, jlong, jint, jlong, jbyteArray);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLKernel
+ * Method:    clSetKernelArgSVMPointer
+ * Signature: (JIJ)V
+ */
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLKernel_clSetKernelArgSVMPointer
+        (JNIEnv *, jclass, jlong, jint, jlong);
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLKernel
  * Method:    clGetKernelInfo
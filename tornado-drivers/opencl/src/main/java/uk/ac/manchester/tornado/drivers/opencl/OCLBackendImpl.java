@@ -31,6 +31,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -48,6 +49,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.OCLHotSpotBackendFactory;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLSuitesProvider;
 import uk.ac.manchester.tornado.drivers.opencl.graal.backend.OCLBackend;
 import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
@@ -59,12 +61,28 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
             OCLDeviceType.CL_DEVICE_TYPE_CPU, //
             OCLDeviceType.CL_DEVICE_TYPE_ACCELERATOR, //
             OCLDeviceType.CL_DEVICE_TYPE_CUSTOM);
-    private final OCLBackend[][] backends;
+    /**
+     * Compiler backend of each device, one array per platform. They are created
+     * on the first use of the device, because building the Graal providers and
+     * suites is expensive. The atomic arrays publish the backends safely to the
+     * threads that read them without holding the lock.
+     */
+    private final AtomicReferenceArray<OCLBackend>[] backends;
     private final List<OCLContextInterface> contexts;
-    private OCLBackend[] flatBackends;
+    private DeviceLocation[] flatBackends;
     private List<TornadoDevice> devices;
     private final TornadoLogger logger;
+    private final OptionValues options;
+    private final HotSpotJVMCIRuntime vmRuntime;
+    private final TornadoVMConfigAccess vmConfig;
+
+    /**
+     * Platform and device index of an OpenCL device.
+     */
+    private record DeviceLocation(int platformIndex, int deviceIndex) {
+    }
 
+    @SuppressWarnings("unchecked")
     public OCLBackendImpl(final OptionValues options, final HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig) {
         final int numPlatforms = OpenCL.getNumPlatforms();
 
@@ -72,26 +90,33 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
             throw new TornadoBailoutRuntimeException("[WARNING] No OpenCL platforms found. Deoptimizing to sequential execution.");
         }
 
-        backends = new OCLBackend[numPlatforms][];
+        this.options = options;
+        this.vmRuntime = vmRuntime;
+        this.vmConfig = vmConfig;
+        backends = new AtomicReferenceArray[numPlatforms];
         contexts = new ArrayList<>();
         logger = new TornadoLogger(this.getClass());
-        discoverDevices(options, vmRuntime, vmConfig);
-        flatBackends = flattenBackends(backends);
+        discoverDevices();
+        flatBackends = flattenBackends();
         flatBackends = orderFlattenBackends();
 
     }
 
-    private OCLBackend[] flattenBackends(OCLBackend[][] backends) {
-        OCLBackend[] flatBackendList = new OCLBackend[getBackendCounter()];
+    private DeviceLocation[] flattenBackends() {
+        DeviceLocation[] flatBackendList = new DeviceLocation[getBackendCounter()];
         int index = 0;
         for (int i = 0; i < getNumPlatforms(); i++) {
             for (int j = 0; j < getNumDevices(i); j++, index++) {
-                flatBackendList[index] = backends[i][j];
+                flatBackendList[index] = new DeviceLocation(i, j);
             }
         }
         return flatBackendList;
     }
 
+    private OCLTargetDevice getTargetDevice(DeviceLocation location) {
+        return contexts.get(location.platformIndex()).devices().get(location.deviceIndex());
+    }
+
     /**
      * Orders the flat list of OpenCL backends based on the provided device type
      * ordering.
@@ -99,41 +124,41 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
      * @return An array of OpenCL backends ordered according to the device type
      *     ordering.
      */
-    private OCLBackend[] orderFlattenBackends() {
-        List<OCLBackend> backendList = new ArrayList<>();
-        EnumMap<OCLDeviceType, List<OCLBackend>> deviceTypeMap = new EnumMap<>(OCLDeviceType.class);
+    private DeviceLocation[] orderFlattenBackends() {
+        List<DeviceLocation> backendList = new ArrayList<>();
+        EnumMap<OCLDeviceType, List<DeviceLocation>> deviceTypeMap = new EnumMap<>(OCLDeviceType.class);
 
         // Populate deviceTypeMap with backends for each device type
-        for (OCLBackend backend : flatBackends) {
-            OCLDeviceType deviceType = backend.getDeviceContext().getDevice().getDeviceType();
-            List<OCLBackend> backendListForDeviceType = deviceTypeMap.computeIfAbsent(deviceType, k -> new ArrayList<>());
+        for (DeviceLocation backend : flatBackends) {
+            OCLDeviceType deviceType = getTargetDevice(backend).getDeviceType();
+            List<DeviceLocation> backendListForDeviceType = deviceTypeMap.computeIfAbsent(deviceType, k -> new ArrayList<>());
             backendListForDeviceType.add(backend);
         }
 
         // Add backends to backendList in the order specified by deviceTypeOrdering
         for (OCLDeviceType deviceType : OCLBackendImpl.DEVICE_TYPE_LIST) {
-            List<OCLBackend> backendListForDeviceType = deviceTypeMap.get(deviceType);
+            List<DeviceLocation> backendListForDeviceType = deviceTypeMap.get(deviceType);
             if (backendListForDeviceType != null) {
                 backendList.addAll(backendListForDeviceType);
             }
         }
 
-        Map<OCLDeviceType, List<OCLBackend>> groupedByDeviceType = backendList.stream().collect(Collectors.groupingBy(backend -> backend.getDeviceContext().getDevice().getDeviceType()));
+        Map<OCLDeviceType, List<DeviceLocation>> groupedByDeviceType = backendList.stream().collect(Collectors.groupingBy(backend -> getTargetDevice(backend).getDeviceType()));
 
         // Sort each sublist by size in descending order
         groupedByDeviceType.forEach((deviceType, sublist) -> Collections.sort(sublist, (backend1, backend2) -> {
-            long size1 = backend1.getDeviceContext().getDevice().getDeviceContext().getDevice().getMaxThreadsPerBlock();
-            long size2 = backend2.getDeviceContext().getDevice().getDeviceContext().getDevice().getMaxThreadsPerBlock();
+            long size1 = getTargetDevice(backend1).getMaxThreadsPerBlock();
+            long size2 = getTargetDevice(backend2).getMaxThreadsPerBlock();
             return Long.compare(size2, size1); // Sort in descending order
         }));
 
         // Create a list to hold the sorted backends
-        List<OCLBackend> sortedBackends = new ArrayList<>();
+        List<DeviceLocation> sortedBackends = new ArrayList<>();
 
         // Iterate through 'OCLDriver.DEVICE_TYPE_LIST' and add backends in the
         // specified order
         for (OCLDeviceType deviceType : OCLBackendImpl.DEVICE_TYPE_LIST) {
-            List<OCLBackend> backendsOfType = groupedByDeviceType.get(deviceType);
+            List<DeviceLocation> backendsOfType = groupedByDeviceType.get(deviceType);
             if (backendsOfType != null) {
                 sortedBackends.addAll(backendsOfType);
             }
@@ -142,12 +167,12 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
         // Update 'backendList' with the sorted backends
         backendList = sortedBackends;
 
-        return backendList.toArray(new OCLBackend[0]);
+        return backendList.toArray(new DeviceLocation[0]);
     }
 
     @Override
     public TornadoXPUDevice getDefaultDevice() {
-        return flatBackends[0].getDeviceContext().asMapping();
+        return getOrCreateBackend(flatBackends[0]).getDeviceContext().asMapping();
     }
 
     @Override
@@ -158,14 +183,14 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
     @Override
     public TornadoXPUDevice getDevice(int index) {
         if (index < flatBackends.length) {
-            return flatBackends[index].getDeviceContext().asMapping();
+            return getOrCreateBackend(flatBackends[index]).getDeviceContext().asMapping();
         } else {
             throw new TornadoDeviceNotFound(STR."[ERROR] device required not found: \{index} - Max: \{flatBackends.length}");
         }
     }
 
     @Override
-    public List<TornadoDevice> getAllDevices() {
+    public synchronized List<TornadoDevice> getAllDevices() {
         if (devices == null) {
             devices = new ArrayList<>();
             for (int deviceIndex = 0; deviceIndex < getBackendCounter(); deviceIndex++) {
@@ -180,8 +205,26 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
         return IntStream.range(0, getNumPlatforms()).map(this::getNumDevices).sum();
     }
 
+    private OCLBackend getOrCreateBackend(DeviceLocation location) {
+        return getOrCreateBackend(location.platformIndex(), location.deviceIndex());
+    }
+
+    private OCLBackend getOrCreateBackend(final int platform, final int device) {
+        OCLBackend backend = backends[platform].get(device);
+        if (backend == null) {
+            synchronized (this) {
+                backend = backends[platform].get(device);
+                if (backend == null) {
+                    backend = createOCLJITCompiler(contexts.get(platform), device);
+                    backends[platform].set(device, backend);
+                }
+            }
+        }
+        return backend;
+    }
+
     private OCLBackend checkAndInitBackend(final int platform, final int device) {
-        final OCLBackend backend = backends[platform][device];
+        final OCLBackend backend = getOrCreateBackend(platform, device);
         if (!backend.isInitialised()) {
             backend.init();
         }
@@ -189,43 +232,44 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
         return backend;
     }
 
-    private void swapDefaultDevice(final int device) {
-        OCLBackend tmp = flatBackends[0];
+    private synchronized void swapDefaultDevice(final int device) {
+        DeviceLocation tmp = flatBackends[0];
         flatBackends[0] = flatBackends[device];
         flatBackends[device] = tmp;
-        OCLBackend backend = flatBackends[0];
+        OCLBackend backend = getOrCreateBackend(flatBackends[0]);
 
         if (!backend.isInitialised()) {
             backend.init();
         }
     }
 
-    private OCLBackend createOCLJITCompiler(final OptionValues options, final HotSpotJVMCIRuntime jvmciRuntime, TornadoVMConfigAccess vmConfig, final OCLContextInterface context,
-            final int deviceIndex) {
+    private OCLBackend createOCLJITCompiler(final OCLContextInterface context, final int deviceIndex) {
         final OCLTargetDevice device = context.devices().get(deviceIndex);
         logger.info("Creating backend for %s", device.getDeviceName());
-        return OCLHotSpotBackendFactory.createJITCompiler(options, jvmciRuntime, vmConfig, context, device);
+        final long start = System.nanoTime();
+        OCLBackend backend = OCLHotSpotBackendFactory.createJITCompiler(options, vmRuntime, vmConfig, context, device);
+        TornadoCoreRuntime.getTornadoRuntime().registerDeviceInitTime(device.getDeviceName(), System.nanoTime() - start);
+        return backend;
     }
 
-    private void installDevices(int platformIndex, TornadoPlatformInterface platform, final OptionValues options, final HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig) {
+    private void installDevices(int platformIndex, TornadoPlatformInterface platform) {
         logger.info("OpenCL[%d]: Platform %s", platformIndex, platform.getName());
         final OCLContextInterface context = platform.createContext();
         assert context != null : "OpenCL context is null";
         contexts.add(context);
         final int numDevices = context.getNumDevices();
         logger.info("OpenCL[%d]: Has %d devices...", platformIndex, numDevices);
-        backends[platformIndex] = new OCLBackend[numDevices];
+        backends[platformIndex] = new AtomicReferenceArray<>(numDevices);
         for (int deviceIndex = 0; deviceIndex < numDevices; deviceIndex++) {
             final OCLTargetDevice device = context.devices().get(deviceIndex);
             logger.info("OpenCL[%d]: device=%s", platformIndex, device.getDeviceName());
-            backends[platformIndex][deviceIndex] = createOCLJITCompiler(options, vmRuntime, vmConfig, context, deviceIndex);
         }
     }
 
-    private void discoverDevices(final OptionValues options, final HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig) {
+    private void discoverDevices() {
         IntStream.range(0, OpenCL.getNumPlatforms()).forEach(i -> {
             final TornadoPlatformInterface platform = OpenCL.getPlatform(i);
-            installDevices(i, platform, options, vmRuntime, vmConfig);
+            installDevices(i, platform);
         });
     }
 
@@ -240,7 +284,7 @@ public final class OCLBackendImpl implements TornadoAcceleratorBackend {
 
     public int getNumDevices(int platform) {
         try {
-            return backends[platform].length;
+            return backends[platform].length();
         } catch (NullPointerException e) {
             return 0;
         }
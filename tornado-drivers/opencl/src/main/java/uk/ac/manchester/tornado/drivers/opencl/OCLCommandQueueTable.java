@@ -23,6 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -37,36 +39,68 @@ public class OCLCommandQueueTable {
         deviceCommandMap = new ConcurrentHashMap<>();
     }
 
+    /**
+     * @return the command queue selected by the current thread.
+     */
     public OCLCommandQueue get(OCLTargetDevice device, OCLContext context) {
-        if (!deviceCommandMap.containsKey(device)) {
-            ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-            table.get(Thread.currentThread().threadId(), device, context);
-            deviceCommandMap.put(device, table);
-        }
-        return deviceCommandMap.get(device).get(Thread.currentThread().threadId(), device, context);
+        return getThreadTable(device).get(Thread.currentThread().threadId(), device, context);
+    }
+
+    /**
+     * It selects the command queue that the current thread enqueues the following
+     * commands on. Queues are created the first time they are selected.
+     */
+    public void select(OCLTargetDevice device, OCLContext context, int index) {
+        getThreadTable(device).select(Thread.currentThread().threadId(), device, context, index);
+    }
+
+    /**
+     * @return all the command queues of the current thread.
+     */
+    public List<OCLCommandQueue> getAll(OCLTargetDevice device, OCLContext context) {
+        return getThreadTable(device).getAll(Thread.currentThread().threadId(), device, context);
+    }
+
+    private ThreadCommandQueueTable getThreadTable(OCLTargetDevice device) {
+        return deviceCommandMap.computeIfAbsent(device, d -> new ThreadCommandQueueTable());
     }
 
     private static class ThreadCommandQueueTable {
-        private final Map<Long, OCLCommandQueue> commandQueueMap;
+        private final Map<Long, List<OCLCommandQueue>> commandQueueMap;
+        private final Map<Long, Integer> selectedQueueMap;
 
         ThreadCommandQueueTable() {
             commandQueueMap = new ConcurrentHashMap<>();
+            selectedQueueMap = new ConcurrentHashMap<>();
         }
 
         public OCLCommandQueue get(long threadId, OCLTargetDevice device, OCLContext context) {
-            if (!commandQueueMap.containsKey(threadId)) {
-                final int deviceVersion = device.deviceVersion();
-                long commandProperties = context.getProperties();
-                long commandQueuePtr;
-                try {
-                    commandQueuePtr = context.clCreateCommandQueue(context.getContextId(), device.getId(), commandProperties);
-                } catch (OCLException e) {
-                    throw new TornadoRuntimeException(e);
-                }
-                OCLCommandQueue commandQueue = new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
-                commandQueueMap.put(threadId, commandQueue);
+            return getAll(threadId, device, context).get(selectedQueueMap.getOrDefault(threadId, 0));
+        }
+
+        public void select(long threadId, OCLTargetDevice device, OCLContext context, int index) {
+            List<OCLCommandQueue> commandQueues = getAll(threadId, device, context);
+            while (commandQueues.size() <= index) {
+                commandQueues.add(createCommandQueue(device, context));
+            }
+            selectedQueueMap.put(threadId, index);
+        }
+
+        public List<OCLCommandQueue> getAll(long threadId, OCLTargetDevice device, OCLContext context) {
+            // The list of a thread is only modified by the same thread
+            return commandQueueMap.computeIfAbsent(threadId, id -> new ArrayList<>(List.of(createCommandQueue(device, context))));
+        }
+
+        private static OCLCommandQueue createCommandQueue(OCLTargetDevice device, OCLContext context) {
+            final int deviceVersion = device.deviceVersion();
+            long commandProperties = context.getProperties();
+            long commandQueuePtr;
+            try {
+                commandQueuePtr = context.clCreateCommandQueue(context.getContextId(), device.getId(), commandProperties);
+            } catch (OCLException e) {
+                throw new TornadoRuntimeException(e);
             }
-            return commandQueueMap.get(threadId);
+            return new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
         }
     }
 }
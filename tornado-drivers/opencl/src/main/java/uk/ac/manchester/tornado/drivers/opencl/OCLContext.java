@@ -26,11 +26,13 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoNoOpenCLPlatformException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBufferCreateType;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -48,6 +50,8 @@ public class OCLContext implements OCLContextInterface {
 
     private final TornadoLogger logger;
 
+    private volatile boolean released;
+
     public OCLContext(OCLPlatform platform, long contextPointer, List<OCLTargetDevice> devices) {
         this.platform = platform;
         this.contextID = contextPointer;
@@ -82,6 +86,21 @@ public class OCLContext implements OCLContextInterface {
 
     native long clCreateProgramWithIL(long contextId, byte[] spirvBinaryCode, long[] lengths) throws OCLException;
 
+    // blocking map of the whole buffer for reading and writing
+    native long mapBuffer(long queueId, long bufferId, long size);
+
+    native void unmapBuffer(long queueId, long bufferId, long hostPointer);
+
+    // shared virtual memory (OpenCL 2.0), it returns 0 if the allocation fails
+    native long svmAlloc(long contextId, long flags, long size);
+
+    native void svmFree(long contextId, long svmPointer);
+
+    // blocking map of a coarse-grained region for reading and writing
+    native boolean mapSVM(long queueId, long svmPointer, long size);
+
+    native void unmapSVM(long queueId, long svmPointer);
+
     public int getNumDevices() {
         return devices.size();
     }
@@ -185,6 +204,7 @@ public class OCLContext implements OCLContextInterface {
                 program.cleanup();
             }
             long t1 = System.nanoTime();
+            released = true;
             clReleaseContext(contextID);
             long t2 = System.nanoTime();
 
@@ -228,6 +248,26 @@ public class OCLContext implements OCLContextInterface {
         return null;
     }
 
+    /**
+     * It creates a sub-buffer that covers a region of an existing buffer. The
+     * origin must be aligned to {@code CL_DEVICE_MEM_BASE_ADDR_ALIGN}.
+     *
+     * @return the sub-buffer, or 0 if it cannot be created.
+     */
+    public long createSubBuffer(long bufferId, long origin, long size) {
+        // Layout of cl_buffer_region: { size_t origin; size_t size; }
+        ByteBuffer region = ByteBuffer.allocate(2 * Long.BYTES).order(ByteOrder.nativeOrder());
+        region.putLong(origin).putLong(size);
+        try {
+            long subBuffer = createSubBuffer(bufferId, 0, OCLBufferCreateType.CL_BUFFER_CREATE_TYPE_REGION.getValue(), region.array());
+            logger.info("sub-buffer created %s @ 0x%x (origin=%d)", RuntimeUtilities.humanReadableByteCount(size, false), subBuffer, origin);
+            return subBuffer;
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+        }
+        return 0;
+    }
+
     public void releaseBuffer(long bufferId) {
         try {
             clReleaseMemObject(bufferId);
@@ -237,6 +277,10 @@ public class OCLContext implements OCLContextInterface {
         }
     }
 
+    public boolean isReleased() {
+        return released;
+    }
+
     public int getPlatformIndex() {
         return platform.getIndex();
     }
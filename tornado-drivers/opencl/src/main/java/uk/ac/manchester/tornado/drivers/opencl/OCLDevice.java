@@ -407,6 +407,18 @@ public class OCLDevice implements OCLTargetDevice {
         return buffer.getInt() == OpenCL.CL_TRUE;
     }
 
+    /**
+     * @return the bits of {@code CL_DEVICE_SVM_CAPABILITIES}, or 0 if the device
+     *     does not support OpenCL 2.0.
+     */
+    public long getDeviceSVMCapabilities() {
+        if (deviceVersion() < 200) {
+            return 0;
+        }
+        queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_SVM_CAPABILITIES.getValue());
+        return buffer.getLong();
+    }
+
     public OCLLocalMemType getDeviceLocalMemoryType() {
         if (localMemoryType != null) {
             return localMemoryType;
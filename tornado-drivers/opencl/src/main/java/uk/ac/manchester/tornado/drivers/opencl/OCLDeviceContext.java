@@ -67,6 +67,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     private final OCLCodeCache codeCache;
     private final Map<Long, OCLEventPool> oclEventPool;
     private final TornadoBufferProvider bufferProvider;
+    private OCLHostMemoryAllocator hostMemoryAllocator;
     private boolean wasReset;
     private Set<Long> executionIDs;
 
@@ -123,6 +124,40 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         return executionIDs;
     }
 
+    public synchronized OCLHostMemoryAllocator getHostMemoryAllocator() {
+        if (hostMemoryAllocator == null) {
+            hostMemoryAllocator = new OCLHostMemoryAllocator(context, device);
+        }
+        return hostMemoryAllocator;
+    }
+
+    /**
+     * It hands a pinned region over to the device before the commands of an
+     * execution plan use it in place.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param address
+     *     host address of the region
+     */
+    public void acquirePinnedRegion(long executionPlanId, long address) {
+        getHostMemoryAllocator().unmapForDevice(executionPlanId, getCommandQueue(executionPlanId).getCommandQueuePtr(), address);
+    }
+
+    /**
+     * It waits for the commands of an execution plan and hands a pinned region
+     * back to the host.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param address
+     *     host address of the region
+     */
+    public void releasePinnedRegion(long executionPlanId, long address) {
+        sync(executionPlanId);
+        getHostMemoryAllocator().mapForHost(executionPlanId, getCommandQueue(executionPlanId).getCommandQueuePtr(), address);
+    }
+
     @Override
     public OCLContext getPlatformContext() {
         return context;
@@ -140,11 +175,12 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
 
     @Override
     public void sync(long executionPlanId) {
-        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
-        if (TornadoOptions.USE_SYNC_FLUSH) {
-            commandQueue.flush();
+        for (OCLCommandQueue commandQueue : getCommandQueues(executionPlanId)) {
+            if (TornadoOptions.USE_SYNC_FLUSH) {
+                commandQueue.flush();
+            }
+            commandQueue.finish();
         }
-        commandQueue.finish();
     }
 
     @Override
@@ -263,6 +299,29 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     }
 
     private OCLCommandQueue getCommandQueue(long executionPlanId) {
+        return getCommandQueueTable(executionPlanId).get(context.devices().get(getDeviceIndex()), context);
+    }
+
+    private List<OCLCommandQueue> getCommandQueues(long executionPlanId) {
+        return getCommandQueueTable(executionPlanId).getAll(context.devices().get(getDeviceIndex()), context);
+    }
+
+    /**
+     * It selects the command queue of the execution plan that the current thread
+     * enqueues the following commands on. Events of the other queues are always
+     * added to the wait lists, so commands on different queues only run
+     * concurrently when they do not depend on each other.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param index
+     *     index of the queue, starting from 0
+     */
+    public void selectCommandQueue(long executionPlanId, int index) {
+        getCommandQueueTable(executionPlanId).select(context.devices().get(getDeviceIndex()), context, index);
+    }
+
+    private OCLCommandQueueTable getCommandQueueTable(long executionPlanId) {
         executionIDs.add(executionPlanId);
         if (!commandQueueTable.containsKey(executionPlanId)) {
             OCLTargetDevice device = context.devices().get(getDeviceIndex());
@@ -270,7 +329,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
             oclCommandQueueTable.get(device, context);
             commandQueueTable.put(executionPlanId, oclCommandQueueTable);
         }
-        return commandQueueTable.get(executionPlanId).get(context.devices().get(getDeviceIndex()), context);
+        return commandQueueTable.get(executionPlanId);
     }
 
     private OCLEventPool getOCLEventPool(long executionPlanId) {
@@ -595,13 +654,11 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
 
     @Override
     public void flush(long executionPlanId) {
-        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
-        commandQueue.flush();
+        getCommandQueues(executionPlanId).forEach(OCLCommandQueue::flush);
     }
 
     public void finish(long executionPlanId) {
-        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
-        commandQueue.finish();
+        getCommandQueues(executionPlanId).forEach(OCLCommandQueue::finish);
     }
 
     @Override
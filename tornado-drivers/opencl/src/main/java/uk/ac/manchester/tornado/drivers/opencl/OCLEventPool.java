@@ -117,7 +117,7 @@ public class OCLEventPool {
 
     public boolean serialiseEvents(int[] dependencies, OCLCommandQueue queue) {
         boolean outOfOrderQueue = (queue.getProperties() & CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE) == 1;
-        if (dependencies == null || dependencies.length == 0 || !outOfOrderQueue) {
+        if (dependencies == null || dependencies.length == 0) {
             return false;
         }
 
@@ -125,7 +125,9 @@ public class OCLEventPool {
 
         int index = 0;
         for (final int value : dependencies) {
-            if (value != -1) {
+            // An in-order queue only needs to wait for the events of other queues
+            if (value != -1 && (outOfOrderQueue || eventQueues[value] != queue)) {
+                guarantee(index < waitEventsBuffer.length - 1, "wait list is full (capacity=%d)", waitEventsBuffer.length - 1);
                 index++;
                 waitEventsBuffer[index] = events[value];
                 logger.debug("[%d] 0x%x - %s\n", index, events[value], descriptors[value].getNameDescription());
@@ -0,0 +1,297 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceSVMCapabilities;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Pinned host allocator for the OpenCL backend.
+ *
+ * <p>
+ * On devices that share the physical memory with the host (e.g., integrated
+ * GPUs) and support shared virtual memory (SVM), each region is allocated with
+ * {@code clSVMAlloc}. Kernels use the region in place through the same
+ * pointer, so the region does not need to be copied:
+ * <ul>
+ * <li>Fine-grained regions are coherent at the synchronisation points, and the
+ * host can access them at any time.</li>
+ * <li>Coarse-grained regions are unmapped with {@code clEnqueueSVMUnmap} on the
+ * queue of the execution plan before its commands use them, and mapped again
+ * for the host with {@code clEnqueueSVMMap} once the commands of all the
+ * execution plans that use them are finished. SVM regions keep their address
+ * when they are mapped again.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * On other devices, each region is a buffer created with
+ * {@code CL_MEM_ALLOC_HOST_PTR} that stays mapped into the host address space
+ * until it is freed. Drivers back these buffers with page-locked memory, which
+ * allows DMA transfers from and to the host. These regions are only used as the
+ * source and destination of copies.
+ * </p>
+ */
+public class OCLHostMemoryAllocator implements HostMemoryAllocator {
+
+    private final OCLContext context;
+    private final OCLTargetDevice device;
+    private final TornadoLogger logger;
+
+    /**
+     * Regions indexed by their host address.
+     */
+    private final Map<Long, Region> regions;
+
+    private long queueId;
+
+    private Long svmFlags;
+
+    private enum Kind {
+        FINE_GRAIN_SVM, //
+        COARSE_GRAIN_SVM, //
+        HOST_BUFFER
+    }
+
+    private static final class Region {
+        private final Kind kind;
+        // Backing buffer of HOST_BUFFER regions
+        private final long bufferId;
+        private final long numBytes;
+        // Execution plans that have enqueued commands on the region since it was unmapped
+        private final Set<Long> executionPlans;
+        private boolean mapped;
+
+        private Region(Kind kind, long bufferId, long numBytes) {
+            this.kind = kind;
+            this.bufferId = bufferId;
+            this.numBytes = numBytes;
+            this.executionPlans = new HashSet<>();
+            this.mapped = true;
+        }
+    }
+
+    public OCLHostMemoryAllocator(OCLContext context, OCLTargetDevice device) {
+        this.context = context;
+        this.device = device;
+        this.logger = new TornadoLogger(this.getClass());
+        this.regions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The first map and the last unmap of a region use their own in-order
+     * queue. No execution plan uses the region at those points.
+     */
+    private synchronized long getQueue() throws OCLException {
+        if (queueId == 0) {
+            queueId = context.clCreateCommandQueue(context.getContextId(), device.getId(), 0);
+        }
+        return queueId;
+    }
+
+    /**
+     * @return the flags of {@code clSVMAlloc} for the device, or -1 if the
+     *     regions are not allocated in shared virtual memory.
+     */
+    private synchronized long getSVMFlags() {
+        if (svmFlags == null) {
+            long capabilities = 0;
+            if (device instanceof OCLDevice oclDevice && oclDevice.hasDeviceUnifiedMemory()) {
+                capabilities = oclDevice.getDeviceSVMCapabilities();
+            }
+            if ((capabilities & OCLDeviceSVMCapabilities.CL_DEVICE_SVM_FINE_GRAIN_BUFFER) != 0) {
+                svmFlags = OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_SVM_FINE_GRAIN_BUFFER;
+            } else if ((capabilities & OCLDeviceSVMCapabilities.CL_DEVICE_SVM_COARSE_GRAIN_BUFFER) != 0) {
+                svmFlags = OCLMemFlags.CL_MEM_READ_WRITE;
+            } else {
+                svmFlags = -1L;
+            }
+        }
+        return svmFlags;
+    }
+
+    @Override
+    public long allocatePinned(long numBytes) {
+        long flags = getSVMFlags();
+        if (flags != -1) {
+            long address = allocateSVM(flags, numBytes);
+            if (address != 0) {
+                return address;
+            }
+            logger.warn("clSVMAlloc failed for %d bytes. Using a CL_MEM_ALLOC_HOST_PTR buffer.", numBytes);
+        }
+        return allocateHostBuffer(numBytes);
+    }
+
+    private long allocateSVM(long flags, long numBytes) {
+        long address = context.svmAlloc(context.getContextId(), flags, numBytes);
+        if (address == 0) {
+            return 0;
+        }
+        if ((flags & OCLMemFlags.CL_MEM_SVM_FINE_GRAIN_BUFFER) != 0) {
+            regions.put(address, new Region(Kind.FINE_GRAIN_SVM, 0, numBytes));
+            return address;
+        }
+        // The host can only access a coarse-grained region while it is mapped
+        try {
+            if (context.mapSVM(getQueue(), address, numBytes)) {
+                regions.put(address, new Region(Kind.COARSE_GRAIN_SVM, 0, numBytes));
+                return address;
+            }
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+        }
+        context.svmFree(context.getContextId(), address);
+        return 0;
+    }
+
+    private long allocateHostBuffer(long numBytes) {
+        OCLContext.OCLBufferResult result = context.createBuffer(OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_ALLOC_HOST_PTR, numBytes);
+        if (result == null || result.getResult() != 0) {
+            logger.warn("clCreateBuffer with CL_MEM_ALLOC_HOST_PTR failed for %d bytes. Using pageable memory.", numBytes);
+            return 0;
+        }
+        try {
+            long address = context.mapBuffer(getQueue(), result.getBuffer(), numBytes);
+            if (address == 0) {
+                context.releaseBuffer(result.getBuffer());
+                return 0;
+            }
+            regions.put(address, new Region(Kind.HOST_BUFFER, result.getBuffer(), numBytes));
+            return address;
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+            context.releaseBuffer(result.getBuffer());
+            return 0;
+        }
+    }
+
+    @Override
+    public void freePinned(long address) {
+        Region region = regions.remove(address);
+        // Regions are released together with the context at shutdown
+        if (region == null || context.isReleased()) {
+            return;
+        }
+        if (region.kind != Kind.HOST_BUFFER) {
+            context.svmFree(context.getContextId(), address);
+            return;
+        }
+        try {
+            context.unmapBuffer(getQueue(), region.bufferId, address);
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+        }
+        context.releaseBuffer(region.bufferId);
+    }
+
+    /**
+     * It unmaps a coarse-grained SVM region before the commands of an execution
+     * plan use it on the device. The unmap is enqueued on the queue of the
+     * execution plan and waits for it.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param queueId
+     *     current command queue of the execution plan
+     * @param address
+     *     host address of the region
+     */
+    void unmapForDevice(long executionPlanId, long queueId, long address) {
+        Region region = regions.get(address);
+        if (region == null || region.kind != Kind.COARSE_GRAIN_SVM) {
+            return;
+        }
+        synchronized (region) {
+            region.executionPlans.add(executionPlanId);
+            if (region.mapped) {
+                context.unmapSVM(queueId, address);
+                region.mapped = false;
+            }
+        }
+    }
+
+    /**
+     * It maps a coarse-grained SVM region for the host once the commands of an
+     * execution plan are finished. The region stays unmapped while other
+     * execution plans use it.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param queueId
+     *     current command queue of the execution plan, with no pending commands
+     * @param address
+     *     host address of the region
+     */
+    void mapForHost(long executionPlanId, long queueId, long address) {
+        Region region = regions.get(address);
+        if (region == null || region.kind != Kind.COARSE_GRAIN_SVM) {
+            return;
+        }
+        synchronized (region) {
+            if (!region.executionPlans.remove(executionPlanId) || !region.executionPlans.isEmpty() || region.mapped) {
+                return;
+            }
+            if (!context.mapSVM(queueId, address, region.numBytes)) {
+                throw new TornadoMemoryException(STR."[ERROR] The shared virtual memory region at 0x\{Long.toHexString(address)} could not be mapped for the host");
+            }
+            region.mapped = true;
+        }
+    }
+
+    /**
+     * @param pointer
+     *     raw value of a kernel argument
+     * @return true if the value is the pointer of an SVM region, which kernels
+     *     receive through {@code clSetKernelArgSVMPointer}.
+     */
+    public boolean isSVMPointer(long pointer) {
+        Region region = regions.get(pointer);
+        return region != null && region.kind != Kind.HOST_BUFFER;
+    }
+
+    /**
+     * Only SVM regions can be used in place. The buffers created with
+     * {@code CL_MEM_ALLOC_HOST_PTR} are mapped for the host for their whole life,
+     * so kernels cannot use them.
+     */
+    @Override
+    public long getDeviceBuffer(long address) {
+        return isSVMPointer(address) ? address : 0;
+    }
+
+    @Override
+    public String getName() {
+        return "OpenCL";
+    }
+}
@@ -58,6 +58,8 @@ public class OCLKernel {
 
     native static void clSetKernelArgRef(long kernelId, int index, long buffer) throws OCLException;
 
+    native static void clSetKernelArgSVMPointer(long kernelId, int index, long svmPointer) throws OCLException;
+
     native static void clGetKernelInfo(long kernelId, int info, byte[] buffer) throws OCLException;
 
     public void setArg(int index, ByteBuffer buffer) {
@@ -77,6 +79,14 @@ public class OCLKernel {
         }
     }
 
+    public void setArgSVMPointer(int index, long svmPointer) {
+        try {
+            clSetKernelArgSVMPointer(oclKernelID, index, svmPointer);
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+        }
+    }
+
     public void setArgUnused(int index) {
         try {
             clSetKernelArg(oclKernelID, index, 8, null);
@@ -53,6 +53,9 @@ public class OCLTargetDescription extends TargetDescription {
     private final boolean supportsFP64;
     private final String extensions;
     private final boolean supportsInt64Atomics;
+    private final boolean supportsInt64ExtendedAtomics;
+    private final boolean supportsSubGroups;
+    private final boolean supportsSubGroupShuffle;
 
     private final boolean supportsF16;
 
@@ -65,6 +68,9 @@ public class OCLTargetDescription extends TargetDescription {
         this.supportsFP64 = supportsFP64;
         this.extensions = extensions;
         supportsInt64Atomics = extensions.contains("cl_khr_int64_base_atomics");
+        supportsInt64ExtendedAtomics = extensions.contains("cl_khr_int64_extended_atomics");
+        supportsSubGroups = extensions.contains("cl_khr_subgroups");
+        supportsSubGroupShuffle = extensions.contains("cl_khr_subgroup_shuffle");
         supportsF16 = extensions.contains("cl_khr_fp16");
     }
     //@formatter:on
@@ -103,6 +109,18 @@ public class OCLTargetDescription extends TargetDescription {
         return supportsInt64Atomics;
     }
 
+    public boolean supportsInt64ExtendedAtomics() {
+        return supportsInt64ExtendedAtomics;
+    }
+
+    public boolean supportsSubGroups() {
+        return supportsSubGroups;
+    }
+
+    public boolean supportsSubGroupShuffle() {
+        return supportsSubGroupShuffle;
+    }
+
     public String getExtensions() {
         return extensions;
     }
@@ -23,17 +23,18 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl;
 
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.REMOTE_DEVICES;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 
 import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
+import uk.ac.manchester.tornado.drivers.opencl.remote.RemoteOCLPlatform;
 import uk.ac.manchester.tornado.drivers.opencl.runtime.OCLTornadoDevice;
 import uk.ac.manchester.tornado.drivers.opencl.virtual.VirtualDeviceDescriptor;
 import uk.ac.manchester.tornado.drivers.opencl.virtual.VirtualJSONParser;
@@ -61,20 +62,32 @@ public class OpenCL {
         if (VIRTUAL_DEVICE_ENABLED) {
             initializeVirtual();
         } else {
+            boolean localPlatforms = true;
             try {
                 // Loading JNI OpenCL library
                 System.loadLibrary(OpenCL.OPENCL_JNI_LIBRARY);
             } catch (final UnsatisfiedLinkError e) {
-                throw new TornadoRuntimeException("[ERROR] OpenCL JNI Library not found");
+                if (REMOTE_DEVICES.isEmpty()) {
+                    throw new TornadoRuntimeException("[ERROR] OpenCL JNI Library not found");
+                }
+                // The devices of the workers can be used without a local OpenCL installation
+                localPlatforms = false;
             }
 
-            try {
-                initialise();
-            } catch (final TornadoRuntimeException e) {
-                throw new TornadoRuntimeException("[ERROR] Initialization of the OpenCL platform is not correct");
+            if (localPlatforms) {
+                try {
+                    initialise();
+                } catch (final TornadoRuntimeException e) {
+                    throw new TornadoRuntimeException("[ERROR] Initialization of the OpenCL platform is not correct");
+                }
             }
 
-            // add a shutdown hook to free-up all OpenCL resources on VM exit
+            if (!REMOTE_DEVICES.isEmpty()) {
+                initializeRemote();
+            }
+            initialised = true;
+
+            // add a shutdown hook to free-up all OpenCL resources (and close the connections with the workers) on VM exit
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 Thread.currentThread().setName("OpenCL-Cleanup-Thread");
                 OpenCL.cleanup();
@@ -115,6 +128,18 @@ public class OpenCL {
         }
     }
 
+    /**
+     * Each worker in {@code tornado.remote.devices} is exposed as an OpenCL
+     * platform with the devices of the worker. The platforms of the workers are
+     * added after the local platforms.
+     */
+    private static void initializeRemote() {
+        String[] addresses = REMOTE_DEVICES.split(",");
+        for (String address : addresses) {
+            platforms.add(new RemoteOCLPlatform(platforms.size(), address));
+        }
+    }
+
     public static void initialise() {
         if (!initialised) {
             try {
@@ -194,11 +219,11 @@ public class OpenCL {
         callWrapper.reset();
 
         // Fill header of call callWrapper with empty values
-        callWrapper.setKernelContext(new HashMap<>());
+        callWrapper.setKernelContext(null);
 
         // Pass arguments to the call callWrapper
         for (int i = 0; i < numArgs; i++) {
-            callWrapper.addCallArgument(states.get(i).getXPUBuffer().toBuffer(), true);
+            callWrapper.addReferenceArgument(states.get(i).getXPUBuffer().toBuffer());
         }
 
         // Run the code
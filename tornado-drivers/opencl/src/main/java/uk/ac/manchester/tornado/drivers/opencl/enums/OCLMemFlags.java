@@ -44,6 +44,10 @@ public class OCLMemFlags {
     public static final long CL_MEM_HOST_READ_ONLY  = (1 << 8);
     public static final long CL_MEM_HOST_NO_ACCESS  = (1 << 9);
 
+    // OpenCL 2.0 shared virtual memory
+    public static final long CL_MEM_SVM_FINE_GRAIN_BUFFER = (1 << 10);
+    public static final long CL_MEM_SVM_ATOMICS           = (1 << 11);
+
     // Intel Altera FPGAs Memory Banks
     public static final long CL_CHANNEL_1_INTELFPGA = (1 << 16);
     public static final long CL_CHANNEL_2_INTELFPGA = (2 << 16);
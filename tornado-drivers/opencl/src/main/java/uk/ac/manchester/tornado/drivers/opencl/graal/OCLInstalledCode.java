@@ -22,8 +22,6 @@
 package uk.ac.manchester.tornado.drivers.opencl.graal;
 
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
-import static uk.ac.manchester.tornado.runtime.common.RuntimeUtilities.isBoxedPrimitive;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEBUG;
 
 import java.nio.ByteBuffer;
@@ -35,7 +33,6 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
-import uk.ac.manchester.tornado.drivers.common.mm.PrimitiveSerialiser;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLKernel;
 import uk.ac.manchester.tornado.drivers.opencl.OCLProgram;
@@ -45,6 +42,8 @@ import uk.ac.manchester.tornado.drivers.opencl.runtime.OCLTornadoDevice;
 import uk.ac.manchester.tornado.drivers.opencl.scheduler.OCLGenericGPUScheduler;
 import uk.ac.manchester.tornado.drivers.opencl.scheduler.OCLKernelScheduler;
 import uk.ac.manchester.tornado.drivers.opencl.scheduler.OCLScheduler;
+import uk.ac.manchester.tornado.runtime.common.KernelArgumentCache;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
@@ -57,6 +56,7 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
     private static final int CL_MEM_SIZE = 8;
     private final OCLKernelScheduler DEFAULT_SCHEDULER;
     private final ByteBuffer buffer = ByteBuffer.allocate(CL_MEM_SIZE);
+    private final KernelArgumentCache argumentCache = new KernelArgumentCache();
     private final byte[] code;
     private final OCLProgram program;
     private final OCLDeviceContext deviceContext;
@@ -138,8 +138,31 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         return new String(code);
     }
 
+    private void setLongArg(int index, long value) {
+        if (argumentCache.update(index, value)) {
+            buffer.clear();
+            buffer.putLong(value);
+            kernel.setArg(index, buffer);
+        }
+    }
+
+    private void setCallArg(int index, KernelArguments arguments, int argument) {
+        if (argumentCache.update(index, arguments.getRawValue(argument), arguments.getKind(argument).getSize())) {
+            if (arguments.isReference(argument) && deviceContext.getHostMemoryAllocator().isSVMPointer(arguments.getRawValue(argument))) {
+                // Zero-copy buffers in shared virtual memory are passed by pointer
+                kernel.setArgSVMPointer(index, arguments.getRawValue(argument));
+                return;
+            }
+            buffer.clear();
+            arguments.put(buffer, argument);
+            kernel.setArg(index, buffer);
+        }
+    }
+
     /**
-     * Set arguments into the OpenCL device Kernel.
+     * Set arguments into the OpenCL device Kernel. The OpenCL kernel keeps its
+     * arguments between launches, so only the arguments that changed since the
+     * last launch of this kernel are set.
      *
      * @param kernelArgs
      *     OpenCL kernel parameters {@link OCLByteBuffer}
@@ -148,33 +171,21 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
      */
     private void setKernelArgs(final OCLKernelStackFrame kernelArgs, final XPUBuffer atomicSpace, TaskMetaData meta) {
         int index = 0;
+        final KernelArguments arguments = kernelArgs.getArguments();
 
         // kernel context
-        buffer.clear();
-        buffer.putLong(kernelArgs.toBuffer());
-        kernel.setArg(index, buffer);
+        setLongArg(index, kernelArgs.toBuffer());
         index++;
 
         if (isSPIRVBinary) {
             // Set the rest of the SPIR-V kernel arguments.
-            for (int i = 0, argIndex = 0; i < kernelArgs.getCallArguments().size(); i++) {
-                KernelStackFrame.CallArgument arg = kernelArgs.getCallArguments().get(i);
+            for (int i = 0; i < arguments.size(); i++) {
                 // Include the extra kernel context argument for SPIR-V binaries.
-                if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
-                    buffer.clear();
-                    buffer.putLong(kernelArgs.toBuffer());
-                    kernel.setArg(index + argIndex, buffer);
-                    argIndex++;
-                    continue;
-                }
-                if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
-                    buffer.clear();
-                    PrimitiveSerialiser.put(buffer, arg.getValue());
-                    kernel.setArg(index + argIndex, buffer);
+                if (arguments.isKernelContext(i)) {
+                    setLongArg(index + i, kernelArgs.toBuffer());
                 } else {
-                    shouldNotReachHere();
+                    setCallArg(index + i, arguments, i);
                 }
-                argIndex++;
             }
             return;
         }
@@ -182,10 +193,9 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         // constant memory
         if (meta != null && meta.getConstantSize() > 0) {
             kernel.setArg(index, ByteBuffer.wrap(meta.getConstantData()));
+            argumentCache.invalidate(index);
         } else {
-            buffer.clear();
-            buffer.putLong(kernelArgs.toConstantAddress());
-            kernel.setArg(index, buffer);
+            setLongArg(index, kernelArgs.toConstantAddress());
         }
         index++;
 
@@ -199,25 +209,16 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         index++;
 
         // Atomics in Global Memory
-        buffer.clear();
-        buffer.putLong(kernelArgs.toAtomicAddress());
-        kernel.setArg(index, buffer);
+        setLongArg(index, kernelArgs.toAtomicAddress());
         index++;
 
         // Parameters
-        for (int i = 0, argIndex = 0; i < kernelArgs.getCallArguments().size(); i++) {
-            KernelStackFrame.CallArgument arg = kernelArgs.getCallArguments().get(i);
-            if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+        for (int i = 0, argIndex = 0; i < arguments.size(); i++) {
+            if (arguments.isKernelContext(i)) {
                 // We do not set any kernel context argument. This is only for the Java side.
                 continue;
             }
-            if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
-                buffer.clear();
-                PrimitiveSerialiser.put(buffer, arg.getValue());
-                kernel.setArg(index + argIndex, buffer);
-            } else {
-                shouldNotReachHere();
-            }
+            setCallArg(index + argIndex, arguments, i);
             argIndex++;
         }
     }
@@ -131,12 +131,14 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
     private final TornadoVMConfigAccess vmConfig;
     private ReduceGPUSnippets.Templates gpuReduceSnippets;
     private ReduceCPUSnippets.Templates cpuReduceSnippets;
+    private final boolean supportsSubGroups;
 
     public OCLLoweringProvider(MetaAccessProvider metaAccess, ForeignCallsProvider foreignCalls, PlatformConfigurationProvider platformConfig, MetaAccessExtensionProvider metaAccessExtensionProvider,
             ConstantReflectionProvider constantReflection, TornadoVMConfigAccess vmConfig, OCLTargetDescription target) {
         super(metaAccess, foreignCalls, platformConfig, metaAccessExtensionProvider, target, false);
         this.vmConfig = vmConfig;
         this.constantReflection = constantReflection;
+        this.supportsSubGroups = target.supportsSubGroups();
     }
 
     /**
@@ -158,7 +160,7 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
 
     private void initializeSnippets(OptionValues options, SnippetCounter.Group.Factory factory, Providers providers) {
         this.cpuReduceSnippets = new ReduceCPUSnippets.Templates(options, providers);
-        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers);
+        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers, supportsSubGroups);
     }
 
     @Override
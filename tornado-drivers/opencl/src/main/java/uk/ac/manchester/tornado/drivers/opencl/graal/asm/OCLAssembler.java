@@ -80,6 +80,18 @@ public final class OCLAssembler extends Assembler {
             emitLine("#pragma OPENCL EXTENSION cl_khr_int64_base_atomics : enable  ");
         }
 
+        if (((OCLTargetDescription) target).supportsInt64ExtendedAtomics()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_int64_extended_atomics : enable  ");
+        }
+
+        if (((OCLTargetDescription) target).supportsSubGroups()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_subgroups : enable  ");
+        }
+
+        if (((OCLTargetDescription) target).supportsSubGroupShuffle()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_subgroup_shuffle : enable  ");
+        }
+
         if (EMIT_INTRINSICS) {
             emitAtomicIntrinsics();
         }
@@ -593,6 +605,10 @@ public final class OCLAssembler extends Assembler {
     public static class OCLNullaryIntrinsic extends OCLNullaryOp {
         // @formatter:off
 
+        public static final OCLNullaryIntrinsic SUB_GROUP_ID = new OCLNullaryIntrinsic("get_sub_group_id");
+        public static final OCLNullaryIntrinsic SUB_GROUP_SIZE = new OCLNullaryIntrinsic("get_sub_group_size");
+        public static final OCLNullaryIntrinsic SUB_GROUP_LOCAL_ID = new OCLNullaryIntrinsic("get_sub_group_local_id");
+        public static final OCLNullaryIntrinsic NUM_SUB_GROUPS = new OCLNullaryIntrinsic("get_num_sub_groups");
         // @formatter:on
         protected OCLNullaryIntrinsic(String opcode) {
             super(opcode);
@@ -745,10 +761,20 @@ public final class OCLAssembler extends Assembler {
         public static final OCLUnaryIntrinsic AS_FLOAT = new OCLUnaryIntrinsic("as_float");
         public static final OCLUnaryIntrinsic AS_INT = new OCLUnaryIntrinsic("as_int");
 
+        public static final OCLUnaryIntrinsic CONVERT_HALF_TO_FLOAT = new OCLUnaryIntrinsic("convert_float");
+
         public static final OCLUnaryIntrinsic IS_FINITE = new OCLUnaryIntrinsic("isfinite");
         public static final OCLUnaryIntrinsic IS_INF = new OCLUnaryIntrinsic("isinf");
         public static final OCLUnaryIntrinsic IS_NAN = new OCLUnaryIntrinsic("isnan");
         public static final OCLUnaryIntrinsic IS_NORMAL = new OCLUnaryIntrinsic("isnormal");
+
+        public static final OCLUnaryIntrinsic SUB_GROUP_ANY = new OCLUnaryIntrinsic("sub_group_any");
+        public static final OCLUnaryIntrinsic SUB_GROUP_ALL = new OCLUnaryIntrinsic("sub_group_all");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_ADD = new OCLUnaryIntrinsic("sub_group_reduce_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MIN = new OCLUnaryIntrinsic("sub_group_reduce_min");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MAX = new OCLUnaryIntrinsic("sub_group_reduce_max");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_INCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_inclusive_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_EXCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_exclusive_add");
         // @formatter:on
 
         protected OCLUnaryIntrinsic(String opcode) {
@@ -881,6 +907,10 @@ public final class OCLAssembler extends Assembler {
 
         public static final OCLBinaryIntrinsic DOT = new OCLBinaryIntrinsic("dot");
         public static final OCLBinaryIntrinsic CROSS = new OCLBinaryIntrinsic("cross");
+
+        public static final OCLBinaryIntrinsic SUB_GROUP_BROADCAST = new OCLBinaryIntrinsic("sub_group_broadcast");
+        public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE = new OCLBinaryIntrinsic("sub_group_shuffle");
+        public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE_XOR = new OCLBinaryIntrinsic("sub_group_shuffle_xor");
         // @formatter:on
 
         protected OCLBinaryIntrinsic(String opcode) {
@@ -98,6 +98,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLReferenceMapBuilder;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.FPGAWorkGroupSizeNode;
+import uk.ac.manchester.tornado.drivers.opencl.remote.RemoteOCLDevice;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.OCLTokens;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -173,7 +174,8 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
 
     @Override
     public void init() {
-        if (VIRTUAL_DEVICE_ENABLED) {
+        if (VIRTUAL_DEVICE_ENABLED || deviceContext.getDevice() instanceof RemoteOCLDevice) {
+            // The internal buffers of remote devices are allocated by the worker
             backEndInitialized = true;
             return;
         }
@@ -38,6 +38,7 @@ import org.graalvm.compiler.phases.schedule.SchedulePhase;
 
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoFeatureExtraction;
+import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoMemoryCoalescingAnalysis;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoopCanonicalization;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.utils.DumpLowTierGraph;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.InverseSquareRootPhase;
@@ -103,10 +104,15 @@ public class OCLLowTier extends TornadoLowTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.LATEST_OUT_OF_LOOPS));
 
-        if (TornadoOptions.FEATURE_EXTRACTION) {
+        if (TornadoOptions.FEATURE_EXTRACTION || TornadoOptions.VIRTUAL_DEVICE_ENABLED) {
+            // The performance model of the virtual device uses the features of the kernels
             appendPhase(new TornadoFeatureExtraction(tornadoDeviceContext));
         }
 
+        if (TornadoOptions.COALESCING_ANALYSIS) {
+            appendPhase(new TornadoMemoryCoalescingAnalysis());
+        }
+
         if (TornadoOptions.DUMP_LOW_TIER_WITH_IGV) {
             appendPhase(new DumpLowTierGraph());
         }
@@ -52,7 +52,9 @@ import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.FixedWithNextNode;
 import org.graalvm.compiler.nodes.PiNode;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
 import org.graalvm.compiler.nodes.extended.BoxNode;
 import org.graalvm.compiler.nodes.extended.JavaReadNode;
 import org.graalvm.compiler.nodes.extended.JavaWriteNode;
@@ -78,6 +80,10 @@ import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TornadoVMIntrinsics;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.AtomicAddNodeTemplate;
@@ -85,6 +91,8 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.DecAtomicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.GetAtomicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.IncAtomicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLAtomicOperationNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLBarrierNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPUnaryIntrinsicNode;
@@ -301,12 +309,131 @@ public class OCLGraphBuilderPlugins {
         registerDoubleLocalArray(r, returnedJavaKind, elementType);
     }
 
+    /**
+     * Native arrays are accessed by their absolute address, which includes the
+     * header of the array, and local arrays by index.
+     */
+    private static AddressNode createAtomicAddress(GraphBuilderContext b, ValueNode array, ValueNode index, JavaKind elementKind, boolean isLocal) {
+        if (isLocal) {
+            return b.append(new OffsetAddressNode(array, index));
+        }
+        SignExtendNode longIndex = b.append(new SignExtendNode(index, 64));
+        MulNode offset = b.append(new MulNode(longIndex, ConstantNode.forLong(elementKind.getByteCount())));
+        AddNode offsetWithHeader = b.append(new AddNode(offset, ConstantNode.forLong(TornadoOptions.PANAMA_OBJECT_HEADER_SIZE)));
+        return b.append(new OffsetAddressNode(array, offsetWithHeader));
+    }
+
+    private static void registerAtomicOperations(Registration r, Class<?> arrayType, JavaKind elementKind, boolean isLocal) {
+        Class<?> type = elementKind.toJavaClass();
+        String[] methodNames = { "atomicAdd", "atomicMin", "atomicMax", "atomicExchange" };
+        OCLAtomicOperationNode.Operation[] operations = { OCLAtomicOperationNode.Operation.ADD, OCLAtomicOperationNode.Operation.MIN, OCLAtomicOperationNode.Operation.MAX,
+                OCLAtomicOperationNode.Operation.EXCHANGE };
+        for (int i = 0; i < operations.length; i++) {
+            OCLAtomicOperationNode.Operation operation = operations[i];
+            r.register(new InvocationPlugin(methodNames[i], Receiver.class, arrayType, int.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode value) {
+                    AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                    b.addPush(elementKind, new OCLAtomicOperationNode(operation, elementKind, address, value, null));
+                    return true;
+                }
+            });
+        }
+
+        r.register(new InvocationPlugin("atomicCompareAndSwap", Receiver.class, arrayType, int.class, type, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode expected, ValueNode newValue) {
+                AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                b.addPush(elementKind, new OCLAtomicOperationNode(OCLAtomicOperationNode.Operation.COMPARE_AND_SWAP, elementKind, address, newValue, expected));
+                return true;
+            }
+        });
+    }
+
+    private static void atomicsPlugins(Registration r) {
+        registerAtomicOperations(r, IntArray.class, JavaKind.Int, false);
+        registerAtomicOperations(r, LongArray.class, JavaKind.Long, false);
+        registerAtomicOperations(r, FloatArray.class, JavaKind.Float, false);
+        registerAtomicOperations(r, DoubleArray.class, JavaKind.Double, false);
+
+        registerAtomicOperations(r, int[].class, JavaKind.Int, true);
+        registerAtomicOperations(r, long[].class, JavaKind.Long, true);
+        registerAtomicOperations(r, float[].class, JavaKind.Float, true);
+        registerAtomicOperations(r, double[].class, JavaKind.Double, true);
+    }
+
+    private static void registerSubGroupOperations(Registration r, JavaKind kind) {
+        Class<?> type = kind.toJavaClass();
+        String[] unaryNames = { "subGroupReduceAdd", "subGroupReduceMin", "subGroupReduceMax", "subGroupScanInclusiveAdd", "subGroupScanExclusiveAdd" };
+        OCLSubGroupNode.Operation[] unaryOperations = { OCLSubGroupNode.Operation.REDUCE_ADD, OCLSubGroupNode.Operation.REDUCE_MIN, OCLSubGroupNode.Operation.REDUCE_MAX,
+                OCLSubGroupNode.Operation.SCAN_INCLUSIVE_ADD, OCLSubGroupNode.Operation.SCAN_EXCLUSIVE_ADD };
+        for (int i = 0; i < unaryOperations.length; i++) {
+            OCLSubGroupNode.Operation operation = unaryOperations[i];
+            r.register(new InvocationPlugin(unaryNames[i], Receiver.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                    b.addPush(kind, new OCLSubGroupNode(operation, kind, value, null));
+                    return true;
+                }
+            });
+        }
+
+        String[] binaryNames = { "subGroupShuffle", "subGroupShuffleXor", "subGroupBroadcast" };
+        OCLSubGroupNode.Operation[] binaryOperations = { OCLSubGroupNode.Operation.SHUFFLE, OCLSubGroupNode.Operation.SHUFFLE_XOR, OCLSubGroupNode.Operation.BROADCAST };
+        for (int i = 0; i < binaryOperations.length; i++) {
+            OCLSubGroupNode.Operation operation = binaryOperations[i];
+            r.register(new InvocationPlugin(binaryNames[i], Receiver.class, type, int.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode lane) {
+                    b.addPush(kind, new OCLSubGroupNode(operation, kind, value, lane));
+                    return true;
+                }
+            });
+        }
+    }
+
+    private static void subGroupsPlugins(Registration r) {
+        String[] idNames = { "subGroupId", "subGroupSize", "subGroupLocalId" };
+        OCLSubGroupNode.Operation[] idOperations = { OCLSubGroupNode.Operation.ID, OCLSubGroupNode.Operation.SIZE, OCLSubGroupNode.Operation.LOCAL_ID };
+        for (int i = 0; i < idOperations.length; i++) {
+            OCLSubGroupNode.Operation operation = idOperations[i];
+            r.register(new InvocationPlugin(idNames[i], Receiver.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                    b.addPush(JavaKind.Int, new OCLSubGroupNode(operation));
+                    return true;
+                }
+            });
+        }
+
+        String[] voteNames = { "subGroupAny", "subGroupAll" };
+        OCLSubGroupNode.Operation[] voteOperations = { OCLSubGroupNode.Operation.ANY, OCLSubGroupNode.Operation.ALL };
+        for (int i = 0; i < voteOperations.length; i++) {
+            OCLSubGroupNode.Operation operation = voteOperations[i];
+            r.register(new InvocationPlugin(voteNames[i], Receiver.class, boolean.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode predicate) {
+                    // The vote functions return any non-zero value for true
+                    b.addPush(JavaKind.Boolean, new OCLSubGroupNode(operation, JavaKind.Int, predicate, null));
+                    return true;
+                }
+            });
+        }
+
+        registerSubGroupOperations(r, JavaKind.Int);
+        registerSubGroupOperations(r, JavaKind.Long);
+        registerSubGroupOperations(r, JavaKind.Float);
+        registerSubGroupOperations(r, JavaKind.Double);
+    }
+
     private static void registerKernelContextPlugins(InvocationPlugins plugins) {
         Registration r = new Registration(plugins, KernelContext.class);
 
         registerLocalBarrier(r);
         registerGlobalBarrier(r);
         localArraysPlugins(r);
+        atomicsPlugins(r);
+        subGroupsPlugins(r);
     }
 
     private static boolean printfHandler(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode... args) {
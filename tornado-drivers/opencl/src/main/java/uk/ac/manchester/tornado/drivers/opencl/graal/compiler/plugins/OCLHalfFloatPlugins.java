@@ -36,6 +36,7 @@ import uk.ac.manchester.tornado.runtime.graal.nodes.DivHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.MultHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.SubHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatPlaceholder;
+import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatToFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewHalfFloatInstance;
 
 public class OCLHalfFloatPlugins {
@@ -104,6 +105,14 @@ public class OCLHalfFloatPlugins {
             }
         });
 
+        r.register(new InvocationPlugin("getFloat32", InvocationPlugin.Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                b.push(JavaKind.Float, b.append(new HalfFloatToFloatNode(receiver.get())));
+                return true;
+            }
+        });
+
     }
 
 }
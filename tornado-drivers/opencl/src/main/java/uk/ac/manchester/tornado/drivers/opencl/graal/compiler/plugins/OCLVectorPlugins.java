@@ -24,13 +24,17 @@
 package uk.ac.manchester.tornado.drivers.opencl.graal.compiler.plugins;
 
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.SOA_LAYOUT;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.TORNADO_ENABLE_BIFS;
 
 import org.graalvm.compiler.core.common.type.ObjectStamp;
 import org.graalvm.compiler.core.common.type.StampPair;
+import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.ParameterNode;
 import org.graalvm.compiler.nodes.PiNode;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderTool;
@@ -39,11 +43,14 @@ import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
 import org.graalvm.compiler.nodes.graphbuilderconf.NodePlugin;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
 import org.graalvm.compiler.nodes.java.StoreIndexedNode;
 import org.graalvm.compiler.nodes.memory.address.AddressNode;
 import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
 
 import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaField;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import jdk.vm.ci.meta.ResolvedJavaType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
@@ -163,6 +170,10 @@ public final class OCLVectorPlugins {
         registerVectorCollectionsPlugins(plugins, OCLKind.VECTORFLOAT2, FloatArray.class, Float2.class);
         registerVectorCollectionsPlugins(plugins, OCLKind.VECTORFLOAT3, FloatArray.class, Float3.class);
         registerVectorCollectionsPlugins(plugins, OCLKind.VECTORFLOAT4, FloatArray.class, Float4.class);
+        if (SOA_LAYOUT) {
+            registerStructOfArraysPlugins(plugins, OCLKind.VECTORFLOAT3, Float3.class);
+            registerStructOfArraysPlugins(plugins, OCLKind.VECTORFLOAT4, Float4.class);
+        }
         registerVectorCollectionsPlugins(plugins, OCLKind.VECTORFLOAT8, FloatArray.class, Float8.class);
         registerVectorCollectionsPlugins(plugins, OCLKind.VECTORFLOAT16, FloatArray.class, Float16.class);
 
@@ -268,6 +279,82 @@ public final class OCLVectorPlugins {
 
     }
 
+    private static ValueNode loadField(GraphBuilderContext b, ValueNode object, Class<?> declaringClass, String fieldName) {
+        try {
+            ResolvedJavaField field = b.getMetaAccess().lookupJavaField(declaringClass.getDeclaredField(fieldName));
+            return b.add(LoadFieldNode.create(b.getAssumptions(), object, field));
+        } catch (NoSuchFieldException e) {
+            throw new TornadoCompilationException(STR."Field \{fieldName} not found in \{declaringClass.getName()}");
+        }
+    }
+
+    /**
+     * Index of a component in the struct of arrays layout: the component of
+     * each element is stored after the previous components of all the
+     * elements.
+     */
+    private static ValueNode componentIndex(GraphBuilderContext b, ValueNode index, ValueNode numElements, int component) {
+        if (component == 0) {
+            return index;
+        }
+        ValueNode offset = b.append(new MulNode(numElements, ConstantNode.forInt(component)));
+        return b.append(new AddNode(offset, index));
+    }
+
+    /**
+     * Accesses to the collections that are stored as a struct of arrays on the
+     * device (see {@code tornado.soa.layout}). Each component of an element is
+     * loaded and stored separately, so consecutive threads access consecutive
+     * addresses. The number of elements of the collection becomes a constant
+     * during the task specialisation.
+     */
+    private static void registerStructOfArraysPlugins(final InvocationPlugins plugins, final OCLKind collectionKind, final Class<?> vectorClass) {
+
+        final Class<?> declaringClass = collectionKind.getJavaClass();
+
+        final Registration r = new Registration(plugins, declaringClass);
+        r.register(new InvocationPlugin("get", Receiver.class, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode index) {
+                OCLKind kind = OCLKind.fromResolvedJavaType(b.getMetaAccess().lookupJavaType(vectorClass));
+                JavaKind elementKind = kind.getElementKind().asJavaKind();
+                ValueNode collection = receiver.get();
+                ValueNode storage = loadField(b, collection, declaringClass, "storage");
+                ValueNode numElements = loadField(b, collection, declaringClass, "numElements");
+                VectorValueNode vector = b.append(new VectorValueNode(kind));
+                for (int component = 0; component < kind.getVectorLength(); component++) {
+                    LoadIndexedNode load = b.add(new LoadIndexedNode(null, storage, componentIndex(b, index, numElements, component), null, elementKind));
+                    vector.setElement(component, load);
+                }
+                b.push(JavaKind.Object, vector);
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("set", Receiver.class, int.class, vectorClass) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode index, ValueNode value) {
+                OCLKind kind = OCLKind.fromResolvedJavaType(b.getMetaAccess().lookupJavaType(vectorClass));
+                JavaKind elementKind = kind.getElementKind().asJavaKind();
+                ValueNode collection = receiver.get();
+                ValueNode storage = loadField(b, collection, declaringClass, "storage");
+                ValueNode numElements = loadField(b, collection, declaringClass, "numElements");
+                for (int component = 0; component < kind.getVectorLength(); component++) {
+                    ValueNode element = b.append(new VectorLoadElementNode(kind.getElementKind(), value, ConstantNode.forInt(component)));
+                    b.add(new StoreIndexedNode(storage, componentIndex(b, index, numElements, component), null, null, elementKind, element));
+                }
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("getArray", Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                throw new TornadoCompilationException(STR."\{declaringClass.getSimpleName()}.getArray() is not supported with the SoA layout (tornado.soa.layout)");
+            }
+        });
+    }
+
     private static void registerVectorPlugins(final Plugins ps, final InvocationPlugins plugins, final OCLKind vectorKind, final Class<?> storageType, final Class<?> elementType) {
 
         final Class<?> declaringClass = vectorKind.getJavaClass();
@@ -28,6 +28,7 @@ import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLTernaryIntrinsic;
@@ -35,6 +36,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResu
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.OCLAddressCast;
 import uk.ac.manchester.tornado.drivers.opencl.graal.meta.OCLMemorySpace;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLAtomicOperationNode;
 
 public class OCLLIRStmt {
 
@@ -949,6 +951,134 @@ public class OCLLIRStmt {
         }
     }
 
+    @Opcode("ATOMIC_OPERATION")
+    public static class AtomicOperationStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<AtomicOperationStmt> TYPE = LIRInstructionClass.create(AtomicOperationStmt.class);
+
+        private final OCLAtomicOperationNode.Operation operation;
+
+        @Def
+        protected AllocatableValue result;
+        @Use
+        protected MemoryAccess address;
+        @Use
+        protected Value value;
+        @Use
+        protected Value expected;
+
+        public AtomicOperationStmt(OCLAtomicOperationNode.Operation operation, AllocatableValue result, MemoryAccess address, Value value, Value expected) {
+            super(TYPE);
+            this.operation = operation;
+            this.result = result;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+        }
+
+        /**
+         * It returns the address of the element, casted to a pointer of the given
+         * type. Local memory arrays are accessed by index and global memory
+         * arrays by their absolute address.
+         */
+        private String getPointer(OCLAssembler asm, String type) {
+            String element = asm.toString(address.getValue());
+            if (address.getIndex() != null) {
+                element = "&" + element + "[" + asm.toString(address.getIndex()) + "]";
+            }
+            return "(volatile " + address.getBase().getMemorySpace().name() + " " + type + " *) (" + element + ")";
+        }
+
+        private static String getFunctionName(OCLAtomicOperationNode.Operation operation) {
+            return switch (operation) {
+                case ADD -> "add";
+                case MIN -> "min";
+                case MAX -> "max";
+                case EXCHANGE -> "xchg";
+                case COMPARE_AND_SWAP -> "cmpxchg";
+            };
+        }
+
+        private String getFloatingPointExpression(String current, String operand) {
+            return switch (operation) {
+                case ADD -> current + " + " + operand;
+                case MIN -> "fmin(" + current + ", " + operand + ")";
+                case MAX -> "fmax(" + current + ", " + operand + ")";
+                default -> throw new TornadoRuntimeException("[ERROR] Atomic operation not supported: " + operation);
+            };
+        }
+
+        /**
+         * It emits code in the form:
+         *
+         * <code>
+         * i_12 = atomic_add((volatile __global int *) (ul_10), i_11);
+         * </code>
+         *
+         * 64-bit integers use the {@code atom_} functions of the
+         * {@code cl_khr_int64_base_atomics} and
+         * {@code cl_khr_int64_extended_atomics} extensions.
+         */
+        private void emitIntegerAtomic(OCLAssembler asm, OCLKind kind, String prefix) {
+            String arguments = getPointer(asm, kind.toString());
+            if (operation == OCLAtomicOperationNode.Operation.COMPARE_AND_SWAP) {
+                arguments += ", " + asm.toString(expected);
+            }
+            arguments += ", " + asm.toString(value);
+            asm.emitLine("%s = %s%s(%s);", asm.toString(result), prefix, getFunctionName(operation), arguments);
+        }
+
+        /**
+         * Floating-point elements are accessed through their bit representation.
+         * Exchange and compare-and-swap map to the integer functions, and add, min
+         * and max are implemented with a compare-and-swap loop.
+         */
+        private void emitFloatingPointAtomic(OCLAssembler asm, OCLKind kind, String prefix) {
+            String bitsType = kind.getSizeInBytes() == 8 ? "ulong" : "uint";
+            String asBits = "as_" + bitsType;
+            String asValue = "as_" + kind;
+            String lhs = asm.toString(result);
+            String operand = asm.toString(value);
+            String pointer = getPointer(asm, bitsType);
+            switch (operation) {
+                case EXCHANGE -> asm.emitLine("%s = %s(%sxchg(%s, %s(%s)));", lhs, asValue, prefix, pointer, asBits, operand);
+                case COMPARE_AND_SWAP -> asm.emitLine("%s = %s(%scmpxchg(%s, %s(%s), %s(%s)));", lhs, asValue, prefix, pointer, asBits, asm.toString(expected), asBits, operand);
+                default -> {
+                    asm.beginScope();
+                    asm.emitLine("%s atomicExpected;", bitsType);
+                    asm.emitLine("%s atomicCurrent = %s(*%s);", bitsType, asBits, getPointer(asm, kind.toString()));
+                    asm.emitLine("do {");
+                    asm.pushIndent();
+                    asm.emitLine("atomicExpected = atomicCurrent;");
+                    asm.emitLine("atomicCurrent = %scmpxchg(%s, atomicExpected, %s(%s));", prefix, pointer, asBits, getFloatingPointExpression(asValue + "(atomicExpected)", operand));
+                    asm.popIndent();
+                    asm.emitLine("} while (atomicCurrent != atomicExpected);");
+                    asm.emitLine("%s = %s(atomicExpected);", lhs, asValue);
+                    asm.endScope();
+                }
+            }
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            OCLKind kind = (OCLKind) result.getPlatformKind();
+            String prefix = kind.getSizeInBytes() == 8 ? "atom_" : "atomic_";
+            if (kind.isFloating()) {
+                emitFloatingPointAtomic(asm, kind, prefix);
+            } else {
+                emitIntegerAtomic(asm, kind, prefix);
+            }
+        }
+
+        public OCLAtomicOperationNode.Operation getOperation() {
+            return operation;
+        }
+
+        public AllocatableValue getResult() {
+            return result;
+        }
+    }
+
     @Opcode("VSTORE")
     public static class VectorStoreStmt extends AbstractInstruction {
 
@@ -24,6 +24,7 @@ package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.core.common.calc.FloatConvert;
 import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
 import org.graalvm.compiler.graph.NodeClass;
 import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.nodeinfo.NodeInfo;
@@ -32,6 +33,8 @@ import org.graalvm.compiler.nodes.calc.FloatingNode;
 import org.graalvm.compiler.nodes.spi.LIRLowerable;
 import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
 
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryOp;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
@@ -54,6 +57,15 @@ public class CastNode extends FloatingNode implements LIRLowerable, MarkCastNode
         this.value = value;
     }
 
+    /**
+     * Conversion of a half-float value to a 32-bit float. Every half-float value
+     * is exactly representable as a float, so the conversion has no
+     * {@link FloatConvert} operation.
+     */
+    public CastNode(ValueNode halfValue) {
+        this(StampFactory.forKind(JavaKind.Float), null, halfValue);
+    }
+
     private OCLUnaryOp resolveOp() {
         switch (op) {
             case I2D:
@@ -86,7 +98,9 @@ public class CastNode extends FloatingNode implements LIRLowerable, MarkCastNode
         LIRKind lirKind = gen.getLIRGeneratorTool().getLIRKind(stamp);
         OCLKind oclKind = (OCLKind) lirKind.getPlatformKind();
         final Variable result = gen.getLIRGeneratorTool().newVariable(lirKind);
-        if (oclKind.isFloating()) {
+        if (op == null) {
+            gen.getLIRGeneratorTool().append(new AssignStmt(result, new OCLUnary.Intrinsic(OCLUnaryIntrinsic.CONVERT_HALF_TO_FLOAT, lirKind, gen.operand(value))));
+        } else if (oclKind.isFloating()) {
             gen.getLIRGeneratorTool().append(new AssignStmt(result, new OCLUnary.Expr(resolveOp(), lirKind, gen.operand(value))));
         } else {
             gen.getLIRGeneratorTool().append(new AssignStmt(result, new OCLUnary.FloatCast(OCLUnaryOp.CAST_TO_INT, lirKind, gen.operand(value))));
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLOp;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLBinary;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLNullary;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary;
+
+/**
+ * Sub-group (cl_khr_subgroups) built-in of the
+ * {@link uk.ac.manchester.tornado.api.KernelContext}. The node is fixed
+ * because the sub-group functions must be reached by all work-items of the
+ * sub-group, so they cannot be moved across control flow.
+ */
+@NodeInfo(nameTemplate = "SubGroup{p#operation/s}")
+public class OCLSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<OCLSubGroupNode> TYPE = NodeClass.create(OCLSubGroupNode.class);
+
+    public enum Operation {
+        // @formatter:off
+        ID(OCLNullaryIntrinsic.SUB_GROUP_ID),
+        SIZE(OCLNullaryIntrinsic.SUB_GROUP_SIZE),
+        LOCAL_ID(OCLNullaryIntrinsic.SUB_GROUP_LOCAL_ID),
+        NUM_SUB_GROUPS(OCLNullaryIntrinsic.NUM_SUB_GROUPS),
+        ANY(OCLUnaryIntrinsic.SUB_GROUP_ANY),
+        ALL(OCLUnaryIntrinsic.SUB_GROUP_ALL),
+        REDUCE_ADD(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_ADD),
+        REDUCE_MIN(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MIN),
+        REDUCE_MAX(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MAX),
+        SCAN_INCLUSIVE_ADD(OCLUnaryIntrinsic.SUB_GROUP_SCAN_INCLUSIVE_ADD),
+        SCAN_EXCLUSIVE_ADD(OCLUnaryIntrinsic.SUB_GROUP_SCAN_EXCLUSIVE_ADD),
+        BROADCAST(OCLBinaryIntrinsic.SUB_GROUP_BROADCAST),
+        SHUFFLE(OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE),
+        SHUFFLE_XOR(OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE_XOR);
+        // @formatter:on
+
+        private final OCLOp intrinsic;
+
+        Operation(OCLOp intrinsic) {
+            this.intrinsic = intrinsic;
+        }
+    }
+
+    protected final Operation operation;
+
+    @OptionalInput
+    private ValueNode value;
+
+    @OptionalInput
+    private ValueNode lane;
+
+    public OCLSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.value = value;
+        this.lane = lane;
+    }
+
+    public OCLSubGroupNode(Operation operation) {
+        this(operation, JavaKind.Int, null, null);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp(NodeView.DEFAULT));
+        Variable result = tool.newVariable(lirKind);
+        Value expression;
+        if (operation.intrinsic instanceof OCLNullaryIntrinsic nullary) {
+            expression = new OCLNullary.Intrinsic(nullary, lirKind);
+        } else if (operation.intrinsic instanceof OCLUnaryIntrinsic unary) {
+            expression = new OCLUnary.Intrinsic(unary, lirKind, gen.operand(value));
+        } else {
+            expression = new OCLBinary.Intrinsic((OCLBinaryIntrinsic) operation.intrinsic, lirKind, gen.operand(value), gen.operand(lane));
+        }
+        tool.append(new OCLLIRStmt.AssignStmt(result, expression));
+        gen.setResult(this, result);
+    }
+}
@@ -31,6 +31,7 @@ import org.graalvm.compiler.phases.Phase;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP16NotSupported;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDevice;
+import uk.ac.manchester.tornado.drivers.opencl.remote.RemoteOCLDevice;
 import uk.ac.manchester.tornado.drivers.opencl.virtual.VirtualOCLDevice;
 
 /**
@@ -59,6 +60,9 @@ public class OCLFP16SupportPhase extends Phase {
         } else if (deviceContext.getDevice() instanceof VirtualOCLDevice) {
             VirtualOCLDevice oclDevice = (VirtualOCLDevice) deviceContext.getDevice();
             extensions = oclDevice.getDeviceExtensions();
+        } else if (deviceContext.getDevice() instanceof RemoteOCLDevice) {
+            RemoteOCLDevice oclDevice = (RemoteOCLDevice) deviceContext.getDevice();
+            extensions = oclDevice.getDeviceExtensions();
         }
         if (extensions != null && extensions.contains("cl_khr_fp16")) {
             fp16Support = true;
@@ -47,6 +47,7 @@ import org.graalvm.compiler.phases.BasePhase;
 
 import uk.ac.manchester.tornado.api.internal.annotations.HalfType;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.CastNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.ReadHalfFloatNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.WriteHalfFloatNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.LoadIndexedVectorNode;
@@ -58,6 +59,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorValueNod
 import uk.ac.manchester.tornado.runtime.graal.nodes.AddHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.DivHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatPlaceholder;
+import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatToFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.MultHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewHalfFloatInstance;
 import uk.ac.manchester.tornado.runtime.graal.nodes.SubHalfFloatNode;
@@ -156,6 +158,9 @@ public class TornadoHalfFloatReplacement extends BasePhase<TornadoHighTierContex
         replaceMultHalfFloatNodes(graph);
         replaceDivHalfFloatNodes(graph);
 
+        // replace the conversions to float with casts of the half float values
+        replaceHalfFloatToFloatNodes(graph);
+
         // add after the loadindexedvector nodes the marker node to fix the offset of its read
 
         for (LoadIndexedVectorNode loadIndexedVectorNode : graph.getNodes().filter(LoadIndexedVectorNode.class)) {
@@ -296,6 +301,17 @@ public class TornadoHalfFloatReplacement extends BasePhase<TornadoHighTierContex
         }
     }
 
+    private static void replaceHalfFloatToFloatNodes(StructuredGraph graph) {
+        for (HalfFloatToFloatNode halfFloatToFloatNode : graph.getNodes().filter(HalfFloatToFloatNode.class)) {
+            ValueNode value = getHalfOperand(halfFloatToFloatNode.getInput(), graph);
+            CastNode castNode = new CastNode(value);
+            graph.addWithoutUnique(castNode);
+
+            halfFloatToFloatNode.replaceAtUsages(castNode);
+            halfFloatToFloatNode.safeDelete();
+        }
+    }
+
     private static boolean isWriteHalfFloat(JavaWriteNode javaWrite) {
         if (javaWrite.value() instanceof HalfFloatPlaceholder) {
             return true;
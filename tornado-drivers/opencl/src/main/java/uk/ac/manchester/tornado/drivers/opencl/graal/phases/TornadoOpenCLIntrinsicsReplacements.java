@@ -55,6 +55,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIDFixedNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLBarrierNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OpenCLPrintf;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
@@ -129,6 +130,26 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
                     graph.replaceFixed(invoke, groupIdNode);
                     break;
                 }
+                case "Direct#OpenCLIntrinsics.get_sub_group_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, OCLSubGroupNode.Operation.ID);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.get_sub_group_local_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, OCLSubGroupNode.Operation.LOCAL_ID);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.get_sub_group_size": {
+                    replaceSubGroupIntrinsic(graph, invoke, OCLSubGroupNode.Operation.SIZE);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.get_num_sub_groups": {
+                    replaceSubGroupIntrinsic(graph, invoke, OCLSubGroupNode.Operation.NUM_SUB_GROUPS);
+                    break;
+                }
+                case "Direct#OpenCLIntrinsics.sub_group_reduce_add": {
+                    replaceSubGroupIntrinsic(graph, invoke, OCLSubGroupNode.Operation.REDUCE_ADD);
+                    break;
+                }
                 case "Direct#OpenCLIntrinsics.printEmpty":
                     OpenCLPrintf printfNode = graph.addOrUnique(new OpenCLPrintf("\"\""));
                     graph.replaceFixed(invoke, printfNode);
@@ -137,6 +158,14 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
         }
     }
 
+    private void replaceSubGroupIntrinsic(StructuredGraph graph, InvokeNode invoke, OCLSubGroupNode.Operation operation) {
+        NodeInputList<ValueNode> arguments = invoke.callTarget().arguments();
+        JavaKind kind = invoke.callTarget().targetMethod().getSignature().getReturnKind();
+        ValueNode value = arguments.isEmpty() ? null : arguments.get(0);
+        OCLSubGroupNode subGroupNode = graph.addOrUnique(new OCLSubGroupNode(operation, kind, value, null));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
     private void lowerLocalInvokeNodeNewArray(StructuredGraph graph, int length, JavaKind elementKind, InvokeNode newArray) {
         LocalArrayNode localArrayNode;
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
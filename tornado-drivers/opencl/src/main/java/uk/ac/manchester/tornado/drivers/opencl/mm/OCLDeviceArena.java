@@ -0,0 +1,67 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.mm;
+
+import uk.ac.manchester.tornado.drivers.common.TornadoDeviceArena;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDevice;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Device arena for the OpenCL backend. Kernels receive {@code cl_mem} objects,
+ * so each slice is a sub-buffer of the arena created with
+ * {@code clCreateSubBuffer}. Sub-buffers are cheap driver objects that do not
+ * allocate memory. Their origin must be aligned to the base address alignment
+ * of the device, which takes precedence over {@code tornado.opencl.array.align}
+ * when it is larger.
+ */
+public class OCLDeviceArena extends TornadoDeviceArena {
+
+    private final OCLDeviceContext deviceContext;
+
+    public OCLDeviceArena(OCLDeviceContext deviceContext, long capacity) {
+        super(deviceContext.getBufferProvider(), capacity, getSubBufferAlignment(deviceContext));
+        this.deviceContext = deviceContext;
+    }
+
+    static long getSubBufferAlignment(OCLDeviceContext deviceContext) {
+        long alignment = TornadoOptions.OPENCL_ARRAY_ALIGNMENT;
+        if (deviceContext.getDevice() instanceof OCLDevice oclDevice) {
+            // CL_DEVICE_MEM_BASE_ADDR_ALIGN is expressed in bits
+            alignment = Math.max(alignment, oclDevice.getDeviceMemoryBaseAlignment() / 8);
+        }
+        return alignment;
+    }
+
+    @Override
+    protected long createSlice(long baseBuffer, long offset, long numBytes) {
+        long subBuffer = deviceContext.getPlatformContext().createSubBuffer(baseBuffer, offset, numBytes);
+        return subBuffer == 0 ? -1 : subBuffer;
+    }
+
+    @Override
+    protected void releaseSlice(long handle) {
+        deviceContext.getPlatformContext().releaseBuffer(handle);
+    }
+}
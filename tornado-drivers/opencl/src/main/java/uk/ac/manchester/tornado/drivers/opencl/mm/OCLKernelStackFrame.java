@@ -24,49 +24,32 @@
 package uk.ac.manchester.tornado.drivers.opencl.mm;
 
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-
 public class OCLKernelStackFrame extends OCLByteBuffer implements KernelStackFrame {
 
     public static final int RETURN_VALUE_INDEX = 0;
     public static final int RESERVED_SLOTS = 3;
 
-    private final ArrayList<CallArgument> callArguments;
+    private final KernelArguments arguments;
 
     OCLKernelStackFrame(long bufferId, int numArgs, OCLDeviceContext device) {
         super(device, bufferId, 0, RESERVED_SLOTS << 3);
-        this.callArguments = new ArrayList<>(numArgs);
+        this.arguments = new KernelArguments(numArgs);
         buffer.clear();
     }
 
     @Override
-    public void addCallArgument(Object value, boolean isReferenceType) {
-        callArguments.add(new CallArgument(value, isReferenceType));
-    }
-
-    @Override
-    public void reset() {
-        callArguments.clear();
-    }
-
-    @Override
-    public List<CallArgument> getCallArguments() {
-        return callArguments;
+    public KernelArguments getArguments() {
+        return arguments;
     }
 
     @Override
-    public void setKernelContext(HashMap<Integer, Integer> map) {
+    public void setKernelContext(long[] globalWork) {
         buffer.clear();
         for (int i = 0; i < RESERVED_SLOTS; i++) {
-            if (map.containsKey(i)) {
-                buffer.putLong(map.get(i));
-            } else {
-                buffer.putLong(0);
-            }
+            buffer.putLong(globalWork != null && i < globalWork.length ? globalWork[i] : 0);
         }
     }
 }
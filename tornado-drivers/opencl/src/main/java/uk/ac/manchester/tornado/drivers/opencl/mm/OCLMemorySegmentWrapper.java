@@ -29,6 +29,8 @@ import java.util.List;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface;
@@ -50,8 +52,16 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     private boolean onDevice;
     private long bufferSize;
 
+    private boolean zeroCopy;
+
+    private long hostAddress;
+
+    private DeviceArena arena;
+
     private long subregionSize;
 
+    private OCLStructOfArraysLayout soaLayout;
+
     public OCLMemorySegmentWrapper(OCLDeviceContext deviceContext, long batchSize) {
         this.deviceContext = deviceContext;
         this.batchSize = batchSize;
@@ -106,8 +116,16 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int read(long executionPlanId, final Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        if (zeroCopy) {
+            // The host reads the buffer in place once the pending commands are finished
+            releaseZeroCopy(executionPlanId);
+            return -1;
+        }
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            return readStructOfArrays(executionPlanId, segment, hostOffset + partialReadSize, events, useDeps);
+        }
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
         if (partialReadSize != 0) {
@@ -127,11 +145,30 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         return useDeps ? returnEvent : -1;
     }
 
+    /**
+     * The layout can only be converted once the buffer is read, so the read is
+     * always blocking.
+     */
+    private int readStructOfArrays(long executionPlanId, MemorySegment segment, long hostOffset, int[] events, boolean useDeps) {
+        OCLStructOfArraysLayout.checkFullCopy(0, hostOffset);
+        int returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, soaLayout.getReadSegment(segment).address(), 0, (useDeps) ? events : null);
+        soaLayout.toHost(segment);
+        return useDeps ? returnEvent : -1;
+    }
+
     @Override
 
     public void write(long executionPlanId, Object reference) {
+        if (zeroCopy) {
+            acquireZeroCopy(executionPlanId);
+            onDevice = true;
+            return;
+        }
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            segment = soaLayout.toDevice(segment);
+        }
         if (batchSize <= 0) {
             deviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), 0, null);
         } else {
@@ -142,8 +179,16 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+        if (zeroCopy) {
+            // Mapping the buffer for the host waits for the pending commands
+            releaseZeroCopy(executionPlanId);
+            return -1;
+        }
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            return readStructOfArrays(executionPlanId, segment, hostOffset, events, useDeps);
+        }
 
         final int returnEvent;
         if (batchSize <= 0) {
@@ -157,8 +202,17 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     @Override
     public List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
         List<Integer> returnEvents = new ArrayList<>();
+        if (zeroCopy) {
+            acquireZeroCopy(executionPlanId);
+            onDevice = true;
+            return useDeps ? returnEvents : null;
+        }
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            OCLStructOfArraysLayout.checkFullCopy(batchSize, hostOffset);
+            segment = soaLayout.toDevice(segment);
+        }
 
         int internalEvent;
         if (batchSize <= 0) {
@@ -190,16 +244,86 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         if (bufferSize <= 0) {
             throw new TornadoMemoryException(STR."[ERROR] Bytes Allocated <= 0: \{bufferSize}");
         }
+        soaLayout = OCLStructOfArraysLayout.of(reference);
+        if (soaLayout != null) {
+            OCLStructOfArraysLayout.checkFullCopy(batchSize, 0);
+        }
+
+        if (TornadoOptions.FULL_DEBUG) {
+            new TornadoLogger().info("allocated: %s (pinned host memory: %s)", toString(), PinnedMemory.isPinned(segment));
+        }
+    }
+
+    @Override
+    public boolean allocateZeroCopy(Object reference, long batchSize) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        // The device cannot access the host memory in place if the layout is different
+        if (batchSize > 0 || !PinnedMemory.isPinned(segment) || OCLStructOfArraysLayout.of(reference) != null) {
+            return false;
+        }
+        long deviceBuffer = deviceContext.getHostMemoryAllocator().getDeviceBuffer(segment.address());
+        if (deviceBuffer == 0) {
+            return false;
+        }
+        bufferId = deviceBuffer;
+        hostAddress = segment.address();
+        bufferOffset = 0;
+        bufferSize = segment.byteSize();
+        zeroCopy = true;
 
         if (TornadoOptions.FULL_DEBUG) {
-            new TornadoLogger().info("allocated: %s", toString());
+            new TornadoLogger().info("allocated: %s (zero-copy)", toString());
+        }
+        return true;
+    }
+
+    @Override
+    public void acquireZeroCopy(long executionPlanId) {
+        if (zeroCopy) {
+            deviceContext.acquirePinnedRegion(executionPlanId, hostAddress);
+        }
+    }
+
+    @Override
+    public void releaseZeroCopy(long executionPlanId) {
+        if (zeroCopy) {
+            deviceContext.releasePinnedRegion(executionPlanId, hostAddress);
         }
     }
 
+    @Override
+    public boolean allocateInArena(Object reference, long batchSize, DeviceArena arena) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        long numBytes = batchSize <= 0 ? segment.byteSize() : batchSize + TornadoNativeArray.ARRAY_HEADER;
+        long slice = arena.allocate(numBytes);
+        if (slice == -1) {
+            return false;
+        }
+        bufferId = slice;
+        bufferOffset = 0;
+        bufferSize = batchSize <= 0 ? segment.byteSize() : batchSize;
+        this.arena = arena;
+        soaLayout = OCLStructOfArraysLayout.of(reference);
+
+        if (TornadoOptions.FULL_DEBUG) {
+            new TornadoLogger().info("allocated: %s (device arena)", toString());
+        }
+        return true;
+    }
+
     @Override
     public void deallocate() throws TornadoMemoryException {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-        deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        // Zero-copy buffers belong to the pinned host region, and slices to the arena of the plan
+        if (arena != null) {
+            arena.free(bufferId);
+        } else if (!zeroCopy) {
+            deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        }
+        zeroCopy = false;
+        hostAddress = 0;
+        arena = null;
+        soaLayout = null;
         bufferId = INIT_VALUE;
         bufferSize = INIT_VALUE;
 
@@ -226,4 +350,14 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     public long getBatchSize() {
         return batchSize;
     }
+
+    @Override
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    @Override
+    public boolean isArenaSlice() {
+        return arena != null;
+    }
 }
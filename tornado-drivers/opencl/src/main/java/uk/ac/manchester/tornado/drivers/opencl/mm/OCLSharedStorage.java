@@ -0,0 +1,148 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.mm;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Shared storage for the OpenCL backend. A single buffer holds one slot per
+ * object, followed by the storage:
+ *
+ * <pre>
+ * | slot 0 | slot 1 | ... | slot n-1 | storage |
+ * </pre>
+ *
+ * Each slot is large enough for the fields of any of the objects, and it is
+ * aligned to the base address alignment of the device. The buffer of an object
+ * is a sub-buffer that starts at its slot and ends with the storage, so the
+ * storage is at a different offset for each object, but all of them access the
+ * same device memory. The buffer is reserved with the first sub-buffer and
+ * returned to the buffer provider with the last one.
+ */
+public class OCLSharedStorage implements SharedDeviceStorage {
+
+    private final OCLDeviceContext deviceContext;
+    private final Object[] objects;
+    private final long storageSize;
+    private final long slotSize;
+    private final Set<Long> slices;
+    private final TornadoLogger logger;
+    private long baseBuffer;
+
+    public OCLSharedStorage(OCLDeviceContext deviceContext, Object[] objects) {
+        this.deviceContext = deviceContext;
+        this.objects = objects;
+        this.storageSize = ((TornadoNativeArray) objects[0]).getNumBytesOfSegmentWithHeader();
+        this.slotSize = computeSlotSize(deviceContext, objects, storageSize);
+        this.slices = new HashSet<>();
+        this.logger = new TornadoLogger(this.getClass());
+    }
+
+    private static long computeSlotSize(OCLDeviceContext deviceContext, Object[] objects, long storageSize) {
+        long fieldsSize = 0;
+        for (Object object : objects) {
+            fieldsSize = Math.max(fieldsSize, new OCLXPUBuffer(deviceContext, object).size() - storageSize);
+        }
+        long alignment = OCLDeviceArena.getSubBufferAlignment(deviceContext);
+        return (fieldsSize + alignment - 1) & -alignment;
+    }
+
+    private int getSlot(Object object) {
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i] == object) {
+                return i;
+            }
+        }
+        throw TornadoInternalError.shouldNotReachHere("object does not belong to the shared storage");
+    }
+
+    private long getSize() {
+        return objects.length * slotSize + storageSize;
+    }
+
+    /**
+     * It creates the sub-buffer of an object.
+     *
+     * @param object
+     *     object that shares the storage
+     * @return the handle of the sub-buffer, or -1 if it cannot be created.
+     */
+    synchronized long allocate(Object object) {
+        if (baseBuffer == 0) {
+            // The driver allocation is reserved with the first object
+            baseBuffer = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(getSize());
+            logger.debug("shared storage reserved %s for %d objects", RuntimeUtilities.humanReadableByteCount(getSize(), false), objects.length);
+        }
+        long origin = getSlot(object) * slotSize;
+        long subBuffer = deviceContext.getPlatformContext().createSubBuffer(baseBuffer, origin, getSize() - origin);
+        if (subBuffer == 0) {
+            if (slices.isEmpty()) {
+                release();
+            }
+            return -1;
+        }
+        slices.add(subBuffer);
+        return subBuffer;
+    }
+
+    /**
+     * @return the offset of the storage in the sub-buffer of an object.
+     */
+    long getStorageOffset(Object object) {
+        return (objects.length - getSlot(object)) * slotSize;
+    }
+
+    synchronized void free(long subBuffer) {
+        TornadoInternalError.guarantee(slices.remove(subBuffer), "Fatal error: trying to free a sub-buffer that does not belong to the shared storage");
+        deviceContext.getPlatformContext().releaseBuffer(subBuffer);
+        if (slices.isEmpty()) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (baseBuffer != 0) {
+            deviceContext.getBufferProvider().markBufferReleased(baseBuffer);
+            baseBuffer = 0;
+        }
+    }
+
+    @Override
+    public Object[] getObjects() {
+        return objects;
+    }
+
+    @Override
+    public synchronized long getAllocatedSpace() {
+        return baseBuffer == 0 ? 0 : getSize();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.mm;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.types.collections.VectorFloat3;
+import uk.ac.manchester.tornado.api.types.collections.VectorFloat4;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
+
+/**
+ * Layout of the collections that are stored as a struct of arrays on the
+ * device (see {@link TornadoOptions#SOA_LAYOUT}). The host keeps the
+ * interleaved layout (x0, y0, z0, w0, x1, ...), and the device buffer has the
+ * same header followed by all the x components, then all the y components,
+ * and so on. The kernels access the components with the layout of the device
+ * (see {@code OCLVectorPlugins}), so the buffers convert the layout in each
+ * transfer through a staging segment.
+ */
+public final class OCLStructOfArraysLayout {
+
+    private static final int HEADER_ELEMENTS = (int) (TornadoNativeArray.ARRAY_HEADER / JAVA_FLOAT.byteSize());
+
+    private final int numComponents;
+    private MemorySegment staging;
+
+    private OCLStructOfArraysLayout(int numComponents) {
+        this.numComponents = numComponents;
+    }
+
+    /**
+     * @return the layout of the object on the device, or null if the object
+     *     keeps the layout of the host.
+     */
+    public static OCLStructOfArraysLayout of(Object reference) {
+        if (!TornadoOptions.SOA_LAYOUT) {
+            return null;
+        }
+        return switch (reference) {
+            case VectorFloat3 vector -> new OCLStructOfArraysLayout(3);
+            case VectorFloat4 vector -> new OCLStructOfArraysLayout(4);
+            default -> null;
+        };
+    }
+
+    /**
+     * Partial copies and batches would need to convert the layout of a region
+     * of the collection, which is not contiguous on the device.
+     */
+    public static void checkFullCopy(long batchSize, long hostOffset) {
+        if (batchSize > 0 || hostOffset != 0) {
+            throw new TornadoUnsupportedError("[UNSUPPORTED] partial copies and batch processing of collections with the SoA layout (tornado.soa.layout)");
+        }
+    }
+
+    private MemorySegment getStaging(long numBytes) {
+        if (staging == null || staging.byteSize() != numBytes) {
+            staging = Arena.ofAuto().allocate(numBytes, Long.BYTES);
+        }
+        return staging;
+    }
+
+    /**
+     * Converts the host segment to the layout of the device. The staging
+     * segment is kept until the next transfer, so it can be used by
+     * non-blocking writes.
+     *
+     * @return segment to copy to the device.
+     */
+    public MemorySegment toDevice(MemorySegment segment) {
+        MemorySegment target = getStaging(segment.byteSize());
+        MemorySegment.copy(segment, 0, target, 0, TornadoNativeArray.ARRAY_HEADER);
+        long numElements = getNumElements(segment);
+        for (long i = 0; i < numElements; i++) {
+            for (int component = 0; component < numComponents; component++) {
+                float value = segment.getAtIndex(JAVA_FLOAT, HEADER_ELEMENTS + i * numComponents + component);
+                target.setAtIndex(JAVA_FLOAT, HEADER_ELEMENTS + component * numElements + i, value);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * @return segment to copy the device buffer to, before calling
+     *     {@link #toHost}.
+     */
+    public MemorySegment getReadSegment(MemorySegment segment) {
+        return getStaging(segment.byteSize());
+    }
+
+    /**
+     * Converts the segment read from the device to the layout of the host.
+     */
+    public void toHost(MemorySegment segment) {
+        long numElements = getNumElements(segment);
+        for (long i = 0; i < numElements; i++) {
+            for (int component = 0; component < numComponents; component++) {
+                float value = staging.getAtIndex(JAVA_FLOAT, HEADER_ELEMENTS + component * numElements + i);
+                segment.setAtIndex(JAVA_FLOAT, HEADER_ELEMENTS + i * numComponents + component, value);
+            }
+        }
+    }
+
+    private long getNumElements(MemorySegment segment) {
+        return (segment.byteSize() - TornadoNativeArray.ARRAY_HEADER) / (JAVA_FLOAT.byteSize() * numComponents);
+    }
+}
@@ -42,6 +42,7 @@ import jdk.vm.ci.hotspot.HotSpotResolvedJavaType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
 import uk.ac.manchester.tornado.api.internal.annotations.Vector;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
@@ -50,6 +51,7 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.common.mm.PrimitiveSerialiser;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -71,6 +73,9 @@ public class OCLXPUBuffer implements XPUBuffer {
     private ByteBuffer buffer;
     private long setSubRegionSize;
     private final TornadoLogger logger;
+    private OCLSharedStorage sharedStorage;
+    private int sharedFieldIndex;
+    private long sharedFieldOffset;
 
     public OCLXPUBuffer(final OCLDeviceContext device, Object object) {
         this.objectType = object.getClass();
@@ -85,6 +90,7 @@ public class OCLXPUBuffer implements XPUBuffer {
         sortFieldsByOffset();
 
         wrappedFields = new FieldBuffer[fields.length];
+        sharedFieldIndex = -1;
 
         for (int index = 0; index < fields.length; index++) {
             HotSpotResolvedJavaField field = fields[index];
@@ -177,9 +183,57 @@ public class OCLXPUBuffer implements XPUBuffer {
         }
     }
 
+    @Override
+    public boolean allocateInSharedStorage(Object reference, SharedDeviceStorage storage) {
+        if (!(storage instanceof OCLSharedStorage oclSharedStorage) || !(reference instanceof TornadoNativeArray nativeArray)) {
+            return false;
+        }
+        int fieldIndex = getStorageFieldIndex(reference, nativeArray.getSegmentWithHeader().address());
+        if (fieldIndex == -1) {
+            return false;
+        }
+        long subBuffer = oclSharedStorage.allocate(reference);
+        if (subBuffer == -1) {
+            return false;
+        }
+        this.sharedStorage = oclSharedStorage;
+        this.sharedFieldIndex = fieldIndex;
+        this.sharedFieldOffset = oclSharedStorage.getStorageOffset(reference);
+        this.bufferId = subBuffer;
+        this.bufferOffset = 0;
+        setBuffer(new XPUBufferWrapper(bufferId, bufferOffset));
+
+        if (DEBUG) {
+            logger.debug("object: object=0x%x @ bufferId 0x%x (shared storage at offset %d)", reference.hashCode(), bufferId, sharedFieldOffset);
+        }
+        return true;
+    }
+
+    /**
+     * @return the index of the field that holds the native array at the given
+     *     address, or -1 if the object does not have it.
+     */
+    private int getStorageFieldIndex(Object reference, long address) {
+        for (int index = 0; index < fields.length; index++) {
+            if (wrappedFields[index] != null) {
+                Object value = TornadoUtils.getObjectFromField(getField(objectType, fields[index].getName()), reference);
+                if (value instanceof TornadoNativeArray nativeArray && nativeArray.getSegmentWithHeader().address() == address) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
     @Override
     public void deallocate() throws TornadoMemoryException {
-        deviceContext.getBufferProvider().markBufferReleased(this.bufferId);
+        if (sharedStorage != null) {
+            sharedStorage.free(bufferId);
+            sharedStorage = null;
+            sharedFieldIndex = -1;
+        } else {
+            deviceContext.getBufferProvider().markBufferReleased(this.bufferId);
+        }
         bufferId = -1;
     }
 
@@ -322,7 +376,12 @@ public class OCLXPUBuffer implements XPUBuffer {
                 continue;
             }
 
-            fieldBuffer.setBuffer(bufferWrapper);
+            if (i == sharedFieldIndex) {
+                // The shared storage is placed after the fields of all the objects that use it
+                fieldBuffer.setBuffer(new XPUBufferWrapper(bufferWrapper.buffer, bufferOffset + sharedFieldOffset));
+            } else {
+                fieldBuffer.setBuffer(bufferWrapper);
+            }
         }
     }
 
@@ -0,0 +1,209 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface;
+import uk.ac.manchester.tornado.api.types.images.TornadoImagesInterface;
+import uk.ac.manchester.tornado.api.types.matrix.TornadoMatrixInterface;
+import uk.ac.manchester.tornado.api.types.volumes.TornadoVolumesInterface;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLStructOfArraysLayout;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
+
+/**
+ * Buffer of a remote device for types backed by a memory segment. Writes are
+ * pipelined and sent directly from the segment. Reads wait for the commands of
+ * the plan, so they are always blocking and return no event.
+ */
+public class RemoteBuffer implements XPUBuffer {
+
+    private static final int INIT_VALUE = -1;
+    private final RemoteOCLDeviceContext deviceContext;
+    private final long batchSize;
+    private long bufferId;
+    private long bufferSize;
+    private long subregionSize;
+    private OCLStructOfArraysLayout soaLayout;
+
+    public RemoteBuffer(RemoteOCLDeviceContext deviceContext, long batchSize) {
+        this.deviceContext = deviceContext;
+        this.batchSize = batchSize;
+        this.bufferId = INIT_VALUE;
+        this.bufferSize = INIT_VALUE;
+    }
+
+    private MemorySegment getSegmentWithHeader(final Object reference) {
+        return switch (reference) {
+            case TornadoNativeArray tornadoNativeArray -> tornadoNativeArray.getSegmentWithHeader();
+            case TornadoCollectionInterface<?> tornadoCollectionInterface -> tornadoCollectionInterface.getSegmentWithHeader();
+            case TornadoImagesInterface<?> imagesInterface -> imagesInterface.getSegmentWithHeader();
+            case TornadoMatrixInterface<?> matrixInterface -> matrixInterface.getSegmentWithHeader();
+            case TornadoVolumesInterface<?> volumesInterface -> volumesInterface.getSegmentWithHeader();
+            default -> throw new TornadoMemoryException(STR."Memory Segment not supported by remote devices: \{reference.getClass()}");
+        };
+    }
+
+    @Override
+    public long toBuffer() {
+        return bufferId;
+    }
+
+    @Override
+    public void setBuffer(XPUBufferWrapper bufferWrapper) {
+        throw new TornadoUnsupportedError("[UNSUPPORTED] shared buffers are not supported by remote devices");
+    }
+
+    @Override
+    public long getBufferOffset() {
+        return 0;
+    }
+
+    @Override
+    public void read(long executionPlanId, final Object reference) {
+        read(executionPlanId, reference, 0, 0, null, false);
+    }
+
+    @Override
+    public int read(long executionPlanId, final Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            readStructOfArrays(executionPlanId, segment, hostOffset + partialReadSize);
+            return -1;
+        }
+        if (partialReadSize != 0) {
+            // Partial Copy Out due to an under demand copy by the user
+            // in this case the host offset is equal to the device offset
+            deviceContext.read(executionPlanId, bufferId, hostOffset, segment, hostOffset, partialReadSize);
+        } else {
+            final long numBytes = subregionSize > 0 ? subregionSize : bufferSize;
+            deviceContext.read(executionPlanId, bufferId, 0, segment, hostOffset, numBytes);
+        }
+        return -1;
+    }
+
+    private void readStructOfArrays(long executionPlanId, MemorySegment segment, long hostOffset) {
+        OCLStructOfArraysLayout.checkFullCopy(0, hostOffset);
+        deviceContext.read(executionPlanId, bufferId, 0, soaLayout.getReadSegment(segment), 0, bufferSize);
+        soaLayout.toHost(segment);
+    }
+
+    /**
+     * The staging segment of the layout is kept until the next transfer, so it
+     * can be sent with the pipelined write.
+     */
+    private MemorySegment getWriteSegment(Object reference) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        return soaLayout != null ? soaLayout.toDevice(segment) : segment;
+    }
+
+    @Override
+    public void write(long executionPlanId, Object reference) {
+        MemorySegment segment = getWriteSegment(reference);
+        deviceContext.write(executionPlanId, bufferId, 0, segment, 0, bufferSize);
+    }
+
+    @Override
+    public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        if (soaLayout != null) {
+            readStructOfArrays(executionPlanId, segment, hostOffset);
+            return -1;
+        }
+        deviceContext.read(executionPlanId, bufferId, 0, segment, hostOffset, bufferSize);
+        return -1;
+    }
+
+    @Override
+    public List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
+        if (batchSize > 0) {
+            throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing is not supported by remote devices");
+        }
+        if (soaLayout != null) {
+            OCLStructOfArraysLayout.checkFullCopy(batchSize, hostOffset);
+        }
+        MemorySegment segment = getWriteSegment(reference);
+        deviceContext.write(executionPlanId, bufferId, 0, segment, hostOffset, bufferSize);
+        return useDeps ? List.of() : null;
+    }
+
+    @Override
+    public void allocate(Object reference, long batchSize) throws TornadoOutOfMemoryException, TornadoMemoryException {
+        if (batchSize > 0) {
+            throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing is not supported by remote devices");
+        }
+        MemorySegment segment = getSegmentWithHeader(reference);
+        bufferSize = segment.byteSize();
+        if (bufferSize <= 0) {
+            throw new TornadoMemoryException(STR."[ERROR] Bytes Allocated <= 0: \{bufferSize}");
+        }
+        bufferId = deviceContext.allocate(bufferSize);
+        soaLayout = OCLStructOfArraysLayout.of(reference);
+
+        if (TornadoOptions.FULL_DEBUG) {
+            new TornadoLogger().info("allocated: %s", toString());
+        }
+    }
+
+    @Override
+    public void deallocate() throws TornadoMemoryException {
+        TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
+        deviceContext.release(bufferId);
+        bufferId = INIT_VALUE;
+        bufferSize = INIT_VALUE;
+        soaLayout = null;
+    }
+
+    @Override
+    public long size() {
+        return bufferSize;
+    }
+
+    @Override
+    public void setSizeSubRegion(long batchSize) {
+        this.subregionSize = batchSize;
+    }
+
+    @Override
+    public long getSizeSubRegionSize() {
+        return subregionSize;
+    }
+
+    public long getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public String toString() {
+        return STR."remote buffer<\{bufferId}>: size=\{bufferSize}, device=\{deviceContext}";
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Framing of the remote protocol over a socket. Commands and small payloads
+ * are batched in a direct buffer, so pipelined commands are sent with a single
+ * system call when the channel is flushed. Large payloads are sent from (and
+ * received into) the memory segment of the array, without an intermediate
+ * copy.
+ */
+class RemoteChannel implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Upper bound of a single transfer, as byte buffers are indexed with an int.
+     */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private final SocketChannel channel;
+    private final ByteBuffer output;
+    private final ByteBuffer input;
+
+    RemoteChannel(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        this.output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.input.flip();
+        channel.configureBlocking(true);
+        channel.socket().setTcpNoDelay(true);
+    }
+
+    private void reserve(int numBytes) throws IOException {
+        if (output.remaining() < numBytes) {
+            flush();
+        }
+    }
+
+    void writeByte(byte value) throws IOException {
+        reserve(Byte.BYTES);
+        output.put(value);
+    }
+
+    void writeInt(int value) throws IOException {
+        reserve(Integer.BYTES);
+        output.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        reserve(Long.BYTES);
+        output.putLong(value);
+    }
+
+    /**
+     * Writes an array of longs, which can be null.
+     */
+    void writeLongs(long[] values) throws IOException {
+        if (values == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(values.length);
+        for (long value : values) {
+            writeLong(value);
+        }
+    }
+
+    /**
+     * Writes an array of bytes, which can be null.
+     */
+    void writeBytes(byte[] values) throws IOException {
+        if (values == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(values.length);
+        if (values.length <= output.remaining()) {
+            output.put(values);
+        } else {
+            writePayload(ByteBuffer.wrap(values));
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a region of a memory segment. Regions that do not fit in the
+     * output buffer are sent directly from the segment, together with the
+     * pending commands in a single gathering write.
+     */
+    void writeSegment(MemorySegment segment, long offset, long numBytes) throws IOException {
+        if (numBytes <= output.remaining()) {
+            output.put(segment.asSlice(offset, numBytes).asByteBuffer());
+            return;
+        }
+        for (long position = 0; position < numBytes; position += MAX_CHUNK_SIZE) {
+            writePayload(segment.asSlice(offset + position, Math.min(MAX_CHUNK_SIZE, numBytes - position)).asByteBuffer());
+        }
+    }
+
+    private void writePayload(ByteBuffer payload) throws IOException {
+        output.flip();
+        final ByteBuffer[] buffers = { output, payload };
+        while (payload.hasRemaining()) {
+            channel.write(buffers);
+        }
+        output.clear();
+    }
+
+    void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+
+    private void require(int numBytes) throws IOException {
+        if (input.remaining() >= numBytes) {
+            return;
+        }
+        input.compact();
+        while (input.position() < numBytes) {
+            if (channel.read(input) < 0) {
+                throw new EOFException("The remote end closed the connection");
+            }
+        }
+        input.flip();
+    }
+
+    byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return input.get();
+    }
+
+    int readInt() throws IOException {
+        require(Integer.BYTES);
+        return input.getInt();
+    }
+
+    long readLong() throws IOException {
+        require(Long.BYTES);
+        return input.getLong();
+    }
+
+    long[] readLongs() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readLong();
+        }
+        return values;
+    }
+
+    byte[] readBytes() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] values = new byte[length];
+        readPayload(ByteBuffer.wrap(values));
+        return values;
+    }
+
+    /**
+     * Reads an array of bytes that is rejected if it is longer than the given
+     * length, for the data that is received before the client is authenticated.
+     */
+    byte[] readBytes(int maxLength) throws IOException {
+        int length = readInt();
+        if (length < 0 || length > maxLength) {
+            throw new IOException(STR."Invalid length: \{length}");
+        }
+        byte[] values = new byte[length];
+        readPayload(ByteBuffer.wrap(values));
+        return values;
+    }
+
+    String readString() throws IOException {
+        byte[] value = readBytes();
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a payload into a region of a memory segment. The bytes that are
+     * already buffered are copied, and the rest are received directly into
+     * the segment.
+     */
+    void readSegment(MemorySegment segment, long offset, long numBytes) throws IOException {
+        for (long position = 0; position < numBytes; position += MAX_CHUNK_SIZE) {
+            readPayload(segment.asSlice(offset + position, Math.min(MAX_CHUNK_SIZE, numBytes - position)).asByteBuffer());
+        }
+    }
+
+    private void readPayload(ByteBuffer target) throws IOException {
+        int buffered = Math.min(input.remaining(), target.remaining());
+        if (buffered > 0) {
+            target.put(input.slice(input.position(), buffered));
+            input.position(input.position() + buffered);
+        }
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new EOFException("The remote end closed the connection");
+            }
+        }
+    }
+
+    /**
+     * Discards a payload, so the next command can be read.
+     */
+    void skip(long numBytes) throws IOException {
+        while (numBytes > 0) {
+            if (!input.hasRemaining()) {
+                require(1);
+            }
+            int skipped = (int) Math.min(numBytes, input.remaining());
+            input.position(input.position() + skipped);
+            numBytes -= skipped;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            return "closed";
+        }
+    }
+}
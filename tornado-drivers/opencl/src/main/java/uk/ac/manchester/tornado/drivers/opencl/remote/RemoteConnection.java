@@ -0,0 +1,301 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Connection of the host with a {@link TornadoWorker}. The host assigns the ids
+ * of the buffers and kernels, so allocations, writes and launches do not wait
+ * for the worker: they are buffered and sent with the next command that needs
+ * a reply (a read, a build or a synchronization). Errors of pipelined commands
+ * are reported by the worker with that reply.
+ */
+public class RemoteConnection {
+
+    private final String address;
+    private final RemoteChannel channel;
+    private final List<RemoteDeviceDescriptor> devices;
+    private final TornadoLogger logger;
+    private long nextBufferId;
+    private long nextKernelId;
+    private boolean closed;
+
+    public RemoteConnection(String address) {
+        this.address = address.trim();
+        this.logger = new TornadoLogger(this.getClass());
+        int separator = this.address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new TornadoRuntimeException(STR."[ERROR] Invalid address of a remote worker: \{address}. Expected host:port");
+        }
+        try {
+            String host = this.address.substring(0, separator);
+            int port = Integer.parseInt(this.address.substring(separator + 1));
+            channel = new RemoteChannel(SocketChannel.open(new InetSocketAddress(host, port)));
+            devices = hello();
+        } catch (IOException | NumberFormatException e) {
+            throw new TornadoRuntimeException(STR."[ERROR] Unable to connect to the remote worker \{address}: \{e.getMessage()}");
+        }
+        logger.info("connected to %s (%d devices)", this.address, devices.size());
+    }
+
+    private TornadoRuntimeException error(String message) {
+        return new TornadoRuntimeException(STR."[ERROR] Remote device \{address}: \{message}");
+    }
+
+    private TornadoRuntimeException connectionLost(IOException e) {
+        closed = true;
+        return error(STR."connection lost (\{e.getMessage()})");
+    }
+
+    private List<RemoteDeviceDescriptor> hello() throws IOException {
+        channel.writeByte(RemoteProtocol.HELLO);
+        channel.writeInt(RemoteProtocol.MAGIC);
+        channel.writeInt(RemoteProtocol.VERSION);
+        channel.writeString(TornadoOptions.REMOTE_TOKEN);
+        channel.flush();
+        checkStatus();
+        int numDevices = channel.readInt();
+        List<RemoteDeviceDescriptor> descriptors = new ArrayList<>(numDevices);
+        for (int i = 0; i < numDevices; i++) {
+            descriptors.add(RemoteDeviceDescriptor.read(channel));
+        }
+        return descriptors;
+    }
+
+    private void checkStatus() throws IOException {
+        if (channel.readByte() != RemoteProtocol.STATUS_OK) {
+            throw error(channel.readString());
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw error("the connection is closed");
+        }
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public List<RemoteDeviceDescriptor> getDevices() {
+        return devices;
+    }
+
+    /**
+     * @return id of the buffer. The allocation is done by the worker when the
+     *     command is received, and an out-of-memory error is reported with the
+     *     next reply.
+     */
+    public synchronized long allocate(int device, long numBytes) {
+        checkOpen();
+        long bufferId = ++nextBufferId;
+        try {
+            channel.writeByte(RemoteProtocol.ALLOCATE);
+            channel.writeInt(device);
+            channel.writeLong(bufferId);
+            channel.writeLong(numBytes);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+        return bufferId;
+    }
+
+    public synchronized void release(int device, long bufferId) {
+        if (closed) {
+            return;
+        }
+        try {
+            channel.writeByte(RemoteProtocol.RELEASE);
+            channel.writeInt(device);
+            channel.writeLong(bufferId);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    /**
+     * Sends a region of a segment to a buffer of the worker. The segment can be
+     * modified as soon as this method returns.
+     */
+    public synchronized void write(int device, long executionPlanId, long bufferId, long deviceOffset, MemorySegment segment, long hostOffset, long numBytes) {
+        checkOpen();
+        try {
+            channel.writeByte(RemoteProtocol.WRITE);
+            channel.writeInt(device);
+            channel.writeLong(executionPlanId);
+            channel.writeLong(bufferId);
+            channel.writeLong(deviceOffset);
+            channel.writeLong(numBytes);
+            channel.writeSegment(segment, hostOffset, numBytes);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    /**
+     * Reads a region of a buffer of the worker into a segment. It waits for the
+     * commands of the plan that were sent before.
+     */
+    public synchronized void read(int device, long executionPlanId, long bufferId, long deviceOffset, MemorySegment segment, long hostOffset, long numBytes) {
+        checkOpen();
+        try {
+            channel.writeByte(RemoteProtocol.READ);
+            channel.writeInt(device);
+            channel.writeLong(executionPlanId);
+            channel.writeLong(bufferId);
+            channel.writeLong(deviceOffset);
+            channel.writeLong(numBytes);
+            channel.flush();
+            checkStatus();
+            channel.readSegment(segment, hostOffset, numBytes);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    /**
+     * Builds an OpenCL C kernel in the worker.
+     *
+     * @return id of the kernel.
+     * @throws TornadoRuntimeException
+     *     with the build log if the kernel cannot be built.
+     */
+    public synchronized long build(int device, String entryPoint, byte[] source, String compilerFlags) {
+        checkOpen();
+        long kernelId = ++nextKernelId;
+        try {
+            channel.writeByte(RemoteProtocol.BUILD);
+            channel.writeInt(device);
+            channel.writeLong(kernelId);
+            channel.writeString(entryPoint);
+            channel.writeString(compilerFlags);
+            channel.writeBytes(source);
+            channel.flush();
+            checkStatus();
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+        return kernelId;
+    }
+
+    public synchronized void releaseKernel(int device, long kernelId) {
+        if (closed) {
+            return;
+        }
+        try {
+            channel.writeByte(RemoteProtocol.RELEASE_KERNEL);
+            channel.writeInt(device);
+            channel.writeLong(kernelId);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    /**
+     * Enqueues a kernel in the worker.
+     *
+     * @param header
+     *     values of the kernel context
+     * @param arguments
+     *     arguments of the launch
+     * @param constantData
+     *     data of the constant region, or null if the constant buffer of the
+     *     worker is used
+     * @param localSize
+     *     size in bytes of the local memory region, or 0
+     * @param local
+     *     local work sizes, or null to let the OpenCL driver choose them
+     */
+    public synchronized void launch(int device, long executionPlanId, long kernelId, long[] header, KernelArguments arguments, byte[] constantData, long localSize, int dimensions,
+            long[] offset, long[] global, long[] local) {
+        checkOpen();
+        try {
+            channel.writeByte(RemoteProtocol.LAUNCH);
+            channel.writeInt(device);
+            channel.writeLong(executionPlanId);
+            channel.writeLong(kernelId);
+            channel.writeLongs(header);
+            channel.writeInt(arguments.size());
+            for (int i = 0; i < arguments.size(); i++) {
+                channel.writeByte((byte) arguments.getKind(i).ordinal());
+                channel.writeLong(arguments.getRawValue(i));
+            }
+            channel.writeBytes(constantData);
+            channel.writeLong(localSize);
+            channel.writeInt(dimensions);
+            channel.writeLongs(offset);
+            channel.writeLongs(global);
+            channel.writeLongs(local);
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    /**
+     * Waits until the commands of the plan are finished in the worker.
+     */
+    public synchronized void sync(int device, long executionPlanId) {
+        checkOpen();
+        try {
+            channel.writeByte(RemoteProtocol.SYNC);
+            channel.writeInt(device);
+            channel.writeLong(executionPlanId);
+            channel.flush();
+            checkStatus();
+        } catch (IOException e) {
+            throw connectionLost(e);
+        }
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.writeByte(RemoteProtocol.CLOSE);
+            channel.flush();
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("unable to close the connection with %s: %s", address, e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return address;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.IOException;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
+
+/**
+ * Properties of an OpenCL device of a worker. The host compiles kernels for
+ * the device with these properties, in the same way as for a virtual device.
+ */
+public class RemoteDeviceDescriptor {
+
+    private final String deviceName;
+    private final String deviceVendor;
+    private final String driverVersion;
+    private final String version;
+    private final String openCLCVersion;
+    private final String deviceExtensions;
+    private final OCLDeviceType deviceType;
+    private final long globalMemorySize;
+    private final long localMemorySize;
+    private final long maxAllocationSize;
+    private final long maxConstantBufferSize;
+    private final int maxComputeUnits;
+    private final int maxClockFrequency;
+    private final int deviceAddressBits;
+    private final boolean doubleFPSupport;
+    private final boolean littleEndian;
+    private final long[] maxWorkItemSizes;
+    private final long[] maxWorkGroupSize;
+
+    private RemoteDeviceDescriptor(String deviceName, String deviceVendor, String driverVersion, String version, String openCLCVersion, String deviceExtensions, OCLDeviceType deviceType,
+            long globalMemorySize, long localMemorySize, long maxAllocationSize, long maxConstantBufferSize, int maxComputeUnits, int maxClockFrequency, int deviceAddressBits,
+            boolean doubleFPSupport, boolean littleEndian, long[] maxWorkItemSizes, long[] maxWorkGroupSize) {
+        this.deviceName = deviceName;
+        this.deviceVendor = deviceVendor;
+        this.driverVersion = driverVersion;
+        this.version = version;
+        this.openCLCVersion = openCLCVersion;
+        this.deviceExtensions = deviceExtensions;
+        this.deviceType = deviceType;
+        this.globalMemorySize = globalMemorySize;
+        this.localMemorySize = localMemorySize;
+        this.maxAllocationSize = maxAllocationSize;
+        this.maxConstantBufferSize = maxConstantBufferSize;
+        this.maxComputeUnits = maxComputeUnits;
+        this.maxClockFrequency = maxClockFrequency;
+        this.deviceAddressBits = deviceAddressBits;
+        this.doubleFPSupport = doubleFPSupport;
+        this.littleEndian = littleEndian;
+        this.maxWorkItemSizes = maxWorkItemSizes;
+        this.maxWorkGroupSize = maxWorkGroupSize;
+    }
+
+    static RemoteDeviceDescriptor of(OCLTargetDevice device) {
+        return new RemoteDeviceDescriptor(device.getDeviceName(), device.getDeviceVendor(), device.getDriverVersion(), device.getVersion(), device.getDeviceOpenCLCVersion(), device
+                .getDeviceExtensions(), device.getDeviceType(), device.getDeviceGlobalMemorySize(), device.getDeviceLocalMemorySize(), device.getDeviceMaxAllocationSize(), device
+                        .getDeviceMaxConstantBufferSize(), device.getDeviceMaxComputeUnits(), device.getDeviceMaxClockFrequency(), device.getWordSize() << 3, device
+                                .isDeviceDoubleFPSupported(), device.isLittleEndian(), device.getDeviceMaxWorkItemSizes(), device.getDeviceMaxWorkGroupSize());
+    }
+
+    void write(RemoteChannel channel) throws IOException {
+        channel.writeString(deviceName);
+        channel.writeString(deviceVendor);
+        channel.writeString(driverVersion);
+        channel.writeString(version);
+        channel.writeString(openCLCVersion);
+        channel.writeString(deviceExtensions);
+        channel.writeString(deviceType.name());
+        channel.writeLong(globalMemorySize);
+        channel.writeLong(localMemorySize);
+        channel.writeLong(maxAllocationSize);
+        channel.writeLong(maxConstantBufferSize);
+        channel.writeInt(maxComputeUnits);
+        channel.writeInt(maxClockFrequency);
+        channel.writeInt(deviceAddressBits);
+        channel.writeByte((byte) (doubleFPSupport ? 1 : 0));
+        channel.writeByte((byte) (littleEndian ? 1 : 0));
+        channel.writeLongs(maxWorkItemSizes);
+        channel.writeLongs(maxWorkGroupSize);
+    }
+
+    static RemoteDeviceDescriptor read(RemoteChannel channel) throws IOException {
+        return new RemoteDeviceDescriptor(channel.readString(), channel.readString(), channel.readString(), channel.readString(), channel.readString(), channel.readString(), OCLDeviceType
+                .valueOf(channel.readString()), channel.readLong(), channel.readLong(), channel.readLong(), channel.readLong(), channel.readInt(), channel.readInt(), channel.readInt(), channel
+                        .readByte() != 0, channel.readByte() != 0, channel.readLongs(), channel.readLongs());
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public String getDeviceVendor() {
+        return deviceVendor;
+    }
+
+    public String getDriverVersion() {
+        return driverVersion;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getOpenCLCVersion() {
+        return openCLCVersion;
+    }
+
+    public String getDeviceExtensions() {
+        return deviceExtensions;
+    }
+
+    public OCLDeviceType getDeviceType() {
+        return deviceType;
+    }
+
+    public long getGlobalMemorySize() {
+        return globalMemorySize;
+    }
+
+    public long getLocalMemorySize() {
+        return localMemorySize;
+    }
+
+    public long getMaxAllocationSize() {
+        return maxAllocationSize;
+    }
+
+    public long getMaxConstantBufferSize() {
+        return maxConstantBufferSize;
+    }
+
+    public int getMaxComputeUnits() {
+        return maxComputeUnits;
+    }
+
+    public int getMaxClockFrequency() {
+        return maxClockFrequency;
+    }
+
+    public int getDeviceAddressBits() {
+        return deviceAddressBits;
+    }
+
+    public boolean getDoubleFPSupport() {
+        return doubleFPSupport;
+    }
+
+    public boolean isLittleEndian() {
+        return littleEndian;
+    }
+
+    public long[] getMaxWorkItemSizes() {
+        return maxWorkItemSizes;
+    }
+
+    public long[] getMaxWorkGroupSize() {
+        return maxWorkGroupSize;
+    }
+}
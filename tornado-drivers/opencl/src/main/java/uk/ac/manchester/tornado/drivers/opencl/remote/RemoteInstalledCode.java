@@ -0,0 +1,138 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import jdk.vm.ci.code.InstalledCode;
+import jdk.vm.ci.code.InvalidInstalledCodeException;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Kernel built in a {@link TornadoWorker}. The ND-range is computed on the host
+ * and sent with the arguments of each launch. When the local work is not
+ * defined by the user, it is selected by the OpenCL driver of the worker.
+ */
+public class RemoteInstalledCode extends InstalledCode implements TornadoInstalledCode {
+
+    private static final long[] SINGLE_THREAD_WORK = new long[] { 1 };
+
+    private final byte[] code;
+    private final RemoteOCLDeviceContext deviceContext;
+    private final long kernelId;
+    private boolean valid;
+
+    RemoteInstalledCode(String entryPoint, byte[] code, RemoteOCLDeviceContext deviceContext, long kernelId) {
+        super(entryPoint);
+        this.code = code;
+        this.deviceContext = deviceContext;
+        this.kernelId = kernelId;
+        this.valid = true;
+    }
+
+    @Override
+    public void invalidate() {
+        if (valid) {
+            deviceContext.releaseKernel(kernelId);
+            valid = false;
+        }
+    }
+
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    @Override
+    public Object executeVarargs(final Object... args) throws InvalidInstalledCodeException {
+        return null;
+    }
+
+    @Override
+    public byte[] getCode() {
+        return code;
+    }
+
+    public String getGeneratedSourceCode() {
+        return new String(code);
+    }
+
+    private void launch(long executionPlanId, RemoteKernelStackFrame stackFrame, TaskMetaData meta, long batchThreads) {
+        byte[] constantData = (meta != null && meta.getConstantSize() > 0) ? meta.getConstantData() : null;
+        long localSize = (meta != null) ? meta.getLocalSize() : 0;
+
+        if (meta == null) {
+            deviceContext.launch(executionPlanId, kernelId, stackFrame.getHeader(), stackFrame.getArguments(), null, 0, 1, null, SINGLE_THREAD_WORK, SINGLE_THREAD_WORK);
+            return;
+        }
+
+        if (meta.isWorkerGridAvailable()) {
+            WorkerGrid grid = meta.getWorkerGrid(meta.getId());
+            if (meta.isThreadInfoEnabled()) {
+                meta.printThreadDims();
+            }
+            deviceContext.launch(executionPlanId, kernelId, stackFrame.getHeader(), stackFrame.getArguments(), constantData, localSize, grid.dimension(), grid.getGlobalOffset(), grid
+                    .getGlobalWork(), grid.getLocalWork());
+        } else if (meta.isParallel()) {
+            if (!meta.isGlobalWorkDefined()) {
+                final long[] globalWork = meta.getGlobalWork();
+                for (int i = 0; i < meta.getDims(); i++) {
+                    globalWork[i] = (batchThreads <= 0) ? meta.getDomain().get(i).cardinality() : batchThreads;
+                }
+            }
+            if (meta.isThreadInfoEnabled()) {
+                meta.printThreadDims();
+            }
+            long[] local = (meta.isLocalWorkDefined() && !meta.shouldUseOpenCLDriverScheduling()) ? meta.getLocalWork() : null;
+            deviceContext.launch(executionPlanId, kernelId, stackFrame.getHeader(), stackFrame.getArguments(), constantData, localSize, meta.getDims(), meta.getGlobalOffset(), meta
+                    .getGlobalWork(), local);
+        } else {
+            if (meta.isThreadInfoEnabled()) {
+                meta.printThreadDims();
+            }
+            if (meta.getGlobalWork() == null || meta.getGlobalWork().length == 0) {
+                // Sequential kernel execution
+                deviceContext.launch(executionPlanId, kernelId, stackFrame.getHeader(), stackFrame.getArguments(), constantData, localSize, 1, null, SINGLE_THREAD_WORK, SINGLE_THREAD_WORK);
+            } else {
+                // Ahead Of Time kernel execution
+                deviceContext.launch(executionPlanId, kernelId, stackFrame.getHeader(), stackFrame.getArguments(), constantData, localSize, 1, null, meta.getGlobalWork(), meta.getLocalWork());
+            }
+        }
+    }
+
+    @Override
+    public int launchWithDependencies(long executionPlanId, KernelStackFrame callWrapper, XPUBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
+        // Commands of a plan are executed in order by the worker
+        launch(executionPlanId, (RemoteKernelStackFrame) callWrapper, meta, batchThreads);
+        return -1;
+    }
+
+    @Override
+    public int launchWithoutDependencies(long executionPlanId, KernelStackFrame callWrapper, XPUBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
+        launch(executionPlanId, (RemoteKernelStackFrame) callWrapper, meta, batchThreads);
+        return -1;
+    }
+}
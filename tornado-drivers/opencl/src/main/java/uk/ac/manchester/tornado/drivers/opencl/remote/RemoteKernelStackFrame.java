@@ -0,0 +1,60 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLKernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+
+/**
+ * Kernel stack frame of a remote device. The header of the kernel context is
+ * kept on the host and sent with each launch, so the worker writes it into the
+ * stack frame buffer of the kernel before it is enqueued.
+ */
+public class RemoteKernelStackFrame implements KernelStackFrame {
+
+    private final KernelArguments arguments;
+    private final long[] header;
+
+    RemoteKernelStackFrame(int numArgs) {
+        this.arguments = new KernelArguments(numArgs);
+        this.header = new long[OCLKernelStackFrame.RESERVED_SLOTS];
+    }
+
+    @Override
+    public KernelArguments getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public void setKernelContext(long[] globalWork) {
+        for (int i = 0; i < header.length; i++) {
+            header[i] = globalWork != null && i < globalWork.length ? globalWork[i] : 0;
+        }
+    }
+
+    long[] getHeader() {
+        return header;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.util.List;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLContextInterface;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+public class RemoteOCLContext implements OCLContextInterface {
+
+    private final List<OCLTargetDevice> devices;
+    private final RemoteOCLPlatform platform;
+
+    public RemoteOCLContext(RemoteOCLPlatform platform, List<OCLTargetDevice> devices) {
+        this.platform = platform;
+        this.devices = devices;
+    }
+
+    @Override
+    public int getNumDevices() {
+        return devices.size();
+    }
+
+    @Override
+    public List<OCLTargetDevice> devices() {
+        return devices;
+    }
+
+    @Override
+    public long getContextId() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName();
+    }
+
+    @Override
+    public RemoteOCLDeviceContext createDeviceContext(int index) {
+        new TornadoLogger().debug("creating device context for device: %s", devices.get(index).toString());
+        return new RemoteOCLDeviceContext(devices.get(index), this);
+    }
+
+    @Override
+    public int getPlatformIndex() {
+        return platform.getIndex();
+    }
+
+    @Override
+    public RemoteOCLPlatform getPlatform() {
+        return platform;
+    }
+
+    public RemoteConnection getConnection() {
+        return platform.getConnection();
+    }
+
+    @Override
+    public void createCommandQueue(int index) {
+    }
+}
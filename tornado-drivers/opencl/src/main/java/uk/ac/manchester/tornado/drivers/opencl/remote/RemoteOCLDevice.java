@@ -0,0 +1,203 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.nio.ByteOrder;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
+
+public class RemoteOCLDevice implements OCLTargetDevice {
+
+    private final int index;
+    private final RemoteDeviceDescriptor info;
+    private OCLDeviceContextInterface deviceContext;
+
+    public RemoteOCLDevice(int index, RemoteDeviceDescriptor info) {
+        this.index = index;
+        this.info = info;
+    }
+
+    /**
+     * @return index of the device in the worker.
+     */
+    @Override
+    public long getId() {
+        return index;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public OCLDeviceType getDeviceType() {
+        return info.getDeviceType();
+    }
+
+    @Override
+    public boolean isDeviceAvailable() {
+        return true;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return info.getDeviceName();
+    }
+
+    @Override
+    public String getDeviceVendor() {
+        return info.getDeviceVendor();
+    }
+
+    @Override
+    public String getDriverVersion() {
+        return info.getDriverVersion();
+    }
+
+    @Override
+    public String getVersion() {
+        return info.getVersion();
+    }
+
+    @Override
+    public String getDeviceOpenCLCVersion() {
+        return info.getOpenCLCVersion();
+    }
+
+    @Override
+    public String getDeviceExtensions() {
+        return info.getDeviceExtensions();
+    }
+
+    @Override
+    public int getDeviceMaxComputeUnits() {
+        return info.getMaxComputeUnits();
+    }
+
+    @Override
+    public int getDeviceMaxClockFrequency() {
+        return info.getMaxClockFrequency();
+    }
+
+    @Override
+    public long getDeviceMaxAllocationSize() {
+        return info.getMaxAllocationSize();
+    }
+
+    @Override
+    public long getDeviceGlobalMemorySize() {
+        return info.getGlobalMemorySize();
+    }
+
+    @Override
+    public long getDeviceLocalMemorySize() {
+        return info.getLocalMemorySize();
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkItemSizes() {
+        return info.getMaxWorkItemSizes();
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkGroupSize() {
+        return info.getMaxWorkGroupSize();
+    }
+
+    @Override
+    public int getMaxThreadsPerBlock() {
+        return (int) info.getMaxWorkGroupSize()[0];
+    }
+
+    @Override
+    public long getDeviceMaxConstantBufferSize() {
+        return info.getMaxConstantBufferSize();
+    }
+
+    @Override
+    public boolean isDeviceDoubleFPSupported() {
+        return info.getDoubleFPSupport();
+    }
+
+    public int getDeviceAddressBits() {
+        return info.getDeviceAddressBits();
+    }
+
+    @Override
+    public boolean isLittleEndian() {
+        return info.isLittleEndian();
+    }
+
+    @Override
+    public OCLDeviceContextInterface getDeviceContext() {
+        return deviceContext;
+    }
+
+    @Override
+    public void setDeviceContext(OCLDeviceContextInterface deviceContext) {
+        this.deviceContext = deviceContext;
+    }
+
+    @Override
+    public int deviceVersion() {
+        return Integer.parseInt(getVersion().split(" ")[1].replace(".", "")) * 10;
+    }
+
+    @Override
+    public boolean isSPIRVSupported() {
+        return false;
+    }
+
+    @Override
+    public int getWordSize() {
+        return getDeviceAddressBits() >> 3;
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("id=%d, deviceName=%s, type=%s, available=%s", index, getDeviceName(), getDeviceType().toString(), isDeviceAvailable());
+    }
+
+    @Override
+    public String getDeviceInfo() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("id=" + index + ", name=" + getDeviceName() + ", type=" + getDeviceType() + "\n");
+        sb.append("\tvendor=" + getDeviceVendor() + ", version=" + getVersion() + ", driver=" + getDriverVersion() + "\n");
+        sb.append("\tfreq=" + getDeviceMaxClockFrequency() + ", max compute units=" + getDeviceMaxComputeUnits() + "\n");
+        sb.append("\tglobal mem. size=" + getDeviceGlobalMemorySize() + ", local mem. size=" + getDeviceLocalMemorySize() + "\n");
+        sb.append("\textensions:\n");
+        for (String extension : getDeviceExtensions().split(" ")) {
+            sb.append("\t\t" + extension + "\n");
+        }
+        return sb.toString();
+    }
+}
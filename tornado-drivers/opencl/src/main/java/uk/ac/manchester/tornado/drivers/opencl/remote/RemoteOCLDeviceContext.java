@@ -0,0 +1,316 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.opencl.OCLBackendImpl;
+import uk.ac.manchester.tornado.drivers.opencl.OCLCodeCache;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
+import uk.ac.manchester.tornado.drivers.opencl.OCLProgram;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResult;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMemoryManager;
+import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Device context of a device of a {@link TornadoWorker}. Kernels are compiled
+ * on the host and installed in the worker as OpenCL C source code. Commands
+ * are forwarded through the connection of the platform, so the worker keeps
+ * the order of the commands of each plan. Events are not exposed to the host.
+ */
+public class RemoteOCLDeviceContext implements OCLDeviceContextInterface {
+
+    private final OCLTargetDevice device;
+    private final RemoteOCLContext context;
+    private final RemoteConnection connection;
+    private final OCLCodeCache codeCache;
+    private final Map<String, RemoteInstalledCode> installedCodes;
+    private final Set<Long> executionIDs;
+    private boolean wasReset;
+
+    protected RemoteOCLDeviceContext(OCLTargetDevice device, RemoteOCLContext context) {
+        this.device = device;
+        this.context = context;
+        this.connection = context.getConnection();
+        this.codeCache = new OCLCodeCache(this);
+        this.installedCodes = new ConcurrentHashMap<>();
+        this.executionIDs = Collections.synchronizedSet(new HashSet<>());
+        device.setDeviceContext(this);
+    }
+
+    @Override
+    public OCLTargetDevice getDevice() {
+        return device;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return device.getDeviceName();
+    }
+
+    @Override
+    public int getDriverIndex() {
+        return TornadoRuntime.getTornadoRuntime().getBackendIndex(OCLBackendImpl.class);
+    }
+
+    @Override
+    public Set<Long> getRegisteredPlanIds() {
+        return executionIDs;
+    }
+
+    @Override
+    public String toString() {
+        return STR."[\{device.getIndex()}] \{device.getDeviceName()} @ \{connection.getAddress()}";
+    }
+
+    @Override
+    public RemoteOCLContext getPlatformContext() {
+        return context;
+    }
+
+    @Override
+    public long getDeviceId() {
+        return device.getId();
+    }
+
+    long allocate(long numBytes) {
+        return connection.allocate(getDeviceIndex(), numBytes);
+    }
+
+    void release(long bufferId) {
+        connection.release(getDeviceIndex(), bufferId);
+    }
+
+    void write(long executionPlanId, long bufferId, long deviceOffset, MemorySegment segment, long hostOffset, long numBytes) {
+        executionIDs.add(executionPlanId);
+        connection.write(getDeviceIndex(), executionPlanId, bufferId, deviceOffset, segment, hostOffset, numBytes);
+    }
+
+    void read(long executionPlanId, long bufferId, long deviceOffset, MemorySegment segment, long hostOffset, long numBytes) {
+        executionIDs.add(executionPlanId);
+        connection.read(getDeviceIndex(), executionPlanId, bufferId, deviceOffset, segment, hostOffset, numBytes);
+    }
+
+    void launch(long executionPlanId, long kernelId, long[] header, KernelArguments arguments, byte[] constantData, long localSize, int dimensions, long[] offset, long[] global,
+            long[] local) {
+        executionIDs.add(executionPlanId);
+        connection.launch(getDeviceIndex(), executionPlanId, kernelId, header, arguments, constantData, localSize, dimensions, offset, global, local);
+    }
+
+    void releaseKernel(long kernelId) {
+        connection.releaseKernel(getDeviceIndex(), kernelId);
+    }
+
+    /**
+     * Builds a kernel in the worker. It replaces the code of the task that was
+     * installed before, if any.
+     */
+    public RemoteInstalledCode installRemoteCode(TaskMetaData meta, String id, String entryPoint, byte[] source) {
+        entryPoint = OCLDeviceContext.checkKernelName(entryPoint);
+        if (meta.isPrintKernelEnabled()) {
+            RuntimeUtilities.dumpKernel(source);
+        }
+        long kernelId = connection.build(getDeviceIndex(), entryPoint, source, meta.getCompilerFlags());
+        RemoteInstalledCode installedCode = new RemoteInstalledCode(entryPoint, source, this, kernelId);
+        RemoteInstalledCode previous = installedCodes.put(STR."\{id}-\{entryPoint}", installedCode);
+        if (previous != null) {
+            previous.invalidate();
+        }
+        return installedCode;
+    }
+
+    public RemoteInstalledCode getRemoteCode(String id, String entryPoint) {
+        entryPoint = OCLDeviceContext.checkKernelName(entryPoint);
+        return installedCodes.get(STR."\{id}-\{entryPoint}");
+    }
+
+    @Override
+    public OCLProgram createProgramWithSource(byte[] source, long[] lengths) {
+        return null;
+    }
+
+    @Override
+    public OCLProgram createProgramWithBinary(byte[] binary, long[] lengths) {
+        return null;
+    }
+
+    @Override
+    public OCLProgram createProgramWithIL(byte[] binary, long[] lengths) {
+        return null;
+    }
+
+    @Override
+    public OCLMemoryManager getMemoryManager() {
+        return null;
+    }
+
+    @Override
+    public TornadoBufferProvider getBufferProvider() {
+        return null;
+    }
+
+    @Override
+    public void sync(long executionPlanId) {
+        connection.sync(getDeviceIndex(), executionPlanId);
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId, int[] events) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId, int[] events) {
+        return -1;
+    }
+
+    @Override
+    public Event resolveEvent(long executionPlanId, int event) {
+        return new EmptyEvent();
+    }
+
+    @Override
+    public void flushEvents(long executionPlanId) {
+    }
+
+    @Override
+    public void reset(long executionPlanId) {
+        installedCodes.values().forEach(RemoteInstalledCode::invalidate);
+        installedCodes.clear();
+        wasReset = true;
+    }
+
+    @Override
+    public RemoteOCLTornadoDevice asMapping() {
+        return new RemoteOCLTornadoDevice(context.getPlatformIndex(), device.getIndex());
+    }
+
+    @Override
+    public void dumpEvents() {
+    }
+
+    @Override
+    public void flush(long executionPlanId) {
+    }
+
+    @Override
+    public boolean wasReset() {
+        return wasReset;
+    }
+
+    @Override
+    public void setResetToFalse() {
+        wasReset = false;
+    }
+
+    @Override
+    public boolean isPlatformFPGA() {
+        return false;
+    }
+
+    @Override
+    public boolean isPlatformXilinxFPGA() {
+        return false;
+    }
+
+    @Override
+    public boolean isFP64Supported() {
+        return device.isDeviceDoubleFPSupported();
+    }
+
+    @Override
+    public int getDeviceIndex() {
+        return device.getIndex();
+    }
+
+    @Override
+    public int getDevicePlatform() {
+        return context.getPlatformIndex();
+    }
+
+    @Override
+    public boolean isKernelAvailable() {
+        return true;
+    }
+
+    @Override
+    public OCLInstalledCode installCode(OCLCompilationResult result) {
+        return null;
+    }
+
+    @Override
+    public OCLInstalledCode installCode(TaskMetaData meta, String id, String entryPoint, byte[] code) {
+        return null;
+    }
+
+    @Override
+    public OCLInstalledCode installCode(String id, String entryPoint, byte[] code, boolean printKernel) {
+        return null;
+    }
+
+    @Override
+    public boolean isCached(String id, String entryPoint) {
+        return getRemoteCode(id, entryPoint) != null;
+    }
+
+    @Override
+    public OCLInstalledCode getInstalledCode(String id, String entryPoint) {
+        return null;
+    }
+
+    @Override
+    public OCLCodeCache getCodeCache() {
+        return codeCache;
+    }
+
+    @Override
+    public boolean isCached(String methodName, SchedulableTask task) {
+        return isCached(task.getId(), methodName);
+    }
+}
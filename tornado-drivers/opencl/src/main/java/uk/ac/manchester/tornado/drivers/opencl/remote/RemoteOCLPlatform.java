@@ -0,0 +1,99 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLContextInterface;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.TornadoPlatformInterface;
+
+/**
+ * OpenCL platform that exposes the devices of a {@link TornadoWorker}. There
+ * is a platform per worker.
+ */
+public class RemoteOCLPlatform implements TornadoPlatformInterface {
+
+    private final int index;
+    private final RemoteConnection connection;
+    private final List<OCLTargetDevice> devices;
+    private RemoteOCLContext context;
+
+    public RemoteOCLPlatform(int index, String address) {
+        this.index = index;
+        this.connection = new RemoteConnection(address);
+        this.devices = new ArrayList<>();
+        List<RemoteDeviceDescriptor> descriptors = connection.getDevices();
+        for (int i = 0; i < descriptors.size(); i++) {
+            devices.add(new RemoteOCLDevice(i, descriptors.get(i)));
+        }
+    }
+
+    @Override
+    public synchronized OCLContextInterface createContext() {
+        if (context == null) {
+            context = new RemoteOCLContext(this, devices);
+        }
+        return context;
+    }
+
+    @Override
+    public void cleanup() {
+        connection.close();
+    }
+
+    public RemoteConnection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public String getName() {
+        return STR."Remote OpenCL (\{connection.getAddress()})";
+    }
+
+    @Override
+    public String getVendor() {
+        return devices.isEmpty() ? null : devices.getFirst().getDeviceVendor();
+    }
+
+    @Override
+    public String getVersion() {
+        return devices.isEmpty() ? null : devices.getFirst().getVersion();
+    }
+
+    @Override
+    public boolean isSPIRVSupported() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+}
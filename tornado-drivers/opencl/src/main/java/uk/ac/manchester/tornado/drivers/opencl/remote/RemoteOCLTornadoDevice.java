@@ -0,0 +1,508 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.opencl.OCLBackendImpl;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
+import uk.ac.manchester.tornado.drivers.opencl.graal.OCLProviders;
+import uk.ac.manchester.tornado.drivers.opencl.graal.backend.OCLBackend;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResult;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompiler;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TornadoAtomicIntegerNode;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.CodeCacheEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.DriverBuildEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.GraalCompilationEvent;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * TornadoVM device that executes tasks on an OpenCL device of a
+ * {@link TornadoWorker}. Tasks are compiled on the host with the OpenCL
+ * backend, and the generated OpenCL C code is built by the worker.
+ *
+ * <p>
+ * Only types backed by a memory segment (TornadoVM native arrays, collections,
+ * matrices, images and volumes) can be transferred. Atomics and batch
+ * processing are not supported.
+ * </p>
+ */
+public class RemoteOCLTornadoDevice implements TornadoXPUDevice {
+
+    private static OCLBackendImpl driver = null;
+    private static final boolean BENCHMARKING_MODE = Boolean.parseBoolean(System.getProperties().getProperty("tornado.benchmarking", "False"));
+    private final OCLTargetDevice device;
+    private final int deviceIndex;
+    private final int platformIndex;
+    private final String platformName;
+
+    public RemoteOCLTornadoDevice(final int platformIndex, final int deviceIndex) {
+        this.platformIndex = platformIndex;
+        this.deviceIndex = deviceIndex;
+
+        platformName = findDriver().getPlatformContext(platformIndex).getPlatform().getName();
+        device = findDriver().getPlatformContext(platformIndex).devices().get(deviceIndex);
+    }
+
+    private static OCLBackendImpl findDriver() {
+        if (driver == null) {
+            driver = TornadoCoreRuntime.getTornadoRuntime().getBackend(OCLBackendImpl.class);
+            TornadoInternalError.guarantee(driver != null, "unable to find OpenCL driver");
+        }
+        return driver;
+    }
+
+    @Override
+    public void dumpEvents(long executionPlanId) {
+    }
+
+    @Override
+    public String getDescription() {
+        final String availability = (device.isDeviceAvailable()) ? "available" : "not available";
+        return String.format("%s %s (%s)", device.getDeviceName(), device.getDeviceType(), availability);
+    }
+
+    @Override
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    @Override
+    public OCLTargetDevice getPhysicalDevice() {
+        return device;
+    }
+
+    @Override
+    public TornadoMemoryProvider getMemoryProvider() {
+        return device::getDeviceGlobalMemorySize;
+    }
+
+    @Override
+    public RemoteOCLDeviceContext getDeviceContext() {
+        return (RemoteOCLDeviceContext) getBackend().getDeviceContext();
+    }
+
+    public OCLBackend getBackend() {
+        return findDriver().getBackend(platformIndex, deviceIndex);
+    }
+
+    @Override
+    public void clean() {
+        Set<Long> ids = device.getDeviceContext().getRegisteredPlanIds();
+        ids.forEach(id -> device.getDeviceContext().reset(id));
+        ids.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getPlatformName() + " -- " + device.getDeviceName();
+    }
+
+    @Override
+    public TornadoSchedulingStrategy getPreferredSchedule() {
+        return TornadoSchedulingStrategy.PER_ACCELERATOR_ITERATION;
+    }
+
+    @Override
+    public void ensureLoaded(long executionPlanId) {
+        final OCLBackend backend = getBackend();
+        if (!backend.isInitialised()) {
+            backend.init();
+        }
+    }
+
+    @Override
+    public KernelStackFrame createKernelStackFrame(int numArgs) {
+        return new RemoteKernelStackFrame(numArgs);
+    }
+
+    @Override
+    public XPUBuffer createOrReuseAtomicsBuffer(int[] array) {
+        throw TornadoUnsupportedError.unsupported("atomics are not supported by remote devices");
+    }
+
+    private TornadoInstalledCode compileTask(SchedulableTask task) {
+        final RemoteOCLDeviceContext deviceContext = getDeviceContext();
+        final CompilableTask executable = (CompilableTask) task;
+        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
+        final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+
+        // Return the code from the cache
+        if (!task.shouldCompile() && deviceContext.isCached(task.getId(), resolvedMethod.getName())) {
+            CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, true);
+            return deviceContext.getRemoteCode(task.getId(), resolvedMethod.getName());
+        }
+        CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, false);
+
+        // copy meta data into task
+        final TaskMetaData taskMeta = executable.meta();
+        final Access[] sketchAccess = sketch.getArgumentsAccess();
+        final Access[] taskAccess = taskMeta.getArgumentsAccess();
+        System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+
+        try {
+            OCLProviders providers = (OCLProviders) getBackend().getProviders();
+            TornadoProfiler profiler = task.getProfiler();
+            profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            GraalCompilationEvent compilationEvent = new GraalCompilationEvent();
+            compilationEvent.begin();
+            final OCLCompilationResult result = OCLCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
+            compilationEvent.commit(taskMeta.getId(), resolvedMethod.getName(), this);
+            profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
+
+            profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
+            RemoteInstalledCode installedCode = deviceContext.installRemoteCode(result.getMeta(), result.getId(), result.getName(), result.getTargetCode());
+            buildEvent.commit(taskMeta.getId(), result.getName(), this);
+            profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+            return installedCode;
+        } catch (Exception e) {
+            TornadoLogger logger = new TornadoLogger();
+            logger.fatal("Unable to compile %s for device %s\n", task.getId(), getDeviceName());
+            logger.fatal("Exception occurred when compiling %s\n", ((CompilableTask) task).getMethod().getName());
+            if (TornadoOptions.RECOVER_BAILOUT) {
+                throw new TornadoBailoutRuntimeException("[Error during the Task Compilation]: " + e.getMessage());
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    private TornadoInstalledCode compilePreBuiltTask(SchedulableTask task) {
+        final RemoteOCLDeviceContext deviceContext = getDeviceContext();
+        final PrebuiltTask executable = (PrebuiltTask) task;
+        if (deviceContext.isCached(task.getId(), executable.getEntryPoint())) {
+            return deviceContext.getRemoteCode(task.getId(), executable.getEntryPoint());
+        }
+
+        final Path path = Paths.get(executable.getFilename());
+        TornadoInternalError.guarantee(path.toFile().exists(), "file does not exist: %s", executable.getFilename());
+        try {
+            final byte[] source = Files.readAllBytes(path);
+            return deviceContext.installRemoteCode(executable.meta(), task.getId(), executable.getEntryPoint(), source);
+        } catch (IOException e) {
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
+    @Override
+    public TornadoInstalledCode installCode(SchedulableTask task) {
+        if (task instanceof CompilableTask) {
+            return compileTask(task);
+        } else if (task instanceof PrebuiltTask) {
+            return compilePreBuiltTask(task);
+        }
+        TornadoInternalError.shouldNotReachHere("task of unknown type: " + task.getClass().getSimpleName());
+        return null;
+    }
+
+    @Override
+    public boolean isFullJITMode(SchedulableTask task) {
+        return false;
+    }
+
+    @Override
+    public TornadoInstalledCode getCodeFromCache(SchedulableTask task) {
+        return getDeviceContext().getRemoteCode(task.getId(), task.getTaskName());
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task) {
+        if (TornadoAtomicIntegerNode.globalAtomics.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
+            throw TornadoUnsupportedError.unsupported("atomics are not supported by remote devices");
+        }
+        return null;
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task, int[] array, int paramIndex, Object value) {
+        return array;
+    }
+
+    @Override
+    public int[] updateAtomicRegionAndObjectState(SchedulableTask task, int[] array, int paramIndex, Object value, XPUDeviceBufferState objectState) {
+        throw TornadoUnsupportedError.unsupported("atomics are not supported by remote devices");
+    }
+
+    @Override
+    public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
+        return -1;
+    }
+
+    @Override
+    public boolean checkAtomicsParametersForTask(SchedulableTask task) {
+        return false;
+    }
+
+    @Override
+    public boolean loopIndexInWrite(SchedulableTask task) {
+        if (task instanceof CompilableTask executable) {
+            final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
+            final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+            return sketch.getBatchWriteThreadIndex();
+        } else {
+            return false;
+        }
+    }
+
+    private XPUBuffer newDeviceBufferAllocation(Object object, long batchSize, DeviceBufferState deviceObjectState) {
+        TornadoInternalError.guarantee(!deviceObjectState.hasObjectBuffer(), "A device memory leak might be occurring.");
+        final XPUBuffer buffer = new RemoteBuffer(getDeviceContext(), batchSize);
+        deviceObjectState.setXPUBuffer(buffer);
+        buffer.allocate(object, batchSize);
+        return buffer;
+    }
+
+    @Override
+    public int allocate(Object object, long batchSize, DeviceBufferState state) {
+        if (state.hasObjectBuffer() && state.isLockedBuffer()) {
+            if (batchSize != 0) {
+                state.getXPUBuffer().setSizeSubRegion(batchSize);
+            }
+        } else {
+            newDeviceBufferAllocation(object, batchSize, state);
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized int allocateObjects(Object[] objects, long batchSize, DeviceBufferState[] states) {
+        for (int i = 0; i < objects.length; i++) {
+            allocate(objects[i], batchSize, states[i]);
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized int deallocate(DeviceBufferState deviceBufferState) {
+        if (deviceBufferState.isLockedBuffer()) {
+            return -1;
+        }
+        deviceBufferState.getXPUBuffer().deallocate();
+        deviceBufferState.setContents(false);
+        deviceBufferState.setXPUBuffer(null);
+        return -1;
+    }
+
+    @Override
+    public List<Integer> ensurePresent(long executionPlanId, Object object, DeviceBufferState state, int[] events, long batchSize, long offset) {
+        if (!state.hasContent() || BENCHMARKING_MODE) {
+            state.setContents(true);
+            return state.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, offset, events, events == null);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Integer> streamIn(long executionPlanId, Object object, long batchSize, long offset, DeviceBufferState state, int[] events) {
+        state.setContents(true);
+        return state.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, offset, events, events == null);
+    }
+
+    @Override
+    public int streamOut(long executionPlanId, Object object, long offset, DeviceBufferState state, int[] events) {
+        TornadoInternalError.guarantee(state.hasObjectBuffer(), "invalid variable");
+        return state.getXPUBuffer().enqueueRead(executionPlanId, object, offset, events, events == null);
+    }
+
+    @Override
+    public int streamOutBlocking(long executionPlanId, Object object, long hostOffset, DeviceBufferState state, int[] events) {
+        TornadoInternalError.guarantee(state.hasObjectBuffer(), "invalid variable");
+        return state.getXPUBuffer().read(executionPlanId, object, hostOffset, state.getPartialCopySize(), events, events == null);
+    }
+
+    @Override
+    public void flush(long executionPlanId) {
+        getDeviceContext().flush(executionPlanId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof RemoteOCLTornadoDevice other) {
+            return (other.deviceIndex == deviceIndex && other.platformIndex == platformIndex);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 89 * hash + this.deviceIndex;
+        hash = 89 * hash + this.platformIndex;
+        return hash;
+    }
+
+    @Override
+    public void sync(long executionPlanId) {
+        getDeviceContext().sync(executionPlanId);
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId) {
+        return getDeviceContext().enqueueBarrier(executionPlanId);
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId, int[] events) {
+        return getDeviceContext().enqueueBarrier(executionPlanId, events);
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId) {
+        return getDeviceContext().enqueueMarker(executionPlanId);
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId, int[] events) {
+        return getDeviceContext().enqueueMarker(executionPlanId, events);
+    }
+
+    @Override
+    public Event resolveEvent(long executionPlanId, int event) {
+        return getDeviceContext().resolveEvent(executionPlanId, event);
+    }
+
+    @Override
+    public void flushEvents(long executionPlanId) {
+        getDeviceContext().flushEvents(executionPlanId);
+    }
+
+    @Override
+    public String getDeviceName() {
+        return String.format("remoteOpencl-%d-%d", platformIndex, deviceIndex);
+    }
+
+    @Override
+    public TornadoDeviceType getDeviceType() {
+        OCLDeviceType deviceType = device.getDeviceType();
+        return switch (deviceType) {
+            case CL_DEVICE_TYPE_CPU -> TornadoDeviceType.CPU;
+            case CL_DEVICE_TYPE_GPU -> TornadoDeviceType.GPU;
+            case CL_DEVICE_TYPE_ACCELERATOR -> TornadoDeviceType.ACCELERATOR;
+            case CL_DEVICE_TYPE_CUSTOM -> TornadoDeviceType.CUSTOM;
+            case CL_DEVICE_TYPE_ALL -> TornadoDeviceType.ALL;
+            case CL_DEVICE_TYPE_DEFAULT -> TornadoDeviceType.DEFAULT;
+            default -> throw new RuntimeException("Device not supported");
+        };
+    }
+
+    @Override
+    public long getMaxAllocMemory() {
+        return device.getDeviceMaxAllocationSize();
+    }
+
+    @Override
+    public long getMaxGlobalMemory() {
+        return device.getDeviceGlobalMemorySize();
+    }
+
+    @Override
+    public long getDeviceLocalMemorySize() {
+        return device.getDeviceLocalMemorySize();
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkgroupDimensions() {
+        return device.getDeviceMaxWorkItemSizes();
+    }
+
+    @Override
+    public String getDeviceOpenCLCVersion() {
+        return device.getDeviceOpenCLCVersion();
+    }
+
+    @Override
+    public Object getDeviceInfo() {
+        return device.getDeviceInfo();
+    }
+
+    @Override
+    public int getDriverIndex() {
+        return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(OCLBackendImpl.class);
+    }
+
+    @Override
+    public void enableThreadSharing() {
+        // OpenCL device context is shared by different threads, by default
+    }
+
+    @Override
+    public void setAtomicRegion(XPUBuffer bufferAtomics) {
+    }
+
+    @Override
+    public Object getAtomic() {
+        return null;
+    }
+
+    @Override
+    public void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics) {
+    }
+
+    @Override
+    public TornadoVMBackendType getTornadoVMBackend() {
+        return TornadoVMBackendType.OPENCL;
+    }
+
+    @Override
+    public boolean isSPIRVSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+/**
+ * Commands exchanged between a {@link RemoteConnection} and a
+ * {@link TornadoWorker}. Each command starts with its opcode, followed by the
+ * index of the device in the worker. Only the commands that return data (or
+ * that the host needs to wait for) have a reply, which starts with a status.
+ * The rest of the commands are pipelined, and the first error they produce is
+ * reported with the next reply.
+ */
+final class RemoteProtocol {
+
+    static final int MAGIC = 0x544F524E;
+    static final int VERSION = 2;
+
+    /**
+     * Maximum length in bytes of the token of the handshake.
+     */
+    static final int MAX_TOKEN_LENGTH = 1024;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    /**
+     * Handshake: magic number, version and token. Reply: status, number of
+     * devices and their descriptors.
+     */
+    static final byte HELLO = 1;
+    /**
+     * Device, buffer id and size in bytes.
+     */
+    static final byte ALLOCATE = 2;
+    /**
+     * Device and buffer id.
+     */
+    static final byte RELEASE = 3;
+    /**
+     * Device, plan, buffer id, device offset, size in bytes and the payload.
+     */
+    static final byte WRITE = 4;
+    /**
+     * Device, plan, buffer id, device offset and size in bytes. Reply: status
+     * and the payload.
+     */
+    static final byte READ = 5;
+    /**
+     * Device, kernel id, entry point, compiler flags and source code. Reply:
+     * status, or the build log if the build failed.
+     */
+    static final byte BUILD = 6;
+    /**
+     * Device and kernel id.
+     */
+    static final byte RELEASE_KERNEL = 7;
+    /**
+     * Device, plan, kernel id, header of the kernel context, arguments,
+     * constant data, local memory size and the ND-range.
+     */
+    static final byte LAUNCH = 8;
+    /**
+     * Device and plan. Reply: status once all the commands of the plan are
+     * finished.
+     */
+    static final byte SYNC = 9;
+    /**
+     * Releases all the resources of the connection.
+     */
+    static final byte CLOSE = 10;
+
+    private RemoteProtocol() {
+    }
+}
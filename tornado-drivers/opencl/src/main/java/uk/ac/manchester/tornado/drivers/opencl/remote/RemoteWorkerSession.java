@@ -0,0 +1,461 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLContext.OCLBufferResult;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLKernel;
+import uk.ac.manchester.tornado.drivers.opencl.OCLProgram;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBuildStatus;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLKernelStackFrame;
+import uk.ac.manchester.tornado.drivers.opencl.remote.TornadoWorker.WorkerDevice;
+import uk.ac.manchester.tornado.runtime.common.KernelArgumentCache;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Connection of a {@link TornadoWorker} with a host. Commands are executed in
+ * the order they are received, and transfers and launches are enqueued without
+ * waiting, using the command queue of the plan. The host memory of pending
+ * writes is kept until the plan is synchronized.
+ */
+class RemoteWorkerSession implements Runnable {
+
+    private static final long STACK_FRAME_SIZE = (long) OCLKernelStackFrame.RESERVED_SLOTS * Long.BYTES;
+
+    private record Buffer(int device, long buffer) {
+    }
+
+    private record Kernel(int device, OCLProgram program, OCLKernel kernel, long stackFrame, KernelArgumentCache argumentCache) {
+    }
+
+    private record Plan(int device, long executionPlanId) {
+    }
+
+    private final TornadoWorker worker;
+    private final RemoteChannel channel;
+    private final TornadoLogger logger;
+    private final Map<Long, Buffer> buffers;
+    private final Map<Long, Kernel> kernels;
+    private final Map<Long, Long> executionPlanIds;
+    private final Map<Plan, Arena> stagingMemory;
+    private final Set<Plan> plans;
+    private final ByteBuffer argument;
+    private String pendingError;
+
+    RemoteWorkerSession(TornadoWorker worker, RemoteChannel channel) {
+        this.worker = worker;
+        this.channel = channel;
+        this.logger = new TornadoLogger(this.getClass());
+        this.buffers = new HashMap<>();
+        this.kernels = new HashMap<>();
+        this.executionPlanIds = new HashMap<>();
+        this.stagingMemory = new HashMap<>();
+        this.plans = new HashSet<>();
+        this.argument = ByteBuffer.allocate(Long.BYTES);
+    }
+
+    @Override
+    public void run() {
+        try (channel) {
+            if (!handshake()) {
+                return;
+            }
+            boolean open = true;
+            while (open) {
+                byte command = channel.readByte();
+                try {
+                    switch (command) {
+                        case RemoteProtocol.ALLOCATE -> allocate();
+                        case RemoteProtocol.RELEASE -> release();
+                        case RemoteProtocol.WRITE -> write();
+                        case RemoteProtocol.READ -> read();
+                        case RemoteProtocol.BUILD -> build();
+                        case RemoteProtocol.RELEASE_KERNEL -> releaseKernel();
+                        case RemoteProtocol.LAUNCH -> launch();
+                        case RemoteProtocol.SYNC -> sync();
+                        case RemoteProtocol.CLOSE -> open = false;
+                        default -> throw new IOException(STR."Unknown command: \{command}");
+                    }
+                } catch (RuntimeException e) {
+                    // Commands read all their arguments before using the device, so the session can continue
+                    fail(STR."\{e.getClass().getSimpleName()}: \{e.getMessage()}");
+                    if (command == RemoteProtocol.READ || command == RemoteProtocol.BUILD || command == RemoteProtocol.SYNC) {
+                        reply();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("connection with %s closed: %s", channel, e.getMessage());
+        } finally {
+            releaseAll();
+        }
+    }
+
+    private boolean handshake() throws IOException {
+        if (channel.readByte() != RemoteProtocol.HELLO || channel.readInt() != RemoteProtocol.MAGIC) {
+            throw new IOException("The client is not a TornadoVM application");
+        }
+        int version = channel.readInt();
+        if (version != RemoteProtocol.VERSION) {
+            channel.writeByte(RemoteProtocol.STATUS_ERROR);
+            channel.writeString(STR."Protocol version \{version} is not supported by the worker (version \{RemoteProtocol.VERSION})");
+            channel.flush();
+            return false;
+        }
+        if (!worker.isValidToken(channel.readBytes(RemoteProtocol.MAX_TOKEN_LENGTH))) {
+            logger.warn("connection from %s rejected: invalid token", channel);
+            channel.writeByte(RemoteProtocol.STATUS_ERROR);
+            channel.writeString("Invalid token. Set -Dtornado.remote.token to the token of the worker");
+            channel.flush();
+            return false;
+        }
+        channel.writeByte(RemoteProtocol.STATUS_OK);
+        channel.writeInt(worker.getDevices().size());
+        for (WorkerDevice device : worker.getDevices()) {
+            RemoteDeviceDescriptor.of(device.deviceContext().getDevice()).write(channel);
+        }
+        channel.flush();
+        return true;
+    }
+
+    /**
+     * Records the first error of the pipelined commands, which is reported with
+     * the next reply.
+     */
+    private void fail(String message) {
+        logger.error(message);
+        if (pendingError == null) {
+            pendingError = message;
+        }
+    }
+
+    /**
+     * Writes the status of a reply.
+     *
+     * @return true if there are no errors pending.
+     */
+    private boolean reply() throws IOException {
+        if (pendingError != null) {
+            channel.writeByte(RemoteProtocol.STATUS_ERROR);
+            channel.writeString(pendingError);
+            channel.flush();
+            pendingError = null;
+            return false;
+        }
+        channel.writeByte(RemoteProtocol.STATUS_OK);
+        return true;
+    }
+
+    private WorkerDevice getDevice(int index) {
+        if (index < 0 || index >= worker.getDevices().size()) {
+            fail(STR."Invalid device index: \{index}");
+            return null;
+        }
+        return worker.getDevices().get(index);
+    }
+
+    private long getExecutionPlanId(int device, long executionPlanId) {
+        long id = executionPlanIds.computeIfAbsent(executionPlanId, k -> worker.newExecutionPlanId());
+        plans.add(new Plan(device, id));
+        return id;
+    }
+
+    private MemorySegment allocateStaging(int device, long executionPlanId, long numBytes) {
+        return stagingMemory.computeIfAbsent(new Plan(device, executionPlanId), k -> Arena.ofConfined()).allocate(numBytes, Long.BYTES);
+    }
+
+    private void releaseStaging(int device, long executionPlanId) {
+        Arena arena = stagingMemory.remove(new Plan(device, executionPlanId));
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    private void allocate() throws IOException {
+        int device = channel.readInt();
+        long bufferId = channel.readLong();
+        long numBytes = channel.readLong();
+        WorkerDevice workerDevice = getDevice(device);
+        if (workerDevice == null) {
+            return;
+        }
+        OCLBufferResult result = workerDevice.context().createBuffer(OCLMemFlags.CL_MEM_READ_WRITE, numBytes);
+        if (result == null || result.getResult() != 0) {
+            fail(STR."Unable to allocate \{numBytes} bytes on device \{device}");
+            return;
+        }
+        buffers.put(bufferId, new Buffer(device, result.getBuffer()));
+    }
+
+    private void release() throws IOException {
+        channel.readInt();
+        Buffer buffer = buffers.remove(channel.readLong());
+        if (buffer != null) {
+            worker.getDevices().get(buffer.device()).context().releaseBuffer(buffer.buffer());
+        }
+    }
+
+    private void write() throws IOException {
+        int device = channel.readInt();
+        long executionPlanId = channel.readLong();
+        long bufferId = channel.readLong();
+        long deviceOffset = channel.readLong();
+        long numBytes = channel.readLong();
+        WorkerDevice workerDevice = getDevice(device);
+        Buffer buffer = buffers.get(bufferId);
+        if (workerDevice == null || buffer == null) {
+            channel.skip(numBytes);
+            fail(STR."Invalid buffer for a write: \{bufferId}");
+            return;
+        }
+        long id = getExecutionPlanId(device, executionPlanId);
+        MemorySegment staging;
+        try {
+            staging = allocateStaging(device, id, numBytes);
+        } catch (RuntimeException e) {
+            channel.skip(numBytes);
+            throw e;
+        }
+        channel.readSegment(staging, 0, numBytes);
+        workerDevice.deviceContext().enqueueWriteBuffer(id, buffer.buffer(), deviceOffset, numBytes, staging.address(), 0, null);
+    }
+
+    private void read() throws IOException {
+        int device = channel.readInt();
+        long executionPlanId = channel.readLong();
+        long bufferId = channel.readLong();
+        long deviceOffset = channel.readLong();
+        long numBytes = channel.readLong();
+        WorkerDevice workerDevice = getDevice(device);
+        Buffer buffer = buffers.get(bufferId);
+        if (workerDevice == null || buffer == null) {
+            fail(STR."Invalid buffer for a read: \{bufferId}");
+            reply();
+            return;
+        }
+        long id = getExecutionPlanId(device, executionPlanId);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment staging = arena.allocate(numBytes, Long.BYTES);
+            // The read is blocking, so all the commands of the plan are finished after it
+            workerDevice.deviceContext().readBuffer(id, buffer.buffer(), deviceOffset, numBytes, staging.address(), 0, null);
+            releaseStaging(device, id);
+            if (reply()) {
+                channel.writeSegment(staging, 0, numBytes);
+                channel.flush();
+            }
+        }
+    }
+
+    private void build() throws IOException {
+        int device = channel.readInt();
+        long kernelId = channel.readLong();
+        String entryPoint = channel.readString();
+        String compilerFlags = channel.readString();
+        byte[] source = channel.readBytes();
+        WorkerDevice workerDevice = getDevice(device);
+        if (workerDevice != null) {
+            Kernel kernel = buildKernel(device, workerDevice, entryPoint, compilerFlags, source);
+            if (kernel != null) {
+                kernels.put(kernelId, kernel);
+            }
+        }
+        if (reply()) {
+            channel.flush();
+        }
+    }
+
+    private Kernel buildKernel(int device, WorkerDevice workerDevice, String entryPoint, String compilerFlags, byte[] source) {
+        OCLDeviceContext deviceContext = workerDevice.deviceContext();
+        OCLProgram program = deviceContext.createProgramWithSource(source, new long[] { source.length });
+        if (program == null) {
+            fail(STR."Unable to create the program of \{entryPoint}");
+            return null;
+        }
+        try {
+            program.build(compilerFlags == null ? "" : compilerFlags);
+        } catch (RuntimeException e) {
+            // The status and the build log are checked below
+        }
+        if (program.getStatus(deviceContext.getDeviceId()) != OCLBuildStatus.CL_BUILD_SUCCESS) {
+            fail(STR."OpenCL Build Error Log of \{entryPoint}:\n\n\{program.getBuildLog(deviceContext.getDeviceId())}");
+            program.cleanup();
+            return null;
+        }
+        OCLBufferResult stackFrame = workerDevice.context().createBuffer(OCLMemFlags.CL_MEM_READ_ONLY, STACK_FRAME_SIZE);
+        if (stackFrame == null || stackFrame.getResult() != 0) {
+            fail(STR."Unable to allocate the stack frame of \{entryPoint}");
+            program.cleanup();
+            return null;
+        }
+        return new Kernel(device, program, program.clCreateKernel(entryPoint), stackFrame.getBuffer(), new KernelArgumentCache());
+    }
+
+    private void releaseKernel() throws IOException {
+        channel.readInt();
+        Kernel kernel = kernels.remove(channel.readLong());
+        if (kernel != null) {
+            destroy(kernel);
+        }
+    }
+
+    private void destroy(Kernel kernel) {
+        // Releasing the program also releases its kernels
+        kernel.program().cleanup();
+        worker.getDevices().get(kernel.device()).context().releaseBuffer(kernel.stackFrame());
+    }
+
+    private void setArgument(Kernel kernel, int index, KernelArguments.Kind kind, long value, OCLDeviceContext deviceContext) {
+        if (kernel.argumentCache().update(index, value, kind.getSize())) {
+            argument.clear();
+            argument.order(deviceContext.getByteOrder());
+            switch (kind.getSize()) {
+                case Byte.BYTES -> argument.put((byte) value);
+                case Short.BYTES -> argument.putShort((short) value);
+                case Integer.BYTES -> argument.putInt((int) value);
+                default -> argument.putLong(value);
+            }
+            kernel.kernel().setArg(index, argument);
+        }
+    }
+
+    private void launch() throws IOException {
+        int device = channel.readInt();
+        long executionPlanId = channel.readLong();
+        long kernelId = channel.readLong();
+        long[] header = channel.readLongs();
+        int numArgs = channel.readInt();
+        KernelArguments.Kind[] kinds = new KernelArguments.Kind[numArgs];
+        long[] values = new long[numArgs];
+        for (int i = 0; i < numArgs; i++) {
+            kinds[i] = KernelArguments.Kind.values()[channel.readByte()];
+            values[i] = channel.readLong();
+        }
+        byte[] constantData = channel.readBytes();
+        long localSize = channel.readLong();
+        int dimensions = channel.readInt();
+        long[] offset = channel.readLongs();
+        long[] global = channel.readLongs();
+        long[] local = channel.readLongs();
+
+        WorkerDevice workerDevice = getDevice(device);
+        Kernel kernel = kernels.get(kernelId);
+        if (workerDevice == null || kernel == null) {
+            fail(STR."Invalid kernel for a launch: \{kernelId}");
+            return;
+        }
+        OCLDeviceContext deviceContext = workerDevice.deviceContext();
+        long id = getExecutionPlanId(device, executionPlanId);
+
+        // kernel context
+        MemorySegment stackFrame = allocateStaging(device, id, STACK_FRAME_SIZE);
+        for (int i = 0; i < OCLKernelStackFrame.RESERVED_SLOTS; i++) {
+            long value = header != null && i < header.length ? header[i] : 0;
+            stackFrame.setAtIndex(ValueLayout.JAVA_LONG_UNALIGNED.withOrder(deviceContext.getByteOrder()), i, value);
+        }
+        deviceContext.enqueueWriteBuffer(id, kernel.stackFrame(), 0, STACK_FRAME_SIZE, stackFrame.address(), 0, null);
+
+        int index = 0;
+        setArgument(kernel, index++, KernelArguments.Kind.REFERENCE, kernel.stackFrame(), deviceContext);
+
+        // constant memory
+        if (constantData != null) {
+            kernel.kernel().setArg(index, ByteBuffer.wrap(constantData));
+            kernel.argumentCache().invalidate(index);
+        } else {
+            setArgument(kernel, index, KernelArguments.Kind.REFERENCE, workerDevice.constantBuffer(), deviceContext);
+        }
+        index++;
+
+        // local memory buffers
+        if (localSize > 0) {
+            kernel.kernel().setLocalRegion(index, localSize);
+        } else {
+            kernel.kernel().setArgUnused(index);
+        }
+        index++;
+
+        // atomics in global memory
+        setArgument(kernel, index++, KernelArguments.Kind.REFERENCE, workerDevice.atomicsBuffer(), deviceContext);
+
+        // parameters
+        for (int i = 0; i < numArgs; i++) {
+            if (kinds[i] == KernelArguments.Kind.KERNEL_CONTEXT) {
+                continue;
+            }
+            long value = values[i];
+            if (kinds[i] == KernelArguments.Kind.REFERENCE) {
+                Buffer buffer = buffers.get(value);
+                if (buffer == null) {
+                    fail(STR."Invalid buffer for an argument of a launch: \{value}");
+                    return;
+                }
+                value = buffer.buffer();
+            }
+            setArgument(kernel, index++, kinds[i], value, deviceContext);
+        }
+
+        deviceContext.enqueueNDRangeKernel(id, kernel.kernel(), dimensions, offset, global, local, null);
+    }
+
+    private void sync() throws IOException {
+        int device = channel.readInt();
+        long executionPlanId = channel.readLong();
+        WorkerDevice workerDevice = getDevice(device);
+        if (workerDevice != null) {
+            long id = getExecutionPlanId(device, executionPlanId);
+            workerDevice.deviceContext().sync(id);
+            releaseStaging(device, id);
+        }
+        if (reply()) {
+            channel.flush();
+        }
+    }
+
+    private void releaseAll() {
+        for (Plan plan : plans) {
+            OCLDeviceContext deviceContext = worker.getDevices().get(plan.device()).deviceContext();
+            deviceContext.sync(plan.executionPlanId());
+            deviceContext.reset(plan.executionPlanId());
+        }
+        stagingMemory.values().forEach(Arena::close);
+        kernels.values().forEach(this::destroy);
+        buffers.values().forEach(buffer -> worker.getDevices().get(buffer.device()).context().releaseBuffer(buffer.buffer()));
+        stagingMemory.clear();
+        kernels.clear();
+        buffers.clear();
+        plans.clear();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.remote;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.OCLContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLPlatform;
+import uk.ac.manchester.tornado.drivers.opencl.OpenCL;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Process that exposes the OpenCL devices of a machine to remote TornadoVM
+ * applications (see {@code -Dtornado.remote.devices}). Each connection is
+ * served by its own thread, and the resources of a connection are released
+ * when it is closed.
+ *
+ * <p>
+ * The worker listens on the loopback address unless
+ * {@code -Dtornado.remote.worker.address} is set, and it only serves the
+ * connections that send the token given by {@code -Dtornado.remote.token}.
+ * The traffic is not encrypted, so workers on other machines should be
+ * reached through a trusted network or a tunnel.
+ * </p>
+ *
+ * <p>
+ * How to run?
+ * </p>
+ *
+ * <code>
+ * $ tornado --jvm="-Dtornado.remote.token=SECRET" --worker 7070
+ * </code>
+ */
+public class TornadoWorker {
+
+    public static final int DEFAULT_PORT = 7070;
+
+    private static final int MAX_NUMBER_OF_ATOMICS = 128;
+
+    /**
+     * OpenCL device of the worker, with the constant and atomics regions that
+     * are passed to the kernels that do not use them.
+     */
+    record WorkerDevice(OCLContext context, OCLDeviceContext deviceContext, long constantBuffer, long atomicsBuffer) {
+    }
+
+    private final List<WorkerDevice> devices;
+    private final AtomicLong nextExecutionPlanId;
+    private final TornadoLogger logger;
+    private final byte[] token;
+
+    public TornadoWorker(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new TornadoRuntimeException("[ERROR] The remote worker requires a token. Set it with -Dtornado.remote.token");
+        }
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.logger = new TornadoLogger(this.getClass());
+        this.nextExecutionPlanId = new AtomicLong();
+        this.devices = Collections.unmodifiableList(discoverDevices());
+        if (devices.isEmpty()) {
+            throw new TornadoRuntimeException("[ERROR] No OpenCL devices found in the worker");
+        }
+    }
+
+    private static List<WorkerDevice> discoverDevices() {
+        List<WorkerDevice> list = new ArrayList<>();
+        for (int platformIndex = 0; platformIndex < OpenCL.getNumPlatforms(); platformIndex++) {
+            // Only the local platforms, the devices of other workers are not exposed again
+            if (!(OpenCL.getPlatform(platformIndex) instanceof OCLPlatform platform)) {
+                continue;
+            }
+            OCLContext context = (OCLContext) platform.createContext();
+            for (int deviceIndex = 0; deviceIndex < context.getNumDevices(); deviceIndex++) {
+                OCLDeviceContext deviceContext = context.createDeviceContext(deviceIndex);
+                long constantBuffer = context.createBuffer(OCLMemFlags.CL_MEM_READ_ONLY | OCLMemFlags.CL_MEM_ALLOC_HOST_PTR, 4).getBuffer();
+                long atomicsBuffer = context.createBuffer(OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_ALLOC_HOST_PTR, (long) Integer.BYTES * MAX_NUMBER_OF_ATOMICS).getBuffer();
+                list.add(new WorkerDevice(context, deviceContext, constantBuffer, atomicsBuffer));
+            }
+        }
+        return list;
+    }
+
+    List<WorkerDevice> getDevices() {
+        return devices;
+    }
+
+    /**
+     * The comparison takes the same time for any token of the same length.
+     */
+    boolean isValidToken(byte[] value) {
+        return MessageDigest.isEqual(token, value);
+    }
+
+    /**
+     * Command queues are created per execution plan, so the plans of different
+     * connections are mapped to unique ids in the worker.
+     */
+    long newExecutionPlanId() {
+        return nextExecutionPlanId.incrementAndGet();
+    }
+
+    /**
+     * It accepts connections until the process is stopped.
+     *
+     * @param address
+     *     address to listen on.
+     * @param port
+     *     port to listen on, or 0 to use a free port. The port is printed once
+     *     the worker accepts connections.
+     */
+    public void serve(InetAddress address, int port) throws IOException {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(address, port));
+            int localPort = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            System.out.println(STR."TornadoVM worker listening on \{address.getHostAddress()} port \{localPort}");
+            for (int i = 0; i < devices.size(); i++) {
+                System.out.println(STR."\t[\{i}] \{devices.get(i).deviceContext().getDevice().getDeviceName()}");
+            }
+            while (true) {
+                SocketChannel socket = server.accept();
+                Thread session = new Thread(new RemoteWorkerSession(this, new RemoteChannel(socket)), STR."tornado-worker-\{socket.getRemoteAddress()}");
+                session.setDaemon(true);
+                session.start();
+                logger.info("accepted connection from %s", socket.getRemoteAddress());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        InetAddress address = TornadoOptions.REMOTE_WORKER_ADDRESS.isEmpty() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(TornadoOptions.REMOTE_WORKER_ADDRESS);
+        new TornadoWorker(TornadoOptions.REMOTE_TOKEN).serve(address, port);
+    }
+}
@@ -23,7 +23,9 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.runtime;
 
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.opencl.OCLContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
 
@@ -35,7 +37,11 @@ public class OCLBufferProvider extends TornadoBufferProvider {
 
     @Override
     public long allocateBuffer(long size) {
-        return ((OCLDeviceContext) deviceContext).getMemoryManager().createBuffer(size, OCLMemFlags.CL_MEM_READ_WRITE).getBuffer();
+        OCLContext.OCLBufferResult result = ((OCLDeviceContext) deviceContext).getMemoryManager().createBuffer(size, OCLMemFlags.CL_MEM_READ_WRITE);
+        if (result == null || result.getResult() != 0) {
+            throw new TornadoOutOfMemoryException("Unable to allocate " + size + " bytes of memory.");
+        }
+        return result.getBuffer();
     }
 
     @Override
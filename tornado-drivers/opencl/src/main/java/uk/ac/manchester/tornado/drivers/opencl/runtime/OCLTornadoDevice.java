@@ -47,7 +47,10 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.internal.annotations.Vector;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
 import uk.ac.manchester.tornado.api.memory.TaskMetaDataInterface;
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
@@ -77,12 +80,14 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TornadoAtomicIntegerN
 import uk.ac.manchester.tornado.drivers.opencl.mm.AtomicsBuffer;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLByteArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLCharArrayWrapper;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLDeviceArena;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLDoubleArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLFloatArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLIntArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLLongArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMemorySegmentWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMultiDimArrayWrapper;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLSharedStorage;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLShortArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLVectorWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLXPUBuffer;
@@ -95,6 +100,9 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.CodeCacheEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.DriverBuildEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.GraalCompilationEvent;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -251,8 +259,10 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
 
         // Return the code from the cache
         if (!task.shouldCompile() && deviceContext.isCached(task.getId(), resolvedMethod.getName())) {
+            CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, true);
             return deviceContext.getInstalledCode(task.getId(), resolvedMethod.getName());
         }
+        CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, false);
 
         // copy meta data into task
         final TaskMetaData taskMeta = executable.meta();
@@ -264,6 +274,8 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
             TornadoProfiler profiler = task.getProfiler();
             profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            GraalCompilationEvent compilationEvent = new GraalCompilationEvent();
+            compilationEvent.begin();
             final OCLCompilationResult result = OCLCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
 
             // Update atomics buffer for inner methods that are not inlined
@@ -281,10 +293,13 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
                 }
             }
 
+            compilationEvent.commit(taskMeta.getId(), resolvedMethod.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
             // Compile the code
             OCLInstalledCode installedCode;
             if (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext)) {
@@ -294,6 +309,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
                 // B) for CPU multi-core or GPU
                 installedCode = deviceContext.installCode(result);
             }
+            buildEvent.commit(taskMeta.getId(), result.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
 
@@ -314,14 +330,18 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         final OCLDeviceContextInterface deviceContext = getDeviceContext();
         final PrebuiltTask executable = (PrebuiltTask) task;
         if (deviceContext.isCached(task.getId(), executable.getEntryPoint())) {
+            CodeCacheEvent.emit(task.getId(), executable.getEntryPoint(), this, true);
             return deviceContext.getInstalledCode(task.getId(), executable.getEntryPoint());
         }
+        CodeCacheEvent.emit(task.getId(), executable.getEntryPoint(), this, false);
 
         final Path path = Paths.get(executable.getFilename());
         TornadoInternalError.guarantee(path.toFile().exists(), "file does not exist: %s", executable.getFilename());
         try {
             final byte[] source = Files.readAllBytes(path);
 
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
             OCLInstalledCode installedCode;
             if (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext)) {
                 // A) for FPGA
@@ -330,6 +350,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
                 // B) for CPU multi-core or GPU
                 installedCode = deviceContext.installCode(executable.meta(), task.getId(), executable.getEntryPoint(), source);
             }
+            buildEvent.commit(task.getId(), executable.getEntryPoint(), this);
             return installedCode;
         } catch (IOException e) {
             e.printStackTrace();
@@ -471,6 +492,28 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         return loadPreCompiledBinaryForTask(task);
     }
 
+    @Override
+    public DeviceArena createDeviceArena(long capacity) {
+        return new OCLDeviceArena((OCLDeviceContext) getDeviceContext(), capacity);
+    }
+
+    @Override
+    public SharedDeviceStorage createSharedStorage(Object[] objects) {
+        return new OCLSharedStorage((OCLDeviceContext) getDeviceContext(), objects);
+    }
+
+    @Override
+    public boolean isMultiQueueSupported() {
+        return getDeviceContext() instanceof OCLDeviceContext;
+    }
+
+    @Override
+    public void selectCommandQueue(long executionPlanId, int queueIndex) {
+        if (getDeviceContext() instanceof OCLDeviceContext deviceContext) {
+            deviceContext.selectCommandQueue(executionPlanId, queueIndex);
+        }
+    }
+
     @Override
     public boolean loopIndexInWrite(SchedulableTask task) {
         if (task instanceof CompilableTask) {
@@ -590,7 +633,16 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         TornadoInternalError.guarantee(deviceObjectState.isAtomicRegionPresent() || !deviceObjectState.hasObjectBuffer(), "A device memory leak might be occurring.");
         buffer = createDeviceBuffer(object.getClass(), object, (OCLDeviceContext) getDeviceContext(), batchSize);
         deviceObjectState.setXPUBuffer(buffer);
-        buffer.allocate(object, batchSize);
+        boolean allocated = deviceObjectState.getSharedStorage() != null && buffer.allocateInSharedStorage(object, deviceObjectState.getSharedStorage());
+        if (!allocated && deviceObjectState.isUnifiedMemory()) {
+            allocated = buffer.allocateZeroCopy(object, batchSize);
+        }
+        if (!allocated && deviceObjectState.getDeviceArena() != null) {
+            allocated = buffer.allocateInArena(object, batchSize, deviceObjectState.getDeviceArena());
+        }
+        if (!allocated) {
+            buffer.allocate(object, batchSize);
+        }
         return buffer;
     }
 
@@ -777,6 +829,14 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(OCLBackendImpl.class);
     }
 
+    @Override
+    public HostMemoryAllocator getHostMemoryAllocator() {
+        if (getDeviceContext() instanceof OCLDeviceContext deviceContext) {
+            return deviceContext.getHostMemoryAllocator();
+        }
+        return null;
+    }
+
     @Override
     public XPUBuffer getAtomic() {
         return reuseBuffer;
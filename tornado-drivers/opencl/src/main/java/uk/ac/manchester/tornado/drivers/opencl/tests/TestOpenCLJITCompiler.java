@@ -27,7 +27,6 @@ package uk.ac.manchester.tornado.drivers.opencl.tests;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import org.graalvm.compiler.phases.util.Providers;
 
@@ -141,11 +140,11 @@ public class TestOpenCLJITCompiler {
         KernelStackFrame callWrapper = tornadoDevice.createKernelStackFrame(3);
 
         // Fill header of call callWrapper with empty values
-        callWrapper.setKernelContext(new HashMap<>());
+        callWrapper.setKernelContext(null);
 
-        callWrapper.addCallArgument(objectStateA.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateB.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateC.getXPUBuffer().toBuffer(), true);
+        callWrapper.addReferenceArgument(objectStateA.getXPUBuffer().toBuffer());
+        callWrapper.addReferenceArgument(objectStateB.getXPUBuffer().toBuffer());
+        callWrapper.addReferenceArgument(objectStateC.getXPUBuffer().toBuffer());
 
         // Run the code
         openCLCode.launchWithoutDependencies(contextID, callWrapper, null, taskMeta, 0);
@@ -49,7 +49,18 @@ public class VirtualJSONParser {
         deviceAddressBits,
         deviceType,
         deviceExtensions,
-        availableProcessors;
+        availableProcessors,
+        // Optional parameters of the performance model
+        peakGFlops,
+        peakGFlopsFP64,
+        peakGIops,
+        globalMemoryBandwidth,
+        hostToDeviceBandwidth,
+        deviceToHostBandwidth,
+        transferLatency,
+        kernelLaunchLatency,
+        barrierLatency,
+        computeUnits;
     }
 
     public static VirtualDeviceDescriptor getDeviceDescriptor() {
@@ -74,7 +85,33 @@ public class VirtualJSONParser {
         String deviceExtensions = (String) getEntryForKey(JsonKey.deviceExtensions, jsonEntries);
         int availableProcessors = (int) getEntryForKey(JsonKey.availableProcessors, jsonEntries);
 
-        return new VirtualDeviceDescriptor(deviceName, doubleFPSupport, maxWorkItemSizes, deviceAddressBits, deviceType, deviceExtensions, availableProcessors);
+        VirtualPerformanceModel performanceModel = new VirtualPerformanceModel( //
+                getDoubleForKey(JsonKey.peakGFlops, jsonEntries, VirtualPerformanceModel.DEFAULT_PEAK_GFLOPS), //
+                getDoubleForKey(JsonKey.peakGFlopsFP64, jsonEntries, VirtualPerformanceModel.DEFAULT_PEAK_GFLOPS_FP64), //
+                getDoubleForKey(JsonKey.peakGIops, jsonEntries, VirtualPerformanceModel.DEFAULT_PEAK_GIOPS), //
+                getDoubleForKey(JsonKey.globalMemoryBandwidth, jsonEntries, VirtualPerformanceModel.DEFAULT_GLOBAL_MEMORY_BANDWIDTH), //
+                getDoubleForKey(JsonKey.hostToDeviceBandwidth, jsonEntries, VirtualPerformanceModel.DEFAULT_HOST_TO_DEVICE_BANDWIDTH), //
+                getDoubleForKey(JsonKey.deviceToHostBandwidth, jsonEntries, VirtualPerformanceModel.DEFAULT_DEVICE_TO_HOST_BANDWIDTH), //
+                getDoubleForKey(JsonKey.transferLatency, jsonEntries, VirtualPerformanceModel.DEFAULT_TRANSFER_LATENCY), //
+                getDoubleForKey(JsonKey.kernelLaunchLatency, jsonEntries, VirtualPerformanceModel.DEFAULT_KERNEL_LAUNCH_LATENCY), //
+                getDoubleForKey(JsonKey.barrierLatency, jsonEntries, VirtualPerformanceModel.DEFAULT_BARRIER_LATENCY), //
+                jsonEntries.containsKey(JsonKey.computeUnits) ? Integer.parseInt(jsonEntries.get(JsonKey.computeUnits)) : availableProcessors);
+
+        return new VirtualDeviceDescriptor(deviceName, doubleFPSupport, maxWorkItemSizes, deviceAddressBits, deviceType, deviceExtensions, availableProcessors, performanceModel);
+    }
+
+    private static double getDoubleForKey(JsonKey jsonKey, Map<JsonKey, String> jsonEntries, double defaultValue) {
+        String value = jsonEntries.get(jsonKey);
+        if (value == null) {
+            return defaultValue;
+        }
+        double result = Double.parseDouble(value);
+        // Latencies can be zero, but throughputs and bandwidths are divisors
+        boolean isLatency = jsonKey == JsonKey.transferLatency || jsonKey == JsonKey.kernelLaunchLatency || jsonKey == JsonKey.barrierLatency;
+        if (result < 0 || (result == 0 && !isLatency)) {
+            throw new RuntimeException("Virtual device JSON parser failed ! Invalid value for json key " + jsonKey.name() + ": " + value);
+        }
+        return result;
     }
 
     private static Object getEntryForKey(JsonKey jsonKey, Map<JsonKey, String> jsonEntries) {
@@ -52,6 +52,7 @@ public class VirtualOCLDevice implements OCLTargetDevice {
     private final int deviceAddressBits;
     private final String deviceExtensions;
     private final int availableProcessors;
+    private final VirtualPerformanceModel performanceModel;
 
     private static final int INIT_VALUE = -1;
     private OCLDeviceContextInterface deviceContex;
@@ -75,6 +76,7 @@ public class VirtualOCLDevice implements OCLTargetDevice {
         this.deviceType = info.deviceType();
         this.deviceExtensions = info.getDeviceExtensions();
         this.availableProcessors = info.getAvailableProcessors();
+        this.performanceModel = info.getPerformanceModel();
     }
 
     public long getId() {
@@ -236,4 +238,8 @@ public class VirtualOCLDevice implements OCLTargetDevice {
     public int getAvailableProcessors() {
         return availableProcessors;
     }
+
+    public VirtualPerformanceModel getPerformanceModel() {
+        return performanceModel;
+    }
 }
@@ -30,11 +30,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -61,16 +63,18 @@ import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.TornadoPerformanceModel;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.GraalCompilationEvent;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
-public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
+public class VirtualOCLTornadoDevice implements TornadoXPUDevice, TornadoPerformanceModel {
 
     private static OCLBackendImpl driver = null;
     private final OCLTargetDevice device;
@@ -78,12 +82,19 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
     private final int platformIndex;
     private final String platformName;
 
+    /**
+     * Code of the last kernel compiled for each task, used by the performance
+     * model.
+     */
+    private final Map<String, byte[]> kernelCodes;
+
     public VirtualOCLTornadoDevice(final int platformIndex, final int deviceIndex) {
         this.platformIndex = platformIndex;
         this.deviceIndex = deviceIndex;
 
         platformName = findDriver().getPlatformContext(platformIndex).getPlatform().getName();
         device = findDriver().getPlatformContext(platformIndex).devices().get(deviceIndex);
+        kernelCodes = new ConcurrentHashMap<>();
     }
 
     private static OCLBackendImpl findDriver() {
@@ -196,13 +207,17 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
             TornadoProfiler profiler = task.getProfiler();
             profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            GraalCompilationEvent compilationEvent = new GraalCompilationEvent();
+            compilationEvent.begin();
             final OCLCompilationResult result = OCLCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
+            compilationEvent.commit(taskMeta.getId(), resolvedMethod.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
             if (taskMeta.isPrintKernelEnabled()) {
                 RuntimeUtilities.dumpKernel(result.getTargetCode());
             }
+            kernelCodes.put(task.getId(), result.getTargetCode());
 
             return null;
         } catch (Exception e) {
@@ -223,6 +238,7 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
             if (task.meta().isPrintKernelEnabled()) {
                 RuntimeUtilities.dumpKernel(source);
             }
+            kernelCodes.put(task.getId(), source);
         } catch (IOException e) {
             throw new TornadoBailoutRuntimeException(e.getMessage());
         }
@@ -486,4 +502,47 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
         return false;
     }
 
+    private VirtualPerformanceModel getPerformanceModel() {
+        return ((VirtualOCLDevice) device).getPerformanceModel();
+    }
+
+    @Override
+    public long predictCopyInTime(long numBytes) {
+        return getPerformanceModel().estimateCopyInTime(numBytes);
+    }
+
+    @Override
+    public long predictCopyOutTime(long numBytes) {
+        return getPerformanceModel().estimateCopyOutTime(numBytes);
+    }
+
+    @Override
+    public long predictKernelTime(SchedulableTask task) {
+        final byte[] code = kernelCodes.get(task.getId());
+        if (code == null) {
+            return 0;
+        }
+        final TaskMetaData meta = (TaskMetaData) task.meta();
+        long[] globalWork;
+        long[] localWork = null;
+        if (meta.isWorkerGridAvailable()) {
+            WorkerGrid workerGrid = meta.getWorkerGrid(meta.getId());
+            globalWork = workerGrid.getGlobalWork();
+            localWork = workerGrid.getLocalWork();
+        } else if (meta.hasDomain()) {
+            // Same global work as the OpenCL schedulers
+            final long batchThreads = task.getBatchThreads();
+            globalWork = new long[meta.getDomain().getDepth()];
+            for (int i = 0; i < globalWork.length; i++) {
+                globalWork[i] = (batchThreads <= 0) ? (long) meta.getDomain().get(i).cardinality() : batchThreads;
+            }
+            if (meta.isLocalWorkDefined()) {
+                localWork = meta.getLocalWork();
+            }
+        } else {
+            globalWork = new long[] { 1 };
+        }
+        return getPerformanceModel().estimateKernelTime(code, meta.getCodeFeatures(), globalWork, localWork);
+    }
+
 }
@@ -0,0 +1,227 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.virtual;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
+
+/**
+ * Analytical performance model of a virtual device, used to estimate how long
+ * the data transfers and the kernels would take on hardware that is not
+ * available.
+ *
+ * <p>
+ * A data transfer takes the latency of the interconnect plus the time to move
+ * the bytes at the bandwidth of the interconnect. A kernel follows a roofline
+ * model: it takes the launch latency plus the maximum of the compute time and
+ * the global memory time, plus the time spent in barriers. The compute and
+ * memory times are obtained from the operations and global memory accesses that
+ * the feature extraction counts for the kernel, multiplied by the number of
+ * threads. The features are static counts, so the body of a loop within the
+ * kernel is counted once per thread.
+ * </p>
+ *
+ * <p>
+ * Throughputs are given in giga-operations per second and bandwidths in GB/s,
+ * so both can be used as operations (or bytes) per nanosecond. Latencies are
+ * given in microseconds.
+ * </p>
+ */
+public class VirtualPerformanceModel {
+
+    public static final double DEFAULT_PEAK_GFLOPS = 1000;
+    public static final double DEFAULT_PEAK_GFLOPS_FP64 = 500;
+    public static final double DEFAULT_PEAK_GIOPS = 500;
+    public static final double DEFAULT_GLOBAL_MEMORY_BANDWIDTH = 200;
+    public static final double DEFAULT_HOST_TO_DEVICE_BANDWIDTH = 12;
+    public static final double DEFAULT_DEVICE_TO_HOST_BANDWIDTH = 12;
+    public static final double DEFAULT_TRANSFER_LATENCY = 10;
+    public static final double DEFAULT_KERNEL_LAUNCH_LATENCY = 5;
+    public static final double DEFAULT_BARRIER_LATENCY = 0.1;
+
+    private static final double NANOSECONDS_PER_MICROSECOND = 1000;
+    private static final String BARRIER = "barrier(";
+
+    private final double peakGFlops;
+    private final double peakGFlopsFP64;
+    private final double peakGIops;
+    private final double globalMemoryBandwidth;
+    private final double hostToDeviceBandwidth;
+    private final double deviceToHostBandwidth;
+    private final double transferLatency;
+    private final double kernelLaunchLatency;
+    private final double barrierLatency;
+    private final int computeUnits;
+
+    public VirtualPerformanceModel(double peakGFlops, double peakGFlopsFP64, double peakGIops, double globalMemoryBandwidth, double hostToDeviceBandwidth, double deviceToHostBandwidth,
+            double transferLatency, double kernelLaunchLatency, double barrierLatency, int computeUnits) {
+        this.peakGFlops = peakGFlops;
+        this.peakGFlopsFP64 = peakGFlopsFP64;
+        this.peakGIops = peakGIops;
+        this.globalMemoryBandwidth = globalMemoryBandwidth;
+        this.hostToDeviceBandwidth = hostToDeviceBandwidth;
+        this.deviceToHostBandwidth = deviceToHostBandwidth;
+        this.transferLatency = transferLatency;
+        this.kernelLaunchLatency = kernelLaunchLatency;
+        this.barrierLatency = barrierLatency;
+        this.computeUnits = Math.max(computeUnits, 1);
+    }
+
+    /**
+     * @return estimated time, in ns, to copy the given number of bytes from the
+     *     host to the device.
+     */
+    public long estimateCopyInTime(long numBytes) {
+        return estimateCopyTime(numBytes, hostToDeviceBandwidth);
+    }
+
+    /**
+     * @return estimated time, in ns, to copy the given number of bytes from the
+     *     device to the host.
+     */
+    public long estimateCopyOutTime(long numBytes) {
+        return estimateCopyTime(numBytes, deviceToHostBandwidth);
+    }
+
+    private long estimateCopyTime(long numBytes, double bandwidth) {
+        return Math.round(transferLatency * NANOSECONDS_PER_MICROSECOND + numBytes / bandwidth);
+    }
+
+    /**
+     * Estimates the execution time of a kernel.
+     *
+     * @param code
+     *     generated code of the kernel.
+     * @param features
+     *     features of the kernel, or null if they are not available (e.g., for
+     *     pre-built kernels). In that case, only the latencies are estimated.
+     * @param globalWork
+     *     global work sizes.
+     * @param localWork
+     *     local work sizes, or null if they are chosen by the driver.
+     * @return estimated time in ns.
+     */
+    public long estimateKernelTime(byte[] code, Map<ProfilerCodeFeatures, Integer> features, long[] globalWork, long[] localWork) {
+        final double numThreads = getNumThreads(globalWork);
+
+        double computeTime = 0;
+        double memoryTime = 0;
+        if (features != null) {
+            final double fp32Operations = numThreads * (getFeature(features, ProfilerCodeFeatures.FP32) + getFeature(features, ProfilerCodeFeatures.F_MATH));
+            final double fp64Operations = numThreads * getFeature(features, ProfilerCodeFeatures.DOUBLES);
+            final double integerOperations = numThreads * (getFeature(features, ProfilerCodeFeatures.INTEGER_OPS) + getFeature(features, ProfilerCodeFeatures.I_CMP) + getFeature(features,
+                    ProfilerCodeFeatures.I_MATH));
+            computeTime = fp32Operations / peakGFlops + fp64Operations / peakGFlopsFP64 + integerOperations / peakGIops;
+
+            // The features do not record the type of the memory accesses
+            final int elementSize = getFeature(features, ProfilerCodeFeatures.DOUBLES) > 0 ? Double.BYTES : Float.BYTES;
+            final double numBytes = numThreads * elementSize * (getFeature(features, ProfilerCodeFeatures.GLOBAL_LOADS) + getFeature(features, ProfilerCodeFeatures.GLOBAL_STORES));
+            memoryTime = numBytes / globalMemoryBandwidth;
+        }
+
+        // Each barrier stalls all the work-groups that run concurrently in the compute units
+        final double waves = Math.ceil(getNumWorkGroups(globalWork, localWork) / computeUnits);
+        final double barrierTime = countBarriers(code) * waves * barrierLatency * NANOSECONDS_PER_MICROSECOND;
+
+        return Math.round(kernelLaunchLatency * NANOSECONDS_PER_MICROSECOND + Math.max(computeTime, memoryTime) + barrierTime);
+    }
+
+    private static int getFeature(Map<ProfilerCodeFeatures, Integer> features, ProfilerCodeFeatures feature) {
+        return features.getOrDefault(feature, 0);
+    }
+
+    private static double getNumThreads(long[] globalWork) {
+        double numThreads = 1;
+        for (long value : globalWork) {
+            numThreads *= value;
+        }
+        return numThreads;
+    }
+
+    private double getNumWorkGroups(long[] globalWork, long[] localWork) {
+        if (localWork == null) {
+            // The driver chooses the local work sizes, so we assume a work-group per compute unit
+            return computeUnits;
+        }
+        double numWorkGroups = 1;
+        for (int i = 0; i < globalWork.length && i < localWork.length; i++) {
+            numWorkGroups *= Math.ceil((double) globalWork[i] / Math.max(localWork[i], 1));
+        }
+        return numWorkGroups;
+    }
+
+    private static int countBarriers(byte[] code) {
+        if (code == null) {
+            return 0;
+        }
+        final String source = new String(code, StandardCharsets.UTF_8);
+        int count = 0;
+        for (int index = source.indexOf(BARRIER); index != -1; index = source.indexOf(BARRIER, index + BARRIER.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    public double getPeakGFlops() {
+        return peakGFlops;
+    }
+
+    public double getPeakGFlopsFP64() {
+        return peakGFlopsFP64;
+    }
+
+    public double getPeakGIops() {
+        return peakGIops;
+    }
+
+    public double getGlobalMemoryBandwidth() {
+        return globalMemoryBandwidth;
+    }
+
+    public double getHostToDeviceBandwidth() {
+        return hostToDeviceBandwidth;
+    }
+
+    public double getDeviceToHostBandwidth() {
+        return deviceToHostBandwidth;
+    }
+
+    public double getTransferLatency() {
+        return transferLatency;
+    }
+
+    public double getKernelLaunchLatency() {
+        return kernelLaunchLatency;
+    }
+
+    public double getBarrierLatency() {
+        return barrierLatency;
+    }
+
+    public int getComputeUnits() {
+        return computeUnits;
+    }
+}
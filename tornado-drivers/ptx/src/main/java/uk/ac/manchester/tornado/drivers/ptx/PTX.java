@@ -24,7 +24,6 @@
 package uk.ac.manchester.tornado.drivers.ptx;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
@@ -122,11 +121,11 @@ public class PTX {
         callWrapper.reset();
 
         // Fill header of call callWrapper with empty values
-        callWrapper.setKernelContext(new HashMap<>());
+        callWrapper.setKernelContext(null);
 
         // Pass arguments to the call callWrapper
         for (int i = 0; i < numArgs; i++) {
-            callWrapper.addCallArgument(states.get(i).getXPUBuffer().toBuffer(), true);
+            callWrapper.addReferenceArgument(states.get(i).getXPUBuffer().toBuffer());
         }
 
         // Run the code
@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.ptx;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.phases.util.Providers;
@@ -39,6 +40,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceNotFound;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXHotSpotBackendFactory;
 import uk.ac.manchester.tornado.drivers.ptx.graal.backend.PTXBackend;
 import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
@@ -46,29 +48,64 @@ import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 
 public final class PTXBackendImpl implements TornadoAcceleratorBackend {
 
-    private final PTXBackend[] backends;
+    /**
+     * Compiler backend of each device slot. Backends are created on the first
+     * use of the device, under the lock of this object. Readers do not take the
+     * lock, so the slots are atomic references.
+     */
+    private final AtomicReferenceArray<PTXBackend> backends;
+
+    /**
+     * CUDA device index of each slot. Slots are swapped when the default device
+     * changes.
+     */
+    private final int[] deviceIndexes;
     private List<TornadoDevice> devices;
     private final TornadoLogger logger;
+    private final OptionValues options;
+    private final HotSpotJVMCIRuntime vmRuntime;
+    private final TornadoVMConfigAccess vmConfig;
 
     public PTXBackendImpl(final OptionValues options, final HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig) {
 
         int deviceCount = PTX.getPlatform().getDeviceCount();
         logger = new TornadoLogger(this.getClass());
-        backends = new PTXBackend[deviceCount];
+        backends = new AtomicReferenceArray<>(deviceCount);
+        deviceIndexes = new int[deviceCount];
+        this.options = options;
+        this.vmRuntime = vmRuntime;
+        this.vmConfig = vmConfig;
         logger.info("CUDA: Has %d devices...", deviceCount);
         if (deviceCount == 0) {
             throw new TornadoBailoutRuntimeException("[WARNING] No PTX devices found. Deoptimizing to sequential execution.");
         }
 
         for (int i = 0; i < deviceCount; i++) {
-            installDevice(i, options, vmRuntime, vmConfig);
+            deviceIndexes[i] = i;
         }
     }
 
-    private void installDevice(int deviceIndex, OptionValues options, HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig) {
+    private PTXBackend installDevice(int deviceIndex) {
         PTXDevice device = PTX.getPlatform().getDevice(deviceIndex);
         logger.info("Creating backend for %s", device.getDeviceName());
-        backends[deviceIndex] = PTXHotSpotBackendFactory.createJITCompiler(options, vmRuntime, vmConfig, device);
+        final long start = System.nanoTime();
+        PTXBackend backend = PTXHotSpotBackendFactory.createJITCompiler(options, vmRuntime, vmConfig, device);
+        TornadoCoreRuntime.getTornadoRuntime().registerDeviceInitTime(device.getDeviceName(), System.nanoTime() - start);
+        return backend;
+    }
+
+    private PTXBackend getOrCreateBackend(final int slot) {
+        PTXBackend backend = backends.get(slot);
+        if (backend == null) {
+            synchronized (this) {
+                backend = backends.get(slot);
+                if (backend == null) {
+                    backend = installDevice(deviceIndexes[slot]);
+                    backends.set(slot, backend);
+                }
+            }
+        }
+        return backend;
     }
 
     @Override
@@ -87,7 +124,7 @@ public final class PTXBackendImpl implements TornadoAcceleratorBackend {
     }
 
     private PTXBackend checkAndInitBackend(final int device) {
-        final PTXBackend backend = backends[device];
+        final PTXBackend backend = getOrCreateBackend(device);
         if (!backend.isInitialised()) {
             backend.init();
         }
@@ -104,11 +141,14 @@ public final class PTXBackendImpl implements TornadoAcceleratorBackend {
         swapDefaultDevice(index);
     }
 
-    private PTXBackend swapDefaultDevice(final int device) {
-        PTXBackend tmp = backends[0];
-        backends[0] = backends[device];
-        backends[device] = tmp;
-        PTXBackend backend = backends[0];
+    private synchronized PTXBackend swapDefaultDevice(final int device) {
+        PTXBackend tmp = backends.get(0);
+        backends.set(0, backends.get(device));
+        backends.set(device, tmp);
+        int tmpIndex = deviceIndexes[0];
+        deviceIndexes[0] = deviceIndexes[device];
+        deviceIndexes[device] = tmpIndex;
+        PTXBackend backend = getOrCreateBackend(0);
         if (!backend.isInitialised()) {
             backend.init();
         }
@@ -122,19 +162,19 @@ public final class PTXBackendImpl implements TornadoAcceleratorBackend {
 
     @Override
     public TornadoXPUDevice getDevice(int index) {
-        if (index < backends.length) {
-            return backends[index].getDeviceContext().asMapping();
+        if (index < backends.length()) {
+            return getOrCreateBackend(index).getDeviceContext().asMapping();
         } else {
-            throw new TornadoDeviceNotFound(STR."[ERROR]-[PTX-DRIVER] Device required not found: \{index} - Max: \{backends.length}");
+            throw new TornadoDeviceNotFound(STR."[ERROR]-[PTX-DRIVER] Device required not found: \{index} - Max: \{backends.length()}");
         }
     }
 
     @Override
-    public List<TornadoDevice> getAllDevices() {
+    public synchronized List<TornadoDevice> getAllDevices() {
         if (devices == null) {
             devices = new ArrayList<>();
             for (int i = 0; i < getBackendCounter(); i++) {
-                devices.add(backends[i].getDeviceContext().asMapping());
+                devices.add(getOrCreateBackend(i).getDeviceContext().asMapping());
             }
         }
         return devices;
@@ -29,6 +29,7 @@ import java.util.stream.IntStream;
 
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.drivers.ptx.mm.PTXHostMemoryAllocator;
 
 public class PTXContext {
 
@@ -36,10 +37,15 @@ public class PTXContext {
 
     private final PTXDeviceContext deviceContext;
 
+    private final PTXHostMemoryAllocator hostMemoryAllocator;
+
+    private volatile boolean destroyed;
+
     public PTXContext(PTXDevice device) {
         ptxContext = cuCtxCreate(device.getCuDevice());
         cuCtxSetCurrent(ptxContext);
         deviceContext = new PTXDeviceContext(device);
+        hostMemoryAllocator = new PTXHostMemoryAllocator(this);
 
     }
 
@@ -51,6 +57,10 @@ public class PTXContext {
 
     private native static long cuMemFree(long cuContext, long devicePtr);
 
+    private native static long cuMemHostAlloc(long cuContext, long numBytes);
+
+    private native static long cuMemFreeHost(long cuContext, long hostPtr);
+
     private native static long cuCtxSetCurrent(long cuContext);
 
     public void enablePTXContext() {
@@ -64,6 +74,7 @@ public class PTXContext {
         }
 
         IntStream.range(1, (numPlans)).forEach(deviceContext::destroyStream);
+        destroyed = true;
         cuCtxDestroy(ptxContext);
     }
 
@@ -71,6 +82,10 @@ public class PTXContext {
         return deviceContext;
     }
 
+    public PTXHostMemoryAllocator getHostMemoryAllocator() {
+        return hostMemoryAllocator;
+    }
+
     public long allocateMemory(long numBytes) {
         try {
             return cuMemAlloc(ptxContext, numBytes);
@@ -82,4 +97,22 @@ public class PTXContext {
     public void freeMemory(long address) {
         cuMemFree(ptxContext, address);
     }
+
+    /**
+     * Allocates page-locked host memory.
+     *
+     * @param numBytes
+     *     size in bytes
+     * @return host address of the region, or 0 if the allocation failed
+     */
+    public long allocateHostMemory(long numBytes) {
+        return cuMemHostAlloc(ptxContext, numBytes);
+    }
+
+    public void freeHostMemory(long address) {
+        // Host allocations are released by the driver when the context is destroyed
+        if (!destroyed) {
+            cuMemFreeHost(ptxContext, address);
+        }
+    }
 }
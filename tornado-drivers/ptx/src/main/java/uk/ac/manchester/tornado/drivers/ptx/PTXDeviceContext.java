@@ -23,8 +23,6 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
-import static uk.ac.manchester.tornado.api.utils.TornadoAPIUtils.isBoxedPrimitive;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.buildKernelName;
 
 import java.nio.ByteBuffer;
@@ -44,7 +42,6 @@ import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
-import uk.ac.manchester.tornado.api.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.common.power.PowerMetric;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResult;
@@ -53,6 +50,7 @@ import uk.ac.manchester.tornado.drivers.ptx.mm.PTXMemoryManager;
 import uk.ac.manchester.tornado.drivers.ptx.power.PTXNvidiaPowerMetric;
 import uk.ac.manchester.tornado.drivers.ptx.runtime.PTXBufferProvider;
 import uk.ac.manchester.tornado.drivers.ptx.runtime.PTXTornadoDevice;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -284,9 +282,8 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     }
 
     private byte[] writePTXKernelContextOnDevice(long executionPlanId, PTXKernelStackFrame ptxKernelArgs, TaskMetaData meta) {
-        int capacity = Long.BYTES + ptxKernelArgs.getCallArguments().size() * Long.BYTES;
-        ByteBuffer args = ByteBuffer.allocate(capacity);
-        args.order(getByteOrder());
+        KernelArguments arguments = ptxKernelArgs.getArguments();
+        ByteBuffer args = ptxKernelArgs.getLaunchParameters(Long.BYTES + arguments.size() * Long.BYTES);
 
         // Kernel context pointer
         int kernelContextWriteEventId = ptxKernelArgs.enqueueWrite(executionPlanId);
@@ -295,24 +292,11 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         args.putLong(address);
 
         // Parameters
-        for (int argIndex = 0; argIndex < ptxKernelArgs.getCallArguments().size(); argIndex++) {
-            KernelStackFrame.CallArgument arg = ptxKernelArgs.getCallArguments().get(argIndex);
-            if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+        for (int argIndex = 0; argIndex < arguments.size(); argIndex++) {
+            if (arguments.isKernelContext(argIndex)) {
                 args.putLong(address);
-                continue;
-            } else if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
-                if (arg.getValue() instanceof HalfFloat) {
-                    short halfFloat = ((HalfFloat) arg.getValue()).getHalfFloatValue();
-                    args.putLong(((Number) halfFloat).longValue());
-                } else if (arg.getValue() instanceof Number) {
-                    args.putLong(((Number) arg.getValue()).longValue());
-                } else if (arg.getValue() instanceof Character) {
-                    args.putLong((char) arg.getValue());
-                } else {
-                    shouldNotReachHere();
-                }
             } else {
-                shouldNotReachHere();
+                args.putLong(arguments.getLongValue(argIndex));
             }
         }
 
@@ -39,6 +39,18 @@ public class PTXIntrinsics {
 
     public static native int get_group_size(int value);
 
+    public static native int get_sub_group_id();
+
+    public static native int get_sub_group_local_id();
+
+    public static native int get_sub_group_size();
+
+    public static native int get_num_sub_groups();
+
+    public static native int sub_group_reduce_add(int value);
+
+    public static native float sub_group_reduce_add(float value);
+
     /**
      * <p>
      * <code>
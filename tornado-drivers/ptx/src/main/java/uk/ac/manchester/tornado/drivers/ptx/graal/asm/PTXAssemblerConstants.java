@@ -39,6 +39,16 @@ public class PTXAssemblerConstants {
     public static final String TEST_NOTANUMBER = "testp.notanumber";
     public static final String TEST_NORMAL = "testp.normal";
     public static final String TEST_SUBNORMAL = "testp.subnormal";
+    public static final String ATOM = "atom";
+    public static final String SET_PREDICATE_LESS_THAN = "setp.lt";
+    public static final String SET_PREDICATE_NOT_EQUAL = "setp.ne";
+    public static final String SELECT = "selp";
+    public static final String SHUFFLE_SYNC = "shfl.sync";
+    public static final String VOTE_SYNC = "vote.sync";
+    public static final String REDUX_SYNC = "redux.sync";
+    public static final String WARP_SIZE = "WARP_SZ";
+    public static final String LANE_ID = "%laneid";
+    public static final String FULL_MEMBER_MASK = "0xffffffff";
 
     /**
      * This name is used to represent the mandatory argument for the kernel context.
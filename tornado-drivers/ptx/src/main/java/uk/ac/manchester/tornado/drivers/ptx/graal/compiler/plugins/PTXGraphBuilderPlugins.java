@@ -49,7 +49,9 @@ import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.FixedWithNextNode;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
 import org.graalvm.compiler.nodes.extended.BoxNode;
 import org.graalvm.compiler.nodes.extended.JavaReadNode;
 import org.graalvm.compiler.nodes.extended.JavaWriteNode;
@@ -72,14 +74,20 @@ import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXAtomicOperationNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXBarrierNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
@@ -272,12 +280,130 @@ public class PTXGraphBuilderPlugins {
         registerDoubleLocalArray(r, returnedJavaKind, elementType);
     }
 
+    /**
+     * Native arrays are accessed by their absolute address, which includes the
+     * header of the array, and local arrays by index.
+     */
+    private static AddressNode createAtomicAddress(GraphBuilderContext b, ValueNode array, ValueNode index, JavaKind elementKind, boolean isLocal) {
+        if (isLocal) {
+            return b.append(new OffsetAddressNode(array, index));
+        }
+        SignExtendNode longIndex = b.append(new SignExtendNode(index, 64));
+        MulNode offset = b.append(new MulNode(longIndex, ConstantNode.forLong(elementKind.getByteCount())));
+        AddNode offsetWithHeader = b.append(new AddNode(offset, ConstantNode.forLong(TornadoOptions.PANAMA_OBJECT_HEADER_SIZE)));
+        return b.append(new OffsetAddressNode(array, offsetWithHeader));
+    }
+
+    private static void registerAtomicOperations(Registration r, Class<?> arrayType, JavaKind elementKind, boolean isLocal) {
+        Class<?> type = elementKind.toJavaClass();
+        String[] methodNames = { "atomicAdd", "atomicMin", "atomicMax", "atomicExchange" };
+        PTXAtomicOperationNode.Operation[] operations = { PTXAtomicOperationNode.Operation.ADD, PTXAtomicOperationNode.Operation.MIN, PTXAtomicOperationNode.Operation.MAX,
+                PTXAtomicOperationNode.Operation.EXCHANGE };
+        for (int i = 0; i < operations.length; i++) {
+            PTXAtomicOperationNode.Operation operation = operations[i];
+            r.register(new InvocationPlugin(methodNames[i], InvocationPlugin.Receiver.class, arrayType, int.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode value) {
+                    AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                    b.addPush(elementKind, new PTXAtomicOperationNode(operation, elementKind, address, value, null));
+                    return true;
+                }
+            });
+        }
+
+        r.register(new InvocationPlugin("atomicCompareAndSwap", InvocationPlugin.Receiver.class, arrayType, int.class, type, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode expected, ValueNode newValue) {
+                AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                b.addPush(elementKind, new PTXAtomicOperationNode(PTXAtomicOperationNode.Operation.COMPARE_AND_SWAP, elementKind, address, newValue, expected));
+                return true;
+            }
+        });
+    }
+
+    private static void atomicsPlugins(Registration r) {
+        registerAtomicOperations(r, IntArray.class, JavaKind.Int, false);
+        registerAtomicOperations(r, LongArray.class, JavaKind.Long, false);
+        registerAtomicOperations(r, FloatArray.class, JavaKind.Float, false);
+        registerAtomicOperations(r, DoubleArray.class, JavaKind.Double, false);
+
+        registerAtomicOperations(r, int[].class, JavaKind.Int, true);
+        registerAtomicOperations(r, long[].class, JavaKind.Long, true);
+        registerAtomicOperations(r, float[].class, JavaKind.Float, true);
+        registerAtomicOperations(r, double[].class, JavaKind.Double, true);
+    }
+
+    private static void registerSubGroupOperations(Registration r, JavaKind kind) {
+        Class<?> type = kind.toJavaClass();
+        String[] unaryNames = { "subGroupReduceAdd", "subGroupReduceMin", "subGroupReduceMax", "subGroupScanInclusiveAdd", "subGroupScanExclusiveAdd" };
+        PTXSubGroupNode.Operation[] unaryOperations = { PTXSubGroupNode.Operation.REDUCE_ADD, PTXSubGroupNode.Operation.REDUCE_MIN, PTXSubGroupNode.Operation.REDUCE_MAX,
+                PTXSubGroupNode.Operation.SCAN_INCLUSIVE_ADD, PTXSubGroupNode.Operation.SCAN_EXCLUSIVE_ADD };
+        for (int i = 0; i < unaryOperations.length; i++) {
+            PTXSubGroupNode.Operation operation = unaryOperations[i];
+            r.register(new InvocationPlugin(unaryNames[i], InvocationPlugin.Receiver.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                    b.addPush(kind, new PTXSubGroupNode(operation, kind, value, null));
+                    return true;
+                }
+            });
+        }
+
+        String[] binaryNames = { "subGroupShuffle", "subGroupShuffleXor", "subGroupBroadcast" };
+        PTXSubGroupNode.Operation[] binaryOperations = { PTXSubGroupNode.Operation.SHUFFLE, PTXSubGroupNode.Operation.SHUFFLE_XOR, PTXSubGroupNode.Operation.BROADCAST };
+        for (int i = 0; i < binaryOperations.length; i++) {
+            PTXSubGroupNode.Operation operation = binaryOperations[i];
+            r.register(new InvocationPlugin(binaryNames[i], InvocationPlugin.Receiver.class, type, int.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode lane) {
+                    b.addPush(kind, new PTXSubGroupNode(operation, kind, value, lane));
+                    return true;
+                }
+            });
+        }
+    }
+
+    private static void subGroupsPlugins(Registration r) {
+        String[] idNames = { "subGroupId", "subGroupSize", "subGroupLocalId" };
+        PTXSubGroupNode.Operation[] idOperations = { PTXSubGroupNode.Operation.ID, PTXSubGroupNode.Operation.SIZE, PTXSubGroupNode.Operation.LOCAL_ID };
+        for (int i = 0; i < idOperations.length; i++) {
+            PTXSubGroupNode.Operation operation = idOperations[i];
+            r.register(new InvocationPlugin(idNames[i], InvocationPlugin.Receiver.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                    b.addPush(JavaKind.Int, new PTXSubGroupNode(operation));
+                    return true;
+                }
+            });
+        }
+
+        String[] voteNames = { "subGroupAny", "subGroupAll" };
+        PTXSubGroupNode.Operation[] voteOperations = { PTXSubGroupNode.Operation.ANY, PTXSubGroupNode.Operation.ALL };
+        for (int i = 0; i < voteOperations.length; i++) {
+            PTXSubGroupNode.Operation operation = voteOperations[i];
+            r.register(new InvocationPlugin(voteNames[i], InvocationPlugin.Receiver.class, boolean.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode predicate) {
+                    b.addPush(JavaKind.Boolean, new PTXSubGroupNode(operation, JavaKind.Int, predicate, null));
+                    return true;
+                }
+            });
+        }
+
+        registerSubGroupOperations(r, JavaKind.Int);
+        registerSubGroupOperations(r, JavaKind.Long);
+        registerSubGroupOperations(r, JavaKind.Float);
+        registerSubGroupOperations(r, JavaKind.Double);
+    }
+
     private static void registerKernelContextPlugins(InvocationPlugins plugins) {
         Registration r = new Registration(plugins, KernelContext.class);
 
         registerLocalBarrier(r);
         registerGlobalBarrier(r);
         localArraysPlugins(r);
+        atomicsPlugins(r);
+        subGroupsPlugins(r);
     }
 
     private static void registerFPIntrinsics(Registration r, Class<?> type, JavaKind kind) {
@@ -30,22 +30,32 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBin
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp.MUL;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp.SUB;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.ASSIGN;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.ATOM;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.COMMA;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CONVERT;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CONVERT_RN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CURLY_BRACKETS_CLOSE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CURLY_BRACKETS_OPEN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.DOT;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.FULL_MEMBER_MASK;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.GLOBAL_MEM_MODIFIER;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.LANE_ID;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.MOVE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.NEGATION;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.OP_GUARD;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.REDUX_SYNC;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SELECT;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SET_PREDICATE_LESS_THAN;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SET_PREDICATE_NOT_EQUAL;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SHUFFLE_SYNC;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SPACE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SQUARE_BRACKETS_CLOSE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SQUARE_BRACKETS_OPEN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.STMT_DELIMITER;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.TAB;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.VECTOR;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.VOTE_SYNC;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.WARP_SIZE;
 
 import java.nio.charset.StandardCharsets;
 
@@ -57,11 +67,14 @@ import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXNullaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.meta.PTXMemorySpace;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXAtomicOperationNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
 
 public class PTXLIRStmt {
 
@@ -709,6 +722,344 @@ public class PTXLIRStmt {
         }
     }
 
+    @Opcode("ATOMIC_OPERATION")
+    public static class AtomicOperationStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<AtomicOperationStmt> TYPE = LIRInstructionClass.create(AtomicOperationStmt.class);
+
+        private final PTXAtomicOperationNode.Operation operation;
+
+        @Def
+        protected Value result;
+        @Use
+        protected PTXUnary.MemoryAccess address;
+        @Use
+        protected Value value;
+        @Use
+        protected Value expected;
+        @Def
+        protected Value bits;
+        @Def
+        protected Value oldBits;
+        @Def
+        protected Value isNegative;
+
+        public AtomicOperationStmt(PTXAtomicOperationNode.Operation operation, Value result, PTXUnary.MemoryAccess address, Value value, Value expected, Value bits, Value oldBits,
+                Value isNegative) {
+            super(TYPE);
+            this.operation = operation;
+            this.result = result;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+            this.bits = bits;
+            this.oldBits = oldBits;
+            this.isNegative = isNegative;
+        }
+
+        private void emitAtom(PTXCompilationResultBuilder crb, PTXAssembler asm, String op, PTXKind type, Value dest, Value... operands) {
+            // atom.global.add.s32 %r1, [%rd1], %r2;
+            asm.emit(ATOM + DOT + address.getBase().memorySpace.getName() + DOT + op + DOT + type);
+            asm.emitSymbol(TAB);
+            asm.emitValue(dest);
+            asm.emitSymbol(COMMA + SPACE);
+            address.emit(crb, asm, null);
+            for (Value operand : operands) {
+                asm.emitSymbol(COMMA + SPACE);
+                asm.emitValue(operand);
+            }
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private void emitMove(PTXAssembler asm, PTXKind type, Value dest, Value source) {
+            asm.emitSymbol(TAB);
+            asm.emit(MOVE + DOT + type);
+            asm.emitSymbol(TAB);
+            asm.emitValue(dest);
+            asm.emitSymbol(COMMA + SPACE);
+            asm.emitValue(source);
+            asm.delimiter();
+            asm.eol();
+        }
+
+        /**
+         * The bits of non-negative floating-point values are ordered as signed
+         * integers, and the bits of negative values are ordered in reverse as
+         * unsigned integers. Depending on the sign of the value, the element is
+         * updated with a signed or an unsigned integer atomic.
+         */
+        private void emitFloatingPointMinMax(PTXCompilationResultBuilder crb, PTXAssembler asm, PTXKind kind) {
+            PTXKind bitsKind = kind.is64Bit() ? PTXKind.B64 : PTXKind.B32;
+            PTXKind signedKind = kind.is64Bit() ? PTXKind.S64 : PTXKind.S32;
+            PTXKind unsignedKind = kind.is64Bit() ? PTXKind.U64 : PTXKind.U32;
+            String signedOp = operation == PTXAtomicOperationNode.Operation.MAX ? "max" : "min";
+            String unsignedOp = operation == PTXAtomicOperationNode.Operation.MAX ? "min" : "max";
+
+            emitMove(asm, bitsKind, bits, value);
+
+            asm.emitSymbol(TAB);
+            asm.emit(SET_PREDICATE_LESS_THAN + DOT + signedKind);
+            asm.emitSymbol(TAB);
+            asm.emitValue(isNegative);
+            asm.emitSymbol(COMMA + SPACE);
+            asm.emitValue(bits);
+            asm.emitSymbol(COMMA + SPACE + "0");
+            asm.delimiter();
+            asm.eol();
+
+            asm.emitSymbol(TAB + OP_GUARD + NEGATION);
+            asm.emitValue(isNegative);
+            asm.space();
+            emitAtom(crb, asm, signedOp, signedKind, oldBits, bits);
+            asm.emitSymbol(TAB + OP_GUARD);
+            asm.emitValue(isNegative);
+            asm.space();
+            emitAtom(crb, asm, unsignedOp, unsignedKind, oldBits, bits);
+
+            emitMove(asm, bitsKind, result, oldBits);
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) result.getPlatformKind();
+            PTXKind bitsKind = kind.is64Bit() ? PTXKind.B64 : PTXKind.B32;
+            switch (operation) {
+                case ADD:
+                    // There is no signed 64-bit addition, but it is the same operation as the unsigned one
+                    asm.emitSymbol(TAB);
+                    emitAtom(crb, asm, "add", kind == PTXKind.S64 ? PTXKind.U64 : kind, result, value);
+                    break;
+                case MIN:
+                case MAX:
+                    if (kind.isFloating()) {
+                        emitFloatingPointMinMax(crb, asm, kind);
+                    } else {
+                        asm.emitSymbol(TAB);
+                        emitAtom(crb, asm, operation == PTXAtomicOperationNode.Operation.MIN ? "min" : "max", kind, result, value);
+                    }
+                    break;
+                case EXCHANGE:
+                    asm.emitSymbol(TAB);
+                    emitAtom(crb, asm, "exch", bitsKind, result, value);
+                    break;
+                case COMPARE_AND_SWAP:
+                    asm.emitSymbol(TAB);
+                    emitAtom(crb, asm, "cas", bitsKind, result, expected, value);
+                    break;
+                default:
+                    throw new TornadoRuntimeException("[ERROR] Atomic operation not supported: " + operation);
+            }
+        }
+    }
+
+    @Opcode("SUB_GROUP")
+    public static class SubGroupStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<SubGroupStmt> TYPE = LIRInstructionClass.create(SubGroupStmt.class);
+
+        private static final int WARP_SIZE_VALUE = 32;
+        private static final String LANE_CLAMP = "31";
+
+        private final PTXSubGroupNode.Operation operation;
+
+        @Def
+        protected Value result;
+        @Use
+        protected Value value;
+        @Use
+        protected Value lane;
+        @Def
+        protected Value temp;
+        @Def
+        protected Value predicate;
+        @Def
+        protected Value low;
+        @Def
+        protected Value high;
+
+        public SubGroupStmt(PTXSubGroupNode.Operation operation, Value result, Value value, Value lane, Value temp, Value predicate, Value low, Value high) {
+            super(TYPE);
+            this.operation = operation;
+            this.result = result;
+            this.value = value;
+            this.lane = lane;
+            this.temp = temp;
+            this.predicate = predicate;
+            this.low = low;
+            this.high = high;
+        }
+
+        private static void emitOperand(PTXAssembler asm, Object operand) {
+            if (operand instanceof Value) {
+                asm.emitValue((Value) operand);
+            } else {
+                asm.emit(operand.toString());
+            }
+        }
+
+        private static void emitInstruction(PTXAssembler asm, String opcode, Object dest, Object... operands) {
+            asm.emitSymbol(TAB);
+            asm.emit(opcode);
+            asm.emitSymbol(TAB);
+            emitOperand(asm, dest);
+            for (Object operand : operands) {
+                asm.emitSymbol(COMMA + SPACE);
+                emitOperand(asm, operand);
+            }
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private String pair() {
+            return CURLY_BRACKETS_OPEN + PTXAssembler.toString(low) + COMMA + SPACE + PTXAssembler.toString(high) + CURLY_BRACKETS_CLOSE;
+        }
+
+        private String withPredicate(Value dest) {
+            return PTXAssembler.toString(dest) + "|" + PTXAssembler.toString(predicate);
+        }
+
+        /**
+         * shfl.sync.mode.b32 dest[|predicate], source, lane, clamp, membermask;
+         */
+        private void emitShuffle(PTXAssembler asm, PTXKind kind, String mode, Value dest, Value source, Object laneOrOffset, String clamp, boolean withPredicate) {
+            String opcode = SHUFFLE_SYNC + DOT + mode + DOT + PTXKind.B32;
+            if (kind.is64Bit()) {
+                emitInstruction(asm, MOVE + DOT + PTXKind.B64, pair(), source);
+                emitInstruction(asm, opcode, withPredicate ? withPredicate(low) : low, low, laneOrOffset, clamp, FULL_MEMBER_MASK);
+                emitInstruction(asm, opcode, high, high, laneOrOffset, clamp, FULL_MEMBER_MASK);
+                emitInstruction(asm, MOVE + DOT + PTXKind.B64, dest, pair());
+            } else {
+                emitInstruction(asm, opcode, withPredicate ? withPredicate(dest) : dest, source, laneOrOffset, clamp, FULL_MEMBER_MASK);
+            }
+        }
+
+        private static String zero(PTXKind kind) {
+            if (kind == PTXKind.F32) {
+                return "0f00000000";
+            } else if (kind == PTXKind.F64) {
+                return "0d0000000000000000";
+            }
+            return "0";
+        }
+
+        private String arithmeticOpcode(PTXKind kind) {
+            return switch (operation) {
+                case REDUCE_MIN -> "min" + DOT + kind;
+                case REDUCE_MAX -> "max" + DOT + kind;
+                default -> "add" + DOT + kind;
+            };
+        }
+
+        /**
+         * Butterfly reduction: after log2(32) exchanges, all threads of the warp
+         * hold the result.
+         */
+        private void emitReduction(PTXCompilationResultBuilder crb, PTXAssembler asm, PTXKind kind) {
+            boolean hasRedux = crb.getDeviceContext().getDevice().getTargetArchitecture().getMajor() >= 8;
+            if (hasRedux && (kind == PTXKind.S32 || kind == PTXKind.U32)) {
+                String op = operation == PTXSubGroupNode.Operation.REDUCE_MIN ? "min" : operation == PTXSubGroupNode.Operation.REDUCE_MAX ? "max" : "add";
+                emitInstruction(asm, REDUX_SYNC + DOT + op + DOT + kind, result, value, FULL_MEMBER_MASK);
+                return;
+            }
+            emitInstruction(asm, MOVE + DOT + kind, result, value);
+            for (int offset = WARP_SIZE_VALUE / 2; offset > 0; offset /= 2) {
+                emitShuffle(asm, kind, "bfly", temp, result, offset, LANE_CLAMP, false);
+                emitInstruction(asm, arithmeticOpcode(kind), result, result, temp);
+            }
+        }
+
+        /**
+         * Kogge-Stone scan: at each step, a thread adds the partial sum of the
+         * thread {@code offset} positions below it, if there is one.
+         */
+        private void emitInclusiveScan(PTXAssembler asm, PTXKind kind) {
+            emitInstruction(asm, MOVE + DOT + kind, result, value);
+            for (int offset = 1; offset < WARP_SIZE_VALUE; offset *= 2) {
+                emitShuffle(asm, kind, "up", temp, result, offset, "0", true);
+                emitInstruction(asm, SELECT + DOT + kind, temp, temp, zero(kind), predicate);
+                emitInstruction(asm, "add" + DOT + kind, result, result, temp);
+            }
+        }
+
+        /**
+         * Linear index of the thread in the block divided by the warp size.
+         */
+        private void emitSubGroupId(PTXAssembler asm) {
+            String kind = MOVE + DOT + PTXKind.U32;
+            emitInstruction(asm, kind, result, "%tid.z");
+            emitInstruction(asm, kind, temp, "%ntid.y");
+            emitInstruction(asm, "mul.lo" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, kind, temp, "%tid.y");
+            emitInstruction(asm, "add" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, kind, temp, "%ntid.x");
+            emitInstruction(asm, "mul.lo" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, kind, temp, "%tid.x");
+            emitInstruction(asm, "add" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, "shr" + DOT + PTXKind.U32, result, result, "5");
+        }
+
+        private void emitNumSubGroups(PTXAssembler asm) {
+            String kind = MOVE + DOT + PTXKind.U32;
+            emitInstruction(asm, kind, result, "%ntid.x");
+            emitInstruction(asm, kind, temp, "%ntid.y");
+            emitInstruction(asm, "mul.lo" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, kind, temp, "%ntid.z");
+            emitInstruction(asm, "mul.lo" + DOT + PTXKind.U32, result, result, temp);
+            emitInstruction(asm, "add" + DOT + PTXKind.U32, result, result, LANE_CLAMP);
+            emitInstruction(asm, "shr" + DOT + PTXKind.U32, result, result, "5");
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) result.getPlatformKind();
+            switch (operation) {
+                case ID:
+                    emitSubGroupId(asm);
+                    break;
+                case SIZE:
+                    emitInstruction(asm, MOVE + DOT + PTXKind.U32, result, WARP_SIZE);
+                    break;
+                case LOCAL_ID:
+                    emitInstruction(asm, MOVE + DOT + PTXKind.U32, result, LANE_ID);
+                    break;
+                case NUM_SUB_GROUPS:
+                    emitNumSubGroups(asm);
+                    break;
+                case ANY:
+                case ALL:
+                    PTXKind predicateKind = (PTXKind) value.getPlatformKind();
+                    emitInstruction(asm, SET_PREDICATE_NOT_EQUAL + DOT + predicateKind, predicate, value, "0");
+                    emitInstruction(asm, VOTE_SYNC + DOT + (operation == PTXSubGroupNode.Operation.ANY ? "any" : "all") + DOT + PTXKind.PRED, predicate, predicate, FULL_MEMBER_MASK);
+                    emitInstruction(asm, SELECT + DOT + kind, result, "1", "0", predicate);
+                    break;
+                case REDUCE_ADD:
+                case REDUCE_MIN:
+                case REDUCE_MAX:
+                    emitReduction(crb, asm, kind);
+                    break;
+                case SCAN_INCLUSIVE_ADD:
+                    emitInclusiveScan(asm, kind);
+                    break;
+                case SCAN_EXCLUSIVE_ADD:
+                    // The exclusive scan is the inclusive scan of the previous thread
+                    emitInclusiveScan(asm, kind);
+                    emitShuffle(asm, kind, "up", temp, result, 1, "0", true);
+                    emitInstruction(asm, SELECT + DOT + kind, result, temp, zero(kind), predicate);
+                    break;
+                case BROADCAST:
+                case SHUFFLE:
+                    emitShuffle(asm, kind, "idx", result, value, lane, LANE_CLAMP, false);
+                    break;
+                case SHUFFLE_XOR:
+                    emitShuffle(asm, kind, "bfly", result, value, lane, LANE_CLAMP, false);
+                    break;
+                default:
+                    throw new TornadoRuntimeException("[ERROR] Sub-group operation not supported: " + operation);
+            }
+        }
+    }
+
     @Opcode("GUARDED_STMT")
     public static class ConditionalStatement extends AbstractInstruction {
         public static final LIRInstructionClass<ConditionalStatement> TYPE = LIRInstructionClass.create(ConditionalStatement.class);
@@ -89,7 +89,7 @@ public class CastNode extends FloatingNode implements LIRLowerable, MarkCastNode
             gen.append(new PTXLIRStmt.ConditionalStatement(new PTXLIRStmt.AssignStmt(result, new PTXUnary.Expr(opcode, lirKind, value)), nanPred, false));
             gen.append(new PTXLIRStmt.ConditionalStatement(new PTXLIRStmt.AssignStmt(result, new ConstantValue(LIRKind.value(resultKind), PrimitiveConstant.INT_0)), nanPred, true));
         } else {
-            if (resultKind.isF64() && valueKind.isF32()) {
+            if ((resultKind.isF64() && valueKind.isF32()) || (resultKind.isF32() && valueKind.isF16())) {
                 opcode = PTXAssembler.PTXUnaryOp.CVT_FLOAT;
             } else {
                 opcode = PTXAssembler.PTXUnaryOp.CVT_FLOAT_RNE;
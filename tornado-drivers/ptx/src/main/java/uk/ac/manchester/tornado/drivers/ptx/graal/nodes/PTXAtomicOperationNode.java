@@ -0,0 +1,113 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXUnary.MemoryAccess;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkAtomicAccess;
+
+/**
+ * Atomic operation of the {@link uk.ac.manchester.tornado.api.KernelContext}
+ * on an element in global or shared memory. The node returns the value of the
+ * element before the operation.
+ */
+@NodeInfo(nameTemplate = "Atomic{p#operation/s}")
+public class PTXAtomicOperationNode extends FixedWithNextNode implements LIRLowerable, SingleMemoryKill, MarkAtomicAccess {
+
+    public static final NodeClass<PTXAtomicOperationNode> TYPE = NodeClass.create(PTXAtomicOperationNode.class);
+
+    public enum Operation {
+        ADD, MIN, MAX, EXCHANGE, COMPARE_AND_SWAP
+    }
+
+    protected final Operation operation;
+
+    @Input(InputType.Association)
+    private AddressNode address;
+
+    @Input
+    private ValueNode value;
+
+    @OptionalInput
+    private ValueNode expected;
+
+    public PTXAtomicOperationNode(Operation operation, JavaKind kind, AddressNode address, ValueNode value, ValueNode expected) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.address = address;
+        this.value = value;
+        this.expected = expected;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return LocationIdentity.any();
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        PTXLIRGenerator tool = (PTXLIRGenerator) gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp(NodeView.DEFAULT));
+        Variable result = tool.newVariable(lirKind);
+        MemoryAccess memoryAccess = (MemoryAccess) gen.operand(address);
+
+        PTXLIRStmt.AtomicOperationStmt atomicOperation;
+        PTXKind kind = (PTXKind) lirKind.getPlatformKind();
+        if (kind.isFloating() && (operation == Operation.MIN || operation == Operation.MAX)) {
+            // PTX has no floating-point min and max atomics, so they are
+            // performed as integer atomics on the bits of the value
+            PTXKind bitsKind = kind.is64Bit() ? PTXKind.S64 : PTXKind.S32;
+            Variable bits = tool.newVariable(LIRKind.value(bitsKind));
+            Variable oldBits = tool.newVariable(LIRKind.value(bitsKind));
+            Variable isNegative = tool.newVariable(LIRKind.value(PTXKind.PRED));
+            atomicOperation = new PTXLIRStmt.AtomicOperationStmt(operation, result, memoryAccess, gen.operand(value), null, bits, oldBits, isNegative);
+        } else {
+            atomicOperation = new PTXLIRStmt.AtomicOperationStmt(operation, result, memoryAccess, gen.operand(value), expected == null ? null : gen.operand(expected), null, null, null);
+        }
+        tool.append(atomicOperation);
+        gen.setResult(this, result);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt;
+
+/**
+ * Warp-level operation of the {@link uk.ac.manchester.tornado.api.KernelContext}.
+ * In PTX, a sub-group is a warp of 32 threads. The node is fixed because the
+ * {@code .sync} instructions must be executed by all threads of the warp, so
+ * they cannot be moved across control flow.
+ */
+@NodeInfo(nameTemplate = "SubGroup{p#operation/s}")
+public class PTXSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<PTXSubGroupNode> TYPE = NodeClass.create(PTXSubGroupNode.class);
+
+    public enum Operation {
+        ID, SIZE, LOCAL_ID, NUM_SUB_GROUPS, ANY, ALL, REDUCE_ADD, REDUCE_MIN, REDUCE_MAX, SCAN_INCLUSIVE_ADD, SCAN_EXCLUSIVE_ADD, BROADCAST, SHUFFLE, SHUFFLE_XOR
+    }
+
+    protected final Operation operation;
+
+    @OptionalInput
+    private ValueNode value;
+
+    @OptionalInput
+    private ValueNode lane;
+
+    public PTXSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.value = value;
+        this.lane = lane;
+    }
+
+    public PTXSubGroupNode(Operation operation) {
+        this(operation, JavaKind.Int, null, null);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        PTXLIRGenerator tool = (PTXLIRGenerator) gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp(NodeView.DEFAULT));
+        Variable result = tool.newVariable(lirKind);
+        PTXKind kind = (PTXKind) lirKind.getPlatformKind();
+
+        // Temporary registers of the instruction sequences
+        Variable temp = null;
+        Variable predicate = null;
+        Variable low = null;
+        Variable high = null;
+        if (operation != Operation.SIZE && operation != Operation.LOCAL_ID) {
+            temp = tool.newVariable(lirKind);
+            predicate = tool.newVariable(LIRKind.value(PTXKind.PRED));
+        }
+        if (kind.is64Bit()) {
+            // The shuffles move 32 bits, so 64-bit values are shuffled in two halves
+            low = tool.newVariable(LIRKind.value(PTXKind.U32));
+            high = tool.newVariable(LIRKind.value(PTXKind.U32));
+        }
+
+        Value valueOperand = value == null ? null : gen.operand(value);
+        Value laneOperand = lane == null ? null : gen.operand(lane);
+        tool.append(new PTXLIRStmt.SubGroupStmt(operation, result, valueOperand, laneOperand, temp, predicate, low, high));
+        gen.setResult(this, result);
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Optional;
 import jdk.vm.ci.meta.Constant;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.RawConstant;
+import org.graalvm.compiler.core.common.calc.FloatConvert;
 import org.graalvm.compiler.core.common.type.StampFactory;
 import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.nodes.ConstantNode;
@@ -46,6 +47,7 @@ import org.graalvm.compiler.phases.BasePhase;
 
 import uk.ac.manchester.tornado.api.internal.annotations.HalfType;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.CastNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXHalfFloatDivisionNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.ReadHalfFloatNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.WriteHalfFloatNode;
@@ -58,6 +60,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.vector.VectorValueNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.AddHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.DivHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatPlaceholder;
+import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatToFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.MultHalfFloatNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewHalfFloatInstance;
 import uk.ac.manchester.tornado.runtime.graal.nodes.SubHalfFloatNode;
@@ -156,6 +159,9 @@ public class TornadoHalfFloatReplacement extends BasePhase<TornadoHighTierContex
         replaceMultHalfFloatNodes(graph);
         replaceDivHalfFloatNodes(graph);
 
+        // replace the conversions to float with casts of the half float values
+        replaceHalfFloatToFloatNodes(graph);
+
         // add after the loadindexedvector nodes the marker node to fix the offset of its read
 
         for (LoadIndexedVectorNode loadIndexedVectorNode : graph.getNodes().filter(LoadIndexedVectorNode.class)) {
@@ -294,6 +300,17 @@ public class TornadoHalfFloatReplacement extends BasePhase<TornadoHighTierContex
         }
     }
 
+    private static void replaceHalfFloatToFloatNodes(StructuredGraph graph) {
+        for (HalfFloatToFloatNode halfFloatToFloatNode : graph.getNodes().filter(HalfFloatToFloatNode.class)) {
+            ValueNode value = getHalfOperand(halfFloatToFloatNode.getInput(), graph);
+            CastNode castNode = new CastNode(StampFactory.forKind(JavaKind.Float), FloatConvert.D2F, value);
+            graph.addWithoutUnique(castNode);
+
+            halfFloatToFloatNode.replaceAtUsages(castNode);
+            halfFloatToFloatNode.safeDelete();
+        }
+    }
+
     private static ValueNode getHalfOperand(ValueNode operand, StructuredGraph graph) {
         ValueNode halfOperand;
         if (operand instanceof VectorLoadElementNode) {
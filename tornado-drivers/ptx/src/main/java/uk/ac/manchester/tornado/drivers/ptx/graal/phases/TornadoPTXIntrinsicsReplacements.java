@@ -51,6 +51,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadIDFixedNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXBarrierNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
 public class TornadoPTXIntrinsicsReplacements extends BasePhase<TornadoHighTierContext> {
@@ -124,6 +125,26 @@ public class TornadoPTXIntrinsicsReplacements extends BasePhase<TornadoHighTierC
                     graph.replaceFixed(invoke, groupIdNode);
                     break;
                 }
+                case "Direct#PTXIntrinsics.get_sub_group_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, PTXSubGroupNode.Operation.ID);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.get_sub_group_local_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, PTXSubGroupNode.Operation.LOCAL_ID);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.get_sub_group_size": {
+                    replaceSubGroupIntrinsic(graph, invoke, PTXSubGroupNode.Operation.SIZE);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.get_num_sub_groups": {
+                    replaceSubGroupIntrinsic(graph, invoke, PTXSubGroupNode.Operation.NUM_SUB_GROUPS);
+                    break;
+                }
+                case "Direct#PTXIntrinsics.sub_group_reduce_add": {
+                    replaceSubGroupIntrinsic(graph, invoke, PTXSubGroupNode.Operation.REDUCE_ADD);
+                    break;
+                }
                 case "Direct#PTXIntrinsics.printEmpty":
                     unimplemented();
                     break;
@@ -131,6 +152,14 @@ public class TornadoPTXIntrinsicsReplacements extends BasePhase<TornadoHighTierC
         }
     }
 
+    private void replaceSubGroupIntrinsic(StructuredGraph graph, InvokeNode invoke, PTXSubGroupNode.Operation operation) {
+        NodeInputList<ValueNode> arguments = invoke.callTarget().arguments();
+        JavaKind kind = invoke.callTarget().targetMethod().getSignature().getReturnKind();
+        ValueNode value = arguments.isEmpty() ? null : arguments.get(0);
+        PTXSubGroupNode subGroupNode = graph.addOrUnique(new PTXSubGroupNode(operation, kind, value, null));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
     private void lowerLocalInvokeNodeNewArray(StructuredGraph graph, int length, JavaKind elementKind, InvokeNode newArray) {
         LocalArrayNode localArrayNode;
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
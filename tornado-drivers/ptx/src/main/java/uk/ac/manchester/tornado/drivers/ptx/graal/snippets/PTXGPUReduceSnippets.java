@@ -39,6 +39,7 @@ import uk.ac.manchester.tornado.api.math.TornadoMath;
 import uk.ac.manchester.tornado.drivers.ptx.builtins.PTXIntrinsics;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceMulNode;
@@ -797,6 +798,123 @@ public class PTXGPUReduceSnippets implements Snippets {
         }
     }
 
+    /*
+     * Partial reductions with warp shuffles. Each warp reduces its values
+     * without shared memory or barriers, and the first warp of the block reduces
+     * the partial results.
+     */
+    @Snippet
+    public static void partialReduceIntAddSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = PTXIntrinsics.get_group_id(0);
+        int warpId = PTXIntrinsics.get_sub_group_id();
+        int laneId = PTXIntrinsics.get_sub_group_local_id();
+        int warpSize = PTXIntrinsics.get_sub_group_size();
+        int numWarps = PTXIntrinsics.get_num_sub_groups();
+
+        int partial = PTXIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (laneId == 0) {
+            localArray[warpId] = partial;
+        }
+        PTXIntrinsics.localBarrier();
+
+        if (warpId == 0) {
+            int result = 0;
+            for (int i = laneId; i < numWarps; i += warpSize) {
+                result += localArray[i];
+            }
+            result = PTXIntrinsics.sub_group_reduce_add(result);
+            if (laneId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAddSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = PTXIntrinsics.get_group_id(0);
+        int warpId = PTXIntrinsics.get_sub_group_id();
+        int laneId = PTXIntrinsics.get_sub_group_local_id();
+        int warpSize = PTXIntrinsics.get_sub_group_size();
+        int numWarps = PTXIntrinsics.get_num_sub_groups();
+
+        int partial = PTXIntrinsics.sub_group_reduce_add(value);
+        if (laneId == 0) {
+            localArray[warpId] = partial;
+        }
+        PTXIntrinsics.localBarrier();
+
+        if (warpId == 0) {
+            int result = 0;
+            for (int i = laneId; i < numWarps; i += warpSize) {
+                result += localArray[i];
+            }
+            result = PTXIntrinsics.sub_group_reduce_add(result);
+            if (laneId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = PTXIntrinsics.get_group_id(0);
+        int warpId = PTXIntrinsics.get_sub_group_id();
+        int laneId = PTXIntrinsics.get_sub_group_local_id();
+        int warpSize = PTXIntrinsics.get_sub_group_size();
+        int numWarps = PTXIntrinsics.get_num_sub_groups();
+
+        float partial = PTXIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (laneId == 0) {
+            localArray[warpId] = partial;
+        }
+        PTXIntrinsics.localBarrier();
+
+        if (warpId == 0) {
+            float result = 0.0f;
+            for (int i = laneId; i < numWarps; i += warpSize) {
+                result += localArray[i];
+            }
+            result = PTXIntrinsics.sub_group_reduce_add(result);
+            if (laneId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = PTXIntrinsics.get_group_id(0);
+        int warpId = PTXIntrinsics.get_sub_group_id();
+        int laneId = PTXIntrinsics.get_sub_group_local_id();
+        int warpSize = PTXIntrinsics.get_sub_group_size();
+        int numWarps = PTXIntrinsics.get_num_sub_groups();
+
+        float partial = PTXIntrinsics.sub_group_reduce_add(value);
+        if (laneId == 0) {
+            localArray[warpId] = partial;
+        }
+        PTXIntrinsics.localBarrier();
+
+        if (warpId == 0) {
+            float result = 0.0f;
+            for (int i = laneId; i < numWarps; i += warpSize) {
+                result += localArray[i];
+            }
+            result = PTXIntrinsics.sub_group_reduce_add(result);
+            if (laneId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
     protected static class Tuple2<T0, T1> {
         T0 t0;
         T1 t1;
@@ -826,6 +944,14 @@ public class PTXGPUReduceSnippets implements Snippets {
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddDoubleSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleAdd");
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddDoubleSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleAddCarrierValue");
 
+        // Add with warp shuffles
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntSubGroupSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntAddSubGroup");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntSubGroupSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class,
+                "partialReduceIntAddSubGroupCarrierValue");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddFloatSubGroupSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatAddSubGroup");
+        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddFloatSubGroupSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class,
+                "partialReduceFloatAddSubGroupCarrierValue");
+
         // Mul
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMultSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMult");
         private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMultSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMultCarrierValue");
@@ -895,7 +1021,9 @@ public class PTXGPUReduceSnippets implements Snippets {
         @Override
         public SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
+            if (value instanceof TornadoReduceAddNode && TornadoOptions.SUB_GROUP_REDUCE) {
+                snippet = (extra == null) ? snippet(partialReduceIntSubGroupSnippet) : snippet(partialReduceIntSubGroupSnippetCarrierValue);
+            } else if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceIntSnippet) : snippet(partialReduceIntSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 // operation = ATOMIC_OPERATION.MUL;
@@ -939,7 +1067,9 @@ public class PTXGPUReduceSnippets implements Snippets {
         @Override
         public SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
+            if (value instanceof TornadoReduceAddNode && TornadoOptions.SUB_GROUP_REDUCE) {
+                snippet = (extra == null) ? snippet(partialReduceAddFloatSubGroupSnippet) : snippet(partialReduceAddFloatSubGroupSnippetCarrierValue);
+            } else if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddFloatSnippet) : snippet(partialReduceAddFloatSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 snippet = (extra == null) ? snippet(partialReduceFloatMultSnippet) : snippet(partialReduceFloatMultSnippetCarrierValue);
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.mm;
+
+import uk.ac.manchester.tornado.drivers.common.TornadoDeviceArena;
+import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Device arena for the PTX backend. Kernels receive raw device pointers, so a
+ * slice is the base pointer of the arena plus the offset of the slice, aligned
+ * to {@code tornado.ptx.array.align}.
+ */
+public class PTXDeviceArena extends TornadoDeviceArena {
+
+    public PTXDeviceArena(PTXDeviceContext deviceContext, long capacity) {
+        super(deviceContext.getBufferProvider(), capacity, TornadoOptions.PTX_ARRAY_ALIGNMENT);
+    }
+
+    @Override
+    protected long createSlice(long baseBuffer, long offset, long numBytes) {
+        return baseBuffer + offset;
+    }
+
+    @Override
+    protected void releaseSlice(long handle) {
+        // Slices are plain pointers into the arena
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.mm;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
+import uk.ac.manchester.tornado.drivers.ptx.PTXContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Pinned host allocator for the PTX backend, based on {@code cuMemHostAlloc}.
+ * Copies between these regions and the device are performed by DMA, and the
+ * asynchronous copies do not block the host. With unified virtual addressing,
+ * the regions are also mapped into the address space of the device at the same
+ * address, so kernels can access them in place.
+ */
+public class PTXHostMemoryAllocator implements HostMemoryAllocator {
+
+    private final PTXContext context;
+    private final TornadoLogger logger;
+    private final Set<Long> regions;
+
+    public PTXHostMemoryAllocator(PTXContext context) {
+        this.context = context;
+        this.logger = new TornadoLogger(this.getClass());
+        this.regions = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public long allocatePinned(long numBytes) {
+        long address = context.allocateHostMemory(numBytes);
+        if (address == 0) {
+            logger.warn("cuMemHostAlloc failed for %d bytes. Using pageable memory.", numBytes);
+        } else {
+            regions.add(address);
+        }
+        return address;
+    }
+
+    @Override
+    public void freePinned(long address) {
+        regions.remove(address);
+        context.freeHostMemory(address);
+    }
+
+    @Override
+    public long getDeviceBuffer(long address) {
+        return regions.contains(address) ? address : 0;
+    }
+
+    @Override
+    public String getName() {
+        return "CUDA";
+    }
+}
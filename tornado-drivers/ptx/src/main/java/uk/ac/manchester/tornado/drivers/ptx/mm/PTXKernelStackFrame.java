@@ -23,38 +23,47 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx.mm;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 
 public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFrame {
 
     public static final int RESERVED_SLOTS = 3;
-    private final ArrayList<CallArgument> callArguments;
+    private final KernelArguments arguments;
+    private ByteBuffer launchParameters;
 
     public PTXKernelStackFrame(long address, int numArgs, PTXDeviceContext deviceContext) {
         super(address, RESERVED_SLOTS << 3, 0, deviceContext);
-        this.callArguments = new ArrayList<>(numArgs);
+        this.arguments = new KernelArguments(numArgs);
 
         buffer.clear();
     }
 
     @Override
-    public void addCallArgument(Object value, boolean isReferenceType) {
-        callArguments.add(new CallArgument(value, isReferenceType));
+    public KernelArguments getArguments() {
+        return arguments;
     }
 
-    @Override
-    public void reset() {
-        callArguments.clear();
-    }
-
-    @Override
-    public List<CallArgument> getCallArguments() {
-        return callArguments;
+    /**
+     * Returns the buffer used to pass the parameters to {@code cuLaunchKernel}.
+     * The driver copies the parameters when the kernel is launched, so the same
+     * buffer is reused across launches while the number of arguments does not
+     * change.
+     *
+     * @param numBytes
+     *     size of the parameters in bytes
+     * @return an empty buffer in the byte order of the device
+     */
+    public ByteBuffer getLaunchParameters(int numBytes) {
+        if (launchParameters == null || launchParameters.capacity() != numBytes) {
+            launchParameters = ByteBuffer.allocate(numBytes);
+            launchParameters.order(buffer.order());
+        }
+        launchParameters.clear();
+        return launchParameters;
     }
 
     @Override
@@ -73,14 +82,10 @@ public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFra
     }
 
     @Override
-    public void setKernelContext(HashMap<Integer, Integer> map) {
+    public void setKernelContext(long[] globalWork) {
         buffer.clear();
         for (int i = 0; i < RESERVED_SLOTS; i++) {
-            if (map.containsKey(i)) {
-                buffer.putLong(map.get(i));
-            } else {
-                buffer.putLong(0);
-            }
+            buffer.putLong(globalWork != null && i < globalWork.length ? globalWork[i] : 0);
         }
     }
 }
@@ -30,6 +30,8 @@ import java.util.List;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface;
@@ -50,6 +52,8 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
     private long bufferOffset;
     private long bufferSize;
     private long setSubRegionSize;
+    private boolean zeroCopy;
+    private DeviceArena arena;
     private final TornadoLogger logger;
 
     public PTXMemorySegmentWrapper(PTXDeviceContext deviceContext, long batchSize) {
@@ -108,6 +112,11 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
     @Override
 
     public int read(long executionPlanId, final Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        if (zeroCopy) {
+            // The host reads the buffer in place once the stream is finished
+            deviceContext.sync(executionPlanId);
+            return -1;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
@@ -129,6 +138,9 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
     @Override
 
     public void write(long executionPlanId, Object reference) {
+        if (zeroCopy) {
+            return;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
 
         if (batchSize <= 0) {
@@ -140,6 +152,9 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+        if (zeroCopy) {
+            return useDeps ? deviceContext.enqueueMarker(executionPlanId, events) : -1;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
@@ -155,6 +170,9 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
     @Override
     public List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
         List<Integer> returnEvents = new ArrayList<>();
+        if (zeroCopy) {
+            return useDeps ? returnEvents : null;
+        }
 
         MemorySegment segment = getSegmentWithHeader(reference);
 
@@ -188,14 +206,61 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         }
 
         if (TornadoOptions.FULL_DEBUG) {
-            logger.info("allocated: %s", toString());
+            logger.info("allocated: %s (pinned host memory: %s)", toString(), PinnedMemory.isPinned(segment));
+        }
+    }
+
+    @Override
+    public boolean allocateZeroCopy(Object reference, long batchSize) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        if (batchSize > 0 || !PinnedMemory.isPinned(segment)) {
+            return false;
+        }
+        long devicePointer = deviceContext.getDevice().getPTXContext().getHostMemoryAllocator().getDeviceBuffer(segment.address());
+        if (devicePointer == 0) {
+            return false;
+        }
+        bufferId = devicePointer;
+        bufferOffset = 0;
+        bufferSize = segment.byteSize();
+        zeroCopy = true;
+
+        if (TornadoOptions.FULL_DEBUG) {
+            logger.info("allocated: %s (zero-copy)", toString());
         }
+        return true;
+    }
+
+    @Override
+    public boolean allocateInArena(Object reference, long batchSize, DeviceArena arena) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        long numBytes = batchSize <= 0 ? segment.byteSize() : batchSize + TornadoNativeArray.ARRAY_HEADER;
+        long slice = arena.allocate(numBytes);
+        if (slice == -1) {
+            return false;
+        }
+        bufferId = slice;
+        bufferOffset = 0;
+        bufferSize = batchSize <= 0 ? segment.byteSize() : batchSize;
+        this.arena = arena;
+
+        if (TornadoOptions.FULL_DEBUG) {
+            logger.info("allocated: %s (device arena)", toString());
+        }
+        return true;
     }
 
     @Override
     public void deallocate() throws TornadoMemoryException {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-        deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        // Zero-copy buffers belong to the pinned host region, and slices to the arena of the plan
+        if (arena != null) {
+            arena.free(bufferId);
+        } else if (!zeroCopy) {
+            deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        }
+        zeroCopy = false;
+        arena = null;
         bufferId = INIT_VALUE;
         bufferSize = INIT_VALUE;
 
@@ -229,4 +294,13 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         XPUBuffer.super.setIntBuffer(arr);
     }
 
+    @Override
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    @Override
+    public boolean isArenaSlice() {
+        return arena != null;
+    }
 }
@@ -23,6 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx.runtime;
 
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
 
@@ -34,7 +36,11 @@ public class PTXBufferProvider extends TornadoBufferProvider {
 
     @Override
     public long allocateBuffer(long size) {
-        return ((PTXDeviceContext) deviceContext).getDevice().getPTXContext().allocateMemory(size);
+        try {
+            return ((PTXDeviceContext) deviceContext).getDevice().getPTXContext().allocateMemory(size);
+        } catch (TornadoBailoutRuntimeException e) {
+            throw new TornadoOutOfMemoryException("Unable to allocate " + size + " bytes of memory.");
+        }
     }
 
     @Override
@@ -44,7 +44,9 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.internal.annotations.Vector;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
@@ -69,6 +71,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResult;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompiler;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXByteArrayWrapper;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXCharArrayWrapper;
+import uk.ac.manchester.tornado.drivers.ptx.mm.PTXDeviceArena;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXDoubleArrayWrapper;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXFloatArrayWrapper;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXIntArrayWrapper;
@@ -87,6 +90,9 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.CodeCacheEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.DriverBuildEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.GraalCompilationEvent;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -178,17 +184,25 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         try {
             PTXCompilationResult result;
             if (!deviceContext.isCached(resolvedMethod.getName(), executable)) {
+                CodeCacheEvent.emit(taskMeta.getId(), resolvedMethod.getName(), this, false);
                 PTXProviders providers = (PTXProviders) getBackend().getProviders();
                 profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+                GraalCompilationEvent compilationEvent = new GraalCompilationEvent();
+                compilationEvent.begin();
                 result = PTXCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
+                compilationEvent.commit(taskMeta.getId(), resolvedMethod.getName(), this);
                 profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
                 profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
             } else {
+                CodeCacheEvent.emit(taskMeta.getId(), resolvedMethod.getName(), this, true);
                 result = new PTXCompilationResult(buildKernelName(resolvedMethod.getName(), executable), taskMeta);
             }
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
             TornadoInstalledCode installedCode = deviceContext.installCode(result, resolvedMethod.getName());
+            buildEvent.commit(taskMeta.getId(), result.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
             return installedCode;
@@ -207,15 +221,21 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         final PrebuiltTask executable = (PrebuiltTask) task;
         String functionName = buildKernelName(executable.getEntryPoint(), executable);
         if (deviceContext.isCached(executable.getEntryPoint(), executable)) {
+            CodeCacheEvent.emit(task.getId(), functionName, this, true);
             return deviceContext.getInstalledCode(functionName);
         }
+        CodeCacheEvent.emit(task.getId(), functionName, this, false);
 
         final Path path = Paths.get(executable.getFilename());
         TornadoInternalError.guarantee(path.toFile().exists(), "file does not exist: %s", executable.getFilename());
         try {
             byte[] source = Files.readAllBytes(path);
             source = PTXCodeUtil.getCodeWithAttachedPTXHeader(source, getBackend());
-            return deviceContext.installCode(functionName, source, executable.getEntryPoint(), task.meta().isPrintKernelEnabled());
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
+            TornadoInstalledCode installedCode = deviceContext.installCode(functionName, source, executable.getEntryPoint(), task.meta().isPrintKernelEnabled());
+            buildEvent.commit(task.getId(), functionName, this);
+            return installedCode;
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -305,7 +325,13 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
             TornadoInternalError.guarantee(state.isAtomicRegionPresent() || !state.hasObjectBuffer(), "A device memory leak might be occurring.");
             buffer = createDeviceBuffer(object.getClass(), object, batchSize);
             state.setXPUBuffer(buffer);
-            buffer.allocate(object, batchSize);
+            boolean allocated = state.isUnifiedMemory() && buffer.allocateZeroCopy(object, batchSize);
+            if (!allocated && state.getDeviceArena() != null) {
+                allocated = buffer.allocateInArena(object, batchSize, state.getDeviceArena());
+            }
+            if (!allocated) {
+                buffer.allocate(object, batchSize);
+            }
         } else {
             buffer = state.getXPUBuffer();
             if (batchSize != 0) {
@@ -635,6 +661,11 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(PTXBackendImpl.class);
     }
 
+    @Override
+    public HostMemoryAllocator getHostMemoryAllocator() {
+        return device.getPTXContext().getHostMemoryAllocator();
+    }
+
     @Override
     public Object getAtomic() {
         return null;
@@ -670,6 +701,11 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
 
     }
 
+    @Override
+    public DeviceArena createDeviceArena(long capacity) {
+        return new PTXDeviceArena(getDeviceContext(), capacity);
+    }
+
     @Override
     public boolean loopIndexInWrite(SchedulableTask task) {
         if (task instanceof CompilableTask) {
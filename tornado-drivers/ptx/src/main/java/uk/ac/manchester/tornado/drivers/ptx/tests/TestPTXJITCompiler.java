@@ -25,7 +25,6 @@ package uk.ac.manchester.tornado.drivers.ptx.tests;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import org.graalvm.compiler.phases.util.Providers;
 
@@ -138,11 +137,11 @@ public class TestPTXJITCompiler {
         // Create call wrapper
         KernelStackFrame callWrapper = tornadoDevice.createKernelStackFrame(3);
 
-        callWrapper.setKernelContext(new HashMap<>());
+        callWrapper.setKernelContext(null);
 
-        callWrapper.addCallArgument(objectStateA.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateB.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateC.getXPUBuffer().toBuffer(), true);
+        callWrapper.addReferenceArgument(objectStateA.getXPUBuffer().toBuffer());
+        callWrapper.addReferenceArgument(objectStateB.getXPUBuffer().toBuffer());
+        callWrapper.addReferenceArgument(objectStateC.getXPUBuffer().toBuffer());
 
         // Run the code
         ptxCode.launchWithoutDependencies(executionPlanId, callWrapper, null, taskMeta, 0);
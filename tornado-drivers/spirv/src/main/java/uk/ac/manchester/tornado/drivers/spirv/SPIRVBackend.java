@@ -133,6 +133,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVReferenceMapBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.backend.XPUBackend;
@@ -514,6 +515,14 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders> implements FrameMap
             SPIRVSymbolTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE.name, id);
             asm.builtinTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE, id);
         }
+
+        for (SPIRVThreadBuiltIn builtIn : SPIRVThreadBuiltIn.values()) {
+            if (builtIn.isSubGroupBuiltIn() && SPIRVSubGroupNode.usesBuiltIn(cfg.graph, builtIn)) {
+                SPIRVId id = asm.emitDecorateOpenCLBuiltin(module, builtIn);
+                SPIRVSymbolTable.put(builtIn.name, id);
+                asm.builtinTable.put(builtIn, id);
+            }
+        }
     }
 
     private void emitPrologueForMainKernel(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, ResolvedJavaMethod method, LIR lir, SPIRVId methodId, IDTable idTable) {
@@ -756,7 +765,8 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders> implements FrameMap
      *
      * This is due to if the kernel is parallel, we need to declare a vector 3
      * elements (ThreadID-0, ThreadID-1, ThreadID-2) that will be used in the OCL
-     * builtins for thread id and global sizes.
+     * builtins for thread id and global sizes. The sub-group built-ins are
+     * scalar integers.
      *
      * Example:
      *
@@ -768,9 +778,9 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders> implements FrameMap
      *     {@link SPIRVAssembler}
      */
     public void emitBuiltinVariables(SPIRVAssembler asm) {
-        SPIRVId ptrV3ulong = asm.primitives.getPtrOpTypePointerWithStorage(SPIRVKind.OP_TYPE_VECTOR3_INT_64, SPIRVStorageClass.Input());
         for (Map.Entry<SPIRVThreadBuiltIn, SPIRVId> entry : asm.getBuiltinTableEntrySet()) {
-            asm.module.add(new SPIRVOpVariable(ptrV3ulong, entry.getValue(), SPIRVStorageClass.Input(), new SPIRVOptionalOperand<>()));
+            SPIRVId ptrType = asm.primitives.getPtrOpTypePointerWithStorage(entry.getKey().getKind(), SPIRVStorageClass.Input());
+            asm.module.add(new SPIRVOpVariable(ptrType, entry.getValue(), SPIRVStorageClass.Input(), new SPIRVOptionalOperand<>()));
         }
     }
 
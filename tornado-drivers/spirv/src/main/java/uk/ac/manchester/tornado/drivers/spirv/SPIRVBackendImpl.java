@@ -25,6 +25,7 @@ package uk.ac.manchester.tornado.drivers.spirv;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.phases.util.Providers;
@@ -37,6 +38,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceNotFound;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVHotSpotBackendFactory;
 import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
@@ -47,15 +49,32 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
     /**
      * Matrix of backend instances. Each row has a driver implementation (e.g.,
      * Level Zero). Each column represents a device within that backend.
+     * Backends are created on the first use of the device, and the atomic rows
+     * publish them to threads that do not hold the lock.
      */
-    private final SPIRVBackend[][] spirvBackends;
+    private final AtomicReferenceArray<SPIRVBackend>[] spirvBackends;
+
+    /**
+     * Devices with SPIR-V support, with the same layout as the backends matrix.
+     */
+    private final SPIRVDevice[][] spirvDevices;
+
+    /**
+     * Context of each platform.
+     */
+    private final SPIRVContext[] contexts;
 
     private final List<SPIRVPlatform> platforms;
 
     /**
-     * Flat representation of the backends
+     * Flat representation of the backends. Each entry holds the platform and
+     * device index of the backend.
      */
-    private final SPIRVBackend[] flatBackends;
+    private final int[][] flatBackends;
+
+    private final OptionValues options;
+    private final HotSpotJVMCIRuntime vmRuntime;
+    private final TornadoVMConfigAccess vmConfig;
 
     private final TornadoLogger logger;
 
@@ -66,6 +85,7 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
     private int backendCounter;
     private List<TornadoDevice> devices;
 
+    @SuppressWarnings("unchecked")
     public SPIRVBackendImpl(OptionValues options, HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfigAccess) {
         int numPlatforms = SPIRVRuntimeImpl.getInstance().getNumPlatforms();
         logger = new TornadoLogger(this.getClass());
@@ -74,49 +94,72 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
         if (numPlatforms < 1) {
             throw new TornadoBailoutRuntimeException("[Warning] No SPIR-V platforms found. Deoptimizing to sequential execution");
         }
+        this.options = options;
+        this.vmRuntime = vmRuntime;
+        this.vmConfig = vmConfigAccess;
         platforms = new ArrayList<>();
-        spirvBackends = new SPIRVBackend[numPlatforms][];
+        spirvBackends = new AtomicReferenceArray[numPlatforms];
+        spirvDevices = new SPIRVDevice[numPlatforms][];
+        contexts = new SPIRVContext[numPlatforms];
 
-        discoverDevices(options, vmRuntime, vmConfigAccess, numPlatforms);
+        discoverDevices(numPlatforms);
 
-        flatBackends = new SPIRVBackend[backendCounter];
+        flatBackends = new int[backendCounter][];
         int index = 0;
         for (int i = 0; i < getNumPlatforms(); i++) {
             for (int j = 0; j < getNumDevicesForPlatform(i); j++, index++) {
-                flatBackends[index] = spirvBackends[i][j];
+                flatBackends[index] = new int[] { i, j };
             }
         }
 
     }
 
-    private void discoverDevices(OptionValues options, HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmCon, int numPlatforms) {
+    private void discoverDevices(int numPlatforms) {
         for (int platformIndex = 0; platformIndex < numPlatforms; platformIndex++) {
             SPIRVPlatform platform = SPIRVRuntimeImpl.getInstance().getPlatform(platformIndex);
             platforms.add(platform);
-            SPIRVContext context = platform.createContext();
+            contexts[platformIndex] = platform.createContext();
             int numDevices = platform.getNumDevices();
 
             // Since a platform can have more than one device and not all of them must be SPIR-V supported,
             // we need to filter again to only add those that support SPIR-V >= 1.2.
-            List<SPIRVBackend> backendImplementations = new ArrayList<>();
+            List<SPIRVDevice> supportedDevices = new ArrayList<>();
             for (int deviceIndex = 0; deviceIndex < numDevices; deviceIndex++) {
                 SPIRVDevice device = platform.getDevice(deviceIndex);
                 if (device.isSPIRVSupported()) {
-                    backendImplementations.add(createSPIRVJITCompilerBackend(options, vmRuntime, vmCon, device, context, device.getSPIRVRuntime()));
+                    supportedDevices.add(device);
                     backendCounter++;
                 }
             }
-            spirvBackends[platformIndex] = backendImplementations.toArray(new SPIRVBackend[0]);
+            spirvDevices[platformIndex] = supportedDevices.toArray(new SPIRVDevice[0]);
+            spirvBackends[platformIndex] = new AtomicReferenceArray<>(supportedDevices.size());
         }
     }
 
-    private SPIRVBackend createSPIRVJITCompilerBackend(OptionValues options, HotSpotJVMCIRuntime vmRuntime, TornadoVMConfigAccess vmConfig, SPIRVDevice device, SPIRVContext context,
-            SPIRVRuntime spirvRuntime) {
-        return SPIRVHotSpotBackendFactory.createJITCompiler(options, vmRuntime, vmConfig, device, context, spirvRuntime);
+    private SPIRVBackend createSPIRVJITCompilerBackend(SPIRVDevice device, SPIRVContext context, SPIRVRuntime spirvRuntime) {
+        final long start = System.nanoTime();
+        SPIRVBackend backend = SPIRVHotSpotBackendFactory.createJITCompiler(options, vmRuntime, vmConfig, device, context, spirvRuntime);
+        TornadoCoreRuntime.getTornadoRuntime().registerDeviceInitTime(device.getDeviceName(), System.nanoTime() - start);
+        return backend;
+    }
+
+    private SPIRVBackend getOrCreateBackend(int platformIndex, int deviceIndex) {
+        SPIRVBackend backend = spirvBackends[platformIndex].get(deviceIndex);
+        if (backend == null) {
+            synchronized (this) {
+                backend = spirvBackends[platformIndex].get(deviceIndex);
+                if (backend == null) {
+                    SPIRVDevice device = spirvDevices[platformIndex][deviceIndex];
+                    backend = createSPIRVJITCompilerBackend(device, contexts[platformIndex], device.getSPIRVRuntime());
+                    spirvBackends[platformIndex].set(deviceIndex, backend);
+                }
+            }
+        }
+        return backend;
     }
 
     private SPIRVBackend checkAndInitBackend(int platformIndex, int deviceIndex) {
-        SPIRVBackend backend = spirvBackends[platformIndex][deviceIndex];
+        SPIRVBackend backend = getOrCreateBackend(platformIndex, deviceIndex);
         if (!backend.isInitialised()) {
             logger.info("SPIR-V Backend Initialization");
             backend.init();
@@ -150,7 +193,7 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
 
     private int getNumDevicesForPlatform(int platform) {
         try {
-            return spirvBackends[platform].length;
+            return spirvBackends[platform].length();
         } catch (NullPointerException e) {
             return 0;
         }
@@ -164,18 +207,18 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
     @Override
     public TornadoXPUDevice getDevice(int index) {
         if (index < flatBackends.length) {
-            return flatBackends[index].getDeviceContext().asMapping();
+            return getOrCreateBackend(flatBackends[index][0], flatBackends[index][1]).getDeviceContext().asMapping();
         } else {
             throw new TornadoDeviceNotFound(STR."[ERROR]-[SPIRV-DRIVER] Device required not found: \{index} - Max: \{spirvBackends.length}");
         }
     }
 
     @Override
-    public List<TornadoDevice> getAllDevices() {
+    public synchronized List<TornadoDevice> getAllDevices() {
         if (devices == null) {
             devices = new ArrayList<>();
             for (int i = 0; i < getBackendCounter(); i++) {
-                devices.add(flatBackends[i].getDeviceContext().asMapping());
+                devices.add(getOrCreateBackend(flatBackends[i][0], flatBackends[i][1]).getDeviceContext().asMapping());
             }
         }
         return devices;
@@ -197,11 +240,11 @@ public final class SPIRVBackendImpl implements TornadoAcceleratorBackend {
     }
 
     public SPIRVBackend getBackend(SPIRVRuntime port) {
-        for (SPIRVBackend[] spirvBackend : spirvBackends) {
-            for (SPIRVBackend backend : spirvBackend) {
-                SPIRVRuntime spirvRuntime = backend.getDeviceContext().device.getSPIRVRuntime();
+        for (int platformIndex = 0; platformIndex < spirvDevices.length; platformIndex++) {
+            for (int deviceIndex = 0; deviceIndex < spirvDevices[platformIndex].length; deviceIndex++) {
+                SPIRVRuntime spirvRuntime = spirvDevices[platformIndex][deviceIndex].getSPIRVRuntime();
                 if (spirvRuntime.equals(port)) {
-                    return backend;
+                    return getOrCreateBackend(platformIndex, deviceIndex);
                 }
             }
         }
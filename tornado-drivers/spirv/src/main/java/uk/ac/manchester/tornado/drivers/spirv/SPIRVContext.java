@@ -25,6 +25,7 @@ package uk.ac.manchester.tornado.drivers.spirv;
 
 import java.util.List;
 
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
 import uk.ac.manchester.tornado.drivers.common.CommandQueue;
 import uk.ac.manchester.tornado.drivers.opencl.OCLContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLEventPool;
@@ -51,6 +52,14 @@ public abstract class SPIRVContext {
 
     public abstract void freeMemory(long buffer, int deviceIndex);
 
+    /**
+     * @return the pinned host allocator of the dispatcher, or null if it is not
+     *     supported.
+     */
+    public HostMemoryAllocator getHostMemoryAllocator() {
+        return null;
+    }
+
     public abstract int readBuffer(long executionPlanId, int deviceIndex, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer);
 
     public abstract int readBuffer(long executionPlanId, int deviceIndex, long bufferId, long offset, long bytes, char[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer);
@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
 import uk.ac.manchester.tornado.drivers.opencl.OCLContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLEventPool;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroByteBuffer;
@@ -53,6 +54,7 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
     private static final String BUFFER_NOT_FOUND_ERROR_MESSAGE = "Should always have a buffer created at this point.";
 
     private final LevelZeroContext levelZeroContext;
+    private SPIRVLevelZeroHostMemoryAllocator hostMemoryAllocator;
     private final List<SPIRVDeviceContext> spirvDeviceContext;
 
     // Maps buffer ID -> LevelZeroByteBuffer
@@ -171,6 +173,14 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         return deviceBuffer.getPtrBuffer();
     }
 
+    @Override
+    public synchronized HostMemoryAllocator getHostMemoryAllocator() {
+        if (hostMemoryAllocator == null) {
+            hostMemoryAllocator = new SPIRVLevelZeroHostMemoryAllocator(levelZeroContext);
+        }
+        return hostMemoryAllocator;
+    }
+
     @Override
     public void freeMemory(long buffer, int deviceIndex) {
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.remove(buffer);
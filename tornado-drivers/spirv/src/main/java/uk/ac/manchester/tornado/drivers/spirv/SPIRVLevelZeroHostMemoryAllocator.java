@@ -0,0 +1,94 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroByteBuffer;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroContext;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeHostMemAllocDescriptor;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeHostMemAllocFlags;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeResult;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Pinned host allocator for the SPIR-V backend when it dispatches through
+ * Level Zero. Regions are allocated with {@code zeMemAllocHost}, so they are
+ * accessible by the devices of the context and copied by DMA. Kernels can also
+ * access them in place through the same pointer.
+ */
+public class SPIRVLevelZeroHostMemoryAllocator implements HostMemoryAllocator {
+
+    private final LevelZeroContext levelZeroContext;
+    private final TornadoLogger logger;
+
+    /**
+     * Host address of each region and the Level Zero buffer that holds it.
+     */
+    private final Map<Long, LevelZeroByteBuffer> hostBuffers;
+
+    public SPIRVLevelZeroHostMemoryAllocator(LevelZeroContext levelZeroContext) {
+        this.levelZeroContext = levelZeroContext;
+        this.logger = new TornadoLogger(this.getClass());
+        this.hostBuffers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public long allocatePinned(long numBytes) {
+        LevelZeroByteBuffer hostBuffer = new LevelZeroByteBuffer();
+        ZeHostMemAllocDescriptor hostMemAllocDesc = new ZeHostMemAllocDescriptor();
+        hostMemAllocDesc.setFlags(ZeHostMemAllocFlags.ZE_HOST_MEM_ALLOC_FLAG_BIAS_CACHED);
+        int result = levelZeroContext.zeMemAllocHost(levelZeroContext.getDefaultContextPtr(), hostMemAllocDesc, numBytes, TornadoOptions.LEVEL_ZERO_BUFFER_ALIGNMENT, hostBuffer);
+        LevelZeroUtils.errorLog("zeMemAllocHost", result);
+        if (result != ZeResult.ZE_RESULT_SUCCESS) {
+            logger.warn("zeMemAllocHost failed for %d bytes. Using pageable memory.", numBytes);
+            return 0;
+        }
+        hostBuffers.put(hostBuffer.getPtrBuffer(), hostBuffer);
+        return hostBuffer.getPtrBuffer();
+    }
+
+    @Override
+    public void freePinned(long address) {
+        LevelZeroByteBuffer hostBuffer = hostBuffers.remove(address);
+        if (hostBuffer != null) {
+            int result = levelZeroContext.zeMemFree(levelZeroContext.getDefaultContextPtr(), hostBuffer);
+            LevelZeroUtils.errorLog("zeMemFree", result);
+        }
+    }
+
+    @Override
+    public long getDeviceBuffer(long address) {
+        return hostBuffers.containsKey(address) ? address : 0;
+    }
+
+    @Override
+    public String getName() {
+        return "Level Zero";
+    }
+}
@@ -59,6 +59,8 @@ public class SPIRVPrimitiveTypes {
 
     private boolean vector16Capability;
     private boolean genericCapability;
+    private boolean int64AtomicsCapability;
+    private boolean groupsCapability;
 
     public SPIRVPrimitiveTypes(uk.ac.manchester.beehivespirvtoolkit.lib.SPIRVModule module) {
         this.module = module;
@@ -141,6 +143,28 @@ public class SPIRVPrimitiveTypes {
         return primitives.get(primitive);
     }
 
+    /**
+     * Atomic instructions on 64-bit elements require the Int64Atomics
+     * capability, which is only declared for kernels that use them.
+     */
+    public void addInt64AtomicsCapability() {
+        if (!int64AtomicsCapability) {
+            module.add(new SPIRVOpCapability(SPIRVCapability.Int64Atomics()));
+            int64AtomicsCapability = true;
+        }
+    }
+
+    /**
+     * Group instructions (e.g., OpGroupIAdd) require the Groups capability,
+     * which is only declared for kernels that use sub-group operations.
+     */
+    public void addGroupsCapability() {
+        if (!groupsCapability) {
+            module.add(new SPIRVOpCapability(SPIRVCapability.Groups()));
+            groupsCapability = true;
+        }
+    }
+
     public SPIRVId getPtrToCrossWorkGroupPrimitive(SPIRVKind primitive) {
         return getPtrOpTypePointerWithStorage(primitive, SPIRVStorageClass.CrossWorkgroup());
     }
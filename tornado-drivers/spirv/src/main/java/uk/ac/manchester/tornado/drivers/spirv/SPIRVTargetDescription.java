@@ -35,10 +35,12 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
 public class SPIRVTargetDescription extends TargetDescription {
 
     private boolean supportsFP64;
+    private final boolean supportsSubGroups;
 
     public SPIRVTargetDescription(Architecture arch, boolean isMP, int stackAlignment, int implicitNullCheckLimit, boolean inlineObjects, boolean supportsFP64, String extensions) {
         super(arch, isMP, stackAlignment, implicitNullCheckLimit, inlineObjects);
         this.supportsFP64 = supportsFP64;
+        this.supportsSubGroups = extensions != null && extensions.contains("cl_khr_subgroups");
     }
 
     public SPIRVArchitecture getArch() {
@@ -53,4 +55,8 @@ public class SPIRVTargetDescription extends TargetDescription {
         return this.supportsFP64;
     }
 
+    public boolean supportsSubGroups() {
+        return supportsSubGroups;
+    }
+
 }
@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.spirv;
 import org.graalvm.compiler.graph.Node;
 
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVBuiltIn;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GlobalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GlobalThreadSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GroupIdNode;
@@ -33,6 +34,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdFixedNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 
 /**
  * OpenCL Thread Built-ins for SPIR-V.
@@ -44,19 +46,34 @@ public enum SPIRVThreadBuiltIn {
     GLOBAL_SIZE("spirv_BuiltInGlobalSize", SPIRVBuiltIn.GlobalSize(), GlobalThreadSizeNode.class, null),
     LOCAL_THREAD_ID("spirv_BuiltInLocalInvocationId", SPIRVBuiltIn.LocalInvocationId(), LocalThreadIdFixedNode.class, LocalThreadIdNode.class),
     WORKGROUP_SIZE("spirv_BuiltInWorkgroupSize", SPIRVBuiltIn.WorkgroupSize(), LocalGroupSizeNode.class, LocalThreadSizeNode.class),
-    GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null);
+    GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null),
+    SUB_GROUP_SIZE("spirv_BuiltInSubgroupSize", SPIRVBuiltIn.SubgroupSize(), SPIRVKind.OP_TYPE_INT_32),
+    SUB_GROUP_LOCAL_ID("spirv_BuiltInSubgroupLocalInvocationId", SPIRVBuiltIn.SubgroupLocalInvocationId(), SPIRVKind.OP_TYPE_INT_32),
+    SUB_GROUP_ID("spirv_BuiltInSubgroupId", SPIRVBuiltIn.SubgroupId(), SPIRVKind.OP_TYPE_INT_32),
+    NUM_SUB_GROUPS("spirv_BuiltInNumSubgroups", SPIRVBuiltIn.NumSubgroups(), SPIRVKind.OP_TYPE_INT_32);
     // @formatter:on
 
     String name;
     SPIRVBuiltIn builtIn;
     Class<? extends Node> nodeClass;
     Class<? extends Node> optionalNodeClass;
+    SPIRVKind kind;
 
     SPIRVThreadBuiltIn(String idName, SPIRVBuiltIn builtIn, Class<? extends Node> nodeClass, Class<? extends Node> optional) {
         this.name = idName;
         this.builtIn = builtIn;
         this.nodeClass = nodeClass;
         this.optionalNodeClass = optional;
+        this.kind = SPIRVKind.OP_TYPE_VECTOR3_INT_64;
+    }
+
+    /**
+     * Sub-group built-ins are scalars, and they are read by the
+     * {@link SPIRVSubGroupNode} of the corresponding operation.
+     */
+    SPIRVThreadBuiltIn(String idName, SPIRVBuiltIn builtIn, SPIRVKind kind) {
+        this(idName, builtIn, SPIRVSubGroupNode.class, null);
+        this.kind = kind;
     }
 
     public String getName() {
@@ -75,4 +92,12 @@ public enum SPIRVThreadBuiltIn {
         return optionalNodeClass;
     }
 
+    public SPIRVKind getKind() {
+        return kind;
+    }
+
+    public boolean isSubGroupBuiltIn() {
+        return nodeClass == SPIRVSubGroupNode.class;
+    }
+
 }
@@ -38,6 +38,7 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPVFileReader;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVModule;
+import uk.ac.manchester.tornado.runtime.common.KernelArgumentCache;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 
 public abstract class SPIRVInstalledCode extends InstalledCode implements TornadoInstalledCode {
@@ -45,6 +46,12 @@ public abstract class SPIRVInstalledCode extends InstalledCode implements Tornad
     protected SPIRVDeviceContext deviceContext;
     protected SPIRVModule spirvModule;
 
+    /**
+     * Values set in the arguments of the kernel object of this code. They persist
+     * in the driver across launches, so only the ones that change are set again.
+     */
+    protected final KernelArgumentCache argumentCache = new KernelArgumentCache();
+
     protected SPIRVInstalledCode(String name, SPIRVModule spirvModule, SPIRVDeviceContext deviceContext) {
         super(name);
         this.deviceContext = deviceContext;
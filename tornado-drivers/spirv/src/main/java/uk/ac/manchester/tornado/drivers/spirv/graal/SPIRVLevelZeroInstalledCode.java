@@ -26,7 +26,6 @@ package uk.ac.manchester.tornado.drivers.spirv.graal;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
-import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroCommandQueue;
@@ -42,8 +41,8 @@ import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeResult;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelStackFrame;
 import uk.ac.manchester.tornado.drivers.spirv.timestamps.LevelZeroKernelTimeStamp;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
-import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -77,29 +76,24 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
         ZeKernelHandle kernel = levelZeroKernel.getKernelHandle();
 
         // device's kernel context
-        int result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), 0, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-        LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
+        setLongArg(levelZeroKernel, kernel, 0, callWrapper.toBuffer());
 
         // Set all user parameters to the SPIR-V kernel
-        for (int argIndex = 0; argIndex < callWrapper.getCallArguments().size(); argIndex++) {
+        KernelArguments arguments = callWrapper.getArguments();
+        for (int argIndex = 0; argIndex < arguments.size(); argIndex++) {
             int kernelParamIndex = argIndex + 1;
-            KernelStackFrame.CallArgument arg = callWrapper.getCallArguments().get(argIndex);
-
-            if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
-                result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), kernelParamIndex, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-                LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
-                continue;
+            if (arguments.isKernelContext(argIndex)) {
+                setLongArg(levelZeroKernel, kernel, kernelParamIndex, callWrapper.toBuffer());
+            } else if (arguments.isReference(argIndex)) {
+                setLongArg(levelZeroKernel, kernel, kernelParamIndex, arguments.getRawValue(argIndex));
             }
+        }
+    }
 
-            if (RuntimeUtilities.isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
-                if (!arg.isReferenceType()) {
-                    continue;
-                }
-                result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), kernelParamIndex, Sizeof.LONG.getNumBytes(), ((Number) arg.getValue()).longValue());
-                LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
-            } else {
-                TornadoInternalError.shouldNotReachHere();
-            }
+    private void setLongArg(LevelZeroKernel levelZeroKernel, ZeKernelHandle kernel, int index, long value) {
+        if (argumentCache.update(index, value)) {
+            int result = levelZeroKernel.zeKernelSetArgumentValue(kernel.getPtrZeKernelHandle(), index, Sizeof.LONG.getNumBytes(), value);
+            LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
         }
     }
 
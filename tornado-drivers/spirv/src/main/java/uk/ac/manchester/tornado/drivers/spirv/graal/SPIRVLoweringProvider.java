@@ -128,6 +128,7 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
     private ConstantReflectionProvider constantReflectionProvider;
     private TornadoVMConfigAccess vmConfig;
     private ReduceGPUSnippets.Templates gpuReduceSnippets;
+    private final boolean supportsSubGroups;
 
     public SPIRVLoweringProvider(MetaAccessProvider metaAccess, ForeignCallsProvider foreignCalls, PlatformConfigurationProvider platformConfig,
             MetaAccessExtensionProvider metaAccessExtensionProvider, ConstantReflectionProvider constantReflectionProvider, TornadoVMConfigAccess vmConfig, SPIRVTargetDescription target,
@@ -135,6 +136,7 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
         super(metaAccess, foreignCalls, platformConfig, metaAccessExtensionProvider, target, useCompressedOops);
         this.constantReflectionProvider = constantReflectionProvider;
         this.vmConfig = vmConfig;
+        this.supportsSubGroups = target.supportsSubGroups();
     }
 
     /**
@@ -155,7 +157,7 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
     }
 
     private void initializeSnippets(OptionValues options, Providers providers) {
-        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers);
+        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers, supportsSubGroups);
     }
 
     private boolean shouldIgnoreNode(Node node) {
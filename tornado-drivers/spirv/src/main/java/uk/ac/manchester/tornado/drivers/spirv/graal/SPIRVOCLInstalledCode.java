@@ -27,7 +27,6 @@ import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.common.Event;
-import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
@@ -41,8 +40,8 @@ import uk.ac.manchester.tornado.drivers.spirv.SPIRVOCLModule;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.Sizeof;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelStackFrame;
 import uk.ac.manchester.tornado.drivers.spirv.ocl.SPIRVOCLNativeDispatcher;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
-import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -93,34 +92,28 @@ public class SPIRVOCLInstalledCode extends SPIRVInstalledCode {
 
         // device's kernel context
         SPIRVOCLNativeDispatcher dispatcher = new SPIRVOCLNativeDispatcher();
-        int status = dispatcher.clSetKernelArg(kernelPointer, 0, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-        checkStatus(status, "clSetKernelArg");
+        setLongArg(dispatcher, kernelPointer, 0, callWrapper.toBuffer());
 
         // Set all user parameters to the SPIR-V kernel
-        for (int argIndex = 0; argIndex < callWrapper.getCallArguments().size(); argIndex++) {
+        KernelArguments arguments = callWrapper.getArguments();
+        for (int argIndex = 0; argIndex < arguments.size(); argIndex++) {
             int kernelParamIndex = argIndex + 1;
-            KernelStackFrame.CallArgument arg = callWrapper.getCallArguments().get(argIndex);
-
-            if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
-                status = dispatcher.clSetKernelArg(kernelPointer, kernelParamIndex, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-                checkStatus(status, "clSetKernelArg");
-                continue;
-            }
-
-            if (RuntimeUtilities.isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
-                if (!arg.isReferenceType()) {
-                    // In OpenCL, we need to set the argument. But it is set as buffer pointer. So we add the kernelContext as a dummy one.
-                    status = dispatcher.clSetKernelArg(kernelPointer, kernelParamIndex, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
-                } else {
-                    status = dispatcher.clSetKernelArg(kernelPointer, kernelParamIndex, Sizeof.LONG.getNumBytes(), ((Number) arg.getValue()).longValue());
-                }
-                checkStatus(status, "clSetKernelArg");
+            if (arguments.isReference(argIndex)) {
+                setLongArg(dispatcher, kernelPointer, kernelParamIndex, arguments.getRawValue(argIndex));
             } else {
-                TornadoInternalError.shouldNotReachHere();
+                // In OpenCL, we need to set the argument. But it is set as buffer pointer. So we add the kernelContext as a dummy one.
+                setLongArg(dispatcher, kernelPointer, kernelParamIndex, callWrapper.toBuffer());
             }
         }
     }
 
+    private void setLongArg(SPIRVOCLNativeDispatcher dispatcher, long kernelPointer, int index, long value) {
+        if (argumentCache.update(index, value)) {
+            int status = dispatcher.clSetKernelArg(kernelPointer, index, Sizeof.LONG.getNumBytes(), value);
+            checkStatus(status, "clSetKernelArg");
+        }
+    }
+
     public void submit(long executionPlanId, long kernelPointer, final TaskMetaData meta, long[] waitEvents) {
         if (meta.isThreadInfoEnabled()) {
             meta.printThreadDims();
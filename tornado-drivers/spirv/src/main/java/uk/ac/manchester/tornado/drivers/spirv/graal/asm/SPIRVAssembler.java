@@ -102,6 +102,7 @@ import uk.ac.manchester.tornado.drivers.spirv.SPIRVThreadBuiltIn;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIROp;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 
 public final class SPIRVAssembler extends Assembler {
 
@@ -474,6 +475,12 @@ public final class SPIRVAssembler extends Assembler {
             builtInList.add(builtinTable.get(SPIRVThreadBuiltIn.GROUP_ID));
         }
 
+        for (SPIRVThreadBuiltIn builtIn : SPIRVThreadBuiltIn.values()) {
+            if (builtIn.isSubGroupBuiltIn() && SPIRVSubGroupNode.usesBuiltIn(graph, builtIn)) {
+                builtInList.add(builtinTable.get(builtIn));
+            }
+        }
+
         if (builtInList.size() == 0) {
             operands = new SPIRVMultipleOperands();
         } else {
@@ -549,7 +556,7 @@ public final class SPIRVAssembler extends Assembler {
         switch (type) {
             case OP_TYPE_INT_8, OP_TYPE_INT_16, OP_TYPE_INT_32 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentInt(BigInteger.valueOf(Integer.parseInt(
                     valueConstant)))));
-            case OP_TYPE_INT_64 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentLong(BigInteger.valueOf(Integer.parseInt(valueConstant)))));
+            case OP_TYPE_INT_64 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentLong(BigInteger.valueOf(Long.parseLong(valueConstant)))));
             case OP_TYPE_FLOAT_16 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentHalfFloat(Float.floatToFloat16(Float.parseFloat(valueConstant)))));
             case OP_TYPE_FLOAT_32 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentFloat(Float.parseFloat(valueConstant))));
             case OP_TYPE_FLOAT_64 -> module.add(new SPIRVOpConstant(typeID, newConstantId, new SPIRVContextDependentDouble(Double.parseDouble(valueConstant))));
@@ -39,6 +39,7 @@ import org.graalvm.compiler.phases.schedule.SchedulePhase;
 
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoFeatureExtraction;
+import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoMemoryCoalescingAnalysis;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoopCanonicalization;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.utils.DumpLowTierGraph;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.OCLFPGAPragmaPhase;
@@ -96,6 +97,10 @@ public class SPIRVLowTier extends TornadoLowTier {
             appendPhase(new TornadoFeatureExtraction(deviceContext));
         }
 
+        if (TornadoOptions.COALESCING_ANALYSIS) {
+            appendPhase(new TornadoMemoryCoalescingAnalysis());
+        }
+
         if (TornadoOptions.DUMP_LOW_TIER_WITH_IGV) {
             appendPhase(new DumpLowTierGraph());
         }
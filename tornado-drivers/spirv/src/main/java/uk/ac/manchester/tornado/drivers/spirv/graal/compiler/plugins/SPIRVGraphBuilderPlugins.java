@@ -51,7 +51,9 @@ import org.graalvm.compiler.core.common.memory.MemoryOrderMode;
 import org.graalvm.compiler.core.common.type.StampFactory;
 import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
 import org.graalvm.compiler.nodes.extended.JavaReadNode;
 import org.graalvm.compiler.nodes.extended.JavaWriteNode;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
@@ -67,16 +69,23 @@ import org.graalvm.word.LocationIdentity;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalArrayNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVAtomicOperationNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVBarrierNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SlotsBaseAddressNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.directives.CompilerInternals;
@@ -148,6 +157,8 @@ public class SPIRVGraphBuilderPlugins {
         registerLocalBarrier(r);
         registerGlobalBarrier(r);
         localArraysPlugins(r);
+        atomicsPlugins(r);
+        subGroupsPlugins(r);
     }
 
     private static void registerLocalBarrier(Registration r) {
@@ -181,6 +192,143 @@ public class SPIRVGraphBuilderPlugins {
         registerLocalArray(r, "allocateDoubleLocalArray", returnedJavaKind, SPIRVKind.OP_TYPE_FLOAT_64.asJavaKind());
     }
 
+    /**
+     * Native arrays are accessed by their absolute address, which includes the
+     * header of the array, and local arrays by index.
+     */
+    private static AddressNode createAtomicAddress(GraphBuilderContext b, ValueNode array, ValueNode index, JavaKind elementKind, boolean isLocal) {
+        if (isLocal) {
+            return b.append(new OffsetAddressNode(array, index));
+        }
+        SignExtendNode longIndex = b.append(new SignExtendNode(index, 64));
+        MulNode offset = b.append(new MulNode(longIndex, ConstantNode.forLong(elementKind.getByteCount())));
+        AddNode offsetWithHeader = b.append(new AddNode(offset, ConstantNode.forLong(TornadoOptions.PANAMA_OBJECT_HEADER_SIZE)));
+        return b.append(new OffsetAddressNode(array, offsetWithHeader));
+    }
+
+    private static void registerAtomicOperations(Registration r, Class<?> arrayType, JavaKind elementKind, boolean isLocal) {
+        Class<?> type = elementKind.toJavaClass();
+        String[] methodNames = { "atomicAdd", "atomicMin", "atomicMax", "atomicExchange" };
+        SPIRVAtomicOperationNode.Operation[] operations = { SPIRVAtomicOperationNode.Operation.ADD, SPIRVAtomicOperationNode.Operation.MIN, SPIRVAtomicOperationNode.Operation.MAX,
+                SPIRVAtomicOperationNode.Operation.EXCHANGE };
+        for (int i = 0; i < operations.length; i++) {
+            SPIRVAtomicOperationNode.Operation operation = operations[i];
+            r.register(new InvocationPlugin(methodNames[i], InvocationPlugin.Receiver.class, arrayType, int.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode value) {
+                    if (operation == SPIRVAtomicOperationNode.Operation.ADD && elementKind.isNumericFloat()) {
+                        // SPIR-V only provides floating-point atomic additions through extensions
+                        throw new TornadoBailoutRuntimeException("[ERROR] Atomic addition of " + elementKind.getJavaName() + " values is not supported by the SPIR-V backend");
+                    }
+                    AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                    b.addPush(elementKind, new SPIRVAtomicOperationNode(operation, elementKind, address, value, null));
+                    return true;
+                }
+            });
+        }
+
+        r.register(new InvocationPlugin("atomicCompareAndSwap", InvocationPlugin.Receiver.class, arrayType, int.class, type, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode expected, ValueNode newValue) {
+                AddressNode address = createAtomicAddress(b, array, index, elementKind, isLocal);
+                b.addPush(elementKind, new SPIRVAtomicOperationNode(SPIRVAtomicOperationNode.Operation.COMPARE_AND_SWAP, elementKind, address, newValue, expected));
+                return true;
+            }
+        });
+    }
+
+    private static void atomicsPlugins(Registration r) {
+        registerAtomicOperations(r, IntArray.class, JavaKind.Int, false);
+        registerAtomicOperations(r, LongArray.class, JavaKind.Long, false);
+        registerAtomicOperations(r, FloatArray.class, JavaKind.Float, false);
+        registerAtomicOperations(r, DoubleArray.class, JavaKind.Double, false);
+
+        registerAtomicOperations(r, int[].class, JavaKind.Int, true);
+        registerAtomicOperations(r, long[].class, JavaKind.Long, true);
+        registerAtomicOperations(r, float[].class, JavaKind.Float, true);
+        registerAtomicOperations(r, double[].class, JavaKind.Double, true);
+    }
+
+    /**
+     * The group instructions of SPIR-V 1.2 do not include shuffles, which were
+     * added with the non-uniform group instructions of SPIR-V 1.3. Tasks that use
+     * them bail out and run on the host, where a sub-group has a single thread.
+     */
+    private static void registerUnsupportedSubGroupOperation(Registration r, String methodName, Class<?>... argumentTypes) {
+        Class<?>[] signature = new Class<?>[argumentTypes.length + 1];
+        signature[0] = InvocationPlugin.Receiver.class;
+        System.arraycopy(argumentTypes, 0, signature, 1, argumentTypes.length);
+        r.register(new InvocationPlugin(methodName, signature) {
+            @Override
+            public boolean defaultHandler(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode... args) {
+                throw new TornadoBailoutRuntimeException("[ERROR] Sub-group shuffles are not supported by the SPIR-V backend: " + methodName);
+            }
+        });
+    }
+
+    private static void registerSubGroupOperations(Registration r, JavaKind kind) {
+        Class<?> type = kind.toJavaClass();
+        String[] unaryNames = { "subGroupReduceAdd", "subGroupReduceMin", "subGroupReduceMax", "subGroupScanInclusiveAdd", "subGroupScanExclusiveAdd" };
+        SPIRVSubGroupNode.Operation[] unaryOperations = { SPIRVSubGroupNode.Operation.REDUCE_ADD, SPIRVSubGroupNode.Operation.REDUCE_MIN, SPIRVSubGroupNode.Operation.REDUCE_MAX,
+                SPIRVSubGroupNode.Operation.SCAN_INCLUSIVE_ADD, SPIRVSubGroupNode.Operation.SCAN_EXCLUSIVE_ADD };
+        for (int i = 0; i < unaryOperations.length; i++) {
+            SPIRVSubGroupNode.Operation operation = unaryOperations[i];
+            r.register(new InvocationPlugin(unaryNames[i], InvocationPlugin.Receiver.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                    b.addPush(kind, new SPIRVSubGroupNode(operation, kind, value, null));
+                    return true;
+                }
+            });
+        }
+
+        r.register(new InvocationPlugin("subGroupBroadcast", InvocationPlugin.Receiver.class, type, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode lane) {
+                b.addPush(kind, new SPIRVSubGroupNode(SPIRVSubGroupNode.Operation.BROADCAST, kind, value, lane));
+                return true;
+            }
+        });
+
+        for (String methodName : new String[] { "subGroupShuffle", "subGroupShuffleXor" }) {
+            registerUnsupportedSubGroupOperation(r, methodName, type, int.class);
+        }
+    }
+
+    private static void subGroupsPlugins(Registration r) {
+        String[] idNames = { "subGroupId", "subGroupSize", "subGroupLocalId" };
+        SPIRVSubGroupNode.Operation[] idOperations = { SPIRVSubGroupNode.Operation.ID, SPIRVSubGroupNode.Operation.SIZE, SPIRVSubGroupNode.Operation.LOCAL_ID };
+        for (int i = 0; i < idOperations.length; i++) {
+            SPIRVSubGroupNode.Operation operation = idOperations[i];
+            r.register(new InvocationPlugin(idNames[i], InvocationPlugin.Receiver.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                    b.addPush(JavaKind.Int, new SPIRVSubGroupNode(operation));
+                    return true;
+                }
+            });
+        }
+
+        String[] voteNames = { "subGroupAny", "subGroupAll" };
+        SPIRVSubGroupNode.Operation[] voteOperations = { SPIRVSubGroupNode.Operation.ANY, SPIRVSubGroupNode.Operation.ALL };
+        for (int i = 0; i < voteOperations.length; i++) {
+            SPIRVSubGroupNode.Operation operation = voteOperations[i];
+            r.register(new InvocationPlugin(voteNames[i], InvocationPlugin.Receiver.class, boolean.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode predicate) {
+                    // The votes are selected as 1 or 0
+                    b.addPush(JavaKind.Boolean, new SPIRVSubGroupNode(operation, JavaKind.Int, predicate, null));
+                    return true;
+                }
+            });
+        }
+
+        registerSubGroupOperations(r, JavaKind.Int);
+        registerSubGroupOperations(r, JavaKind.Long);
+        registerSubGroupOperations(r, JavaKind.Float);
+        registerSubGroupOperations(r, JavaKind.Double);
+    }
+
     private static void registerLocalArray(Registration r, final String method, JavaKind returnedJavaKind, JavaKind elementType) {
         r.register(new InvocationPlugin(method, InvocationPlugin.Receiver.class, int.class) {
             @Override
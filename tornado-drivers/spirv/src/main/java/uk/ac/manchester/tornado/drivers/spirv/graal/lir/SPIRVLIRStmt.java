@@ -36,14 +36,35 @@ import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicCompareExchange;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicExchange;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicIAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicSMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicSMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicUMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicUMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpBitcast;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConvertUToPtr;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtInst;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupAll;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupAny;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupBroadcast;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupFAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupFMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupFMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupIAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupSMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupSMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpINotEqual;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpInBoundsPtrAccessChain;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpLoad;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpPhi;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpPtrCastToGeneric;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpSLessThan;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpSelect;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpStore;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpUConvert;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVGroupOperation;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVId;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralExtInstInteger;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralInteger;
@@ -51,6 +72,8 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVMemor
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVMultipleOperands;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVOptionalOperand;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVPairIdRefIdRef;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVStorageClass;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
 import uk.ac.manchester.tornado.drivers.spirv.graal.asm.SPIRVAssembler;
@@ -58,6 +81,8 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVCompilationRes
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SPIRVAddressCast;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVAtomicOperationNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 public class SPIRVLIRStmt {
@@ -1586,4 +1611,370 @@ public class SPIRVLIRStmt {
         }
     }
 
+    /**
+     * It returns the id of an operand of an instruction, loading the operand from
+     * its variable when the loads and stores are not optimized.
+     */
+    private static SPIRVId getOperandId(SPIRVAssembler asm, Value operand) {
+        if (operand instanceof ConstantValue) {
+            return asm.lookUpConstant(((ConstantValue) operand).getConstant().toValueString(), (SPIRVKind) operand.getPlatformKind());
+        }
+        SPIRVId operandId = asm.lookUpLIRInstructions(operand);
+        if (TornadoOptions.OPTIMIZE_LOAD_STORE_SPIRV) {
+            if (asm.isPhiAcrossBlocksPresent((AllocatableValue) operand)) {
+                return asm.getPhiIdAcrossBlock((AllocatableValue) operand);
+            }
+            return operandId;
+        }
+        SPIRVKind kind = (SPIRVKind) operand.getPlatformKind();
+        SPIRVId loadId = asm.module.getNextId();
+        asm.currentBlockScope().add(new SPIRVOpLoad( //
+                asm.primitives.getTypePrimitive(kind), //
+                loadId, //
+                operandId, //
+                new SPIRVOptionalOperand<>(SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(kind.getByteCount())))));
+        return loadId;
+    }
+
+    /**
+     * It assigns the id of the value computed by an instruction to its result
+     * variable.
+     */
+    private static void emitResult(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, AllocatableValue result, SPIRVId resultId) {
+        asm.emitValue(crb, result);
+        if (TornadoOptions.OPTIMIZE_LOAD_STORE_SPIRV) {
+            asm.registerLIRInstructionValue(result, resultId);
+        } else {
+            SPIRVId storeId = asm.lookUpLIRInstructions(result);
+            asm.currentBlockScope().add(new SPIRVOpStore( //
+                    storeId, //
+                    resultId, //
+                    new SPIRVOptionalOperand<>(SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(((SPIRVKind) result.getPlatformKind()).getByteCount()))) //
+            ));
+        }
+    }
+
+    @Opcode("ATOMIC_OPERATION")
+    public static class AtomicOperationStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<AtomicOperationStmt> TYPE = LIRInstructionClass.create(AtomicOperationStmt.class);
+
+        private static final String SCOPE_DEVICE = "1";
+        private static final String SCOPE_WORKGROUP = "2";
+        private static final String SEMANTICS_RELAXED = "0";
+
+        private final SPIRVAtomicOperationNode.Operation operation;
+
+        @Def
+        protected AllocatableValue result;
+
+        @Use
+        protected SPIRVAddressCast cast;
+
+        @Use
+        protected SPIRVUnary.AbstractMemoryAccess address;
+
+        @Use
+        protected Value value;
+
+        @Use
+        protected Value expected;
+
+        public AtomicOperationStmt(SPIRVAtomicOperationNode.Operation operation, AllocatableValue result, SPIRVAddressCast cast, SPIRVUnary.AbstractMemoryAccess address, Value value,
+                Value expected) {
+            super(TYPE);
+            this.operation = operation;
+            this.result = result;
+            this.cast = cast;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+        }
+
+        private boolean isLocalMemoryAccess() {
+            return address.getMemoryRegion().getNumber() == SPIRVArchitecture.localSpace.getNumber();
+        }
+
+        private SPIRVId emitPointer(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, SPIRVKind kind) {
+            if (isLocalMemoryAccess()) {
+                SPIRVUnary.MemoryIndexedAccess indexedAccess = (SPIRVUnary.MemoryIndexedAccess) address;
+                indexedAccess.emitForLoad(asm, kind);
+                return asm.lookUpLIRInstructions(indexedAccess);
+            }
+            cast.emit(crb, asm);
+            return asm.lookUpLIRInstructions(cast);
+        }
+
+        private SPIRVId bitcast(SPIRVAssembler asm, SPIRVId type, SPIRVId operand) {
+            SPIRVId resultId = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(type, resultId, operand));
+            return resultId;
+        }
+
+        private SPIRVId select(SPIRVAssembler asm, SPIRVId type, SPIRVId condition, SPIRVId trueValue, SPIRVId falseValue) {
+            SPIRVId resultId = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpSelect(type, resultId, condition, trueValue, falseValue));
+            return resultId;
+        }
+
+        /**
+         * The bits of non-negative floating-point values are ordered as signed
+         * integers, and the bits of negative values are ordered in reverse as
+         * unsigned integers. Both integer atomics are emitted, and the one that
+         * does not correspond to the sign of the value receives the identity of
+         * its operation, so it does not modify the element.
+         */
+        private SPIRVId emitFloatingPointMinMax(SPIRVAssembler asm, SPIRVKind intKind, SPIRVId intType, SPIRVId pointer, SPIRVId scope, SPIRVId semantics, SPIRVId bits) {
+            boolean is64Bit = intKind == SPIRVKind.OP_TYPE_INT_64;
+            String minSigned = is64Bit ? Long.toString(Long.MIN_VALUE) : Integer.toString(Integer.MIN_VALUE);
+            String maxSigned = is64Bit ? Long.toString(Long.MAX_VALUE) : Integer.toString(Integer.MAX_VALUE);
+
+            SPIRVId isNegative = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpSLessThan(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_BOOL), isNegative, bits, asm.lookUpConstant("0", intKind)));
+
+            SPIRVId signedOld = asm.module.getNextId();
+            SPIRVId unsignedOld = asm.module.getNextId();
+            if (operation == SPIRVAtomicOperationNode.Operation.MAX) {
+                SPIRVId signedValue = select(asm, intType, isNegative, asm.lookUpConstant(minSigned, intKind), bits);
+                SPIRVId unsignedValue = select(asm, intType, isNegative, bits, asm.lookUpConstant("-1", intKind));
+                asm.currentBlockScope().add(new SPIRVOpAtomicSMax(intType, signedOld, pointer, scope, semantics, signedValue));
+                asm.currentBlockScope().add(new SPIRVOpAtomicUMin(intType, unsignedOld, pointer, scope, semantics, unsignedValue));
+            } else {
+                SPIRVId signedValue = select(asm, intType, isNegative, asm.lookUpConstant(maxSigned, intKind), bits);
+                SPIRVId unsignedValue = select(asm, intType, isNegative, bits, asm.lookUpConstant("0", intKind));
+                asm.currentBlockScope().add(new SPIRVOpAtomicSMin(intType, signedOld, pointer, scope, semantics, signedValue));
+                asm.currentBlockScope().add(new SPIRVOpAtomicUMax(intType, unsignedOld, pointer, scope, semantics, unsignedValue));
+            }
+            return select(asm, intType, isNegative, unsignedOld, signedOld);
+        }
+
+        private SPIRVId emitIntegerOperation(SPIRVAssembler asm, SPIRVId type, SPIRVId pointer, SPIRVId scope, SPIRVId semantics) {
+            SPIRVId valueId = getOperandId(asm, value);
+            SPIRVId resultId = asm.module.getNextId();
+            switch (operation) {
+                case ADD:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicIAdd(type, resultId, pointer, scope, semantics, valueId));
+                    break;
+                case MIN:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicSMin(type, resultId, pointer, scope, semantics, valueId));
+                    break;
+                case MAX:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicSMax(type, resultId, pointer, scope, semantics, valueId));
+                    break;
+                case EXCHANGE:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicExchange(type, resultId, pointer, scope, semantics, valueId));
+                    break;
+                case COMPARE_AND_SWAP:
+                    SPIRVId expectedId = getOperandId(asm, expected);
+                    asm.currentBlockScope().add(new SPIRVOpAtomicCompareExchange(type, resultId, pointer, scope, semantics, semantics, valueId, expectedId));
+                    break;
+                default:
+                    throw new TornadoRuntimeException("[ERROR] Atomic operation not supported: " + operation);
+            }
+            return resultId;
+        }
+
+        private SPIRVId emitFloatingPointOperation(SPIRVAssembler asm, SPIRVKind kind, SPIRVId type, SPIRVId pointer, SPIRVId scope, SPIRVId semantics) {
+            if (operation == SPIRVAtomicOperationNode.Operation.EXCHANGE) {
+                SPIRVId resultId = asm.module.getNextId();
+                asm.currentBlockScope().add(new SPIRVOpAtomicExchange(type, resultId, pointer, scope, semantics, getOperandId(asm, value)));
+                return resultId;
+            }
+
+            // The remaining operations are performed on the bits of the element
+            SPIRVKind intKind = kind == SPIRVKind.OP_TYPE_FLOAT_64 ? SPIRVKind.OP_TYPE_INT_64 : SPIRVKind.OP_TYPE_INT_32;
+            SPIRVId intType = asm.primitives.getTypePrimitive(intKind);
+            SPIRVId intPointerType = isLocalMemoryAccess() //
+                    ? asm.primitives.getPtrOpTypePointerWithStorage(intKind, SPIRVStorageClass.Workgroup()) //
+                    : asm.primitives.getPtrToCrossWorkGroupPrimitive(intKind);
+            SPIRVId intPointer = bitcast(asm, intPointerType, pointer);
+            SPIRVId bits = bitcast(asm, intType, getOperandId(asm, value));
+
+            SPIRVId oldBits;
+            switch (operation) {
+                case MIN:
+                case MAX:
+                    oldBits = emitFloatingPointMinMax(asm, intKind, intType, intPointer, scope, semantics, bits);
+                    break;
+                case COMPARE_AND_SWAP:
+                    SPIRVId expectedBits = bitcast(asm, intType, getOperandId(asm, expected));
+                    oldBits = asm.module.getNextId();
+                    asm.currentBlockScope().add(new SPIRVOpAtomicCompareExchange(intType, oldBits, intPointer, scope, semantics, semantics, bits, expectedBits));
+                    break;
+                default:
+                    throw new TornadoRuntimeException("[ERROR] Atomic operation not supported for " + kind + ": " + operation);
+            }
+            return bitcast(asm, type, oldBits);
+        }
+
+        @Override
+        protected void emitCode(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit AtomicOperationStmt " + operation + " in address: " + address);
+
+            SPIRVKind kind = (SPIRVKind) result.getPlatformKind();
+            if (kind.getByteCount() == 8) {
+                asm.primitives.addInt64AtomicsCapability();
+            }
+            SPIRVId type = asm.primitives.getTypePrimitive(kind);
+            SPIRVId pointer = emitPointer(crb, asm, kind);
+            SPIRVId scope = asm.lookUpConstant(isLocalMemoryAccess() ? SCOPE_WORKGROUP : SCOPE_DEVICE, SPIRVKind.OP_TYPE_INT_32);
+            SPIRVId semantics = asm.lookUpConstant(SEMANTICS_RELAXED, SPIRVKind.OP_TYPE_INT_32);
+
+            SPIRVId resultId;
+            if (kind.isFloatingPoint()) {
+                resultId = emitFloatingPointOperation(asm, kind, type, pointer, scope, semantics);
+            } else {
+                resultId = emitIntegerOperation(asm, type, pointer, scope, semantics);
+            }
+
+            emitResult(crb, asm, result, resultId);
+        }
+    }
+
+    @Opcode("SUB_GROUP_OPERATION")
+    public static class SubGroupOperationStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<SubGroupOperationStmt> TYPE = LIRInstructionClass.create(SubGroupOperationStmt.class);
+
+        private static final String SCOPE_SUBGROUP = "3";
+
+        private final SPIRVSubGroupNode.Operation operation;
+
+        @Def
+        protected AllocatableValue result;
+
+        @Use
+        protected Value value;
+
+        @Use
+        protected Value lane;
+
+        public SubGroupOperationStmt(SPIRVSubGroupNode.Operation operation, AllocatableValue result, Value value, Value lane) {
+            super(TYPE);
+            this.operation = operation;
+            this.result = result;
+            this.value = value;
+            this.lane = lane;
+        }
+
+        /**
+         * The sub-group built-ins are scalar 32-bit integers.
+         *
+         * <code>
+         * %12 = OpLoad %uint %spirv_BuiltInSubgroupSize Aligned 4
+         * </code>
+         */
+        private SPIRVId emitLoadBuiltIn(SPIRVAssembler asm) {
+            SPIRVId loadId = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpLoad( //
+                    asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_32), //
+                    loadId, //
+                    asm.builtinTable.get(operation.getBuiltIn()), //
+                    new SPIRVOptionalOperand<>(SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(SPIRVKind.OP_TYPE_INT_32.getByteCount())))));
+            return loadId;
+        }
+
+        /**
+         * The predicates of the votes are integers, and the group instructions take
+         * and return booleans.
+         *
+         * <code>
+         * %13 = OpINotEqual %bool %predicate %uint_0
+         * %14 = OpGroupAny %bool %uint_3 %13
+         * %15 = OpSelect %uint %14 %uint_1 %uint_0
+         * </code>
+         */
+        private SPIRVId emitVote(SPIRVAssembler asm, SPIRVId type, SPIRVId scope) {
+            SPIRVKind kind = (SPIRVKind) value.getPlatformKind();
+            SPIRVId bool = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_BOOL);
+            SPIRVId predicate = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpINotEqual(bool, predicate, getOperandId(asm, value), asm.lookUpConstant("0", kind)));
+            SPIRVId vote = asm.module.getNextId();
+            if (operation == SPIRVSubGroupNode.Operation.ANY) {
+                asm.currentBlockScope().add(new SPIRVOpGroupAny(bool, vote, scope, predicate));
+            } else {
+                asm.currentBlockScope().add(new SPIRVOpGroupAll(bool, vote, scope, predicate));
+            }
+            SPIRVKind resultKind = (SPIRVKind) result.getPlatformKind();
+            SPIRVId resultId = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpSelect(type, resultId, vote, asm.lookUpConstant("1", resultKind), asm.lookUpConstant("0", resultKind)));
+            return resultId;
+        }
+
+        private SPIRVGroupOperation getGroupOperation() {
+            switch (operation) {
+                case SCAN_INCLUSIVE_ADD:
+                    return SPIRVGroupOperation.InclusiveScan();
+                case SCAN_EXCLUSIVE_ADD:
+                    return SPIRVGroupOperation.ExclusiveScan();
+                default:
+                    return SPIRVGroupOperation.Reduce();
+            }
+        }
+
+        private SPIRVId emitArithmetic(SPIRVAssembler asm, SPIRVId type, SPIRVId scope) {
+            SPIRVKind kind = (SPIRVKind) result.getPlatformKind();
+            SPIRVId valueId = getOperandId(asm, value);
+            SPIRVGroupOperation groupOperation = getGroupOperation();
+            SPIRVId resultId = asm.module.getNextId();
+            switch (operation) {
+                case REDUCE_ADD:
+                case SCAN_INCLUSIVE_ADD:
+                case SCAN_EXCLUSIVE_ADD:
+                    if (kind.isFloatingPoint()) {
+                        asm.currentBlockScope().add(new SPIRVOpGroupFAdd(type, resultId, scope, groupOperation, valueId));
+                    } else {
+                        asm.currentBlockScope().add(new SPIRVOpGroupIAdd(type, resultId, scope, groupOperation, valueId));
+                    }
+                    break;
+                case REDUCE_MIN:
+                    if (kind.isFloatingPoint()) {
+                        asm.currentBlockScope().add(new SPIRVOpGroupFMin(type, resultId, scope, groupOperation, valueId));
+                    } else {
+                        asm.currentBlockScope().add(new SPIRVOpGroupSMin(type, resultId, scope, groupOperation, valueId));
+                    }
+                    break;
+                case REDUCE_MAX:
+                    if (kind.isFloatingPoint()) {
+                        asm.currentBlockScope().add(new SPIRVOpGroupFMax(type, resultId, scope, groupOperation, valueId));
+                    } else {
+                        asm.currentBlockScope().add(new SPIRVOpGroupSMax(type, resultId, scope, groupOperation, valueId));
+                    }
+                    break;
+                default:
+                    throw new TornadoRuntimeException("[ERROR] Sub-group operation not supported: " + operation);
+            }
+            return resultId;
+        }
+
+        @Override
+        protected void emitCode(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SubGroupOperationStmt " + operation);
+
+            SPIRVId type = asm.primitives.getTypePrimitive((SPIRVKind) result.getPlatformKind());
+
+            SPIRVId resultId;
+            if (operation.getBuiltIn() != null) {
+                resultId = emitLoadBuiltIn(asm);
+            } else {
+                asm.primitives.addGroupsCapability();
+                SPIRVId scope = asm.lookUpConstant(SCOPE_SUBGROUP, SPIRVKind.OP_TYPE_INT_32);
+                switch (operation) {
+                    case ANY:
+                    case ALL:
+                        resultId = emitVote(asm, type, scope);
+                        break;
+                    case BROADCAST:
+                        resultId = asm.module.getNextId();
+                        asm.currentBlockScope().add(new SPIRVOpGroupBroadcast(type, resultId, scope, getOperandId(asm, value), getOperandId(asm, lane)));
+                        break;
+                    default:
+                        resultId = emitArithmetic(asm, type, scope);
+                        break;
+                }
+            }
+
+            emitResult(crb, asm, result, resultId);
+        }
+    }
 }
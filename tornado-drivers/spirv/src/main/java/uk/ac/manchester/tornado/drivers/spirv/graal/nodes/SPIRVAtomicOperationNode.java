@@ -0,0 +1,106 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIRStmt;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SPIRVAddressCast;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkAtomicAccess;
+
+/**
+ * Atomic operation of the {@link uk.ac.manchester.tornado.api.KernelContext}
+ * on an element in global or local memory. The node returns the value of the
+ * element before the operation.
+ */
+@NodeInfo(nameTemplate = "Atomic{p#operation/s}")
+public class SPIRVAtomicOperationNode extends FixedWithNextNode implements LIRLowerable, SingleMemoryKill, MarkAtomicAccess {
+
+    public static final NodeClass<SPIRVAtomicOperationNode> TYPE = NodeClass.create(SPIRVAtomicOperationNode.class);
+
+    public enum Operation {
+        ADD, MIN, MAX, EXCHANGE, COMPARE_AND_SWAP
+    }
+
+    protected final Operation operation;
+
+    @Input(InputType.Association)
+    private AddressNode address;
+
+    @Input
+    private ValueNode value;
+
+    @OptionalInput
+    private ValueNode expected;
+
+    public SPIRVAtomicOperationNode(Operation operation, JavaKind kind, AddressNode address, ValueNode value, ValueNode expected) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.address = address;
+        this.value = value;
+        this.expected = expected;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return LocationIdentity.any();
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp(NodeView.DEFAULT));
+        Variable result = tool.newVariable(lirKind);
+        SPIRVUnary.AbstractMemoryAccess memoryAccess = (SPIRVUnary.AbstractMemoryAccess) gen.operand(address);
+
+        // Elements in global memory are accessed through a pointer built from the
+        // address, and elements in local memory through the index in the array
+        SPIRVAddressCast cast = null;
+        if (memoryAccess instanceof SPIRVUnary.MemoryAccess) {
+            cast = new SPIRVAddressCast(memoryAccess.getValue(), memoryAccess.getMemoryRegion(), lirKind);
+        }
+        tool.append(new SPIRVLIRStmt.AtomicOperationStmt(operation, result, cast, memoryAccess, gen.operand(value), expected == null ? null : gen.operand(expected)));
+        gen.setResult(this, result);
+    }
+}
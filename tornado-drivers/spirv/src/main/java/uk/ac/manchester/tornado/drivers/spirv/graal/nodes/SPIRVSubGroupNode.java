@@ -0,0 +1,131 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVThreadBuiltIn;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIRStmt;
+
+/**
+ * Sub-group operation of the {@link uk.ac.manchester.tornado.api.KernelContext}.
+ * The identifiers are read from the sub-group built-ins, and the other
+ * operations are lowered to the group instructions of the Groups capability
+ * with the Subgroup scope. The node is fixed because the group instructions
+ * must be reached by all work-items of the sub-group, so they cannot be moved
+ * across control flow.
+ */
+@NodeInfo(nameTemplate = "SubGroup{p#operation/s}")
+public class SPIRVSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<SPIRVSubGroupNode> TYPE = NodeClass.create(SPIRVSubGroupNode.class);
+
+    public enum Operation {
+        // @formatter:off
+        ID(SPIRVThreadBuiltIn.SUB_GROUP_ID),
+        SIZE(SPIRVThreadBuiltIn.SUB_GROUP_SIZE),
+        LOCAL_ID(SPIRVThreadBuiltIn.SUB_GROUP_LOCAL_ID),
+        NUM_SUB_GROUPS(SPIRVThreadBuiltIn.NUM_SUB_GROUPS),
+        ANY(null),
+        ALL(null),
+        REDUCE_ADD(null),
+        REDUCE_MIN(null),
+        REDUCE_MAX(null),
+        SCAN_INCLUSIVE_ADD(null),
+        SCAN_EXCLUSIVE_ADD(null),
+        BROADCAST(null);
+        // @formatter:on
+
+        private final SPIRVThreadBuiltIn builtIn;
+
+        Operation(SPIRVThreadBuiltIn builtIn) {
+            this.builtIn = builtIn;
+        }
+
+        /**
+         * @return the built-in that the operation reads, or null for the group
+         *     instructions.
+         */
+        public SPIRVThreadBuiltIn getBuiltIn() {
+            return builtIn;
+        }
+    }
+
+    protected final Operation operation;
+
+    @OptionalInput
+    private ValueNode value;
+
+    @OptionalInput
+    private ValueNode lane;
+
+    public SPIRVSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.value = value;
+        this.lane = lane;
+    }
+
+    public SPIRVSubGroupNode(Operation operation) {
+        this(operation, JavaKind.Int, null, null);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * It checks whether a graph reads a sub-group built-in, so the built-in is
+     * only declared for the kernels that use it.
+     */
+    public static boolean usesBuiltIn(StructuredGraph graph, SPIRVThreadBuiltIn builtIn) {
+        for (SPIRVSubGroupNode node : graph.getNodes().filter(SPIRVSubGroupNode.class)) {
+            if (node.operation.builtIn == builtIn) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        LIRKind lirKind = tool.getLIRKind(stamp(NodeView.DEFAULT));
+        Variable result = tool.newVariable(lirKind);
+        tool.append(new SPIRVLIRStmt.SubGroupOperationStmt(operation, result, value == null ? null : gen.operand(value), lane == null ? null : gen.operand(lane)));
+        gen.setResult(this, result);
+    }
+}
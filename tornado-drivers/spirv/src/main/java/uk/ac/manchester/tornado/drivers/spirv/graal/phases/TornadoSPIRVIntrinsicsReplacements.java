@@ -54,6 +54,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdFixedNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVBarrierNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
 public class TornadoSPIRVIntrinsicsReplacements extends BasePhase<TornadoHighTierContext> {
@@ -126,6 +127,26 @@ public class TornadoSPIRVIntrinsicsReplacements extends BasePhase<TornadoHighTie
                     graph.replaceFixed(invoke, groupIdNode);
                     break;
                 }
+                case "Direct#SPIRVOCLIntrinsics.get_sub_group_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, SPIRVSubGroupNode.Operation.ID);
+                    break;
+                }
+                case "Direct#SPIRVOCLIntrinsics.get_sub_group_local_id": {
+                    replaceSubGroupIntrinsic(graph, invoke, SPIRVSubGroupNode.Operation.LOCAL_ID);
+                    break;
+                }
+                case "Direct#SPIRVOCLIntrinsics.get_sub_group_size": {
+                    replaceSubGroupIntrinsic(graph, invoke, SPIRVSubGroupNode.Operation.SIZE);
+                    break;
+                }
+                case "Direct#SPIRVOCLIntrinsics.get_num_sub_groups": {
+                    replaceSubGroupIntrinsic(graph, invoke, SPIRVSubGroupNode.Operation.NUM_SUB_GROUPS);
+                    break;
+                }
+                case "Direct#SPIRVOCLIntrinsics.sub_group_reduce_add": {
+                    replaceSubGroupIntrinsic(graph, invoke, SPIRVSubGroupNode.Operation.REDUCE_ADD);
+                    break;
+                }
                 case "Direct#SPIRVOCLIntrinsics.printEmpty": {
                     throw new TornadoRuntimeException("Unimplemented");
                 }
@@ -133,6 +154,14 @@ public class TornadoSPIRVIntrinsicsReplacements extends BasePhase<TornadoHighTie
         }
     }
 
+    private void replaceSubGroupIntrinsic(StructuredGraph graph, InvokeNode invoke, SPIRVSubGroupNode.Operation operation) {
+        NodeInputList<ValueNode> arguments = invoke.callTarget().arguments();
+        JavaKind kind = invoke.callTarget().targetMethod().getSignature().getReturnKind();
+        ValueNode value = arguments.isEmpty() ? null : arguments.get(0);
+        SPIRVSubGroupNode subGroupNode = graph.addOrUnique(new SPIRVSubGroupNode(operation, kind, value, null));
+        graph.replaceFixed(invoke, subGroupNode);
+    }
+
     private void lowerLocalInvokeNodeNewArray(StructuredGraph graph, int length, JavaKind elementKind, InvokeNode invokeWithNewArray) {
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
         ResolvedJavaType elementType = metaAccessProvider.lookupJavaType(elementKind.toJavaClass());
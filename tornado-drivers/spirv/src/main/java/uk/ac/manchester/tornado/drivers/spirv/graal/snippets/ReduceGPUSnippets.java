@@ -42,6 +42,7 @@ import uk.ac.manchester.tornado.drivers.spirv.builtins.SPIRVOCLIntrinsics;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GlobalThreadSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceMulNode;
@@ -800,6 +801,124 @@ public class ReduceGPUSnippets implements Snippets {
         }
     }
 
+    /*
+     * Partial reductions with the group instructions of the SPIR-V Groups
+     * capability. Each sub-group reduces its values without local memory or
+     * barriers, and the first sub-group of the work-group reduces the partial
+     * results.
+     */
+    @Snippet
+    public static void partialReduceIntAddSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+        int subGroupId = SPIRVOCLIntrinsics.get_sub_group_id();
+        int subGroupLocalId = SPIRVOCLIntrinsics.get_sub_group_local_id();
+        int subGroupSize = SPIRVOCLIntrinsics.get_sub_group_size();
+        int numSubGroups = SPIRVOCLIntrinsics.get_num_sub_groups();
+
+        int partial = SPIRVOCLIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (subGroupLocalId == 0) {
+            localArray[subGroupId] = partial;
+        }
+        SPIRVOCLIntrinsics.localBarrier();
+
+        if (subGroupId == 0) {
+            int result = 0;
+            for (int i = subGroupLocalId; i < numSubGroups; i += subGroupSize) {
+                result += localArray[i];
+            }
+            result = SPIRVOCLIntrinsics.sub_group_reduce_add(result);
+            if (subGroupLocalId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAddSubGroupCarrierValue(int[] inputArray, int[] outputArray, int gidx, int value) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+        int subGroupId = SPIRVOCLIntrinsics.get_sub_group_id();
+        int subGroupLocalId = SPIRVOCLIntrinsics.get_sub_group_local_id();
+        int subGroupSize = SPIRVOCLIntrinsics.get_sub_group_size();
+        int numSubGroups = SPIRVOCLIntrinsics.get_num_sub_groups();
+
+        int partial = SPIRVOCLIntrinsics.sub_group_reduce_add(value);
+        if (subGroupLocalId == 0) {
+            localArray[subGroupId] = partial;
+        }
+        SPIRVOCLIntrinsics.localBarrier();
+
+        if (subGroupId == 0) {
+            int result = 0;
+            for (int i = subGroupLocalId; i < numSubGroups; i += subGroupSize) {
+                result += localArray[i];
+            }
+            result = SPIRVOCLIntrinsics.sub_group_reduce_add(result);
+            if (subGroupLocalId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+        int subGroupId = SPIRVOCLIntrinsics.get_sub_group_id();
+        int subGroupLocalId = SPIRVOCLIntrinsics.get_sub_group_local_id();
+        int subGroupSize = SPIRVOCLIntrinsics.get_sub_group_size();
+        int numSubGroups = SPIRVOCLIntrinsics.get_num_sub_groups();
+
+        float partial = SPIRVOCLIntrinsics.sub_group_reduce_add(inputArray[gidx]);
+        if (subGroupLocalId == 0) {
+            localArray[subGroupId] = partial;
+        }
+        SPIRVOCLIntrinsics.localBarrier();
+
+        if (subGroupId == 0) {
+            float result = 0.0f;
+            for (int i = subGroupLocalId; i < numSubGroups; i += subGroupSize) {
+                result += localArray[i];
+            }
+            result = SPIRVOCLIntrinsics.sub_group_reduce_add(result);
+            if (subGroupLocalId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroupCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+        int subGroupId = SPIRVOCLIntrinsics.get_sub_group_id();
+        int subGroupLocalId = SPIRVOCLIntrinsics.get_sub_group_local_id();
+        int subGroupSize = SPIRVOCLIntrinsics.get_sub_group_size();
+        int numSubGroups = SPIRVOCLIntrinsics.get_num_sub_groups();
+
+        float partial = SPIRVOCLIntrinsics.sub_group_reduce_add(value);
+        if (subGroupLocalId == 0) {
+            localArray[subGroupId] = partial;
+        }
+        SPIRVOCLIntrinsics.localBarrier();
+
+        if (subGroupId == 0) {
+            float result = 0.0f;
+            for (int i = subGroupLocalId; i < numSubGroups; i += subGroupSize) {
+                result += localArray[i];
+            }
+            result = SPIRVOCLIntrinsics.sub_group_reduce_add(result);
+            if (subGroupLocalId == 0) {
+                outputArray[groupID + 1] = result;
+            }
+        }
+    }
+
     protected static class Tuple2<T0, T1> {
         T0 t0;
         T1 t1;
@@ -829,6 +948,12 @@ public class ReduceGPUSnippets implements Snippets {
         private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddDoubleSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleAdd");
         private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddDoubleSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleAddCarrierValue");
 
+        // Add with sub-groups
+        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntSubGroupSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntAddSubGroup");
+        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntSubGroupSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntAddSubGroupCarrierValue");
+        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddFloatSubGroupSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatAddSubGroup");
+        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddFloatSubGroupSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatAddSubGroupCarrierValue");
+
         // Mul
         private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMultSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMult");
         private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMultSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMultCarrierValue");
@@ -861,9 +986,15 @@ public class ReduceGPUSnippets implements Snippets {
 
         Providers providers;
 
-        public Templates(OptionValues options, Providers providers) {
+        /**
+         * Whether the add reductions of ints and floats use the sub-group snippets.
+         */
+        private final boolean useSubGroups;
+
+        public Templates(OptionValues options, Providers providers, boolean supportsSubGroups) {
             super(options, providers);
             this.providers = providers;
+            this.useSubGroups = supportsSubGroups && TornadoOptions.SUB_GROUP_REDUCE;
         }
 
         private SnippetInfo snippet(Tuple2<Class<? extends ReduceGPUSnippets>, String> tuple2) {
@@ -896,7 +1027,9 @@ public class ReduceGPUSnippets implements Snippets {
         @Override
         public SnippetTemplate.SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
             SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
+            if (value instanceof TornadoReduceAddNode && useSubGroups) {
+                snippet = (extra == null) ? snippet(partialReduceIntSubGroupSnippet) : snippet(partialReduceIntSubGroupSnippetCarrierValue);
+            } else if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceIntSnippet) : snippet(partialReduceIntSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 // operation = ATOMIC_OPERATION.MUL;
@@ -940,7 +1073,9 @@ public class ReduceGPUSnippets implements Snippets {
         @Override
         public SnippetTemplate.SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
             SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
+            if (value instanceof TornadoReduceAddNode && useSubGroups) {
+                snippet = (extra == null) ? snippet(partialReduceAddFloatSubGroupSnippet) : snippet(partialReduceAddFloatSubGroupSnippetCarrierValue);
+            } else if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddFloatSnippet) : snippet(partialReduceAddFloatSnippetCarrierValue);
             } else if (value instanceof TornadoReduceMulNode) {
                 snippet = (extra == null) ? snippet(partialReduceFloatMultSnippet) : snippet(partialReduceFloatMultSnippetCarrierValue);
@@ -23,38 +23,25 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv.mm;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.KernelArguments;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 
 public class SPIRVKernelStackFrame extends SPIRVByteBuffer implements KernelStackFrame {
 
     public static final int RESERVED_SLOTS = 3;
 
-    private final ArrayList<CallArgument> callArguments;
+    private final KernelArguments arguments;
 
     public SPIRVKernelStackFrame(long bufferId, int numArgs, SPIRVDeviceContext device) {
         super(device, bufferId, 0, RESERVED_SLOTS << 3);
-        this.callArguments = new ArrayList<>(numArgs);
+        this.arguments = new KernelArguments(numArgs);
         buffer.clear();
     }
 
     @Override
-    public void addCallArgument(Object value, boolean isReferenceType) {
-        callArguments.add(new CallArgument(value, isReferenceType));
-    }
-
-    @Override
-    public void reset() {
-        callArguments.clear();
-    }
-
-    @Override
-    public List<CallArgument> getCallArguments() {
-        return callArguments;
+    public KernelArguments getArguments() {
+        return arguments;
     }
 
     @Override
@@ -73,14 +60,10 @@ public class SPIRVKernelStackFrame extends SPIRVByteBuffer implements KernelStac
     }
 
     @Override
-    public void setKernelContext(HashMap<Integer, Integer> map) {
+    public void setKernelContext(long[] globalWork) {
         buffer.clear();
         for (int i = 0; i < RESERVED_SLOTS; i++) {
-            if (map.containsKey(i)) {
-                buffer.putLong(map.get(i));
-            } else {
-                buffer.putLong(0);
-            }
+            buffer.putLong(globalWork != null && i < globalWork.length ? globalWork[i] : 0);
         }
     }
 }
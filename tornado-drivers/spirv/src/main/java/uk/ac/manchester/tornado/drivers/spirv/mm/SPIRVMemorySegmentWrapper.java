@@ -29,6 +29,8 @@ import java.util.List;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface;
@@ -54,6 +56,8 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
 
     private long bufferSize;
 
+    private boolean zeroCopy;
+
     private long subregionSize;
 
     public SPIRVMemorySegmentWrapper(SPIRVDeviceContext deviceContext, long batchSize) {
@@ -107,6 +111,11 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int read(long executionPlanId, Object reference, long hostOffset, long partialReadSize, int[] waitEvents, boolean useDeps) {
+        if (zeroCopy) {
+            // The host reads the buffer in place once the command list is executed
+            spirvDeviceContext.flush(executionPlanId, spirvDeviceContext.getDeviceIndex());
+            return -1;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
@@ -128,6 +137,9 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public void write(long executionPlanId, Object reference) {
+        if (zeroCopy) {
+            return;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
         if (batchSize <= 0) {
             spirvDeviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), 0, null);
@@ -138,6 +150,9 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] waitEvents, boolean useDeps) {
+        if (zeroCopy) {
+            return spirvDeviceContext.enqueueMarker(executionPlanId);
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
@@ -152,6 +167,9 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
     @Override
     public List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
         List<Integer> returnEvents = new ArrayList<>();
+        if (zeroCopy) {
+            return useDeps ? returnEvents : null;
+        }
         MemorySegment segment = getSegmentWithHeader(reference);
         int internalEvent;
         if (batchSize <= 0) {
@@ -183,14 +201,40 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
         }
 
         if (TornadoOptions.FULL_DEBUG) {
-            new TornadoLogger().info("allocated: %s", toString());
+            new TornadoLogger().info("allocated: %s (pinned host memory: %s)", toString(), PinnedMemory.isPinned(memorySegment));
         }
     }
 
+    @Override
+    public boolean allocateZeroCopy(Object reference, long batchSize) {
+        MemorySegment memorySegment = getSegmentWithHeader(reference);
+        HostMemoryAllocator hostMemoryAllocator = spirvDeviceContext.getSpirvContext().getHostMemoryAllocator();
+        if (batchSize > 0 || hostMemoryAllocator == null || !PinnedMemory.isPinned(memorySegment)) {
+            return false;
+        }
+        long devicePointer = hostMemoryAllocator.getDeviceBuffer(memorySegment.address());
+        if (devicePointer == 0) {
+            return false;
+        }
+        bufferId = devicePointer;
+        bufferOffset = 0;
+        bufferSize = memorySegment.byteSize();
+        zeroCopy = true;
+
+        if (TornadoOptions.FULL_DEBUG) {
+            new TornadoLogger().info("allocated: %s (zero-copy)", toString());
+        }
+        return true;
+    }
+
     @Override
     public void deallocate() throws TornadoMemoryException {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-        spirvDeviceContext.getBufferProvider().markBufferReleased(bufferId);
+        // Zero-copy buffers belong to the pinned host region, not to the buffer provider
+        if (!zeroCopy) {
+            spirvDeviceContext.getBufferProvider().markBufferReleased(bufferId);
+        }
+        zeroCopy = false;
         bufferId = INIT_VALUE;
         bufferSize = INIT_VALUE;
         if (TornadoOptions.FULL_DEBUG) {
@@ -212,4 +256,9 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
     public long getSizeSubRegionSize() {
         return subregionSize;
     }
+
+    @Override
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
 }
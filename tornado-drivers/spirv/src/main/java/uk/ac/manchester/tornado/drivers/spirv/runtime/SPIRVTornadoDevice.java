@@ -42,6 +42,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.internal.annotations.Vector;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.HostMemoryAllocator;
 import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
@@ -78,6 +79,9 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.CodeCacheEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.DriverBuildEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.GraalCompilationEvent;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -167,8 +171,10 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
 
         // Return the code from the cache
         if (!task.shouldCompile() && deviceContext.isCached(task.getId(), resolvedMethod.getName())) {
+            CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, true);
             return deviceContext.getInstalledCode(task.getId(), resolvedMethod.getName());
         }
+        CodeCacheEvent.emit(task.getId(), resolvedMethod.getName(), this, false);
 
         final Access[] sketchAccess = sketch.getArgumentsAccess();
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
@@ -180,12 +186,18 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
             // Compile the code and insert the SPIR-V binary into the code cache
             SPIRVProviders providers = (SPIRVProviders) getBackend().getProviders();
             profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+            GraalCompilationEvent compilationEvent = new GraalCompilationEvent();
+            compilationEvent.begin();
             result = SPIRVCompiler.compileSketchForDevice(sketch, task, providers, getBackend(), task.getProfiler());
+            compilationEvent.commit(taskMeta.getId(), resolvedMethod.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            DriverBuildEvent buildEvent = new DriverBuildEvent();
+            buildEvent.begin();
             TornadoInstalledCode installedCode = deviceContext.installBinary(result);
+            buildEvent.commit(taskMeta.getId(), result.getName(), this);
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
             return installedCode;
@@ -347,7 +359,9 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         TornadoInternalError.guarantee(state.isAtomicRegionPresent() || !state.hasObjectBuffer(), "A device memory leak might be occurring.");
         buffer = createDeviceBuffer(object.getClass(), object, getDeviceContext(), batchSize);
         state.setXPUBuffer(buffer);
-        buffer.allocate(object, batchSize);
+        if (!state.isUnifiedMemory() || !buffer.allocateZeroCopy(object, batchSize)) {
+            buffer.allocate(object, batchSize);
+        }
         return buffer;
     }
 
@@ -575,6 +589,11 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(SPIRVBackendImpl.class);
     }
 
+    @Override
+    public HostMemoryAllocator getHostMemoryAllocator() {
+        return getDeviceContext().getSpirvContext().getHostMemoryAllocator();
+    }
+
     @Override
     public Object getAtomic() {
         throw new RuntimeException("Unimplemented");
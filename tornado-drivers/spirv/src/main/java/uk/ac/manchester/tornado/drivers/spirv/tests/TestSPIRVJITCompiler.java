@@ -25,7 +25,6 @@ package uk.ac.manchester.tornado.drivers.spirv.tests;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import org.graalvm.compiler.phases.util.Providers;
 
@@ -138,12 +137,12 @@ public class TestSPIRVJITCompiler {
 
         // Create call stack wrapper for SPIR-V with 3 arguments
         KernelStackFrame stackFrame = spirvTornadoDevice.createKernelStackFrame(3);
-        stackFrame.setKernelContext(new HashMap<>());
+        stackFrame.setKernelContext(null);
 
         // Add kernel arguments to the SPIR-V Stack Frame
-        stackFrame.addCallArgument(objectStateA.getXPUBuffer().toBuffer(), true);
-        stackFrame.addCallArgument(objectStateB.getXPUBuffer().toBuffer(), true);
-        stackFrame.addCallArgument(objectStateC.getXPUBuffer().toBuffer(), true);
+        stackFrame.addReferenceArgument(objectStateA.getXPUBuffer().toBuffer());
+        stackFrame.addReferenceArgument(objectStateB.getXPUBuffer().toBuffer());
+        stackFrame.addReferenceArgument(objectStateC.getXPUBuffer().toBuffer());
 
         // Launch the generated kernel
         installedCode.launchWithoutDependencies(executionPlanId, stackFrame, null, taskMeta, 0);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+
+/**
+ * Partition of the rows of a {@link CSRMatrixFloat} into two bins, depending on
+ * the number of non-zeros per row. Rows with up to {@code threshold} non-zeros
+ * are placed in the short bin and processed with one thread per row. The rest
+ * are placed in the long bin and processed with one work-group per row.
+ *
+ * <p>
+ * The bins are computed once on the host and can be reused across executions
+ * as long as the sparsity pattern of the matrix does not change.
+ * </p>
+ */
+public final class CSRRowBins {
+
+    /**
+     * Default number of non-zeros from which a row is considered long.
+     */
+    public static final int DEFAULT_THRESHOLD = 4 * SparseMatrixKernels.VECTOR_WORK_GROUP_SIZE;
+
+    private final IntArray shortRows;
+    private final IntArray longRows;
+    private final int numShortRows;
+    private final int numLongRows;
+
+    private CSRRowBins(IntArray shortRows, int numShortRows, IntArray longRows, int numLongRows) {
+        this.shortRows = shortRows;
+        this.numShortRows = numShortRows;
+        this.longRows = longRows;
+        this.numLongRows = numLongRows;
+    }
+
+    public static CSRRowBins build(CSRMatrixFloat matrix) {
+        return build(matrix, DEFAULT_THRESHOLD);
+    }
+
+    public static CSRRowBins build(CSRMatrixFloat matrix, int threshold) {
+        final int numRows = matrix.getNumRows();
+        int numLong = 0;
+        for (int i = 0; i < numRows; i++) {
+            if (matrix.getRowLength(i) > threshold) {
+                numLong++;
+            }
+        }
+        final int numShort = numRows - numLong;
+
+        // Bins are never empty, so they can always be passed to a task
+        IntArray shortRows = new IntArray(Math.max(1, numShort));
+        IntArray longRows = new IntArray(Math.max(1, numLong));
+        int s = 0;
+        int l = 0;
+        for (int i = 0; i < numRows; i++) {
+            if (matrix.getRowLength(i) > threshold) {
+                longRows.set(l++, i);
+            } else {
+                shortRows.set(s++, i);
+            }
+        }
+        return new CSRRowBins(shortRows, numShort, longRows, numLong);
+    }
+
+    public IntArray getShortRows() {
+        return shortRows;
+    }
+
+    public IntArray getLongRows() {
+        return longRows;
+    }
+
+    public int getNumShortRows() {
+        return numShortRows;
+    }
+
+    public int getNumLongRows() {
+        return numLongRows;
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixDouble;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+
+/**
+ * Parallel loader for sparse matrices stored in the Matrix Market coordinate
+ * format, and reader/writer for a compact binary CSR format.
+ *
+ * <p>
+ * The Matrix Market file is memory-mapped and its body is split into chunks
+ * aligned to line boundaries, which are parsed in parallel in two passes. The
+ * first pass counts the number of elements per row. The second pass writes each
+ * element directly into its final position of the CSR arrays (counting sort),
+ * without creating intermediate objects. Finally, the elements of each row are
+ * sorted by column.
+ * </p>
+ *
+ * <p>
+ * The binary format stores a small header followed by the raw row pointers,
+ * column indices and values in native byte order:
+ * </p>
+ *
+ * <pre>
+ * int  magic ("TCSR")
+ * int  version
+ * int  element size in bytes (4 = float, 8 = double)
+ * int  number of rows
+ * int  number of columns
+ * int  number of non-zeros
+ * long reserved
+ * int[numRows + 1] row pointers
+ * int[nnz]         column indices
+ * T[nnz]           values
+ * </pre>
+ */
+public final class MatrixMarketLoader {
+
+    private static final int BINARY_MAGIC = 0x52534354; // "TCSR" in little-endian
+    private static final int BINARY_VERSION = 1;
+    private static final long BINARY_HEADER_SIZE = 32;
+
+    /**
+     * Minimum number of bytes per chunk when parsing in parallel.
+     */
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Rows with more elements than this threshold are sorted with a packed-key
+     * sort instead of insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private MatrixMarketLoader() {
+    }
+
+    private record Header(int numRows, int numColumns, long numEntries, boolean pattern, boolean symmetric, long dataOffset) {
+    }
+
+    @FunctionalInterface
+    private interface ValueSink {
+        void set(int position, double value);
+    }
+
+    @FunctionalInterface
+    private interface ValueSource {
+        double get(int position);
+    }
+
+    /**
+     * Loads a Matrix Market file in coordinate format into a
+     * {@link CSRMatrixFloat}.
+     *
+     * @param path
+     *     path to the .mtx file
+     * @return {@link CSRMatrixFloat}
+     */
+    public static CSRMatrixFloat loadCSRMatrixFloat(Path path) {
+        try (Arena arena = Arena.ofShared(); FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            Header header = parseHeader(file);
+            IntArray rowPointers = new IntArray(header.numRows() + 1);
+            AtomicIntegerArray cursors = countRows(file, header, rowPointers);
+            int nnz = rowPointers.get(header.numRows());
+            IntArray columnIndices = new IntArray(nnz);
+            FloatArray values = new FloatArray(nnz);
+            fillElements(file, header, cursors, columnIndices, (position, value) -> values.set(position, (float) value));
+            sortRows(rowPointers, columnIndices, values::get, (position, value) -> values.set(position, (float) value));
+            return new CSRMatrixFloat(header.numRows(), header.numColumns(), rowPointers, columnIndices, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a Matrix Market file in coordinate format into a
+     * {@link CSRMatrixDouble}.
+     *
+     * @param path
+     *     path to the .mtx file
+     * @return {@link CSRMatrixDouble}
+     */
+    public static CSRMatrixDouble loadCSRMatrixDouble(Path path) {
+        try (Arena arena = Arena.ofShared(); FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            Header header = parseHeader(file);
+            IntArray rowPointers = new IntArray(header.numRows() + 1);
+            AtomicIntegerArray cursors = countRows(file, header, rowPointers);
+            int nnz = rowPointers.get(header.numRows());
+            IntArray columnIndices = new IntArray(nnz);
+            DoubleArray values = new DoubleArray(nnz);
+            fillElements(file, header, cursors, columnIndices, values::set);
+            sortRows(rowPointers, columnIndices, values::get, values::set);
+            return new CSRMatrixDouble(header.numRows(), header.numColumns(), rowPointers, columnIndices, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores a {@link CSRMatrixFloat} in the binary CSR format.
+     */
+    public static void writeBinary(CSRMatrixFloat matrix, Path path) {
+        writeBinary(path, Float.BYTES, matrix.getNumRows(), matrix.getNumColumns(), matrix.getRowPointers(), matrix.getColumnIndices(), matrix.getValues());
+    }
+
+    /**
+     * Stores a {@link CSRMatrixDouble} in the binary CSR format.
+     */
+    public static void writeBinary(CSRMatrixDouble matrix, Path path) {
+        writeBinary(path, Double.BYTES, matrix.getNumRows(), matrix.getNumColumns(), matrix.getRowPointers(), matrix.getColumnIndices(), matrix.getValues());
+    }
+
+    /**
+     * Loads a {@link CSRMatrixFloat} from a file in the binary CSR format. The
+     * file is memory-mapped and copied in bulk into the native arrays.
+     */
+    public static CSRMatrixFloat readBinaryFloat(Path path) {
+        try (Arena arena = Arena.ofShared(); FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            int[] header = readBinaryHeader(file, Float.BYTES);
+            int numRows = header[0];
+            int nnz = header[2];
+            long offset = BINARY_HEADER_SIZE;
+            IntArray rowPointers = IntArray.fromSegment(file.asSlice(offset, (long) (numRows + 1) * Integer.BYTES));
+            offset += (long) (numRows + 1) * Integer.BYTES;
+            IntArray columnIndices = IntArray.fromSegment(file.asSlice(offset, (long) nnz * Integer.BYTES));
+            offset += (long) nnz * Integer.BYTES;
+            FloatArray values = FloatArray.fromSegment(file.asSlice(offset, (long) nnz * Float.BYTES));
+            return new CSRMatrixFloat(numRows, header[1], rowPointers, columnIndices, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a {@link CSRMatrixDouble} from a file in the binary CSR format. The
+     * file is memory-mapped and copied in bulk into the native arrays.
+     */
+    public static CSRMatrixDouble readBinaryDouble(Path path) {
+        try (Arena arena = Arena.ofShared(); FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            int[] header = readBinaryHeader(file, Double.BYTES);
+            int numRows = header[0];
+            int nnz = header[2];
+            long offset = BINARY_HEADER_SIZE;
+            IntArray rowPointers = IntArray.fromSegment(file.asSlice(offset, (long) (numRows + 1) * Integer.BYTES));
+            offset += (long) (numRows + 1) * Integer.BYTES;
+            IntArray columnIndices = IntArray.fromSegment(file.asSlice(offset, (long) nnz * Integer.BYTES));
+            offset += (long) nnz * Integer.BYTES;
+            DoubleArray values = DoubleArray.fromSegment(file.asSlice(offset, (long) nnz * Double.BYTES));
+            return new CSRMatrixDouble(numRows, header[1], rowPointers, columnIndices, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeBinary(Path path, int elementSize, int numRows, int numColumns, IntArray rowPointers, IntArray columnIndices, TornadoNativeArray values) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate((int) BINARY_HEADER_SIZE).order(ByteOrder.nativeOrder());
+            header.putInt(BINARY_MAGIC).putInt(BINARY_VERSION).putInt(elementSize);
+            header.putInt(numRows).putInt(numColumns).putInt(columnIndices.getSize()).putLong(0);
+            header.flip();
+            writeFully(channel, header);
+            writeSegment(channel, rowPointers.getSegment());
+            writeSegment(channel, columnIndices.getSegment());
+            writeSegment(channel, values.getSegment());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Byte buffers are limited to 2GB, so large segments are written in slices.
+     */
+    private static void writeSegment(FileChannel channel, MemorySegment segment) throws IOException {
+        final long sliceSize = 1L << 30;
+        for (long offset = 0; offset < segment.byteSize(); offset += sliceSize) {
+            writeFully(channel, segment.asSlice(offset, Math.min(sliceSize, segment.byteSize() - offset)).asByteBuffer());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int[] readBinaryHeader(MemorySegment file, int expectedElementSize) {
+        if (file.byteSize() < BINARY_HEADER_SIZE || file.get(JAVA_INT, 0) != BINARY_MAGIC) {
+            throw new TornadoRuntimeException("[ERROR] File is not in the TornadoVM binary CSR format");
+        }
+        if (file.get(JAVA_INT, 4) != BINARY_VERSION) {
+            throw new TornadoRuntimeException("[ERROR] Unsupported binary CSR version: " + file.get(JAVA_INT, 4));
+        }
+        if (file.get(JAVA_INT, 8) != expectedElementSize) {
+            throw new TornadoRuntimeException("[ERROR] Binary CSR file stores elements of " + file.get(JAVA_INT, 8) + " bytes, expected " + expectedElementSize);
+        }
+        return new int[] { file.get(JAVA_INT, 12), file.get(JAVA_INT, 16), file.get(JAVA_INT, 20) };
+    }
+
+    private static Header parseHeader(MemorySegment file) {
+        long position = 0;
+        long end = file.byteSize();
+        long lineEnd = findLineEnd(file, position, end);
+        String[] banner = readLine(file, position, lineEnd).trim().split("\\s+");
+        if (banner.length < 5 || !banner[1].equalsIgnoreCase("matrix")) {
+            throw new TornadoRuntimeException("[ERROR] Matrix file does not contain a matrix");
+        }
+        if (!banner[2].equalsIgnoreCase("coordinate")) {
+            throw new TornadoRuntimeException("[ERROR] Matrix representation is dense");
+        }
+        boolean pattern = banner[3].equalsIgnoreCase("pattern");
+        boolean symmetric = banner[4].equalsIgnoreCase("symmetric");
+
+        // Skip comments and empty lines
+        String line;
+        do {
+            position = lineEnd + 1;
+            if (position >= end) {
+                throw new TornadoRuntimeException("[ERROR] Matrix file does not contain the size line");
+            }
+            lineEnd = findLineEnd(file, position, end);
+            line = readLine(file, position, lineEnd).trim();
+        } while (line.isEmpty() || line.startsWith("%"));
+
+        String[] sizes = line.split("\\s+");
+        return new Header(Integer.parseInt(sizes[0]), Integer.parseInt(sizes[1]), Long.parseLong(sizes[2]), pattern, symmetric, lineEnd + 1);
+    }
+
+    private static String readLine(MemorySegment file, long start, long end) {
+        byte[] bytes = new byte[(int) (end - start)];
+        MemorySegment.copy(file, JAVA_BYTE, start, bytes, 0, bytes.length);
+        return new String(bytes);
+    }
+
+    private static long findLineEnd(MemorySegment file, long position, long end) {
+        while (position < end && file.get(JAVA_BYTE, position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Splits the body of the file into chunks that start at the beginning of a
+     * line.
+     */
+    private static long[] computeChunks(MemorySegment file, long dataOffset) {
+        long end = file.byteSize();
+        long bodySize = Math.max(0, end - dataOffset);
+        int numChunks = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4L, bodySize / MIN_CHUNK_SIZE));
+        long[] boundaries = new long[numChunks + 1];
+        boundaries[0] = dataOffset;
+        for (int i = 1; i < numChunks; i++) {
+            long candidate = Math.max(boundaries[i - 1], dataOffset + (bodySize * i) / numChunks);
+            boundaries[i] = Math.min(end, findLineEnd(file, candidate, end) + 1);
+        }
+        boundaries[numChunks] = end;
+        return boundaries;
+    }
+
+    /**
+     * First pass: counts the elements per row and builds the row pointers.
+     *
+     * @return the starting position of each row, to be used as insertion cursors
+     *     in the second pass.
+     */
+    private static AtomicIntegerArray countRows(MemorySegment file, Header header, IntArray rowPointers) {
+        final int numRows = header.numRows();
+        AtomicIntegerArray counts = new AtomicIntegerArray(numRows);
+        long[] chunks = computeChunks(file, header.dataOffset());
+        IntStream.range(0, chunks.length - 1).parallel().forEach(chunk -> {
+            Parser parser = new Parser(file, chunks[chunk], chunks[chunk + 1]);
+            while (parser.nextLine()) {
+                int row = parser.parseInt() - 1;
+                int column = parser.parseInt() - 1;
+                checkBounds(row, column, header);
+                counts.getAndIncrement(row);
+                if (header.symmetric() && row != column) {
+                    counts.getAndIncrement(column);
+                }
+            }
+        });
+
+        long offset = 0;
+        for (int i = 0; i < numRows; i++) {
+            rowPointers.set(i, (int) offset);
+            int count = counts.get(i);
+            counts.set(i, (int) offset);
+            offset += count;
+            if (offset > Integer.MAX_VALUE - TornadoNativeArray.ARRAY_HEADER) {
+                throw new TornadoRuntimeException("[ERROR] Number of non-zeros exceeds the maximum size of a native array");
+            }
+        }
+        rowPointers.set(numRows, (int) offset);
+        return counts;
+    }
+
+    /**
+     * Second pass: parses columns and values and writes them directly in their
+     * final row segment.
+     */
+    private static void fillElements(MemorySegment file, Header header, AtomicIntegerArray cursors, IntArray columnIndices, ValueSink values) {
+        long[] chunks = computeChunks(file, header.dataOffset());
+        AtomicLong entries = new AtomicLong();
+        IntStream.range(0, chunks.length - 1).parallel().forEach(chunk -> {
+            Parser parser = new Parser(file, chunks[chunk], chunks[chunk + 1]);
+            long localEntries = 0;
+            while (parser.nextLine()) {
+                int row = parser.parseInt() - 1;
+                int column = parser.parseInt() - 1;
+                double value = header.pattern() ? patternValue(row, column) : parser.parseDouble();
+                int position = cursors.getAndIncrement(row);
+                columnIndices.set(position, column);
+                values.set(position, value);
+                if (header.symmetric() && row != column) {
+                    position = cursors.getAndIncrement(column);
+                    columnIndices.set(position, row);
+                    values.set(position, value);
+                }
+                localEntries++;
+            }
+            entries.addAndGet(localEntries);
+        });
+        if (entries.get() != header.numEntries()) {
+            throw new TornadoRuntimeException("[ERROR] Expected " + header.numEntries() + " entries, but found " + entries.get());
+        }
+    }
+
+    /**
+     * Pattern matrices do not store values. A pseudo-random value in the range
+     * [0, 256) is derived from the coordinates, so the result does not depend on
+     * the order in which chunks are parsed.
+     */
+    private static double patternValue(int row, int column) {
+        long hash = ((long) row * 0x9E3779B97F4A7C15L) ^ ((long) column * 0xC2B2AE3D27D4EB4FL);
+        hash ^= (hash >>> 31);
+        return ((hash >>> 40) & 0xFFFFFF) / (double) (1 << 24) * 256.0;
+    }
+
+    private static void checkBounds(int row, int column, Header header) {
+        if (row < 0 || row >= header.numRows() || column < 0 || column >= header.numColumns()) {
+            throw new TornadoRuntimeException("[ERROR] Element (" + (row + 1) + ", " + (column + 1) + ") is out of the matrix bounds");
+        }
+    }
+
+    /**
+     * Elements within a row are inserted in parsing order, which depends on the
+     * thread scheduling. Sorting by column makes the result deterministic and
+     * equal to the sequential loader.
+     */
+    private static void sortRows(IntArray rowPointers, IntArray columnIndices, ValueSource source, ValueSink sink) {
+        final int numRows = rowPointers.getSize() - 1;
+        IntStream.range(0, numRows).parallel().forEach(row -> {
+            int start = rowPointers.get(row);
+            int end = rowPointers.get(row + 1);
+            if (end - start <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(start, end, columnIndices, source, sink);
+            } else {
+                packedSort(start, end, columnIndices, source, sink);
+            }
+        });
+    }
+
+    private static void insertionSort(int start, int end, IntArray columnIndices, ValueSource source, ValueSink sink) {
+        for (int i = start + 1; i < end; i++) {
+            int column = columnIndices.get(i);
+            double value = source.get(i);
+            int j = i - 1;
+            while (j >= start && columnIndices.get(j) > column) {
+                columnIndices.set(j + 1, columnIndices.get(j));
+                sink.set(j + 1, source.get(j));
+                j--;
+            }
+            columnIndices.set(j + 1, column);
+            sink.set(j + 1, value);
+        }
+    }
+
+    private static void packedSort(int start, int end, IntArray columnIndices, ValueSource source, ValueSink sink) {
+        int length = end - start;
+        long[] keys = new long[length];
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = ((long) columnIndices.get(start + i) << 32) | i;
+            values[i] = source.get(start + i);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < length; i++) {
+            columnIndices.set(start + i, (int) (keys[i] >>> 32));
+            sink.set(start + i, values[(int) (keys[i] & 0xFFFFFFFFL)]);
+        }
+    }
+
+    /**
+     * Minimal parser for whitespace-separated numbers within a byte range of a
+     * memory segment.
+     */
+    private static final class Parser {
+
+        private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+        private final MemorySegment segment;
+        private final long end;
+        private long position;
+        private long lineEnd;
+
+        Parser(MemorySegment segment, long start, long end) {
+            this.segment = segment;
+            this.position = start;
+            this.end = end;
+            this.lineEnd = start;
+        }
+
+        /**
+         * Moves to the next non-empty line of the chunk.
+         *
+         * @return false if there are no more lines.
+         */
+        boolean nextLine() {
+            position = lineEnd;
+            while (position < end) {
+                lineEnd = findLineEnd(segment, position, end);
+                long p = position;
+                while (p < lineEnd && isWhitespace(segment.get(JAVA_BYTE, p))) {
+                    p++;
+                }
+                if (p < lineEnd && segment.get(JAVA_BYTE, p) != '%') {
+                    position = p;
+                    return true;
+                }
+                position = lineEnd + 1;
+            }
+            lineEnd = end;
+            return false;
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        private void skipWhitespace() {
+            while (position < lineEnd && isWhitespace(segment.get(JAVA_BYTE, position))) {
+                position++;
+            }
+        }
+
+        int parseInt() {
+            skipWhitespace();
+            int value = 0;
+            boolean negative = false;
+            if (position < lineEnd && (segment.get(JAVA_BYTE, position) == '-' || segment.get(JAVA_BYTE, position) == '+')) {
+                negative = segment.get(JAVA_BYTE, position) == '-';
+                position++;
+            }
+            while (position < lineEnd) {
+                byte b = segment.get(JAVA_BYTE, position);
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                value = value * 10 + (b - '0');
+                position++;
+            }
+            return negative ? -value : value;
+        }
+
+        double parseDouble() {
+            skipWhitespace();
+            long start = position;
+            boolean negative = false;
+            byte b = position < lineEnd ? segment.get(JAVA_BYTE, position) : 0;
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean fastPath = true;
+            while (position < lineEnd) {
+                b = segment.get(JAVA_BYTE, position);
+                if (b >= '0' && b <= '9') {
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                    } else {
+                        fastPath = false;
+                    }
+                } else if (b == '.') {
+                    position++;
+                    break;
+                } else {
+                    break;
+                }
+                position++;
+            }
+            if (b == '.') {
+                while (position < lineEnd) {
+                    b = segment.get(JAVA_BYTE, position);
+                    if (b < '0' || b > '9') {
+                        break;
+                    }
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                        exponent--;
+                    } else {
+                        fastPath = false;
+                    }
+                    position++;
+                }
+            }
+            if (position < lineEnd && (b == 'e' || b == 'E')) {
+                position++;
+                exponent += parseInt();
+            } else if (position < lineEnd && !isWhitespace(b)) {
+                // Values such as inf or nan
+                fastPath = false;
+            }
+
+            if (fastPath && digits <= 15 && Math.abs(exponent) < POWERS_OF_TEN.length) {
+                // Both operands are exact, so the result is correctly rounded
+                double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+
+            while (position < lineEnd && !isWhitespace(segment.get(JAVA_BYTE, position))) {
+                position++;
+            }
+            return Double.parseDouble(readLine(segment, start, position));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixDouble;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.ELLMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.Matrix2DFloat;
+
+/**
+ * Sparse matrix kernels (SpMV and SpMM) to be used as TornadoVM tasks.
+ *
+ * <p>
+ * For matrices with an irregular distribution of non-zeros per row (e.g.,
+ * power-law graphs), use {@link CSRRowBins} to split the rows into short and
+ * long rows. Short rows are processed with one thread per row
+ * ({@link #spmvCSRBinnedScalar}), and long rows are processed with one
+ * work-group per row ({@link #spmvCSRBinnedVector}), so that a few very long
+ * rows do not serialise the whole kernel.
+ * </p>
+ */
+public final class SparseMatrixKernels {
+
+    /**
+     * Work-group size used by the vector (one work-group per row) kernels. The
+     * local size of the corresponding {@link uk.ac.manchester.tornado.api.WorkerGrid}
+     * must be set to this value.
+     */
+    public static final int VECTOR_WORK_GROUP_SIZE = 128;
+
+    private SparseMatrixKernels() {
+    }
+
+    /**
+     * SpMV ({@code y = A * x}) with one thread per row.
+     */
+    public static void spmvCSR(CSRMatrixFloat matrix, FloatArray x, FloatArray y) {
+        IntArray rowPointers = matrix.getRowPointers();
+        IntArray columnIndices = matrix.getColumnIndices();
+        FloatArray values = matrix.getValues();
+        for (@Parallel int i = 0; i < matrix.getNumRows(); i++) {
+            float sum = 0.0f;
+            for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+                sum += values.get(k) * x.get(columnIndices.get(k));
+            }
+            y.set(i, sum);
+        }
+    }
+
+    /**
+     * Double-precision variant of {@link #spmvCSR}.
+     */
+    public static void spmvCSRDouble(CSRMatrixDouble matrix, DoubleArray x, DoubleArray y) {
+        IntArray rowPointers = matrix.getRowPointers();
+        IntArray columnIndices = matrix.getColumnIndices();
+        DoubleArray values = matrix.getValues();
+        for (@Parallel int i = 0; i < matrix.getNumRows(); i++) {
+            double sum = 0.0;
+            for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+                sum += values.get(k) * x.get(columnIndices.get(k));
+            }
+            y.set(i, sum);
+        }
+    }
+
+    /**
+     * SpMV ({@code y = A * x}) for a matrix in ELL format with one thread per row.
+     * Accesses to the matrix are coalesced due to the column-major layout of
+     * {@link ELLMatrixFloat}.
+     */
+    public static void spmvELL(ELLMatrixFloat matrix, FloatArray x, FloatArray y) {
+        IntArray columnIndices = matrix.getColumnIndices();
+        FloatArray values = matrix.getValues();
+        final int numRows = matrix.getNumRows();
+        final int width = matrix.getWidth();
+        for (@Parallel int i = 0; i < numRows; i++) {
+            float sum = 0.0f;
+            for (int k = 0; k < width; k++) {
+                int index = k * numRows + i;
+                sum += values.get(index) * x.get(columnIndices.get(index));
+            }
+            y.set(i, sum);
+        }
+    }
+
+    /**
+     * SpMV for the short rows of a {@link CSRRowBins} partition, with one thread
+     * per row.
+     *
+     * @param rows
+     *     indices of the rows to process
+     * @param numRowsInBin
+     *     number of valid entries in {@code rows}
+     */
+    public static void spmvCSRBinnedScalar(CSRMatrixFloat matrix, FloatArray x, FloatArray y, IntArray rows, int numRowsInBin) {
+        IntArray rowPointers = matrix.getRowPointers();
+        IntArray columnIndices = matrix.getColumnIndices();
+        FloatArray values = matrix.getValues();
+        for (@Parallel int r = 0; r < numRowsInBin; r++) {
+            int row = rows.get(r);
+            float sum = 0.0f;
+            for (int k = rowPointers.get(row); k < rowPointers.get(row + 1); k++) {
+                sum += values.get(k) * x.get(columnIndices.get(k));
+            }
+            y.set(row, sum);
+        }
+    }
+
+    /**
+     * SpMV for the long rows of a {@link CSRRowBins} partition, with one
+     * work-group per row. Each thread of the work-group accumulates a strided
+     * subset of the row, and the partial results are combined with a tree
+     * reduction in local memory. The global size must be
+     * {@code numRowsInBin * VECTOR_WORK_GROUP_SIZE} and the local size
+     * {@link #VECTOR_WORK_GROUP_SIZE}.
+     *
+     * @param rows
+     *     indices of the rows to process
+     */
+    public static void spmvCSRBinnedVector(KernelContext context, CSRMatrixFloat matrix, FloatArray x, FloatArray y, IntArray rows) {
+        IntArray rowPointers = matrix.getRowPointers();
+        IntArray columnIndices = matrix.getColumnIndices();
+        FloatArray values = matrix.getValues();
+
+        int localId = context.localIdx;
+        int localSize = context.localGroupSizeX;
+        int row = rows.get(context.groupIdx);
+        float[] partialSums = context.allocateFloatLocalArray(VECTOR_WORK_GROUP_SIZE);
+
+        float sum = 0.0f;
+        for (int k = rowPointers.get(row) + localId; k < rowPointers.get(row + 1); k += localSize) {
+            sum += values.get(k) * x.get(columnIndices.get(k));
+        }
+        partialSums[localId] = sum;
+
+        for (int stride = localSize / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localId < stride) {
+                partialSums[localId] += partialSums[localId + stride];
+            }
+        }
+
+        if (localId == 0) {
+            y.set(row, partialSums[0]);
+        }
+    }
+
+    /**
+     * SpMM ({@code C = A * B}), where {@code A} is sparse and {@code B} and
+     * {@code C} are dense row-major matrices. Each thread computes one element
+     * of {@code C}; threads in the same row of {@code C} share the same sparse
+     * row of {@code A}, and consecutive threads access consecutive columns of
+     * {@code B}.
+     */
+    public static void spmmCSR(CSRMatrixFloat a, Matrix2DFloat b, Matrix2DFloat c) {
+        IntArray rowPointers = a.getRowPointers();
+        IntArray columnIndices = a.getColumnIndices();
+        FloatArray values = a.getValues();
+        for (@Parallel int i = 0; i < a.getNumRows(); i++) {
+            for (@Parallel int j = 0; j < b.getNumColumns(); j++) {
+                float sum = 0.0f;
+                for (int k = rowPointers.get(i); k < rowPointers.get(i + 1); k++) {
+                    sum += values.get(k) * b.get(columnIndices.get(k), j);
+                }
+                c.set(i, j, sum);
+            }
+        }
+    }
+}
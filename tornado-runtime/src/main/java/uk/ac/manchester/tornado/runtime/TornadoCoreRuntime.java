@@ -27,11 +27,17 @@ import static org.graalvm.compiler.debug.GraalError.guarantee;
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.StreamSupport;
@@ -55,6 +61,8 @@ import uk.ac.manchester.tornado.api.TornadoBackend;
 import uk.ac.manchester.tornado.api.TornadoRuntimeInterface;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBackendNotFound;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.enums.TornadoBackends;
@@ -83,14 +91,29 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
     private static DebugContext debugContext = null;
     private static OptionValues options;
 
+    /**
+     * Set in the threads that load the backends, which must not wait for
+     * themselves if a backend queries the runtime.
+     */
+    private static final ThreadLocal<Boolean> LOADING_BACKENDS = ThreadLocal.withInitial(() -> false);
+
     private final JVMCIBackend vmBackend;
     private final HotSpotJVMCIRuntime vmRuntime;
     private final TornadoVMConfigAccess vmConfig;
-    private final TornadoAcceleratorBackend[] tornadoVMBackends;
+    private volatile TornadoAcceleratorBackend[] tornadoVMBackends;
+    private final AtomicReference<FutureTask<TornadoAcceleratorBackend[]>> backendLoader = new AtomicReference<>();
     private int backendCount;
 
-    private TornadoCoreRuntime() {
+    /**
+     * Startup breakdown (in ns): Graal and JVMCI setup, discovery of the
+     * backends, and creation of the compiler state of the devices used so far.
+     */
+    private final long runtimeInitTime;
+    private long backendInitTime;
+    private final LongAdder deviceInitTime;
 
+    private TornadoCoreRuntime() {
+        final long start = System.nanoTime();
         initOptions();
         guarantee(!GraalOptions.OmitHotExceptionStacktrace.getValue(options), "error");
 
@@ -100,7 +123,8 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
         vmRuntime = (HotSpotJVMCIRuntime) JVMCI.getRuntime();
         vmBackend = vmRuntime.getHostJVMCIBackend();
         vmConfig = new TornadoVMConfigAccess(vmRuntime.getConfigStore(), vmBackend.getMetaAccess());
-        tornadoVMBackends = loadBackends();
+        deviceInitTime = new LongAdder();
+        runtimeInitTime = System.nanoTime() - start;
     }
 
     public static TornadoCoreRuntime getTornadoRuntime() {
@@ -151,16 +175,134 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
         options = new OptionValues(opts);
     }
 
+    /**
+     * The backends are loaded on first use rather than in the static initializer
+     * of the runtime. Therefore, the threads that load the backends in parallel
+     * can access the static state of the runtime.
+     *
+     * <p>
+     * The first caller loads the backends. Other callers wait for its result
+     * without holding any monitor of the runtime. If loading fails, the next
+     * call tries again.
+     * </p>
+     */
+    private TornadoAcceleratorBackend[] getBackends() {
+        TornadoAcceleratorBackend[] backends = tornadoVMBackends;
+        if (backends != null) {
+            return backends;
+        }
+        if (LOADING_BACKENDS.get()) {
+            // Re-entrant call while a backend is created: no backend is available yet
+            return new TornadoAcceleratorBackend[TornadoBackends.values().length];
+        }
+
+        FutureTask<TornadoAcceleratorBackend[]> loader = backendLoader.get();
+        if (loader == null) {
+            FutureTask<TornadoAcceleratorBackend[]> newLoader = new FutureTask<>(this::loadAndPublishBackends);
+            if (backendLoader.compareAndSet(null, newLoader)) {
+                newLoader.run();
+            }
+            loader = backendLoader.get();
+        }
+        try {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            backendLoader.compareAndSet(loader, null);
+            throw rethrowCause(e);
+        }
+    }
+
+    private TornadoAcceleratorBackend[] loadAndPublishBackends() {
+        TornadoAcceleratorBackend[] loadedBackends;
+        LOADING_BACKENDS.set(true);
+        try {
+            final long start = System.nanoTime();
+            loadedBackends = loadBackends();
+            backendInitTime = System.nanoTime() - start;
+            tornadoVMBackends = loadedBackends;
+        } finally {
+            LOADING_BACKENDS.remove();
+        }
+        if (TornadoOptions.PINNED_MEMORY) {
+            // Native arrays created from now on use the pinned memory of the default device
+            PinnedMemory.setDefaultAllocator(getDefaultDevice().getHostMemoryAllocator());
+        }
+        return loadedBackends;
+    }
+
+    /**
+     * Rethrows the exception of a task as if it was thrown in this thread.
+     */
+    private static RuntimeException rethrowCause(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        throw new TornadoRuntimeException(e);
+    }
+
+    private TornadoAcceleratorBackend createBackend(TornadoBackendProvider provider) {
+        if (TornadoOptions.FULL_DEBUG) {
+            System.out.println("[INFO] TornadoVM Loading Backend: " + provider.getName());
+        }
+        final long start = System.nanoTime();
+        TornadoAcceleratorBackend backend = provider.createBackend(options, vmRuntime, vmConfig);
+        if (TornadoOptions.FULL_DEBUG) {
+            System.out.printf("[INFO] TornadoVM Backend %s loaded in %.3f ms%n", provider.getName(), (System.nanoTime() - start) * 1e-6);
+        }
+        return backend;
+    }
+
+    private List<TornadoAcceleratorBackend> createBackendsInParallel(List<TornadoBackendProvider> providerList) {
+        ExecutorService loader = Executors.newFixedThreadPool(providerList.size(), r -> {
+            Thread thread = new Thread(r, "TornadoBackendLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<TornadoAcceleratorBackend>> futures = new ArrayList<>();
+            for (TornadoBackendProvider provider : providerList) {
+                futures.add(loader.submit(() -> {
+                    LOADING_BACKENDS.set(true);
+                    return createBackend(provider);
+                }));
+            }
+            List<TornadoAcceleratorBackend> backends = new ArrayList<>();
+            for (Future<TornadoAcceleratorBackend> future : futures) {
+                backends.add(future.get());
+            }
+            return backends;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw rethrowCause(e);
+        } finally {
+            loader.shutdown();
+        }
+    }
+
     private TornadoAcceleratorBackend[] loadBackends() {
         ServiceLoader<TornadoBackendProvider> loader = ServiceLoader.load(TornadoBackendProvider.class);
         List<TornadoBackendProvider> providerList = StreamSupport.stream(loader.spliterator(), false).sorted().toList();
+        List<TornadoAcceleratorBackend> backends;
+        if (TornadoOptions.PARALLEL_BACKEND_INIT && providerList.size() > 1) {
+            backends = createBackendsInParallel(providerList);
+        } else {
+            backends = new ArrayList<>();
+            for (TornadoBackendProvider provider : providerList) {
+                backends.add(createBackend(provider));
+            }
+        }
+
+        // Backends keep the priority order of the providers
         TornadoAcceleratorBackend[] tornadoAcceleratorBackends = new TornadoAcceleratorBackend[TornadoBackends.values().length];
         int index = 0;
-        for (TornadoBackendProvider provider : providerList) {
-            if (TornadoOptions.FULL_DEBUG) {
-                System.out.println("[INFO] TornadoVM Loading Backend: " + provider.getName());
-            }
-            TornadoAcceleratorBackend backend = provider.createBackend(options, vmRuntime, vmConfig);
+        for (TornadoAcceleratorBackend backend : backends) {
             if (backend != null) {
                 tornadoAcceleratorBackends[index] = backend;
                 index++;
@@ -170,10 +312,41 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
         return tornadoAcceleratorBackends;
     }
 
+    /**
+     * Registers the time spent creating the compiler state (Graal providers,
+     * suites and device context) of a device. Backends create this state on the
+     * first use of each device.
+     *
+     * @param deviceName
+     *     name of the device
+     * @param elapsedTime
+     *     time in nanoseconds
+     */
+    public void registerDeviceInitTime(String deviceName, long elapsedTime) {
+        deviceInitTime.add(elapsedTime);
+        if (TornadoOptions.FULL_DEBUG) {
+            System.out.printf("[INFO] TornadoVM Device %s initialised in %.3f ms%n", deviceName, elapsedTime * 1e-6);
+        }
+    }
+
+    public long getRuntimeInitTime() {
+        return runtimeInitTime;
+    }
+
+    public long getBackendInitTime() {
+        getBackends();
+        return backendInitTime;
+    }
+
+    public long getDeviceInitTime() {
+        return deviceInitTime.sum();
+    }
+
     @Override
     public <D extends TornadoBackend> int getBackendIndex(Class<D> backendClass) {
-        for (int backendIndex = 0; backendIndex < tornadoVMBackends.length; backendIndex++) {
-            if (tornadoVMBackends[backendIndex] != null && tornadoVMBackends[backendIndex].getClass() == backendClass) {
+        TornadoAcceleratorBackend[] backends = getBackends();
+        for (int backendIndex = 0; backendIndex < backends.length; backendIndex++) {
+            if (backends[backendIndex] != null && backends[backendIndex].getClass() == backendClass) {
                 return backendIndex;
             }
         }
@@ -195,24 +368,39 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
 
     @Override
     public TornadoAcceleratorBackend getBackend(int index) {
-        if (index > tornadoVMBackends.length) {
+        TornadoAcceleratorBackend[] backends = getBackends();
+        if (index < 0 || index >= backends.length) {
             throw new TornadoBackendNotFound("Tornado Backend Not Found");
         }
-        return tornadoVMBackends[index];
+        return backends[index];
+    }
+
+    /**
+     * It returns a loaded backend. Callers that run while the backends are
+     * being created see no backend at all, so the index is checked against
+     * the loaded entries and not only against the size of the array.
+     */
+    private TornadoAcceleratorBackend getLoadedBackend(TornadoAcceleratorBackend[] backends, int index) {
+        if (index < 0 || index >= backends.length || backends[index] == null) {
+            throw new TornadoBackendNotFound(STR."[ERROR] Backend with index \{index} is not loaded");
+        }
+        return backends[index];
     }
 
     @Override
     public void setDefaultBackend(int index) {
-        TornadoAcceleratorBackend tmp = tornadoVMBackends[0];
-        tornadoVMBackends[0] = tornadoVMBackends[index];
-        tornadoVMBackends[index] = tmp;
+        TornadoAcceleratorBackend[] backends = getBackends();
+        getLoadedBackend(backends, index);
+        TornadoAcceleratorBackend tmp = backends[0];
+        backends[0] = backends[index];
+        backends[index] = tmp;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <D extends TornadoBackend> D getBackend(Class<D> type) {
-        for (TornadoAcceleratorBackend backend : tornadoVMBackends) {
-            if (backend.getClass() == type) {
+        for (TornadoAcceleratorBackend backend : getBackends()) {
+            if (backend != null && backend.getClass() == type) {
                 return (D) backend;
             }
         }
@@ -221,17 +409,19 @@ public final class TornadoCoreRuntime implements TornadoRuntimeInterface {
 
     @Override
     public TornadoVMBackendType getBackendType(int index) {
-        return tornadoVMBackends[index].getBackendType();
+        return getLoadedBackend(getBackends(), index).getBackendType();
     }
 
     @Override
     public int getNumBackends() {
+        getBackends();
         return backendCount;
     }
 
     @Override
     public TornadoXPUDevice getDefaultDevice() {
-        return (tornadoVMBackends == null || tornadoVMBackends[DEFAULT_BACKEND] == null) ? JVM : (TornadoXPUDevice) tornadoVMBackends[DEFAULT_BACKEND].getDefaultDevice();
+        TornadoAcceleratorBackend[] backends = getBackends();
+        return (backends[DEFAULT_BACKEND] == null) ? JVM : (TornadoXPUDevice) backends[DEFAULT_BACKEND].getDefaultDevice();
     }
 
 }
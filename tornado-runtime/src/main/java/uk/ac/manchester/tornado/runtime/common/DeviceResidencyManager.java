@@ -0,0 +1,279 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import static uk.ac.manchester.tornado.runtime.common.RuntimeUtilities.humanReadableByteCount;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+
+/**
+ * Tracks the device buffers that stay allocated between executions (the
+ * buffers of the objects of an execution plan) in the order in which they were
+ * last used, across all the execution plans that share a device.
+ *
+ * <p>
+ * When the device runs out of memory, the buffer provider of the backend asks
+ * the manager to release the least-recently-used buffers. The contents of the
+ * buffers that kernels have written are copied back to the host objects before
+ * the buffers are released. The interpreter allocates and uploads evicted
+ * buffers again the next time they are used, so working sets that do not fit
+ * in the device run slower instead of failing.
+ * </p>
+ *
+ * <p>
+ * Only the buffers of the execution plans that are not running, and the
+ * buffers of the plan that needs the memory, can be evicted. The buffers of the
+ * kernel that is being launched are pinned. Atomic regions, zero-copy buffers,
+ * slices of device arenas and buffers allocated for batches are never tracked.
+ * </p>
+ *
+ * <p>
+ * The write-back updates the host object of the buffer. Therefore, a buffer
+ * that kernels have written is only evicted if its task graph copies the
+ * object to the host ({@code transferToHost}, including
+ * {@code UNDER_DEMAND}). Buffers of objects that only live on the device stay
+ * allocated.
+ * </p>
+ *
+ * <p>
+ * Eviction is enabled with {@code -Dtornado.device.oversubscription=True}.
+ * </p>
+ */
+public final class DeviceResidencyManager {
+
+    private static final Map<TornadoDeviceContext, DeviceResidencyManager> MANAGERS = new ConcurrentHashMap<>();
+
+    private final TornadoLogger logger;
+
+    /**
+     * Tracked buffers in access order, from the least to the most recently
+     * used.
+     */
+    private final LinkedHashMap<XPUDeviceBufferState, ResidentBuffer> residents;
+
+    /**
+     * Number of interpreters of each execution plan that are running bytecodes
+     * on the device.
+     */
+    private final Map<Long, Integer> runningPlans;
+
+    /**
+     * Execution plan whose bytecodes the current thread is running, or null.
+     */
+    private final ThreadLocal<Long> currentPlan;
+
+    private long numEvictions;
+    private long numEvictedBytes;
+    private long numRestores;
+
+    private DeviceResidencyManager() {
+        this.logger = new TornadoLogger(this.getClass());
+        this.residents = new LinkedHashMap<>(16, 0.75f, true);
+        this.runningPlans = new HashMap<>();
+        this.currentPlan = new ThreadLocal<>();
+    }
+
+    /**
+     * @param deviceContext
+     *     context of the device
+     * @return the residency manager of the device
+     */
+    public static DeviceResidencyManager getInstance(TornadoDeviceContext deviceContext) {
+        return MANAGERS.computeIfAbsent(deviceContext, _ -> new DeviceResidencyManager());
+    }
+
+    public static boolean isEnabled() {
+        return TornadoOptions.DEVICE_OVERSUBSCRIPTION;
+    }
+
+    private static boolean isEvictable(XPUDeviceBufferState state) {
+        XPUBuffer buffer = state.getXPUBuffer();
+        return buffer != null && !state.isAtomicRegionPresent() && !buffer.isZeroCopy() && !buffer.isArenaSlice() && buffer.getSizeSubRegionSize() == 0;
+    }
+
+    /**
+     * Registers a buffer, or marks it as the most recently used one.
+     *
+     * @param state
+     *     state of the buffer on the device
+     * @param object
+     *     host object of the buffer
+     * @param device
+     *     device that owns the buffer
+     * @param executionPlanId
+     *     execution plan that uses the buffer. Write-backs are enqueued in the
+     *     command queue of this plan.
+     * @param copiedToHost
+     *     whether the task graph copies the object to the host. Otherwise, the
+     *     buffer is not evicted once kernels have written it.
+     */
+    public synchronized void track(XPUDeviceBufferState state, Object object, TornadoXPUDevice device, long executionPlanId, boolean copiedToHost) {
+        if (!isEvictable(state)) {
+            return;
+        }
+        ResidentBuffer resident = residents.get(state);
+        if (resident == null) {
+            residents.put(state, new ResidentBuffer(object, device, executionPlanId, copiedToHost));
+        } else {
+            resident.executionPlanId = executionPlanId;
+            resident.copiedToHost = copiedToHost;
+        }
+    }
+
+    public synchronized void untrack(XPUDeviceBufferState state) {
+        residents.remove(state);
+    }
+
+    /**
+     * Prevents the eviction of a buffer until {@link #unpin} is called.
+     */
+    public synchronized void pin(XPUDeviceBufferState state) {
+        ResidentBuffer resident = residents.get(state);
+        if (resident != null) {
+            resident.pinCount++;
+        }
+    }
+
+    public synchronized void unpin(XPUDeviceBufferState state) {
+        ResidentBuffer resident = residents.get(state);
+        if (resident != null && resident.pinCount > 0) {
+            resident.pinCount--;
+        }
+    }
+
+    /**
+     * Marks the execution plan as running on the device in the current thread.
+     * Its buffers cannot be evicted by other execution plans until
+     * {@link #endExecution} is called.
+     */
+    public synchronized void beginExecution(long executionPlanId) {
+        runningPlans.merge(executionPlanId, 1, Integer::sum);
+        currentPlan.set(executionPlanId);
+    }
+
+    public synchronized void endExecution(long executionPlanId) {
+        runningPlans.computeIfPresent(executionPlanId, (_, count) -> count > 1 ? count - 1 : null);
+        currentPlan.remove();
+    }
+
+    private boolean isUsedByAnotherPlan(ResidentBuffer resident) {
+        Long executionPlanId = currentPlan.get();
+        return runningPlans.containsKey(resident.executionPlanId) && (executionPlanId == null || executionPlanId != resident.executionPlanId);
+    }
+
+    /**
+     * Counts a buffer that was evicted and allocated again.
+     */
+    public synchronized void restored(XPUDeviceBufferState state) {
+        numRestores++;
+        logger.debug("Restored evicted buffer %s", state);
+    }
+
+    /**
+     * Releases the least-recently-used buffers that are not pinned until the
+     * given number of bytes is released or no buffer can be evicted. The
+     * buffers are returned to the buffer provider of the device.
+     *
+     * @param numBytes
+     *     number of bytes to release
+     * @return the number of bytes released
+     */
+    public synchronized long evict(long numBytes) {
+        long releasedBytes = 0;
+        Iterator<Map.Entry<XPUDeviceBufferState, ResidentBuffer>> iterator = residents.entrySet().iterator();
+        while (releasedBytes < numBytes && iterator.hasNext()) {
+            Map.Entry<XPUDeviceBufferState, ResidentBuffer> entry = iterator.next();
+            XPUDeviceBufferState state = entry.getKey();
+            ResidentBuffer resident = entry.getValue();
+            if (!state.hasObjectBuffer()) {
+                // The buffer was released by its execution plan
+                iterator.remove();
+                continue;
+            }
+            if (resident.pinCount > 0 || !isEvictable(state) || isUsedByAnotherPlan(resident)) {
+                continue;
+            }
+            if (state.isDirty() && !resident.copiedToHost) {
+                // The write-back would overwrite a host object that the task graph never copies back
+                continue;
+            }
+
+            XPUBuffer buffer = state.getXPUBuffer();
+            long size = buffer.size();
+            if (state.isDirty()) {
+                // Blocking read, ordered after the kernels of the plan that wrote the buffer
+                buffer.read(resident.executionPlanId, resident.object);
+            } else {
+                // Kernels of the plan may still be reading the buffer
+                resident.device.sync(resident.executionPlanId);
+            }
+            buffer.deallocate();
+            state.setXPUBuffer(null);
+            state.setContents(false);
+            state.setDirty(false);
+            state.setEvicted(true);
+            iterator.remove();
+
+            releasedBytes += size;
+            numEvictions++;
+            numEvictedBytes += size;
+            logger.debug("Evicted buffer of %s from the device (%s)", resident.object.getClass().getSimpleName(), humanReadableByteCount(size, true));
+        }
+        return releasedBytes;
+    }
+
+    public synchronized long getNumEvictions() {
+        return numEvictions;
+    }
+
+    public synchronized long getNumEvictedBytes() {
+        return numEvictedBytes;
+    }
+
+    public synchronized long getNumRestores() {
+        return numRestores;
+    }
+
+    private static final class ResidentBuffer {
+        private final Object object;
+        private final TornadoXPUDevice device;
+        private long executionPlanId;
+        private boolean copiedToHost;
+        private int pinCount;
+
+        private ResidentBuffer(Object object, TornadoXPUDevice device, long executionPlanId, boolean copiedToHost) {
+            this.object = object;
+            this.device = device;
+            this.executionPlanId = executionPlanId;
+            this.copiedToHost = copiedToHost;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.util.Arrays;
+
+/**
+ * Arguments that were last set on a kernel object of a driver. OpenCL and
+ * Level Zero keep the arguments of a kernel between launches, so an argument
+ * only needs to be set again when its value or its size changes. There must be
+ * one cache per driver kernel object.
+ */
+public final class KernelArgumentCache {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] values;
+    private int[] sizes;
+
+    public KernelArgumentCache() {
+        this.values = new long[INITIAL_CAPACITY];
+        this.sizes = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Records the value of an argument.
+     *
+     * @param index
+     *     index of the argument in the kernel
+     * @param value
+     *     raw bits of the value
+     * @param size
+     *     size of the value in bytes
+     * @return true if the argument was never set or its value changed, so the
+     *     driver must be called.
+     */
+    public boolean update(int index, long value, int size) {
+        if (index >= sizes.length) {
+            int capacity = Math.max(index + 1, sizes.length << 1);
+            values = Arrays.copyOf(values, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        if (sizes[index] == size && values[index] == value) {
+            return false;
+        }
+        values[index] = value;
+        sizes[index] = size;
+        return true;
+    }
+
+    public boolean update(int index, long value) {
+        return update(index, value, Long.BYTES);
+    }
+
+    /**
+     * Forgets an argument that was set through a different path (e.g., a
+     * constant or local memory region), so it is set again in the next update.
+     */
+    public void invalidate(int index) {
+        if (index < sizes.length) {
+            sizes[index] = 0;
+        }
+    }
+
+    public void invalidateAll() {
+        Arrays.fill(sizes, 0);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+
+/**
+ * Preallocated block with the arguments of a kernel launch. Each argument is
+ * stored as its kind and the raw bits of its value, so pushing the arguments of
+ * a launch does not allocate or box values, and backends can compare them with
+ * the arguments of the previous launch (see {@link KernelArgumentCache}).
+ */
+public final class KernelArguments {
+
+    public enum Kind {
+        REFERENCE(Long.BYTES), //
+        KERNEL_CONTEXT(Long.BYTES), //
+        BYTE(Byte.BYTES), //
+        CHAR(Character.BYTES), //
+        SHORT(Short.BYTES), //
+        INT(Integer.BYTES), //
+        FLOAT(Float.BYTES), //
+        LONG(Long.BYTES), //
+        DOUBLE(Double.BYTES);
+
+        private final int size;
+
+        Kind(int size) {
+            this.size = size;
+        }
+
+        /**
+         * @return size of the argument in bytes.
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+
+    private Kind[] kinds;
+    private long[] values;
+    private int size;
+
+    public KernelArguments(int capacity) {
+        this.kinds = new Kind[Math.max(capacity, 1)];
+        this.values = new long[kinds.length];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Kind getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * @return raw bits of the argument: the device handle of a reference, the
+     *     sign-extended value of an integer type, or the IEEE 754 bits of a
+     *     floating-point type.
+     */
+    public long getRawValue(int index) {
+        return values[index];
+    }
+
+    public boolean isReference(int index) {
+        return kinds[index] == Kind.REFERENCE;
+    }
+
+    public boolean isKernelContext(int index) {
+        return kinds[index] == Kind.KERNEL_CONTEXT;
+    }
+
+    /**
+     * @return the argument converted to a long, as
+     *     {@link Number#longValue()} does for boxed values.
+     */
+    public long getLongValue(int index) {
+        return switch (kinds[index]) {
+            case FLOAT -> (long) Float.intBitsToFloat((int) values[index]);
+            case DOUBLE -> (long) Double.longBitsToDouble(values[index]);
+            default -> values[index];
+        };
+    }
+
+    private void add(Kind kind, long value) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        kinds[size] = kind;
+        values[size] = value;
+        size++;
+    }
+
+    public void addReference(long buffer) {
+        add(Kind.REFERENCE, buffer);
+    }
+
+    public void addKernelContext() {
+        add(Kind.KERNEL_CONTEXT, 0);
+    }
+
+    /**
+     * Adds a scalar argument. Values come already boxed from the constant
+     * table of the task graph, so they are only unboxed here.
+     */
+    public void addPrimitive(Object value) {
+        switch (value) {
+            case Byte byteValue -> add(Kind.BYTE, byteValue);
+            case Boolean booleanValue -> add(Kind.BYTE, booleanValue ? 1 : 0);
+            case Character charValue -> add(Kind.CHAR, charValue);
+            case Short shortValue -> add(Kind.SHORT, shortValue);
+            case HalfFloat halfFloat -> add(Kind.SHORT, halfFloat.getHalfFloatValue());
+            case Integer intValue -> add(Kind.INT, intValue);
+            case Float floatValue -> add(Kind.FLOAT, Float.floatToRawIntBits(floatValue));
+            case Long longValue -> add(Kind.LONG, longValue);
+            case Double doubleValue -> add(Kind.DOUBLE, Double.doubleToRawLongBits(doubleValue));
+            case null -> throw new TornadoRuntimeException("[ERROR] Kernel argument is null");
+            default -> throw new TornadoRuntimeException("[ERROR] Unsupported kernel argument type: " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Writes an argument in its native size.
+     */
+    public void put(ByteBuffer buffer, int index) {
+        long value = values[index];
+        switch (kinds[index]) {
+            case BYTE -> buffer.put((byte) value);
+            case CHAR -> buffer.putChar((char) value);
+            case SHORT -> buffer.putShort((short) value);
+            case INT, FLOAT -> buffer.putInt((int) value);
+            case LONG, DOUBLE, REFERENCE -> buffer.putLong(value);
+            case KERNEL_CONTEXT -> TornadoInternalError.shouldNotReachHere("The kernel context is not serialised");
+        }
+    }
+}
@@ -23,38 +23,47 @@
  */
 package uk.ac.manchester.tornado.runtime.common;
 
-import java.util.HashMap;
-import java.util.List;
-
 public interface KernelStackFrame {
 
-    // Marks an argument of type KernelContext being passed explicitly as a parameter.
-    class KernelContextArgument {
-    }
-
-    class CallArgument {
-        private final Object value;
-        private final boolean isReferenceType;
-
-        public CallArgument(Object value, boolean isReferenceType) {
-            this.value = value;
-            this.isReferenceType = isReferenceType;
-        }
+    /**
+     * @return preallocated block with the arguments of the next launch.
+     */
+    KernelArguments getArguments();
 
-        public Object getValue() {
-            return value;
-        }
-
-        public boolean isReferenceType() {
-            return isReferenceType;
-        }
+    default void reset() {
+        getArguments().reset();
     }
 
-    void reset();
+    /**
+     * Adds a buffer argument (arrays, vector types, panama regions).
+     *
+     * @param buffer
+     *     device handle of the buffer
+     */
+    default void addReferenceArgument(long buffer) {
+        getArguments().addReference(buffer);
+    }
 
-    List<CallArgument> getCallArguments();
+    /**
+     * Adds a boxed scalar value from the constant table.
+     */
+    default void addPrimitiveArgument(Object value) {
+        getArguments().addPrimitive(value);
+    }
 
-    void addCallArgument(Object value, boolean isReferenceType);
+    /**
+     * Marks an argument of type KernelContext being passed explicitly as a
+     * parameter.
+     */
+    default void addKernelContextArgument() {
+        getArguments().addKernelContext();
+    }
 
-    void setKernelContext(HashMap<Integer, Integer> map);
+    /**
+     * Writes the header of the kernel context.
+     *
+     * @param globalWork
+     *     number of threads per dimension set by the grid scheduler, or null
+     */
+    void setKernelContext(long[] globalWork);
 }
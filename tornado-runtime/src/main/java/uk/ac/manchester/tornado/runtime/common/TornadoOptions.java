@@ -87,6 +87,12 @@ public class TornadoOptions {
      * Option to set the device maximum memory usage. It is set to 1GB by default.
      */
     public static final long DEVICE_AVAILABLE_MEMORY = RuntimeUtilities.parseSize(System.getProperty("tornado.device.memory", "1GB"));
+    /**
+     * Option to evict the least-recently-used buffers of the execution plans
+     * back to the host when the device runs out of memory, instead of failing
+     * the execution. It is disabled by default.
+     */
+    public static final boolean DEVICE_OVERSUBSCRIPTION = getBooleanValue("tornado.device.oversubscription", FALSE);
     /**
      * Option to enable exceptions for the OpenCL generated code. This is
      * experimental.
@@ -102,6 +108,11 @@ public class TornadoOptions {
      * reductions.
      */
     public static final boolean EXPERIMENTAL_REDUCE = getBooleanValue("tornado.experimental.reduce", TRUE);
+    /**
+     * Option to use sub-group (warp) operations in the partial reductions of
+     * the GPU snippets, on devices that support them.
+     */
+    public static final boolean SUB_GROUP_REDUCE = getBooleanValue("tornado.reduce.subgroups", TRUE);
     /**
      * Temporal option for disabling null checks for Apache-Flink.
      */
@@ -110,6 +121,22 @@ public class TornadoOptions {
      * Option to enable profiler-feature extractions.
      */
     public static final boolean FEATURE_EXTRACTION = getBooleanValue("tornado.feature.extraction", FALSE);
+    /**
+     * Option to enable the memory coalescing analysis of the generated kernels. It reports, per task, the global memory
+     * accesses that are strided across consecutive threads. False by default.
+     */
+    public static final boolean COALESCING_ANALYSIS = getBooleanValue("tornado.coalescing.analysis", FALSE);
+    /**
+     * File to which the memory coalescing analysis appends its report of each task, in JSON format. If it is empty,
+     * the report is logged in debug mode.
+     */
+    public static final String COALESCING_ANALYSIS_FILE = getProperty("tornado.coalescing.analysis.file", "");
+    /**
+     * Option to store the {@code VectorFloat3} and {@code VectorFloat4} collections as a struct of arrays on OpenCL
+     * devices: all the x components, followed by all the y components, and so on. The kernels access each component
+     * in a coalesced way, and the layout is converted during the transfers. False by default.
+     */
+    public static final boolean SOA_LAYOUT = getBooleanValue("tornado.soa.layout", FALSE);
     /**
      * Enable/Disable FMA Optimizations. True by default.
      */
@@ -153,6 +180,23 @@ public class TornadoOptions {
      * virtual-device.json.
      */
     public static final String VIRTUAL_DEVICE_FILE = Tornado.getProperty("tornado.device.desc", "etc/virtual-device-template.json");
+    /**
+     * Comma-separated list of remote workers (host:port) started with
+     * {@code tornado --worker PORT}. The OpenCL backend exposes each worker as a
+     * platform, after the local OpenCL platforms. Default is empty.
+     */
+    public static final String REMOTE_DEVICES = getProperty("tornado.remote.devices", "");
+    /**
+     * Shared secret of the remote workers. The host sends it in the handshake,
+     * and a worker does not serve any command of a connection with a different
+     * token. It is required to start a worker.
+     */
+    public static final String REMOTE_TOKEN = getProperty("tornado.remote.token", "");
+    /**
+     * Address a remote worker listens on. Default is the loopback address, so
+     * the worker is only reachable from the same machine.
+     */
+    public static final String REMOTE_WORKER_ADDRESS = getProperty("tornado.remote.worker.address", "");
     /**
      * Option to redirect profiler output.
      */
@@ -182,6 +226,12 @@ public class TornadoOptions {
      * Sets the number of threads for the Tornado Sketcher. Default is 4.
      */
     public static final int TORNADO_SKETCHER_THREADS = Integer.parseInt(getProperty("tornado.sketcher.threads", "4"));
+    /**
+     * Loads the backends (e.g., OpenCL, PTX and SPIR-V) in parallel threads. The
+     * compiler state of each device is always created on the first use of the
+     * device. True by default.
+     */
+    public static final boolean PARALLEL_BACKEND_INIT = getBooleanValue("tornado.backends.parallel.init", TRUE);
     /**
      * It enables automatic discovery and parallelization of loops. Please note that
      * this option is experimental and may cause issues if enabled.
@@ -269,6 +319,14 @@ public class TornadoOptions {
      */
     public static final boolean CONCURRENT_INTERPRETERS = Boolean.parseBoolean(System.getProperty("tornado.concurrent.devices", FALSE));
 
+    /**
+     * Option to allocate the native arrays in the pinned host memory of the
+     * default device. The runtime sets the allocator of
+     * {@link uk.ac.manchester.tornado.api.memory.PinnedMemory} once it has loaded
+     * the backends. False by default.
+     */
+    public static final boolean PINNED_MEMORY = getBooleanValue("tornado.pinned.memory", FALSE);
+
     /**
      * Panama Object Header in TornadoVM.
      */
@@ -287,6 +345,14 @@ public class TornadoOptions {
      */
     public static boolean USE_BLOCK_SCHEDULER = getBooleanValue("tornado.scheduler.block", FALSE);
 
+    /**
+     * Option to use the lock-free profiler, which can be updated concurrently by
+     * the interpreters of a task-graph. When it is disabled, the synchronized
+     * {@link uk.ac.manchester.tornado.runtime.profiler.TimeProfiler} is used.
+     * True by default.
+     */
+    public static final boolean CONCURRENT_PROFILER = getBooleanValue("tornado.profiler.concurrent", TRUE);
+
     public static boolean TORNADO_PROFILER_LOG = false;
 
     public static boolean TORNADO_PROFILER = false;
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+
+/**
+ * Analytical model of the execution times of a device. It is implemented by
+ * the devices that compile the code but do not run it (e.g., the virtual
+ * OpenCL device), so the TornadoVM interpreter can report the times that the
+ * data transfers and the kernels would take on the modelled hardware.
+ */
+public interface TornadoPerformanceModel {
+
+    /**
+     * @return predicted time, in ns, to copy the given number of bytes from the
+     *     host to the device.
+     */
+    long predictCopyInTime(long numBytes);
+
+    /**
+     * @return predicted time, in ns, to copy the given number of bytes from the
+     *     device to the host.
+     */
+    long predictCopyOutTime(long numBytes);
+
+    /**
+     * @return predicted time, in ns, of the kernel that was last compiled for the
+     *     task, or 0 if the task has not been compiled for the device.
+     */
+    long predictKernelTime(SchedulableTask task);
+}
@@ -24,6 +24,8 @@ package uk.ac.manchester.tornado.runtime.common;
 
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 
 /**
@@ -178,4 +180,57 @@ public interface TornadoXPUDevice extends TornadoDevice {
      */
     boolean loopIndexInWrite(SchedulableTask task);
 
+    /**
+     * It creates an arena of device memory that the buffers of an execution
+     * plan are sub-allocated from. The memory of the arena is reserved with
+     * the first slice.
+     *
+     * @param capacity
+     *     size of the arena in bytes
+     * @return the {@link DeviceArena}, or null if the backend does not support
+     *     sub-allocation.
+     */
+    default DeviceArena createDeviceArena(long capacity) {
+        return null;
+    }
+
+    /**
+     * It creates a device buffer for the storage that is shared by several
+     * objects of an execution plan, such as a tensor and its views. The memory
+     * is reserved when the first object is allocated.
+     *
+     * @param objects
+     *     objects that share the storage
+     * @return the {@link SharedDeviceStorage}, or null if the backend copies each
+     *     object to its own buffer.
+     */
+    default SharedDeviceStorage createSharedStorage(Object[] objects) {
+        return null;
+    }
+
+    /**
+     * It returns whether the commands of an execution plan can be enqueued on
+     * several command queues of the device. Commands on different queues only
+     * wait for the events that they receive in their wait lists.
+     *
+     * @return true if the backend supports {@link #selectCommandQueue}.
+     */
+    default boolean isMultiQueueSupported() {
+        return false;
+    }
+
+    /**
+     * It selects the command queue of an execution plan that the following
+     * commands of the current thread are enqueued on. The queue is created the
+     * first time it is selected, and {@link #sync} waits for all the queues of the
+     * execution plan.
+     *
+     * @param executionPlanId
+     *     id of the execution plan
+     * @param queueIndex
+     *     index of the queue, starting from 0
+     */
+    default void selectCommandQueue(long executionPlanId, int queueIndex) {
+    }
+
 }
@@ -25,7 +25,9 @@ package uk.ac.manchester.tornado.runtime.common;
 
 import static uk.ac.manchester.tornado.runtime.common.RuntimeUtilities.humanReadableByteCount;
 
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 
 public class XPUDeviceBufferState implements DeviceBufferState {
@@ -36,6 +38,11 @@ public class XPUDeviceBufferState implements DeviceBufferState {
     private boolean contents;
     private boolean lockBuffer;
     private long partialSize;
+    private boolean unifiedMemory;
+    private DeviceArena deviceArena;
+    private SharedDeviceStorage sharedStorage;
+    private boolean dirty;
+    private boolean evicted;
 
     @Override
     public void setXPUBuffer(XPUBuffer value) {
@@ -108,6 +115,61 @@ public class XPUDeviceBufferState implements DeviceBufferState {
         return this.partialSize;
     }
 
+    @Override
+    public void setUnifiedMemory(boolean unifiedMemory) {
+        this.unifiedMemory = unifiedMemory;
+    }
+
+    @Override
+    public boolean isUnifiedMemory() {
+        return unifiedMemory;
+    }
+
+    @Override
+    public void setDeviceArena(DeviceArena deviceArena) {
+        this.deviceArena = deviceArena;
+    }
+
+    @Override
+    public DeviceArena getDeviceArena() {
+        return deviceArena;
+    }
+
+    @Override
+    public void setSharedStorage(SharedDeviceStorage sharedStorage) {
+        this.sharedStorage = sharedStorage;
+    }
+
+    @Override
+    public SharedDeviceStorage getSharedStorage() {
+        return sharedStorage;
+    }
+
+    /**
+     * @return true if a kernel may have written the buffer since the last
+     *     transfer between the host and the device.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * @return true if the buffer was released by the
+     *     {@link DeviceResidencyManager} and the host object holds the latest
+     *     contents.
+     */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    public void setEvicted(boolean evicted) {
+        this.evicted = evicted;
+    }
+
     public XPUDeviceBufferState createSnapshot() {
         XPUDeviceBufferState xpuDeviceBufferState = new XPUDeviceBufferState();
         xpuDeviceBufferState.setLockBuffer(this.isLockedBuffer());
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.nodes;
+
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ValueNode;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Conversion of a {@link uk.ac.manchester.tornado.api.types.HalfFloat} to a
+ * 32-bit float ({@code HalfFloat::getFloat32}). The input is the half-float
+ * object, which is replaced by its value when the half-float operations are
+ * lowered, and the conversion is then done in registers by a cast of each
+ * backend.
+ */
+@NodeInfo(shortName = "FLOAT16->FLOAT")
+public class HalfFloatToFloatNode extends ValueNode {
+
+    public static final NodeClass<HalfFloatToFloatNode> TYPE = NodeClass.create(HalfFloatToFloatNode.class);
+
+    @Input
+    private ValueNode input;
+
+    public HalfFloatToFloatNode(ValueNode input) {
+        super(TYPE, StampFactory.forKind(JavaKind.Float));
+        this.input = input;
+    }
+
+    public ValueNode getInput() {
+        return input;
+    }
+}
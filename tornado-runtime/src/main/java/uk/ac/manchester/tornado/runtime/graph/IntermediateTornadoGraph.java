@@ -95,6 +95,22 @@ public class IntermediateTornadoGraph {
         }
     }
 
+    /**
+     * It adds a dependency that is not an input of the node, such as a task that
+     * reads an object before the node overwrites it.
+     *
+     * @param index
+     *     The index of the node in the dependency lists.
+     * @param nodeId
+     *     The id of the node it depends on.
+     */
+    public void addDependency(int index, int nodeId) {
+        if (dependencies[index].isEmpty()) {
+            numberOfDependencies++;
+        }
+        dependencies[index].set(nodeId);
+    }
+
     private BitSet calculateDependencies(TornadoGraph graph, int i) {
         final BitSet dependencies = new BitSet(graph.getValid().length());
         final AbstractNode node = graph.getNode(i);
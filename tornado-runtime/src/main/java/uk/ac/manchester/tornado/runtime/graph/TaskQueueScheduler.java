@@ -0,0 +1,208 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyOutNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.StreamInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
+
+/**
+ * It distributes the nodes of a {@link TornadoGraph} over several command queues
+ * of the same device, so independent tasks can run concurrently.
+ *
+ * <p>
+ * The dependencies between tasks are computed from the {@link Access} of their
+ * arguments. A task depends on the last task that wrote any object it accesses
+ * (read-after-write and write-after-write), and a task that writes an object
+ * also depends on the tasks that read it since its last write (write-after-read).
+ * The write-after-read dependencies are not inputs of the nodes, so they are
+ * added to the {@link IntermediateTornadoGraph}.
+ * </p>
+ *
+ * <p>
+ * A task continues the queue of its first predecessor that has no other
+ * successor yet, so a chain of dependent tasks stays in order on one queue and
+ * only needs events to synchronise with the other queues. A task that starts a
+ * new branch takes an unused queue, or the queue with the fewest tasks when all
+ * of them are in use. Transfers to the device go to the queue of the first task
+ * that uses them, and transfers to the host go to the queue of the task that
+ * produces them.
+ * </p>
+ */
+public class TaskQueueScheduler {
+
+    private final TornadoGraph graph;
+    private final IntermediateTornadoGraph intermediateTornadoGraph;
+    private final int numQueues;
+    private final int[] queues;
+
+    /**
+     * @param numQueues
+     *     The number of command queues of the device. With a single queue, all
+     *     nodes are scheduled on it and the graph is not modified.
+     */
+    public TaskQueueScheduler(TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, int numQueues) {
+        this.graph = graph;
+        this.intermediateTornadoGraph = intermediateTornadoGraph;
+        this.numQueues = numQueues;
+        this.queues = new int[intermediateTornadoGraph.getNodeIds().length];
+    }
+
+    public boolean isEnabled() {
+        return numQueues > 1;
+    }
+
+    /**
+     * @param index
+     *     The index of the node in the dependency lists.
+     * @return the command queue of the node.
+     */
+    public int getQueue(int index) {
+        return queues[index];
+    }
+
+    public void schedule() {
+        if (!isEnabled()) {
+            return;
+        }
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+        final Map<Integer, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < nodeIds.length; i++) {
+            indexes.put(nodeIds[i], i);
+        }
+
+        final BitSet tasks = intermediateTornadoGraph.getTasks();
+        final Map<Integer, TaskNode> lastWriters = new HashMap<>();
+        final Map<Integer, List<TaskNode>> readers = new HashMap<>();
+        final Map<AbstractNode, Integer> firstUses = new HashMap<>();
+        final int[] tails = new int[numQueues];
+        final int[] load = new int[numQueues];
+        Arrays.fill(tails, -1);
+        int usedQueues = 0;
+
+        for (int i = tasks.nextSetBit(0); i != -1; i = tasks.nextSetBit(i + 1)) {
+            final TaskNode task = (TaskNode) graph.getNode(nodeIds[i]);
+            final BitSet predecessors = new BitSet(nodeIds.length);
+
+            for (int arg = 0; arg < task.getNumArgs(); arg++) {
+                final AbstractNode argNode = task.getArg(arg);
+                final int object = getObjectIndex(argNode);
+                if (object == -1) {
+                    continue;
+                }
+                firstUses.putIfAbsent(argNode, i);
+                if (lastWriters.containsKey(object)) {
+                    predecessors.set(indexes.get(lastWriters.get(object).getId()));
+                }
+                if (isWrite(task.getArgAccess(arg))) {
+                    for (TaskNode reader : readers.getOrDefault(object, List.of())) {
+                        predecessors.set(indexes.get(reader.getId()));
+                        intermediateTornadoGraph.addDependency(i, reader.getId());
+                    }
+                }
+            }
+
+            for (int arg = 0; arg < task.getNumArgs(); arg++) {
+                final int object = getObjectIndex(task.getArg(arg));
+                if (object != -1 && isRead(task.getArgAccess(arg))) {
+                    readers.computeIfAbsent(object, k -> new ArrayList<>()).add(task);
+                }
+            }
+            for (int arg = 0; arg < task.getNumArgs(); arg++) {
+                final int object = getObjectIndex(task.getArg(arg));
+                if (object != -1 && isWrite(task.getArgAccess(arg))) {
+                    lastWriters.put(object, task);
+                    readers.remove(object);
+                }
+            }
+
+            int queue = -1;
+            for (int p = predecessors.nextSetBit(0); p != -1 && queue == -1; p = predecessors.nextSetBit(p + 1)) {
+                if (tails[queues[p]] == p) {
+                    queue = queues[p];
+                }
+            }
+            if (queue == -1) {
+                queue = (usedQueues < numQueues) ? usedQueues++ : leastLoaded(load);
+            }
+            queues[i] = queue;
+            tails[queue] = i;
+            load[queue]++;
+        }
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            final AbstractNode node = graph.getNode(nodeIds[i]);
+            if (node instanceof CopyInNode || node instanceof StreamInNode || node instanceof AllocateNode) {
+                queues[i] = firstUses.containsKey(node) ? queues[firstUses.get(node)] : 0;
+            } else if (node instanceof CopyOutNode copyOutNode) {
+                queues[i] = queues[indexes.get(copyOutNode.getValue().getDependent().getId())];
+            }
+        }
+    }
+
+    private static int leastLoaded(int[] load) {
+        int queue = 0;
+        for (int i = 1; i < load.length; i++) {
+            if (load[i] < load[queue]) {
+                queue = i;
+            }
+        }
+        return queue;
+    }
+
+    // Unknown accesses are handled as reads and writes
+    private static boolean isRead(Access access) {
+        return access == Access.NONE || (access.position & Access.READ_ONLY.position) != 0;
+    }
+
+    private static boolean isWrite(Access access) {
+        return access == Access.NONE || (access.position & Access.WRITE_ONLY.position) != 0;
+    }
+
+    private static int getObjectIndex(AbstractNode argNode) {
+        if (argNode instanceof CopyInNode copyInNode) {
+            return copyInNode.getValue().getIndex();
+        } else if (argNode instanceof StreamInNode streamInNode) {
+            return streamInNode.getValue().getIndex();
+        } else if (argNode instanceof AllocateNode allocateNode) {
+            return allocateNode.getValue().getIndex();
+        } else if (argNode instanceof DependentReadNode dependentReadNode) {
+            return dependentReadNode.getValue().getIndex();
+        } else if (argNode instanceof CopyOutNode copyOutNode) {
+            return copyOutNode.getValue().getValue().getIndex();
+        }
+        return -1;
+    }
+}
@@ -45,12 +45,18 @@ import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.memory.DeviceArena;
+import uk.ac.manchester.tornado.api.memory.SharedDeviceStorage;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface;
 import uk.ac.manchester.tornado.api.types.images.TornadoImagesInterface;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixDouble;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.ELLMatrixFloat;
 import uk.ac.manchester.tornado.api.types.matrix.TornadoMatrixInterface;
+import uk.ac.manchester.tornado.api.types.tensors.Tensor;
 import uk.ac.manchester.tornado.api.types.vectors.TornadoVectorsInterface;
 import uk.ac.manchester.tornado.api.types.volumes.TornadoVolumesInterface;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
@@ -82,6 +88,13 @@ public class TornadoExecutionContext {
     private int nextTask;
     private long batchSize;
     private long executionPlanMemoryLimit;
+    private boolean unifiedMemory;
+    private long deviceArenaCapacity;
+    private Map<TornadoXPUDevice, DeviceArena> deviceArenas;
+    private Map<TornadoXPUDevice, Map<Long, SharedDeviceStorage>> sharedStorages;
+    private int numIterations;
+    private Object iterationStopCondition;
+    private List<Object[]> swapBuffers;
     private Set<TornadoXPUDevice> lastDevices;
     private boolean redeployOnDevice;
     private boolean defaultScheduler;
@@ -106,6 +119,11 @@ public class TornadoExecutionContext {
         nextTask = 0;
         batchSize = INIT_VALUE;
         executionPlanMemoryLimit = INIT_VALUE;
+        deviceArenaCapacity = INIT_VALUE;
+        deviceArenas = new HashMap<>();
+        sharedStorages = new HashMap<>();
+        numIterations = 1;
+        swapBuffers = new ArrayList<>();
         lastDevices = new HashSet<>();
         this.profiler = null;
         this.isDataDependencyDetected = isDataDependencyInTaskGraph();
@@ -150,40 +168,198 @@ public class TornadoExecutionContext {
         this.executionPlanMemoryLimit = memoryLimitSize;
     }
 
+    public boolean isUnifiedMemory() {
+        return unifiedMemory;
+    }
+
+    public void setUnifiedMemory(boolean unifiedMemory) {
+        this.unifiedMemory = unifiedMemory;
+    }
+
+    public long getDeviceArenaCapacity() {
+        return deviceArenaCapacity;
+    }
+
+    public void setDeviceArenaCapacity(long deviceArenaCapacity) {
+        this.deviceArenaCapacity = deviceArenaCapacity;
+    }
+
+    public boolean isDeviceArenaEnabled() {
+        return deviceArenaCapacity != INIT_VALUE;
+    }
+
+    /**
+     * It returns the arena of the execution plan in the given device, and
+     * creates it the first time the device is used.
+     *
+     * @param device
+     *     {@link TornadoXPUDevice}
+     * @return the {@link DeviceArena}, or null if arenas are disabled or the
+     *     backend of the device does not support them.
+     */
+    public DeviceArena getDeviceArena(TornadoXPUDevice device) {
+        if (!isDeviceArenaEnabled()) {
+            return null;
+        }
+        return deviceArenas.computeIfAbsent(device, d -> d.createDeviceArena(deviceArenaCapacity));
+    }
+
+    /**
+     * It releases the memory of all the arenas of the execution plan. It must be
+     * called after the buffers allocated from them have been deallocated.
+     */
+    public void releaseDeviceArenas() {
+        deviceArenas.values().forEach(DeviceArena::release);
+        deviceArenas.clear();
+    }
+
+    /**
+     * It returns the device buffer that holds the storage of a tensor when other
+     * arguments of the task graph, such as the views of the tensor, share the
+     * same storage. All of them are bound to that buffer, so the storage is
+     * copied to the device once and the updates made through one argument are
+     * visible in the others.
+     *
+     * @param device
+     *     {@link TornadoXPUDevice}
+     * @param object
+     *     argument of the task graph
+     * @return the {@link SharedDeviceStorage}, or null if no other argument
+     *     shares the storage of the object.
+     */
+    public SharedDeviceStorage getSharedStorage(TornadoXPUDevice device, Object object) {
+        if (!(object instanceof Tensor tensor)) {
+            return null;
+        }
+        final long address = tensor.getSegmentWithHeader().address();
+        final Object[] tensors = objects.stream().filter(other -> other instanceof Tensor otherTensor && otherTensor.getSegmentWithHeader().address() == address).toArray();
+        if (tensors.length < 2) {
+            return null;
+        }
+        return sharedStorages.computeIfAbsent(device, d -> new HashMap<>()).computeIfAbsent(address, _ -> {
+            SharedDeviceStorage sharedStorage = device.createSharedStorage(tensors);
+            if (sharedStorage == null) {
+                throw new TornadoRuntimeException(STR."[ERROR] \{tensors[0]} and \{tensors[1]} share the same storage in the task-graph \{name}, and the device \{device} does not support shared storages. Pass a single view of the tensor to the task-graph");
+            }
+            return sharedStorage;
+        });
+    }
+
+    public int getNumIterations() {
+        return numIterations;
+    }
+
+    public Object getIterationStopCondition() {
+        return iterationStopCondition;
+    }
+
+    public void setIterations(int numIterations, Object stopCondition) {
+        this.numIterations = numIterations;
+        this.iterationStopCondition = stopCondition;
+    }
+
+    /**
+     * @return true if the bytecodes of the task-graph run the tasks in a
+     *     device-side iteration loop.
+     */
+    public boolean isIterationLoopEnabled() {
+        return numIterations > 1 || iterationStopCondition != null;
+    }
+
+    /**
+     * Registers a pair of objects whose device buffers are swapped between
+     * iterations. A pair that is already registered, in either order, is
+     * ignored.
+     *
+     * @return true if the pair was added.
+     * @throws TornadoRuntimeException
+     *     if one of the objects is already swapped with a different object.
+     */
+    public boolean addSwapBuffers(Object objectA, Object objectB) {
+        for (Object[] pair : swapBuffers) {
+            if ((pair[0] == objectA && pair[1] == objectB) || (pair[0] == objectB && pair[1] == objectA)) {
+                return false;
+            }
+            if (pair[0] == objectA || pair[1] == objectA || pair[0] == objectB || pair[1] == objectB) {
+                throw new TornadoRuntimeException("[ERROR] A buffer can only be swapped with one other buffer");
+            }
+        }
+        swapBuffers.add(new Object[] { objectA, objectB });
+        return true;
+    }
+
+    /**
+     * @return true if any pair was registered.
+     */
+    public boolean clearSwapBuffers() {
+        boolean hadSwapBuffers = !swapBuffers.isEmpty();
+        swapBuffers.clear();
+        return hadSwapBuffers;
+    }
+
+    public List<Object[]> getSwapBuffers() {
+        return swapBuffers;
+    }
+
+    /**
+     * It returns the number of command queues of a device that the tasks of the
+     * task-graph are distributed over. Batches always run on a single queue.
+     *
+     * @return the number of command queues, or 1 if the tasks run one after the
+     *     other.
+     */
+    public int getNumCommandQueues() {
+        return (batchSize != INIT_VALUE) ? 1 : meta().getNumCommandQueues();
+    }
+
     public boolean isMemoryLimited() {
         return getExecutionPlanMemoryLimit() != INIT_VALUE;
     }
 
+    /**
+     * @return size in bytes of an object of a task-graph, or 0 for the objects
+     *     that are not copied to the device.
+     */
+    public static long getSizeInBytes(Object parameter) {
+        if (parameter.getClass().isArray()) {
+            Class<?> componentType = parameter.getClass().getComponentType();
+            DataTypeSize dataTypeSize = DataTypeSize.findDataTypeSize(componentType);
+            if (dataTypeSize == null) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Data type not supported for processing in batches");
+            }
+            long size = Array.getLength(parameter);
+            return size * dataTypeSize.getSize();
+        } else if (parameter instanceof TornadoNativeArray tornadoNativeArray) {
+            return tornadoNativeArray.getNumBytesOfSegment();
+        } else if (parameter instanceof TornadoVectorsInterface<?> tornadoVector) {
+            return tornadoVector.getNumBytes();
+        } else if (parameter instanceof TornadoCollectionInterface<?> collection) {
+            return collection.getNumBytesWithHeader();
+        } else if (parameter instanceof TornadoVolumesInterface<?> tornadoVolume) {
+            return tornadoVolume.getNumBytesWithHeader();
+        } else if (parameter instanceof TornadoMatrixInterface<?> tornadoMatrix) {
+            return tornadoMatrix.getNumBytesWithHeader();
+        } else if (parameter instanceof TornadoImagesInterface<?> tornadoImage) {
+            return tornadoImage.getNumBytesWithHeader();
+        } else if (parameter instanceof CSRMatrixFloat csrMatrix) {
+            return csrMatrix.getNumBytesWithHeader();
+        } else if (parameter instanceof CSRMatrixDouble csrMatrix) {
+            return csrMatrix.getNumBytesWithHeader();
+        } else if (parameter instanceof ELLMatrixFloat ellMatrix) {
+            return ellMatrix.getNumBytesWithHeader();
+        } else if (parameter instanceof KernelContext || parameter instanceof AtomicInteger) {
+            // ignore
+            return 0;
+        } else {
+            throw new TornadoRuntimeException(STR."Unsupported type: \{parameter.getClass()}");
+        }
+    }
+
     public boolean doesExceedExecutionPlanLimit() {
         long totalSize = 0;
 
         for (Object parameter : getObjects()) {
-
-            if (parameter.getClass().isArray()) {
-                Class<?> componentType = parameter.getClass().getComponentType();
-                DataTypeSize dataTypeSize = DataTypeSize.findDataTypeSize(componentType);
-                if (dataTypeSize == null) {
-                    throw new TornadoRuntimeException("[UNSUPPORTED] Data type not supported for processing in batches");
-                }
-                long size = Array.getLength(parameter);
-                totalSize += (size * dataTypeSize.getSize());
-            } else if (parameter instanceof TornadoNativeArray tornadoNativeArray) {
-                totalSize += tornadoNativeArray.getNumBytesOfSegment();
-            } else if (parameter instanceof TornadoVectorsInterface<?> tornadoVector) {
-                totalSize += tornadoVector.getNumBytes();
-            } else if (parameter instanceof TornadoCollectionInterface<?> collection) {
-                totalSize += collection.getNumBytesWithHeader();
-            } else if (parameter instanceof TornadoVolumesInterface<?> tornadoVolume) {
-                totalSize += tornadoVolume.getNumBytesWithHeader();
-            } else if (parameter instanceof TornadoMatrixInterface<?> tornadoMatrix) {
-                totalSize += tornadoMatrix.getNumBytesWithHeader();
-            } else if (parameter instanceof TornadoImagesInterface<?> tornadoImage) {
-                totalSize += tornadoImage.getNumBytesWithHeader();
-            } else if (parameter instanceof KernelContext || parameter instanceof AtomicInteger) {
-                // ignore
-            } else {
-                throw new TornadoRuntimeException(STR."Unsupported type: \{parameter.getClass()}");
-            }
+            totalSize += getSizeInBytes(parameter);
         }
 
         if (!constants.isEmpty()) {
@@ -219,6 +395,7 @@ public class TornadoExecutionContext {
             newLocalObjectState.setStreamIn(oldLocalObjectState.isStreamIn());
             newLocalObjectState.setForceStreamIn(oldLocalObjectState.isForcedStreamIn());
             newLocalObjectState.setStreamOut(oldLocalObjectState.isStreamOut());
+            newLocalObjectState.setStreamOutOnDemand(oldLocalObjectState.isStreamOutOnDemand());
 
             index = oldIndex;
             objects.add(index, newObj);
@@ -666,6 +843,11 @@ public class TornadoExecutionContext {
         newExecutionContext.profiler = this.profiler;
         newExecutionContext.nextTask = this.nextTask;
         newExecutionContext.executionPlanMemoryLimit = this.executionPlanMemoryLimit;
+        newExecutionContext.unifiedMemory = this.unifiedMemory;
+        newExecutionContext.deviceArenaCapacity = this.deviceArenaCapacity;
+        newExecutionContext.numIterations = this.numIterations;
+        newExecutionContext.iterationStopCondition = this.iterationStopCondition;
+        newExecutionContext.swapBuffers = new ArrayList<>(this.swapBuffers);
         return newExecutionContext;
     }
 
@@ -134,7 +134,7 @@ public class TornadoGraphBuilder {
                 final int size = buffer.getInt();
                 args = new AbstractNode[size];
                 argIndex = 0;
-                taskNode = new TaskNode(context, taskIndex, args);
+                taskNode = new TaskNode(context, taskIndex, args, accesses);
             } else if (op == TornadoGraphBitcodes.LOAD_REF.index()) {
                 final int variableIndex = buffer.getInt();
 
@@ -53,6 +53,8 @@ public class TornadoVMBytecodeBuilder {
 
     private boolean isSingleContext;
 
+    private int currentQueue;
+
     /**
      * It constructs a new TornadoVMBytecodeBuilder instance. Initializes the byte
      * array to hold the bytecode with the maximum bytecode size. Initializes the
@@ -78,12 +80,32 @@ public class TornadoVMBytecodeBuilder {
 
     public void barrier(int dep) {
         bitcodeASM.barrier(dep);
+        currentQueue = 0;
+    }
+
+    /**
+     * It emits a SET_QUEUE bytecode if the queue is not the one selected by the
+     * previous bytecodes.
+     */
+    public void selectQueue(int queue) {
+        if (queue != currentQueue) {
+            bitcodeASM.setQueue(queue);
+            currentQueue = queue;
+        }
     }
 
     public void end() {
         bitcodeASM.end();
     }
 
+    public void iterationBegin() {
+        bitcodeASM.iterationBegin();
+    }
+
+    public void iterationEnd(int condition, int[] swapPairs) {
+        bitcodeASM.iterationEnd(condition, swapPairs);
+    }
+
     void emitAsyncNode(AbstractNode node, int dependencyBC, long offset, long batchSize, long nThreads) {
         if (node instanceof AllocateMultipleBuffersNode) {
             bitcodeASM.allocate(((AllocateMultipleBuffersNode) node).getValues(), batchSize);
@@ -243,6 +265,24 @@ public class TornadoVMBytecodeBuilder {
             buffer.putInt(dep);
         }
 
+        void iterationBegin() {
+            buffer.put(TornadoVMBytecodes.ITERATION_BEGIN.value);
+        }
+
+        void iterationEnd(int condition, int[] swapPairs) {
+            buffer.put(TornadoVMBytecodes.ITERATION_END.value);
+            buffer.putInt(condition);
+            buffer.putInt(swapPairs.length / 2);
+            for (int index : swapPairs) {
+                buffer.putInt(index);
+            }
+        }
+
+        void setQueue(int queue) {
+            buffer.put(TornadoVMBytecodes.SET_QUEUE.value);
+            buffer.putInt(queue);
+        }
+
         void constantArg(int index) {
             buffer.put(TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value);
             buffer.putInt(index);
@@ -134,4 +134,24 @@ public class TornadoVMBytecodeResult {
         buffer.reset();
     }
 
+    /**
+     * Returns the current position in the bytecode buffer.
+     *
+     * @return the current position
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Sets the position of the bytecode buffer. This is used to jump back to the
+     * beginning of an iteration loop.
+     *
+     * @param newPosition
+     *            the new position
+     */
+    public void position(int newPosition) {
+        buffer.position(newPosition);
+    }
+
 }
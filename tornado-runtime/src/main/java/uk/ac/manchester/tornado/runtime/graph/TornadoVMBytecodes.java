@@ -191,7 +191,49 @@ public enum TornadoVMBytecodes {
      * DEALLOC(obj,dest)
      * </code>
      */
-    DEALLOC((byte) 24);
+    DEALLOC((byte) 24),
+
+    /**
+     * Start of the body of a device-side iteration loop. The body only contains
+     * the LAUNCH, ADD_DEPENDENCY and BARRIER bytecodes of the task-graph. Data
+     * transfers are emitted before and after the loop.
+     * <p>
+     * Format:
+     *
+     * <code>
+     * ITERATION_BEGIN
+     * </code>
+     */
+    ITERATION_BEGIN((byte) 25),
+
+    /**
+     * End of the body of a device-side iteration loop. The interpreter jumps back
+     * to the matching ITERATION_BEGIN until the number of iterations of the
+     * execution plan is reached, or until the first element of the stop-condition
+     * object is not zero. Before jumping back, the device buffers of each pair of
+     * objects are swapped.
+     * <p>
+     * Format:
+     *
+     * <code>
+     * ITERATION_END(condition, numPairs, [objA, objB]*)
+     * </code>
+     */
+    ITERATION_END((byte) 26),
+
+    /**
+     * Select the command queue of the device that the following bytecodes are
+     * enqueued on. Commands on different queues only wait for each other through
+     * their event lists. A BARRIER waits for all the queues, and selects the first
+     * one again.
+     * <p>
+     * Format:
+     *
+     * <code>
+     * SET_QUEUE(queue)
+     * </code>
+     */
+    SET_QUEUE((byte) 27);
 
     final byte value;
 
@@ -25,16 +25,42 @@ package uk.ac.manchester.tornado.runtime.graph;
 import java.nio.BufferOverflowException;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.ContextOpNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyInNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.StreamInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
 
 public class TornadoVMGraphCompiler {
+
+    /**
+     * Region of the bytecodes in which an async node is emitted. When the
+     * task-graph runs in a device-side iteration loop, allocations and copies to
+     * the device are emitted before the loop, tasks are emitted in the loop body,
+     * and copies to the host and de-allocations are emitted after the loop.
+     */
+    private enum BytecodeRegion {
+        ALL, BEFORE_LOOP, LOOP_BODY, AFTER_LOOP;
+
+        boolean contains(AbstractNode node) {
+            return switch (this) {
+                case ALL -> true;
+                case BEFORE_LOOP -> node instanceof AllocateMultipleBuffersNode || node instanceof AllocateNode || node instanceof CopyInNode || node instanceof StreamInNode;
+                case LOOP_BODY -> node instanceof TaskNode || node instanceof DependentReadNode;
+                case AFTER_LOOP -> !BEFORE_LOOP.contains(node) && !LOOP_BODY.contains(node);
+            };
+        }
+    }
+
     /**
      * It generates the TornadoVM byte-codes from a Tornado Task Graph.
      *
@@ -61,6 +87,9 @@ public class TornadoVMGraphCompiler {
 
         intermediateTornadoGraph.analyzeDependencies();
 
+        final TaskQueueScheduler queueScheduler = new TaskQueueScheduler(graph, intermediateTornadoGraph, executionContext.getNumCommandQueues());
+        queueScheduler.schedule();
+
         new TornadoLogger().debug("Compiling bytecodes...");
 
         for (int i = 0; i < tornadoVMBytecodeResults.length; i++) {
@@ -72,15 +101,21 @@ public class TornadoVMGraphCompiler {
 
             // Generate bytecodes with no batches
             if (executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE) {
-                scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, 0, 0, 0, i, executionContext);
+                if (executionContext.isIterationLoopEnabled()) {
+                    // Generate the tasks within a device-side iteration loop
+                    scheduleIterationLoopBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, i, executionContext);
+                } else {
+                    scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, 0, 0, 0, i, executionContext, BytecodeRegion.ALL);
+                }
             } else {
                 // Generate bytecodes for batch processing.
                 // It splits the iteration space and the input arrays into batches
-                scheduleBatchDependentBytecodes(executionContext, tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph);
+                scheduleBatchDependentBytecodes(executionContext, tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler);
             }
 
-            // Last operation -> perform synchronisation
-            if (TornadoOptions.ENABLE_STREAM_OUT_BLOCKING) {
+            // Last operation -> perform synchronisation. The last copy-out only
+            // waits for its own queue, so several queues always end with a barrier
+            if (TornadoOptions.ENABLE_STREAM_OUT_BLOCKING && !queueScheduler.isEnabled()) {
                 synchronizeOperationLastByteCode(tornadoVMBytecodeBuilder, intermediateTornadoGraph.getNumberOfDependencies());
             } else {
                 tornadoVMBytecodeBuilder.barrier(intermediateTornadoGraph.getNumberOfDependencies());
@@ -108,11 +143,15 @@ public class TornadoVMGraphCompiler {
             throw new TornadoRuntimeException("[UNSUPPORTED] Batches can only be enabled for single device execution");
         }
 
+        if (executionContext.isIterationLoopEnabled() && (isBatchEnabled || !isSingleDeviceExecution)) {
+            throw new TornadoRuntimeException("[UNSUPPORTED] Device-side iterations can only be enabled for single device execution without batches");
+        }
+
         return isSingleDeviceExecution;
     }
 
     private static void scheduleBatchDependentBytecodes(TornadoExecutionContext executionContext, TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph,
-            IntermediateTornadoGraph intermediateTornadoGraph) {
+            IntermediateTornadoGraph intermediateTornadoGraph, TaskQueueScheduler queueScheduler) {
         final long batchSize = executionContext.getBatchSize();
 
         BatchConfiguration batchConfiguration = BatchConfiguration.computeChunkSizes(executionContext, batchSize);
@@ -121,7 +160,8 @@ public class TornadoVMGraphCompiler {
         long numberOfThreads = batchSize / batchConfiguration.getNumBytesType();
         for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
             offset = (batchSize * i);
-            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, offset, batchSize, numberOfThreads, 1, executionContext);
+            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, offset, batchSize, numberOfThreads, 1, executionContext,
+                    BytecodeRegion.ALL);
         }
         // Last chunk
         if (batchConfiguration.getRemainingChunkSize() != 0) {
@@ -129,8 +169,69 @@ public class TornadoVMGraphCompiler {
             numberOfThreads = batchConfiguration.getRemainingChunkSize() / batchConfiguration.getNumBytesType();
             long realBatchSize = batchConfiguration.getTotalChunks() == 0 ? 0 : batchConfiguration.getRemainingChunkSize();
             long realOffsetSize = batchConfiguration.getTotalChunks() == 0 ? 0 : offset;
-            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, realOffsetSize, realBatchSize, numberOfThreads, 1, executionContext);
+            scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, realOffsetSize, realBatchSize, numberOfThreads, 1,
+                    executionContext, BytecodeRegion.ALL);
+        }
+    }
+
+    /**
+     * It emits the bytecodes of a task-graph that runs its tasks several times
+     * within a single execution. The loop body only launches the tasks, and it
+     * ends with a barrier, so each iteration sees the results of the previous
+     * one. Data is copied to the device once before the loop, and to the host
+     * once after the loop.
+     */
+    private static void scheduleIterationLoopBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph,
+            TaskQueueScheduler queueScheduler, int id, TornadoExecutionContext executionContext) {
+        scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, 0, 0, 0, id, executionContext, BytecodeRegion.BEFORE_LOOP);
+        // Each iteration starts on the queue selected by the barrier of the previous one
+        tornadoVMBytecodeBuilder.selectQueue(0);
+        tornadoVMBytecodeBuilder.iterationBegin();
+        scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, 0, 0, 0, id, executionContext, BytecodeRegion.LOOP_BODY);
+        tornadoVMBytecodeBuilder.barrier(intermediateTornadoGraph.getNumberOfDependencies());
+        tornadoVMBytecodeBuilder.iterationEnd(resolveStopCondition(executionContext), resolveSwapPairs(executionContext));
+        scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, queueScheduler, 0, 0, 0, id, executionContext, BytecodeRegion.AFTER_LOOP);
+    }
+
+    private static int resolveObjectIndex(TornadoExecutionContext executionContext, Object object) {
+        List<Object> objects = executionContext.getObjects();
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int resolveStopCondition(TornadoExecutionContext executionContext) {
+        Object stopCondition = executionContext.getIterationStopCondition();
+        if (stopCondition == null) {
+            return -1;
         }
+        int index = resolveObjectIndex(executionContext, stopCondition);
+        if (index == -1) {
+            throw new TornadoRuntimeException("[ERROR] The stop condition of the iterations must be an object of the task-graph");
+        }
+        return index;
+    }
+
+    private static int[] resolveSwapPairs(TornadoExecutionContext executionContext) {
+        int[] swapPairs = new int[executionContext.getSwapBuffers().size() * 2];
+        int numPairs = 0;
+        for (Object[] pair : executionContext.getSwapBuffers()) {
+            int indexA = resolveObjectIndex(executionContext, pair[0]);
+            int indexB = resolveObjectIndex(executionContext, pair[1]);
+            if (indexA == -1 && indexB == -1) {
+                // The pair belongs to another task-graph of the execution plan
+                continue;
+            } else if (indexA == -1 || indexB == -1) {
+                throw new TornadoRuntimeException("[ERROR] Both buffers to swap must be objects of the same task-graph");
+            }
+            swapPairs[numPairs * 2] = indexA;
+            swapPairs[numPairs * 2 + 1] = indexB;
+            numPairs++;
+        }
+        return Arrays.copyOf(swapPairs, numPairs * 2);
     }
 
     private static void synchronizeOperationLastByteCode(TornadoVMBytecodeBuilder result, int numDepLists) {
@@ -143,8 +244,8 @@ public class TornadoVMGraphCompiler {
         }
     }
 
-    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, long offset,
-            long bufferBatchSize, long nThreads, int id, TornadoExecutionContext executionContext) {
+    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph,
+            TaskQueueScheduler queueScheduler, long offset, long bufferBatchSize, long nThreads, int id, TornadoExecutionContext executionContext, BytecodeRegion region) {
         final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
         final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
 
@@ -175,21 +276,27 @@ public class TornadoVMGraphCompiler {
                     if (outstandingDeps.isEmpty()) {
                         final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
 
-                        if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
-                            try {
-                                tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
-                            } catch (BufferOverflowException e) {
-                                throw new TornadoRuntimeException(
-                                        STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
+                        // Nodes of other regions are only marked as scheduled
+                        if (region.contains(asyncNode)) {
+                            if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
+                                if (queueScheduler.isEnabled()) {
+                                    tornadoVMBytecodeBuilder.selectQueue(queueScheduler.getQueue(i));
+                                }
+                                try {
+                                    tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
+                                } catch (BufferOverflowException e) {
+                                    throw new TornadoRuntimeException(
+                                            STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
+                                }
                             }
-                        }
 
-                        for (int j = 0; j < dependencies.length; j++) {
-                            if (j == i) {
-                                continue;
-                            }
-                            if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
-                                tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
+                            for (int j = 0; j < dependencies.length; j++) {
+                                if (j == i) {
+                                    continue;
+                                }
+                                if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
+                                    tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
+                                }
                             }
                         }
                         scheduled.set(i);
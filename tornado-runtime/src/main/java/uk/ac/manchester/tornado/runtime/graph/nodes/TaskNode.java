@@ -27,21 +27,32 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import uk.ac.manchester.tornado.api.common.Access;
+
 public class TaskNode extends ContextOpNode {
 
     private final AbstractNode[] arguments;
+    private final Access[] accesses;
     private final int taskIndex;
 
-    public TaskNode(ContextNode context, int index, AbstractNode[] arguments) {
+    public TaskNode(ContextNode context, int index, AbstractNode[] arguments, Access[] accesses) {
         super(context);
         this.taskIndex = index;
         this.arguments = arguments;
+        this.accesses = accesses;
     }
 
     public AbstractNode getArg(int index) {
         return arguments[index];
     }
 
+    /**
+     * @return the access of an argument, or {@link Access#NONE} if it is unknown.
+     */
+    public Access getArgAccess(int index) {
+        return (accesses != null && index < accesses.length && accesses[index] != null) ? accesses[index] : Access.NONE;
+    }
+
     public int getTaskIndex() {
         return taskIndex;
     }
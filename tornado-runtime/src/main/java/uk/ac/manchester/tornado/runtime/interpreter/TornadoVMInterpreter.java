@@ -27,15 +27,16 @@ import static uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus.COMPLETE
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VM_USE_DEPS;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
@@ -44,23 +45,32 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
 import uk.ac.manchester.tornado.api.exceptions.TornadoFailureException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.TaskMetaDataInterface;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.common.DeviceResidencyManager;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.TornadoPerformanceModel;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
+import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.BufferAllocationEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.DataTransferEvent;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.KernelLaunchEvent;
 import uk.ac.manchester.tornado.runtime.tasks.DataObjectState;
+import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
@@ -77,6 +87,13 @@ public class TornadoVMInterpreter {
     private static final int MAX_EVENTS = TornadoOptions.MAX_EVENTS;
     private final boolean useDependencies;
 
+    /**
+     * Whether the SET_QUEUE bytecodes distribute the commands over several command
+     * queues of the device, and the queues used since the last barrier.
+     */
+    private final boolean useCommandQueues;
+    private final BitSet usedQueues;
+
     private final List<Object> objects;
 
     private final DataObjectState[] dataObjectStates;
@@ -89,6 +106,7 @@ public class TornadoVMInterpreter {
     private final List<Object> constants;
     private final List<SchedulableTask> tasks;
     private final List<SchedulableTask> localTaskList;
+    private final BitSet predictedTransfersOnce;
 
     private TornadoProfiler timeProfiler;
     private final TornadoExecutionContext executionContext;
@@ -99,6 +117,13 @@ public class TornadoVMInterpreter {
 
     private GridScheduler gridScheduler;
 
+    /**
+     * Bytecode position of the first instruction of the iteration loop, and
+     * number of iterations completed in the current execution.
+     */
+    private int iterationLoopStart;
+    private int currentIteration;
+
     private TornadoLogger logger = new TornadoLogger(this.getClass());
 
     /**
@@ -121,7 +146,9 @@ public class TornadoVMInterpreter {
         assert device != null;
         this.deviceForInterpreter = device;
 
-        useDependencies = executionContext.meta().enableOooExecution() || VM_USE_DEPS;
+        useCommandQueues = executionContext.getNumCommandQueues() > 1 && device.isMultiQueueSupported();
+        useDependencies = executionContext.meta().enableOooExecution() || VM_USE_DEPS || useCommandQueues;
+        usedQueues = new BitSet();
         totalTime = 0;
         invocations = 0;
 
@@ -136,6 +163,7 @@ public class TornadoVMInterpreter {
         localTaskList = executionContext.getTasksForDevice(deviceForInterpreter.getDeviceContext(), deviceForInterpreter.getDriverIndex());
 
         installedCodes = new TornadoInstalledCode[localTaskList.size()];
+        predictedTransfersOnce = new BitSet();
 
         for (int i = 0; i < events.length; i++) {
             Arrays.fill(events[i], -1);
@@ -245,6 +273,20 @@ public class TornadoVMInterpreter {
     }
 
     private Event execute(boolean isWarmup) {
+        if (!DeviceResidencyManager.isEnabled()) {
+            return executeBytecodes(isWarmup);
+        }
+        // Other execution plans must not evict the buffers of this plan while its bytecodes use them
+        final DeviceResidencyManager residencyManager = getResidencyManager();
+        residencyManager.beginExecution(executionContext.getExecutionPlanId());
+        try {
+            return executeBytecodes(isWarmup);
+        } finally {
+            residencyManager.endExecution(executionContext.getExecutionPlanId());
+        }
+    }
+
+    private Event executeBytecodes(boolean isWarmup) {
         isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
         deviceForInterpreter.enableThreadSharing();
 
@@ -255,6 +297,10 @@ public class TornadoVMInterpreter {
         final long t0 = System.nanoTime();
         int lastEvent = -1;
         initWaitEventList();
+        if (useCommandQueues && !isWarmup) {
+            usedQueues.clear();
+            selectCommandQueue(0);
+        }
 
         StringBuilder tornadoVMBytecodeList = null;
         if (TornadoOptions.PRINT_BYTECODES) {
@@ -289,9 +335,10 @@ public class TornadoVMInterpreter {
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
                 if (isWarmup) {
+                    predictTransferToDevice(objectIndex, sizeBatch, true);
                     continue;
                 }
-                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                lastEvent = transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 final int eventList = bytecodeResult.getInt();
@@ -299,9 +346,10 @@ public class TornadoVMInterpreter {
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
                 if (isWarmup) {
+                    predictTransferToDevice(objectIndex, sizeBatch, false);
                     continue;
                 }
-                transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                lastEvent = transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 final int eventList = bytecodeResult.getInt();
@@ -309,6 +357,7 @@ public class TornadoVMInterpreter {
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
                 if (isWarmup) {
+                    predictTransferToHost(objectIndex, sizeBatch);
                     continue;
                 }
                 lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
@@ -319,6 +368,7 @@ public class TornadoVMInterpreter {
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
                 if (isWarmup) {
+                    predictTransferToHost(objectIndex, sizeBatch);
                     continue;
                 }
                 transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
@@ -331,6 +381,7 @@ public class TornadoVMInterpreter {
                 final long batchThreads = bytecodeResult.getLong();
                 XPUExecutionFrame info = compileTaskFromBytecodeToBinary(callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
                 if (isWarmup) {
+                    predictKernel(taskIndex);
                     popArgumentsFromCall(numArgs);
                     continue;
                 }
@@ -348,6 +399,32 @@ public class TornadoVMInterpreter {
                     continue;
                 }
                 lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
+            } else if (op == TornadoVMBytecodes.SET_QUEUE.value()) {
+                final int queueIndex = bytecodeResult.getInt();
+                if (isWarmup) {
+                    continue;
+                }
+                executeSetQueue(tornadoVMBytecodeList, queueIndex);
+            } else if (op == TornadoVMBytecodes.ITERATION_BEGIN.value()) {
+                iterationLoopStart = bytecodeResult.position();
+                currentIteration = 0;
+                if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
+                    tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("ITERATION_BEGIN")).append("\n");
+                }
+            } else if (op == TornadoVMBytecodes.ITERATION_END.value()) {
+                final int conditionIndex = bytecodeResult.getInt();
+                final int numPairs = bytecodeResult.getInt();
+                final int[] swapPairs = new int[numPairs * 2];
+                for (int i = 0; i < swapPairs.length; i++) {
+                    swapPairs[i] = bytecodeResult.getInt();
+                }
+                if (isWarmup) {
+                    continue;
+                }
+                currentIteration++;
+                if (executeIterationEnd(tornadoVMBytecodeList, conditionIndex, swapPairs, lastEvent)) {
+                    bytecodeResult.position(iterationLoopStart);
+                }
             } else if (op == TornadoVMBytecodes.END.value()) {
                 if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
                     tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("END\n")).append("\n");
@@ -365,9 +442,16 @@ public class TornadoVMInterpreter {
                 barrier = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), event);
             }
 
+            if (useCommandQueues) {
+                // The next execution may overwrite buffers that the other queues are still using
+                deviceForInterpreter.sync(executionContext.getExecutionPlanId());
+            }
+
             if (TornadoOptions.USE_VM_FLUSH) {
                 deviceForInterpreter.flush(executionContext.getExecutionPlanId());
             }
+
+            releaseZeroCopyBuffers();
         }
 
         final long t1 = System.nanoTime();
@@ -390,6 +474,22 @@ public class TornadoVMInterpreter {
         return barrier;
     }
 
+    /**
+     * The host can access the objects that are not copied back, so the
+     * zero-copy buffers are handed back to the host after each execution.
+     */
+    private void releaseZeroCopyBuffers() {
+        if (!executionContext.isUnifiedMemory()) {
+            return;
+        }
+        for (DataObjectState dataObjectState : dataObjectStates) {
+            final XPUDeviceBufferState objectState = dataObjectState.getDeviceBufferState(deviceForInterpreter);
+            if (objectState.hasObjectBuffer() && objectState.getXPUBuffer().isZeroCopy()) {
+                objectState.getXPUBuffer().releaseZeroCopy(executionContext.getExecutionPlanId());
+            }
+        }
+    }
+
     private void initWaitEventList() {
         for (int[] waitList : events) {
             Arrays.fill(waitList, -1);
@@ -402,6 +502,10 @@ public class TornadoVMInterpreter {
         for (int i = 0; i < objects.length; i++) {
             objects[i] = this.objects.get(args[i]);
             objectStates[i] = resolveObjectState(args[i]);
+            objectStates[i].setUnifiedMemory(executionContext.isUnifiedMemory());
+            objectStates[i].setDeviceArena(executionContext.getDeviceArena(deviceForInterpreter));
+            objectStates[i].setSharedStorage(executionContext.getSharedStorage(deviceForInterpreter, objects[i]));
+            restoreEvictedBuffer(objects[i], objectStates[i], true);
 
             if (TornadoOptions.PRINT_BYTECODES) {
                 String verbose = String.format(STR."bc: \{InterpreterUtilities.debugHighLightBC("ALLOC")}%s on %s, size=%d", objects[i], InterpreterUtilities.debugDeviceBC(deviceForInterpreter),
@@ -410,7 +514,65 @@ public class TornadoVMInterpreter {
             }
         }
 
-        return deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
+        BufferAllocationEvent allocationEvent = new BufferAllocationEvent();
+        allocationEvent.begin();
+        int event = deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
+        if (sizeBatch == 0) {
+            for (int i = 0; i < objects.length; i++) {
+                trackBuffer(objects[i], objectStates[i]);
+            }
+        }
+        if (allocationEvent.shouldCommit()) {
+            long numBytes = 0;
+            for (XPUDeviceBufferState objectState : objectStates) {
+                numBytes += objectState.hasObjectBuffer() ? objectState.getXPUBuffer().size() : 0;
+            }
+            allocationEvent.commit(deviceForInterpreter, executionContext.getExecutionPlanId(), objects.length, numBytes);
+        }
+        return event;
+    }
+
+    private DeviceResidencyManager getResidencyManager() {
+        return DeviceResidencyManager.getInstance(deviceForInterpreter.getDeviceContext());
+    }
+
+    /**
+     * Registers a buffer that stays allocated between executions in the
+     * {@link DeviceResidencyManager} of the device, or marks it as the most
+     * recently used one.
+     */
+    private void trackBuffer(Object object, XPUDeviceBufferState objectState) {
+        if (DeviceResidencyManager.isEnabled() && objectState.isLockedBuffer() && objectState.hasObjectBuffer()) {
+            LocalObjectState localState = executionContext.getLocalStateObject(object);
+            boolean copiedToHost = localState.isStreamOut() || localState.isStreamOutOnDemand();
+            getResidencyManager().track(objectState, object, deviceForInterpreter, executionContext.getExecutionPlanId(), copiedToHost);
+        }
+    }
+
+    /**
+     * Allocates again a buffer that the {@link DeviceResidencyManager} evicted
+     * to make room for other buffers. The host object holds the latest
+     * contents of the buffer.
+     *
+     * @param upload
+     *     copy the host object to the new buffer. Otherwise, the next transfer
+     *     to the device copies it.
+     */
+    private void restoreEvictedBuffer(Object object, XPUDeviceBufferState objectState, boolean upload) {
+        if (!objectState.isEvicted()) {
+            return;
+        }
+        deviceForInterpreter.allocate(object, 0, objectState);
+        objectState.setEvicted(false);
+        if (upload) {
+            deviceForInterpreter.streamIn(executionContext.getExecutionPlanId(), object, 0, 0, objectState, null);
+            if (useDependencies) {
+                // The copy is not part of the event lists of the bytecodes
+                deviceForInterpreter.sync(executionContext.getExecutionPlanId());
+            }
+        }
+        getResidencyManager().restored(objectState);
+        trackBuffer(object, objectState);
     }
 
     private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, final int objectIndex) {
@@ -424,18 +586,85 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
-        return deviceForInterpreter.deallocate(objectState);
+        if (useCommandQueues) {
+            // The buffer may still be used by the commands of another queue
+            deviceForInterpreter.sync(executionContext.getExecutionPlanId());
+        }
+        if (objectState.hasObjectBuffer()) {
+            objectState.getXPUBuffer().releaseZeroCopy(executionContext.getExecutionPlanId());
+        }
+        int event = deviceForInterpreter.deallocate(objectState);
+        if (DeviceResidencyManager.isEnabled() && !objectState.hasObjectBuffer()) {
+            getResidencyManager().untrack(objectState);
+        }
+        return event;
+    }
+
+    /**
+     * @return the performance model of the device when running on a virtual
+     *     device with the profiler enabled, or null otherwise. In that case, the
+     *     data transfers and the kernels are not executed, and the profiler
+     *     reports the times predicted by the model.
+     */
+    private TornadoPerformanceModel getPerformanceModel() {
+        if (VIRTUAL_DEVICE_ENABLED && TornadoOptions.isProfilerEnabled() && deviceForInterpreter instanceof TornadoPerformanceModel performanceModel) {
+            return performanceModel;
+        }
+        return null;
+    }
+
+    private void predictTransferToDevice(final int objectIndex, final long sizeBatch, boolean once) {
+        final TornadoPerformanceModel performanceModel = getPerformanceModel();
+        final Object object = objects.get(objectIndex);
+        if (performanceModel == null || isObjectKernelContext(object)) {
+            return;
+        }
+        if (once) {
+            // The buffers are copied once per device, as in the first execution on a physical device
+            if (predictedTransfersOnce.get(objectIndex)) {
+                return;
+            }
+            predictedTransfersOnce.set(objectIndex);
+        }
+        final long numBytes = (sizeBatch > 0) ? sizeBatch : TornadoExecutionContext.getSizeInBytes(object);
+        timeProfiler.sum(ProfilerType.PREDICTED_COPY_IN_TIME, performanceModel.predictCopyInTime(numBytes));
+        timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, numBytes);
+    }
+
+    private void predictTransferToHost(final int objectIndex, final long sizeBatch) {
+        final TornadoPerformanceModel performanceModel = getPerformanceModel();
+        final Object object = objects.get(objectIndex);
+        if (performanceModel == null || isObjectKernelContext(object)) {
+            return;
+        }
+        final long numBytes = (sizeBatch > 0) ? sizeBatch : TornadoExecutionContext.getSizeInBytes(object);
+        timeProfiler.sum(ProfilerType.PREDICTED_COPY_OUT_TIME, performanceModel.predictCopyOutTime(numBytes));
+        timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, numBytes);
     }
 
-    private void transferHostToDeviceOnce(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
+    private void predictKernel(final int taskIndex) {
+        final TornadoPerformanceModel performanceModel = getPerformanceModel();
+        if (performanceModel == null) {
+            return;
+        }
+        final SchedulableTask task = tasks.get(taskIndex);
+        final long predictedTime = performanceModel.predictKernelTime(task);
+        timeProfiler.sum(ProfilerType.TOTAL_PREDICTED_KERNEL_TIME, predictedTime);
+        timeProfiler.setTaskTimer(ProfilerType.TASK_PREDICTED_KERNEL_TIME, task.getId(), predictedTime);
+    }
+
+    private int transferHostToDeviceOnce(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
         Object object = objects.get(objectIndex);
 
         if (isObjectKernelContext(object)) {
-            return;
+            return -1;
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+        restoreEvictedBuffer(object, objectState, false);
 
+        DataTransferEvent transferEvent = new DataTransferEvent();
+        transferEvent.begin();
         // We need to stream-in when using batches, because the whole data is not copied
         List<Integer> allEvents = (sizeBatch > 0)
                 ? deviceForInterpreter.streamIn(executionContext.getExecutionPlanId(), object, sizeBatch, offset, objectState, waitList)
@@ -447,10 +676,12 @@ public class TornadoVMInterpreter {
             DebugInterpreter.logTransferToDeviceOnce(allEvents, object, deviceForInterpreter, sizeBatch, offset, eventList, tornadoVMBytecodeList);
         }
 
+        long deviceTime = 0;
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
             for (Integer e : allEvents) {
                 Event event = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), e);
                 event.waitForEvents(executionContext.getExecutionPlanId());
+                deviceTime += event.getElapsedTime();
                 long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
                 copyInTimer += event.getElapsedTime();
                 timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
@@ -462,13 +693,15 @@ public class TornadoVMInterpreter {
                 timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
             }
         }
+        commitTransferEvent(transferEvent, DataTransferEvent.HOST_TO_DEVICE, object, objectState, allEvents, sizeBatch, false, deviceTime);
+        return getLastEvent(allEvents);
     }
 
-    private void transferHostToDeviceAlways(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
+    private int transferHostToDeviceAlways(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
         Object object = objects.get(objectIndex);
 
         if (isObjectKernelContext(object)) {
-            return;
+            return -1;
         }
 
         if (TornadoOptions.PRINT_BYTECODES && isObjectAtomic(object)) {
@@ -476,14 +709,19 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+        restoreEvictedBuffer(object, objectState, false);
+        DataTransferEvent transferEvent = new DataTransferEvent();
+        transferEvent.begin();
         List<Integer> allEvents = deviceForInterpreter.streamIn(executionContext.getExecutionPlanId(), object, sizeBatch, offset, objectState, waitList);
 
         resetEventIndexes(eventList);
 
+        long deviceTime = 0;
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
             for (Integer e : allEvents) {
                 Event event = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), e);
                 event.waitForEvents(executionContext.getExecutionPlanId());
+                deviceTime += event.getElapsedTime();
                 long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
                 copyInTimer += event.getElapsedTime();
                 timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
@@ -495,6 +733,8 @@ public class TornadoVMInterpreter {
                 timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
             }
         }
+        commitTransferEvent(transferEvent, DataTransferEvent.HOST_TO_DEVICE, object, objectState, allEvents, sizeBatch, false, deviceTime);
+        return getLastEvent(allEvents);
     }
 
     private int transferDeviceToHost(StringBuilder tornadoVMBytecodeList, final int objectIndex, final long offset, final int eventList, final long sizeBatch, final int[] waitList) {
@@ -512,13 +752,23 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+        if (objectState.isEvicted()) {
+            // The contents were copied to the host object when the buffer was evicted
+            resetEventIndexes(eventList);
+            return -1;
+        }
+        DataTransferEvent transferEvent = new DataTransferEvent();
+        transferEvent.begin();
         int lastEvent = deviceForInterpreter.streamOutBlocking(executionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        markBufferClean(objectState, offset, sizeBatch);
 
         resetEventIndexes(eventList);
 
+        long deviceTime = 0;
         if (TornadoOptions.isProfilerEnabled() && lastEvent != -1) {
             Event event = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), lastEvent);
             event.waitForEvents(executionContext.getExecutionPlanId());
+            deviceTime = event.getElapsedTime();
             long value = timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
             value += event.getElapsedTime();
             timeProfiler.setTimer(ProfilerType.COPY_OUT_TIME, value);
@@ -529,6 +779,7 @@ public class TornadoVMInterpreter {
             dispatchValue += event.getDriverDispatchTime();
             timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
         }
+        commitTransferEvent(transferEvent, DataTransferEvent.DEVICE_TO_HOST, object, objectState, null, sizeBatch, false, deviceTime);
         return lastEvent;
     }
 
@@ -548,12 +799,22 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+        if (objectState.isEvicted()) {
+            // The contents were copied to the host object when the buffer was evicted
+            resetEventIndexes(eventList);
+            return;
+        }
 
+        DataTransferEvent transferEvent = new DataTransferEvent();
+        transferEvent.begin();
         final int tornadoEventID = deviceForInterpreter.streamOutBlocking(executionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        markBufferClean(objectState, offset, sizeBatch);
 
+        long deviceTime = 0;
         if (TornadoOptions.isProfilerEnabled() && tornadoEventID != -1) {
             Event event = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), tornadoEventID);
             event.waitForEvents(executionContext.getExecutionPlanId());
+            deviceTime = event.getElapsedTime();
             long value = timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
             value += event.getElapsedTime();
             timeProfiler.setTimer(ProfilerType.COPY_OUT_TIME, value);
@@ -564,9 +825,37 @@ public class TornadoVMInterpreter {
             dispatchValue += event.getDriverDispatchTime();
             timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
         }
+        commitTransferEvent(transferEvent, DataTransferEvent.DEVICE_TO_HOST, object, objectState, null, sizeBatch, true, deviceTime);
         resetEventIndexes(eventList);
     }
 
+    /**
+     * @return the last event of a transfer, or -1 if the buffer was already on the
+     *     device.
+     */
+    private static int getLastEvent(List<Integer> allEvents) {
+        return (allEvents == null || allEvents.isEmpty()) ? -1 : allEvents.get(allEvents.size() - 1);
+    }
+
+    /**
+     * Commits the JFR event of a transfer. Transfers that were skipped because
+     * the buffer was already on the device (no events) are not reported.
+     */
+    private void commitTransferEvent(DataTransferEvent transferEvent, String direction, Object object, XPUDeviceBufferState objectState, List<Integer> allEvents, long sizeBatch,
+            boolean blocking, long deviceTime) {
+        if (!transferEvent.shouldCommit() || (direction.equals(DataTransferEvent.HOST_TO_DEVICE) && (allEvents == null || allEvents.isEmpty()))) {
+            return;
+        }
+        final long numBytes = (sizeBatch > 0) ? sizeBatch : objectState.getXPUBuffer().size();
+        transferEvent.commit(direction, object, numBytes, deviceForInterpreter, executionContext.getExecutionPlanId(), blocking, deviceTime);
+    }
+
+    private void markBufferClean(XPUDeviceBufferState objectState, long offset, long sizeBatch) {
+        if (offset == 0 && sizeBatch == 0 && objectState.getPartialCopySize() == 0) {
+            objectState.setDirty(false);
+        }
+    }
+
     private XPUExecutionFrame compileTaskFromBytecodeToBinary(final int callWrapperIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads) {
 
         if (deviceForInterpreter.getDeviceContext().wasReset() && finishedWarmup) {
@@ -610,7 +899,7 @@ public class TornadoVMInterpreter {
             task.setGridScheduler(gridScheduler);
         }
 
-        if (timeProfiler instanceof TimeProfiler) {
+        if (!(timeProfiler instanceof EmptyProfiler)) {
             // Register the backends only when the profiler is enabled
             timeProfiler.registerBackend(task.getId(), task.getDevice().getTornadoVMBackend().name());
             timeProfiler.registerDeviceID(task.getId(), task.meta().getBackendIndex() + ":" + task.meta().getDeviceIndex());
@@ -677,41 +966,56 @@ public class TornadoVMInterpreter {
 
         atomicsArray = (task instanceof PrebuiltTask prebuiltTask) ? prebuiltTask.getAtomics() : deviceForInterpreter.checkAtomicsForTask(task);
 
-        HashMap<Integer, Integer> threadDeploy = new HashMap<>();
+        long[] globalWork = null;
         if (gridScheduler != null && gridScheduler.get(task.getId()) != null) {
-            WorkerGrid workerGrid = gridScheduler.get(task.getId());
-            long[] global = workerGrid.getGlobalWork();
-            int i = 0;
-            for (long maxThread : global) {
-                threadDeploy.put(i++, (int) maxThread);
-            }
+            globalWork = gridScheduler.get(task.getId()).getGlobalWork();
         }
         stackFrame.reset();
-        stackFrame.setKernelContext(threadDeploy);
+        stackFrame.setKernelContext(globalWork);
 
         XPUBuffer bufferAtomics = null;
 
+        final Access[] argumentsAccess = task.getArgumentsAccess();
+        final List<XPUDeviceBufferState> pinnedStates = DeviceResidencyManager.isEnabled() ? new ArrayList<>() : null;
+
         for (int i = 0; i < numArgs; i++) {
             final byte argType = bytecodeResult.get();
             final int argIndex = bytecodeResult.getInt();
 
             if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
                 // Add a constant argument
-                stackFrame.addCallArgument(constants.get(argIndex), false);
+                stackFrame.addPrimitiveArgument(constants.get(argIndex));
             } else if (argType == TornadoVMBytecodes.PUSH_REFERENCE_ARGUMENT.value()) {
 
                 if (isObjectKernelContext(objects.get(argIndex))) {
                     // Mark a kernel context
-                    stackFrame.addCallArgument(new KernelStackFrame.KernelContextArgument(), false);
+                    stackFrame.addKernelContextArgument();
                     continue;
                 }
 
                 final DataObjectState globalState = resolveGlobalObjectState(argIndex);
                 final XPUDeviceBufferState objectState = globalState.getDeviceBufferState(deviceForInterpreter);
 
+                if (pinnedStates != null) {
+                    // The buffers of the kernel must stay on the device until the launch is enqueued
+                    try {
+                        restoreEvictedBuffer(objects.get(argIndex), objectState, true);
+                    } catch (TornadoOutOfMemoryException e) {
+                        pinnedStates.forEach(getResidencyManager()::unpin);
+                        throw e;
+                    }
+                    trackBuffer(objects.get(argIndex), objectState);
+                    getResidencyManager().pin(objectState);
+                    pinnedStates.add(objectState);
+                }
+                if (argumentsAccess == null || i >= argumentsAccess.length || argumentsAccess[i] != Access.READ_ONLY) {
+                    objectState.setDirty(true);
+                }
+
                 if (!isObjectInAtomicRegion(objectState, deviceForInterpreter, task)) {
                     // Add a reference (arrays, vector types, panama regions)
-                    stackFrame.addCallArgument(objectState.getXPUBuffer().toBuffer(), true);
+                    objectState.getXPUBuffer().acquireZeroCopy(executionContext.getExecutionPlanId());
+                    stackFrame.addReferenceArgument(objectState.getXPUBuffer().toBuffer());
                 } else {
                     atomicsArray = deviceForInterpreter.updateAtomicRegionAndObjectState(task, atomicsArray, i, objects.get(argIndex), objectState);
                 }
@@ -721,6 +1025,10 @@ public class TornadoVMInterpreter {
         }
 
         if (atomicsArray != null) {
+            if (useCommandQueues) {
+                // The buffer of atomics is shared by all the tasks of the device
+                deviceForInterpreter.sync(executionContext.getExecutionPlanId());
+            }
             bufferAtomics = deviceForInterpreter.createOrReuseAtomicsBuffer(atomicsArray);
             List<Integer> allEvents = bufferAtomics.enqueueWrite(executionContext.getExecutionPlanId(), null, 0, 0, null, false);
             if (TornadoOptions.isProfilerEnabled()) {
@@ -759,17 +1067,31 @@ public class TornadoVMInterpreter {
         metadata.setThreadInfo(executionContext.meta().isThreadInfoEnabled());
 
         try {
+            KernelLaunchEvent launchEvent = new KernelLaunchEvent();
+            launchEvent.begin();
             int lastEvent = useDependencies
                     ? installedCode.launchWithDependencies(executionContext.getExecutionPlanId(), stackFrame, bufferAtomics, metadata, batchThreads, waitList)
                     : installedCode.launchWithoutDependencies(executionContext.getExecutionPlanId(), stackFrame, bufferAtomics, metadata, batchThreads);
 
             resetEventIndexes(eventList);
+            if (launchEvent.shouldCommit()) {
+                WorkerGrid grid = (gridScheduler != null) ? gridScheduler.get(task.getId()) : null;
+                long[] global = (grid != null) ? grid.getGlobalWork() : metadata.getGlobalWork();
+                long[] local = (grid != null) ? grid.getLocalWork() : metadata.getLocalWork();
+                long deviceTime = TornadoOptions.isProfilerEnabled() ? timeProfiler.getTaskTimer(ProfilerType.TASK_KERNEL_TIME, task.getId()) : 0;
+                launchEvent.commit(task.getId(), deviceForInterpreter, executionContext.getExecutionPlanId(), global, local, deviceTime);
+            }
             return lastEvent;
         } catch (Exception e) {
             if (TornadoOptions.DEBUG) {
                 e.printStackTrace();
             }
             throw new TornadoBailoutRuntimeException("Bailout from LAUNCH Bytecode: \nReason: " + e.toString(), e);
+        } finally {
+            if (pinnedStates != null) {
+                // Evictions wait for the kernels of the plan, so the buffers can be released after the launch
+                pinnedStates.forEach(getResidencyManager()::unpin);
+            }
         }
     }
 
@@ -791,12 +1113,119 @@ public class TornadoVMInterpreter {
             tornadoVMBytecodeList.append(String.format("bc: " + InterpreterUtilities.debugHighLightBC("BARRIER") + " event-list %d%n", eventList));
         }
 
-        int lastEvent = deviceForInterpreter.enqueueMarker(executionContext.getExecutionPlanId(), waitList);
+        int lastEvent = deviceForInterpreter.enqueueMarker(executionContext.getExecutionPlanId(), useCommandQueues ? joinCommandQueues(waitList) : waitList);
 
         resetEventIndexes(eventList);
         return lastEvent;
     }
 
+    /**
+     * It enqueues a marker on each command queue used since the last barrier,
+     * apart from the first one, and selects the first queue. The barrier on the
+     * first queue waits for the markers, so it also waits for all the commands of
+     * the other queues.
+     *
+     * @return the wait list of the barrier.
+     */
+    private int[] joinCommandQueues(int[] waitList) {
+        List<Integer> joinList = new ArrayList<>();
+        if (waitList != null) {
+            Arrays.stream(waitList).filter(event -> event != -1).forEach(joinList::add);
+        }
+        for (int queue = usedQueues.nextSetBit(1); queue != -1; queue = usedQueues.nextSetBit(queue + 1)) {
+            deviceForInterpreter.selectCommandQueue(executionContext.getExecutionPlanId(), queue);
+            joinList.add(deviceForInterpreter.enqueueMarker(executionContext.getExecutionPlanId()));
+        }
+        usedQueues.clear();
+        selectCommandQueue(0);
+        return joinList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void executeSetQueue(StringBuilder tornadoVMBytecodeList, int queueIndex) {
+        if (TornadoOptions.PRINT_BYTECODES) {
+            tornadoVMBytecodeList.append(String.format("bc: " + InterpreterUtilities.debugHighLightBC("SET_QUEUE") + " %d%n", queueIndex));
+        }
+        if (useCommandQueues) {
+            selectCommandQueue(queueIndex);
+        }
+    }
+
+    private void selectCommandQueue(int queueIndex) {
+        usedQueues.set(queueIndex);
+        deviceForInterpreter.selectCommandQueue(executionContext.getExecutionPlanId(), queueIndex);
+    }
+
+    /**
+     * It decides whether the interpreter jumps back to the beginning of the
+     * iteration loop. Before the next iteration, the device buffers of each pair
+     * of objects are swapped, so the output of an iteration is the input of the
+     * next one without copies.
+     *
+     * @return true if a new iteration must be executed.
+     */
+    private boolean executeIterationEnd(StringBuilder tornadoVMBytecodeList, int conditionIndex, int[] swapPairs, int barrierEvent) {
+        boolean stop = currentIteration >= executionContext.getNumIterations();
+        if (!stop && conditionIndex != -1) {
+            stop = isStopConditionSet(conditionIndex, barrierEvent);
+        }
+
+        if (TornadoOptions.PRINT_BYTECODES) {
+            tornadoVMBytecodeList.append(String.format("bc: " + InterpreterUtilities.debugHighLightBC("ITERATION_END") + " iteration %d, swap pairs %d, %s%n", currentIteration, swapPairs.length / 2,
+                    stop ? "exit" : "jump"));
+        }
+
+        if (stop) {
+            return false;
+        }
+
+        swapDeviceBuffers(swapPairs);
+
+        if (useDependencies && barrierEvent != -1) {
+            // Tasks of the next iteration wait for all commands of the current one
+            for (int i = 0; i < events.length; i++) {
+                Arrays.fill(events[i], -1);
+                events[i][0] = barrierEvent;
+                eventsIndexes[i] = 1;
+            }
+        }
+        return true;
+    }
+
+    private boolean isStopConditionSet(int conditionIndex, int barrierEvent) {
+        final Object object = objects.get(conditionIndex);
+        if (!(object instanceof IntArray stopCondition)) {
+            throw new TornadoRuntimeException("[ERROR] The stop condition of the iterations must be an IntArray");
+        }
+        final XPUDeviceBufferState objectState = resolveObjectState(conditionIndex);
+        final int[] waitList = (useDependencies && barrierEvent != -1) ? new int[] { barrierEvent } : null;
+        if (!objectState.isEvicted()) {
+            deviceForInterpreter.streamOutBlocking(executionContext.getExecutionPlanId(), object, 0, objectState, waitList);
+        }
+        return stopCondition.get(0) != 0;
+    }
+
+    private void swapDeviceBuffers(int[] swapPairs) {
+        for (int i = 0; i < swapPairs.length; i += 2) {
+            final XPUDeviceBufferState stateA = resolveObjectState(swapPairs[i]);
+            final XPUDeviceBufferState stateB = resolveObjectState(swapPairs[i + 1]);
+            restoreEvictedBuffer(objects.get(swapPairs[i]), stateA, true);
+            restoreEvictedBuffer(objects.get(swapPairs[i + 1]), stateB, true);
+            final XPUBuffer bufferA = stateA.getXPUBuffer();
+            final XPUBuffer bufferB = stateB.getXPUBuffer();
+            if (bufferA == null || bufferB == null || bufferA.size() != bufferB.size()) {
+                throw new TornadoRuntimeException("[ERROR] Buffers to swap must be allocated on the device with the same size");
+            }
+            if (bufferA.isZeroCopy() || bufferB.isZeroCopy()) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Buffers accessed in place from host memory cannot be swapped");
+            }
+            stateA.setXPUBuffer(bufferB);
+            stateB.setXPUBuffer(bufferA);
+            // The contents of the buffers now belong to the other object
+            stateA.setDirty(true);
+            stateB.setDirty(true);
+        }
+    }
+
     private void throwErrorInterpreter(byte op) {
         if (executionContext.meta().isDebug()) {
             logger.debug("bc: invalid op 0x%x(%d)", op, op);
@@ -850,7 +1279,7 @@ public class TornadoVMInterpreter {
     }
 
     private void profilerUpdateForPreCompiledTask(SchedulableTask task) {
-        if (task instanceof PrebuiltTask prebuiltTask && timeProfiler instanceof TimeProfiler) {
+        if (task instanceof PrebuiltTask prebuiltTask && !(timeProfiler instanceof EmptyProfiler)) {
             timeProfiler.registerDeviceID(task.getId(), prebuiltTask.meta().getLogicDevice().getDriverIndex() + ":" + prebuiltTask.meta().getDeviceIndex());
             timeProfiler.registerDeviceName(task.getId(), prebuiltTask.meta().getLogicDevice().getPhysicalDevice().getDeviceName());
         }
@@ -0,0 +1,367 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Lock-free implementation of the {@link TornadoProfiler}. It records the same
+ * metrics and produces the same JSON as the {@link TimeProfiler}, but it can
+ * be updated concurrently by the interpreters of a task-graph without a global
+ * lock.
+ *
+ * <p>
+ * The profiler and each task get fixed arrays indexed by the ordinal of the
+ * {@link ProfilerType}. Timers are set as a whole, so they are kept in an
+ * {@link AtomicLongArray}. The values that are accumulated with
+ * {@link #sum(ProfilerType, long)} and
+ * {@link #addValueToMetric(ProfilerType, String, long)} are {@link LongAdder}s,
+ * which are striped across the threads that update them. The JSON is only
+ * built when it is requested.
+ * </p>
+ */
+public class ConcurrentTimeProfiler implements TornadoProfiler {
+
+    private static final ProfilerType[] TYPES = ProfilerType.values();
+
+    private volatile Timers timers;
+    private volatile Counters sums;
+    private volatile AtomicLongArray startTimes;
+    private volatile Map<String, TaskSlots> tasks;
+    private final Map<String, TaskInfo> taskInfo;
+
+    public ConcurrentTimeProfiler() {
+        timers = new Timers();
+        sums = new Counters();
+        startTimes = new AtomicLongArray(TYPES.length);
+        tasks = new ConcurrentHashMap<>();
+        taskInfo = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Timers of a profiler or a task, indexed by {@link ProfilerType}. Each timer
+     * is replaced with a single atomic write.
+     */
+    private static final class Timers {
+
+        private static final long UNSET = Long.MIN_VALUE;
+
+        private final AtomicLongArray values = new AtomicLongArray(TYPES.length);
+
+        private Timers() {
+            for (int i = 0; i < TYPES.length; i++) {
+                values.set(i, UNSET);
+            }
+        }
+
+        void set(ProfilerType type, long value) {
+            values.set(type.ordinal(), value);
+        }
+
+        boolean isSet(int index) {
+            return values.get(index) != UNSET;
+        }
+
+        long get(int index) {
+            long value = values.get(index);
+            return value == UNSET ? 0 : value;
+        }
+
+        boolean isEmpty() {
+            for (int i = 0; i < TYPES.length; i++) {
+                if (isSet(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void appendJson(StringBuilder json, String indent) {
+            for (int i = 0; i < TYPES.length; i++) {
+                long value = values.get(i);
+                if (value != UNSET) {
+                    appendEntry(json, indent, TYPES[i].toString(), Long.toString(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulated values of a profiler or a task, indexed by
+     * {@link ProfilerType}. Counters are created the first time they are
+     * updated.
+     */
+    private static final class Counters {
+
+        private final AtomicReferenceArray<LongAdder> values = new AtomicReferenceArray<>(TYPES.length);
+
+        void add(ProfilerType type, long value) {
+            LongAdder adder = values.get(type.ordinal());
+            if (adder == null) {
+                adder = new LongAdder();
+                if (!values.compareAndSet(type.ordinal(), null, adder)) {
+                    adder = values.get(type.ordinal());
+                }
+            }
+            adder.add(value);
+        }
+
+        boolean isSet(int index) {
+            return values.get(index) != null;
+        }
+
+        long get(int index) {
+            LongAdder adder = values.get(index);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        void appendJson(StringBuilder json, String indent) {
+            for (int i = 0; i < TYPES.length; i++) {
+                LongAdder adder = values.get(i);
+                if (adder != null) {
+                    appendEntry(json, indent, TYPES[i].toString(), Long.toString(adder.sum()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Timers and metrics of a task. They are cleared with {@link #clean()}.
+     */
+    private static final class TaskSlots {
+        private final Timers timers = new Timers();
+        private final Counters metrics = new Counters();
+        private final AtomicLongArray startTimes = new AtomicLongArray(TYPES.length);
+    }
+
+    /**
+     * Identifiers of a task. They are kept across executions.
+     */
+    private static final class TaskInfo {
+        private volatile String backend;
+        private volatile String methodName;
+        private volatile String deviceID;
+        private volatile String deviceName;
+        private final AtomicReferenceArray<String> power = new AtomicReferenceArray<>(TYPES.length);
+    }
+
+    private TaskSlots task(String taskName) {
+        TaskSlots slots = tasks.get(taskName);
+        return slots != null ? slots : tasks.computeIfAbsent(taskName, _ -> new TaskSlots());
+    }
+
+    private TaskInfo info(String taskName) {
+        TaskInfo info = taskInfo.get(taskName);
+        return info != null ? info : taskInfo.computeIfAbsent(taskName, _ -> new TaskInfo());
+    }
+
+    private static void appendEntry(StringBuilder json, String indent, String key, String value) {
+        json.append(indent).append("\"").append(key).append("\": \"").append(value).append("\",\n");
+    }
+
+    @Override
+    public void addValueToMetric(ProfilerType type, String taskName, long value) {
+        task(taskName).metrics.add(type, value);
+    }
+
+    @Override
+    public void start(ProfilerType type) {
+        startTimes.set(type.ordinal(), System.nanoTime());
+    }
+
+    @Override
+    public void start(ProfilerType type, String taskName) {
+        task(taskName).startTimes.set(type.ordinal(), System.nanoTime());
+    }
+
+    @Override
+    public void registerMethodHandle(ProfilerType type, String taskName, String methodName) {
+        info(taskName).methodName = methodName;
+    }
+
+    @Override
+    public void registerDeviceName(String taskName, String deviceInfo) {
+        info(taskName).deviceName = deviceInfo;
+    }
+
+    @Override
+    public void registerBackend(String taskName, String backend) {
+        info(taskName).backend = backend;
+    }
+
+    @Override
+    public void registerDeviceID(String taskName, String deviceID) {
+        info(taskName).deviceID = deviceID;
+    }
+
+    @Override
+    public void stop(ProfilerType type) {
+        long end = System.nanoTime();
+        timers.set(type, end - startTimes.get(type.ordinal()));
+    }
+
+    @Override
+    public void stop(ProfilerType type, String taskName) {
+        long end = System.nanoTime();
+        TaskSlots slots = task(taskName);
+        slots.timers.set(type, end - slots.startTimes.get(type.ordinal()));
+    }
+
+    /**
+     * The profiler types that are accumulated with {@link #sum(ProfilerType, long)}
+     * are not set as timers, so a type has either a timer or a sum.
+     */
+    private boolean hasTimer(int index) {
+        return timers.isSet(index) || sums.isSet(index);
+    }
+
+    private long getTimer(int index) {
+        return timers.get(index) + sums.get(index);
+    }
+
+    @Override
+    public long getTimer(ProfilerType type) {
+        return getTimer(type.ordinal());
+    }
+
+    @Override
+    public long getTaskTimer(ProfilerType type, String taskName) {
+        TaskSlots slots = tasks.get(taskName);
+        return slots == null ? 0 : slots.timers.get(type.ordinal());
+    }
+
+    @Override
+    public void setTimer(ProfilerType type, long time) {
+        timers.set(type, time);
+    }
+
+    @Override
+    public void dump() {
+        for (ProfilerType p : TYPES) {
+            if (hasTimer(p.ordinal())) {
+                System.out.println("[PROFILER] " + p.getDescription() + ": " + getTimer(p.ordinal()));
+            }
+        }
+        tasks.forEach((taskName, slots) -> {
+            StringBuilder values = new StringBuilder();
+            slots.timers.appendJson(values, "");
+            System.out.println("[PROFILER-TASK] " + taskName + ": {" + values.toString().replace("\n", " ").trim() + "}");
+        });
+    }
+
+    @Override
+    public String createJson(StringBuilder json, String sectionName) {
+        final String indent1 = "    ";
+        final String indent2 = indent1 + indent1;
+        final String indent3 = indent2 + indent1;
+        json.append("{\n");
+        json.append(indent1).append("\"").append(sectionName).append("\": {\n");
+        for (int i = 0; i < TYPES.length; i++) {
+            if (hasTimer(i)) {
+                appendEntry(json, indent2, TYPES[i].toString(), Long.toString(getTimer(i)));
+            }
+        }
+        TaskSlots noTask = tasks.get(TimeProfiler.NO_TASK_NAME);
+        if (noTask != null) {
+            noTask.metrics.appendJson(json, indent2);
+        }
+
+        boolean first = true;
+        for (Map.Entry<String, TaskSlots> entry : tasks.entrySet()) {
+            TaskSlots slots = entry.getValue();
+            if (slots.timers.isEmpty()) {
+                continue;
+            }
+            if (!first) {
+                json.append(", \n");
+            }
+            first = false;
+            String taskName = entry.getKey();
+            TaskInfo info = info(taskName);
+            json.append(indent2).append("\"").append(taskName).append("\": {\n");
+            if (TornadoOptions.LOG_IP) {
+                appendEntry(json, indent3, "IP", RuntimeUtilities.getTornadoInstanceIP());
+            }
+            appendEntry(json, indent3, ProfilerType.BACKEND.toString(), info.backend);
+            appendEntry(json, indent3, ProfilerType.METHOD.toString(), info.methodName);
+            appendEntry(json, indent3, ProfilerType.DEVICE_ID.toString(), info.deviceID);
+            appendEntry(json, indent3, ProfilerType.DEVICE.toString(), info.deviceName);
+            slots.metrics.appendJson(json, indent3);
+            for (int i = 0; i < TYPES.length; i++) {
+                String power = info.power.get(i);
+                if (power != null) {
+                    appendEntry(json, indent3, TYPES[i].toString(), power);
+                }
+            }
+            slots.timers.appendJson(json, indent3);
+            json.delete(json.length() - 2, json.length() - 1); // remove last comma
+            json.append(indent2).append("}");
+        }
+        if (!first) {
+            json.append("\n");
+        }
+        json.append(indent1).append("}\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    @Override
+    public void dumpJson(StringBuilder json, String id) {
+        String jsonContent = createJson(json, id);
+        System.out.println(jsonContent);
+    }
+
+    @Override
+    public void clean() {
+        timers = new Timers();
+        sums = new Counters();
+        startTimes = new AtomicLongArray(TYPES.length);
+        tasks = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void setTaskTimer(ProfilerType type, String taskID, long timer) {
+        task(taskID).timers.set(type, timer);
+    }
+
+    @Override
+    public void setTaskPowerUsage(ProfilerType type, String taskID, long power) {
+        info(taskID).power.set(type.ordinal(), power > 0 ? Long.toString(power) : "n/a");
+    }
+
+    @Override
+    public void sum(ProfilerType type, long value) {
+        sums.add(type, value);
+    }
+
+}
@@ -33,78 +33,78 @@ public class EmptyProfiler implements TornadoProfiler {
     }
 
     @Override
-    public synchronized void addValueToMetric(ProfilerType type, String taskName, long value) {
+    public void addValueToMetric(ProfilerType type, String taskName, long value) {
     }
 
     @Override
-    public synchronized void start(ProfilerType type) {
+    public void start(ProfilerType type) {
     }
 
     @Override
-    public synchronized void start(ProfilerType type, String taskName) {
+    public void start(ProfilerType type, String taskName) {
     }
 
     @Override
-    public synchronized void registerDeviceName(String taskName, String deviceInfo) {
+    public void registerDeviceName(String taskName, String deviceInfo) {
 
     }
 
     @Override
-    public synchronized void registerBackend(String taskName, String backend) {
+    public void registerBackend(String taskName, String backend) {
 
     }
 
     @Override
-    public synchronized void registerDeviceID(String taskName, String deviceID) {
+    public void registerDeviceID(String taskName, String deviceID) {
     }
 
     @Override
-    public synchronized void registerMethodHandle(ProfilerType type, String taskName, String methodName) {
+    public void registerMethodHandle(ProfilerType type, String taskName, String methodName) {
     }
 
     @Override
-    public synchronized void stop(ProfilerType type) {
+    public void stop(ProfilerType type) {
     }
 
     @Override
-    public synchronized void stop(ProfilerType type, String taskName) {
+    public void stop(ProfilerType type, String taskName) {
     }
 
     @Override
-    public synchronized long getTimer(ProfilerType type) {
+    public long getTimer(ProfilerType type) {
         System.out.println("Enable the profiler with: -Dtornado.profiler=True");
         return 0;
     }
 
     @Override
-    public synchronized long getTaskTimer(ProfilerType type, String taskName) {
+    public long getTaskTimer(ProfilerType type, String taskName) {
         return 0;
     }
 
     @Override
-    public synchronized void setTimer(ProfilerType type, long time) {
+    public void setTimer(ProfilerType type, long time) {
 
     }
 
     @Override
-    public synchronized void dump() {
+    public void dump() {
     }
 
     @Override
-    public synchronized String createJson(StringBuilder json, String sectionName) {
+    public String createJson(StringBuilder json, String sectionName) {
         return null;
     }
 
     @Override
-    public synchronized void dumpJson(StringBuilder stringBuffer, String id) {
+    public void dumpJson(StringBuilder stringBuffer, String id) {
     }
 
     @Override
-    public synchronized void clean() {
+    public void clean() {
     }
 
     @Override
-    public synchronized void setTaskTimer(ProfilerType type, String taskId, long timer) {
+    public void setTaskTimer(ProfilerType type, String taskId, long timer) {
     }
 
     @Override
@@ -112,7 +112,7 @@ public class EmptyProfiler implements TornadoProfiler {
     }
 
     @Override
-    public synchronized void sum(ProfilerType type, long sum) {
+    public void sum(ProfilerType type, long sum) {
 
     }
 
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for the allocation of the device buffers of an ALLOC bytecode.
+ */
+@Name("uk.ac.manchester.tornado.BufferAllocation")
+@Label("Buffer Allocation")
+@Category({ "TornadoVM", "Memory" })
+@Description("Allocation of device buffers")
+public class BufferAllocationEvent extends jdk.jfr.Event {
+
+    @Label("Device")
+    public String device;
+
+    @Label("Execution Plan ID")
+    public long executionPlanId;
+
+    @Label("Buffers")
+    public int buffers;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    public void commit(TornadoDevice device, long executionPlanId, int buffers, long bytes) {
+        if (shouldCommit()) {
+            this.device = device.getDeviceName();
+            this.executionPlanId = executionPlanId;
+            this.buffers = buffers;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for a lookup of a task in the code cache of a device. A miss is
+ * followed by the compilation of the task.
+ */
+@Name("uk.ac.manchester.tornado.CodeCache")
+@Label("Code Cache Lookup")
+@Category({ "TornadoVM", "Compilation" })
+@Description("Lookup of a task in the code cache of a device")
+public class CodeCacheEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Kernel")
+    public String kernel;
+
+    @Label("Device")
+    public String device;
+
+    @Label("Hit")
+    public boolean hit;
+
+    public static void emit(String task, String kernel, TornadoDevice device, boolean hit) {
+        CodeCacheEvent event = new CodeCacheEvent();
+        if (event.shouldCommit()) {
+            event.task = task;
+            event.kernel = kernel;
+            event.device = device.getDeviceName();
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for a data transfer between the host and a device. The duration of
+ * the event is the time to enqueue the transfer, and the device time is only
+ * known when the TornadoVM profiler is enabled.
+ */
+@Name("uk.ac.manchester.tornado.DataTransfer")
+@Label("Data Transfer")
+@Category({ "TornadoVM", "Execution" })
+@Description("Data transfer between the host and a device")
+public class DataTransferEvent extends jdk.jfr.Event {
+
+    public static final String HOST_TO_DEVICE = "HostToDevice";
+    public static final String DEVICE_TO_HOST = "DeviceToHost";
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Object Type")
+    public String objectType;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Device")
+    public String device;
+
+    @Label("Execution Plan ID")
+    public long executionPlanId;
+
+    @Label("Blocking")
+    public boolean blocking;
+
+    @Label("Device Time")
+    @Description("Time of the transfer on the device, or 0 if the TornadoVM profiler is disabled")
+    @Timespan(Timespan.NANOSECONDS)
+    public long deviceTime;
+
+    public void commit(String direction, Object object, long bytes, TornadoDevice device, long executionPlanId, boolean blocking, long deviceTime) {
+        if (shouldCommit()) {
+            this.direction = direction;
+            this.objectType = object.getClass().getSimpleName();
+            this.bytes = bytes;
+            this.device = device.getDeviceName();
+            this.executionPlanId = executionPlanId;
+            this.blocking = blocking;
+            this.deviceTime = deviceTime;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for the build of the generated code by the driver of the device
+ * (e.g., {@code clBuildProgram} or {@code cuModuleLoadData}).
+ */
+@Name("uk.ac.manchester.tornado.DriverBuild")
+@Label("Driver Build")
+@Category({ "TornadoVM", "Compilation" })
+@Description("Build of the generated code by the driver of the device")
+public class DriverBuildEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Kernel")
+    public String kernel;
+
+    @Label("Device")
+    public String device;
+
+    @Label("Backend")
+    public String backend;
+
+    public void commit(String task, String kernel, TornadoDevice device) {
+        if (shouldCommit()) {
+            this.task = task;
+            this.kernel = kernel;
+            this.device = device.getDeviceName();
+            this.backend = device.getTornadoVMBackend().name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for the compilation of a task with Graal, from Java bytecode to
+ * the code of the backend (OpenCL C, PTX or SPIR-V).
+ */
+@Name("uk.ac.manchester.tornado.GraalCompilation")
+@Label("Graal Compilation")
+@Category({ "TornadoVM", "Compilation" })
+@Description("Compilation of a task from Java bytecode to the code of the backend")
+public class GraalCompilationEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Device")
+    public String device;
+
+    @Label("Backend")
+    public String backend;
+
+    public void commit(String task, String method, TornadoDevice device) {
+        if (shouldCommit()) {
+            this.task = task;
+            this.method = method;
+            this.device = device.getDeviceName();
+            this.backend = device.getTornadoVMBackend().name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import java.util.Arrays;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+/**
+ * JFR event for the launch of a kernel. The duration of the event is the time
+ * to enqueue the kernel, and the device time is only known when the TornadoVM
+ * profiler is enabled.
+ */
+@Name("uk.ac.manchester.tornado.KernelLaunch")
+@Label("Kernel Launch")
+@Category({ "TornadoVM", "Execution" })
+@Description("Launch of a kernel on a device")
+public class KernelLaunchEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Device")
+    public String device;
+
+    @Label("Execution Plan ID")
+    public long executionPlanId;
+
+    @Label("Global Work")
+    public String globalWork;
+
+    @Label("Local Work")
+    @Description("Local work sizes, or null if they are chosen by the driver")
+    public String localWork;
+
+    @Label("Device Time")
+    @Description("Time of the kernel on the device, or 0 if the TornadoVM profiler is disabled")
+    @Timespan(Timespan.NANOSECONDS)
+    public long deviceTime;
+
+    public void commit(String task, TornadoDevice device, long executionPlanId, long[] globalWork, long[] localWork, long deviceTime) {
+        if (shouldCommit()) {
+            this.task = task;
+            this.device = device.getDeviceName();
+            this.executionPlanId = executionPlanId;
+            this.globalWork = globalWork == null ? null : Arrays.toString(globalWork);
+            this.localWork = localWork == null ? null : Arrays.toString(localWork);
+            this.deviceTime = deviceTime;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.profiler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for the execution of a task-graph, from the call of the execution
+ * plan until the task-graph finishes.
+ */
+@Name("uk.ac.manchester.tornado.TaskGraphExecution")
+@Label("Task-Graph Execution")
+@Category({ "TornadoVM", "Execution" })
+@Description("Execution of a task-graph")
+public class TaskGraphExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Task-Graph")
+    public String taskGraph;
+
+    @Label("Execution Plan ID")
+    public long executionPlanId;
+
+    @Label("Tasks")
+    public int tasks;
+
+    public void commit(String taskGraph, long executionPlanId, int tasks) {
+        if (shouldCommit()) {
+            this.taskGraph = taskGraph;
+            this.executionPlanId = executionPlanId;
+            this.tasks = tasks;
+            commit();
+        }
+    }
+}
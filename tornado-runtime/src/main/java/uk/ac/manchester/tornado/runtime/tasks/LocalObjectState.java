@@ -53,6 +53,12 @@ public class LocalObjectState {
      */
     private boolean streamOut;
 
+    /**
+     * Identifies a variable (or parameter) that the user copies to the host on
+     * demand (device -> host).
+     */
+    private boolean streamOutOnDemand;
+
     /**
      * For each variable, we need to keep track of all devices in which there is a shadow
      * copy. This is achieved by using the {@link DataObjectState} object.
@@ -96,13 +102,22 @@ public class LocalObjectState {
         this.streamOut = streamOut;
     }
 
+    public boolean isStreamOutOnDemand() {
+        return streamOutOnDemand;
+    }
+
+    public void setStreamOutOnDemand(boolean streamOutOnDemand) {
+        this.streamOutOnDemand = streamOutOnDemand;
+    }
+
     public DataObjectState getDataObjectState() {
         return dataObjectState;
     }
 
     public Event sync(long executionPlanId, Object object, TornadoDevice device) {
         XPUDeviceBufferState deviceState = dataObjectState.getDeviceBufferState(device);
-        if (deviceState.isLockedBuffer()) {
+        // Evicted buffers were copied to the host object when they were released
+        if (deviceState.isLockedBuffer() && !deviceState.isEvicted()) {
             int eventId = device.streamOutBlocking(executionPlanId, object, 0, deviceState, null);
             return device.resolveEvent(executionPlanId, eventId);
         }
@@ -114,6 +129,7 @@ public class LocalObjectState {
         LocalObjectState newLocalObjectState = new LocalObjectState(this.object);
         newLocalObjectState.streamIn = this.streamIn;
         newLocalObjectState.streamOut = this.streamOut;
+        newLocalObjectState.streamOutOnDemand = this.streamOutOnDemand;
         newLocalObjectState.forceStreamIn = this.forceStreamIn;
         newLocalObjectState.dataObjectState = dataObjectState.clone();
         return newLocalObjectState;
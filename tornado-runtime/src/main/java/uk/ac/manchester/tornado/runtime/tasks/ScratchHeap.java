@@ -0,0 +1,188 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.exceptions.TornadoDynamicReconfigurationException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.Tensor;
+
+/**
+ * Private copy of the outputs of a task graph, used by one device during the profiling runs of dynamic reconfiguration.
+ *
+ * <p>
+ * The objects that the task graph only reads are shared by all devices. Each output is replaced by a scratch object of the same type and size, so
+ * the devices never write into the objects of the user, nor into each other's. The contents of an output are copied into its scratch object only
+ * when the task graph also reads it (in/out objects). Once the winner is selected, its scratch objects are copied back with {@link #commit()}.
+ * </p>
+ */
+final class ScratchHeap {
+
+    private final Map<Object, Object> scratchObjects;
+    private final Map<Object, Boolean> inOutObjects;
+
+    ScratchHeap(List<Object> inputs, List<Object> outputs) {
+        scratchObjects = new IdentityHashMap<>();
+        inOutObjects = new IdentityHashMap<>();
+        for (Object output : outputs) {
+            if (scratchObjects.containsKey(output)) {
+                continue;
+            }
+            boolean isInput = inputs.stream().anyMatch(input -> input == output);
+            Object scratch = allocate(output);
+            if (isInput) {
+                copy(output, scratch);
+            }
+            scratchObjects.put(output, scratch);
+            inOutObjects.put(output, isInput);
+        }
+    }
+
+    /**
+     * @return the scratch object of an output, or the same object if it is only read.
+     */
+    Object get(Object object) {
+        return scratchObjects.getOrDefault(object, object);
+    }
+
+    TaskPackage replaceArguments(TaskPackage taskPackage) {
+        if (taskPackage.isPrebuiltTask()) {
+            throw new TornadoDynamicReconfigurationException(STR."[ERROR] Dynamic reconfiguration does not support pre-built tasks (\{taskPackage.getId()})");
+        }
+        return taskPackage.withArguments(this::get);
+    }
+
+    /**
+     * Copies the contents of the in/out objects of the user again. It is used before the timed run, after the warm-up runs, and before a heap is
+     * reused by another run.
+     */
+    void reset() {
+        scratchObjects.forEach((object, scratch) -> {
+            if (inOutObjects.get(object)) {
+                copy(object, scratch);
+            }
+        });
+    }
+
+    /**
+     * Copies the scratch objects into the objects of the user.
+     */
+    void commit() {
+        scratchObjects.forEach((object, scratch) -> copy(scratch, object));
+    }
+
+    private static TornadoDynamicReconfigurationException unsupported(Object object) {
+        return new TornadoDynamicReconfigurationException(STR."[ERROR] Dynamic reconfiguration does not support outputs of type \{object.getClass().getName()}");
+    }
+
+    private static Object allocate(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            if (!type.getComponentType().isPrimitive()) {
+                throw unsupported(object);
+            }
+            return Array.newInstance(type.getComponentType(), Array.getLength(object));
+        }
+        try {
+            if (object instanceof Tensor tensor) {
+                // Block-quantized tensors keep their scales outside the main segment
+                if (tensor.getDType().isBlockQuantized()) {
+                    throw unsupported(object);
+                }
+                return type.getConstructor(Shape.class).newInstance(tensor.getShape());
+            } else if (object instanceof TornadoNativeArray nativeArray) {
+                return type.getConstructor(int.class).newInstance(nativeArray.getSize());
+            }
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw unsupported(object);
+        }
+        throw unsupported(object);
+    }
+
+    private static void copy(Object from, Object to) {
+        if (from.getClass().isArray()) {
+            System.arraycopy(from, 0, to, 0, Array.getLength(from));
+        } else {
+            TornadoNativeArray source = (TornadoNativeArray) from;
+            MemorySegment.copy(source.getSegment(), 0, ((TornadoNativeArray) to).getSegment(), 0, source.getNumBytesOfSegment());
+        }
+    }
+
+    /**
+     * Scratch heaps for the runs of the sequential profiler. The runs are done one after the other, so only the heap of the fastest run so far and
+     * a spare heap for the next run are kept.
+     */
+    static final class FastestRun {
+
+        private final List<Object> inputs;
+        private final List<Object> outputs;
+        private ScratchHeap fastest;
+        private ScratchHeap spare;
+        private int fastestIndex = -1;
+        private long fastestTime = Long.MAX_VALUE;
+
+        FastestRun(List<Object> inputs, List<Object> outputs) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+        }
+
+        ScratchHeap next() {
+            if (spare == null) {
+                return new ScratchHeap(inputs, outputs);
+            }
+            ScratchHeap heap = spare;
+            spare = null;
+            heap.reset();
+            return heap;
+        }
+
+        /**
+         * Records the time of a run. Ties are won by the lower index, as in the selection of the winner.
+         */
+        void finish(ScratchHeap heap, int index, long time) {
+            if (fastest == null || time < fastestTime || (time == fastestTime && index < fastestIndex)) {
+                spare = fastest;
+                fastest = heap;
+                fastestIndex = index;
+                fastestTime = time;
+            } else {
+                spare = heap;
+            }
+        }
+
+        void commit(int winnerIndex) {
+            if (fastest != null && fastestIndex == winnerIndex) {
+                fastest.commit();
+            }
+        }
+    }
+}
@@ -43,6 +43,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -98,12 +99,14 @@ import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVM;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
 import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
+import uk.ac.manchester.tornado.runtime.common.DeviceResidencyManager;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -115,8 +118,10 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeBuilder;
+import uk.ac.manchester.tornado.runtime.profiler.ConcurrentTimeProfiler;
 import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.jfr.TaskGraphExecutionEvent;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.SketchRequest;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
@@ -131,15 +136,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     /**
      * Options for Dynamic Reconfiguration.
      */
-    private static final boolean EXPERIMENTAL_MULTI_HOST_HEAP = false;
     private static final int DEFAULT_DRIVER_INDEX = 0;
     private static final int PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL = 3;
     private static final boolean TIME_IN_NANOSECONDS = TornadoOptions.TIME_IN_NANOSECONDS;
     private static final String TASK_GRAPH_PREFIX = "XXX";
     private static final ConcurrentHashMap<Policy, ConcurrentHashMap<String, HistoryTable>> executionHistoryPolicy = new ConcurrentHashMap<>();
 
-    private static final boolean USE_GLOBAL_TASK_CACHE = false;
-
     private static final String RESET = "\u001B[0m";
     private static final String RED = "\u001B[31m";
     private static final String WARNING_DEOPT_MESSAGE = RED + "WARNING: Code Bailout to Java sequential. Use --debug to see the reason" + RESET;
@@ -148,8 +150,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final CompileInfo NOT_COMPILE_UPDATE = new CompileInfo(false, false);
     private static final Pattern SIZE_PATTERN = Pattern.compile("(\\d+)(MB|mg|gb|GB)");
     private static final int MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL = 100;
+    private static final AtomicBoolean STARTUP_TIMES_REPORTED = new AtomicBoolean(false);
 
-    private static ConcurrentHashMap<Integer, TaskGraph> globalTaskGraphIndex = new ConcurrentHashMap<>();
     private static int baseGlobalIndex = 0;
     private static AtomicInteger offsetGlobalIndex = new AtomicInteger(0);
     MetaReduceCodeAnalysis analysisTaskGraph;
@@ -176,8 +178,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private List<StreamingObject> outputModeObjects; // List of objects with its data transfer mode (OUT)
     private ConcurrentHashMap<Policy, Integer> policyTimeTable = new ConcurrentHashMap<>();
-    private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerOutputs = new ConcurrentHashMap<>();
-    private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerInputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, TaskGraph> taskGraphIndex = new ConcurrentHashMap<>();
     private StringBuilder bufferLogProfiler = new StringBuilder();
     private Graph compilationGraph;
@@ -808,6 +808,15 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             return;
         }
 
+        // Startup breakdown of the runtime. It is paid once per process, so it is
+        // only reported in the first profile
+        if (STARTUP_TIMES_REPORTED.compareAndSet(false, true)) {
+            TornadoCoreRuntime coreRuntime = TornadoCoreRuntime.getTornadoRuntime();
+            timeProfiler.setTimer(ProfilerType.RUNTIME_INIT_TIME, coreRuntime.getRuntimeInitTime());
+            timeProfiler.setTimer(ProfilerType.BACKEND_INIT_TIME, coreRuntime.getBackendInitTime());
+            timeProfiler.setTimer(ProfilerType.DEVICE_INIT_TIME, coreRuntime.getDeviceInitTime());
+        }
+
         if (!TornadoOptions.PROFILER_LOGS_ACCUMULATE()) {
             timeProfiler.dumpJson(new StringBuilder(), this.getId());
         } else {
@@ -975,6 +984,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             if (mode != DataTransferMode.UNDER_DEMAND) {
                 streamOutObjects.add(functionParameter);
                 executionContext.getLocalStateObject(functionParameter).setStreamOut(true);
+            } else {
+                executionContext.getLocalStateObject(functionParameter).setStreamOutOnDemand(true);
             }
 
             // List of output objects for the dynamic reconfiguration
@@ -1054,6 +1065,24 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
         inputModesObjects.forEach(inputStreamObject -> freeDeviceMemoryObject(inputStreamObject.getObject()));
         outputModeObjects.forEach(outputStreamObject -> freeDeviceMemoryObject(outputStreamObject.getObject()));
+        releaseDeviceArenas();
+    }
+
+    /**
+     * Objects that are only used as task arguments can also be slices of the
+     * device arenas, so they are released before the arenas.
+     */
+    private void releaseDeviceArenas() {
+        for (Object object : executionContext.getObjects()) {
+            final LocalObjectState localState = executionContext.getLocalStateObject(object);
+            for (TornadoXPUDevice device : executionContext.getDevices()) {
+                final XPUDeviceBufferState deviceBufferState = localState.getDataObjectState().getDeviceBufferState(device);
+                if (deviceBufferState.hasObjectBuffer() && deviceBufferState.getXPUBuffer().isArenaSlice()) {
+                    releaseObjectFromDeviceMemory(localState, device);
+                }
+            }
+        }
+        executionContext.releaseDeviceArenas();
     }
 
     private void freeDeviceMemoryObject(Object object) {
@@ -1065,6 +1094,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final DataObjectState dataObjectState = localState.getDataObjectState();
         final XPUDeviceBufferState deviceBufferState = dataObjectState.getDeviceBufferState(device);
         deviceBufferState.setLockBuffer(false);
+        deviceBufferState.setEvicted(false);
+        if (DeviceResidencyManager.isEnabled()) {
+            DeviceResidencyManager.getInstance(device.getDeviceContext()).untrack(deviceBufferState);
+        }
         if (deviceBufferState.hasObjectBuffer()) {
             device.deallocate(deviceBufferState);
         }
@@ -1085,7 +1118,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final DataObjectState dataObjectState = localState.getDataObjectState();
         final TornadoXPUDevice device = meta().getLogicDevice();
         final XPUDeviceBufferState deviceState = dataObjectState.getDeviceBufferState(device);
-        if (deviceState.isLockedBuffer()) {
+        if (deviceState.isLockedBuffer() && !deviceState.isEvicted()) {
             return device.resolveEvent(executionPlanId, device.streamOutBlocking(executionPlanId, object, 0, deviceState, null));
         }
         return null;
@@ -1097,7 +1130,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final TornadoXPUDevice device = meta().getLogicDevice();
         final XPUDeviceBufferState deviceState = dataObjectState.getDeviceBufferState(device);
         deviceState.setPartialCopySize(partialCopySize);
-        if (deviceState.isLockedBuffer()) {
+        if (deviceState.isLockedBuffer() && !deviceState.isEvicted()) {
             return device.resolveEvent(executionPlanId, device.streamOutBlocking(executionPlanId, object, offset, deviceState, null));
         }
         return null;
@@ -1108,7 +1141,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final DataObjectState dataObjectState = localState.getDataObjectState();
         final TornadoXPUDevice device = meta().getLogicDevice();
         final XPUDeviceBufferState deviceBufferState = dataObjectState.getDeviceBufferState(device);
-        if (deviceBufferState.isLockedBuffer()) {
+        if (deviceBufferState.isLockedBuffer() && !deviceBufferState.isEvicted()) {
             deviceBufferState.getXPUBuffer().setSizeSubRegion(bufferSize);
             return device.resolveEvent(executionPlanId, device.streamOutBlocking(executionPlanId, object, hostOffset, deviceBufferState, null));
         }
@@ -1310,7 +1343,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void setupProfiler() {
         if (isProfilerEnabled()) {
-            this.timeProfiler = new TimeProfiler();
+            this.timeProfiler = TornadoOptions.CONCURRENT_PROFILER ? new ConcurrentTimeProfiler() : new TimeProfiler();
         } else {
             this.timeProfiler = new EmptyProfiler();
         }
@@ -1374,15 +1407,21 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     @Override
     public TornadoTaskGraphInterface execute(ExecutorFrame executionPackage) {
         executionPlanId = executionPackage.getExecutionPlanId();
-        if (executionPackage.getDynamicReconfigurationPolicy() == null) {
-            return execute();
-        } else {
-            if (executionPackage.getDRMode() == DRMode.SERIAL) {
-                return scheduleDynamicReconfigurationSequential(executionPackage.getDynamicReconfigurationPolicy());
-            } else if (executionPackage.getDRMode() == DRMode.PARALLEL) {
-                return scheduleDynamicReconfigurationParallel(executionPackage.getDynamicReconfigurationPolicy());
+        TaskGraphExecutionEvent executionEvent = new TaskGraphExecutionEvent();
+        executionEvent.begin();
+        try {
+            if (executionPackage.getDynamicReconfigurationPolicy() == null) {
+                return execute();
+            } else {
+                if (executionPackage.getDRMode() == DRMode.SERIAL) {
+                    return scheduleDynamicReconfigurationSequential(executionPackage.getDynamicReconfigurationPolicy());
+                } else if (executionPackage.getDRMode() == DRMode.PARALLEL) {
+                    return scheduleDynamicReconfigurationParallel(executionPackage.getDynamicReconfigurationPolicy());
+                }
+                throw new TornadoRuntimeException("");
             }
-            throw new TornadoRuntimeException("");
+        } finally {
+            executionEvent.commit(getId(), executionPlanId, executionContext.getTaskCount());
         }
     }
 
@@ -1559,24 +1598,34 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void runAllTasksJavaSequential() {
-        for (TaskPackage taskPackage : taskPackages) {
+        runAllTasksJavaSequential(taskPackages);
+    }
+
+    private void runAllTasksJavaSequential(List<TaskPackage> packages) {
+        for (TaskPackage taskPackage : packages) {
             runSequentialCodeInThread(taskPackage);
         }
     }
 
-    private void runThreadSequentialVersion(Policy policy, Thread[] threads, int indexSequential, Timer timer, long[] totalTimers) {
+    private List<TaskPackage> replaceArguments(ScratchHeap heap) {
+        return taskPackages.stream().map(heap::replaceArguments).toList();
+    }
+
+    private void runThreadSequentialVersion(Policy policy, Thread[] threads, int indexSequential, Timer timer, long[] totalTimers, ScratchHeap heap) {
         // Last Thread runs the sequential code
         threads[indexSequential] = new Thread(() -> {
             Thread.currentThread().setName("Thread-sequential");
+            List<TaskPackage> packages = replaceArguments(heap);
 
             if (policy == Policy.PERFORMANCE) {
                 for (int k = 0; k < MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL; k++) {
-                    runAllTasksJavaSequential();
+                    runAllTasksJavaSequential(packages);
                 }
+                heap.reset();
             }
 
             final long start = timer.time();
-            runAllTasksJavaSequential();
+            runAllTasksJavaSequential(packages);
             final long endSequentialCode = timer.time();
             if (TornadoOptions.DEBUG) {
                 System.out.println(STR."Seq finished: \{Thread.currentThread().getName()}");
@@ -1586,17 +1635,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         });
     }
 
-    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers) {
+    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers, ScratchHeap[] heaps) {
         for (int i = 0; i < numDevices; i++) {
             final int taskScheduleNumber = i;
             threads[i] = new Thread(() -> {
                 String newTaskScheduleName = TASK_GRAPH_PREFIX + taskScheduleNumber;
                 TaskGraph task = new TaskGraph(newTaskScheduleName);
+                ScratchHeap heap = heaps[taskScheduleNumber];
 
                 Thread.currentThread().setName(STR."Thread-DEV: \{TornadoRuntime.getTornadoRuntime().getBackend(0).getDevice(taskScheduleNumber).getPhysicalDevice().getDeviceName()}");
 
                 for (StreamingObject streamingObject : inputModesObjects) {
-                    performStreamInObject(task, streamingObject.object, streamingObject.mode);
+                    performStreamInObject(task, heap.get(streamingObject.object), streamingObject.mode);
                 }
 
                 for (TaskPackage taskPackage : taskPackages) {
@@ -1605,11 +1655,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                     if (TornadoOptions.DEBUG) {
                         System.out.println(STR."SET DEVICE: \{newTaskScheduleName}.\{taskID}.device=0:\{taskScheduleNumber}");
                     }
-                    task.addTask(taskPackage);
+                    task.addTask(heap.replaceArguments(taskPackage));
                 }
 
                 for (StreamingObject streamingObject : outputModeObjects) {
-                    performStreamOutThreads(streamingObject.mode, task, streamingObject.object);
+                    performStreamOutThreads(streamingObject.mode, task, heap.get(streamingObject.object));
                 }
 
                 ImmutableTaskGraph immutableTaskGraph = task.snapshot();
@@ -1620,20 +1670,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                     for (int k = 0; k < PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL; k++) {
                         executor.execute();
                     }
+                    heap.reset();
                 }
 
                 long start = timer.time();
                 executor.execute();
                 final long end = timer.time();
-                taskGraphIndex.put(taskScheduleNumber, task);
-
-                if (USE_GLOBAL_TASK_CACHE) {
-                    globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
-                    offsetGlobalIndex.incrementAndGet();
-                } else {
-                    globalTaskGraphIndex.put(taskScheduleNumber, task);
-                }
-
                 totalTimers[taskScheduleNumber] = (end - start);
             });
         }
@@ -1652,11 +1694,17 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         Thread[] threads = new Thread[numThreads];
         long[] totalTimers = new long[numThreads];
 
+        // Each device (and the sequential code) writes its outputs into its own scratch heap
+        ScratchHeap[] heaps = new ScratchHeap[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            heaps[i] = new ScratchHeap(streamInObjects, streamOutObjects);
+        }
+
         // Last Thread runs the sequential code
-        runThreadSequentialVersion(policy, threads, numDevices, timer, totalTimers);
+        runThreadSequentialVersion(policy, threads, numDevices, timer, totalTimers, heaps[numDevices]);
 
         // Run all task schedules in parallel
-        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers);
+        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers, heaps);
 
         // FORK
         for (int i = 0; i < numThreads; i++) {
@@ -1668,6 +1716,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             Tuple2 tuple = syncWinner(threads);
             int deviceWinnerIndex = tuple.threadWinnerIndex;
             tuple.join.start();
+            heaps[deviceWinnerIndex].commit();
             policyTimeTable.put(Policy.LATENCY, deviceWinnerIndex);
         } else {
             // JOIN for the PERFORMANCE and END_TO_END policies.
@@ -1682,6 +1731,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         if ((policy == Policy.PERFORMANCE || policy == Policy.END_2_END) && (masterThreadID == Thread.currentThread().getId())) {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
+            heaps[deviceWinnerIndex].commit();
             policyTimeTable.put(policy, deviceWinnerIndex);
             if (TornadoOptions.DEBUG) {
                 System.out.println(getListDevices());
@@ -1717,16 +1767,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         if (TornadoOptions.DEBUG) {
             System.out.println(STR."Running in parallel device: \{deviceWinnerIndex}");
         }
+        // The task graphs of the profiling runs use scratch objects, so the task graph with the objects of the user is built once
         TaskGraph task = taskGraphIndex.get(deviceWinnerIndex);
         if (task == null) {
-            if (USE_GLOBAL_TASK_CACHE) {
-                // This is only if compilation is not using Partial Evaluation
-                task = globalTaskGraphIndex.get(deviceWinnerIndex);
-            } else {
-                task = recompileTask(deviceWinnerIndex);
-                // Save the TaskSchedule in cache
-                taskGraphIndex.put(deviceWinnerIndex, task);
-            }
+            task = recompileTask(deviceWinnerIndex);
+            // Save the TaskSchedule in cache
+            taskGraphIndex.put(deviceWinnerIndex, task);
         }
 
         ImmutableTaskGraph immutableTaskGraph = task.snapshot();
@@ -1749,69 +1795,33 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return this;
     }
 
-    private Object cloneObject(Object o) {
-        if (o instanceof float[] cloneFloat) {
-            return cloneFloat.clone();
-        } else if (o instanceof int[] cloneInt) {
-            return cloneInt.clone();
-        } else {
-            throw new RuntimeException("Data type cloning not supported");
-        }
-    }
-
-    @SuppressWarnings("unused")
-    private void cloneInputOutputObjects() {
-        final long startSearchProfiler = (TIME_IN_NANOSECONDS) ? System.nanoTime() : System.currentTimeMillis();
-        TornadoBackend tornadoDriver = TornadoCoreRuntime.getTornadoRuntime().getBackend(DEFAULT_DRIVER_INDEX);
-        int numDevices = tornadoDriver.getBackendCounter();
-        // Clone objects (only outputs) for each device
-        for (int deviceNumber = 0; deviceNumber < numDevices; deviceNumber++) {
-            ArrayList<Object> newInObjects = new ArrayList<>();
-            ArrayList<Object> newOutObjects = new ArrayList<>();
-
-            for (Object in : streamInObjects) {
-                boolean outputObjectFound = false;
-                for (Object out : streamOutObjects) {
-                    if (in == out) {
-                        outputObjectFound = true;
-                        break;
-                    }
-                }
-                if (outputObjectFound) {
-                    Object clonedObject = cloneObject(in);
-                    newInObjects.add(clonedObject);
-                    newOutObjects.add(clonedObject);
-                } else {
-                    newInObjects.add(in);
-                }
-            }
-            multiHeapManagerInputs.put(deviceNumber, newInObjects);
-            multiHeapManagerOutputs.put(deviceNumber, newOutObjects);
-        }
-    }
-
-    private void runSequentialTaskGraph(Policy policy, Timer timer, long[] totalTimers, int indexSequential) {
+    private void runSequentialTaskGraph(Policy policy, Timer timer, long[] totalTimers, int indexSequential, ScratchHeap.FastestRun runs) {
+        ScratchHeap heap = runs.next();
+        List<TaskPackage> packages = replaceArguments(heap);
         if (policy == Policy.PERFORMANCE) {
             for (int k = 0; k < MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL; k++) {
-                runAllTasksJavaSequential();
+                runAllTasksJavaSequential(packages);
             }
+            heap.reset();
         }
         long startSequential = timer.time();
-        runAllTasksJavaSequential();
+        runAllTasksJavaSequential(packages);
         final long endSequentialCode = timer.time();
         totalTimers[indexSequential] = (endSequentialCode - startSequential);
+        runs.finish(heap, indexSequential, totalTimers[indexSequential]);
     }
 
-    private void runAllTaskGraphsInAcceleratorsSequentially(int numDevices, Timer timer, Policy policy, long[] totalTimers) {
+    private void runAllTaskGraphsInAcceleratorsSequentially(int numDevices, Timer timer, Policy policy, long[] totalTimers, ScratchHeap.FastestRun runs) {
         String[] ignoreTaskNames = System.getProperties().getProperty("tornado.ignore.tasks", "").split(",");
 
         // Running sequentially for all the devices
         for (int taskNumber = 0; taskNumber < numDevices; taskNumber++) {
             String newTaskScheduleName = TASK_GRAPH_PREFIX + taskNumber;
             TaskGraph task = new TaskGraph(newTaskScheduleName);
+            ScratchHeap heap = runs.next();
 
             for (StreamingObject streamingObject : inputModesObjects) {
-                performStreamInObject(task, streamingObject.object, streamingObject.mode);
+                performStreamInObject(task, heap.get(streamingObject.object), streamingObject.mode);
             }
 
             boolean ignoreTask = false;
@@ -1831,14 +1841,15 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 if (TornadoOptions.DEBUG) {
                     System.out.println(STR."SET DEVICE: \{newTaskScheduleName}.\{taskID}.device=0:\{taskNumber}");
                 }
-                task.addTask(taskPackage);
+                task.addTask(heap.replaceArguments(taskPackage));
             }
 
             if (ignoreTask) {
+                runs.finish(heap, taskNumber, Long.MAX_VALUE);
                 continue;
             }
             for (StreamingObject modeObject : outputModeObjects) {
-                performStreamOutThreads(modeObject.mode, task, modeObject.object);
+                performStreamOutThreads(modeObject.mode, task, heap.get(modeObject.object));
             }
 
             ImmutableTaskGraph immutableTaskGraph = task.snapshot();
@@ -1848,22 +1859,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 for (int k = 0; k < PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL; k++) {
                     executor.execute();
                 }
+                heap.reset();
             }
 
             final long start = timer.time();
             executor.execute();
             final long end = timer.time();
-            taskGraphIndex.put(taskNumber, task);
-
-            // TaskSchedules Global
-            if (USE_GLOBAL_TASK_CACHE) {
-                globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
-                offsetGlobalIndex.incrementAndGet();
-            } else {
-                globalTaskGraphIndex.put(taskNumber, task);
-            }
-
             totalTimers[taskNumber] = end - start;
+            runs.finish(heap, taskNumber, totalTimers[taskNumber]);
         }
     }
 
@@ -1929,14 +1932,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final int totalTornadoDevices = numDevices + 1;
         long[] totalTimers = new long[totalTornadoDevices];
 
+        // The runs write their outputs into scratch heaps, and only the outputs of the fastest run are kept
+        ScratchHeap.FastestRun runs = new ScratchHeap.FastestRun(streamInObjects, streamOutObjects);
+
         // Run Sequential
-        runSequentialTaskGraph(policy, timer, totalTimers, numDevices);
+        runSequentialTaskGraph(policy, timer, totalTimers, numDevices, runs);
 
         // Run Task Schedules on the accelerator
-        runAllTaskGraphsInAcceleratorsSequentially(numDevices, timer, policy, totalTimers);
+        runAllTaskGraphsInAcceleratorsSequentially(numDevices, timer, policy, totalTimers, runs);
 
         if (policy == Policy.PERFORMANCE || policy == Policy.END_2_END) {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
+            runs.commit(deviceWinnerIndex);
             policyTimeTable.put(policy, deviceWinnerIndex);
 
             updateHistoryTables(policy, deviceWinnerIndex);
@@ -1948,30 +1955,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
-    /**
-     * Experimental method to sync all objects when making a clone copy for all output objects per device.
-     *
-     * @param policy
-     *     input policy
-     * @param numDevices
-     *     number of devices
-     */
-    private void restoreVarsIntoJavaHeap(Policy policy, int numDevices) {
-        if (policyTimeTable.get(policy) < numDevices) {
-            // link output
-            int deviceWinnerIndex = policyTimeTable.get(policy);
-            ArrayList<Object> deviceOutputObjects = multiHeapManagerOutputs.get(deviceWinnerIndex);
-            for (int i = 0; i < streamOutObjects.size(); i++) {
-                @SuppressWarnings("unused") Object output = streamOutObjects.get(i);
-                output = deviceOutputObjects.get(i);
-            }
-
-            for (int i = 0; i < numDevices; i++) {
-                deviceOutputObjects = multiHeapManagerOutputs.get(i);
-            }
-        }
-    }
-
     /**
      * It obtains the maximum input size for an input task.
      *
@@ -1985,6 +1968,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             if (o.getClass().isArray()) {
                 int currentSize = Array.getLength(o);
                 size = Math.max(currentSize, size);
+            } else if (o instanceof TornadoNativeArray nativeArray) {
+                size = Math.max(nativeArray.getSize(), size);
             } else {
                 size = Math.max(1, size);
             }
@@ -2005,10 +1990,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         if (policyTimeTable.get(policy) == null) {
             runWithSequentialProfiler(policy);
-
-            if (EXPERIMENTAL_MULTI_HOST_HEAP) {
-                restoreVarsIntoJavaHeap(policy, numDevices);
-            }
         } else {
             // Run with the winner device
             int deviceWinnerIndex = policyTimeTable.get(policy);
@@ -2229,6 +2210,57 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         executionContext.setExecutionPlanMemoryLimit(TornadoExecutionContext.INIT_VALUE);
     }
 
+    @Override
+    public void withUnifiedMemory(boolean unifiedMemory) {
+        executionContext.setUnifiedMemory(unifiedMemory);
+    }
+
+    @Override
+    public void withDeviceArena(String arenaSize) {
+        executionContext.setDeviceArenaCapacity(parseSizeToBytes(arenaSize));
+    }
+
+    @Override
+    public void withoutDeviceArena() {
+        executionContext.setDeviceArenaCapacity(TornadoExecutionContext.INIT_VALUE);
+    }
+
+    @Override
+    public void withIterations(int numIterations, Object stopCondition) {
+        boolean wasLoopEnabled = executionContext.isIterationLoopEnabled();
+        Object lastStopCondition = executionContext.getIterationStopCondition();
+        executionContext.setIterations(numIterations, stopCondition);
+        // The number of iterations is read at runtime. A new loop structure requires new bytecodes
+        if (wasLoopEnabled != executionContext.isIterationLoopEnabled() || lastStopCondition != stopCondition) {
+            invalidateBytecodes();
+        }
+    }
+
+    @Override
+    public void withSwapBuffers(Object bufferA, Object bufferB) {
+        if (bufferA == bufferB) {
+            throw new TornadoRuntimeException("[ERROR] A buffer cannot be swapped with itself");
+        }
+        if (executionContext.addSwapBuffers(bufferA, bufferB)) {
+            invalidateBytecodes();
+        }
+    }
+
+    @Override
+    public void withoutSwapBuffers() {
+        if (executionContext.clearSwapBuffers()) {
+            invalidateBytecodes();
+        }
+    }
+
+    /**
+     * The TornadoVM bytecodes are generated again in the next execution. Compiled
+     * kernels are kept in the code cache.
+     */
+    private void invalidateBytecodes() {
+        executionContext.getLastDevices().clear();
+    }
+
     private long parseSizeToBytes(String sizeStr) {
         Matcher matcher = SIZE_PATTERN.matcher(sizeStr);
         if (!matcher.find()) {
@@ -2295,6 +2327,21 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return getProfilerTimer(TOTAL_KERNEL_TIME);
     }
 
+    @Override
+    public long getPredictedDeviceWriteTime() {
+        return getProfilerTimer(ProfilerType.PREDICTED_COPY_IN_TIME);
+    }
+
+    @Override
+    public long getPredictedDeviceReadTime() {
+        return getProfilerTimer(ProfilerType.PREDICTED_COPY_OUT_TIME);
+    }
+
+    @Override
+    public long getPredictedDeviceKernelTime() {
+        return getProfilerTimer(ProfilerType.TOTAL_PREDICTED_KERNEL_TIME);
+    }
+
     private long __getTimerFromReduceTaskGraph(ProfilerType profilerType) {
         return switch (profilerType) {
             case TOTAL_KERNEL_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getDeviceKernelTime();
@@ -2305,6 +2352,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             case TOTAL_DRIVER_COMPILE_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getDriverInstallTime();
             case TOTAL_GRAAL_COMPILE_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getTornadoCompilerTime();
             case TOTAL_TASK_GRAPH_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getTotalTime();
+            case PREDICTED_COPY_IN_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getPredictedDeviceWriteTime();
+            case PREDICTED_COPY_OUT_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getPredictedDeviceReadTime();
+            case TOTAL_PREDICTED_KERNEL_TIME -> reduceTaskGraph.getExecutionResult().getProfilerResult().getPredictedDeviceKernelTime();
             default -> 0L;
         };
     }
@@ -2319,6 +2369,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             case TOTAL_DRIVER_COMPILE_TIME -> timeProfiler.getTimer(ProfilerType.TOTAL_DRIVER_COMPILE_TIME);
             case TOTAL_GRAAL_COMPILE_TIME -> timeProfiler.getTimer(ProfilerType.TOTAL_GRAAL_COMPILE_TIME);
             case TOTAL_TASK_GRAPH_TIME -> timeProfiler.getTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME);
+            case PREDICTED_COPY_IN_TIME -> timeProfiler.getTimer(ProfilerType.PREDICTED_COPY_IN_TIME);
+            case PREDICTED_COPY_OUT_TIME -> timeProfiler.getTimer(ProfilerType.PREDICTED_COPY_OUT_TIME);
+            case TOTAL_PREDICTED_KERNEL_TIME -> timeProfiler.getTimer(ProfilerType.TOTAL_PREDICTED_KERNEL_TIME);
             default -> 0;
         };
     }
@@ -85,6 +85,7 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
     private final boolean enableExceptions;
     private final boolean enableProfiling;
     private final boolean enableOooExecution;
+    private final int numCommandQueues;
     private final boolean openclUseBlockingApiCalls;
     private final boolean enableParallelization;
     private final boolean enableVectors;
@@ -148,6 +149,7 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
         enableExceptions = parseBoolean(getDefault("exceptions.enable", id, FALSE));
         enableProfiling = parseBoolean(getDefault("profiling.enable", id, FALSE));
         enableOooExecution = parseBoolean(getDefault("ooo-execution.enable", id, FALSE));
+        numCommandQueues = Math.max(1, parseInt(getDefault("vm.queues", id, "1")));
         openclUseBlockingApiCalls = parseBoolean(getDefault("opencl.blocking", id, FALSE));
 
         enableParallelization = parseBoolean(getDefault("parallelise", id, TRUE));
@@ -329,6 +331,14 @@ public abstract class AbstractMetaData implements TaskMetaDataInterface {
         return enableOooExecution;
     }
 
+    /**
+     * @return the number of command queues of a device that independent tasks are
+     *     distributed over.
+     */
+    public int getNumCommandQueues() {
+        return numCommandQueues;
+    }
+
     public boolean shouldUseOpenCLBlockingApiCalls() {
         return openclUseBlockingApiCalls;
     }
@@ -41,6 +41,7 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.runtime.EventSet;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
 
 public class TaskMetaData extends AbstractMetaData {
 
@@ -58,6 +59,7 @@ public class TaskMetaData extends AbstractMetaData {
     private long[] localWork;
     private boolean localWorkDefined;
     private boolean globalWorkDefined;
+    private Map<ProfilerCodeFeatures, Integer> codeFeatures;
 
     public TaskMetaData(ScheduleMetaData scheduleMetaData, String taskID, int numParameters) {
         super(STR."\{scheduleMetaData.getId()}.\{taskID}", scheduleMetaData);
@@ -281,6 +283,18 @@ public class TaskMetaData extends AbstractMetaData {
         localWorkDefined = true;
     }
 
+    /**
+     * @return features of the last kernel compiled for this task, or null if the
+     *     feature extraction did not run.
+     */
+    public Map<ProfilerCodeFeatures, Integer> getCodeFeatures() {
+        return codeFeatures;
+    }
+
+    public void setCodeFeatures(Map<ProfilerCodeFeatures, Integer> codeFeatures) {
+        this.codeFeatures = codeFeatures;
+    }
+
     @Override
     public String getCompilerFlags() {
         return isOpenclCompilerFlagsDefined() ? super.getCompilerFlags() : scheduleMetaData.getCompilerFlags();
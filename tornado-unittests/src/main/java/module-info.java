@@ -1,6 +1,7 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.matrices;
     requires lucene.core;
     requires java.desktop;
     requires jdk.incubator.vector;
@@ -29,8 +30,10 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.math;
     exports uk.ac.manchester.tornado.unittests.matrices;
     exports uk.ac.manchester.tornado.unittests.prebuilt;
+    exports uk.ac.manchester.tornado.unittests.primitives;
     exports uk.ac.manchester.tornado.unittests.profiler;
     exports uk.ac.manchester.tornado.unittests.reductions;
+    exports uk.ac.manchester.tornado.unittests.remote;
     exports uk.ac.manchester.tornado.unittests.slam;
     exports uk.ac.manchester.tornado.unittests.tasks;
     exports uk.ac.manchester.tornado.unittests.temporary.values;
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoBackend;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoRuntimeInterface;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Test the first queries of the runtime from several threads at the same
+ * time. The backends are loaded on the first query (in parallel, unless
+ * {@code tornado.backends.parallel.init=False}), and the compiler of each
+ * device is created on the first use of that device.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestLazyBackendInit
+ * tornado-test -V --jvm="-Dtornado.backends.parallel.init=False" uk.ac.manchester.tornado.unittests.api.TestLazyBackendInit
+ * </code>
+ */
+public class TestLazyBackendInit extends TornadoTestBase {
+
+    private static final int NUM_THREADS = 8;
+
+    /**
+     * Devices observed by each thread, indexed by backend and device.
+     */
+    private static List<List<List<TornadoDevice>>> devicesPerThread;
+
+    /**
+     * It runs before {@link TornadoTestBase#before()}, so the threads are the
+     * first users of the runtime in this JVM.
+     */
+    @BeforeClass
+    public static void queryRuntimeConcurrently() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<List<TornadoDevice>>>> futures = new ArrayList<>();
+            for (int i = 0; i < NUM_THREADS; i++) {
+                final int thread = i;
+                Callable<List<List<TornadoDevice>>> query = () -> {
+                    start.await();
+                    TornadoRuntimeInterface runtime = TornadoRuntime.getTornadoRuntime();
+                    List<List<TornadoDevice>> devices = new ArrayList<>();
+                    for (int backendIndex = 0; backendIndex < runtime.getNumBackends(); backendIndex++) {
+                        TornadoBackend backend = runtime.getBackend(backendIndex);
+                        int numDevices = backend.getBackendCounter();
+                        List<TornadoDevice> backendDevices = new ArrayList<>(Collections.nCopies(numDevices, null));
+                        // Threads create the devices in different orders
+                        for (int j = 0; j < numDevices; j++) {
+                            int deviceIndex = (thread % 2 == 0) ? j : numDevices - 1 - j;
+                            backendDevices.set(deviceIndex, backend.getDevice(deviceIndex));
+                        }
+                        devices.add(backendDevices);
+                    }
+                    return devices;
+                };
+                futures.add(executor.submit(query));
+            }
+            start.countDown();
+
+            devicesPerThread = new ArrayList<>();
+            for (Future<List<List<TornadoDevice>>> future : futures) {
+                devicesPerThread.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * All threads see the same backends, and each device is created once.
+     */
+    @Test
+    public void testSameDevicesInAllThreads() {
+        List<List<TornadoDevice>> expected = devicesPerThread.getFirst();
+        assertTrue(expected.size() >= 1);
+        for (List<List<TornadoDevice>> devices : devicesPerThread) {
+            assertEquals(expected.size(), devices.size());
+            for (int backendIndex = 0; backendIndex < expected.size(); backendIndex++) {
+                assertEquals(expected.get(backendIndex).size(), devices.get(backendIndex).size());
+                for (int deviceIndex = 0; deviceIndex < expected.get(backendIndex).size(); deviceIndex++) {
+                    assertSame(expected.get(backendIndex).get(deviceIndex), devices.get(backendIndex).get(deviceIndex));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAllDevicesMatchLazyDevices() {
+        TornadoRuntimeInterface runtime = getTornadoRuntime();
+        for (int backendIndex = 0; backendIndex < runtime.getNumBackends(); backendIndex++) {
+            List<TornadoDevice> allDevices = runtime.getBackend(backendIndex).getAllDevices();
+            List<TornadoDevice> lazyDevices = devicesPerThread.getFirst().get(backendIndex);
+            assertEquals(lazyDevices.size(), allDevices.size());
+            for (int deviceIndex = 0; deviceIndex < allDevices.size(); deviceIndex++) {
+                assertSame(lazyDevices.get(deviceIndex), allDevices.get(deviceIndex));
+            }
+        }
+    }
+
+    public static void increment(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
+    /**
+     * Compile and run a task on the default device of every backend, in
+     * parallel, after the devices were created by different threads.
+     */
+    @Test
+    public void testCompileOnEveryBackendConcurrently() throws InterruptedException, ExecutionException {
+        TornadoRuntimeInterface runtime = getTornadoRuntime();
+        ExecutorService executor = Executors.newFixedThreadPool(runtime.getNumBackends());
+        try {
+            List<Future<IntArray>> futures = new ArrayList<>();
+            for (int backendIndex = 0; backendIndex < runtime.getNumBackends(); backendIndex++) {
+                TornadoDevice device = runtime.getBackend(backendIndex).getDevice(0);
+                futures.add(executor.submit(() -> {
+                    IntArray a = new IntArray(1024);
+                    a.init(1);
+                    TaskGraph taskGraph = new TaskGraph("s0") //
+                            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                            .task("t0", TestLazyBackendInit::increment, a) //
+                            .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+                    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+                    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+                        executionPlan.withDevice(device).execute();
+                    } catch (TornadoExecutionPlanException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return a;
+                }));
+            }
+            for (Future<IntArray> future : futures) {
+                IntArray a = future.get();
+                for (int i = 0; i < a.getSize(); i++) {
+                    assertEquals(2, a.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Test the classification of the global memory accesses by the memory
+ * coalescing analysis. The analysis appends a JSON report per compiled task to
+ * the file given by {@code tornado.coalescing.analysis.file}.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.coalescing.analysis=True -Dtornado.coalescing.analysis.file=coalescing.json"
+ * uk.ac.manchester.tornado.unittests.codegen.TestMemoryCoalescingAnalysis
+ * </code>
+ */
+public class TestMemoryCoalescingAnalysis extends TornadoTestBase {
+
+    private static final String REPORT_FILE = System.getProperty("tornado.coalescing.analysis.file");
+    private static final int SIZE = 1024;
+    private static final int STRIDE = 4;
+
+    public static void coalesced(FloatArray a, FloatArray b) {
+        for (@Parallel int i = 0; i < b.getSize(); i++) {
+            b.set(i, a.get(i) * 2.0f);
+        }
+    }
+
+    public static void strided(FloatArray a, FloatArray b) {
+        for (@Parallel int i = 0; i < b.getSize(); i++) {
+            b.set(i, a.get(i * STRIDE));
+        }
+    }
+
+    public static void rowMajor(FloatArray a, FloatArray b, int width) {
+        for (@Parallel int i = 0; i < b.getSize(); i++) {
+            float sum = 0.0f;
+            for (int j = 0; j < width; j++) {
+                sum += a.get(i * width + j);
+            }
+            b.set(i, sum);
+        }
+    }
+
+    public static void indirect(IntArray indexes, FloatArray a, FloatArray b) {
+        for (@Parallel int i = 0; i < b.getSize(); i++) {
+            b.set(i, a.get(indexes.get(i)));
+        }
+    }
+
+    @After
+    public void after() throws IOException {
+        if (REPORT_FILE != null) {
+            Files.deleteIfExists(Path.of(REPORT_FILE));
+        }
+    }
+
+    private static void execute(TaskGraph taskGraph) throws TornadoExecutionPlanException {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+    }
+
+    /**
+     * @return the JSON report of the task that runs the given method.
+     */
+    private static String getReport(String methodName) throws IOException {
+        assertNotNull("Run with -Dtornado.coalescing.analysis=True -Dtornado.coalescing.analysis.file=<file>", REPORT_FILE);
+        List<String> lines = Files.readAllLines(Path.of(REPORT_FILE));
+        String taskName = TestMemoryCoalescingAnalysis.class.getName() + "." + methodName + "\"";
+        return lines.stream().filter(line -> line.contains(taskName)).findFirst().orElse(null);
+    }
+
+    @Test
+    public void testCoalesced() throws TornadoExecutionPlanException, IOException {
+        FloatArray a = new FloatArray(SIZE);
+        FloatArray b = new FloatArray(SIZE);
+        a.init(1.0f);
+
+        execute(new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMemoryCoalescingAnalysis::coalesced, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b));
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(2.0f, b.get(i), 0.0f);
+        }
+        String report = getReport("coalesced");
+        assertNotNull(report);
+        assertTrue(report.contains("\"pattern\": \"COALESCED\""));
+        assertFalse(report.contains("\"pattern\": \"STRIDED\""));
+        assertFalse(report.contains("\"pattern\": \"UNKNOWN\""));
+    }
+
+    @Test
+    public void testStrided() throws TornadoExecutionPlanException, IOException {
+        FloatArray a = new FloatArray(SIZE * STRIDE);
+        FloatArray b = new FloatArray(SIZE);
+        for (int i = 0; i < a.getSize(); i++) {
+            a.set(i, i);
+        }
+
+        execute(new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMemoryCoalescingAnalysis::strided, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b));
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i * STRIDE, b.get(i), 0.0f);
+        }
+        String report = getReport("strided");
+        assertNotNull(report);
+        // The read of a is strided by four floats, the write of b is coalesced
+        assertTrue(report.contains("\"access\": \"read\", \"stride\": \"16\", \"elementSize\": 4, \"pattern\": \"STRIDED\", \"efficiency\": 0.25"));
+        assertTrue(report.contains("\"access\": \"write\", \"stride\": \"4\", \"elementSize\": 4, \"pattern\": \"COALESCED\""));
+        assertFalse(report.contains("\"pattern\": \"UNKNOWN\""));
+    }
+
+    /**
+     * The stride of {@code a[i * width + j]} depends on the width, which is only
+     * known at runtime.
+     */
+    @Test
+    public void testRuntimeStride() throws TornadoExecutionPlanException, IOException {
+        final int width = 16;
+        FloatArray a = new FloatArray(SIZE * width);
+        FloatArray b = new FloatArray(SIZE);
+        a.init(1.0f);
+
+        execute(new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMemoryCoalescingAnalysis::rowMajor, a, b, width) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b));
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(width, b.get(i), 0.0f);
+        }
+        String report = getReport("rowMajor");
+        assertNotNull(report);
+        assertTrue(report.contains("\"access\": \"read\", \"stride\": \"4*n\", \"elementSize\": 4, \"pattern\": \"STRIDED\""));
+        assertFalse(report.contains("\"pattern\": \"UNKNOWN\""));
+    }
+
+    /**
+     * The index of an indirect access is loaded from memory, so the stride
+     * cannot be determined at compile time.
+     */
+    @Test
+    public void testUnknown() throws TornadoExecutionPlanException, IOException {
+        IntArray indexes = new IntArray(SIZE);
+        FloatArray a = new FloatArray(SIZE);
+        FloatArray b = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            indexes.set(i, (i * 7) % SIZE);
+            a.set(i, i);
+        }
+
+        execute(new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, indexes, a) //
+                .task("t0", TestMemoryCoalescingAnalysis::indirect, indexes, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b));
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals((i * 7) % SIZE, b.get(i), 0.0f);
+        }
+        String report = getReport("indirect");
+        assertNotNull(report);
+        assertTrue(report.contains("\"stride\": \"?\", \"elementSize\": 4, \"pattern\": \"UNKNOWN\""));
+    }
+}
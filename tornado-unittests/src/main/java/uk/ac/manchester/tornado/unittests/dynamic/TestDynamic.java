@@ -54,6 +54,12 @@ public class TestDynamic extends TornadoTestBase {
         }
     }
 
+    public static void increment(FloatArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1.0f);
+        }
+    }
+
     public static void saxpy(float alpha, FloatArray x, FloatArray y) {
         for (@Parallel int i = 0; i < y.getSize(); i++) {
             y.set(i, alpha * x.get(i));
@@ -242,4 +248,40 @@ public class TestDynamic extends TornadoTestBase {
             assertEquals(a.get(i) * 2, b.get(i));
         }
     }
+
+    private static void runInOutWithProfiler(Policy policy, DRMode mode) {
+        int numElements = 4096;
+        FloatArray a = new FloatArray(numElements);
+        a.init(10.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDynamic::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        // The profiling runs (and their warm-up runs) write into scratch copies, so only the result of the winner is copied into the array
+        executionPlan.withDynamicReconfiguration(policy, mode) //
+                .execute();
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(11.0f, a.get(i), 0.0f);
+        }
+
+        executionPlan.execute();
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(12.0f, a.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testDynamicInOutSerial() {
+        runInOutWithProfiler(Policy.PERFORMANCE, DRMode.SERIAL);
+    }
+
+    @Test
+    public void testDynamicInOutParallel() {
+        runInOutWithProfiler(Policy.PERFORMANCE, DRMode.PARALLEL);
+    }
 }
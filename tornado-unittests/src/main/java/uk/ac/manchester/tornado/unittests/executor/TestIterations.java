@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestIterations
+ * </code>
+ * </p>
+ */
+public class TestIterations extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 1024;
+
+    public static void increment(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
+    public static void checkThreshold(IntArray a, IntArray flag, int threshold) {
+        flag.set(0, a.get(0) >= threshold ? 1 : 0);
+    }
+
+    public static void stencil(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 1; i < input.getSize() - 1; i++) {
+            output.set(i, (input.get(i - 1) + input.get(i) + input.get(i + 1)) / 3.0f);
+        }
+        output.set(0, input.get(0));
+        output.set(input.getSize() - 1, input.get(input.getSize() - 1));
+    }
+
+    @Test
+    public void testCountedIterations() throws TornadoExecutionPlanException {
+        IntArray a = new IntArray(NUM_ELEMENTS);
+        a.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestIterations::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withIterations(100).execute();
+
+            for (int i = 0; i < NUM_ELEMENTS; i++) {
+                assertEquals(100, a.get(i));
+            }
+
+            // The number of iterations can change between executions
+            executionPlan.withIterations(10).execute();
+            for (int i = 0; i < NUM_ELEMENTS; i++) {
+                assertEquals(110, a.get(i));
+            }
+
+            executionPlan.withoutIterations().execute();
+            for (int i = 0; i < NUM_ELEMENTS; i++) {
+                assertEquals(111, a.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testConditionalIterations() throws TornadoExecutionPlanException {
+        IntArray a = new IntArray(NUM_ELEMENTS);
+        IntArray flag = new IntArray(1);
+        a.init(0);
+        flag.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, flag) //
+                .task("t0", TestIterations::increment, a) //
+                .task("t1", TestIterations::checkThreshold, a, flag, 42) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a, flag);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withIterations(1000, flag).execute();
+        }
+
+        assertEquals(1, flag.get(0));
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(42, a.get(i));
+        }
+    }
+
+    private static FloatArray initStencilInput() {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input.set(i, (i % 7 == 0) ? 100.0f : 0.0f);
+        }
+        return input;
+    }
+
+    /**
+     * Sequential reference with ping-pong buffers.
+     */
+    private static FloatArray stencilReference(FloatArray input, int numIterations) {
+        FloatArray seqInput = new FloatArray(NUM_ELEMENTS);
+        FloatArray seqOutput = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            seqInput.set(i, input.get(i));
+        }
+        for (int iteration = 0; iteration < numIterations; iteration++) {
+            stencil(seqInput, seqOutput);
+            if (iteration < numIterations - 1) {
+                FloatArray tmp = seqInput;
+                seqInput = seqOutput;
+                seqOutput = tmp;
+            }
+        }
+        return seqOutput;
+    }
+
+    @Test
+    public void testSwapBuffers() throws TornadoExecutionPlanException {
+        final int numIterations = 11;
+        FloatArray input = initStencilInput();
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        FloatArray seqOutput = stencilReference(input, numIterations);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, output) //
+                .task("t0", TestIterations::stencil, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withIterations(numIterations) //
+                    .withSwapBuffers(input, output) //
+                    .execute();
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(seqOutput.get(i), output.get(i), 0.01f);
+        }
+    }
+
+    /**
+     * Registering the same pair again, in any order, must not undo the swap.
+     */
+    @Test
+    public void testDuplicatedSwapBuffers() throws TornadoExecutionPlanException {
+        final int numIterations = 11;
+        FloatArray input = initStencilInput();
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        FloatArray other = new FloatArray(NUM_ELEMENTS);
+        FloatArray seqOutput = stencilReference(input, numIterations);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, output) //
+                .task("t0", TestIterations::stencil, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withIterations(numIterations) //
+                    .withSwapBuffers(input, output) //
+                    .withSwapBuffers(input, output) //
+                    .withSwapBuffers(output, input) //
+                    .execute();
+
+            // A buffer cannot be part of two pairs
+            assertThrows(TornadoRuntimeException.class, () -> executionPlan.withSwapBuffers(output, other));
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(seqOutput.get(i), output.get(i), 0.01f);
+        }
+    }
+
+    /**
+     * Without the swap, every iteration reads the same input and writes the
+     * same output.
+     */
+    @Test
+    public void testWithoutSwapBuffers() throws TornadoExecutionPlanException {
+        final int numIterations = 11;
+        FloatArray input = initStencilInput();
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        FloatArray swappedOutput = stencilReference(input, numIterations);
+        FloatArray singleOutput = stencilReference(input, 1);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestIterations::stencil, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withIterations(numIterations) //
+                    .withSwapBuffers(input, output) //
+                    .execute();
+            for (int i = 0; i < NUM_ELEMENTS; i++) {
+                assertEquals(swappedOutput.get(i), output.get(i), 0.01f);
+            }
+
+            executionPlan.withoutSwapBuffers().execute();
+            for (int i = 0; i < NUM_ELEMENTS; i++) {
+                assertEquals(singleOutput.get(i), output.get(i), 0.01f);
+            }
+        }
+    }
+}
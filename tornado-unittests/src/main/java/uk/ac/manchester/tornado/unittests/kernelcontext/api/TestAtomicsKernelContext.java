@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.kernelcontext.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * The unit-tests in this class check the atomic operations of the
+ * {@link KernelContext} on global and local memory.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.kernelcontext.api.TestAtomicsKernelContext
+ * </code>
+ */
+public class TestAtomicsKernelContext extends TornadoTestBase {
+
+    private static final int SIZE = 8192;
+    private static final int NUM_BINS = 16;
+    private static final int LOCAL_SIZE = 256;
+
+    public static void histogram(KernelContext context, IntArray input, IntArray bins) {
+        int idx = context.globalIdx;
+        context.atomicAdd(bins, input.get(idx), 1);
+    }
+
+    public static void histogramLocalMemory(KernelContext context, IntArray input, IntArray bins) {
+        int idx = context.globalIdx;
+        int localIdx = context.localIdx;
+
+        int[] localBins = context.allocateIntLocalArray(NUM_BINS);
+        if (localIdx < NUM_BINS) {
+            localBins[localIdx] = 0;
+        }
+        context.localBarrier();
+
+        context.atomicAdd(localBins, input.get(idx), 1);
+        context.localBarrier();
+
+        if (localIdx < NUM_BINS) {
+            context.atomicAdd(bins, localIdx, localBins[localIdx]);
+        }
+    }
+
+    public static void maxFloat(KernelContext context, FloatArray input, FloatArray result) {
+        int idx = context.globalIdx;
+        context.atomicMax(result, 0, input.get(idx));
+    }
+
+    public static void minLong(KernelContext context, LongArray input, LongArray result) {
+        int idx = context.globalIdx;
+        context.atomicMin(result, 0, input.get(idx));
+    }
+
+    public static void addFloat(KernelContext context, FloatArray input, FloatArray result) {
+        int idx = context.globalIdx;
+        context.atomicAdd(result, 0, input.get(idx));
+    }
+
+    public static void compareAndSwap(KernelContext context, IntArray owner, IntArray winners) {
+        int idx = context.globalIdx;
+        if (context.atomicCompareAndSwap(owner, 0, -1, idx) == -1) {
+            context.atomicAdd(winners, 0, 1);
+        }
+    }
+
+    private static IntArray createBinIndexes() {
+        Random random = new Random(71);
+        IntArray input = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextInt(NUM_BINS));
+        }
+        return input;
+    }
+
+    private static IntArray histogramSequential(IntArray input) {
+        IntArray bins = new IntArray(NUM_BINS);
+        bins.init(0);
+        for (int i = 0; i < input.getSize(); i++) {
+            bins.set(input.get(i), bins.get(input.get(i)) + 1);
+        }
+        return bins;
+    }
+
+    private static GridScheduler createGridScheduler() {
+        WorkerGrid1D worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        return new GridScheduler("s0.t0", worker);
+    }
+
+    @Test
+    public void testAtomicAddGlobalMemory() throws TornadoExecutionPlanException {
+        IntArray input = createBinIndexes();
+        IntArray bins = new IntArray(NUM_BINS);
+        bins.init(0);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+                .task("t0", TestAtomicsKernelContext::histogram, context, input, bins) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        IntArray expected = histogramSequential(input);
+        for (int i = 0; i < NUM_BINS; i++) {
+            assertEquals(expected.get(i), bins.get(i));
+        }
+    }
+
+    @Test
+    public void testAtomicAddLocalMemory() throws TornadoExecutionPlanException {
+        IntArray input = createBinIndexes();
+        IntArray bins = new IntArray(NUM_BINS);
+        bins.init(0);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+                .task("t0", TestAtomicsKernelContext::histogramLocalMemory, context, input, bins) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        IntArray expected = histogramSequential(input);
+        for (int i = 0; i < NUM_BINS; i++) {
+            assertEquals(expected.get(i), bins.get(i));
+        }
+    }
+
+    @Test
+    public void testAtomicMaxFloat() throws TornadoExecutionPlanException {
+        Random random = new Random(71);
+        FloatArray input = new FloatArray(SIZE);
+        float expected = -Float.MAX_VALUE;
+        for (int i = 0; i < SIZE; i++) {
+            // Mix of negative and positive values to check both orderings of the bits
+            input.set(i, random.nextFloat() * 2000.0f - 1500.0f);
+            expected = Math.max(expected, input.get(i));
+        }
+        FloatArray result = new FloatArray(1);
+        result.set(0, -Float.MAX_VALUE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicsKernelContext::maxFloat, context, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        assertEquals(expected, result.get(0), 0.0f);
+    }
+
+    @Test
+    public void testAtomicMinLong() throws TornadoExecutionPlanException {
+        Random random = new Random(71);
+        LongArray input = new LongArray(SIZE);
+        long expected = Long.MAX_VALUE;
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextLong());
+            expected = Math.min(expected, input.get(i));
+        }
+        LongArray result = new LongArray(1);
+        result.set(0, Long.MAX_VALUE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicsKernelContext::minLong, context, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        assertEquals(expected, result.get(0));
+    }
+
+    @Test
+    public void testAtomicAddFloat() throws TornadoExecutionPlanException {
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        FloatArray input = new FloatArray(SIZE);
+        input.init(0.5f);
+        FloatArray result = new FloatArray(1);
+        result.init(0.0f);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicsKernelContext::addFloat, context, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        // Sums of halves are exact in single precision for this size
+        assertEquals(SIZE * 0.5f, result.get(0), 0.0f);
+    }
+
+    @Test
+    public void testAtomicCompareAndSwap() throws TornadoExecutionPlanException {
+        IntArray owner = new IntArray(1);
+        owner.init(-1);
+        IntArray winners = new IntArray(1);
+        winners.init(0);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, owner, winners) //
+                .task("t0", TestAtomicsKernelContext::compareAndSwap, context, owner, winners) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, owner, winners);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+
+        // Only one thread can replace the initial value
+        assertEquals(1, winners.get(0));
+        assertTrue(owner.get(0) >= 0 && owner.get(0) < SIZE);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.kernelcontext.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * The unit-tests in this class check the sub-group operations of the
+ * {@link KernelContext}. The size of the sub-groups depends on the device, so
+ * the expected values are computed from the sub-group size and the sub-group
+ * local identifier that each thread reports.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.kernelcontext.api.TestSubGroupsKernelContext
+ * </code>
+ */
+public class TestSubGroupsKernelContext extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+    private static final int LOCAL_SIZE = 256;
+
+    public static void identifiers(KernelContext context, IntArray sizes, IntArray localIds, IntArray ids) {
+        int idx = context.globalIdx;
+        sizes.set(idx, context.subGroupSize());
+        localIds.set(idx, context.subGroupLocalId());
+        ids.set(idx, context.subGroupId());
+    }
+
+    public static void reduceAndScan(KernelContext context, IntArray sizes, IntArray localIds, IntArray sums, IntArray inclusive, IntArray exclusive) {
+        int idx = context.globalIdx;
+        sizes.set(idx, context.subGroupSize());
+        localIds.set(idx, context.subGroupLocalId());
+        sums.set(idx, context.subGroupReduceAdd(1));
+        inclusive.set(idx, context.subGroupScanInclusiveAdd(1));
+        exclusive.set(idx, context.subGroupScanExclusiveAdd(1));
+    }
+
+    public static void minMaxFloat(KernelContext context, FloatArray mins, FloatArray maxs) {
+        int idx = context.globalIdx;
+        float value = context.subGroupLocalId() * 0.5f;
+        mins.set(idx, context.subGroupReduceMin(value));
+        maxs.set(idx, context.subGroupReduceMax(value));
+    }
+
+    public static void shuffle(KernelContext context, IntArray sizes, IntArray localIds, IntArray broadcast, IntArray xor) {
+        int idx = context.globalIdx;
+        int localId = context.subGroupLocalId();
+        sizes.set(idx, context.subGroupSize());
+        localIds.set(idx, localId);
+        broadcast.set(idx, context.subGroupBroadcast(localId + 10, 0));
+        xor.set(idx, context.subGroupShuffleXor(localId, 1));
+    }
+
+    public static void vote(KernelContext context, IntArray sizes, IntArray any, IntArray all) {
+        int idx = context.globalIdx;
+        int localId = context.subGroupLocalId();
+        sizes.set(idx, context.subGroupSize());
+        any.set(idx, context.subGroupAny(localId == 0) ? 1 : 0);
+        all.set(idx, context.subGroupAll(localId == 0) ? 1 : 0);
+    }
+
+    private static GridScheduler createGridScheduler() {
+        WorkerGrid1D worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        return new GridScheduler("s0.t0", worker);
+    }
+
+    private static void execute(TaskGraph taskGraph) throws TornadoExecutionPlanException {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(createGridScheduler()).execute();
+        }
+    }
+
+    @Test
+    public void testSubGroupIdentifiers() throws TornadoExecutionPlanException {
+        IntArray sizes = new IntArray(SIZE);
+        IntArray localIds = new IntArray(SIZE);
+        IntArray ids = new IntArray(SIZE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::identifiers, context, sizes, localIds, ids) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds, ids);
+        execute(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertTrue(sizes.get(i) >= 1 && sizes.get(i) <= LOCAL_SIZE);
+            assertTrue(localIds.get(i) >= 0 && localIds.get(i) < sizes.get(i));
+            assertTrue(ids.get(i) >= 0 && ids.get(i) < LOCAL_SIZE);
+        }
+    }
+
+    @Test
+    public void testSubGroupReduceAndScan() throws TornadoExecutionPlanException {
+        IntArray sizes = new IntArray(SIZE);
+        IntArray localIds = new IntArray(SIZE);
+        IntArray sums = new IntArray(SIZE);
+        IntArray inclusive = new IntArray(SIZE);
+        IntArray exclusive = new IntArray(SIZE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::reduceAndScan, context, sizes, localIds, sums, inclusive, exclusive) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds, sums, inclusive, exclusive);
+        execute(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            // All the threads of the work-groups are active, so the sub-groups are full
+            assertEquals(sizes.get(i), sums.get(i));
+            assertEquals(localIds.get(i) + 1, inclusive.get(i));
+            assertEquals(localIds.get(i), exclusive.get(i));
+        }
+    }
+
+    @Test
+    public void testSubGroupMinMaxFloat() throws TornadoExecutionPlanException {
+        IntArray sizes = new IntArray(SIZE);
+        IntArray localIds = new IntArray(SIZE);
+        IntArray ids = new IntArray(SIZE);
+        FloatArray mins = new FloatArray(SIZE);
+        FloatArray maxs = new FloatArray(SIZE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::identifiers, context, sizes, localIds, ids) //
+                .task("t1", TestSubGroupsKernelContext::minMaxFloat, context, mins, maxs) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, mins, maxs);
+
+        WorkerGrid1D worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+        gridScheduler.setWorkerGrid("s0.t1", worker);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withGridScheduler(gridScheduler).execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(0.0f, mins.get(i), 0.0f);
+            assertEquals((sizes.get(i) - 1) * 0.5f, maxs.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testSubGroupShuffle() throws TornadoExecutionPlanException {
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        IntArray sizes = new IntArray(SIZE);
+        IntArray localIds = new IntArray(SIZE);
+        IntArray broadcast = new IntArray(SIZE);
+        IntArray xor = new IntArray(SIZE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::shuffle, context, sizes, localIds, broadcast, xor) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds, broadcast, xor);
+        execute(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(10, broadcast.get(i));
+            // The lane of the exchange is only valid when the sub-group has pairs of threads
+            if (sizes.get(i) % 2 == 0) {
+                assertEquals(localIds.get(i) ^ 1, xor.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSubGroupVote() throws TornadoExecutionPlanException {
+        IntArray sizes = new IntArray(SIZE);
+        IntArray any = new IntArray(SIZE);
+        IntArray all = new IntArray(SIZE);
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroupsKernelContext::vote, context, sizes, any, all) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, any, all);
+        execute(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(1, any.get(i));
+            assertEquals(sizes.get(i) == 1 ? 1 : 0, all.get(i));
+        }
+    }
+}
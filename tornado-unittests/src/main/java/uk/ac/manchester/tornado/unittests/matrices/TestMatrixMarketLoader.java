@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixDouble;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.matrix.MatrixMarketLoader;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Test the parallel {@link MatrixMarketLoader} against the sequential loader
+ * of {@link SparseMatrixUtils}, and the binary CSR format. The tests run on
+ * the host only.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestMatrixMarketLoader
+ * </code>
+ */
+public class TestMatrixMarketLoader extends TornadoTestBase {
+
+    private final List<Path> files = new ArrayList<>();
+
+    @After
+    public void deleteFiles() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        files.clear();
+    }
+
+    private Path createFile(String suffix, String content) throws IOException {
+        Path file = Files.createTempFile("tornado-matrix", suffix);
+        files.add(file);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static CSRMatrix<FloatArray> loadSequential(Path file) throws IOException {
+        try (InputStream inStream = Files.newInputStream(file)) {
+            return SparseMatrixUtils.loadMatrixF(inStream);
+        }
+    }
+
+    private static void assertSameStructure(CSRMatrix<FloatArray> expected, CSRMatrixFloat matrix) {
+        assertEquals(expected.size, matrix.getNumRows());
+        assertEquals(expected.columns, matrix.getNumColumns());
+        assertEquals(expected.n, matrix.getNumNonZeros());
+        for (int i = 0; i <= expected.size; i++) {
+            assertEquals(expected.rows.get(i), matrix.getRowPointers().get(i));
+        }
+        for (int i = 0; i < expected.n; i++) {
+            assertEquals(expected.cols.get(i), matrix.getColumnIndices().get(i));
+        }
+    }
+
+    private static void assertSameMatrix(CSRMatrix<FloatArray> expected, CSRMatrixFloat matrix) {
+        assertSameStructure(expected, matrix);
+        for (int i = 0; i < expected.n; i++) {
+            // The parallel loader rounds the value to double and then to float
+            float value = expected.vals.get(i);
+            assertEquals(value, matrix.getValues().get(i), Math.ulp(value));
+        }
+    }
+
+    /**
+     * One element per row, so the values keep the order of the file. The
+     * values cover the fast path of the parser (short mantissas, signs and
+     * exponents) and the fallback to {@link Double#parseDouble(String)}.
+     */
+    @Test
+    public void testParseValues() throws IOException {
+        String[] values = { "1", "-2", "+3", "0", "-0.0", "1.5", "-0.25", ".5", "-.125", "7.", "3.14159", "-2.25e-3", "1E+2", "-4e2", "6.02214076E23", "1.0e-22", "12345678901234.5", "-9.87654321e-10",
+                "3.141592653589793238", "1234567890123456789", "1e-300", "-2.5e300", "0.000000000000000000000000001", "Infinity" };
+        StringBuilder builder = new StringBuilder();
+        builder.append("%%MatrixMarket matrix coordinate real general\n");
+        builder.append("% values in several formats\n");
+        builder.append(values.length).append(" 1 ").append(values.length).append("\n");
+        for (int i = 0; i < values.length; i++) {
+            // Mix separators and line endings
+            builder.append(i + 1).append(i % 2 == 0 ? " 1 " : "\t1   ").append(values[i]).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = createFile(".mtx", builder.toString());
+
+        CSRMatrixDouble matrix = MatrixMarketLoader.loadCSRMatrixDouble(file);
+        assertEquals(values.length, matrix.getNumRows());
+        assertEquals(values.length, matrix.getNumNonZeros());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], Double.parseDouble(values[i]), matrix.getValues().get(i), 0.0);
+            assertEquals(0, matrix.getColumnIndices().get(i));
+        }
+
+        CSRMatrixFloat matrixFloat = MatrixMarketLoader.loadCSRMatrixFloat(file);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], (float) Double.parseDouble(values[i]), matrixFloat.getValues().get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testSymmetric() throws IOException {
+        String content = """
+                %%MatrixMarket matrix coordinate real symmetric
+                %
+                4 4 6
+                1 1 4.0
+                2 1 -1.0
+                2 2 4.0
+                4 2 -2.5e-1
+                3 3 4.0
+                4 4 4.0
+                """;
+        Path file = createFile(".mtx", content);
+        CSRMatrixFloat matrix = MatrixMarketLoader.loadCSRMatrixFloat(file);
+
+        float[][] expected = { //
+                { 4.0f, -1.0f, 0.0f, 0.0f }, //
+                { -1.0f, 4.0f, 0.0f, -0.25f }, //
+                { 0.0f, 0.0f, 4.0f, 0.0f }, //
+                { 0.0f, -0.25f, 0.0f, 4.0f } };
+        assertEquals(8, matrix.getNumNonZeros());
+        for (int row = 0; row < 4; row++) {
+            float[] dense = new float[4];
+            for (int i = matrix.getRowPointers().get(row); i < matrix.getRowPointers().get(row + 1); i++) {
+                dense[matrix.getColumnIndices().get(i)] = matrix.getValues().get(i);
+            }
+            for (int column = 0; column < 4; column++) {
+                assertEquals(expected[row][column], dense[column], 0.0f);
+            }
+        }
+
+        assertSameMatrix(loadSequential(file), matrix);
+    }
+
+    /**
+     * Pattern files store no values. The structure matches the sequential
+     * loader, and the values are deterministic and in the range [0, 256).
+     */
+    @Test
+    public void testPattern() throws IOException {
+        String content = """
+                %%MatrixMarket matrix coordinate pattern symmetric
+                5 5 7
+                1 1
+                3 1
+                5 2
+                2 2
+                4 3
+                5 5
+                5 4
+                """;
+        Path file = createFile(".mtx", content);
+        CSRMatrixFloat matrix = MatrixMarketLoader.loadCSRMatrixFloat(file);
+        CSRMatrixFloat again = MatrixMarketLoader.loadCSRMatrixFloat(file);
+
+        assertSameStructure(loadSequential(file), matrix);
+        for (int i = 0; i < matrix.getNumNonZeros(); i++) {
+            float value = matrix.getValues().get(i);
+            assertTrue(value >= 0.0f && value < 256.0f);
+            assertEquals(value, again.getValues().get(i), 0.0f);
+        }
+
+        // Both halves of a symmetric pair get the same value
+        for (int row = 0; row < matrix.getNumRows(); row++) {
+            for (int i = matrix.getRowPointers().get(row); i < matrix.getRowPointers().get(row + 1); i++) {
+                int column = matrix.getColumnIndices().get(i);
+                assertEquals(matrix.getValues().get(i), valueAt(matrix, column, row), 0.0f);
+            }
+        }
+    }
+
+    private static float valueAt(CSRMatrixFloat matrix, int row, int column) {
+        for (int i = matrix.getRowPointers().get(row); i < matrix.getRowPointers().get(row + 1); i++) {
+            if (matrix.getColumnIndices().get(i) == column) {
+                return matrix.getValues().get(i);
+            }
+        }
+        return Float.NaN;
+    }
+
+    /**
+     * A file of several megabytes is parsed in several chunks. The entries are
+     * shuffled, so the elements of a row are spread across chunks and must be
+     * sorted by column.
+     */
+    @Test
+    public void testParallelChunks() throws IOException {
+        final int numRows = 5000;
+        final int numColumns = 10007;
+        final int elementsPerRow = 60;
+        final int numElements = numRows * elementsPerRow;
+
+        List<String> lines = new ArrayList<>(numElements);
+        Random random = new Random(42);
+        for (int k = 0; k < numElements; k++) {
+            int row = k / elementsPerRow;
+            // Distinct columns within a row, since the number of columns is prime
+            int column = (int) (((long) k * 7919) % numColumns);
+            float value = (random.nextFloat() - 0.5f) * 1000.0f;
+            String text = (k % 4 == 0) ? String.format(Locale.ROOT, "%.6e", value) : String.format(Locale.ROOT, "%.4f", value);
+            lines.add((row + 1) + " " + (column + 1) + " " + text);
+        }
+        Collections.shuffle(lines, random);
+
+        StringBuilder builder = new StringBuilder(numElements * 24);
+        builder.append("%%MatrixMarket matrix coordinate real general\n");
+        builder.append(numRows).append(" ").append(numColumns).append(" ").append(numElements).append("\n");
+        for (String line : lines) {
+            builder.append(line).append("\n");
+        }
+        Path file = createFile(".mtx", builder.toString());
+        assertTrue(Files.size(file) > 4 * (1 << 20));
+
+        CSRMatrixFloat matrix = MatrixMarketLoader.loadCSRMatrixFloat(file);
+        assertSameMatrix(loadSequential(file), matrix);
+
+        CSRMatrix<FloatArray> fromPath = SparseMatrixUtils.loadMatrixF(file.toString());
+        assertEquals(numElements, fromPath.n);
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(matrix.getValues().get(i), fromPath.vals.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        String content = """
+                %%MatrixMarket matrix coordinate real general
+                3 4 5
+                1 2 1.5
+                3 4 -2.0e-3
+                1 1 7
+                2 3 0.1
+                3 1 1.0e10
+                """;
+        Path file = createFile(".mtx", content);
+        Path binaryFloat = createFile(".tcsr", "");
+        Path binaryDouble = createFile(".tcsr", "");
+
+        CSRMatrixFloat matrixFloat = MatrixMarketLoader.loadCSRMatrixFloat(file);
+        MatrixMarketLoader.writeBinary(matrixFloat, binaryFloat);
+        CSRMatrixFloat readFloat = MatrixMarketLoader.readBinaryFloat(binaryFloat);
+        assertEquals(matrixFloat.getNumRows(), readFloat.getNumRows());
+        assertEquals(matrixFloat.getNumColumns(), readFloat.getNumColumns());
+        assertEquals(matrixFloat.getNumNonZeros(), readFloat.getNumNonZeros());
+        assertSameArray(matrixFloat.getRowPointers(), readFloat.getRowPointers());
+        assertSameArray(matrixFloat.getColumnIndices(), readFloat.getColumnIndices());
+        for (int i = 0; i < matrixFloat.getNumNonZeros(); i++) {
+            assertEquals(matrixFloat.getValues().get(i), readFloat.getValues().get(i), 0.0f);
+        }
+
+        CSRMatrixDouble matrixDouble = MatrixMarketLoader.loadCSRMatrixDouble(file);
+        MatrixMarketLoader.writeBinary(matrixDouble, binaryDouble);
+        CSRMatrixDouble readDouble = MatrixMarketLoader.readBinaryDouble(binaryDouble);
+        assertEquals(matrixDouble.getNumRows(), readDouble.getNumRows());
+        assertEquals(matrixDouble.getNumColumns(), readDouble.getNumColumns());
+        assertEquals(matrixDouble.getNumNonZeros(), readDouble.getNumNonZeros());
+        assertSameArray(matrixDouble.getRowPointers(), readDouble.getRowPointers());
+        assertSameArray(matrixDouble.getColumnIndices(), readDouble.getColumnIndices());
+        for (int i = 0; i < matrixDouble.getNumNonZeros(); i++) {
+            assertEquals(matrixDouble.getValues().get(i), readDouble.getValues().get(i), 0.0);
+        }
+
+        // The element size is stored in the header
+        assertThrows(TornadoRuntimeException.class, () -> MatrixMarketLoader.readBinaryDouble(binaryFloat));
+        assertThrows(TornadoRuntimeException.class, () -> MatrixMarketLoader.readBinaryFloat(binaryDouble));
+        assertThrows(TornadoRuntimeException.class, () -> MatrixMarketLoader.readBinaryFloat(file));
+    }
+
+    private static void assertSameArray(IntArray expected, IntArray array) {
+        assertEquals(expected.getSize(), array.getSize());
+        for (int i = 0; i < expected.getSize(); i++) {
+            assertEquals(expected.get(i), array.get(i));
+        }
+    }
+
+    /**
+     * The parallel loader throws on invalid files, while the loaders of
+     * {@link SparseMatrixUtils} keep returning null.
+     */
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path dense = createFile(".mtx", """
+                %%MatrixMarket matrix array real general
+                2 2
+                1.0
+                2.0
+                3.0
+                4.0
+                """);
+        Path missingEntries = createFile(".mtx", """
+                %%MatrixMarket matrix coordinate real general
+                2 2 3
+                1 1 1.0
+                2 2 2.0
+                """);
+        Path outOfBounds = createFile(".mtx", """
+                %%MatrixMarket matrix coordinate real general
+                2 2 2
+                1 1 1.0
+                3 2 2.0
+                """);
+
+        for (Path file : List.of(dense, missingEntries, outOfBounds)) {
+            assertThrows(TornadoRuntimeException.class, () -> MatrixMarketLoader.loadCSRMatrixFloat(file));
+            assertThrows(TornadoRuntimeException.class, () -> MatrixMarketLoader.loadCSRMatrixDouble(file));
+            assertNull(SparseMatrixUtils.loadMatrixF(file.toString()));
+            assertNull(SparseMatrixUtils.loadMatrixD(file.toString()));
+        }
+        assertNull(SparseMatrixUtils.loadMatrixF(dense.resolveSibling("tornado-matrix-missing.mtx").toString()));
+    }
+}
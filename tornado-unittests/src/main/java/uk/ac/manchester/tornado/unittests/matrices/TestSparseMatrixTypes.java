@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixDouble;
+import uk.ac.manchester.tornado.api.types.matrix.CSRMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.ELLMatrixFloat;
+import uk.ac.manchester.tornado.api.types.matrix.Matrix2DFloat;
+import uk.ac.manchester.tornado.matrix.CSRRowBins;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestSparseMatrixTypes
+ * </code>
+ */
+public class TestSparseMatrixTypes extends TornadoTestBase {
+
+    private static final int NUM_ROWS = 1024;
+    private static final int NUM_COLUMNS = 512;
+    private static final int LONG_ROW_THRESHOLD = 64;
+
+    /**
+     * Random sparse matrix with a skewed number of non-zeros per row.
+     */
+    private static CSRMatrixFloat createMatrix(Random random) {
+        int nnz = 0;
+        int[] rowLengths = new int[NUM_ROWS];
+        for (int i = 0; i < NUM_ROWS; i++) {
+            // One long row every 64 rows
+            rowLengths[i] = (i % 64 == 0) ? NUM_COLUMNS / 2 : random.nextInt(8);
+            nnz += rowLengths[i];
+        }
+        int[] rows = new int[nnz];
+        int[] columns = new int[nnz];
+        float[] values = new float[nnz];
+        int index = 0;
+        // Insert elements from the last row, so the COO input is not sorted
+        for (int i = NUM_ROWS - 1; i >= 0; i--) {
+            for (int j = 0; j < rowLengths[i]; j++) {
+                rows[index] = i;
+                columns[index] = random.nextInt(NUM_COLUMNS);
+                values[index] = random.nextFloat();
+                index++;
+            }
+        }
+        return CSRMatrixFloat.fromCOO(NUM_ROWS, NUM_COLUMNS, rows, columns, values);
+    }
+
+    private static FloatArray createVector(Random random) {
+        FloatArray x = new FloatArray(NUM_COLUMNS);
+        for (int i = 0; i < NUM_COLUMNS; i++) {
+            x.set(i, random.nextFloat());
+        }
+        return x;
+    }
+
+    @Test
+    public void testCSRFromCOO() {
+        int[] rows = { 2, 0, 1, 0 };
+        int[] columns = { 1, 2, 0, 0 };
+        float[] values = { 4.0f, 2.0f, 3.0f, 1.0f };
+        CSRMatrixFloat matrix = CSRMatrixFloat.fromCOO(3, 3, rows, columns, values);
+
+        assertEquals(4, matrix.getNumNonZeros());
+        assertEquals(0, matrix.getRowPointers().get(0));
+        assertEquals(2, matrix.getRowPointers().get(1));
+        assertEquals(3, matrix.getRowPointers().get(2));
+        assertEquals(4, matrix.getRowPointers().get(3));
+        assertEquals(1.0f, matrix.get(0, 0), 0.0f);
+        assertEquals(2.0f, matrix.get(0, 2), 0.0f);
+        assertEquals(3.0f, matrix.get(1, 0), 0.0f);
+        assertEquals(4.0f, matrix.get(2, 1), 0.0f);
+        assertEquals(0.0f, matrix.get(2, 2), 0.0f);
+    }
+
+    @Test
+    public void testSpMVCSR() {
+        Random random = new Random(7);
+        CSRMatrixFloat matrix = createMatrix(random);
+        FloatArray x = createVector(random);
+        FloatArray y = new FloatArray(NUM_ROWS);
+        FloatArray expected = new FloatArray(NUM_ROWS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix, x) //
+                .task("t0", SparseMatrixKernels::spmvCSR, matrix, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        matrix.multiply(x, expected);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            assertEquals(expected.get(i), y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testSpMVCSRDouble() {
+        Random random = new Random(7);
+        int[] rows = new int[NUM_ROWS];
+        int[] columns = new int[NUM_ROWS];
+        double[] values = new double[NUM_ROWS];
+        for (int i = 0; i < NUM_ROWS; i++) {
+            rows[i] = i;
+            columns[i] = random.nextInt(NUM_COLUMNS);
+            values[i] = random.nextDouble();
+        }
+        CSRMatrixDouble matrix = CSRMatrixDouble.fromCOO(NUM_ROWS, NUM_COLUMNS, rows, columns, values);
+        DoubleArray x = new DoubleArray(NUM_COLUMNS);
+        x.init(2.0);
+        DoubleArray y = new DoubleArray(NUM_ROWS);
+        DoubleArray expected = new DoubleArray(NUM_ROWS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix, x) //
+                .task("t0", SparseMatrixKernels::spmvCSRDouble, matrix, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        matrix.multiply(x, expected);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            assertEquals(expected.get(i), y.get(i), 0.001);
+        }
+    }
+
+    @Test
+    public void testSpMVELL() {
+        Random random = new Random(7);
+        CSRMatrixFloat csr = createMatrix(random);
+        ELLMatrixFloat matrix = ELLMatrixFloat.fromCSR(csr);
+        FloatArray x = createVector(random);
+        FloatArray y = new FloatArray(NUM_ROWS);
+        FloatArray expected = new FloatArray(NUM_ROWS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix, x) //
+                .task("t0", SparseMatrixKernels::spmvELL, matrix, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        csr.multiply(x, expected);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            assertEquals(expected.get(i), y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testCSRRowBins() {
+        CSRMatrixFloat matrix = createMatrix(new Random(7));
+        CSRRowBins bins = CSRRowBins.build(matrix, LONG_ROW_THRESHOLD);
+
+        assertEquals(NUM_ROWS / 64, bins.getNumLongRows());
+        assertEquals(NUM_ROWS - NUM_ROWS / 64, bins.getNumShortRows());
+        int[] binOfRow = new int[NUM_ROWS];
+        for (int r = 0; r < bins.getNumShortRows(); r++) {
+            int row = bins.getShortRows().get(r);
+            assertTrue(matrix.getRowLength(row) <= LONG_ROW_THRESHOLD);
+            binOfRow[row]++;
+        }
+        for (int r = 0; r < bins.getNumLongRows(); r++) {
+            int row = bins.getLongRows().get(r);
+            assertTrue(matrix.getRowLength(row) > LONG_ROW_THRESHOLD);
+            binOfRow[row]++;
+        }
+        // Each row is in exactly one bin
+        for (int i = 0; i < NUM_ROWS; i++) {
+            assertEquals(1, binOfRow[i]);
+        }
+    }
+
+    /**
+     * The short rows are processed with one thread per row, and the long rows
+     * with one work-group per row.
+     */
+    @Test
+    public void testSpMVCSRBinned() {
+        Random random = new Random(7);
+        CSRMatrixFloat matrix = createMatrix(random);
+        FloatArray x = createVector(random);
+        FloatArray y = new FloatArray(NUM_ROWS);
+        FloatArray expected = new FloatArray(NUM_ROWS);
+        CSRRowBins bins = CSRRowBins.build(matrix, LONG_ROW_THRESHOLD);
+
+        WorkerGrid vectorGrid = new WorkerGrid1D(bins.getNumLongRows() * SparseMatrixKernels.VECTOR_WORK_GROUP_SIZE);
+        vectorGrid.setLocalWork(SparseMatrixKernels.VECTOR_WORK_GROUP_SIZE, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0.long", vectorGrid);
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix, x, bins.getShortRows(), bins.getLongRows()) //
+                .task("short", SparseMatrixKernels::spmvCSRBinnedScalar, matrix, x, y, bins.getShortRows(), bins.getNumShortRows()) //
+                .task("long", SparseMatrixKernels::spmvCSRBinnedVector, context, matrix, x, y, bins.getLongRows()) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        matrix.multiply(x, expected);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            assertEquals(expected.get(i), y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testSpMMCSR() {
+        final int numColumnsB = 16;
+        Random random = new Random(7);
+        CSRMatrixFloat a = createMatrix(random);
+        Matrix2DFloat b = new Matrix2DFloat(NUM_COLUMNS, numColumnsB);
+        Matrix2DFloat c = new Matrix2DFloat(NUM_ROWS, numColumnsB);
+        for (int i = 0; i < NUM_COLUMNS; i++) {
+            for (int j = 0; j < numColumnsB; j++) {
+                b.set(i, j, random.nextFloat());
+            }
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", SparseMatrixKernels::spmmCSR, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        // Each column of C is the product of A and the same column of B
+        FloatArray column = new FloatArray(NUM_COLUMNS);
+        FloatArray expected = new FloatArray(NUM_ROWS);
+        for (int j = 0; j < numColumnsB; j++) {
+            for (int i = 0; i < NUM_COLUMNS; i++) {
+                column.set(i, b.get(i, j));
+            }
+            a.multiply(column, expected);
+            for (int i = 0; i < NUM_ROWS; i++) {
+                assertEquals(expected.get(i), c.get(i, j), 0.01f);
+            }
+        }
+    }
+
+    /**
+     * The padded size of the ELL matrix does not fit in an array, although the
+     * CSR matrix does.
+     */
+    @Test
+    public void testELLSizeOverflow() {
+        final int numRows = 70000;
+        final int longRowLength = 40000;
+        int[] rows = new int[longRowLength];
+        int[] columns = new int[longRowLength];
+        float[] values = new float[longRowLength];
+        for (int j = 0; j < longRowLength; j++) {
+            columns[j] = j;
+            values[j] = 1.0f;
+        }
+        CSRMatrixFloat csr = CSRMatrixFloat.fromCOO(numRows, longRowLength, rows, columns, values);
+
+        assertThrows(TornadoRuntimeException.class, () -> ELLMatrixFloat.fromCSR(csr));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memory.TestDeviceArena
+ * </code>
+ */
+public class TestDeviceArena extends TornadoTestBase {
+
+    private static final int SIZE = 1000;
+
+    public static void saxpy(FloatArray x, FloatArray y, FloatArray z, float alpha) {
+        for (@Parallel int i = 0; i < x.getSize(); i++) {
+            z.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    public static void increment(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
+    @Test
+    public void testArenaSlices() throws TornadoExecutionPlanException {
+        // The size of the arrays is not a multiple of the alignment, so the slices are padded
+        FloatArray x = new FloatArray(SIZE);
+        FloatArray y = new FloatArray(SIZE);
+        FloatArray z = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            x.set(i, i);
+            y.set(i, 2 * i);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestDeviceArena::saxpy, x, y, z, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, z);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withDeviceArena("16MB").execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(4.0f * i, z.get(i), 0.01f);
+            }
+
+            // The slices are reused in the following executions
+            y.init(1.0f);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(2.0f * i + 1.0f, z.get(i), 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testArenaOverflow() throws TornadoExecutionPlanException {
+        // The second array does not fit in the arena and uses a regular allocation
+        IntArray a = new IntArray(1024 * 128);
+        IntArray b = new IntArray(1024 * 512);
+        a.init(10);
+        b.init(20);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestDeviceArena::increment, a) //
+                .task("t1", TestDeviceArena::increment, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a, b);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withDeviceArena("1MB").execute();
+        }
+
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(11, a.get(i));
+        }
+        for (int i = 0; i < b.getSize(); i++) {
+            assertEquals(21, b.get(i));
+        }
+    }
+
+    @Test
+    public void testArenaAfterFreeDeviceMemory() throws TornadoExecutionPlanException {
+        IntArray a = new IntArray(SIZE);
+        a.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestDeviceArena::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withDeviceArena("1MB").execute();
+            // The arena is released, and reserved again in the next execution
+            executionPlan.freeDeviceMemory();
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(2, a.get(i));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * The execution plans of this test keep more data on the device than the
+ * device memory budget of the test (64MB). The least-recently-used buffers are
+ * evicted to the host and uploaded again when their plan runs.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test --jvm="-Dtornado.device.memory=64MB -Dtornado.device.oversubscription=True" -V uk.ac.manchester.tornado.unittests.memory.TestDeviceOversubscription
+ * </code>
+ */
+public class TestDeviceOversubscription extends TornadoTestBase {
+
+    // 16MB per array
+    private static final int SIZE = 1024 * 1024 * 4;
+    private static final int NUM_PLANS = 6;
+    private static final int NUM_ROUNDS = 3;
+
+    public static void increment(FloatArray a, float value) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + value);
+        }
+    }
+
+    public static void copy(FloatArray a, FloatArray b) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            b.set(i, a.get(i));
+        }
+    }
+
+    @Test
+    public void testEvictionAcrossPlans() throws TornadoExecutionPlanException {
+        List<FloatArray> arrays = new ArrayList<>();
+        List<TornadoExecutionPlan> executionPlans = new ArrayList<>();
+        try {
+            for (int i = 0; i < NUM_PLANS; i++) {
+                FloatArray array = new FloatArray(SIZE);
+                array.init(i);
+                arrays.add(array);
+                TaskGraph taskGraph = new TaskGraph("s" + i) //
+                        .transferToDevice(DataTransferMode.FIRST_EXECUTION, array) //
+                        .task("t0", TestDeviceOversubscription::increment, array, 1.0f) //
+                        .transferToHost(DataTransferMode.UNDER_DEMAND, array);
+                executionPlans.add(new TornadoExecutionPlan(taskGraph.snapshot()));
+            }
+
+            // The data of each plan stays on the device between executions, unless it is evicted
+            for (int round = 0; round < NUM_ROUNDS; round++) {
+                for (TornadoExecutionPlan executionPlan : executionPlans) {
+                    executionPlan.execute();
+                }
+            }
+
+            for (int i = 0; i < NUM_PLANS; i++) {
+                executionPlans.get(i).execute().transferToHost(arrays.get(i));
+                FloatArray array = arrays.get(i);
+                for (int j = 0; j < SIZE; j += 1024) {
+                    assertEquals(i + NUM_ROUNDS + 1, array.get(j), 0.0f);
+                }
+            }
+        } finally {
+            for (TornadoExecutionPlan executionPlan : executionPlans) {
+                executionPlan.close();
+            }
+        }
+    }
+
+    /**
+     * Plans running in different threads evict the buffers of the idle plans
+     * and of each other between executions, but never the buffers of a plan
+     * that is running. Each running plan keeps 16MB on the device, so the
+     * running plans always fit in the 64MB budget.
+     */
+    @Test
+    public void testEvictionWithConcurrentPlans() throws TornadoExecutionPlanException, InterruptedException, ExecutionException {
+        final int size = SIZE / 2;
+        final int numThreads = 3;
+        List<TornadoExecutionPlan> executionPlans = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            // Idle plans whose buffers must be evicted to make room for the running plans
+            List<FloatArray> idleArrays = new ArrayList<>();
+            for (int i = 0; i < NUM_PLANS; i++) {
+                FloatArray array = new FloatArray(size);
+                array.init(i);
+                idleArrays.add(array);
+                TaskGraph taskGraph = new TaskGraph("idle" + i) //
+                        .transferToDevice(DataTransferMode.FIRST_EXECUTION, array) //
+                        .task("t0", TestDeviceOversubscription::increment, array, 1.0f) //
+                        .transferToHost(DataTransferMode.UNDER_DEMAND, array);
+                TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+                executionPlans.add(executionPlan);
+                executionPlan.execute();
+            }
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                final int thread = t;
+                FloatArray a = new FloatArray(size);
+                FloatArray b = new FloatArray(size);
+                a.init(100 * thread);
+                TaskGraph taskGraph = new TaskGraph("running" + thread) //
+                        .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                        .task("t0", TestDeviceOversubscription::increment, a, 1.0f) //
+                        .task("t1", TestDeviceOversubscription::copy, a, b) //
+                        .transferToHost(DataTransferMode.UNDER_DEMAND, a, b);
+                TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+                executionPlans.add(executionPlan);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < NUM_ROUNDS; round++) {
+                        executionPlan.execute();
+                    }
+                    executionPlan.execute().transferToHost(a, b);
+                    for (int j = 0; j < size; j += 1024) {
+                        assertEquals(100 * thread + NUM_ROUNDS + 1, a.get(j), 0.0f);
+                        assertEquals(a.get(j), b.get(j), 0.0f);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+
+            for (int i = 0; i < NUM_PLANS; i++) {
+                executionPlans.get(i).execute().transferToHost(idleArrays.get(i));
+                FloatArray array = idleArrays.get(i);
+                for (int j = 0; j < size; j += 1024) {
+                    assertEquals(i + 2, array.get(j), 0.0f);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            for (TornadoExecutionPlan executionPlan : executionPlans) {
+                executionPlan.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.memory.PinnedMemory;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to test?
+ *
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memory.TestPinnedMemory
+ * </code>
+ * </p>
+ */
+public class TestPinnedMemory extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 1024 * 1024;
+
+    private final TornadoDevice device = TornadoExecutionPlan.getDevice(0, 0);
+
+    public static void saxpy(float alpha, FloatArray x, FloatArray y) {
+        for (@Parallel int i = 0; i < y.getSize(); i++) {
+            y.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    @Test
+    public void testPinnedArraysAreZeroInitialised() {
+        FloatArray a = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        assertEquals(NUM_ELEMENTS, a.getSize());
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(0.0f, a.get(i), 0.0f);
+        }
+    }
+
+    /**
+     * Only the arrays created by the supplier are pinned, and only if the backend
+     * of the device provides pinned memory.
+     */
+    @Test
+    public void testPinnedScope() {
+        FloatArray pinned = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        FloatArray pageable = new FloatArray(NUM_ELEMENTS);
+        assertEquals(device.getHostMemoryAllocator() != null, PinnedMemory.isPinned(pinned.getSegment()));
+        assertFalse(PinnedMemory.isPinned(pageable.getSegment()));
+    }
+
+    @Test
+    public void testSaxpyWithPinnedArrays() {
+        FloatArray x = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        FloatArray y = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            x.set(i, i);
+            y.set(i, 1.0f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestPinnedMemory::saxpy, 2.0f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withDevice(device).execute();
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(2.0f * i + 1.0f, y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testSaxpyWithUnifiedMemory() {
+        FloatArray x = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        FloatArray y = PinnedMemory.allocate(device, () -> new FloatArray(NUM_ELEMENTS));
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            x.set(i, i);
+            y.set(i, 1.0f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestPinnedMemory::saxpy, 2.0f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withDevice(device).withUnifiedMemory().execute();
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(2.0f * i + 1.0f, y.get(i), 0.01f);
+        }
+
+        // Updates on the host must be visible in the next execution
+        y.init(1.0f);
+        executionPlan.execute();
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(2.0f * i + 1.0f, y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testUnifiedMemoryWithPageableArrays() {
+        FloatArray x = new FloatArray(NUM_ELEMENTS);
+        FloatArray y = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            x.set(i, i);
+            y.set(i, 1.0f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestPinnedMemory::saxpy, 2.0f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withUnifiedMemory().execute();
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(2.0f * i + 1.0f, y.get(i), 0.01f);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.primitives;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.primitives.Histogram;
+import uk.ac.manchester.tornado.api.primitives.RadixSort;
+import uk.ac.manchester.tornado.api.primitives.Scan;
+import uk.ac.manchester.tornado.api.primitives.StreamCompaction;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.primitives.TestParallelPrimitives
+ * </code>
+ * </p>
+ */
+public class TestParallelPrimitives extends TornadoTestBase {
+
+    /**
+     * Not a multiple of the block size, and large enough to need three levels
+     * of block totals.
+     */
+    private static final int SIZE = 100_003;
+
+    @Test
+    public void testInclusiveScanInt() throws TornadoExecutionPlanException {
+        Random random = new Random(7);
+        IntArray input = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextInt(100) - 50);
+        }
+
+        try (Scan scan = Scan.inclusive(input, output)) {
+            scan.execute();
+        }
+
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += input.get(i);
+            assertEquals(sum, output.get(i));
+        }
+    }
+
+    @Test
+    public void testExclusiveScanFloat() throws TornadoExecutionPlanException {
+        Random random = new Random(11);
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            // Small integers keep the sums exact
+            input.set(i, random.nextInt(4));
+        }
+
+        try (Scan scan = Scan.exclusive(input, output)) {
+            scan.execute();
+        }
+
+        float sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(sum, output.get(i), 0.0f);
+            sum += input.get(i);
+        }
+    }
+
+    @Test
+    public void testScanReuse() throws TornadoExecutionPlanException {
+        LongArray input = new LongArray(SIZE);
+        LongArray output = new LongArray(SIZE);
+        input.init(1L << 33);
+
+        try (Scan scan = Scan.inclusive(input, output)) {
+            scan.execute();
+            assertEquals((long) SIZE << 33, output.get(SIZE - 1));
+
+            input.init(1L);
+            scan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(i + 1, output.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSegmentedScan() throws TornadoExecutionPlanException {
+        Random random = new Random(13);
+        IntArray input = new IntArray(SIZE);
+        IntArray flags = new IntArray(SIZE);
+        IntArray inclusive = new IntArray(SIZE);
+        IntArray exclusive = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextInt(10));
+            // Most segments span several blocks, and some start at a block boundary
+            flags.set(i, (random.nextInt(2000) == 0 || i % 25_600 == 0) ? 1 : 0);
+        }
+
+        try (Scan inclusiveScan = Scan.segmentedInclusive(input, flags, inclusive); Scan exclusiveScan = Scan.segmentedExclusive(input, flags, exclusive)) {
+            inclusiveScan.execute();
+            exclusiveScan.execute();
+        }
+
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (flags.get(i) != 0) {
+                sum = 0;
+            }
+            assertEquals(sum, exclusive.get(i));
+            sum += input.get(i);
+            assertEquals(sum, inclusive.get(i));
+        }
+    }
+
+    @Test
+    public void testRadixSortInt() throws TornadoExecutionPlanException {
+        Random random = new Random(17);
+        IntArray keys = new IntArray(SIZE);
+        IntArray sortedKeys = new IntArray(SIZE);
+        int[] reference = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys.set(i, random.nextInt());
+            reference[i] = keys.get(i);
+        }
+        Arrays.sort(reference);
+
+        try (RadixSort sort = RadixSort.of(keys, sortedKeys)) {
+            sort.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(reference[i], sortedKeys.get(i));
+        }
+    }
+
+    @Test
+    public void testRadixSortKeyValueLong() throws TornadoExecutionPlanException {
+        Random random = new Random(19);
+        LongArray keys = new LongArray(SIZE);
+        IntArray values = new IntArray(SIZE);
+        LongArray sortedKeys = new LongArray(SIZE);
+        IntArray sortedValues = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            // Many duplicated keys to check that the sort is stable
+            keys.set(i, (random.nextInt(1000) - 500) * (1L << 40));
+            values.set(i, i);
+        }
+
+        try (RadixSort sort = RadixSort.of(keys, values, sortedKeys, sortedValues)) {
+            sort.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(keys.get(sortedValues.get(i)), sortedKeys.get(i));
+            if (i > 0) {
+                boolean ordered = sortedKeys.get(i - 1) < sortedKeys.get(i) || (sortedKeys.get(i - 1) == sortedKeys.get(i) && sortedValues.get(i - 1) < sortedValues.get(i));
+                assertTrue(ordered);
+            }
+        }
+    }
+
+    @Test
+    public void testRadixSortKeyBits() throws TornadoExecutionPlanException {
+        Random random = new Random(23);
+        IntArray keys = new IntArray(SIZE);
+        IntArray sortedKeys = new IntArray(SIZE);
+        int[] reference = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys.set(i, random.nextInt(1 << 11));
+            reference[i] = keys.get(i);
+        }
+        Arrays.sort(reference);
+
+        try (RadixSort sort = RadixSort.of(keys, sortedKeys).withKeyBits(11)) {
+            sort.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(reference[i], sortedKeys.get(i));
+        }
+    }
+
+    @Test
+    public void testCompactionWithPredicate() throws TornadoExecutionPlanException {
+        Random random = new Random(29);
+        IntArray input = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextInt(1000));
+        }
+
+        int count;
+        try (StreamCompaction compaction = StreamCompaction.of(input, StreamCompaction.Comparison.LESS_THAN, 100, output)) {
+            count = compaction.compact();
+        }
+
+        int expected = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (input.get(i) < 100) {
+                assertEquals(input.get(i), output.get(expected));
+                expected++;
+            }
+        }
+        assertEquals(expected, count);
+    }
+
+    @Test
+    public void testCompactionWithFlags() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(SIZE);
+        IntArray flags = new IntArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i * 0.5f);
+            // Any non-zero value selects the element
+            flags.set(i, i % 3 == 0 ? 7 : 0);
+        }
+
+        int count;
+        try (StreamCompaction compaction = StreamCompaction.of(input, flags, output)) {
+            count = compaction.compact();
+        }
+
+        assertEquals((SIZE + 2) / 3, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(3 * i * 0.5f, output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testHistogramInt() throws TornadoExecutionPlanException {
+        final int numBins = 37;
+        Random random = new Random(31);
+        IntArray input = new IntArray(SIZE);
+        IntArray histogram = new IntArray(numBins);
+        int[] reference = new int[numBins];
+        for (int i = 0; i < SIZE; i++) {
+            // Values out of the range of the bins are ignored
+            int value = random.nextInt(numBins + 10) - 5;
+            input.set(i, value);
+            if (value >= 0 && value < numBins) {
+                reference[value]++;
+            }
+        }
+
+        try (Histogram histogramPrimitive = Histogram.of(input, histogram)) {
+            histogramPrimitive.execute();
+        }
+
+        for (int bin = 0; bin < numBins; bin++) {
+            assertEquals(reference[bin], histogram.get(bin));
+        }
+    }
+
+    /**
+     * More bins than fit in local memory, so each thread keeps a private
+     * histogram in global memory.
+     */
+    @Test
+    public void testHistogramLongManyBins() throws TornadoExecutionPlanException {
+        final int numBins = 5000;
+        Random random = new Random(37);
+        LongArray input = new LongArray(SIZE);
+        IntArray histogram = new IntArray(numBins);
+        int[] reference = new int[numBins];
+        for (int i = 0; i < SIZE; i++) {
+            int value = random.nextInt(numBins);
+            input.set(i, value);
+            reference[value]++;
+        }
+
+        try (Histogram histogramPrimitive = Histogram.of(input, histogram)) {
+            histogramPrimitive.execute();
+        }
+
+        for (int bin = 0; bin < numBins; bin++) {
+            assertEquals(reference[bin], histogram.get(bin));
+        }
+    }
+
+    @Test
+    public void testHistogramFloat() throws TornadoExecutionPlanException {
+        final int numBins = 8;
+        FloatArray input = new FloatArray(SIZE);
+        IntArray histogram = new IntArray(numBins);
+        int[] reference = new int[numBins];
+        for (int i = 0; i < SIZE; i++) {
+            // Bin centres, so the result does not depend on rounding
+            int bin = i % numBins;
+            input.set(i, -1.0f + (bin + 0.5f) * 0.25f);
+            reference[bin]++;
+        }
+
+        try (Histogram histogramPrimitive = Histogram.of(input, -1.0f, 1.0f, histogram)) {
+            histogramPrimitive.execute();
+        }
+
+        for (int bin = 0; bin < numBins; bin++) {
+            assertEquals(reference[bin], histogram.get(bin));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.profiler.ChromeEventRingBuffer;
+import uk.ac.manchester.tornado.api.profiler.ChromeEventRingBuffer.EventKind;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.profiler.TestChromeEventRingBuffer
+ * </code>
+ */
+public class TestChromeEventRingBuffer extends TornadoTestBase {
+
+    private static final long MAX_FILE_SIZE = 1024 * 1024;
+
+    private static int countEvents(File file) throws IOException {
+        String trace = Files.readString(file.toPath());
+        assertTrue(trace.startsWith("{\"traceEvents\":["));
+        assertTrue(trace.trim().endsWith("]}"));
+        return trace.split("\"ph\":\"X\"", -1).length - 1;
+    }
+
+    @Test
+    public void testDropWhenFull() throws IOException {
+        File file = File.createTempFile("tornado-trace", ".json");
+        file.deleteOnExit();
+        ChromeEventRingBuffer buffer = new ChromeEventRingBuffer(file.getPath(), 100, MAX_FILE_SIZE, 0);
+        assertEquals(128, buffer.getCapacity());
+
+        // The drainer is not started, so the events beyond the capacity are dropped
+        for (int i = 0; i < 200; i++) {
+            buffer.record(EventKind.WRITE, "copy", i * 1000L, (i + 1) * 1000L, 1024, null);
+        }
+        assertFalse(buffer.record(EventKind.READ, "copy", 0, 1000, 1024, null));
+        assertEquals(73, buffer.getDroppedEvents());
+
+        buffer.close();
+        assertEquals(128, buffer.getWrittenEvents());
+        assertEquals(128, countEvents(file));
+    }
+
+    @Test
+    public void testConcurrentProducers() throws IOException, InterruptedException {
+        final int numThreads = 4;
+        final int eventsPerThread = 10000;
+        File file = File.createTempFile("tornado-trace", ".json");
+        file.deleteOnExit();
+        ChromeEventRingBuffer buffer = new ChromeEventRingBuffer(file.getPath(), 1 << 16, MAX_FILE_SIZE * 64, 0);
+        buffer.start();
+
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    buffer.record(EventKind.NDRANGE_KERNEL, "kernel", 0, 1000, 0, null);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        buffer.record(EventKind.QUEUED, "queued", 0, 1000, 0, Map.of("device", "gpu"));
+        buffer.close();
+
+        long total = (long) numThreads * eventsPerThread + 1;
+        assertEquals(total, buffer.getWrittenEvents() + buffer.getDroppedEvents());
+        assertEquals(buffer.getWrittenEvents(), countEvents(file));
+    }
+
+    @Test
+    public void testRotation() throws IOException {
+        File directory = Files.createTempDirectory("tornado-trace").toFile();
+        directory.deleteOnExit();
+        File file = new File(directory, "chrome.json");
+        ChromeEventRingBuffer buffer = new ChromeEventRingBuffer(file.getPath(), 1024, 4096, 2);
+        for (int i = 0; i < 1000; i++) {
+            buffer.record(EventKind.TASK, "task", 0, 1000, 0, null);
+        }
+        buffer.close();
+
+        File[] traces = directory.listFiles();
+        assertEquals(2, traces.length);
+        for (File trace : traces) {
+            assertTrue(countEvents(trace) > 0);
+            trace.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Update the lock-free profiler and the synchronized profiler of the runtime
+ * from many threads with the same values, and check that both produce the same
+ * JSON. The profilers are loaded by name, since the unit tests only depend on
+ * the API.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.profiler.TestConcurrentTimeProfiler
+ * </code>
+ */
+public class TestConcurrentTimeProfiler extends TornadoTestBase {
+
+    private static final String TIME_PROFILER = "uk.ac.manchester.tornado.runtime.profiler.TimeProfiler";
+    private static final String CONCURRENT_TIME_PROFILER = "uk.ac.manchester.tornado.runtime.profiler.ConcurrentTimeProfiler";
+    private static final String NO_TASK_NAME = "noTask";
+
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_ITERATIONS = 10000;
+    private static final long TOTAL_TIME = 1000;
+
+    private static final Pattern SECTION = Pattern.compile("\"(.+)\": \\{");
+    private static final Pattern ENTRY = Pattern.compile("\"(.+)\": \"(.*)\",?");
+
+    private static TornadoProfiler newProfiler(String className) throws ReflectiveOperationException {
+        return (TornadoProfiler) Class.forName(className).getConstructor().newInstance();
+    }
+
+    /**
+     * Each thread owns a task, and all the threads update the timers and metrics
+     * of the profiler. The values are the same in every run, so the last write of
+     * a timer does not depend on the order of the threads.
+     */
+    private static void update(TornadoProfiler profiler) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            final String taskName = "s0.t" + t;
+            final long taskTime = t + 1;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                profiler.registerBackend(taskName, "OPENCL");
+                profiler.registerMethodHandle(ProfilerType.METHOD, taskName, "method" + taskTime);
+                profiler.registerDeviceID(taskName, "0:0");
+                profiler.registerDeviceName(taskName, "device");
+                for (int i = 0; i < NUM_ITERATIONS; i++) {
+                    profiler.setTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME, TOTAL_TIME);
+                    profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, 1);
+                    profiler.addValueToMetric(ProfilerType.COPY_OUT_SIZE_BYTES_SYNC, NO_TASK_NAME, 2);
+                    profiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, taskName, 3);
+                    profiler.setTaskTimer(ProfilerType.TASK_KERNEL_TIME, taskName, taskTime);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * @return the entries of a profiler JSON, indexed by their path. The order of
+     *     the entries is not defined.
+     */
+    private static Map<String, String> parse(String json) {
+        Map<String, String> entries = new HashMap<>();
+        StringBuilder path = new StringBuilder();
+        for (String line : json.split("\n")) {
+            line = line.trim();
+            Matcher section = SECTION.matcher(line);
+            Matcher entry = ENTRY.matcher(line);
+            if (section.matches()) {
+                path.append("/").append(section.group(1));
+            } else if (entry.matches()) {
+                assertFalse("Duplicated entry " + entry.group(1), entries.containsKey(path + "/" + entry.group(1)));
+                entries.put(path + "/" + entry.group(1), entry.group(2));
+            } else if (line.startsWith("}") && !path.isEmpty()) {
+                path.delete(path.lastIndexOf("/"), path.length());
+            }
+        }
+        return entries;
+    }
+
+    private static Map<String, String> profile(String className) throws ReflectiveOperationException, InterruptedException {
+        TornadoProfiler profiler = newProfiler(className);
+        update(profiler);
+        return parse(profiler.createJson(new StringBuilder(), "s0"));
+    }
+
+    @Test
+    public void testSameJson() throws ReflectiveOperationException, InterruptedException {
+        Map<String, String> expected = profile(TIME_PROFILER);
+        Map<String, String> actual = profile(CONCURRENT_TIME_PROFILER);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Readers must only see the values written to a timer, even while other
+     * threads are setting it.
+     */
+    @Test
+    public void testSetIsAtomic() throws ReflectiveOperationException, InterruptedException {
+        TornadoProfiler profiler = newProfiler(CONCURRENT_TIME_PROFILER);
+        profiler.setTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME, TOTAL_TIME);
+        AtomicLong wrongValue = new AtomicLong(TOTAL_TIME);
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            final boolean reader = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < NUM_ITERATIONS * 10; i++) {
+                    if (reader) {
+                        long value = profiler.getTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME);
+                        if (value != TOTAL_TIME) {
+                            wrongValue.set(value);
+                        }
+                    } else {
+                        profiler.setTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME, TOTAL_TIME);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(TOTAL_TIME, wrongValue.get());
+        assertEquals(TOTAL_TIME, profiler.getTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME));
+    }
+
+    /**
+     * Timers that are set concurrently must keep one of the written values.
+     */
+    @Test
+    public void testValues() throws ReflectiveOperationException, InterruptedException {
+        TornadoProfiler profiler = newProfiler(CONCURRENT_TIME_PROFILER);
+        update(profiler);
+
+        assertEquals(TOTAL_TIME, profiler.getTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME));
+        assertEquals((long) NUM_THREADS * NUM_ITERATIONS, profiler.getTimer(ProfilerType.TOTAL_GRAAL_COMPILE_TIME));
+        for (int t = 0; t < NUM_THREADS; t++) {
+            assertEquals(t + 1, profiler.getTaskTimer(ProfilerType.TASK_KERNEL_TIME, "s0.t" + t));
+        }
+
+        Map<String, String> entries = parse(profiler.createJson(new StringBuilder(), "s0"));
+        assertEquals(Long.toString(2L * NUM_THREADS * NUM_ITERATIONS), entries.get("/s0/" + ProfilerType.COPY_OUT_SIZE_BYTES_SYNC));
+        assertEquals(Long.toString(3L * NUM_ITERATIONS), entries.get("/s0/s0.t0/" + ProfilerType.TOTAL_COPY_IN_SIZE_BYTES));
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoBackend;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMOpenCLNotSupported;
+
+/**
+ * Test the remote OpenCL devices against a worker that runs on localhost. The
+ * test starts the worker with {@code tornado --worker 0} and a random token,
+ * and connects to the port it reports, unless {@code tornado.remote.devices}
+ * is already set.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.remote.TestRemoteDevices
+ * </code>
+ */
+public class TestRemoteDevices extends TornadoTestBase {
+
+    private static final String REMOTE_DEVICES_PROPERTY = "tornado.remote.devices";
+    private static final String REMOTE_TOKEN_PROPERTY = "tornado.remote.token";
+    private static final Pattern WORKER_PORT = Pattern.compile("listening on \\S+ port (\\d+)");
+    private static final int NUM_ELEMENTS = 8192;
+
+    private static Process worker;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws IOException {
+        if (System.getProperty(REMOTE_DEVICES_PROPERTY) != null) {
+            return;
+        }
+
+        String launcher = Paths.get(System.getenv("TORNADO_SDK"), "bin", "tornado").toString();
+        String token = UUID.randomUUID().toString();
+        worker = new ProcessBuilder(launcher, "--jvm=-D" + REMOTE_TOKEN_PROPERTY + "=" + token, "--worker", "0").redirectErrorStream(true).start();
+
+        BufferedReader output = new BufferedReader(new InputStreamReader(worker.getInputStream()));
+        int port = -1;
+        String line;
+        while (port == -1 && (line = output.readLine()) != null) {
+            Matcher matcher = WORKER_PORT.matcher(line);
+            if (matcher.find()) {
+                port = Integer.parseInt(matcher.group(1));
+            }
+        }
+        if (port == -1) {
+            tearDownAfterClass();
+            throw new TornadoRuntimeException("[ERROR] The remote worker exited before listening on a port");
+        }
+
+        // Keep consuming the output of the worker, so it never blocks on a full pipe
+        Thread drain = new Thread(() -> output.lines().forEach(ignored -> {
+        }));
+        drain.setDaemon(true);
+        drain.start();
+
+        // They must be set before the TornadoVM runtime is initialized
+        System.setProperty(REMOTE_TOKEN_PROPERTY, token);
+        System.setProperty(REMOTE_DEVICES_PROPERTY, "localhost:" + port);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (worker != null) {
+            // The launcher runs the worker JVM as a child process
+            worker.descendants().forEach(ProcessHandle::destroy);
+            worker.destroy();
+            worker = null;
+            System.clearProperty(REMOTE_DEVICES_PROPERTY);
+            System.clearProperty(REMOTE_TOKEN_PROPERTY);
+        }
+    }
+
+    private static TornadoDevice getRemoteDevice() {
+        List<TornadoBackend> backends = TornadoExecutionPlan.getTornadoDeviceMap().getBackendsWithPredicate(backend -> backend.getBackendType() == TornadoVMBackendType.OPENCL);
+        if (backends.isEmpty()) {
+            throw new TornadoVMOpenCLNotSupported("Remote devices are only supported by the OpenCL backend");
+        }
+        // The platforms of the workers are added after the local platforms
+        return backends.getFirst().getAllDevices().stream() //
+                .filter(device -> device.getDeviceName().startsWith("remoteOpencl")) //
+                .findFirst() //
+                .orElseThrow(() -> new TornadoRuntimeException("[ERROR] No remote device found"));
+    }
+
+    public static void copyInts(IntArray input, IntArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void copyFloats(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void copyDoubles(DoubleArray input, DoubleArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void saxpy(float alpha, FloatArray x, FloatArray y, FloatArray z) {
+        for (@Parallel int i = 0; i < z.getSize(); i++) {
+            z.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    public static void matrixVector(FloatArray matrix, FloatArray vector, FloatArray result, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            float sum = 0.0f;
+            for (int j = 0; j < size; j++) {
+                sum += matrix.get(i * size + j) * vector.get(j);
+            }
+            result.set(i, sum);
+        }
+    }
+
+    /**
+     * Allocations, writes and reads of several types and sizes, run several
+     * times to reuse the buffers of the worker.
+     */
+    @Test
+    public void testRoundTrip() throws TornadoExecutionPlanException {
+        TornadoDevice device = getRemoteDevice();
+
+        IntArray ints = new IntArray(NUM_ELEMENTS);
+        IntArray intsOut = new IntArray(NUM_ELEMENTS);
+        FloatArray floats = new FloatArray(NUM_ELEMENTS);
+        FloatArray floatsOut = new FloatArray(NUM_ELEMENTS);
+        DoubleArray doubles = new DoubleArray(NUM_ELEMENTS);
+        DoubleArray doublesOut = new DoubleArray(NUM_ELEMENTS);
+        // A few megabytes in a single write and read command
+        FloatArray large = new FloatArray(1024 * 1024);
+        FloatArray largeOut = new FloatArray(large.getSize());
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, ints, floats, doubles, large) //
+                .task("t0", TestRemoteDevices::copyInts, ints, intsOut) //
+                .task("t1", TestRemoteDevices::copyFloats, floats, floatsOut) //
+                .task("t2", TestRemoteDevices::copyDoubles, doubles, doublesOut) //
+                .task("t3", TestRemoteDevices::copyFloats, large, largeOut) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, intsOut, floatsOut, doublesOut, largeOut);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withDevice(device);
+            for (int run = 0; run < 3; run++) {
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    ints.set(i, run * NUM_ELEMENTS + i);
+                    floats.set(i, run + i * 0.5f);
+                    doubles.set(i, run - i * 0.25);
+                }
+                for (int i = 0; i < large.getSize(); i++) {
+                    large.set(i, run + i);
+                }
+
+                executionPlan.execute();
+
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    assertEquals(ints.get(i), intsOut.get(i));
+                    assertEquals(floats.get(i), floatsOut.get(i), 0.0f);
+                    assertEquals(doubles.get(i), doublesOut.get(i), 0.0);
+                }
+                for (int i = 0; i < large.getSize(); i++) {
+                    assertEquals(large.get(i), largeOut.get(i), 0.0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testKernelLaunch() throws TornadoExecutionPlanException {
+        TornadoDevice device = getRemoteDevice();
+
+        final int size = 512;
+        FloatArray x = new FloatArray(size * size);
+        FloatArray y = new FloatArray(size * size);
+        FloatArray z = new FloatArray(size * size);
+        FloatArray vector = new FloatArray(size);
+        FloatArray result = new FloatArray(size);
+        x.init(2.0f);
+        y.init(1.0f);
+        vector.init(0.5f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y, vector) //
+                .task("t0", TestRemoteDevices::saxpy, 3.0f, x, y, z) //
+                .task("t1", TestRemoteDevices::matrixVector, z, vector, result, size) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, z, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withDevice(device).execute();
+        }
+
+        for (int i = 0; i < z.getSize(); i++) {
+            assertEquals(7.0f, z.get(i), 0.0f);
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(7.0f * 0.5f * size, result.get(i), 0.01f);
+        }
+    }
+
+    /**
+     * The worker fails to launch a kernel with a local work size that no
+     * device supports. Launches are not acknowledged, so the error is reported
+     * by the read that follows it. The connection must remain usable.
+     */
+    @Test
+    public void testWorkerErrorReportedAtSync() throws TornadoExecutionPlanException {
+        TornadoDevice device = getRemoteDevice();
+
+        final int size = 65536;
+        IntArray input = new IntArray(size);
+        IntArray output = new IntArray(size);
+        input.init(42);
+
+        WorkerGrid workerGrid = new WorkerGrid1D(size);
+        workerGrid.setGlobalWork(size, 1, 1);
+        workerGrid.setLocalWork(size, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", workerGrid);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestRemoteDevices::copyInts, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withDevice(device).withGridScheduler(gridScheduler);
+            TornadoRuntimeException exception = assertThrows(TornadoRuntimeException.class, executionPlan::execute);
+            assertTrue(exception.getMessage().contains("Remote device"));
+
+            // The session of the worker reports the error once and continues
+            workerGrid.setLocalWork(64, 1, 1);
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(42, output.get(i));
+        }
+    }
+}
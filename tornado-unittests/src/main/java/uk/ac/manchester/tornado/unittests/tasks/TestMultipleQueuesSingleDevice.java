@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Test running the independent tasks of a task graph on several command queues
+ * of the same device.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V --printBytecodes uk.ac.manchester.tornado.unittests.tasks.TestMultipleQueuesSingleDevice
+ * </code>
+ */
+public class TestMultipleQueuesSingleDevice extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 4096;
+    private static final String QUEUES_PROPERTY = "queues.vm.queues";
+
+    public static void add(IntArray a, IntArray b, IntArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void scale(IntArray a, IntArray b, int alpha) {
+        for (@Parallel int i = 0; i < b.getSize(); i++) {
+            b.set(i, alpha * a.get(i));
+        }
+    }
+
+    public static void increment(IntArray a) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + 1);
+        }
+    }
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        System.setProperty(QUEUES_PROPERTY, "4");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.clearProperty(QUEUES_PROPERTY);
+    }
+
+    private static IntArray init(int offset) {
+        IntArray array = new IntArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            array.set(i, offset + i);
+        }
+        return array;
+    }
+
+    /**
+     * Four independent branches and a task that joins two of them.
+     */
+    @Test
+    public void testIndependentBranches() throws TornadoExecutionPlanException {
+        IntArray a = init(0);
+        IntArray b = init(10);
+        IntArray c = new IntArray(NUM_ELEMENTS);
+        IntArray d = new IntArray(NUM_ELEMENTS);
+        IntArray e = new IntArray(NUM_ELEMENTS);
+        IntArray f = new IntArray(NUM_ELEMENTS);
+        IntArray g = new IntArray(NUM_ELEMENTS);
+
+        TaskGraph taskGraph = new TaskGraph("queues") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestMultipleQueuesSingleDevice::scale, a, c, 2) //
+                .task("t1", TestMultipleQueuesSingleDevice::scale, b, d, 3) //
+                .task("t2", TestMultipleQueuesSingleDevice::scale, a, e, 4) //
+                .task("t3", TestMultipleQueuesSingleDevice::scale, b, f, 5) //
+                .task("t4", TestMultipleQueuesSingleDevice::add, c, d, g) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, e, f, g);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            for (int run = 0; run < 3; run++) {
+                executionPlan.execute();
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    assertEquals(4 * a.get(i), e.get(i));
+                    assertEquals(5 * b.get(i), f.get(i));
+                    assertEquals(2 * a.get(i) + 3 * b.get(i), g.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * The second task overwrites an array that the first task reads, so it
+     * must wait for it even though it does not use its output.
+     */
+    @Test
+    public void testWriteAfterRead() throws TornadoExecutionPlanException {
+        IntArray a = init(0);
+        IntArray b = new IntArray(NUM_ELEMENTS);
+        IntArray expected = init(0);
+
+        TaskGraph taskGraph = new TaskGraph("queues") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMultipleQueuesSingleDevice::scale, a, b, 2) //
+                .task("t1", TestMultipleQueuesSingleDevice::increment, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            for (int run = 0; run < 3; run++) {
+                executionPlan.execute();
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    assertEquals(2 * expected.get(i), b.get(i));
+                    expected.set(i, expected.get(i) + 1);
+                    assertEquals(expected.get(i), a.get(i));
+                }
+            }
+        }
+    }
+}
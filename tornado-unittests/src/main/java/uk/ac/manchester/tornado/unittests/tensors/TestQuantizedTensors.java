@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tensors;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.tensors.DType;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.api.types.tensors.TensorQ4;
+import uk.ac.manchester.tornado.api.types.tensors.TensorQ8;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.tensors.TestQuantizedTensors
+ * </code>
+ */
+public class TestQuantizedTensors extends TornadoTestBase {
+
+    private static final int ROWS = 256;
+    private static final int COLS = 512;
+
+    public static void dequantizeQ8(TensorQ8 tensor, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, tensor.getFloat(i));
+        }
+    }
+
+    public static void dequantizeQ4(TensorQ4 tensor, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, tensor.getFloat(i));
+        }
+    }
+
+    private static float[] randomValues(int size, long seed) {
+        Random random = new Random(seed);
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextFloat() * 2.0f - 1.0f;
+        }
+        return values;
+    }
+
+    private static TensorFP32 randomTensor(int size, long seed) {
+        TensorFP32 tensor = new TensorFP32(new Shape(size));
+        float[] values = randomValues(size, seed);
+        for (int i = 0; i < size; i++) {
+            tensor.set(i, values[i]);
+        }
+        return tensor;
+    }
+
+    /**
+     * Reference of the fused kernels: the weights are expanded to full precision first.
+     */
+    private static float[] matMulReference(TensorFP32 weights, TensorFP32 x, int batch, int rows, int cols) {
+        float[] result = new float[batch * rows];
+        for (int b = 0; b < batch; b++) {
+            for (int r = 0; r < rows; r++) {
+                float sum = 0.0f;
+                for (int c = 0; c < cols; c++) {
+                    sum += weights.get(r * cols + c) * x.get(b * cols + c);
+                }
+                result[b * rows + r] = sum;
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testDTypes() {
+        Assert.assertEquals(32, DType.Q8_0.getBlockSize());
+        Assert.assertEquals(34, DType.Q8_0.getByteSize());
+        Assert.assertEquals(32, DType.Q4_0.getBlockSize());
+        Assert.assertEquals(18, DType.Q4_0.getByteSize());
+        Assert.assertTrue(DType.Q4_0.isBlockQuantized());
+        Assert.assertFalse(DType.HALF_FLOAT.isBlockQuantized());
+    }
+
+    @Test
+    public void testQuantizeQ8() {
+        float[] values = randomValues(ROWS * COLS, 1);
+        TensorQ8 tensor = TensorQ8.quantize(new Shape(ROWS, COLS), values);
+
+        Assert.assertEquals("Q8_0", tensor.getDTypeAsString());
+        Assert.assertEquals(ROWS * COLS, tensor.getSize());
+        for (int i = 0; i < values.length; i++) {
+            float scale = tensor.getScale(i / TensorQ8.BLOCK_SIZE);
+            Assert.assertEquals(values[i], tensor.getFloat(i), scale * 0.51f);
+        }
+    }
+
+    @Test
+    public void testQuantizeQ4() {
+        float[] values = randomValues(ROWS * COLS, 2);
+        TensorQ4 tensor = TensorQ4.quantize(new Shape(ROWS, COLS), values);
+
+        Assert.assertEquals("Q4_0", tensor.getDTypeAsString());
+        Assert.assertEquals(ROWS * COLS / 2, tensor.getQuants().getSize());
+        for (int i = 0; i < values.length; i++) {
+            float scale = tensor.getScale(i / TensorQ4.BLOCK_SIZE);
+            Assert.assertEquals(values[i], tensor.getFloat(i), scale * 0.51f);
+        }
+    }
+
+    @Test
+    public void testDequantizeQ8() {
+        TensorQ8 tensor = TensorQ8.quantize(new Shape(ROWS, COLS), randomValues(ROWS * COLS, 3));
+        TensorFP32 output = new TensorFP32(new Shape(ROWS, COLS));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, tensor) //
+                .task("t0", TestQuantizedTensors::dequantizeQ8, tensor, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            Assert.assertEquals(tensor.getFloat(i), output.get(i), 1e-6f);
+        }
+    }
+
+    @Test
+    public void testDequantizeQ4() {
+        TensorQ4 tensor = TensorQ4.quantize(new Shape(ROWS, COLS), randomValues(ROWS * COLS, 4));
+        TensorFP32 output = new TensorFP32(new Shape(ROWS, COLS));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, tensor) //
+                .task("t0", TestQuantizedTensors::dequantizeQ4, tensor, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            Assert.assertEquals(tensor.getFloat(i), output.get(i), 1e-6f);
+        }
+    }
+
+    @Test
+    public void testMatVecQ8() {
+        TensorQ8 weights = TensorQ8.quantize(new Shape(ROWS, COLS), randomValues(ROWS * COLS, 5));
+        TensorFP32 x = randomTensor(COLS, 6);
+        TensorFP32 output = new TensorFP32(new Shape(ROWS));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, weights, x) //
+                .task("t0", TensorQ8::matVec, weights, x, output, ROWS, COLS) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] expected = matMulReference(weights.dequantize(), x, 1, ROWS, COLS);
+        for (int i = 0; i < ROWS; i++) {
+            Assert.assertEquals(expected[i], output.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testMatVecQ4() {
+        TensorQ4 weights = TensorQ4.quantize(new Shape(ROWS, COLS), randomValues(ROWS * COLS, 7));
+        TensorFP32 x = randomTensor(COLS, 8);
+        TensorFP32 output = new TensorFP32(new Shape(ROWS));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, weights, x) //
+                .task("t0", TensorQ4::matVec, weights, x, output, ROWS, COLS) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] expected = matMulReference(weights.dequantize(), x, 1, ROWS, COLS);
+        for (int i = 0; i < ROWS; i++) {
+            Assert.assertEquals(expected[i], output.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testMatMulQ8() {
+        final int batch = 4;
+        TensorQ8 weights = TensorQ8.quantize(new Shape(ROWS, COLS), randomValues(ROWS * COLS, 9));
+        TensorFP32 x = randomTensor(batch * COLS, 10);
+        TensorFP32 output = new TensorFP32(new Shape(batch, ROWS));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, weights, x) //
+                .task("t0", TensorQ8::matMul, weights, x, output, batch, ROWS, COLS) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] expected = matMulReference(weights.dequantize(), x, batch, ROWS, COLS);
+        for (int i = 0; i < batch * ROWS; i++) {
+            Assert.assertEquals(expected[i], output.get(i), 0.01f);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tensors;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorByte;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP16;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.api.types.tensors.TensorGraph;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.tensors.TestTensorOperators
+ * </code>
+ */
+public class TestTensorOperators extends TornadoTestBase {
+
+    private static final float DELTA = 1e-3f;
+
+    private static TensorFP32 random(Shape shape, long seed) {
+        Random random = new Random(seed);
+        TensorFP32 tensor = new TensorFP32(shape);
+        for (int i = 0; i < tensor.getSize(); i++) {
+            tensor.set(i, random.nextFloat() * 2 - 1);
+        }
+        return tensor;
+    }
+
+    private static void execute(TensorGraph graph) throws TornadoExecutionPlanException {
+        try (TornadoExecutionPlan executionPlan = graph.toExecutionPlan()) {
+            executionPlan.execute();
+        }
+    }
+
+    private static void assertTensor(float[] expected, TensorFP32 actual) {
+        Assert.assertEquals(expected.length, actual.getSize());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], actual.get(i), DELTA * Math.max(1.0f, Math.abs(expected[i])));
+        }
+    }
+
+    private static float[] matMul(TensorFP32 a, TensorFP32 b, int m, int n, int k) {
+        float[] c = new float[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                float sum = 0.0f;
+                for (int l = 0; l < k; l++) {
+                    sum += a.get(i * k + l) * b.get(l * n + j);
+                }
+                c[i * n + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static float[] softmax(float[] input, int rows, int cols) {
+        float[] output = new float[input.length];
+        for (int i = 0; i < rows; i++) {
+            float max = -Float.MAX_VALUE;
+            for (int j = 0; j < cols; j++) {
+                max = Math.max(max, input[i * cols + j]);
+            }
+            float sum = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                output[i * cols + j] = (float) Math.exp(input[i * cols + j] - max);
+                sum += output[i * cols + j];
+            }
+            for (int j = 0; j < cols; j++) {
+                output[i * cols + j] /= sum;
+            }
+        }
+        return output;
+    }
+
+    @Test
+    public void testMatMul() throws TornadoExecutionPlanException {
+        // Sizes that are not multiples of the tile size, and a leading dimension that is treated as more rows
+        TensorFP32 a = random(new Shape(2, 19, 37), 1);
+        TensorFP32 b = random(new Shape(37, 23), 2);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 c = graph.matMul(a, b);
+        graph.output(c);
+        execute(graph);
+
+        Assert.assertEquals(new Shape(2, 19, 23), c.getShape());
+        assertTensor(matMul(a, b, 38, 23, 37), c);
+    }
+
+    @Test
+    public void testElementWise() throws TornadoExecutionPlanException {
+        TensorFP32 a = random(new Shape(5, 8), 3);
+        TensorFP32 b = random(new Shape(5, 8), 4);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 sum = graph.add(a, b);
+        TensorFP32 difference = graph.sub(a, b);
+        TensorFP32 product = graph.mul(a, b);
+        graph.output(sum, difference, product);
+        execute(graph);
+
+        for (int i = 0; i < a.getSize(); i++) {
+            Assert.assertEquals(a.get(i) + b.get(i), sum.get(i), DELTA);
+            Assert.assertEquals(a.get(i) - b.get(i), difference.get(i), DELTA);
+            Assert.assertEquals(a.get(i) * b.get(i), product.get(i), DELTA);
+        }
+    }
+
+    @Test
+    public void testBroadcast() throws TornadoExecutionPlanException {
+        TensorFP32 a = random(new Shape(4, 1, 8), 5);
+        TensorFP32 b = random(new Shape(3, 1), 6);
+        TensorFP32 bias = random(new Shape(8), 7);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 sum = graph.add(a, b);
+        TensorFP32 scaled = graph.mul(sum, bias);
+        graph.output(sum, scaled);
+        execute(graph);
+
+        Assert.assertEquals(new Shape(4, 3, 8), sum.getShape());
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                for (int k = 0; k < 8; k++) {
+                    int index = (i * 3 + j) * 8 + k;
+                    float expected = a.get(i * 8 + k) + b.get(j);
+                    Assert.assertEquals(expected, sum.get(index), DELTA);
+                    Assert.assertEquals(expected * bias.get(k), scaled.get(index), DELTA);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidBroadcast() {
+        TensorGraph graph = new TensorGraph("s0");
+        Assert.assertThrows(TornadoRuntimeException.class, () -> graph.add(new TensorFP32(new Shape(2, 3)), new TensorFP32(new Shape(4))));
+    }
+
+    @Test
+    public void testSoftmax() throws TornadoExecutionPlanException {
+        // Rows longer than a work-group
+        final int rows = 7;
+        final int cols = 300;
+        TensorFP32 input = random(new Shape(rows, cols), 8);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 output = graph.softmax(input);
+        graph.output(output);
+        execute(graph);
+
+        assertTensor(softmax(input.toHeapArray(), rows, cols), output);
+    }
+
+    @Test
+    public void testLayerNorm() throws TornadoExecutionPlanException {
+        final int rows = 5;
+        final int cols = 300;
+        TensorFP32 input = random(new Shape(rows, cols), 9);
+        TensorFP32 weight = random(new Shape(cols), 10);
+        TensorFP32 bias = random(new Shape(cols), 11);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 output = graph.layerNorm(input, weight, bias);
+        graph.output(output);
+        execute(graph);
+
+        float[] expected = new float[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            float mean = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                mean += input.get(i * cols + j);
+            }
+            mean /= cols;
+            float variance = 0.0f;
+            for (int j = 0; j < cols; j++) {
+                float delta = input.get(i * cols + j) - mean;
+                variance += delta * delta;
+            }
+            float scale = (float) (1.0 / Math.sqrt(variance / cols + 1e-5f));
+            for (int j = 0; j < cols; j++) {
+                expected[i * cols + j] = (input.get(i * cols + j) - mean) * scale * weight.get(j) + bias.get(j);
+            }
+        }
+        assertTensor(expected, output);
+    }
+
+    @Test
+    public void testReductions() throws TornadoExecutionPlanException {
+        TensorFP32 input = random(new Shape(6, 10, 5), 12);
+        TensorFP32 rows = random(new Shape(9, 513), 13);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 sum = graph.reduceSum(input, 1);
+        TensorFP32 max = graph.reduceMax(rows, 1);
+        graph.output(sum, max);
+        execute(graph);
+
+        Assert.assertEquals(new Shape(6, 5), sum.getShape());
+        for (int i = 0; i < 6; i++) {
+            for (int k = 0; k < 5; k++) {
+                float expected = 0.0f;
+                for (int j = 0; j < 10; j++) {
+                    expected += input.get((i * 10 + j) * 5 + k);
+                }
+                Assert.assertEquals(expected, sum.get(i * 5 + k), DELTA);
+            }
+        }
+
+        Assert.assertEquals(new Shape(9), max.getShape());
+        for (int i = 0; i < 9; i++) {
+            float expected = -Float.MAX_VALUE;
+            for (int j = 0; j < 513; j++) {
+                expected = Math.max(expected, rows.get(i * 513 + j));
+            }
+            Assert.assertEquals(expected, max.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testTranspose() throws TornadoExecutionPlanException {
+        TensorFP32 input = random(new Shape(3, 17, 9), 14);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 output = graph.transpose(input);
+        graph.output(output);
+        execute(graph);
+
+        Assert.assertEquals(new Shape(3, 9, 17), output.getShape());
+        for (int b = 0; b < 3; b++) {
+            for (int i = 0; i < 17; i++) {
+                for (int j = 0; j < 9; j++) {
+                    Assert.assertEquals(input.get((b * 17 + i) * 9 + j), output.get((b * 9 + j) * 17 + i), 0.0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testByteToFloat() throws TornadoExecutionPlanException {
+        TensorByte input = new TensorByte(new Shape(4, 16));
+        for (int i = 0; i < input.getSize(); i++) {
+            input.set(i, (byte) (i - 32));
+        }
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 output = graph.toFloat(input);
+        graph.output(output);
+        execute(graph);
+
+        for (int i = 0; i < input.getSize(); i++) {
+            Assert.assertEquals(i - 32, output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testFusedGraph() throws TornadoExecutionPlanException {
+        // Half-precision input -> linear layer -> bias -> softmax -> half-precision output, in a single task graph
+        final int batch = 4;
+        final int features = 40;
+        final int classes = 10;
+        TensorFP32 reference = random(new Shape(batch, features), 15);
+        TensorFP16 input = new TensorFP16(new Shape(batch, features));
+        for (int i = 0; i < input.getSize(); i++) {
+            input.set(i, new HalfFloat(reference.get(i)));
+            reference.set(i, input.get(i).getFloat32());
+        }
+        TensorFP32 weights = random(new Shape(features, classes), 16);
+        TensorFP32 bias = random(new Shape(classes), 17);
+
+        TensorGraph graph = new TensorGraph("s0");
+        TensorFP32 logits = graph.add(graph.matMul(graph.toFloat(input), weights), bias);
+        TensorFP32 probabilities = graph.softmax(logits);
+        TensorFP16 output = graph.toHalf(probabilities);
+        graph.output(probabilities, output);
+        execute(graph);
+
+        float[] expected = matMul(reference, weights, batch, classes, features);
+        for (int i = 0; i < batch; i++) {
+            for (int j = 0; j < classes; j++) {
+                expected[i * classes + j] += bias.get(j);
+            }
+        }
+        expected = softmax(expected, batch, classes);
+        assertTensor(expected, probabilities);
+        for (int i = 0; i < output.getSize(); i++) {
+            Assert.assertEquals(expected[i], output.get(i).getFloat32(), 1e-2f);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tensors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP16;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP16View;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32View;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.tensors.TestTensorViews
+ * </code>
+ */
+public class TestTensorViews extends TornadoTestBase {
+
+    public static void copyView(TensorFP32View input, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void transposeWithView(TensorFP32View input, TensorFP32 output, int rows, int cols) {
+        for (@Parallel int i = 0; i < rows; i++) {
+            for (@Parallel int j = 0; j < cols; j++) {
+                output.set(i * cols + j, input.get(i, j));
+            }
+        }
+    }
+
+    public static void scaleView(TensorFP32View view, float factor) {
+        for (@Parallel int i = 0; i < view.getSize(); i++) {
+            view.set(i, view.get(i) * factor);
+        }
+    }
+
+    public static void copyTensor(TensorFP32 input, TensorFP32 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i));
+        }
+    }
+
+    public static void addHalfViews(TensorFP16View input, TensorFP16 output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, HalfFloat.add(input.get(i), input.get(i)));
+        }
+    }
+
+    private static TensorFP32 iota(Shape shape) {
+        TensorFP32 tensor = new TensorFP32(shape);
+        for (int i = 0; i < tensor.getSize(); i++) {
+            tensor.set(i, i);
+        }
+        return tensor;
+    }
+
+    @Test
+    public void testViewsShareStorage() {
+        TensorFP32 tensor = iota(new Shape(2, 3, 4));
+
+        TensorFP32View row = tensor.view().select(0, 1).select(0, 2);
+        Assert.assertEquals(new Shape(4), row.getShape());
+        Assert.assertEquals(20, row.getOffset());
+        Assert.assertEquals(21.0f, row.get(1), 0.0f);
+
+        row.set(1, -1.0f);
+        Assert.assertEquals(-1.0f, tensor.get(21), 0.0f);
+    }
+
+    @Test
+    public void testTransposeAndReshape() {
+        TensorFP32 tensor = iota(new Shape(3, 4));
+
+        TensorFP32View transposed = tensor.view().transpose(0, 1);
+        Assert.assertEquals(new Shape(4, 3), transposed.getShape());
+        Assert.assertFalse(transposed.isContiguous());
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                Assert.assertEquals(tensor.get(j * 4 + i), transposed.get(i, j), 0.0f);
+                Assert.assertEquals(tensor.get(j * 4 + i), transposed.get(i * 3 + j), 0.0f);
+            }
+        }
+
+        TensorFP32View reshaped = tensor.view().slice(0, 1, 3).reshape(new Shape(2, 2, 2));
+        Assert.assertEquals(4.0f, reshaped.get(0, 0, 0), 0.0f);
+        Assert.assertEquals(11.0f, reshaped.get(1, 1, 1), 0.0f);
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testReshapeNonContiguous() {
+        TensorFP32 tensor = iota(new Shape(3, 4));
+        tensor.view().transpose(0, 1).reshape(new Shape(12));
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testSliceOutOfBounds() {
+        TensorFP32 tensor = iota(new Shape(3, 4));
+        tensor.view().slice(1, 2, 5);
+    }
+
+    @Test
+    public void testSliceInKernel() {
+        TensorFP32 tensor = iota(new Shape(64, 128));
+        TensorFP32View columns = tensor.view().slice(1, 32, 96);
+        TensorFP32 output = new TensorFP32(new Shape(64, 64));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, columns) //
+                .task("t0", TestTensorViews::copyView, columns, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < 64; i++) {
+            for (int j = 0; j < 64; j++) {
+                Assert.assertEquals(tensor.get(i * 128 + 32 + j), output.get(i * 64 + j), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testTransposeInKernel() {
+        final int rows = 128;
+        final int cols = 64;
+        TensorFP32 tensor = iota(new Shape(cols, rows));
+        TensorFP32View transposed = tensor.view().transpose(0, 1);
+        TensorFP32 output = new TensorFP32(new Shape(rows, cols));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, transposed) //
+                .task("t0", TestTensorViews::transposeWithView, transposed, output, rows, cols) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                Assert.assertEquals(tensor.get(j * rows + i), output.get(i * cols + j), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteThroughView() {
+        TensorFP32 tensor = iota(new Shape(8, 256));
+        TensorFP32View row = tensor.view().select(0, 3);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, row) //
+                .task("t0", TestTensorViews::scaleView, row, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, row);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < tensor.getSize(); i++) {
+            float expected = (i / 256 == 3) ? i * 2.0f : i;
+            Assert.assertEquals(expected, tensor.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testHalfFloatView() {
+        TensorFP16 tensor = new TensorFP16(new Shape(16, 64));
+        for (int i = 0; i < tensor.getSize(); i++) {
+            tensor.set(i, new HalfFloat(i % 64));
+        }
+        TensorFP16View row = tensor.view().select(0, 5);
+        TensorFP16 output = new TensorFP16(new Shape(64));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, row) //
+                .task("t0", TestTensorViews::addHalfViews, row, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            Assert.assertEquals(2.0f * i, output.get(i).getFloat32(), 0.01f);
+        }
+    }
+
+    /**
+     * Both views are bound to the device buffer of the storage of the tensor, so
+     * the updates of each task are kept when the storage is copied back.
+     */
+    @Test
+    public void testViewsInSameTaskGraph() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        TensorFP32 tensor = iota(new Shape(8, 256));
+        TensorFP32View first = tensor.view().select(0, 1);
+        TensorFP32View second = tensor.view().select(0, 2);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, first, second) //
+                .task("t0", TestTensorViews::scaleView, first, 2.0f) //
+                .task("t1", TestTensorViews::scaleView, second, 3.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, first, second);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < tensor.getSize(); i++) {
+            float expected = switch (i / 256) {
+                case 1 -> i * 2.0f;
+                case 2 -> i * 3.0f;
+                default -> i;
+            };
+            Assert.assertEquals(expected, tensor.get(i), 0.0f);
+        }
+    }
+
+    /**
+     * The second task reads the tensor after the first one has updated a row
+     * through a view, so it only sees the update if both arguments use the same
+     * device memory.
+     */
+    @Test
+    public void testTensorAndViewInSameTaskGraph() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        TensorFP32 tensor = iota(new Shape(8, 256));
+        TensorFP32View row = tensor.view().select(0, 5);
+        TensorFP32 output = new TensorFP32(new Shape(8 * 256));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, tensor, row) //
+                .task("t0", TestTensorViews::scaleView, row, 2.0f) //
+                .task("t1", TestTensorViews::copyTensor, tensor, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            float expected = (i / 256 == 5) ? i * 2.0f : i;
+            Assert.assertEquals(expected, output.get(i), 0.0f);
+        }
+    }
+}
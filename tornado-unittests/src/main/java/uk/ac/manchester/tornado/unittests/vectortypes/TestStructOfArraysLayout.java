@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.vectortypes;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.collections.VectorFloat3;
+import uk.ac.manchester.tornado.api.types.collections.VectorFloat4;
+import uk.ac.manchester.tornado.api.types.vectors.Float3;
+import uk.ac.manchester.tornado.api.types.vectors.Float4;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Test the collections that are stored as a struct of arrays on OpenCL
+ * devices. Each component has a different value, so the results are only
+ * correct if the kernels and the transfers use the same layout. The backends
+ * that do not support the layout keep the layout of the host, and must
+ * produce the same results.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.soa.layout=True" uk.ac.manchester.tornado.unittests.vectortypes.TestStructOfArraysLayout
+ * </code>
+ */
+public class TestStructOfArraysLayout extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 4096;
+    private static final int NUM_STEPS = 4;
+    private static final float DT = 0.5f;
+
+    public static void integrate(VectorFloat4 positions, VectorFloat4 velocities) {
+        for (@Parallel int i = 0; i < positions.getLength(); i++) {
+            positions.set(i, Float4.add(positions.get(i), Float4.mult(velocities.get(i), DT)));
+        }
+    }
+
+    public static void integrate3(VectorFloat3 positions, VectorFloat3 velocities) {
+        for (@Parallel int i = 0; i < positions.getLength(); i++) {
+            positions.set(i, Float3.add(positions.get(i), Float3.mult(velocities.get(i), DT)));
+        }
+    }
+
+    public static void components(VectorFloat4 input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getLength(); i++) {
+            Float4 value = input.get(i);
+            output.set(i, value.getX() - value.getW());
+        }
+    }
+
+    private static void execute(TaskGraph taskGraph, int numExecutions) throws TornadoExecutionPlanException {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            for (int i = 0; i < numExecutions; i++) {
+                executionPlan.execute();
+            }
+        }
+    }
+
+    /**
+     * The positions are copied in and out in every execution, so the layout is
+     * converted in both directions each time.
+     */
+    @Test
+    public void testVectorFloat4() throws TornadoExecutionPlanException {
+        VectorFloat4 positions = new VectorFloat4(NUM_ELEMENTS);
+        VectorFloat4 velocities = new VectorFloat4(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            positions.set(i, new Float4(i, 2 * i, 3 * i, 4 * i));
+            velocities.set(i, new Float4(1, 2, 3, 4));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, velocities) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, positions) //
+                .task("t0", TestStructOfArraysLayout::integrate, positions, velocities) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, positions);
+        execute(taskGraph, NUM_STEPS);
+
+        final float distance = NUM_STEPS * DT;
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            Float4 position = positions.get(i);
+            assertEquals(i + distance, position.getX(), 0.0f);
+            assertEquals(2 * i + 2 * distance, position.getY(), 0.0f);
+            assertEquals(3 * i + 3 * distance, position.getZ(), 0.0f);
+            assertEquals(4 * i + 4 * distance, position.getW(), 0.0f);
+        }
+    }
+
+    @Test
+    public void testVectorFloat3() throws TornadoExecutionPlanException {
+        VectorFloat3 positions = new VectorFloat3(NUM_ELEMENTS);
+        VectorFloat3 velocities = new VectorFloat3(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            positions.set(i, new Float3(i, 2 * i, 3 * i));
+            velocities.set(i, new Float3(1, 2, 3));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, velocities) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, positions) //
+                .task("t0", TestStructOfArraysLayout::integrate3, positions, velocities) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, positions);
+        execute(taskGraph, NUM_STEPS);
+
+        final float distance = NUM_STEPS * DT;
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            Float3 position = positions.get(i);
+            assertEquals(i + distance, position.getX(), 0.0f);
+            assertEquals(2 * i + 2 * distance, position.getY(), 0.0f);
+            assertEquals(3 * i + 3 * distance, position.getZ(), 0.0f);
+        }
+    }
+
+    /**
+     * The kernel only reads some of the components of each element.
+     */
+    @Test
+    public void testComponents() throws TornadoExecutionPlanException {
+        VectorFloat4 input = new VectorFloat4(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input.set(i, new Float4(5 * i, -1, -2, i));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestStructOfArraysLayout::components, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        execute(taskGraph, 1);
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(4 * i, output.get(i), 0.0f);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.virtual;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoProfilerResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.device.desc=virtual-device-GPU.json -Dtornado.virtual.device=True"
+ *     uk.ac.manchester.tornado.unittests.virtual.TestVirtualDevicePerformanceModel
+ * </code>
+ */
+public class TestVirtualDevicePerformanceModel extends TornadoTestBase {
+
+    private static final int SIZE = 1 << 20;
+
+    private static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static TornadoProfilerResult executeVectorAdd(int size, int transferMode, int numExecutions) {
+        FloatArray a = new FloatArray(size);
+        FloatArray b = new FloatArray(size);
+        FloatArray c = new FloatArray(size);
+        a.init(1.0f);
+        b.init(2.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(transferMode, a, b) //
+                .task("t0", TestVirtualDevicePerformanceModel::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withProfiler(ProfilerMode.SILENT);
+        TornadoProfilerResult profilerResult = null;
+        for (int i = 0; i < numExecutions; i++) {
+            profilerResult = executionPlan.execute().getProfilerResult();
+        }
+        return profilerResult;
+    }
+
+    @Test
+    public void testPredictedTimes() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        TornadoProfilerResult profilerResult = executeVectorAdd(SIZE, DataTransferMode.EVERY_EXECUTION, 1);
+
+        assertTrue(profilerResult.getPredictedDeviceWriteTime() > 0);
+        assertTrue(profilerResult.getPredictedDeviceReadTime() > 0);
+        assertTrue(profilerResult.getPredictedDeviceKernelTime() > 0);
+
+        // Two input arrays are copied to the device and one output array to the host
+        assertTrue(profilerResult.getPredictedDeviceWriteTime() > profilerResult.getPredictedDeviceReadTime());
+    }
+
+    @Test
+    public void testPredictedTimesScaleWithSize() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        TornadoProfilerResult small = executeVectorAdd(SIZE, DataTransferMode.EVERY_EXECUTION, 1);
+        TornadoProfilerResult large = executeVectorAdd(SIZE * 8, DataTransferMode.EVERY_EXECUTION, 1);
+
+        assertTrue(large.getPredictedDeviceWriteTime() > small.getPredictedDeviceWriteTime());
+        assertTrue(large.getPredictedDeviceReadTime() > small.getPredictedDeviceReadTime());
+        assertTrue(large.getPredictedDeviceKernelTime() > small.getPredictedDeviceKernelTime());
+    }
+
+    @Test
+    public void testPredictedCopiesFirstExecution() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        // The inputs are only copied in the first execution, as on a physical device
+        TornadoProfilerResult profilerResult = executeVectorAdd(SIZE, DataTransferMode.FIRST_EXECUTION, 2);
+
+        assertEquals(0, profilerResult.getPredictedDeviceWriteTime());
+        assertTrue(profilerResult.getPredictedDeviceReadTime() > 0);
+        assertTrue(profilerResult.getPredictedDeviceKernelTime() > 0);
+    }
+}